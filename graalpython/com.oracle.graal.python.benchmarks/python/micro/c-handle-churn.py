@@ -0,0 +1,163 @@
+# Copyright (c) 2024, Oracle and/or its affiliates. All rights reserved.
+# DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+#
+# The Universal Permissive License (UPL), Version 1.0
+#
+# Subject to the condition set forth below, permission is hereby granted to any
+# person obtaining a copy of this software, associated documentation and/or
+# data (collectively the "Software"), free of charge and under any and all
+# copyright rights in the Software, and any and all patent rights owned or
+# freely licensable by each licensor hereunder covering either (i) the
+# unmodified Software as contributed to or provided by such licensor, or (ii)
+# the Larger Works (as defined below), to deal in both
+#
+# (a) the Software, and
+#
+# (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+# one is included with the Software each a "Larger Work" to which the Software
+# is contributed by such licensors),
+#
+# without restriction, including without limitation the rights to copy, create
+# derivative works of, display, perform, and distribute the Software and make,
+# use, sell, offer for sale, import, export, have made, and have sold the
+# Software and the Larger Work(s), and to sublicense the foregoing rights on
+# either these or other terms.
+#
+# This license is subject to the following condition:
+#
+# The above copyright notice and either this complete permission notice or at a
+# minimum a reference to the UPL must be included in all copies or substantial
+# portions of the Software.
+#
+# THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+# IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+# FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+# AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+# LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+# OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+# SOFTWARE.
+
+code = """
+#include "Python.h"
+
+typedef struct {
+    PyObject_HEAD;
+    PyObject* item;
+} NativeBoxObject;
+
+static void nb_dealloc(NativeBoxObject* self) {
+    Py_XDECREF(self->item);
+    Py_TYPE(self)->tp_free((PyObject*)self);
+}
+
+static PyTypeObject NativeBoxType = {
+    PyVarObject_HEAD_INIT(NULL, 0)
+        "c_handle_churn.NativeBox",
+    sizeof(NativeBoxObject),        /* tp_basicsize */
+    0,                              /* tp_itemsize */
+    (destructor)nb_dealloc,         /* tp_dealloc */
+    0,
+    0,
+    0,
+    0,                              /* tp_reserved */
+    0,
+    0,
+    0,
+    0,
+    0,
+    0,
+    0,
+    0,
+    0,
+    0,
+    Py_TPFLAGS_DEFAULT,
+    0,
+    0,                              /* tp_traverse */
+    0,                              /* tp_clear */
+    0,                              /* tp_richcompare */
+    0,                              /* tp_weaklistoffset */
+    0,                              /* tp_iter */
+    0,                              /* tp_iternext */
+    0,                              /* tp_methods */
+    NULL,                           /* tp_members */
+    0,                              /* tp_getset */
+    0,                              /* tp_base */
+    0,                              /* tp_dict */
+    0,                              /* tp_descr_get */
+    0,                              /* tp_descr_set */
+    0,                              /* tp_dictoffset */
+    0,                              /* tp_init */
+    PyType_GenericAlloc,            /* tp_alloc */
+    0,                              /* tp_new */
+    PyObject_Del,                   /* tp_free */
+};
+
+/* Wraps a (managed) object into a new native object. */
+static PyObject* box(PyObject* module, PyObject* item) {
+    NativeBoxObject* result = PyObject_New(NativeBoxObject, &NativeBoxType);
+    if (result == NULL) {
+        return NULL;
+    }
+    Py_INCREF(item);
+    result->item = item;
+    return (PyObject*)result;
+}
+
+static PyObject* unbox(PyObject* module, PyObject* obj) {
+    PyObject* item = ((NativeBoxObject*)obj)->item;
+    Py_INCREF(item);
+    return item;
+}
+
+static struct PyMethodDef c_handle_churn_methods[] = {
+    {"box", (PyCFunction)box, METH_O, ""},
+    {"unbox", (PyCFunction)unbox, METH_O, ""},
+    {NULL, NULL, 0, NULL}
+};
+
+static PyModuleDef c_handle_churn_module = {
+    PyModuleDef_HEAD_INIT,
+    "c_handle_churn",
+    "",
+    -1,
+    c_handle_churn_methods,
+    NULL, NULL, NULL, NULL
+};
+
+PyMODINIT_FUNC
+PyInit_c_handle_churn(void)
+{
+    if (PyType_Ready(&NativeBoxType) < 0)
+        return NULL;
+
+    return PyModule_Create(&c_handle_churn_module);
+}
+
+"""
+
+
+ccompile("c_handle_churn", code)
+from c_handle_churn import box, unbox
+
+
+class Item:
+    def __init__(self, value):
+        self.value = value
+
+
+# ~igv~: function_root_churn
+def churn(num):
+    # Every iteration creates a managed object that gets a native stub and a native object that gets
+    # a handle, and drops both again. This stresses the handle tables and the reference queue cleanup.
+    total = 0
+    for i in range(num):
+        total += unbox(box(Item(i))).value
+    return total
+
+
+def measure(num):
+    return churn(num)
+
+
+def __benchmark__(num=1000000):
+    return measure(num)
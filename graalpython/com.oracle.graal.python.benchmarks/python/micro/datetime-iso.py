@@ -0,0 +1,81 @@
+# Copyright (c) 2024, Oracle and/or its affiliates. All rights reserved.
+# DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+#
+# The Universal Permissive License (UPL), Version 1.0
+#
+# Subject to the condition set forth below, permission is hereby granted to any
+# person obtaining a copy of this software, associated documentation and/or
+# data (collectively the "Software"), free of charge and under any and all
+# copyright rights in the Software, and any and all patent rights owned or
+# freely licensable by each licensor hereunder covering either (i) the
+# unmodified Software as contributed to or provided by such licensor, or (ii)
+# the Larger Works (as defined below), to deal in both
+#
+# (a) the Software, and
+#
+# (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+# one is included with the Software each a "Larger Work" to which the Software
+# is contributed by such licensors),
+#
+# without restriction, including without limitation the rights to copy, create
+# derivative works of, display, perform, and distribute the Software and make,
+# use, sell, offer for sale, import, export, have made, and have sold the
+# Software and the Larger Work(s), and to sublicense the foregoing rights on
+# either these or other terms.
+#
+# This license is subject to the following condition:
+#
+# The above copyright notice and either this complete permission notice or at a
+# minimum a reference to the UPL must be included in all copies or substantial
+# portions of the Software.
+#
+# THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+# IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+# FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+# AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+# LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+# OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+# SOFTWARE.
+# Timestamp ingestion workload: parse ISO 8601 log timestamps, bucket and
+# compare them, do timedelta arithmetic and format them back.
+
+from datetime import datetime, timedelta, timezone
+
+
+def make_lines(n):
+    base = datetime(2024, 1, 1, tzinfo=timezone.utc)
+    lines = []
+    for i in range(n):
+        ts = base + timedelta(seconds=i * 37, microseconds=i * 101 % 1000000)
+        lines.append(ts.replace(tzinfo=None).isoformat())
+    return lines
+
+
+def ingest(lines):
+    window = timedelta(minutes=5)
+    first = datetime.fromisoformat(lines[0])
+    latest = first
+    buckets = {}
+    late = 0
+    for line in lines:
+        ts = datetime.fromisoformat(line)
+        if ts < latest - window:
+            late += 1
+        elif ts > latest:
+            latest = ts
+        minute = ts.replace(second=0, microsecond=0)
+        buckets[minute] = buckets.get(minute, 0) + 1
+    out = [k.isoformat(timespec='minutes') for k in sorted(buckets)]
+    return late + len(out) + (latest - first).days
+
+
+def measure(num):
+    lines = make_lines(20000)
+    result = 0
+    for _ in range(num):
+        result += ingest(lines)
+    return result
+
+
+def __benchmark__(num=10):
+    return measure(int(num))
@@ -0,0 +1,93 @@
+# Copyright (c) 2024, Oracle and/or its affiliates. All rights reserved.
+# DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+#
+# The Universal Permissive License (UPL), Version 1.0
+#
+# Subject to the condition set forth below, permission is hereby granted to any
+# person obtaining a copy of this software, associated documentation and/or
+# data (collectively the "Software"), free of charge and under any and all
+# copyright rights in the Software, and any and all patent rights owned or
+# freely licensable by each licensor hereunder covering either (i) the
+# unmodified Software as contributed to or provided by such licensor, or (ii)
+# the Larger Works (as defined below), to deal in both
+#
+# (a) the Software, and
+#
+# (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+# one is included with the Software each a "Larger Work" to which the Software
+# is contributed by such licensors),
+#
+# without restriction, including without limitation the rights to copy, create
+# derivative works of, display, perform, and distribute the Software and make,
+# use, sell, offer for sale, import, export, have made, and have sold the
+# Software and the Larger Work(s), and to sublicense the foregoing rights on
+# either these or other terms.
+#
+# This license is subject to the following condition:
+#
+# The above copyright notice and either this complete permission notice or at a
+# minimum a reference to the UPL must be included in all copies or substantial
+# portions of the Software.
+#
+# THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+# IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+# FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+# AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+# LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+# OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+# SOFTWARE.
+# Billing workload: price invoice lines with Decimal, apply discounts and
+# taxes, round to cents and total and rank the invoices. The second argument
+# selects the implementation, so that running it with "_pydecimal" on CPython
+# compares against the pure-Python module that GraalPy's decimal is based on.
+
+import importlib
+
+
+def make_invoices(decimal, n):
+    Decimal = decimal.Decimal
+    invoices = []
+    for i in range(n):
+        lines = []
+        for j in range(i % 7 + 1):
+            quantity = Decimal((i * 7 + j * 3) % 40 + 1)
+            price = Decimal("%d.%02d" % ((i * 31 + j * 17) % 500, (i * 13 + j) % 100))
+            discount = Decimal("0.%02d" % ((i + j) % 4 * 5))
+            lines.append((quantity, price, discount))
+        tax_rate = Decimal(("0.19", "0.07", "0.085", "0.2")[i % 4])
+        invoices.append((lines, tax_rate))
+    return invoices
+
+
+def bill(decimal, invoices):
+    Decimal = decimal.Decimal
+    cents = Decimal("0.01")
+    one = Decimal(1)
+    grand_total = Decimal(0)
+    totals = []
+    for lines, tax_rate in invoices:
+        net = Decimal(0)
+        for quantity, price, discount in lines:
+            amount = quantity * price * (one - discount)
+            net += amount.quantize(cents, rounding=decimal.ROUND_HALF_UP)
+        tax = (net * tax_rate).quantize(cents, rounding=decimal.ROUND_HALF_EVEN)
+        total = net + tax
+        totals.append(total)
+        grand_total += total
+    totals.sort()
+    return grand_total, totals[len(totals) // 2]
+
+
+def measure(num, impl):
+    decimal = importlib.import_module(impl)
+    ctx = decimal.Context(prec=28, rounding=decimal.ROUND_HALF_EVEN)
+    decimal.setcontext(ctx)
+    invoices = make_invoices(decimal, 5000)
+    result = None
+    for _ in range(num):
+        result = bill(decimal, invoices)
+    return result
+
+
+def __benchmark__(num=10, impl="decimal"):
+    return measure(int(num), impl)
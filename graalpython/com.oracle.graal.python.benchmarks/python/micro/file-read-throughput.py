@@ -0,0 +1,99 @@
+# Copyright (c) 2024, Oracle and/or its affiliates. All rights reserved.
+# DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+#
+# The Universal Permissive License (UPL), Version 1.0
+#
+# Subject to the condition set forth below, permission is hereby granted to any
+# person obtaining a copy of this software, associated documentation and/or
+# data (collectively the "Software"), free of charge and under any and all
+# copyright rights in the Software, and any and all patent rights owned or
+# freely licensable by each licensor hereunder covering either (i) the
+# unmodified Software as contributed to or provided by such licensor, or (ii)
+# the Larger Works (as defined below), to deal in both
+#
+# (a) the Software, and
+#
+# (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+# one is included with the Software each a "Larger Work" to which the Software
+# is contributed by such licensors),
+#
+# without restriction, including without limitation the rights to copy, create
+# derivative works of, display, perform, and distribute the Software and make,
+# use, sell, offer for sale, import, export, have made, and have sold the
+# Software and the Larger Work(s), and to sublicense the foregoing rights on
+# either these or other terms.
+#
+# This license is subject to the following condition:
+#
+# The above copyright notice and either this complete permission notice or at a
+# minimum a reference to the UPL must be included in all copies or substantial
+# portions of the Software.
+#
+# THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+# IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+# FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+# AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+# LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+# OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+# SOFTWARE.
+
+# Streams a large file through the binary I/O stack the way log processing jobs do:
+# raw readinto() into reused bytearray, memoryview and array.array targets, and
+# buffered read() in fixed-size chunks.
+
+import array
+import os
+import tempfile
+
+CHUNK = 1024 * 1024
+tmp_path = None
+
+
+def __setup__(size_mb=64, num=2):
+    global tmp_path
+    fd, tmp_path = tempfile.mkstemp()
+    block = bytes(range(256)) * (CHUNK // 256)
+    with os.fdopen(fd, "wb") as f:
+        for i in range(int(size_mb)):
+            f.write(block)
+
+
+def __teardown__():
+    os.unlink(tmp_path)
+
+
+def read_raw(target):
+    total = 0
+    with open(tmp_path, "rb", buffering=0) as f:
+        while True:
+            n = f.readinto(target)
+            if not n:
+                return total
+            total += n
+
+
+def read_buffered():
+    total = 0
+    with open(tmp_path, "rb") as f:
+        while True:
+            data = f.read(64 * 1024)
+            if not data:
+                return total
+            total += len(data)
+
+
+def measure(num):
+    buf = bytearray(CHUNK)
+    view = memoryview(bytearray(CHUNK))
+    arr = array.array('b', bytes(CHUNK))
+    total = 0
+    for i in range(num):
+        total += read_raw(buf)
+        total += read_raw(view)
+        total += read_raw(arr)
+        total += read_buffered()
+    return total
+
+
+def __benchmark__(size_mb=64, num=2):
+    return measure(num)
@@ -0,0 +1,90 @@
+# Copyright (c) 2024, Oracle and/or its affiliates. All rights reserved.
+# DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+#
+# The Universal Permissive License (UPL), Version 1.0
+#
+# Subject to the condition set forth below, permission is hereby granted to any
+# person obtaining a copy of this software, associated documentation and/or
+# data (collectively the "Software"), free of charge and under any and all
+# copyright rights in the Software, and any and all patent rights owned or
+# freely licensable by each licensor hereunder covering either (i) the
+# unmodified Software as contributed to or provided by such licensor, or (ii)
+# the Larger Works (as defined below), to deal in both
+#
+# (a) the Software, and
+#
+# (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+# one is included with the Software each a "Larger Work" to which the Software
+# is contributed by such licensors),
+#
+# without restriction, including without limitation the rights to copy, create
+# derivative works of, display, perform, and distribute the Software and make,
+# use, sell, offer for sale, import, export, have made, and have sold the
+# Software and the Larger Work(s), and to sublicense the foregoing rights on
+# either these or other terms.
+#
+# This license is subject to the following condition:
+#
+# The above copyright notice and either this complete permission notice or at a
+# minimum a reference to the UPL must be included in all copies or substantial
+# portions of the Software.
+#
+# THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+# IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+# FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+# AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+# LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+# OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+# SOFTWARE.
+
+# Priority queue and sorted-insert workloads: a timer wheel built on heapq
+# with float deadlines, an event queue of (priority, seq, payload) tuples,
+# and a sorted list of int keys maintained with bisect.insort.
+
+import bisect
+import heapq
+
+
+def timers(n):
+    heap = []
+    now = 0.0
+    fired = 0
+    for i in range(n):
+        heapq.heappush(heap, now + (i * 7919 % 1000) / 10.0)
+        if len(heap) > 1000:
+            now = heapq.heappop(heap)
+            fired += 1
+    return fired
+
+
+def events(n):
+    heap = [(i % 17, i, None) for i in range(1000)]
+    heapq.heapify(heap)
+    total = 0
+    for i in range(n):
+        total += heapq.heapreplace(heap, (i * 31 % 17, i, None))[0]
+    return total
+
+
+def sorted_keys(n):
+    keys = []
+    hits = 0
+    for i in range(n):
+        key = i * 2654435761 % 100003
+        if len(keys) < 5000:
+            bisect.insort(keys, key)
+        idx = bisect.bisect_left(keys, key)
+        if idx < len(keys) and keys[idx] == key:
+            hits += 1
+    return hits
+
+
+def measure(num):
+    result = 0
+    for _ in range(num):
+        result += timers(100000) + events(100000) + sorted_keys(100000)
+    return result
+
+
+def __benchmark__(num=5):
+    return measure(int(num))
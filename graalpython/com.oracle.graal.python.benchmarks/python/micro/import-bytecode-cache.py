@@ -0,0 +1,125 @@
+# Copyright (c) 2024, Oracle and/or its affiliates. All rights reserved.
+# DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+#
+# The Universal Permissive License (UPL), Version 1.0
+#
+# Subject to the condition set forth below, permission is hereby granted to any
+# person obtaining a copy of this software, associated documentation and/or
+# data (collectively the "Software"), free of charge and under any and all
+# copyright rights in the Software, and any and all patent rights owned or
+# freely licensable by each licensor hereunder covering either (i) the
+# unmodified Software as contributed to or provided by such licensor, or (ii)
+# the Larger Works (as defined below), to deal in both
+#
+# (a) the Software, and
+#
+# (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+# one is included with the Software each a "Larger Work" to which the Software
+# is contributed by such licensors),
+#
+# without restriction, including without limitation the rights to copy, create
+# derivative works of, display, perform, and distribute the Software and make,
+# use, sell, offer for sale, import, export, have made, and have sold the
+# Software and the Larger Work(s), and to sublicense the foregoing rights on
+# either these or other terms.
+#
+# This license is subject to the following condition:
+#
+# The above copyright notice and either this complete permission notice or at a
+# minimum a reference to the UPL must be included in all copies or substantial
+# portions of the Software.
+#
+# THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+# IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+# FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+# AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+# LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+# OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+# SOFTWARE.
+
+# Measures the startup cost of importing a set of modules in a fresh process,
+# once with an empty bytecode cache (cold) and once with a populated one (warm).
+
+import os
+import shutil
+import subprocess
+import sys
+import tempfile
+import time
+
+IS_GRAALPY = sys.implementation.name == 'graalpy'
+
+MODULE_TEMPLATE = '''
+import functools
+
+
+class Record{idx}:
+    __slots__ = ("key", "value")
+
+    def __init__(self, key, value):
+        self.key = key
+        self.value = value
+
+    def __repr__(self):
+        return f"Record{idx}({{self.key!r}}, {{self.value!r}})"
+
+
+@functools.lru_cache(maxsize=None)
+def compute{idx}(n):
+    total = 0
+    for i in range(n):
+        if i % 3 == 0:
+            total += i * {idx}
+        elif i % 3 == 1:
+            total -= i
+        else:
+            total ^= i
+    return total
+
+
+def transform{idx}(records):
+    return {{r.key: [v for v in r.value if v % 2 == 0] for r in records if r.key}}
+'''
+
+src_dir = None
+cache_dir = None
+num_modules = 0
+
+
+def child_cmd(modules):
+    code = "import time; t = time.time(); " + "; ".join(f"import bmmod{i}" for i in range(modules)) + "; print(time.time() - t)"
+    if IS_GRAALPY:
+        return [sys.executable, "--experimental-options", f"--python.BytecodeCacheDirectory={cache_dir}", "-c", code]
+    else:
+        return [sys.executable, "-X", f"pycache_prefix={cache_dir}", "-c", code]
+
+
+def run_child(modules):
+    env = dict(os.environ)
+    env["PYTHONPATH"] = src_dir
+    out = subprocess.check_output(child_cmd(modules), env=env)
+    return float(out.decode().strip())
+
+
+def __setup__(num=100):
+    global src_dir, cache_dir, num_modules
+    num_modules = num
+    src_dir = tempfile.mkdtemp()
+    cache_dir = tempfile.mkdtemp()
+    for i in range(num):
+        with open(os.path.join(src_dir, f"bmmod{i}.py"), "w") as f:
+            f.write(MODULE_TEMPLATE.format(idx=i))
+
+
+def __benchmark__(num=100):
+    shutil.rmtree(cache_dir, ignore_errors=True)
+    os.makedirs(cache_dir)
+    cold = run_child(num)
+    warm = run_child(num)
+    print("import of %d modules: cold %.3fs, warm %.3fs" % (num, cold, warm))
+    return cold, warm
+
+
+def __teardown__():
+    shutil.rmtree(src_dir, ignore_errors=True)
+    shutil.rmtree(cache_dir, ignore_errors=True)
@@ -1,4 +1,4 @@
-# Copyright (c) 2020, 2022, Oracle and/or its affiliates. All rights reserved.
+# Copyright (c) 2024, Oracle and/or its affiliates. All rights reserved.
 # DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
 #
 # The Universal Permissive License (UPL), Version 1.0
@@ -36,35 +36,43 @@
 # LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
 # OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
 # SOFTWARE.
+# Serialize a large list of records into a file with json.dump, compact and
+# pretty-printed. With the default size the documents are a few hundred MB, so
+# besides throughput, peak memory shows whether the encoder holds the whole
+# document in memory before writing it out.
 
-def __initialize__(owner_globals):
-    delegate_attrs = ['Struct', 'StructError', '_clearcache', 'calcsize', 'error', 'iter_unpack', 'pack',
-                          'pack_into', 'unpack', 'unpack_from']
-    res = True
-    for x in delegate_attrs:
-        if x not in owner_globals:
-            res = False
-            break
+import json
+import os
+import tempfile
 
-    if not res:
-        __graalpython__.import_current_as_named_module_with_delegate(
-            module_name="_struct",
-            delegate_name="_cpython_struct",
-            delegate_attributes=delegate_attrs,
-            on_import_error={
-                # Just enough to make zipfile and six import successfully, but raise the
-                # original import error when someone tries to use the Struct object
-                "__all__": ["calcsize", "Struct"],
-                "_clearcache": lambda: None,
-                "__doc__": "Fake _struct",
-                "calcsize": lambda _: 8,
-                "Struct": type("Struct", (), {
-                    "__init__": lambda self, _: None,
-                    "__getattr__": lambda self, attr: (lambda *args: __import__("_cpython_struct"))
-                })
-            },
-            owner_globals=owner_globals)
+records = []
+path = None
 
-__initialize__(globals())
 
-del __initialize__
+def __setup__(num=1000000):
+    global path
+    for i in range(int(num)):
+        records.append({
+            "id": i,
+            "name": "customer-%d" % i,
+            "email": "customer%d@example.com" % i,
+            "balance": i * 0.25,
+            "active": i % 3 != 0,
+            "tags": ["tier-%d" % (i % 5), "région-%d" % (i % 7)],
+            "address": {"street": "%d Main Street" % i, "zip": "%05d" % (i % 100000)},
+        })
+    fd, path = tempfile.mkstemp(suffix='.json')
+    os.close(fd)
+
+
+def __teardown__():
+    records.clear()
+    os.remove(path)
+
+
+def __benchmark__(num=1000000):
+    with open(path, 'w', encoding='utf-8') as f:
+        json.dump(records, f)
+    with open(path, 'w', encoding='utf-8') as f:
+        json.dump(records, f, indent=2, sort_keys=True, ensure_ascii=False)
+    return os.path.getsize(path)
@@ -0,0 +1,70 @@
+# Copyright (c) 2024, Oracle and/or its affiliates. All rights reserved.
+# DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+#
+# The Universal Permissive License (UPL), Version 1.0
+#
+# Subject to the condition set forth below, permission is hereby granted to any
+# person obtaining a copy of this software, associated documentation and/or
+# data (collectively the "Software"), free of charge and under any and all
+# copyright rights in the Software, and any and all patent rights owned or
+# freely licensable by each licensor hereunder covering either (i) the
+# unmodified Software as contributed to or provided by such licensor, or (ii)
+# the Larger Works (as defined below), to deal in both
+#
+# (a) the Software, and
+#
+# (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+# one is included with the Software each a "Larger Work" to which the Software
+# is contributed by such licensors),
+#
+# without restriction, including without limitation the rights to copy, create
+# derivative works of, display, perform, and distribute the Software and make,
+# use, sell, offer for sale, import, export, have made, and have sold the
+# Software and the Larger Work(s), and to sublicense the foregoing rights on
+# either these or other terms.
+#
+# This license is subject to the following condition:
+#
+# The above copyright notice and either this complete permission notice or at a
+# minimum a reference to the UPL must be included in all copies or substantial
+# portions of the Software.
+#
+# THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+# IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+# FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+# AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+# LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+# OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+# SOFTWARE.
+# Moving large binary payloads between processes with pickle: in-band bytes and
+# bytearrays, and protocol 5 out-of-band buffers.
+
+import io
+import pickle
+
+SIZE = 4 * 1024 * 1024
+
+blob = bytes(SIZE)
+array = bytearray(SIZE)
+message = {"id": 1, "blob": blob, "array": array, "meta": ["a", "b"]}
+
+
+def measure(num):
+    total = 0
+    for i in range(num):
+        data = pickle.dumps(message, protocol=5)
+        total += len(pickle.loads(data)["blob"])
+
+        f = io.BytesIO()
+        pickle.dump(message, f, protocol=5)
+        f.seek(0)
+        total += len(pickle.load(f)["array"])
+
+        buffers = []
+        data = pickle.dumps(pickle.PickleBuffer(array), protocol=5, buffer_callback=buffers.append)
+        total += len(pickle.loads(data, buffers=buffers).raw())
+    return total
+
+
+def __benchmark__(num=200):
+    return measure(num)
@@ -0,0 +1,85 @@
+# Copyright (c) 2024, Oracle and/or its affiliates. All rights reserved.
+# DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+#
+# The Universal Permissive License (UPL), Version 1.0
+#
+# Subject to the condition set forth below, permission is hereby granted to any
+# person obtaining a copy of this software, associated documentation and/or
+# data (collectively the "Software"), free of charge and under any and all
+# copyright rights in the Software, and any and all patent rights owned or
+# freely licensable by each licensor hereunder covering either (i) the
+# unmodified Software as contributed to or provided by such licensor, or (ii)
+# the Larger Works (as defined below), to deal in both
+#
+# (a) the Software, and
+#
+# (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+# one is included with the Software each a "Larger Work" to which the Software
+# is contributed by such licensors),
+#
+# without restriction, including without limitation the rights to copy, create
+# derivative works of, display, perform, and distribute the Software and make,
+# use, sell, offer for sale, import, export, have made, and have sold the
+# Software and the Larger Work(s), and to sublicense the foregoing rights on
+# either these or other terms.
+#
+# This license is subject to the following condition:
+#
+# The above copyright notice and either this complete permission notice or at a
+# minimum a reference to the UPL must be included in all copies or substantial
+# portions of the Software.
+#
+# THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+# IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+# FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+# AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+# LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+# OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+# SOFTWARE.
+# Short-timeout polling loop like those of socket timeouts and
+# subprocess.communicate: select.select with a zero timeout on a few sockets
+# that are mostly not ready, some of them in blocking mode.
+
+import select
+import socket
+
+pairs = []
+
+
+def __setup__(sockets=4, num=100000):
+    server = socket.create_server(('127.0.0.1', 0))
+    try:
+        for i in range(int(sockets)):
+            client = socket.create_connection(server.getsockname())
+            accepted, _ = server.accept()
+            if i % 2 == 0:
+                # non-blocking internally, like sockets with a timeout
+                accepted.settimeout(1)
+            pairs.append((client, accepted))
+    finally:
+        server.close()
+
+
+def __teardown__():
+    for client, accepted in pairs:
+        client.close()
+        accepted.close()
+    pairs.clear()
+
+
+def measure(num):
+    readers = [accepted for _, accepted in pairs]
+    writers = readers[:1]
+    ready = 0
+    for i in range(num):
+        if i % 1000 == 0:
+            pairs[(i // 1000) % len(pairs)][0].send(b'x')
+        r, w, _ = select.select(readers, writers, [], 0)
+        for s in r:
+            s.recv(16)
+        ready += len(r) + len(w)
+    return ready
+
+
+def __benchmark__(sockets=4, num=100000):
+    return measure(int(num))
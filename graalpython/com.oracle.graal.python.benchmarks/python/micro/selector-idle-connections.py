@@ -0,0 +1,104 @@
+# Copyright (c) 2024, Oracle and/or its affiliates. All rights reserved.
+# DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+#
+# The Universal Permissive License (UPL), Version 1.0
+#
+# Subject to the condition set forth below, permission is hereby granted to any
+# person obtaining a copy of this software, associated documentation and/or
+# data (collectively the "Software"), free of charge and under any and all
+# copyright rights in the Software, and any and all patent rights owned or
+# freely licensable by each licensor hereunder covering either (i) the
+# unmodified Software as contributed to or provided by such licensor, or (ii)
+# the Larger Works (as defined below), to deal in both
+#
+# (a) the Software, and
+#
+# (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+# one is included with the Software each a "Larger Work" to which the Software
+# is contributed by such licensors),
+#
+# without restriction, including without limitation the rights to copy, create
+# derivative works of, display, perform, and distribute the Software and make,
+# use, sell, offer for sale, import, export, have made, and have sold the
+# Software and the Larger Work(s), and to sublicense the foregoing rights on
+# either these or other terms.
+#
+# This license is subject to the following condition:
+#
+# The above copyright notice and either this complete permission notice or at a
+# minimum a reference to the UPL must be included in all copies or substantial
+# portions of the Software.
+#
+# THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+# IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+# FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+# AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+# LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+# OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+# SOFTWARE.
+
+# An event loop with many idle connections and a few active ones, like asyncio
+# servers: each iteration makes one connection readable and waits for it with
+# selectors.DefaultSelector. The cost of a wait should depend on the number of
+# ready connections, not on the number of registered ones.
+
+import selectors
+import socket
+
+pairs = []
+selector = None
+
+
+def fd_limit(connections):
+    try:
+        import resource
+        soft, hard = resource.getrlimit(resource.RLIMIT_NOFILE)
+        if soft != resource.RLIM_INFINITY and soft < 2 * connections + 64:
+            if hard == resource.RLIM_INFINITY or hard >= 2 * connections + 64:
+                resource.setrlimit(resource.RLIMIT_NOFILE, (2 * connections + 64, hard))
+            else:
+                # each connection needs two descriptors, leave some for the runtime
+                return (hard - 64) // 2
+    except (ImportError, ValueError, OSError):
+        pass
+    return connections
+
+
+def __setup__(connections=10000, num=1000):
+    global selector
+    connections = fd_limit(int(connections))
+    server = socket.create_server(('127.0.0.1', 0), backlog=128)
+    selector = selectors.DefaultSelector()
+    try:
+        for i in range(connections):
+            client = socket.create_connection(server.getsockname())
+            accepted, _ = server.accept()
+            accepted.setblocking(False)
+            selector.register(accepted, selectors.EVENT_READ, i)
+            pairs.append((client, accepted))
+    finally:
+        server.close()
+
+
+def __teardown__():
+    selector.close()
+    for client, accepted in pairs:
+        client.close()
+        accepted.close()
+    pairs.clear()
+
+
+def measure(num):
+    n = len(pairs)
+    handled = 0
+    for i in range(num):
+        client, accepted = pairs[(i * 7919) % n]
+        client.send(b'x')
+        for key, events in selector.select(1):
+            key.fileobj.recv(16)
+            handled += 1
+    return handled
+
+
+def __benchmark__(connections=10000, num=1000):
+    return measure(int(num))
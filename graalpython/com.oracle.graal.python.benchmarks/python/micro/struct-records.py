@@ -0,0 +1,78 @@
+# Copyright (c) 2024, Oracle and/or its affiliates. All rights reserved.
+# DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+#
+# The Universal Permissive License (UPL), Version 1.0
+#
+# Subject to the condition set forth below, permission is hereby granted to any
+# person obtaining a copy of this software, associated documentation and/or
+# data (collectively the "Software"), free of charge and under any and all
+# copyright rights in the Software, and any and all patent rights owned or
+# freely licensable by each licensor hereunder covering either (i) the
+# unmodified Software as contributed to or provided by such licensor, or (ii)
+# the Larger Works (as defined below), to deal in both
+#
+# (a) the Software, and
+#
+# (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+# one is included with the Software each a "Larger Work" to which the Software
+# is contributed by such licensors),
+#
+# without restriction, including without limitation the rights to copy, create
+# derivative works of, display, perform, and distribute the Software and make,
+# use, sell, offer for sale, import, export, have made, and have sold the
+# Software and the Larger Work(s), and to sublicense the foregoing rights on
+# either these or other terms.
+#
+# This license is subject to the following condition:
+#
+# The above copyright notice and either this complete permission notice or at a
+# minimum a reference to the UPL must be included in all copies or substantial
+# portions of the Software.
+#
+# THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+# IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+# FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+# AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+# LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+# OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+# SOFTWARE.
+
+# Decoding fixed-layout records from a binary blob, the way file format
+# parsers use struct: module-level unpack_from with a constant format string,
+# a precompiled Struct, and pack_into for writing records back.
+
+import struct
+
+RECORD = struct.Struct('<IhHqd4s')
+data = None
+out = None
+
+
+def __setup__(records=10000, num=100):
+    global data, out
+    records = int(records)
+    buf = bytearray(RECORD.size * records)
+    for i in range(records):
+        RECORD.pack_into(buf, i * RECORD.size, i, -i % 30000, i % 60000, i * 1000003, i / 7, b'rec!')
+    data = bytes(buf)
+    out = bytearray(len(buf))
+
+
+def measure(num):
+    size = RECORD.size
+    records = len(data) // size
+    total = 0
+    for _ in range(num):
+        for i in range(records):
+            a, b, c, d, e, f = struct.unpack_from('<IhHqd4s', data, i * size)
+            total += a + b + c
+        for a, b, c, d, e, f in RECORD.iter_unpack(data):
+            total += d & 0xff
+        for i in range(records):
+            values = RECORD.unpack_from(data, i * size)
+            RECORD.pack_into(out, i * size, *values)
+    return total
+
+
+def __benchmark__(records=10000, num=100):
+    return measure(int(num))
@@ -295,12 +295,13 @@ public class VirtualFileSystemTest {
                         assert len(f) == 0, 'expected no files'
 
                         f = listdir('/test_mount_point/')
-                        assert len(f) == 4, 'expected 4 files, got ' + str(len(f))
+                        assert len(f) == 5, 'expected 5 files, got ' + str(len(f))
 
                         assert 'dir1' in f, 'does not contain "dir1"'
                         assert 'emptydir' in f, 'does not contain "emptydir"'
                         assert 'file1' in f, 'does not contain "file1"'
                         assert 'fileslist.txt' in f, 'does not contain "fileslist.txt"'
+                        assert 'filesindex.bin' in f, 'does not contain "filesindex.bin"'
 
                         f = listdir('/test_mount_point/dir1')
                         if len(f) != 2:
@@ -336,7 +337,7 @@ public class VirtualFileSystemTest {
                             files.update(f)
                             dirs.update(d)
                         assert len(roots) == 4, 'expected 4 roots, got ' + str(len(roots))
-                        assert len(files) == 3, 'expected 3 files, got ' + str(len(files))
+                        assert len(files) == 4, 'expected 4 files, got ' + str(len(files))
                         assert len(dirs) == 3, 'expected 3 dirs, got ' + str(len(dirs))
                         """);
 
@@ -76,6 +76,7 @@ import com.oracle.truffle.api.nodes.Node;
 import com.oracle.truffle.api.profiles.InlinedBranchProfile;
 import com.oracle.truffle.api.profiles.InlinedConditionProfile;
 import com.oracle.truffle.api.profiles.InlinedCountingConditionProfile;
+import com.oracle.truffle.api.strings.TruffleString;
 
 public class ObjectHashMapTests {
     public static final class DictKey implements TruffleObject {
@@ -160,6 +161,71 @@ public class ObjectHashMapTests {
         }
     }
 
+    @Test
+    public void testLongKeysTransitionToGenericKeys() {
+        ObjectHashMap map = new ObjectHashMap();
+        LinkedHashMap<Object, Object> expected = new LinkedHashMap<>();
+        // keys equal to their hash are stored unboxed, keys outside of int range are read as Long
+        long base = 1L << 40;
+        for (int i = 0; i < 100; i++) {
+            long key = base + i;
+            Object value = newValue();
+            put(map, key, PyObjectHashNode.hash(key), value);
+            expected.put(key, value);
+            assertEqual(i, expected, map);
+        }
+        for (int i = 0; i < 30; i++) {
+            long key = base + i * 3;
+            remove(map, key, PyObjectHashNode.hash(key));
+            expected.remove(key);
+            assertEqual(i, expected, map);
+        }
+        // a key that is not an int with the same hash as existing key must not be equal to it
+        DictKey collidingKey = new DictKey(base + 1);
+        Object value = newValue();
+        put(map, collidingKey, collidingKey.hash, value);
+        expected.put(collidingKey, value);
+        assertEqual("after generalization", expected, map);
+        for (int i = 100; i < 200; i++) {
+            long key = base + i;
+            put(map, key, PyObjectHashNode.hash(key), newValue());
+            expected.put(key, get(map, key, PyObjectHashNode.hash(key)));
+            assertEqual(i, expected, map);
+        }
+    }
+
+    @Test
+    public void testLayoutIsChosenByFirstKey() {
+        ObjectHashMap map = new ObjectHashMap(100, false);
+        assertEquals(0, map.copy().size());
+        LinkedHashMap<Object, Object> expected = new LinkedHashMap<>();
+        // keys outside of int range are read as Long in both layouts
+        long base = 1L << 40;
+        // the first key is not an int, so int keys are stored boxed from the start
+        DictKey first = new DictKey(base);
+        Object value = newValue();
+        put(map, first, first.hash, value);
+        expected.put(first, value);
+        for (int i = 0; i < 50; i++) {
+            long key = base + i;
+            value = newValue();
+            put(map, key, PyObjectHashNode.hash(key), value);
+            expected.put(key, value);
+            assertEqual(i, expected, map);
+        }
+        // a cleared map chooses the layout again
+        map.clear();
+        expected.clear();
+        for (int i = 0; i < 50; i++) {
+            long key = base + i;
+            value = newValue();
+            put(map, key, PyObjectHashNode.hash(key), value);
+            expected.put(key, value);
+            assertEqual(i, expected, map);
+        }
+        assertEqual("copy", expected, map.copy());
+    }
+
     @Test
     public void testLongHashMapStressTest() {
         ObjectHashMap map = new ObjectHashMap();
@@ -219,8 +285,8 @@ public class ObjectHashMapTests {
         var keys = expected.keySet().stream().toList().reversed().stream().limit(count).toArray(Long[]::new);
         for (int i = 0; i < keys.length; i++) {
             Long key = keys[i];
-            Object[] popped = PopNode.doPopWithRestart(null, map, InlinedConditionProfile.getUncached(), InlinedCountingConditionProfile.getUncached(), InlinedCountingConditionProfile.getUncached(),
-                            InlinedBranchProfile.getUncached());
+            Object[] popped = PopNode.doPopWithRestart(null, map, InlinedConditionProfile.getUncached(), InlinedConditionProfile.getUncached(), InlinedCountingConditionProfile.getUncached(),
+                            InlinedCountingConditionProfile.getUncached(), InlinedBranchProfile.getUncached());
             Assert.assertEquals(Integer.toString(i), key, popped[0]);
             Assert.assertEquals(Integer.toString(i), expected.get(key), popped[1]);
             expected.remove(key);
@@ -360,15 +426,15 @@ public class ObjectHashMapTests {
         InlinedCountingConditionProfile uncachedCounting = InlinedCountingConditionProfile.getUncached();
         return ObjectHashMap.GetNode.doGetWithRestart(null, null, map, key, hash,
                         InlinedBranchProfile.getUncached(), uncachedCounting, uncachedCounting, uncachedCounting,
-                        uncachedCounting, uncachedCounting,
-                        new EqNodeStub());
+                        uncachedCounting, uncachedCounting, InlinedConditionProfile.getUncached(),
+                        new EqNodeStub(), TruffleString.EqualNode.getUncached());
     }
 
     private static void remove(ObjectHashMap map, Object key, long hash) {
         InlinedCountingConditionProfile uncachedCounting = InlinedCountingConditionProfile.getUncached();
         ObjectHashMap.RemoveNode.doRemoveWithRestart(null, null, map, key, hash,
                         InlinedBranchProfile.getUncached(), uncachedCounting, uncachedCounting, uncachedCounting,
-                        uncachedCounting, InlinedBranchProfile.getUncached(), new EqNodeStub());
+                        uncachedCounting, InlinedBranchProfile.getUncached(), InlinedConditionProfile.getUncached(), new EqNodeStub(), TruffleString.EqualNode.getUncached());
     }
 
     private static void put(ObjectHashMap map, Object key, long hash, Object value) {
@@ -376,6 +442,6 @@ public class ObjectHashMapTests {
         ObjectHashMap.PutNode.doPutWithRestart(null, null, map, key, hash, value,
                         InlinedBranchProfile.getUncached(), uncachedCounting, uncachedCounting, uncachedCounting,
                         uncachedCounting, InlinedBranchProfile.getUncached(), InlinedBranchProfile.getUncached(),
-                        new EqNodeStub());
+                        InlinedConditionProfile.getUncached(), new EqNodeStub(), TruffleString.EqualNode.getUncached());
     }
 }
@@ -0,0 +1,211 @@
+/*
+ * Copyright (c) 2024, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.test.objects;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.oracle.graal.python.builtins.objects.cext.capi.transitions.PointerLookupTable;
+
+public class PointerLookupTableTests {
+    // capacity of a new table, entries stay in this many slots until it holds half of them
+    private static final int INITIAL_CAPACITY = 64;
+
+    @Test
+    public void testNullKey() {
+        PointerLookupTable<Object> table = new PointerLookupTable<>();
+        assertNull(table.get(0));
+        assertFalse(table.containsKey(0));
+        assertNull(table.remove(0));
+        assertTrue(table.isEmpty());
+    }
+
+    @Test
+    public void testCollidingKeys() {
+        PointerLookupTable<Object> table = new PointerLookupTable<>();
+        HashMap<Long, Object> expected = new HashMap<>();
+        for (long key : keysWithHome(5, 10)) {
+            Object value = new Object();
+            assertNull(table.put(key, value));
+            expected.put(key, value);
+            assertEqual(expected, table);
+        }
+        long key = keysWithHome(5, 10).get(3);
+        Object value = new Object();
+        assertSame(expected.get(key), table.put(key, value));
+        expected.put(key, value);
+        assertEqual(expected, table);
+        // an absent key with the same home slot has to stop at the end of the probe chain
+        assertNull(table.get(keysWithHome(5, 11).get(10)));
+    }
+
+    @Test
+    public void testWrapAround() {
+        PointerLookupTable<Object> table = new PointerLookupTable<>();
+        HashMap<Long, Object> expected = new HashMap<>();
+        List<Long> keys = new ArrayList<>(keysWithHome(INITIAL_CAPACITY - 2, 4));
+        keys.addAll(keysWithHome(INITIAL_CAPACITY - 1, 4));
+        keys.addAll(keysWithHome(1, 2));
+        for (long key : keys) {
+            Object value = new Object();
+            table.put(key, value);
+            expected.put(key, value);
+        }
+        assertEqual(expected, table);
+        // entries that wrapped around to the start of the table are shifted back past the end
+        for (long key : keys) {
+            assertSame(expected.remove(key), table.remove(key));
+            assertEqual(expected, table);
+        }
+        assertTrue(table.isEmpty());
+    }
+
+    @Test
+    public void testRemoveInsideProbeChain() {
+        List<Long> first = keysWithHome(10, 4);
+        List<Long> second = keysWithHome(11, 4);
+        for (int removed = 0; removed < 8; removed++) {
+            PointerLookupTable<Object> table = new PointerLookupTable<>();
+            HashMap<Long, Object> expected = new HashMap<>();
+            List<Long> keys = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                // interleave the keys so that the chains of both home slots overlap
+                keys.add(first.get(i));
+                keys.add(second.get(i));
+            }
+            for (long key : keys) {
+                Object value = new Object();
+                table.put(key, value);
+                expected.put(key, value);
+            }
+            long key = keys.get(removed);
+            assertSame(expected.remove(key), table.remove(key));
+            assertNull(table.remove(key));
+            assertEqual(expected, table);
+            Object value = new Object();
+            assertNull(table.put(key, value));
+            expected.put(key, value);
+            assertEqual(expected, table);
+        }
+    }
+
+    @Test
+    public void testRehash() {
+        PointerLookupTable<Object> table = new PointerLookupTable<>();
+        HashMap<Long, Object> expected = new HashMap<>();
+        for (long i = 1; i <= 10000; i++) {
+            Object value = new Object();
+            table.put(i * 16, value);
+            expected.put(i * 16, value);
+        }
+        assertEqual(expected, table);
+        for (long i = 1; i <= 10000; i += 2) {
+            assertSame(expected.remove(i * 16), table.remove(i * 16));
+        }
+        assertEqual(expected, table);
+        table.clear();
+        expected.clear();
+        assertEqual(expected, table);
+    }
+
+    @Test
+    public void testRandomOperations() {
+        PointerLookupTable<Object> table = new PointerLookupTable<>();
+        HashMap<Long, Object> expected = new HashMap<>();
+        Random rand = new Random(42);
+        for (int i = 0; i < 20000; i++) {
+            // a small range of aligned keys, so that keys are often removed and put again
+            long key = (rand.nextInt(512) + 1) * 8L;
+            if (rand.nextInt(3) == 0) {
+                assertSame(expected.remove(key), table.remove(key));
+            } else {
+                Object value = new Object();
+                assertSame(expected.put(key, value), table.put(key, value));
+            }
+            assertEquals(expected.size(), table.size());
+        }
+        assertEqual(expected, table);
+    }
+
+    /**
+     * Returns the first {@code count} aligned pointers whose home slot in a new table is
+     * {@code home}.
+     */
+    private static List<Long> keysWithHome(int home, int count) {
+        List<Long> result = new ArrayList<>();
+        for (long key = 16; result.size() < count; key += 16) {
+            if (hash(key, INITIAL_CAPACITY - 1) == home) {
+                result.add(key);
+            }
+        }
+        return result;
+    }
+
+    // same as PointerLookupTable.hash
+    private static int hash(long key, int mask) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+
+    private static void assertEqual(HashMap<Long, Object> expected, PointerLookupTable<Object> actual) {
+        assertEquals(expected.size(), actual.size());
+        assertEquals(expected.isEmpty(), actual.isEmpty());
+        for (var entry : expected.entrySet()) {
+            assertTrue(actual.containsKey(entry.getKey()));
+            assertSame(entry.getValue(), actual.get(entry.getKey()));
+        }
+        long[] keys = actual.keys();
+        Arrays.sort(keys);
+        assertArrayEquals(expected.keySet().stream().mapToLong(Long::longValue).sorted().toArray(), keys);
+    }
+}
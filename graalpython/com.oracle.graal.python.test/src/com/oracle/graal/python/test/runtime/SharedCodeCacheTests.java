@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2024, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.test.runtime;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.Engine;
+import org.graalvm.polyglot.Value;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class SharedCodeCacheTests {
+    private Engine engine;
+
+    @Before
+    public void setUp() {
+        engine = Engine.newBuilder().allowExperimentalOptions(true).option("python.SharedCodeCacheSize", "2").build();
+    }
+
+    @After
+    public void tearDown() {
+        engine.close();
+    }
+
+    private Context newContext() {
+        return Context.newBuilder("python").engine(engine).allowAllAccess(true).build();
+    }
+
+    private static long stat(Context context, String name) {
+        Value stats = context.eval("python", "__graalpython__.code_cache_stats()");
+        return stats.getHashValue(name).asLong();
+    }
+
+    private static void compile(Context context, String code) {
+        context.eval("python", "compile('" + code + "', 'shared_cache_test.py', 'exec')");
+    }
+
+    @Test
+    public void sharedBetweenContexts() {
+        try (Context c1 = newContext(); Context c2 = newContext()) {
+            compile(c1, "x = 1");
+            long hits = stat(c1, "shared_hits");
+            compile(c2, "x = 1");
+            assertEquals(hits + 1, stat(c2, "shared_hits"));
+            // changed content is a different entry
+            long misses = stat(c2, "shared_misses");
+            compile(c2, "x = 2");
+            assertEquals(misses + 1, stat(c2, "shared_misses"));
+        }
+    }
+
+    @Test
+    public void evictsLeastRecentlyUsed() {
+        try (Context c = newContext()) {
+            compile(c, "a = 1");
+            compile(c, "b = 1");
+            compile(c, "a = 1");
+            compile(c, "c = 1");
+            assertEquals(2, stat(c, "shared_size"));
+            assertTrue(stat(c, "shared_evictions") >= 1);
+            long hits = stat(c, "shared_hits");
+            compile(c, "a = 1");
+            assertEquals(hits + 1, stat(c, "shared_hits"));
+        }
+    }
+}
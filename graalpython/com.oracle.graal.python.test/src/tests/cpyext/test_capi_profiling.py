@@ -0,0 +1,69 @@
+# Copyright (c) 2024, Oracle and/or its affiliates. All rights reserved.
+# DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+#
+# The Universal Permissive License (UPL), Version 1.0
+#
+# Subject to the condition set forth below, permission is hereby granted to any
+# person obtaining a copy of this software, associated documentation and/or
+# data (collectively the "Software"), free of charge and under any and all
+# copyright rights in the Software, and any and all patent rights owned or
+# freely licensable by each licensor hereunder covering either (i) the
+# unmodified Software as contributed to or provided by such licensor, or (ii)
+# the Larger Works (as defined below), to deal in both
+#
+# (a) the Software, and
+#
+# (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+# one is included with the Software each a "Larger Work" to which the Software
+# is contributed by such licensors),
+#
+# without restriction, including without limitation the rights to copy, create
+# derivative works of, display, perform, and distribute the Software and make,
+# use, sell, offer for sale, import, export, have made, and have sold the
+# Software and the Larger Work(s), and to sublicense the foregoing rights on
+# either these or other terms.
+#
+# This license is subject to the following condition:
+#
+# The above copyright notice and either this complete permission notice or at a
+# minimum a reference to the UPL must be included in all copies or substantial
+# portions of the Software.
+#
+# THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+# IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+# FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+# AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+# LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+# OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+# SOFTWARE.
+
+import subprocess
+import sys
+import unittest
+
+GRAALPY = sys.implementation.name == 'graalpy'
+
+
+@unittest.skipUnless(GRAALPY, "GraalPy specific")
+class TestCApiProfiling(unittest.TestCase):
+
+    def test_disabled(self):
+        stats = __graalpython__.capi_stats()
+        self.assertEqual({'downcalls', 'upcalls'}, set(stats))
+
+    def test_capi_stats(self):
+        code = '''if 1:
+            import _testcapi
+            for i in range(3):
+                _testcapi.test_list_api()
+            stats = __graalpython__.capi_stats()
+            count, time, conversion_time = stats["downcalls"]["test_list_api"]
+            assert count == 3, stats["downcalls"]
+            assert time >= 0 and conversion_time >= 0, stats["downcalls"]
+            assert stats["upcalls"], stats
+            assert all(c > 0 and t >= 0 for c, t, ct in stats["upcalls"].values()), stats["upcalls"]
+            print("ok")
+        '''
+        out = subprocess.check_output([sys.executable, '--experimental-options', '--python.CApiProfiling=true', '-c', code],
+                                      universal_newlines=True)
+        self.assertEqual('ok', out.strip())
@@ -283,6 +283,7 @@ class PolyglotAppTest(unittest.TestCase):
                 assert "/vfs/home/\n" in lines
                 assert "/vfs/home/lib-graalpython/\n" in lines
                 assert "/vfs/home/lib-python/\n" in lines
+                assert os.path.exists(os.path.join(target_dir, "target", "classes", "vfs", "filesindex.bin"))
 
                 # execute and check native image
                 cmd = [os.path.join(target_dir, "target", target_name)]
@@ -112,3 +112,72 @@ def test_array_native_storage():
     del a[2:]
     a.insert(1, -1)
     assert a == array('l', [1, -1, 3])
+
+
+def test_tolist_all_formats():
+    cases = {
+        'b': [-128, -1, 0, 1, 127],
+        'B': [0, 1, 128, 255],
+        'h': [-32768, -1, 0, 1, 32767],
+        'H': [0, 1, 32768, 65535],
+        'i': [-2147483648, -1, 0, 1, 2147483647],
+        'I': [0, 1, 2147483648, 4294967295],
+        'l': [-9223372036854775808, -1, 0, 1, 9223372036854775807],
+        'L': [0, 1, 18446744073709551615],
+        'q': [-9223372036854775808, 0, 9223372036854775807],
+        'Q': [0, 18446744073709551615],
+        'f': [-1.5, 0.0, 0.25, float('inf')],
+        'd': [-1.5, 0.0, 0.1, 1e300],
+    }
+    for typecode, values in cases.items():
+        a = array(typecode, values)
+        assert a.tolist() == values, typecode
+        assert list(a) == values, typecode
+        assert [type(x) for x in a.tolist()] == [type(x) for x in values], typecode
+    a = array('f', [0.1])
+    assert a.tolist() == [a[0]]
+    assert list(array('i')) == []
+
+
+def test_list_of_array_subclass():
+    class MyArray(array):
+        def __iter__(self):
+            return iter([42])
+
+    a = MyArray('i', [1, 2, 3])
+    assert list(a) == [42]
+    assert a.tolist() == [1, 2, 3]
+
+
+def test_fromlist_typed_lists():
+    a = array('b', [1])
+    a.fromlist([-128, 127])
+    assert a == array('b', [1, -128, 127])
+    assert_raises(OverflowError, a.fromlist, [1, 128])
+    assert a == array('b', [1, -128, 127])
+    a = array('B')
+    assert_raises(OverflowError, a.fromlist, [-1])
+    assert len(a) == 0
+    a = array('H', [1, 2])
+    a.fromlist([65535, 0])
+    assert a.tolist() == [1, 2, 65535, 0]
+    assert_raises(OverflowError, a.fromlist, [65536])
+    a = array('I')
+    a.fromlist([0, 2147483647])
+    assert_raises(OverflowError, a.fromlist, [-1])
+    assert a.tolist() == [0, 2147483647]
+    a = array('q')
+    a.fromlist([1, 2 ** 62])
+    assert a.tolist() == [1, 2 ** 62]
+    a = array('d')
+    a.fromlist([1, 2])
+    a.fromlist([0.5, 1.5])
+    assert a.tolist() == [1.0, 2.0, 0.5, 1.5]
+    a = array('f', [1.0, 2.0])
+    a.fromlist([0.5, 1e300])
+    assert a.tolist() == [1.0, 2.0, 0.5, float('inf')]
+    a = array('i')
+    assert_raises(TypeError, a.fromlist, [1.5])
+    assert len(a) == 0
+    assert array('h', [1, -2, 3]) == array('h', (1, -2, 3))
+    assert_raises(OverflowError, array, 'h', [1, 2 ** 15])
@@ -0,0 +1,122 @@
+# Copyright (c) 2024, Oracle and/or its affiliates. All rights reserved.
+# DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+#
+# The Universal Permissive License (UPL), Version 1.0
+#
+# Subject to the condition set forth below, permission is hereby granted to any
+# person obtaining a copy of this software, associated documentation and/or
+# data (collectively the "Software"), free of charge and under any and all
+# copyright rights in the Software, and any and all patent rights owned or
+# freely licensable by each licensor hereunder covering either (i) the
+# unmodified Software as contributed to or provided by such licensor, or (ii)
+# the Larger Works (as defined below), to deal in both
+#
+# (a) the Software, and
+#
+# (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+# one is included with the Software each a "Larger Work" to which the Software
+# is contributed by such licensors),
+#
+# without restriction, including without limitation the rights to copy, create
+# derivative works of, display, perform, and distribute the Software and make,
+# use, sell, offer for sale, import, export, have made, and have sold the
+# Software and the Larger Work(s), and to sublicense the foregoing rights on
+# either these or other terms.
+#
+# This license is subject to the following condition:
+#
+# The above copyright notice and either this complete permission notice or at a
+# minimum a reference to the UPL must be included in all copies or substantial
+# portions of the Software.
+#
+# THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+# IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+# FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+# AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+# LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+# OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+# SOFTWARE.
+
+import bisect
+import sys
+
+
+def assert_raises(err, fn, *args, **kwargs):
+    raised = False
+    try:
+        fn(*args, **kwargs)
+    except err:
+        raised = True
+    assert raised
+
+
+def test_builtin():
+    import _bisect
+    if sys.implementation.name == "graalpy":
+        assert "built-in" in repr(_bisect)
+    assert bisect.bisect_left is _bisect.bisect_left
+
+
+def test_storage_kinds():
+    for data, probes in [
+        ([1, 2, 2, 2, 5, 9], [0, 1, 2, 3, 9, 10, 2.5, 2 ** 40, True]),
+        ([-2 ** 40, 0, 2 ** 40, 2 ** 40], [-2 ** 41, 0, 1, 2 ** 40, 2 ** 41, 0.5]),
+        ([0.5, 1.0, 1.0, float('inf')], [0, 1, 1.0, 2, float('inf'), float('nan')]),
+        (['a', 'b', 'b', 'd'], ['', 'b', 'c', 'z']),
+    ]:
+        for x in probes:
+            left = bisect.bisect_left(data, x)
+            right = bisect.bisect_right(data, x)
+            assert left == sum(1 for v in data if v < x), (data, x)
+            assert right == len(data) - sum(1 for v in data if x < v), (data, x)
+
+
+def test_lo_hi():
+    data = [10, 20, 30, 40, 50]
+    assert bisect.bisect_left(data, 25, 1, 3) == 2
+    assert bisect.bisect_right(data, 5, 2) == 2
+    assert bisect.bisect_right(data, 60, 0, None) == 5
+    assert bisect.bisect_left(data, 60, hi=-1) == 5
+    assert bisect.bisect_left(data, 60, 4, 2) == 4
+    assert_raises(ValueError, bisect.bisect_left, data, 5, -1)
+    assert_raises(IndexError, bisect.bisect_left, data, 60, 0, 10)
+
+
+def test_key():
+    data = [(1, 'a'), (3, 'b'), (5, 'c')]
+    assert bisect.bisect_left(data, 3, key=lambda t: t[0]) == 1
+    assert bisect.bisect_right(data, 3, key=lambda t: t[0]) == 2
+    bisect.insort_left(data, (3, 'x'), key=lambda t: t[0])
+    bisect.insort_right(data, (3, 'y'), key=lambda t: t[0])
+    assert data == [(1, 'a'), (3, 'x'), (3, 'b'), (3, 'y'), (5, 'c')]
+
+
+def test_insort():
+    data = []
+    for v in [5, 1, 4, 1.5, 2 ** 70, 3]:
+        bisect.insort(data, v)
+    assert data == [1, 1.5, 3, 4, 5, 2 ** 70]
+
+    class MyList(list):
+        inserted = 0
+
+        def insert(self, index, value):
+            MyList.inserted += 1
+            list.insert(self, index, value)
+
+    data = MyList([1, 3])
+    bisect.insort_left(data, 2)
+    assert data == [1, 2, 3] and MyList.inserted == 1
+
+
+def test_sequence_protocol():
+    class Seq:
+        def __len__(self):
+            return 100
+
+        def __getitem__(self, i):
+            return i * 2
+
+    assert bisect.bisect_left(Seq(), 51) == 26
+    assert bisect.bisect_right(range(sys.maxsize - 1), sys.maxsize - 3) == sys.maxsize - 2
+    assert_raises(TypeError, bisect.bisect_left, 10, 10)
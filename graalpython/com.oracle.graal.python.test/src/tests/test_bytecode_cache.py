@@ -0,0 +1,83 @@
+# Copyright (c) 2024, Oracle and/or its affiliates. All rights reserved.
+# DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+#
+# The Universal Permissive License (UPL), Version 1.0
+#
+# Subject to the condition set forth below, permission is hereby granted to any
+# person obtaining a copy of this software, associated documentation and/or
+# data (collectively the "Software"), free of charge and under any and all
+# copyright rights in the Software, and any and all patent rights owned or
+# freely licensable by each licensor hereunder covering either (i) the
+# unmodified Software as contributed to or provided by such licensor, or (ii)
+# the Larger Works (as defined below), to deal in both
+#
+# (a) the Software, and
+#
+# (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+# one is included with the Software each a "Larger Work" to which the Software
+# is contributed by such licensors),
+#
+# without restriction, including without limitation the rights to copy, create
+# derivative works of, display, perform, and distribute the Software and make,
+# use, sell, offer for sale, import, export, have made, and have sold the
+# Software and the Larger Work(s), and to sublicense the foregoing rights on
+# either these or other terms.
+#
+# This license is subject to the following condition:
+#
+# The above copyright notice and either this complete permission notice or at a
+# minimum a reference to the UPL must be included in all copies or substantial
+# portions of the Software.
+#
+# THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+# IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+# FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+# AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+# LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+# OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+# SOFTWARE.
+import os
+import subprocess
+import sys
+import tempfile
+import unittest
+
+
+@unittest.skipUnless(sys.implementation.name == 'graalpy', "GraalPy-specific option")
+class BytecodeCacheTest(unittest.TestCase):
+
+    def run_child(self, src_dir, cache_dir, code):
+        env = dict(os.environ)
+        env['PYTHONPATH'] = src_dir
+        return subprocess.check_output([sys.executable, '--experimental-options', f'--python.BytecodeCacheDirectory={cache_dir}', '-c', code],
+                                       env=env, universal_newlines=True).strip()
+
+    def test_reuse_and_invalidate(self):
+        with tempfile.TemporaryDirectory() as src_dir, tempfile.TemporaryDirectory() as cache_dir:
+            mod = os.path.join(src_dir, 'cachedmod.py')
+            with open(mod, 'w') as f:
+                f.write('def f():\n    return 42\n')
+            code = 'import cachedmod; print(cachedmod.f(), cachedmod.f.__code__.co_filename)'
+            self.assertEqual(f'42 {mod}', self.run_child(src_dir, cache_dir, code))
+            entries = [e for e in os.listdir(cache_dir) if e.endswith('.gpyc')]
+            self.assertTrue(entries)
+            # warm run uses the existing entries and does not add new ones
+            self.assertEqual(f'42 {mod}', self.run_child(src_dir, cache_dir, code))
+            self.assertEqual(sorted(entries), sorted(e for e in os.listdir(cache_dir) if e.endswith('.gpyc')))
+            # a changed source must not pick up the stale entry
+            with open(mod, 'w') as f:
+                f.write('def f():\n    return 43\n')
+            self.assertEqual(f'43 {mod}', self.run_child(src_dir, cache_dir, code))
+
+    def test_corrupted_entry(self):
+        with tempfile.TemporaryDirectory() as src_dir, tempfile.TemporaryDirectory() as cache_dir:
+            with open(os.path.join(src_dir, 'cachedmod2.py'), 'w') as f:
+                f.write('X = [i * 2 for i in range(5)]\n')
+            code = 'import cachedmod2; print(cachedmod2.X)'
+            self.assertEqual('[0, 2, 4, 6, 8]', self.run_child(src_dir, cache_dir, code))
+            for e in os.listdir(cache_dir):
+                path = os.path.join(cache_dir, e)
+                with open(path, 'r+b') as f:
+                    f.seek(os.path.getsize(path) - 1)
+                    f.write(b'\xff')
+            self.assertEqual('[0, 2, 4, 6, 8]', self.run_child(src_dir, cache_dir, code))
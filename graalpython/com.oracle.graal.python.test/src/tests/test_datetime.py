@@ -0,0 +1,171 @@
+# Copyright (c) 2024, Oracle and/or its affiliates. All rights reserved.
+# DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+#
+# The Universal Permissive License (UPL), Version 1.0
+#
+# Subject to the condition set forth below, permission is hereby granted to any
+# person obtaining a copy of this software, associated documentation and/or
+# data (collectively the "Software"), free of charge and under any and all
+# copyright rights in the Software, and any and all patent rights owned or
+# freely licensable by each licensor hereunder covering either (i) the
+# unmodified Software as contributed to or provided by such licensor, or (ii)
+# the Larger Works (as defined below), to deal in both
+#
+# (a) the Software, and
+#
+# (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+# one is included with the Software each a "Larger Work" to which the Software
+# is contributed by such licensors),
+#
+# without restriction, including without limitation the rights to copy, create
+# derivative works of, display, perform, and distribute the Software and make,
+# use, sell, offer for sale, import, export, have made, and have sold the
+# Software and the Larger Work(s), and to sublicense the foregoing rights on
+# either these or other terms.
+#
+# This license is subject to the following condition:
+#
+# The above copyright notice and either this complete permission notice or at a
+# minimum a reference to the UPL must be included in all copies or substantial
+# portions of the Software.
+#
+# THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+# IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+# FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+# AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+# LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+# OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+# SOFTWARE.
+
+import datetime
+import pickle
+import sys
+
+
+def assert_raises(err, fn, *args, **kwargs):
+    raised = False
+    try:
+        fn(*args, **kwargs)
+    except err:
+        raised = True
+    assert raised
+
+
+def test_accelerator_module():
+    if sys.implementation.name == "graalpy":
+        import _datetime_accel
+        assert "built-in" in repr(_datetime_accel)
+        assert _datetime_accel.ymd2ord(1, 1, 1) == 1
+        assert _datetime_accel.ord2ymd(1) == (1, 1, 1)
+        assert _datetime_accel.check_date_fields(2020, 2, 30) is None
+        assert _datetime_accel.check_date_fields(True, 1, 1) is None
+        assert _datetime_accel.timedelta_fields(2 ** 70, 0, 0, 0, 0, 0, 0) is None
+
+
+def test_ordinals():
+    for n in [1, 2, 59, 60, 365, 366, 730119, 730120, 3652059]:
+        d = datetime.date.fromordinal(n)
+        assert d.toordinal() == n
+    assert datetime.date(2000, 2, 29).toordinal() == 730179
+    assert datetime.date.fromordinal(730179) == datetime.date(2000, 2, 29)
+    assert datetime.date.fromordinal(3652059) == datetime.date.max
+    assert_raises(ValueError, datetime.date.fromordinal, 0)
+    assert datetime.date(2024, 3, 1).weekday() == 4
+
+
+def test_field_validation():
+    assert_raises(ValueError, datetime.date, 2023, 2, 29)
+    assert_raises(ValueError, datetime.date, 0, 1, 1)
+    assert_raises(ValueError, datetime.date, 2020, 13, 1)
+    assert_raises(TypeError, datetime.date, 2020.0, 1, 1)
+    assert_raises(ValueError, datetime.time, 24)
+    assert_raises(ValueError, datetime.time, 0, 0, 0, 1000000)
+    assert_raises(ValueError, datetime.datetime, 2020, 1, 1, fold=2)
+    assert datetime.date(True, True, True) == datetime.date(1, 1, 1)
+    assert datetime.datetime(2020, 1, 1, 10, 30, fold=1).fold == 1
+
+
+def test_timedelta_normalization():
+    td = datetime.timedelta(days=1, seconds=-1, microseconds=-1)
+    assert (td.days, td.seconds, td.microseconds) == (0, 86398, 999999)
+    td = datetime.timedelta(weeks=1, hours=-25, minutes=61, milliseconds=1500)
+    assert (td.days, td.seconds, td.microseconds) == (6, 61, 500000)
+    td = datetime.timedelta(microseconds=-1)
+    assert (td.days, td.seconds, td.microseconds) == (-1, 86399, 999999)
+    assert datetime.timedelta(hours=1.5) == datetime.timedelta(minutes=90)
+    assert datetime.timedelta(999999999, 86399, 999999) == datetime.timedelta.max
+    assert_raises(OverflowError, datetime.timedelta, 1000000000)
+    assert_raises(OverflowError, datetime.timedelta, seconds=10 ** 15)
+    assert datetime.timedelta(microseconds=2 ** 63) == datetime.timedelta(0, 2 ** 63 // 10 ** 6, 2 ** 63 % 10 ** 6)
+
+
+def test_arithmetic_and_comparison():
+    dt = datetime.datetime(2020, 12, 31, 23, 59, 59, 999999)
+    later = dt + datetime.timedelta(microseconds=1)
+    assert later == datetime.datetime(2021, 1, 1)
+    assert later - dt == datetime.timedelta(microseconds=1)
+    assert dt < later and later > dt and dt != later
+    assert sorted([later, dt]) == [dt, later]
+    assert datetime.date(2020, 1, 31) < datetime.date(2020, 2, 1)
+    assert datetime.date(2020, 2, 1) - datetime.date(2019, 2, 1) == datetime.timedelta(365)
+    assert len({datetime.date(2020, 1, 1), datetime.date(2020, 1, 1), datetime.date(2020, 1, 2)}) == 2
+    assert hash(dt) == hash(datetime.datetime(2020, 12, 31, 23, 59, 59, 999999))
+    assert hash(dt.replace(fold=1)) == hash(dt)
+    utc = datetime.timezone.utc
+    plus1 = datetime.timezone(datetime.timedelta(hours=1))
+    a = datetime.datetime(2020, 1, 1, 12, tzinfo=utc)
+    b = datetime.datetime(2020, 1, 1, 13, tzinfo=plus1)
+    assert a == b and hash(a) == hash(b)
+    assert_raises(TypeError, lambda: a < datetime.datetime(2020, 1, 1))
+
+
+def test_isoformat():
+    assert datetime.date(5, 1, 2).isoformat() == "0005-01-02"
+    dt = datetime.datetime(2021, 3, 4, 5, 6, 7, 8000)
+    assert dt.isoformat() == "2021-03-04T05:06:07.008000"
+    assert str(dt) == "2021-03-04 05:06:07.008000"
+    assert dt.isoformat(timespec="hours") == "2021-03-04T05"
+    assert dt.isoformat(timespec="minutes") == "2021-03-04T05:06"
+    assert dt.isoformat(timespec="seconds") == "2021-03-04T05:06:07"
+    assert dt.isoformat(timespec="milliseconds") == "2021-03-04T05:06:07.008"
+    assert dt.replace(microsecond=0).isoformat(sep="_") == "2021-03-04_05:06:07"
+    assert datetime.time(1, 2, 3, 4).isoformat() == "01:02:03.000004"
+    assert_raises(ValueError, dt.isoformat, timespec="days")
+    assert_raises(ValueError, dt.isoformat, timespec=None)
+    assert_raises(ValueError, datetime.time(1, 2).isoformat, timespec=1)
+    tz = datetime.timezone(-datetime.timedelta(hours=5, minutes=30))
+    assert dt.replace(tzinfo=tz).isoformat() == "2021-03-04T05:06:07.008000-05:30"
+
+
+def test_fromisoformat():
+    assert datetime.date.fromisoformat("2021-03-04") == datetime.date(2021, 3, 4)
+    assert datetime.datetime.fromisoformat("2021-03-04") == datetime.datetime(2021, 3, 4)
+    assert datetime.datetime.fromisoformat("2021-03-04T05") == datetime.datetime(2021, 3, 4, 5)
+    assert datetime.datetime.fromisoformat("2021-03-04 05:06:07.123") == datetime.datetime(2021, 3, 4, 5, 6, 7, 123000)
+    dt = datetime.datetime.fromisoformat("2021-03-04T05:06:07.000001+01:30")
+    assert dt.utcoffset() == datetime.timedelta(hours=1, minutes=30)
+    assert dt.microsecond == 1
+    dt = datetime.datetime.fromisoformat("2021-03-04T05:06:07-00:00")
+    assert dt.tzinfo is datetime.timezone.utc
+    dt = datetime.datetime.fromisoformat("2021-03-04T05:06:07-01:02:03.000004")
+    assert dt.utcoffset() == -datetime.timedelta(hours=1, minutes=2, seconds=3, microseconds=4)
+    assert datetime.time.fromisoformat("23:59:59.999999") == datetime.time(23, 59, 59, 999999)
+    for s in ["2021-03-04T05:06:07.008000", "0001-01-01T00:00:00", "9999-12-31T23:59:59.999999+23:59"]:
+        assert datetime.datetime.fromisoformat(s).isoformat() == s
+    for bad in ["2021-3-04", "2021/03/04", "2021-03-0x", "2021-03-04T5", "2021-03-04T05:0",
+                "2021-03-04T05:06:07.1234", "2021-03-04T05:06:07+1", "2021-03-04T05:06:07+24:00",
+                "2021-02-30", "２021-03-04"]:
+        assert_raises(ValueError, datetime.datetime.fromisoformat, bad)
+    for bad in ["2021-03-04T", "2021-03-0", "２０２１-03-04"]:
+        assert_raises(ValueError, datetime.date.fromisoformat, bad)
+    assert_raises(ValueError, datetime.time.fromisoformat, "1")
+    assert_raises(TypeError, datetime.date.fromisoformat, 20210304)
+
+
+def test_pickle_roundtrip():
+    for obj in [datetime.date(2020, 2, 29), datetime.timedelta(-3, 5, 7),
+                datetime.datetime(2020, 2, 29, 1, 2, 3, 4, tzinfo=datetime.timezone.utc),
+                datetime.time(1, 2, 3, 4, fold=1)]:
+        for proto in range(pickle.HIGHEST_PROTOCOL + 1):
+            copy = pickle.loads(pickle.dumps(obj, proto))
+            assert copy == obj and hash(copy) == hash(obj)
@@ -0,0 +1,157 @@
+# Copyright (c) 2024, Oracle and/or its affiliates. All rights reserved.
+# DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+#
+# The Universal Permissive License (UPL), Version 1.0
+#
+# Subject to the condition set forth below, permission is hereby granted to any
+# person obtaining a copy of this software, associated documentation and/or
+# data (collectively the "Software"), free of charge and under any and all
+# copyright rights in the Software, and any and all patent rights owned or
+# freely licensable by each licensor hereunder covering either (i) the
+# unmodified Software as contributed to or provided by such licensor, or (ii)
+# the Larger Works (as defined below), to deal in both
+#
+# (a) the Software, and
+#
+# (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+# one is included with the Software each a "Larger Work" to which the Software
+# is contributed by such licensors),
+#
+# without restriction, including without limitation the rights to copy, create
+# derivative works of, display, perform, and distribute the Software and make,
+# use, sell, offer for sale, import, export, have made, and have sold the
+# Software and the Larger Work(s), and to sublicense the foregoing rights on
+# either these or other terms.
+#
+# This license is subject to the following condition:
+#
+# The above copyright notice and either this complete permission notice or at a
+# minimum a reference to the UPL must be included in all copies or substantial
+# portions of the Software.
+#
+# THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+# IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+# FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+# AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+# LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+# OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+# SOFTWARE.
+
+import decimal
+import sys
+from decimal import Decimal, Context, Inexact, Rounded, Overflow, Subnormal, Clamped
+
+
+def assert_raises(err, fn, *args, **kwargs):
+    raised = False
+    try:
+        fn(*args, **kwargs)
+    except err:
+        raised = True
+    assert raised
+
+
+def test_accelerator_module():
+    if sys.implementation.name == "graalpy":
+        import _decimal_accel
+        assert "built-in" in repr(_decimal_accel)
+        assert _decimal_accel.parse("-12.50") == (1, "1250", -2)
+        assert _decimal_accel.parse("000") == (0, "0", 0)
+        assert _decimal_accel.parse(" 1") is None
+        assert _decimal_accel.parse("1_000") is None
+        assert _decimal_accel.parse("Infinity") is None
+        assert _decimal_accel.parse("1e1234567890123456789") is None
+        assert _decimal_accel.add(0, "1", 0, 0, "2", 0, 28, "ROUND_HALF_EVEN", -999999, 999999, 0) == (0, "3", 0, False, False)
+        assert _decimal_accel.add(0, "1", 0, 0, "2", 0, 28, "NO_SUCH_MODE", -999999, 999999, 0) is None
+        assert _decimal_accel.multiply(True, "1", 0, 0, "2", 0, 28, "ROUND_HALF_EVEN", -999999, 999999, 0) is None
+        assert _decimal_accel.rescale(0, "125", -2, -1, "ROUND_HALF_EVEN") == "12"
+        assert _decimal_accel.compare(0, "1", 0, 1, "0", 0) == 1
+
+
+def test_parse():
+    assert Decimal("3.14").as_tuple() == (0, (3, 1, 4), -2)
+    assert Decimal("-0.00").as_tuple() == (1, (0,), -2)
+    assert Decimal("+.5e-3").as_tuple() == (0, (5,), -4)
+    assert Decimal("7.").as_tuple() == (0, (7,), 0)
+    assert Decimal("1E+1000000000").as_tuple() == (0, (1,), 1000000000)
+    assert Decimal(" 1_000 ") == 1000
+    assert Decimal("١٢") == 12
+    assert Decimal("-Inf").is_infinite()
+    assert Decimal("sNaN1").is_snan()
+    for s in ["", ".", "1.2.3", "1e", "e1", "--1", "1 2"]:
+        assert_raises(decimal.InvalidOperation, Decimal, s)
+
+
+def test_add_and_multiply():
+    ctx = Context(prec=28)
+    assert ctx.add(Decimal("0.1"), Decimal("0.2")) == Decimal("0.3")
+    assert str(ctx.subtract(Decimal("1.30"), Decimal("1.2"))) == "0.10"
+    assert str(ctx.multiply(Decimal("1.25"), Decimal("-0.4"))) == "-0.500"
+    assert str(ctx.add(Decimal("99999999999999999999"), Decimal("1e-30"))) == "99999999999999999999.00000000"
+    assert str(ctx.multiply(Decimal("123456789012345678"), Decimal("987654321098765432"))) == "1.219326311370217943225118122E+35"
+    assert str(ctx.add(Decimal("1E+100"), Decimal("1E-100"))) == "1.000000000000000000000000000E+100"
+    assert ctx.flags[Inexact] and ctx.flags[Rounded]
+
+
+def test_rounding_modes():
+    expected = {
+        decimal.ROUND_DOWN: ("2.3", "-2.3", "2.5"),
+        decimal.ROUND_HALF_UP: ("2.4", "-2.4", "2.5"),
+        decimal.ROUND_HALF_EVEN: ("2.4", "-2.4", "2.5"),
+        decimal.ROUND_CEILING: ("2.4", "-2.3", "2.6"),
+        decimal.ROUND_FLOOR: ("2.3", "-2.4", "2.5"),
+        decimal.ROUND_UP: ("2.4", "-2.4", "2.6"),
+        decimal.ROUND_HALF_DOWN: ("2.3", "-2.3", "2.5"),
+        decimal.ROUND_05UP: ("2.3", "-2.3", "2.6"),
+    }
+    for rounding, (pos, neg, five) in expected.items():
+        ctx = Context(prec=2, rounding=rounding)
+        assert str(ctx.add(Decimal("2.30"), Decimal("0.05"))) == pos, rounding
+        assert str(ctx.add(Decimal("-2.30"), Decimal("-0.05"))) == neg, rounding
+        assert str(ctx.add(Decimal("2.5"), Decimal("0.01"))) == five, rounding
+
+
+def test_flags_and_traps():
+    ctx = Context(prec=3)
+    assert str(ctx.add(Decimal("1.00"), Decimal("0.001"))) == "1.00"
+    assert ctx.flags[Inexact] and ctx.flags[Rounded]
+    ctx.clear_flags()
+    assert str(ctx.multiply(Decimal("100"), Decimal("10"))) == "1.00E+3"
+    assert not ctx.flags[Inexact] and ctx.flags[Rounded]
+    ctx = Context(prec=3, traps=[Inexact])
+    assert_raises(Inexact, ctx.add, Decimal("1.00"), Decimal("0.001"))
+    assert ctx.add(Decimal("1.00"), Decimal("0.01")) == Decimal("1.01")
+    ctx = Context(prec=3, Emax=5, Emin=-5, traps=[])
+    assert ctx.multiply(Decimal("999"), Decimal("999")) == Decimal("9.98E+5")
+    assert ctx.multiply(Decimal("9999"), Decimal("9999")).is_infinite()
+    assert ctx.flags[Overflow]
+    assert ctx.multiply(Decimal("0.001"), Decimal("0.0001")) == Decimal("1E-7")
+    assert ctx.flags[Subnormal]
+    ctx = Context(prec=3, Emax=5, Emin=-5, clamp=1, traps=[])
+    assert ctx.add(Decimal("1E+5"), Decimal("1E+5")).as_tuple() == (0, (2, 0, 0), 3)
+    assert ctx.flags[Clamped]
+
+
+def test_zero_results():
+    assert str(Decimal("1.5") - Decimal("1.50")) == "0.00"
+    ctx = Context(rounding=decimal.ROUND_FLOOR)
+    assert str(ctx.subtract(Decimal("1.5"), Decimal("1.50"))) == "-0.00"
+
+
+def test_quantize():
+    assert str(Decimal("2.675").quantize(Decimal("0.01"))) == "2.68"
+    assert str(Decimal("2.665").quantize(Decimal("0.01"))) == "2.66"
+    assert str(Decimal("-2.665").quantize(Decimal("0.01"), rounding=decimal.ROUND_HALF_UP)) == "-2.67"
+    assert str(Decimal("0.0004").quantize(Decimal("0.01"), rounding=decimal.ROUND_UP)) == "0.01"
+    assert str(Decimal("12345678901234567890.5").quantize(Decimal("1"))) == "12345678901234567890"
+    assert str(Decimal("9.999").quantize(Decimal("0.01"))) == "10.00"
+
+
+def test_compare():
+    assert Decimal("1.0") == Decimal("1")
+    assert Decimal("-0") == Decimal("0")
+    assert Decimal("0.1") < Decimal("0.10000000000000000000000001")
+    assert Decimal("-1E+10") < Decimal("-1E+9")
+    assert Decimal("123456789012345678901234567890") > Decimal("1.23456789012345678901234567889E+29")
+    assert sorted([Decimal("3"), Decimal("-1.5"), Decimal("0"), Decimal("2.25")]) == [Decimal("-1.5"), Decimal("0"), Decimal("2.25"), Decimal("3")]
+    assert max(Decimal("1E-3"), Decimal("0.0009")) == Decimal("0.001")
@@ -1267,3 +1267,29 @@ def test_dict_values_eq():
     d1 = {1: 1, 2: 2, 4: 4}
     assert d1.values() != d1.values()
 
+
+
+def test_int_keys_transition():
+    d = {i: i * 2 for i in range(-5, 100)}
+    d[-1] = 'minus one'  # hash(-1) == hash(-2)
+    d[1 << 62] = 'big'  # hash is not equal to the value
+    assert d[-1] == 'minus one'
+    assert d[-2] == -4
+    assert d[1.0] == 2 and d[True] == 2
+    assert d[1 << 62] == 'big'
+    assert d[2] == 4  # hash(1 << 62) == 2
+    d['x'] = 'str'
+    assert d['x'] == 'str'
+    assert d[42] == 84
+    assert list(d)[:3] == [-5, -4, -3]
+    del d[-5]
+    assert -5 not in d and len(d) == 106
+
+
+def test_str_keys_eq():
+    class S(str):
+        pass
+    d = {'a' + str(i): i for i in range(100)}
+    assert all(d['a' + str(i)] == i for i in range(100))
+    assert d[S('a5')] == 5
+    assert 'b1' not in d
@@ -48,3 +48,33 @@ def test_gc_collect():
 def test_gc_count():
     c0, c1, c2 = gc.get_count()
     assert c0 + c1 + c2 > 0, "we definitely had something collected"
+
+
+def test_gc_collect_generation():
+    for generation in range(3):
+        assert isinstance(gc.collect(generation), int)
+    assert isinstance(gc.collect(generation=0), int)
+    for generation in (-1, 3):
+        try:
+            gc.collect(generation)
+        except ValueError:
+            pass
+        else:
+            assert False, "expected ValueError for generation %d" % generation
+
+
+def test_gc_get_stats():
+    before = gc.get_stats()
+    assert len(before) == 3
+    for stats in before:
+        assert {'collections', 'collected', 'uncollectable'} <= set(stats), stats
+    gc.collect(0)
+    gc.collect()
+    after = gc.get_stats()
+    assert after[0]['collections'] >= before[0]['collections'] + 1
+    assert after[2]['collections'] >= before[2]['collections'] + 1
+    import sys
+    if sys.implementation.name == 'graalpy':
+        assert after[1]['collections'] == before[1]['collections']
+        # only the oldest generation forces a full JVM GC
+        assert after[2]['full_collections'] == before[2]['full_collections'] + 1
@@ -0,0 +1,189 @@
+# Copyright (c) 2024, Oracle and/or its affiliates. All rights reserved.
+# DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+#
+# The Universal Permissive License (UPL), Version 1.0
+#
+# Subject to the condition set forth below, permission is hereby granted to any
+# person obtaining a copy of this software, associated documentation and/or
+# data (collectively the "Software"), free of charge and under any and all
+# copyright rights in the Software, and any and all patent rights owned or
+# freely licensable by each licensor hereunder covering either (i) the
+# unmodified Software as contributed to or provided by such licensor, or (ii)
+# the Larger Works (as defined below), to deal in both
+#
+# (a) the Software, and
+#
+# (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+# one is included with the Software each a "Larger Work" to which the Software
+# is contributed by such licensors),
+#
+# without restriction, including without limitation the rights to copy, create
+# derivative works of, display, perform, and distribute the Software and make,
+# use, sell, offer for sale, import, export, have made, and have sold the
+# Software and the Larger Work(s), and to sublicense the foregoing rights on
+# either these or other terms.
+#
+# This license is subject to the following condition:
+#
+# The above copyright notice and either this complete permission notice or at a
+# minimum a reference to the UPL must be included in all copies or substantial
+# portions of the Software.
+#
+# THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+# IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+# FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+# AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+# LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+# OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+# SOFTWARE.
+
+import heapq
+import random
+import sys
+
+
+def assert_raises(err, fn, *args, **kwargs):
+    raised = False
+    try:
+        fn(*args, **kwargs)
+    except err:
+        raised = True
+    assert raised
+
+
+def is_heap(heap, max=False):
+    for pos in range(1, len(heap)):
+        parent = (pos - 1) >> 1
+        if (heap[pos] > heap[parent]) if max else (heap[pos] < heap[parent]):
+            return False
+    return True
+
+
+def test_builtin():
+    import _heapq
+    if sys.implementation.name == "graalpy":
+        assert "built-in" in repr(_heapq)
+    assert heapq.heappush is _heapq.heappush
+
+
+def check_sorted(values):
+    heap = []
+    for v in values:
+        heapq.heappush(heap, v)
+        assert is_heap(heap)
+    assert [heapq.heappop(heap) for _ in range(len(values))] == sorted(values)
+    heap = list(values)
+    heapq.heapify(heap)
+    assert is_heap(heap)
+    assert [heapq.heappop(heap) for _ in range(len(values))] == sorted(values)
+
+
+def test_storage_kinds():
+    rnd = random.Random(42)
+    check_sorted([rnd.randint(-100, 100) for _ in range(200)])
+    check_sorted([rnd.randint(-2 ** 40, 2 ** 40) for _ in range(200)])
+    check_sorted([rnd.random() for _ in range(200)])
+    check_sorted([str(rnd.random()) for _ in range(200)])
+    check_sorted([(rnd.randint(0, 5), str(i)) for i in range(200)])
+    check_sorted([True, False, True, False])
+
+
+def test_storage_generalization():
+    heap = [3, 1, 2]
+    heapq.heapify(heap)
+    heapq.heappush(heap, 1.5)
+    heapq.heappush(heap, 2 ** 70)
+    assert heapq.heapreplace(heap, 0.5) == 1
+    assert heapq.heappushpop(heap, 0.25) == 0.25
+    assert heapq.heappushpop(heap, 2.5) == 0.5
+    assert [heapq.heappop(heap) for _ in range(len(heap))] == [1.5, 2, 2.5, 3, 2 ** 70]
+
+
+def test_replace_and_pushpop():
+    heap = [1, 5, 3]
+    assert heapq.heapreplace(heap, 10) == 1
+    assert heap[0] == 3
+    assert heapq.heappushpop(heap, 0) == 0
+    assert heapq.heappushpop([], 7) == 7
+    assert_raises(IndexError, heapq.heapreplace, [], 1)
+    assert_raises(IndexError, heapq.heappop, [])
+
+
+def test_max_variants():
+    heap = list(range(50))
+    random.Random(1).shuffle(heap)
+    heapq._heapify_max(heap)
+    assert is_heap(heap, max=True)
+    assert heapq._heapreplace_max(heap, -1) == 49
+    assert is_heap(heap, max=True)
+    assert [heapq._heappop_max(heap) for _ in range(len(heap))] == list(range(48, -2, -1))
+
+
+def test_errors():
+    assert_raises(TypeError, heapq.heappush, (1, 2), 3)
+    assert_raises(TypeError, heapq.heapify, "abc")
+    assert_raises(TypeError, heapq.heappush, [1], "x")
+    assert_raises(TypeError, heapq.heappush, heapq=[])
+
+
+class SideEffectLT:
+    def __init__(self, value, heap):
+        self.value = value
+        self.heap = heap
+
+    def __lt__(self, other):
+        self.heap[:] = []
+        return self.value < other.value
+
+
+def test_mutation_during_comparison():
+    heap = []
+    heap.extend(SideEffectLT(i, heap) for i in range(20))
+    assert_raises((IndexError, RuntimeError), heapq.heappush, heap, SideEffectLT(5, heap))
+    heap = []
+    heap.extend(SideEffectLT(i, heap) for i in range(20))
+    assert_raises((IndexError, RuntimeError), heapq.heappop, heap)
+
+
+def test_list_subclass():
+    class MyList(list):
+        pass
+
+    heap = MyList([5, 4, 3, 2, 1])
+    heapq.heapify(heap)
+    assert heapq.heappop(heap) == 1
+    assert type(heap) is MyList
+
+
+def test_free_threaded_heap_and_insort():
+    if sys.implementation.name != 'graalpy':
+        return
+    import subprocess
+    code = '''if True:
+        import bisect, heapq, threading
+        heap = []
+        ints = []
+        objs = []
+        def work(n):
+            for i in range(2000):
+                heapq.heappush(heap, i)
+                bisect.insort(ints, i)
+                bisect.insort(objs, str(i).zfill(4))
+                if i % 2 == 0:
+                    heapq.heappop(heap)
+        threads = [threading.Thread(target=work, args=(n,)) for n in range(4)]
+        for t in threads:
+            t.start()
+        for t in threads:
+            t.join()
+        assert len(heap) == 4 * 1000, len(heap)
+        assert ints == sorted(list(range(2000)) * 4)
+        assert objs == sorted(str(i).zfill(4) for i in ints)
+        while heap:
+            prev = heapq.heappop(heap)
+            assert not heap or prev <= heap[0]
+        print("ok")
+    '''
+    out = subprocess.check_output([sys.executable, '--experimental-options', '--python.FreeThreaded=true', '-c', code],
+                                  universal_newlines=True, timeout=300)
+    assert out.strip() == 'ok', out
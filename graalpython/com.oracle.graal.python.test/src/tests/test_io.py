@@ -312,5 +312,77 @@ class IOBaseTests(unittest.TestCase):
         self.assertEqual(["ab\r\n", "cd"], t.readlines())
 
 
+class FileIOReadIntoTests(unittest.TestCase):
+
+    def setUp(self):
+        import tempfile
+        fd, self.path = tempfile.mkstemp()
+        self.data = bytes(range(256)) * 40
+        with _io.FileIO(fd, 'w') as f:
+            f.write(self.data)
+
+    def tearDown(self):
+        import os
+        os.unlink(self.path)
+
+    def read_all_into(self, target, size):
+        chunks = []
+        with _io.FileIO(self.path, 'r') as f:
+            while True:
+                n = f.readinto(target)
+                if not n:
+                    break
+                chunks.append(bytes(memoryview(target).cast('B')[:n]))
+        self.assertTrue(all(len(c) <= size for c in chunks))
+        return b''.join(chunks)
+
+    def test_readinto_targets(self):
+        import array
+        self.assertEqual(self.data, self.read_all_into(bytearray(1000), 1000))
+        self.assertEqual(self.data, self.read_all_into(memoryview(bytearray(1000)), 1000))
+        self.assertEqual(self.data, self.read_all_into(memoryview(bytearray(3000))[1000:2000], 1000))
+        self.assertEqual(self.data, self.read_all_into(array.array('b', bytes(1000)), 1000))
+        self.assertEqual(self.data, self.read_all_into(array.array('i', bytes(1000)), 1000))
+
+    def test_readinto_exported_bytearray_cannot_resize(self):
+        b = bytearray(16)
+        m = memoryview(b)
+        with _io.FileIO(self.path, 'r') as f:
+            self.assertEqual(16, f.readinto(m))
+        self.assertEqual(self.data[:16], b)
+        self.assertRaises(BufferError, b.extend, b'x')
+        m.release()
+
+    def test_buffered_reader(self):
+        with _io.open(self.path, 'rb', buffering=100) as f:
+            self.assertEqual(self.data[:10], f.read(10))
+            self.assertEqual(self.data[10:20], f.peek(10)[:10])
+            self.assertEqual(self.data[10:250], f.read(240))
+            self.assertEqual(250, f.tell())
+            f.seek(5000)
+            self.assertEqual(self.data[5000:5003], f.read1(3))
+            self.assertEqual(self.data[5003:], f.read())
+            self.assertEqual(b'', f.read(10))
+
+    def test_buffered_reader_subclassed_raw(self):
+        calls = 0
+
+        class CountingFileIO(_io.FileIO):
+            def readinto(self, b):
+                nonlocal calls
+                calls += 1
+                return super().readinto(b)
+
+        with _io.BufferedReader(CountingFileIO(self.path, 'r'), 128) as f:
+            chunks = []
+            while True:
+                chunk = f.read(100)
+                if not chunk:
+                    break
+                chunks.append(chunk)
+            self.assertEqual(self.data, b''.join(chunks))
+            self.assertGreater(calls, 0)
+
+
 if __name__ == '__main__':
     unittest.main()
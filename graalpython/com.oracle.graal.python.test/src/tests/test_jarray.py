@@ -160,5 +160,60 @@ if (platform.system() == 'Java' or sys.implementation.name == "graalpy") and \
             with self.assertRaises(TypeError):
                 jarray.array([1, 2], StringBuilder())
 
+
+    class BufferTest(unittest.TestCase):
+        def test_memoryview(self):
+            import struct
+            array = jarray.array([1, -2, 3], 'i')
+            view = memoryview(array)
+            self.assertEqual(view.format, 'i')
+            self.assertEqual(view.itemsize, 4)
+            self.assertEqual(view.nbytes, 12)
+            self.assertFalse(view.readonly)
+            self.assertIs(view.obj, array)
+            self.assertEqual(view.tolist(), [1, -2, 3])
+            self.assertEqual(bytes(view), struct.pack('3i', 1, -2, 3))
+            view[1] = 42
+            self.assertEqual(array[1], 42)
+            view.cast('B')[0] = 7
+            self.assertEqual(array[0], 7)
+
+        def test_element_types(self):
+            for type_code, fmt, values in (('b', 'b', [1, -1]), ('h', 'h', [266, -3]), ('l', 'l', [1099511627776, -5]),
+                                           ('d', 'd', [0.5, -1.25]), ('z', '?', [True, False])):
+                array = jarray.array(values, type_code)
+                view = memoryview(array)
+                self.assertEqual(view.format, fmt)
+                self.assertEqual(view.tolist(), values)
+
+        def test_bytes_like(self):
+            import array as pyarray
+            import struct
+            data = jarray.array([0x41, 0x42, -1], 'b')
+            self.assertEqual(bytes(data), b'AB\xff')
+            self.assertEqual(bytearray(data), bytearray(b'AB\xff'))
+            ints = jarray.array([5, 6, 7], 'i')
+            self.assertEqual(struct.unpack_from('2i', ints, 4), (6, 7))
+            struct.pack_into('i', ints, 0, 9)
+            self.assertEqual(ints[0], 9)
+            self.assertEqual(pyarray.array('d', bytes(jarray.array([1.5, 2.5], 'd'))).tolist(), [1.5, 2.5])
+
+        def test_byte_buffer(self):
+            from java.nio import ByteBuffer
+            buffer = ByteBuffer.allocate(4)
+            view = memoryview(buffer)
+            self.assertEqual(view.format, 'B')
+            self.assertEqual(len(view), 4)
+            view[1:3] = b'xy'
+            self.assertEqual(buffer.get(1), ord('x'))
+            self.assertEqual(bytes(buffer), b'\0xy\0')
+            readonly = memoryview(buffer.asReadOnlyBuffer())
+            self.assertTrue(readonly.readonly)
+            self.assertEqual(readonly.tobytes(), b'\0xy\0')
+
+        def test_not_a_buffer(self):
+            with self.assertRaises(TypeError):
+                memoryview(jarray.array([StringBuilder()], StringBuilder))
+
 if __name__ == '__main__':
     unittest.main()
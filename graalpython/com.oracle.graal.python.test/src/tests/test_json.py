@@ -37,6 +37,7 @@
 # OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
 # SOFTWARE.
 
+import sys
 import unittest
 
 BIGINT_JSON_DATA = '''
@@ -83,3 +84,187 @@ class JsonTest(unittest.TestCase):
             1521583201347000000,
             10,
         }
+
+    def test_dump_options(self):
+        import json
+        import os
+        import tempfile
+        obj = {"b": [1, 2.5, None, True], "a": {"x": "\u00e9\n\"", "y": []}, "c": {}, 3: ("\U0001f600",)}
+        expected = {
+            (None, False, True): '{"b": [1, 2.5, null, true], "a": {"x": "\\u00e9\\n\\"", "y": []}, "c": {}, "3": ["\\ud83d\\ude00"]}',
+            (2, True, True): '{\n  "3": [\n    "\\ud83d\\ude00"\n  ],\n  "a": {\n    "x": "\\u00e9\\n\\"",\n    "y": []\n  },\n  "b": [\n    1,\n    2.5,\n    null,\n    true\n  ],\n  "c": {}\n}',
+            ("\t", False, False): '{\n\t"b": [\n\t\t1,\n\t\t2.5,\n\t\tnull,\n\t\ttrue\n\t],\n\t"a": {\n\t\t"x": "\u00e9\\n\\"",\n\t\t"y": []\n\t},\n\t"c": {},\n\t"3": [\n\t\t"\U0001f600"\n\t]\n}',
+        }
+        fd, path = tempfile.mkstemp(suffix='.json')
+        os.close(fd)
+        try:
+            for (indent, sort_keys, ensure_ascii), text in expected.items():
+                if sort_keys:
+                    obj.pop(3)
+                    obj["3"] = ("\U0001f600",)
+                kwargs = dict(indent=indent, sort_keys=sort_keys, ensure_ascii=ensure_ascii)
+                assert json.dumps(obj, **kwargs) == text
+                with open(path, 'w', encoding='utf-8') as f:
+                    f.write('prefix ')
+                    json.dump(obj, f, **kwargs)
+                with open(path, encoding='utf-8') as f:
+                    assert f.read() == 'prefix ' + text
+        finally:
+            os.remove(path)
+
+    def test_dump_non_utf8_file(self):
+        import json
+        import os
+        import tempfile
+        fd, path = tempfile.mkstemp(suffix='.json')
+        os.close(fd)
+        try:
+            with open(path, 'w', encoding='latin-1') as f:
+                json.dump(["\u00e9"], f, ensure_ascii=False)
+            with open(path, 'rb') as f:
+                assert f.read() == b'["\xe9"]'
+            with open(path, 'w', encoding='utf-8', newline='\r\n') as f:
+                json.dump([1, 2], f, indent=1)
+            with open(path, 'rb') as f:
+                assert f.read() == b'[\r\n 1,\r\n 2\r\n]'
+        finally:
+            os.remove(path)
+
+    @unittest.skipUnless(sys.implementation.name == 'graalpy', "GraalPy-specific encoder method")
+    def test_dump_utf8(self):
+        import io
+        from _json import make_encoder, encode_basestring, encode_basestring_ascii
+        obj = {"k": ["\u00e9" * 100, 12345678901234567890, -1.5, float('inf')], "l": list(range(50))}
+        encoder = make_encoder({}, None, encode_basestring, None, ':', ',', False, False, True)
+        expected = ('{"k":["' + "\u00e9" * 100 + '",12345678901234567890,-1.5,Infinity],"l":[' +
+                    ','.join(str(i) for i in range(50)) + ']}').encode('utf-8')
+        out = bytearray(b'>')
+        assert encoder.dump_utf8(obj, out, 64) is True
+        assert out == b'>' + expected
+
+        chunks = []
+        class Writer:
+            def write(self, b):
+                assert type(b) is bytes and len(b) <= 64
+                chunks.append(b)
+        encoder.dump_utf8(obj, Writer(), 64)
+        assert len(chunks) > 1
+        assert b''.join(chunks) == expected
+
+        buffer = io.BytesIO()
+        encoder.dump_utf8(obj, buffer)
+        assert buffer.getvalue() == expected
+
+        try:
+            encoder.dump_utf8(["\ud800"], bytearray())
+        except UnicodeEncodeError:
+            pass
+        else:
+            assert False, "lone surrogate must not be encodable"
+        ascii_encoder = make_encoder(None, None, encode_basestring_ascii, 2, ': ', ',', True, False, True)
+        out = bytearray()
+        ascii_encoder.dump_utf8({"b": "\ud800", "a": [1]}, out)
+        assert out == b'{\n  "a": [\n    1\n  ],\n  "b": "\\ud800"\n}'
+
+    def test_encode_nested(self):
+        import json
+        from collections import OrderedDict
+
+        class MyList(list):
+            pass
+
+        deep = [1]
+        for i in range(200):
+            deep = [deep, {"k%d" % (i % 3): deep if i % 50 == 0 else i}]
+        assert json.loads(json.dumps(deep)) == deep
+        obj = {"a": (1, 2.5, -3), "b": MyList([None, True, False]), "c": OrderedDict(x=1), 2: "€\n", None: 2 ** 80, 1.5: float('nan')}
+        assert json.dumps(obj) == '{"a": [1, 2.5, -3], "b": [null, true, false], "c": {"x": 1}, "2": "\\u20ac\\n", "null": 1208925819614629174706176, "1.5": NaN}'
+        assert json.dumps(obj, ensure_ascii=False, separators=(',', ':')) == '{"a":[1,2.5,-3],"b":[null,true,false],"c":{"x":1},"2":"€\\n","null":1208925819614629174706176,"1.5":NaN}'
+        assert json.dumps({"a": 1, (1,): 2, "b": 3}, skipkeys=True) == '{"a": 1, "b": 3}'
+        assert json.dumps({(1,): 2, "b": 3}, skipkeys=True) == '{"b": 3}'
+        assert json.dumps({"b": 3, (1,): 2}, skipkeys=True) == '{"b": 3}'
+        assert json.dumps([1, {"a": set()}], default=sorted) == '[1, {"a": []}]'
+
+        circular = [1, {}]
+        circular[1]["x"] = circular
+        try:
+            json.dumps(circular)
+        except ValueError:
+            pass
+        else:
+            assert False, "circular reference must be detected"
+        shared = [1]
+        assert json.dumps([shared, shared, {"a": shared}]) == '[[1], [1], {"a": [1]}]'
+
+    def test_decode_nested(self):
+        import json
+        from collections import OrderedDict
+        text = '[' * 100 + '{"a": [1, -2, 3.5, 1e3, 123456789012345678901, "x\\ny", null, true, false]}' + ']' * 100
+        obj = json.loads(text)
+        for i in range(100):
+            obj = obj[0]
+        assert obj == {"a": [1, -2, 3.5, 1000.0, 123456789012345678901, "x\ny", None, True, False]}
+        assert json.loads(' {"b": {}, "a": [], "c": {"d": -0}} ') == {"b": {}, "a": [], "c": {"d": 0}}
+        pairs = json.loads('{"b": 1, "a": {"c": [2]}}', object_pairs_hook=OrderedDict)
+        assert list(pairs.items()) == [("b", 1), ("a", OrderedDict(c=[2]))]
+        assert json.loads('[{"a": 1}, {"a": 2}]', object_hook=lambda d: d["a"]) == [1, 2]
+        assert json.loads('[1, 2]', parse_int=str) == ["1", "2"]
+        assert json.loads('[-Infinity, NaN]', parse_constant=str) == ["-Infinity", "NaN"]
+        keys = json.loads('[{"key": 1}, {"key": 2}]')
+        assert list(keys[0])[0] is list(keys[1])[0]
+        for text, pos in (('[1, 2', 5), ('{"a" 1}', 5), ('{"a": 1,}', 8), ('[1 2]', 3), ('{1: 2}', 1)):
+            try:
+                json.loads(text)
+            except json.JSONDecodeError as e:
+                assert e.pos == pos, (text, e.pos)
+            else:
+                assert False, text
+
+    def test_loads_bytes(self):
+        import json
+        from collections import OrderedDict
+        texts = [
+            '{"id": 1, "name": "café", "tags": ["a", "\U0001f600"], "price": 9.99, "stock": null}',
+            ' [1, -2, 0, -0, 2147483648, 123456789012345678901, 1.5e-3, 2E+2, true, false] ',
+            '["esc\\"aped\\\\", "tab\\tnew\\nline", "\\u00e9\\ud83d\\ude00", "\\ud800"]',
+            '{"a": {"b": {"c": []}}, "d": {}}',
+            '[' * 100 + '{"deep": "é"}' + ']' * 100,
+            '"just a string"',
+            '42',
+            '[NaN, Infinity, -Infinity]',
+        ]
+        for text in texts:
+            expected = json.loads(text)
+            for data in (text.encode('utf-8'), bytearray(text.encode('utf-8'))):
+                result = json.loads(data)
+                assert repr(result) == repr(expected), (data, result)
+        assert json.loads(b'"\xed\xa0\x80"') == '\ud800'
+        data = b'[{"a": 1, "b": [2.5]}, {"a": 3}, {"b": 4}]'
+        hooked = []
+        assert json.loads(data, object_hook=lambda d: hooked.append(d) or len(d)) == [2, 1, 1]
+        assert len(hooked) == 3
+        pairs = json.loads(data, object_pairs_hook=OrderedDict)
+        assert list(pairs[0].items()) == [("a", 1), ("b", [2.5])]
+        assert json.loads(b'[1, 2.5]', parse_int=str, parse_float=str) == ["1", "2.5"]
+        assert json.loads(b'[-Infinity, NaN]', parse_constant=str) == ["-Infinity", "NaN"]
+        keys = json.loads(b'[{"key": 1}, {"key": 2}, {"k\\u0065y": 3}]')
+        assert list(keys[0])[0] is list(keys[1])[0]
+        assert json.loads('"é"'.encode('utf-16')) == 'é'
+        for data, pos in ((b'', 0), (b'[1, 2', 5), (b'{"a" 1}', 5), (b'["\xc3\xa9", 1,]', 8), (b'[1] x', 4), (b'"\\x"', 1), (b'"a', 0)):
+            try:
+                json.loads(data)
+            except json.JSONDecodeError as e:
+                assert e.pos == pos, (data, e.pos)
+            else:
+                assert False, data
+        self.assertRaises(UnicodeDecodeError, json.loads, b'["\xff"]')
+        self.assertRaises(TypeError, json.loads, memoryview(b'[]'))
+        hooked = []
+        self.assertRaises(json.JSONDecodeError, json.loads, b'[{"a": 1}, x]', object_hook=hooked.append)
+        assert len(hooked) == 1
+
+        def hook(d):
+            raise ValueError("from hook")
+        for data in (b'[{"a": 1}]', b'[{"a": 1}, x]'):
+            with self.assertRaisesRegex(ValueError, "from hook"):
+                json.loads(data, object_hook=hook)
@@ -96,3 +96,20 @@ if sys.implementation.name == 'graalpy':
         res = wait([b, x], 3)
         assert res == [x], "res3"
         assert x.recv() == 33, "res4"
+
+
+    @graalpy_multiprocessing
+    def test_wait_wakeup():
+        import threading
+        a, b = multiprocessing.Pipe()
+        x, y = multiprocessing.connection.Pipe(False)  # Truffle multiprocessing pipe
+        for fds in [[x], [b, x]]:
+            t = threading.Timer(0.5, lambda: y.send(42))
+            t.start()
+            start = time.monotonic()
+            res = wait(fds, 30)
+            delta = time.monotonic() - start
+            t.join()
+            assert res == [x], "res"
+            assert x.recv() == 42, "recv"
+            assert delta < 15
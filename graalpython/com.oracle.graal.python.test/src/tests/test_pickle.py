@@ -71,6 +71,51 @@ class TestPickle(unittest.TestCase):
         import _pickle
         assert pickle.Pickler is _pickle.Pickler
 
+    def test_large_payloads(self):
+        import io
+        payload = bytes(range(256)) * 1024
+        objects = [payload, bytearray(payload), [b"small", payload[:300], bytearray(b"x" * 70000)]]
+        for proto in range(2, pickle.HIGHEST_PROTOCOL + 1):
+            for obj in objects:
+                data = pickle.dumps(obj, protocol=proto)
+                f = io.BytesIO()
+                pickle.dump(obj, f, protocol=proto)
+                assert f.getvalue() == data, proto
+                assert pickle.loads(data) == obj
+                assert pickle.load(io.BytesIO(data)) == obj
+                assert pickle.loads(bytearray(data)) == obj
+                assert pickle.loads(memoryview(data)) == obj
+
+    def test_pickle_buffer(self):
+        import io
+        payload = bytearray(b"abcdefgh" * 10000)
+        view = memoryview(payload)[8:-8]
+        for obj in (pickle.PickleBuffer(payload), pickle.PickleBuffer(bytes(payload)), pickle.PickleBuffer(view)):
+            expected = bytes(obj.raw())
+            # in-band
+            data = pickle.dumps(obj, protocol=5)
+            f = io.BytesIO()
+            pickle.dump(obj, f, protocol=5)
+            assert f.getvalue() == data
+            result = pickle.loads(data)
+            assert result == expected
+            assert type(result) is (bytes if obj.raw().readonly else bytearray)
+            # out-of-band buffers are passed by reference
+            buffers = []
+            data = pickle.dumps(obj, protocol=5, buffer_callback=buffers.append)
+            assert len(data) < 100
+            assert buffers == [obj] and buffers[0] is obj
+            result = pickle.loads(data, buffers=buffers)
+            assert result is obj or (isinstance(result, memoryview) and result.obj is obj)
+            assert bytes(result) == expected
+        # a writable out-of-band buffer shares the memory of the original object
+        buffers = []
+        data = pickle.dumps([pickle.PickleBuffer(payload)], protocol=5, buffer_callback=buffers.append)
+        result = pickle.loads(data, buffers=[b.raw() for b in buffers])
+        payload[0:1] = b"z"
+        assert result[0][0] == ord("z")
+        self.assertRaises(pickle.PicklingError, pickle.dumps, pickle.PickleBuffer(payload), protocol=4)
+
 
 if __name__ == '__main__':
     unittest.main()
@@ -95,3 +95,191 @@ class SelectTests(unittest.TestCase):
             fds = [F(f.fileno()), F(stdout_fd), F(f.fileno())]
             res = select.select(fds, [], [], 1)
             assert res == ([fds[0], fds[2]], [], [])
+
+
+def _connected_pairs(count):
+    import socket
+    server = socket.create_server(('127.0.0.1', 0), backlog=count)
+    try:
+        pairs = []
+        for _ in range(count):
+            client = socket.create_connection(server.getsockname())
+            accepted, _ = server.accept()
+            pairs.append((client, accepted))
+        return pairs
+    finally:
+        server.close()
+
+
+def _close_pairs(pairs):
+    for a, b in pairs:
+        a.close()
+        b.close()
+
+
+class SelectSocketTests(unittest.TestCase):
+    def test_repeated_select(self):
+        pairs = _connected_pairs(2)
+        try:
+            (a, b), (c, d) = pairs
+            a.settimeout(5)
+            for _ in range(3):
+                self.assertEqual(([], [a], []), select.select([a, b], [a], [], 0))
+                self.assertEqual(([], [], []), select.select([c], [], [], 0))
+            d.sendall(b'x')
+            self.assertEqual(([c], [], []), select.select([a, b, c], [], [], 5))
+            b.sendall(b'y')
+            self.assertEqual(([a, c], [], []), select.select([a, b, c], [], [], 5))
+            self.assertEqual(b'y', a.recv(1))
+            self.assertEqual(b'x', c.recv(1))
+            self.assertEqual(([], [], []), select.select([a, c], [], [], 0.01))
+        finally:
+            _close_pairs(pairs)
+
+    def test_blocking_mode_preserved(self):
+        pairs = _connected_pairs(1)
+        try:
+            a, b = pairs[0]
+            self.assertEqual(([], [a, b], []), select.select([a, b], [a, b], [], 0))
+            self.assertTrue(a.getblocking())
+            b.setblocking(False)
+            self.assertEqual(([], [b], []), select.select([b], [b], [], 0))
+            # a socket that select keeps registered can still be made blocking
+            b.setblocking(True)
+            a.sendall(b'z')
+            self.assertEqual(b'z', b.recv(1))
+        finally:
+            _close_pairs(pairs)
+
+    def test_close_after_select(self):
+        pairs = _connected_pairs(1)
+        try:
+            a, b = pairs[0]
+            a.setblocking(False)
+            self.assertEqual(([], [a], []), select.select([a], [a], [], 0))
+            a.close()
+            b.settimeout(5)
+            self.assertEqual(b'', b.recv(1))
+        finally:
+            _close_pairs(pairs)
+
+
+@unittest.skipUnless(hasattr(select, 'poll'), 'requires select.poll')
+class PollTests(unittest.TestCase):
+    def test_register_modify_unregister(self):
+        pairs = _connected_pairs(1)
+        try:
+            a, b = pairs[0]
+            p = select.poll()
+            p.register(a, select.POLLIN | select.POLLOUT)
+            self.assertEqual([(a.fileno(), select.POLLOUT)], p.poll(1000))
+            p.modify(a, select.POLLIN)
+            self.assertEqual([], p.poll(0))
+            b.sendall(b'x')
+            self.assertEqual([(a.fileno(), select.POLLIN)], p.poll(5000))
+            # registering again modifies
+            p.register(a.fileno(), select.POLLOUT)
+            self.assertEqual([(a.fileno(), select.POLLOUT)], p.poll(1000))
+            p.unregister(a)
+            self.assertEqual([], p.poll(0))
+            self.assertRaises(KeyError, p.unregister, a)
+            self.assertRaises(OSError, p.modify, a, select.POLLIN)
+        finally:
+            _close_pairs(pairs)
+
+    def test_eventmask_validation(self):
+        p = select.poll()
+        self.assertRaises(ValueError, p.register, 0, -1)
+        self.assertRaises(OverflowError, p.register, 0, 1 << 64)
+        self.assertRaises(TypeError, p.register, 'abc')
+
+    def test_only_ready_reported(self):
+        pairs = _connected_pairs(32)
+        try:
+            p = select.poll()
+            for a, _ in pairs:
+                p.register(a, select.POLLIN)
+            self.assertEqual([], p.poll(10))
+            a, b = pairs[17]
+            b.sendall(b'x')
+            self.assertEqual([(a.fileno(), select.POLLIN)], p.poll(5000))
+            a.recv(1)
+            self.assertEqual([], p.poll(0))
+        finally:
+            _close_pairs(pairs)
+
+    def test_timeout(self):
+        pairs = _connected_pairs(1)
+        try:
+            p = select.poll()
+            p.register(pairs[0][0], select.POLLIN)
+            self.assertEqual([], p.poll(1))
+            self.assertEqual([], p.poll(0.5))
+            self.assertRaises(TypeError, p.poll, 'abc')
+        finally:
+            _close_pairs(pairs)
+
+
+@unittest.skipUnless(hasattr(select, 'epoll'), 'requires select.epoll')
+class EpollTests(unittest.TestCase):
+    def test_register_modify_unregister(self):
+        pairs = _connected_pairs(1)
+        try:
+            a, b = pairs[0]
+            with select.epoll() as ep:
+                ep.register(a, select.EPOLLIN | select.EPOLLOUT)
+                self.assertRaises(FileExistsError, ep.register, a, select.EPOLLIN)
+                self.assertEqual([(a.fileno(), select.EPOLLOUT)], ep.poll(1))
+                ep.modify(a, select.EPOLLIN)
+                self.assertEqual([], ep.poll(0))
+                b.sendall(b'x')
+                self.assertEqual([(a.fileno(), select.EPOLLIN)], ep.poll(5))
+                ep.unregister(a)
+                self.assertEqual([], ep.poll(0))
+                self.assertRaises(FileNotFoundError, ep.unregister, a)
+                self.assertRaises(FileNotFoundError, ep.modify, a, select.EPOLLIN)
+        finally:
+            _close_pairs(pairs)
+
+    def test_maxevents(self):
+        pairs = _connected_pairs(4)
+        try:
+            ep = select.epoll()
+            for a, _ in pairs:
+                ep.register(a, select.EPOLLOUT)
+            self.assertEqual(2, len(ep.poll(1, 2)))
+            self.assertEqual(4, len(ep.poll(1)))
+            self.assertRaises(ValueError, ep.poll, 1, 0)
+            ep.close()
+        finally:
+            _close_pairs(pairs)
+
+    def test_close(self):
+        ep = select.epoll()
+        self.assertFalse(ep.closed)
+        ep.close()
+        self.assertTrue(ep.closed)
+        ep.close()
+        self.assertRaises(ValueError, ep.poll, 0)
+        self.assertRaises(ValueError, ep.register, 0)
+        self.assertRaises(ValueError, ep.fileno)
+
+    def test_arguments(self):
+        self.assertRaises(ValueError, select.epoll, -2)
+        self.assertRaises(OSError, select.epoll, 1, 0xffff)
+        select.epoll(sizehint=16, flags=0).close()
+
+    def test_default_selector(self):
+        import selectors
+        pairs = _connected_pairs(1)
+        try:
+            a, b = pairs[0]
+            with selectors.DefaultSelector() as sel:
+                sel.register(a, selectors.EVENT_READ, 'data')
+                self.assertEqual([], sel.select(0))
+                b.sendall(b'x')
+                [(key, events)] = sel.select(5)
+                self.assertEqual('data', key.data)
+                self.assertEqual(selectors.EVENT_READ, events)
+        finally:
+            _close_pairs(pairs)
@@ -3,6 +3,7 @@
 #
 # Licensed under the PYTHON SOFTWARE FOUNDATION LICENSE VERSION 2
 # Test of a sorted() written in Python
+import sys
 import unittest
 
 def sorted(iterable):
@@ -45,3 +46,22 @@ class TestSorted(unittest.TestCase):
 
         # Use eval to get the fast path specialization
         self.assertEqual(eval("sorted(MyList())", {"MyList": MyList}), [2, 4, 5])
+
+    @unittest.skipUnless(sys.implementation.name == 'graalpy', "GraalPy-specific option")
+    def test_parallel_sort(self):
+        import subprocess
+        code = '''if True:
+            import random
+            rnd = random.Random(1)
+            for data in ([rnd.randrange(-1000, 1000) for _ in range(5000)],
+                         [rnd.randrange(1 << 50) for _ in range(5000)],
+                         [rnd.random() for _ in range(5000)] + [-0.0, 0.0, float('inf')],
+                         [str(rnd.random()) for _ in range(5000)]):
+                for reverse in (False, True):
+                    expected = sorted(data, key=lambda x: x, reverse=reverse)
+                    assert sorted(data, reverse=reverse) == expected
+            print("ok")
+        '''
+        out = subprocess.check_output([sys.executable, '--experimental-options', '--python.ParallelSortThreshold=1000',
+                                       '--python.ParallelSortParallelism=4', '-c', code], universal_newlines=True)
+        self.assertEqual('ok', out.strip())
@@ -277,3 +277,98 @@ def test_struct_is_builtin_on_enterprise():
         import __graalpython_enterprise__
         import _struct
         assert "built-in" in repr(_struct)
+
+
+def test_struct_is_builtin():
+    import _struct
+    if sys.implementation.name == "graalpy":
+        assert "built-in" in repr(_struct)
+    assert _struct.error is struct.error
+    assert _struct.Struct is struct.Struct
+
+
+def test_format_errors():
+    for fmt in ('Z', '3', '<3', '2x3'):
+        assert_raises(struct.error, struct.calcsize, fmt)
+    assert_raises(struct.error, struct.calcsize, 'i\0')
+    assert_raises(TypeError, struct.calcsize, 3)
+    assert struct.calcsize(b'<2i 3h') == 14
+    assert struct.calcsize(' \t') == 0
+    assert struct.calcsize('0i') == 0
+
+
+def test_native_alignment():
+    assert struct.calcsize('@bi') == 8
+    assert struct.calcsize('=bi') == 5
+    assert struct.calcsize('@ib') == 5
+    assert struct.pack('@bi', 1, 2)[4:] == struct.pack('=i', 2)
+    assert struct.unpack('@bi', struct.pack('@bi', -1, 7)) == (-1, 7)
+
+
+def test_range_errors():
+    for fmt, value in [('b', 128), ('b', -129), ('B', 256), ('B', -1), ('h', 1 << 15), ('>h', 1 << 15),
+                       ('>I', -1), ('>q', 1 << 63), ('>Q', -1), ('q', 1 << 63), ('Q', 1 << 64)]:
+        assert_raises(struct.error, struct.pack, fmt, value)
+    for fmt, value in [('i', 1.0), ('>Q', '1'), ('c', 1), ('s', 1), ('d', 'x')]:
+        assert_raises(struct.error, struct.pack, fmt, value)
+    assert_raises(OverflowError, struct.pack, '>e', 1e6)
+    assert_raises(struct.error, struct.pack, 'ii', 1)
+    assert_raises(struct.error, struct.pack, 'i', 1, 2)
+
+
+def test_unpack_from_offsets():
+    s = struct.Struct('<HB')
+    data = bytes(range(10))
+    assert s.unpack_from(data) == (0x0100, 2)
+    assert s.unpack_from(data, 7) == (0x0807, 9)
+    assert s.unpack_from(data, offset=-3) == (0x0807, 9)
+    assert struct.unpack_from('<HB', buffer=data, offset=1) == (0x0201, 3)
+    assert_raises(struct.error, s.unpack_from, data, 8)
+    assert_raises(struct.error, s.unpack_from, data, -2)
+    assert_raises(struct.error, s.unpack_from, data, -11)
+    assert_raises(struct.error, s.unpack, data)
+
+
+def test_memoryview_buffers():
+    data = bytearray(range(16))
+    view = memoryview(data)[4:]
+    assert struct.unpack('>I', view[:4]) == (0x04050607,)
+    assert struct.unpack_from('>H', view, 2) == (0x0607,)
+    assert list(struct.iter_unpack('>H', view[:6])) == [(0x0405,), (0x0607,), (0x0809,)]
+    struct.pack_into('>H', view, 1, 0xabcd)
+    assert data[4:8] == b'\x04\xab\xcd\x07'
+    assert_raises(TypeError, struct.pack_into, '>H', b'abcd', 0, 1)
+    assert_raises(struct.error, struct.pack_into, '>H', view, 11, 1)
+    struct.pack_into('>H', view, -2, 0x1234)
+    assert data[-2:] == b'\x12\x34'
+
+
+def test_struct_reinit():
+    s = struct.Struct('>H')
+    assert s.size == 2 and s.format == '>H'
+    s.__init__('<I')
+    assert s.size == 4 and s.format == '<I'
+    assert s.pack(1) == b'\x01\x00\x00\x00'
+
+    class MyStruct(struct.Struct):
+        def __init__(self, a, b):
+            super().__init__(a + b)
+
+    m = MyStruct('>', 'B')
+    assert m.pack(5) == b'\x05'
+
+
+def test_clearcache():
+    assert struct.calcsize('>7q') == 56
+    struct._clearcache()
+    assert struct.calcsize('>7q') == 56
+    for i in range(300):
+        assert struct.calcsize('%dx' % i) == i
+    assert struct.unpack('>B', b'\x07') == (7,)
+
+
+def test_unsigned_long_long():
+    big = (1 << 64) - 2
+    assert struct.unpack('>Q', struct.pack('>Q', big)) == (big,)
+    assert struct.unpack('<Q', b'\x00' * 7 + b'\x80') == (1 << 63,)
+    assert struct.unpack('>10p', b'\x03abcdefghi') == (b'abc',)
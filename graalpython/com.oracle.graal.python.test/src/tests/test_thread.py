@@ -519,3 +519,225 @@ class LockTests(BaseTestCase):
         lock.release()
         self.assertFalse(lock.locked())
         self.assertTrue(lock.acquire(blocking=False))
+
+
+class FreeThreadedTest(unittest.TestCase):
+
+    def run_free_threaded(self, code):
+        import subprocess
+        # a deadlock between critical sections shows up as a timeout
+        out = subprocess.check_output([sys.executable, '--experimental-options', '--python.FreeThreaded=true', '-c', code],
+                                      universal_newlines=True, timeout=300)
+        self.assertEqual('ok', out.strip())
+
+    @unittest.skipUnless(sys.implementation.name == 'graalpy', "GraalPy specific option")
+    def test_free_threaded_container_atomicity(self):
+        self.run_free_threaded('''if True:
+            import threading
+            shared_list = []
+            shared_dict = {}
+            def work(n):
+                for i in range(10000):
+                    shared_list.append(i)
+                    shared_dict[(n, i)] = i
+                    if i % 3 == 0:
+                        shared_dict.pop((n, i))
+            threads = [threading.Thread(target=work, args=(n,)) for n in range(4)]
+            for t in threads:
+                t.start()
+            for t in threads:
+                t.join()
+            assert len(shared_list) == 40000, len(shared_list)
+            assert len(shared_dict) == 4 * (10000 - 3334), len(shared_dict)
+            print("ok")
+        ''')
+
+    @unittest.skipUnless(sys.implementation.name == 'graalpy', "GraalPy specific option")
+    def test_free_threaded_set_atomicity(self):
+        self.run_free_threaded('''if True:
+            import threading
+            shared_set = set()
+            def work(n):
+                for i in range(5000):
+                    s = shared_set
+                    s.add((n, i))
+                    s |= {(n, i, 'or')}
+                    s.update([(n, i, 'update')])
+                    if i % 2 == 0:
+                        s.discard((n, i))
+                        s -= {(n, i, 'or')}
+            threads = [threading.Thread(target=work, args=(n,)) for n in range(4)]
+            for t in threads:
+                t.start()
+            for t in threads:
+                t.join()
+            assert len(shared_set) == 4 * (3 * 5000 - 2 * 2500), len(shared_set)
+            print("ok")
+        ''')
+
+    @unittest.skipUnless(sys.implementation.name == 'graalpy', "GraalPy specific option")
+    def test_free_threaded_dict_update_and_names(self):
+        self.run_free_threaded('''if True:
+            import threading
+            shared_dict = {}
+            namespace = {}
+            def work(n):
+                exec("\\n".join("v%d_%d = %d" % (n, i, i) for i in range(2000)), namespace)
+                for i in range(5000):
+                    shared_dict.update({(n, i): i})
+                    shared_dict.update(key=i)
+                    d = shared_dict
+                    d |= {(n, i, 'or'): i}
+            threads = [threading.Thread(target=work, args=(n,)) for n in range(4)]
+            for t in threads:
+                t.start()
+            for t in threads:
+                t.join()
+            assert len(shared_dict) == 4 * 2 * 5000 + 1, len(shared_dict)
+            assert len([k for k in namespace if k.startswith("v")]) == 4 * 2000
+            print("ok")
+        ''')
+
+    @unittest.skipUnless(sys.implementation.name == 'graalpy', "GraalPy specific option")
+    def test_free_threaded_list_operations(self):
+        self.run_free_threaded('''if True:
+            import threading
+            shared_list = []
+            done = threading.Event()
+            errors = []
+            def writer(n):
+                for i in range(5000):
+                    shared_list.extend([n])
+                    lst = shared_list
+                    lst += [n]
+            def sorter():
+                for i in range(50):
+                    shared_list.sort()
+                    shared_list.reverse()
+            def reader():
+                try:
+                    while not done.is_set():
+                        for x in shared_list:
+                            assert 0 <= x < 4, x
+                        shared_list.count(0)
+                        try:
+                            shared_list[-1]
+                            shared_list[len(shared_list) // 2]
+                        except IndexError:
+                            # the list looks empty while it is being sorted
+                            pass
+                except BaseException as e:
+                    errors.append(e)
+            def run(*workers):
+                readers = [threading.Thread(target=reader) for n in range(2)]
+                done.clear()
+                for t in readers + list(workers):
+                    t.start()
+                for t in workers:
+                    t.join()
+                done.set()
+                for t in readers:
+                    t.join()
+                assert not errors, errors
+                assert sorted(shared_list) == sorted(list(range(4)) * 10000), len(shared_list)
+            run(*[threading.Thread(target=writer, args=(n,)) for n in range(4)])
+            run(threading.Thread(target=sorter))
+            print("ok")
+        ''')
+
+    @unittest.skipUnless(sys.implementation.name == 'graalpy', "GraalPy specific option")
+    def test_free_threaded_iteration(self):
+        self.run_free_threaded('''if True:
+            import threading
+            shared_dict = {i: i for i in range(1000)}
+            shared_set = set(range(1000))
+            done = threading.Event()
+            errors = []
+            def writer():
+                i = 0
+                while not done.is_set():
+                    shared_dict[i % 1000] = i
+                    i += 1
+            def reader():
+                try:
+                    for _ in range(200):
+                        assert sum(1 for k in shared_dict) == 1000
+                        assert len(list(shared_dict.items())) == 1000
+                        assert sum(1 for k in shared_set) == 1000
+                except BaseException as e:
+                    errors.append(e)
+            w = threading.Thread(target=writer)
+            readers = [threading.Thread(target=reader) for n in range(3)]
+            w.start()
+            for t in readers:
+                t.start()
+            for t in readers:
+                t.join()
+            done.set()
+            w.join()
+            assert not errors, errors
+            print("ok")
+        ''')
+
+    @unittest.skipUnless(sys.implementation.name == 'graalpy', "GraalPy specific option")
+    def test_free_threaded_user_code_in_critical_section(self):
+        # __eq__ and __hash__ of the keys access the other container while the first one is locked
+        self.run_free_threaded('''if True:
+            import threading
+            d1 = {}
+            d2 = {}
+            class Key:
+                def __init__(self, other, i):
+                    self.other = other
+                    self.i = i
+                def __hash__(self):
+                    self.other.get(self.i)
+                    return self.i % 7
+                def __eq__(self, o):
+                    self.other[self.i] = self.i
+                    return isinstance(o, Key) and self.i == o.i
+            def work(mine, other):
+                for i in range(500):
+                    mine[Key(other, i)] = i
+                    Key(other, i) in mine
+            t1 = threading.Thread(target=work, args=(d1, d2))
+            t2 = threading.Thread(target=work, args=(d2, d1))
+            t1.start()
+            t2.start()
+            t1.join()
+            t2.join()
+            assert len([k for k in d1 if isinstance(k, Key)]) == 500
+            assert len([k for k in d2 if isinstance(k, Key)]) == 500
+            print("ok")
+        ''')
+
+
+class GilStatisticsTest(unittest.TestCase):
+
+    @unittest.skipUnless(sys.implementation.name == 'graalpy', "GraalPy specific option")
+    def test_gil_stats(self):
+        import subprocess
+        code = '''if True:
+            import sys, threading
+            sys.setswitchinterval(0.001)
+            def work():
+                x = 0
+                for i in range(200000):
+                    x += i
+            threads = [threading.Thread(target=work) for n in range(4)]
+            for t in threads:
+                t.start()
+            for t in threads:
+                t.join()
+            stats = __graalpython__.gil_stats()
+            assert stats["acquisitions"] > 0, stats
+            assert stats["handoffs"] > 0, stats
+            assert sum(stats["wait_histogram"]) == stats["acquisitions"], stats
+            assert len(stats["wait_histogram"]) == len(stats["wait_histogram_bounds"]) + 1, stats
+            assert stats["wait_time_max"] <= stats["wait_time_total"], stats
+            assert 0.001 / 8 <= stats["switch_interval"] <= 0.001 * 8, stats
+            print("ok")
+        '''
+        out = subprocess.check_output([sys.executable, '--experimental-options', '--python.GilStatistics=true',
+                                       '--python.AdaptiveSwitchInterval=true', '-c', code], universal_newlines=True)
+        self.assertEqual('ok', out.strip())
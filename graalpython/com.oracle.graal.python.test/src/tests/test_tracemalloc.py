@@ -0,0 +1,101 @@
+# Copyright (c) 2024, Oracle and/or its affiliates. All rights reserved.
+# DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+#
+# The Universal Permissive License (UPL), Version 1.0
+#
+# Subject to the condition set forth below, permission is hereby granted to any
+# person obtaining a copy of this software, associated documentation and/or
+# data (collectively the "Software"), free of charge and under any and all
+# copyright rights in the Software, and any and all patent rights owned or
+# freely licensable by each licensor hereunder covering either (i) the
+# unmodified Software as contributed to or provided by such licensor, or (ii)
+# the Larger Works (as defined below), to deal in both
+#
+# (a) the Software, and
+#
+# (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+# one is included with the Software each a "Larger Work" to which the Software
+# is contributed by such licensors),
+#
+# without restriction, including without limitation the rights to copy, create
+# derivative works of, display, perform, and distribute the Software and make,
+# use, sell, offer for sale, import, export, have made, and have sold the
+# Software and the Larger Work(s), and to sublicense the foregoing rights on
+# either these or other terms.
+#
+# This license is subject to the following condition:
+#
+# The above copyright notice and either this complete permission notice or at a
+# minimum a reference to the UPL must be included in all copies or substantial
+# portions of the Software.
+#
+# THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+# IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+# FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+# AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+# LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+# OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+# SOFTWARE.
+
+import tracemalloc
+
+
+class Allocated:
+    pass
+
+
+def allocate(n):
+    return [Allocated() for _ in range(n)]
+
+
+def test_start_stop():
+    assert not tracemalloc.is_tracing()
+    tracemalloc.start(5)
+    try:
+        assert tracemalloc.is_tracing()
+        assert tracemalloc.get_traceback_limit() == 5
+    finally:
+        tracemalloc.stop()
+    assert not tracemalloc.is_tracing()
+    assert tracemalloc.get_traced_memory() == (0, 0)
+    for nframe in (0, 65536):
+        try:
+            tracemalloc.start(nframe)
+        except ValueError:
+            pass
+        else:
+            tracemalloc.stop()
+            assert False, "expected ValueError for nframe %d" % nframe
+
+
+def test_object_traceback():
+    tracemalloc.start()
+    try:
+        obj = bytearray(1000)
+        tb = tracemalloc.get_object_traceback(obj)
+        assert tb is not None
+        frame = tb[0]
+        assert frame.filename == __file__, frame.filename
+        assert frame.lineno == test_object_traceback.__code__.co_firstlineno + 3, frame.lineno
+    finally:
+        tracemalloc.stop()
+    assert tracemalloc.get_object_traceback(obj) is None
+
+
+def test_snapshot_statistics():
+    tracemalloc.start(10)
+    try:
+        snapshot1 = tracemalloc.take_snapshot()
+        objects = allocate(1000)
+        current, peak = tracemalloc.get_traced_memory()
+        assert 0 < current <= peak
+        snapshot2 = tracemalloc.take_snapshot()
+    finally:
+        tracemalloc.stop()
+    assert snapshot2.traceback_limit == 10
+    stats = snapshot2.filter_traces([tracemalloc.Filter(True, __file__)]).statistics('lineno')
+    assert stats, "expected allocations in this file"
+    assert any(stat.count >= 1000 for stat in stats), stats
+    diff = snapshot2.compare_to(snapshot1, 'filename')
+    assert any(stat.traceback[0].filename == __file__ and stat.size_diff > 0 for stat in diff), diff
+    del objects
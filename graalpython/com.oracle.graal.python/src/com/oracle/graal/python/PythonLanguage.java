@@ -93,11 +93,13 @@ import com.oracle.graal.python.pegparser.sst.ArgumentsTy;
 import com.oracle.graal.python.pegparser.sst.ModTy;
 import com.oracle.graal.python.pegparser.sst.StmtTy;
 import com.oracle.graal.python.pegparser.tokenizer.SourceRange;
+import com.oracle.graal.python.runtime.BytecodeCache;
 import com.oracle.graal.python.runtime.GilNode;
 import com.oracle.graal.python.runtime.IndirectCallData;
 import com.oracle.graal.python.runtime.PythonContext;
 import com.oracle.graal.python.runtime.PythonContext.PythonThreadState;
 import com.oracle.graal.python.runtime.PythonOptions;
+import com.oracle.graal.python.runtime.SharedCodeCache;
 import com.oracle.graal.python.runtime.exception.PException;
 import com.oracle.graal.python.runtime.object.PythonObjectFactory;
 import com.oracle.graal.python.util.Function;
@@ -327,6 +329,13 @@ public final class PythonLanguage extends TruffleLanguage<PythonContext> {
      */
     public final Assumption singleThreadedAssumption = Truffle.getRuntime().createAssumption("Only a single thread is active");
 
+    /**
+     * This assumption will be valid until {@code tracemalloc} starts tracing in any context.
+     * Allocations are only reported to {@link com.oracle.graal.python.runtime.Tracemalloc} after
+     * that.
+     */
+    public final Assumption noTracemallocAssumption = Truffle.getRuntime().createAssumption("tracemalloc is not tracing");
+
     /**
      * A thread-safe map to retrieve (and cache) singleton instances of call targets, e.g., for
      * Arithmetic operations, wrappers, named cext functions, etc. This reduces the number of call
@@ -572,10 +581,22 @@ public final class PythonLanguage extends TruffleLanguage<PythonContext> {
                     EnumSet<FutureFeature> futureFeatures) {
         RaisePythonExceptionErrorCallback errorCb = new RaisePythonExceptionErrorCallback(source, PythonOptions.isPExceptionWithJavaStacktrace(this));
         try {
+            BytecodeCache bytecodeCache = null;
+            byte[] cacheKey = null;
+            if (type == InputType.FILE && !interactiveTerminal && (argumentNames == null || argumentNames.isEmpty())) {
+                bytecodeCache = context.getBytecodeCache();
+                if (bytecodeCache != null) {
+                    cacheKey = BytecodeCache.computeKey(source, optimize, futureFeatures);
+                    CodeUnit cached = bytecodeCache.load(cacheKey);
+                    if (cached != null) {
+                        return createCallTarget(context, cached, source, topLevel, false, errorCb);
+                    }
+                }
+            }
             Parser parser = Compiler.createParser(source.getCharacters().toString(), errorCb, type, interactiveTerminal);
             ModTy mod = (ModTy) parser.parse();
             assert mod != null;
-            return compileForBytecodeInterpreter(context, mod, source, topLevel, optimize, argumentNames, errorCb, futureFeatures);
+            return compileForBytecodeInterpreter(context, mod, source, topLevel, optimize, argumentNames, errorCb, futureFeatures, bytecodeCache, cacheKey);
         } catch (PException e) {
             if (topLevel) {
                 PythonUtils.getOrCreateCallTarget(new TopLevelExceptionHandler(this, e)).call();
@@ -593,6 +614,11 @@ public final class PythonLanguage extends TruffleLanguage<PythonContext> {
     @TruffleBoundary
     public RootCallTarget compileForBytecodeInterpreter(PythonContext context, ModTy modIn, Source source, boolean topLevel, int optimize, List<String> argumentNames,
                     RaisePythonExceptionErrorCallback errorCallback, EnumSet<FutureFeature> futureFeatures) {
+        return compileForBytecodeInterpreter(context, modIn, source, topLevel, optimize, argumentNames, errorCallback, futureFeatures, null, null);
+    }
+
+    private RootCallTarget compileForBytecodeInterpreter(PythonContext context, ModTy modIn, Source source, boolean topLevel, int optimize, List<String> argumentNames,
+                    RaisePythonExceptionErrorCallback errorCallback, EnumSet<FutureFeature> futureFeatures, BytecodeCache bytecodeCache, byte[] cacheKey) {
         RaisePythonExceptionErrorCallback errorCb = errorCallback;
         if (errorCb == null) {
             errorCb = new RaisePythonExceptionErrorCallback(source, PythonOptions.isPExceptionWithJavaStacktrace(this));
@@ -608,23 +634,11 @@ public final class PythonLanguage extends TruffleLanguage<PythonContext> {
             }
             CompilationUnit cu = compiler.compile(mod, EnumSet.noneOf(Compiler.Flags.class), optimize, futureFeatures);
             CodeUnit co = cu.assemble();
-            RootNode rootNode = PBytecodeRootNode.create(this, co, source, errorCb);
-            if (topLevel) {
-                GilNode gil = GilNode.getUncached();
-                boolean wasAcquired = gil.acquire(context, rootNode);
-                try {
-                    errorCb.triggerDeprecationWarnings();
-                } finally {
-                    gil.release(context, wasAcquired);
-                }
-            }
-            if (hasArguments) {
-                rootNode = new RootNodeWithArguments(this, rootNode);
+            if (bytecodeCache != null) {
+                assert !hasArguments;
+                bytecodeCache.store(cacheKey, co);
             }
-            if (topLevel && context.isCoreInitialized()) {
-                rootNode = new TopLevelExceptionHandler(this, rootNode, source);
-            }
-            return PythonUtils.getOrCreateCallTarget(rootNode);
+            return createCallTarget(context, co, source, topLevel, hasArguments, errorCb);
         } catch (PException e) {
             if (topLevel) {
                 PythonUtils.getOrCreateCallTarget(new TopLevelExceptionHandler(this, e)).call();
@@ -633,6 +647,26 @@ public final class PythonLanguage extends TruffleLanguage<PythonContext> {
         }
     }
 
+    private RootCallTarget createCallTarget(PythonContext context, CodeUnit co, Source source, boolean topLevel, boolean hasArguments, RaisePythonExceptionErrorCallback errorCb) {
+        RootNode rootNode = PBytecodeRootNode.create(this, co, source, errorCb);
+        if (topLevel) {
+            GilNode gil = GilNode.getUncached();
+            boolean wasAcquired = gil.acquire(context, rootNode);
+            try {
+                errorCb.triggerDeprecationWarnings();
+            } finally {
+                gil.release(context, wasAcquired);
+            }
+        }
+        if (hasArguments) {
+            rootNode = new RootNodeWithArguments(this, rootNode);
+        }
+        if (topLevel && context.isCoreInitialized()) {
+            rootNode = new TopLevelExceptionHandler(this, rootNode, source);
+        }
+        return PythonUtils.getOrCreateCallTarget(rootNode);
+    }
+
     private static ModTy transformASTForExecutionWithArguments(List<String> argumentNames, ModTy mod) {
         NodeFactory nodeFactory = new NodeFactory();
         ArgTy[] astArgArray = new ArgTy[argumentNames.size()];
@@ -909,6 +943,8 @@ public final class PythonLanguage extends TruffleLanguage<PythonContext> {
     }
 
     private final ConcurrentHashMap<TruffleString, CallTarget> cachedCode = new ConcurrentHashMap<>();
+    private volatile boolean sharedCodeCacheInitialized;
+    private SharedCodeCache sharedCodeCache;
 
     @TruffleBoundary
     public CallTarget cacheCode(TruffleString filename, Supplier<CallTarget> createCode) {
@@ -922,6 +958,33 @@ public final class PythonLanguage extends TruffleLanguage<PythonContext> {
         }
     }
 
+    /**
+     * Returns the content-keyed code cache shared by all contexts or {@code null} if it is disabled
+     * or this engine only ever has a single context.
+     *
+     * @see PythonOptions#SharedCodeCacheSize
+     */
+    public SharedCodeCache getSharedCodeCache() {
+        if (singleContext) {
+            return null;
+        }
+        if (!sharedCodeCacheInitialized) {
+            initializeSharedCodeCache();
+        }
+        return sharedCodeCache;
+    }
+
+    @TruffleBoundary
+    private synchronized void initializeSharedCodeCache() {
+        if (!sharedCodeCacheInitialized) {
+            int size = getEngineOption(PythonOptions.SharedCodeCacheSize);
+            if (size > 0) {
+                sharedCodeCache = new SharedCodeCache(size);
+            }
+            sharedCodeCacheInitialized = true;
+        }
+    }
+
     @Override
     protected boolean isThreadAccessAllowed(Thread thread, boolean singleThreaded) {
         if (singleThreaded) {
@@ -230,6 +230,8 @@ public enum PythonBuiltinClassType implements TruffleObject {
     PInstancemethod("instancemethod", Flags.PUBLIC_BASE_WDICT),
     PScandirIterator("ScandirIterator", J_POSIX, Flags.PRIVATE_DERIVED_WODICT),
     PDirEntry("DirEntry", J_POSIX, Flags.PUBLIC_DERIVED_WODICT),
+    PPoll("poll", null, "select", Flags.PUBLIC_DERIVED_WODICT),
+    PEpoll("epoll", "select", Flags.PUBLIC_BASE_WODICT),
     LsprofProfiler("Profiler", "_lsprof"),
     PStruct("Struct", J__STRUCT),
     PStructUnpackIterator("unpack_iterator", J__STRUCT),
@@ -255,14 +255,17 @@ public final class ArrayModuleBuiltins extends PythonBuiltins {
                             @Shared @Cached(inline = false) PythonObjectFactory factory,
                             @Exclusive @Cached ArrayNodes.PutValueNode putValueNode,
                             @Cached SequenceNodes.GetSequenceStorageNode getSequenceStorageNode,
-                            @Cached SequenceStorageNodes.GetItemScalarNode getItemNode) {
+                            @Cached SequenceStorageNodes.GetItemScalarNode getItemNode,
+                            @Cached InlinedConditionProfile primitiveProfile) {
                 BufferFormat format = getFormatCheckedNode.execute(inliningTarget, typeCode);
                 SequenceStorage storage = getSequenceStorageNode.execute(inliningTarget, initializer);
                 int length = storage.length();
                 try {
                     PArray array = factory.createArray(cls, typeCode, format, length);
-                    for (int i = 0; i < length; i++) {
-                        putValueNode.execute(frame, inliningTarget, array, i, getItemNode.execute(inliningTarget, storage, i));
+                    if (!primitiveProfile.profile(inliningTarget, ArrayNodes.fromPrimitiveListStorage(array, storage, 0))) {
+                        for (int i = 0; i < length; i++) {
+                            putValueNode.execute(frame, inliningTarget, array, i, getItemNode.execute(inliningTarget, storage, i));
+                        }
                     }
                     return array;
                 } catch (OverflowException e) {
@@ -0,0 +1,376 @@
+/*
+ * Copyright (c) 2024, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.modules;
+
+import static com.oracle.graal.python.builtins.PythonBuiltinClassType.IndexError;
+import static com.oracle.graal.python.builtins.PythonBuiltinClassType.ValueError;
+import static com.oracle.graal.python.nodes.BuiltinNames.J__BISECT;
+import static com.oracle.graal.python.util.PythonUtils.tsLiteral;
+
+import java.util.List;
+
+import com.oracle.graal.python.annotations.ArgumentClinic;
+import com.oracle.graal.python.annotations.ArgumentClinic.ClinicConversion;
+import com.oracle.graal.python.builtins.Builtin;
+import com.oracle.graal.python.builtins.CoreFunctions;
+import com.oracle.graal.python.builtins.PythonBuiltinClassType;
+import com.oracle.graal.python.builtins.PythonBuiltins;
+import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.builtins.objects.common.SequenceStorageNodes;
+import com.oracle.graal.python.builtins.objects.list.ListBuiltins.ListInsertNode;
+import com.oracle.graal.python.builtins.objects.list.PList;
+import com.oracle.graal.python.lib.PyObjectCallMethodObjArgs;
+import com.oracle.graal.python.lib.PyObjectGetItem;
+import com.oracle.graal.python.lib.PyObjectRichCompareBool;
+import com.oracle.graal.python.lib.PySequenceGetItemNode;
+import com.oracle.graal.python.lib.PySequenceSizeNode;
+import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.nodes.PRaiseNode;
+import com.oracle.graal.python.nodes.call.CallNode;
+import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonClinicBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.clinic.ArgumentClinicProvider;
+import com.oracle.graal.python.nodes.object.BuiltinClassProfiles.IsBuiltinObjectExactProfile;
+import com.oracle.graal.python.runtime.CriticalSection;
+import com.oracle.graal.python.runtime.sequence.storage.DoubleSequenceStorage;
+import com.oracle.graal.python.runtime.sequence.storage.IntSequenceStorage;
+import com.oracle.graal.python.runtime.sequence.storage.LongSequenceStorage;
+import com.oracle.graal.python.runtime.sequence.storage.SequenceStorage;
+import com.oracle.truffle.api.dsl.Bind;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.Fallback;
+import com.oracle.truffle.api.dsl.GenerateCached;
+import com.oracle.truffle.api.dsl.GenerateInline;
+import com.oracle.truffle.api.dsl.GenerateNodeFactory;
+import com.oracle.truffle.api.dsl.NodeFactory;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.nodes.Node;
+import com.oracle.truffle.api.strings.TruffleString;
+
+/**
+ * Java implementation of CPython's {@code _bisectmodule.c}. Searching a builtin list without a key
+ * function is done directly on the primitive array when both the storage and the searched value
+ * are int, long or double; everything else goes through the sequence protocol and rich comparison
+ * like in CPython.
+ */
+@CoreFunctions(defineModule = J__BISECT)
+public final class BisectModuleBuiltins extends PythonBuiltins {
+
+    private static final TruffleString T_INSERT = tsLiteral("insert");
+
+    @Override
+    protected List<? extends NodeFactory<? extends PythonBuiltinBaseNode>> getNodeFactories() {
+        return BisectModuleBuiltinsFactory.getFactories();
+    }
+
+    /**
+     * Binary search on a primitive storage within {@code [lo, hi)}, where {@code hi} must not
+     * exceed the storage length. Returns -1 if the storage and value types are not supported.
+     */
+    @GenerateInline
+    @GenerateCached(false)
+    abstract static class BisectStorageNode extends Node {
+
+        abstract int execute(Node inliningTarget, SequenceStorage storage, Object x, int lo, int hi, boolean right);
+
+        @Specialization
+        static int doInt(IntSequenceStorage storage, int x, int lo, int hi, boolean right) {
+            int[] arr = storage.getInternalIntArray();
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (right ? x < arr[mid] : !(arr[mid] < x)) {
+                    hi = mid;
+                } else {
+                    lo = mid + 1;
+                }
+            }
+            return lo;
+        }
+
+        @Specialization
+        static int doIntLong(IntSequenceStorage storage, long x, int lo, int hi, boolean right) {
+            int[] arr = storage.getInternalIntArray();
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (right ? x < arr[mid] : !(arr[mid] < x)) {
+                    hi = mid;
+                } else {
+                    lo = mid + 1;
+                }
+            }
+            return lo;
+        }
+
+        @Specialization
+        static int doLongInt(LongSequenceStorage storage, int x, int lo, int hi, boolean right) {
+            return doLong(storage, x, lo, hi, right);
+        }
+
+        @Specialization
+        static int doLong(LongSequenceStorage storage, long x, int lo, int hi, boolean right) {
+            long[] arr = storage.getInternalLongArray();
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (right ? x < arr[mid] : !(arr[mid] < x)) {
+                    hi = mid;
+                } else {
+                    lo = mid + 1;
+                }
+            }
+            return lo;
+        }
+
+        @Specialization
+        static int doDoubleInt(DoubleSequenceStorage storage, int x, int lo, int hi, boolean right) {
+            // every int is exactly representable as a double
+            return doDouble(storage, x, lo, hi, right);
+        }
+
+        @Specialization
+        static int doDouble(DoubleSequenceStorage storage, double x, int lo, int hi, boolean right) {
+            double[] arr = storage.getInternalDoubleArray();
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (right ? x < arr[mid] : !(arr[mid] < x)) {
+                    hi = mid;
+                } else {
+                    lo = mid + 1;
+                }
+            }
+            return lo;
+        }
+
+        @Fallback
+        @SuppressWarnings("unused")
+        static int doOther(SequenceStorage storage, Object x, int lo, int hi, boolean right) {
+            return -1;
+        }
+    }
+
+    /**
+     * Equivalent of CPython's {@code internal_bisect_right} and {@code internal_bisect_left}.
+     */
+    @GenerateInline
+    @GenerateCached(false)
+    abstract static class BisectNode extends Node {
+
+        abstract long execute(VirtualFrame frame, Node inliningTarget, Object a, Object x, long lo, long hi, Object key, boolean right);
+
+        @Specialization
+        static long bisect(VirtualFrame frame, Node inliningTarget, Object a, Object x, long lo, long hi, Object key, boolean right,
+                        @Cached IsBuiltinObjectExactProfile isListProfile,
+                        @Cached BisectStorageNode bisectStorageNode,
+                        @Cached SequenceStorageNodes.GetItemScalarNode getListItemNode,
+                        @Cached PySequenceSizeNode sizeNode,
+                        @Cached PySequenceGetItemNode getItemNode,
+                        @Cached PyObjectGetItem getItemLongNode,
+                        @Cached(inline = false) CallNode callKeyNode,
+                        @Cached PyObjectRichCompareBool.LtNode ltNode,
+                        @Cached PRaiseNode.Lazy raiseNode) {
+            if (lo < 0) {
+                throw raiseNode.get(inliningTarget).raise(ValueError, ErrorMessages.MUST_BE_NON_NEGATIVE, "lo");
+            }
+            boolean noKey = key instanceof PNone;
+            PList list = null;
+            if (isListProfile.profileObject(inliningTarget, a, PythonBuiltinClassType.PList)) {
+                list = (PList) a;
+            }
+            // the section is only needed for lists, whose storage is read directly
+            try (CriticalSection cs = list != null ? CriticalSection.enter(inliningTarget, list) : null) {
+                if (list != null) {
+                    if (hi == -1) {
+                        hi = list.getSequenceStorage().length();
+                    }
+                    if (noKey && lo < hi) {
+                        int result = bisectStorage(inliningTarget, list.getSequenceStorage(), x, lo, hi, right, bisectStorageNode);
+                        if (result >= 0) {
+                            return result;
+                        }
+                    }
+                } else if (hi == -1) {
+                    hi = sizeNode.execute(frame, a);
+                }
+                while (lo < hi) {
+                    long mid = (lo + hi) >>> 1;
+                    Object litem;
+                    if (list != null) {
+                        // the comparisons may modify the list, so this has to behave like list[mid]
+                        SequenceStorage storage = list.getSequenceStorage();
+                        if (mid >= storage.length()) {
+                            throw raiseNode.get(inliningTarget).raise(IndexError, ErrorMessages.LIST_INDEX_OUT_OF_RANGE);
+                        }
+                        litem = getListItemNode.execute(inliningTarget, storage, (int) mid);
+                    } else if (mid <= Integer.MAX_VALUE) {
+                        litem = getItemNode.execute(frame, a, (int) mid);
+                    } else {
+                        litem = getItemLongNode.execute(frame, inliningTarget, a, mid);
+                    }
+                    if (!noKey) {
+                        litem = callKeyNode.execute(frame, key, litem);
+                    }
+                    if (right ? ltNode.compare(frame, inliningTarget, x, litem) : !ltNode.compare(frame, inliningTarget, litem, x)) {
+                        hi = mid;
+                    } else {
+                        lo = mid + 1;
+                    }
+                }
+                return lo;
+            }
+        }
+
+        private static int bisectStorage(Node inliningTarget, SequenceStorage storage, Object x, long lo, long hi, boolean right, BisectStorageNode bisectStorageNode) {
+            if (hi > storage.length()) {
+                // indexing past the end raises an IndexError, which is left to the generic path
+                return -1;
+            }
+            return bisectStorageNode.execute(inliningTarget, storage, x, (int) lo, (int) hi, right);
+        }
+    }
+
+    /**
+     * Equivalent of the common part of CPython's {@code insort_right} and {@code insort_left}.
+     */
+    @GenerateInline
+    @GenerateCached(false)
+    abstract static class InsortNode extends Node {
+
+        abstract void execute(VirtualFrame frame, Node inliningTarget, Object a, Object x, long lo, long hi, Object key, boolean right);
+
+        @Specialization
+        static void insort(VirtualFrame frame, Node inliningTarget, Object a, Object x, long lo, long hi, Object key, boolean right,
+                        @Cached BisectNode bisectNode,
+                        @Cached(inline = false) CallNode callKeyNode,
+                        @Cached IsBuiltinObjectExactProfile isListProfile,
+                        @Cached ListInsertNode listInsertNode,
+                        @Cached PyObjectCallMethodObjArgs callInsertNode) {
+            Object keyX = key instanceof PNone ? x : callKeyNode.execute(frame, key, x);
+            if (isListProfile.profileObject(inliningTarget, a, PythonBuiltinClassType.PList)) {
+                // keep the insertion point valid until the item is inserted
+                try (CriticalSection cs = CriticalSection.enter(inliningTarget, a)) {
+                    long index = bisectNode.execute(frame, inliningTarget, a, keyX, lo, hi, key, right);
+                    listInsertNode.execute(frame, (PList) a, index, x);
+                }
+            } else {
+                long index = bisectNode.execute(frame, inliningTarget, a, keyX, lo, hi, key, right);
+                callInsertNode.execute(frame, inliningTarget, a, T_INSERT, index, x);
+            }
+        }
+    }
+
+    @Builtin(name = "bisect_right", minNumOfPositionalArgs = 2, parameterNames = {"a", "x", "lo", "hi"}, keywordOnlyNames = {"key"}, //
+                    doc = "Return the index where to insert item x in list a, assuming a is sorted.")
+    @ArgumentClinic(name = "lo", conversion = ClinicConversion.LongIndex, defaultValue = "0")
+    @ArgumentClinic(name = "hi", conversion = ClinicConversion.LongIndex, defaultValue = "-1", useDefaultForNone = true)
+    @GenerateNodeFactory
+    abstract static class BisectRightNode extends PythonClinicBuiltinNode {
+        @Specialization
+        static long bisect(VirtualFrame frame, Object a, Object x, long lo, long hi, Object key,
+                        @Bind("this") Node inliningTarget,
+                        @Cached BisectNode bisectNode) {
+            return bisectNode.execute(frame, inliningTarget, a, x, lo, hi, key, true);
+        }
+
+        @Override
+        protected ArgumentClinicProvider getArgumentClinic() {
+            return BisectModuleBuiltinsClinicProviders.BisectRightNodeClinicProviderGen.INSTANCE;
+        }
+    }
+
+    @Builtin(name = "bisect_left", minNumOfPositionalArgs = 2, parameterNames = {"a", "x", "lo", "hi"}, keywordOnlyNames = {"key"}, //
+                    doc = "Return the index where to insert item x in list a, assuming a is sorted.")
+    @ArgumentClinic(name = "lo", conversion = ClinicConversion.LongIndex, defaultValue = "0")
+    @ArgumentClinic(name = "hi", conversion = ClinicConversion.LongIndex, defaultValue = "-1", useDefaultForNone = true)
+    @GenerateNodeFactory
+    abstract static class BisectLeftNode extends PythonClinicBuiltinNode {
+        @Specialization
+        static long bisect(VirtualFrame frame, Object a, Object x, long lo, long hi, Object key,
+                        @Bind("this") Node inliningTarget,
+                        @Cached BisectNode bisectNode) {
+            return bisectNode.execute(frame, inliningTarget, a, x, lo, hi, key, false);
+        }
+
+        @Override
+        protected ArgumentClinicProvider getArgumentClinic() {
+            return BisectModuleBuiltinsClinicProviders.BisectLeftNodeClinicProviderGen.INSTANCE;
+        }
+    }
+
+    @Builtin(name = "insort_right", minNumOfPositionalArgs = 2, parameterNames = {"a", "x", "lo", "hi"}, keywordOnlyNames = {"key"}, //
+                    doc = "Insert item x in list a, and keep it sorted assuming a is sorted.")
+    @ArgumentClinic(name = "lo", conversion = ClinicConversion.LongIndex, defaultValue = "0")
+    @ArgumentClinic(name = "hi", conversion = ClinicConversion.LongIndex, defaultValue = "-1", useDefaultForNone = true)
+    @GenerateNodeFactory
+    abstract static class InsortRightNode extends PythonClinicBuiltinNode {
+        @Specialization
+        static PNone insort(VirtualFrame frame, Object a, Object x, long lo, long hi, Object key,
+                        @Bind("this") Node inliningTarget,
+                        @Cached InsortNode insortNode) {
+            insortNode.execute(frame, inliningTarget, a, x, lo, hi, key, true);
+            return PNone.NONE;
+        }
+
+        @Override
+        protected ArgumentClinicProvider getArgumentClinic() {
+            return BisectModuleBuiltinsClinicProviders.InsortRightNodeClinicProviderGen.INSTANCE;
+        }
+    }
+
+    @Builtin(name = "insort_left", minNumOfPositionalArgs = 2, parameterNames = {"a", "x", "lo", "hi"}, keywordOnlyNames = {"key"}, //
+                    doc = "Insert item x in list a, and keep it sorted assuming a is sorted.")
+    @ArgumentClinic(name = "lo", conversion = ClinicConversion.LongIndex, defaultValue = "0")
+    @ArgumentClinic(name = "hi", conversion = ClinicConversion.LongIndex, defaultValue = "-1", useDefaultForNone = true)
+    @GenerateNodeFactory
+    abstract static class InsortLeftNode extends PythonClinicBuiltinNode {
+        @Specialization
+        static PNone insort(VirtualFrame frame, Object a, Object x, long lo, long hi, Object key,
+                        @Bind("this") Node inliningTarget,
+                        @Cached InsortNode insortNode) {
+            insortNode.execute(frame, inliningTarget, a, x, lo, hi, key, false);
+            return PNone.NONE;
+        }
+
+        @Override
+        protected ArgumentClinicProvider getArgumentClinic() {
+            return BisectModuleBuiltinsClinicProviders.InsortLeftNodeClinicProviderGen.INSTANCE;
+        }
+    }
+}
@@ -241,10 +241,12 @@ import com.oracle.graal.python.pegparser.InputType;
 import com.oracle.graal.python.pegparser.Parser;
 import com.oracle.graal.python.pegparser.sst.ModTy;
 import com.oracle.graal.python.pegparser.tokenizer.SourceRange;
+import com.oracle.graal.python.runtime.BytecodeCache;
 import com.oracle.graal.python.runtime.ExecutionContext.IndirectCallContext;
 import com.oracle.graal.python.runtime.IndirectCallData;
 import com.oracle.graal.python.runtime.PythonContext;
 import com.oracle.graal.python.runtime.PythonOptions;
+import com.oracle.graal.python.runtime.SharedCodeCache;
 import com.oracle.graal.python.runtime.exception.PException;
 import com.oracle.graal.python.runtime.exception.PythonErrorType;
 import com.oracle.graal.python.runtime.object.PythonObjectFactory;
@@ -1150,7 +1152,12 @@ public final class BuiltinFunctions extends PythonBuiltins {
                     return context.getLanguage().parse(context, source, InputType.SINGLE, false, optimize, false, null, FutureFeature.fromFlags(flags));
                 }
             };
-            if (getContext().isCoreInitialized()) {
+            SharedCodeCache sharedCodeCache = type == InputType.FILE ? getLanguage().getSharedCodeCache() : null;
+            if (getContext().isCoreInitialized() && sharedCodeCache != null) {
+                Source source = PythonLanguage.newSource(context, finalCode, filename, mayBeFromFile, PythonLanguage.getCompileMimeType(optimize, flags));
+                byte[] key = BytecodeCache.computeKey(source, optimize, FutureFeature.fromFlags(flags));
+                ct = sharedCodeCache.getOrCreate(key, () -> context.getEnv().parsePublic(source));
+            } else if (getContext().isCoreInitialized()) {
                 ct = createCode.get();
             } else {
                 ct = getContext().getLanguage().cacheCode(filename, createCode);
@@ -0,0 +1,632 @@
+/*
+ * Copyright (c) 2024, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.modules;
+
+import static com.oracle.graal.python.builtins.PythonBuiltinClassType.ValueError;
+import static com.oracle.graal.python.nodes.BuiltinNames.J__DATETIME_ACCEL;
+import static com.oracle.graal.python.util.PythonUtils.TS_ENCODING;
+import static com.oracle.graal.python.util.PythonUtils.tsLiteral;
+
+import java.util.List;
+
+import com.oracle.graal.python.annotations.ArgumentClinic;
+import com.oracle.graal.python.annotations.ArgumentClinic.ClinicConversion;
+import com.oracle.graal.python.builtins.Builtin;
+import com.oracle.graal.python.builtins.CoreFunctions;
+import com.oracle.graal.python.builtins.PythonBuiltins;
+import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.builtins.objects.list.PList;
+import com.oracle.graal.python.builtins.objects.tuple.PTuple;
+import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.nodes.PRaiseNode;
+import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
+import com.oracle.graal.python.nodes.function.PythonBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonClinicBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonTernaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonTernaryClinicBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonUnaryClinicBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.clinic.ArgumentClinicProvider;
+import com.oracle.graal.python.nodes.util.CannotCastException;
+import com.oracle.graal.python.nodes.util.CastToTruffleStringNode;
+import com.oracle.graal.python.runtime.object.PythonObjectFactory;
+import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
+import com.oracle.truffle.api.dsl.Bind;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.Fallback;
+import com.oracle.truffle.api.dsl.GenerateNodeFactory;
+import com.oracle.truffle.api.dsl.NodeFactory;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.nodes.Node;
+import com.oracle.truffle.api.strings.TruffleString;
+
+/**
+ * Primitive helpers for the pure-Python {@code datetime} module. The classes themselves stay in
+ * {@code datetime.py}, because the C API gives them the native layout of {@code PyDateTime_Date}
+ * and friends, but the calendar arithmetic, field validation, ordering keys and ISO 8601 parsing
+ * and formatting that run on every construction, comparison and conversion are done here on
+ * {@code int} and {@code long} values instead of on boxed Python objects.
+ */
+@CoreFunctions(defineModule = J__DATETIME_ACCEL)
+public final class DatetimeAccelModuleBuiltins extends PythonBuiltins {
+
+    static final TruffleString T_AUTO = tsLiteral("auto");
+    private static final TruffleString T_HOURS = tsLiteral("hours");
+    private static final TruffleString T_MINUTES = tsLiteral("minutes");
+    private static final TruffleString T_SECONDS = tsLiteral("seconds");
+    private static final TruffleString T_MILLISECONDS = tsLiteral("milliseconds");
+    private static final TruffleString T_MICROSECONDS = tsLiteral("microseconds");
+
+    private static final int MINYEAR = 1;
+    private static final int MAXYEAR = 9999;
+    private static final int MAX_DELTA_DAYS = 999999999;
+    private static final int SECONDS_PER_DAY = 24 * 3600;
+    private static final int US_PER_SECOND = 1000000;
+
+    /* number of days in 400, 100 and 4 years */
+    private static final int DI400Y = 146097;
+    private static final int DI100Y = 36524;
+    private static final int DI4Y = 1461;
+
+    /* the longest string the ISO time parser accepts: HH:MM:SS.ffffff+HH:MM:SS.ffffff */
+    private static final int MAX_ISOFORMAT_TIME_LENGTH = 31;
+    private static final int ISOFORMAT_DATE_LENGTH = 10;
+
+    @CompilationFinal(dimensions = 1) private static final int[] DAYS_IN_MONTH = {-1, 31, 28, 31, 30, 31, 30, 31, 31, 30, 31, 30, 31};
+    @CompilationFinal(dimensions = 1) private static final int[] DAYS_BEFORE_MONTH = {-1, 0, 31, 59, 90, 120, 151, 181, 212, 243, 273, 304, 334};
+
+    @Override
+    protected List<? extends NodeFactory<? extends PythonBuiltinBaseNode>> getNodeFactories() {
+        return DatetimeAccelModuleBuiltinsFactory.getFactories();
+    }
+
+    static boolean isLeap(long year) {
+        return year % 4 == 0 && (year % 100 != 0 || year % 400 == 0);
+    }
+
+    static long daysBeforeYear(long year) {
+        long y = year - 1;
+        return y * 365 + Math.floorDiv(y, 4) - Math.floorDiv(y, 100) + Math.floorDiv(y, 400);
+    }
+
+    static int daysInMonth(long year, int month) {
+        assert 1 <= month && month <= 12;
+        if (month == 2 && isLeap(year)) {
+            return 29;
+        }
+        return DAYS_IN_MONTH[month];
+    }
+
+    /**
+     * Proleptic Gregorian ordinal of the given date, 01-Jan-0001 being day 1. The month must be in
+     * {@code 1..12}.
+     */
+    static long ymdToOrdinal(long year, int month, int day) {
+        assert 1 <= month && month <= 12;
+        int daysBeforeMonth = DAYS_BEFORE_MONTH[month] + (month > 2 && isLeap(year) ? 1 : 0);
+        return daysBeforeYear(year) + daysBeforeMonth + day;
+    }
+
+    /**
+     * Reads the code points of {@code str} into an array, or returns {@code null} if the string
+     * is longer than {@code maxLength} and therefore cannot be valid.
+     */
+    static int[] codePoints(TruffleString str, int maxLength, TruffleString.CodePointLengthNode codePointLengthNode, TruffleString.CodePointAtIndexNode codePointAtIndexNode) {
+        int len = codePointLengthNode.execute(str, TS_ENCODING);
+        if (len > maxLength) {
+            return null;
+        }
+        int[] cps = new int[len];
+        for (int i = 0; i < len; i++) {
+            cps[i] = codePointAtIndexNode.execute(str, i, TS_ENCODING);
+        }
+        return cps;
+    }
+
+    /**
+     * Parses {@code count} ASCII digits starting at {@code start}. Returns -1 if any of them is not
+     * a digit.
+     */
+    static int parseDigits(int[] cps, int start, int count) {
+        int value = 0;
+        for (int i = start; i < start + count; i++) {
+            int c = cps[i];
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    /**
+     * Parses {@code YYYY-MM-DD} into {@code out[0..2]}. Returns {@code false} if the string is
+     * malformed; the ranges of the fields are checked by the date constructor.
+     */
+    static boolean parseIsoDate(int[] cps, int[] out) {
+        if (cps.length != ISOFORMAT_DATE_LENGTH || cps[4] != '-' || cps[7] != '-') {
+            return false;
+        }
+        out[0] = parseDigits(cps, 0, 4);
+        out[1] = parseDigits(cps, 5, 2);
+        out[2] = parseDigits(cps, 8, 2);
+        return out[0] >= 0 && out[1] >= 0 && out[2] >= 0;
+    }
+
+    /**
+     * Parses {@code HH[:MM[:SS[.fff[fff]]]]} from {@code cps[start, end)} into {@code out[0..3]}
+     * following {@code _parse_hh_mm_ss_ff} in {@code datetime.py}. Returns {@code false} if the
+     * string is malformed.
+     */
+    static boolean parseHhMmSsFf(int[] cps, int start, int end, int[] out) {
+        out[0] = out[1] = out[2] = out[3] = 0;
+        int pos = start;
+        for (int comp = 0; comp < 3; comp++) {
+            if (end - pos < 2) {
+                return false;
+            }
+            out[comp] = parseDigits(cps, pos, 2);
+            if (out[comp] < 0) {
+                return false;
+            }
+            pos += 2;
+            if (pos >= end || comp >= 2) {
+                break;
+            }
+            if (cps[pos] != ':') {
+                return false;
+            }
+            pos++;
+        }
+        if (pos < end) {
+            if (cps[pos] != '.') {
+                return false;
+            }
+            pos++;
+            int remainder = end - pos;
+            if (remainder != 3 && remainder != 6) {
+                return false;
+            }
+            int fraction = parseDigits(cps, pos, remainder);
+            if (fraction < 0) {
+                return false;
+            }
+            out[3] = remainder == 3 ? fraction * 1000 : fraction;
+        }
+        return true;
+    }
+
+    /**
+     * Writes {@code value} in decimal, zero-padded to {@code width} characters including the sign
+     * like the {@code %0Nd} format, and returns the position after the last written character.
+     */
+    static int putPadded(byte[] buf, int start, long value, int width) {
+        int pos = start;
+        long v = value;
+        if (v < 0) {
+            buf[pos++] = '-';
+            v = -v;
+            width--;
+        }
+        int digits = 1;
+        for (long t = v / 10; t != 0; t /= 10) {
+            digits++;
+        }
+        for (int i = digits; i < width; i++) {
+            buf[pos++] = '0';
+        }
+        for (int i = pos + digits - 1; i >= pos; i--) {
+            buf[i] = (byte) ('0' + v % 10);
+            v /= 10;
+        }
+        return pos + digits;
+    }
+
+    static TruffleString asciiToString(byte[] buf, int len, TruffleString.FromByteArrayNode fromByteArrayNode, TruffleString.SwitchEncodingNode switchEncodingNode) {
+        return switchEncodingNode.execute(fromByteArrayNode.execute(buf, 0, len, TruffleString.Encoding.US_ASCII, false), TS_ENCODING);
+    }
+
+    @Builtin(name = "ymd2ord", minNumOfPositionalArgs = 3, parameterNames = {"year", "month", "day"})
+    @ArgumentClinic(name = "year", conversion = ClinicConversion.Int)
+    @ArgumentClinic(name = "month", conversion = ClinicConversion.Int)
+    @ArgumentClinic(name = "day", conversion = ClinicConversion.Int)
+    @GenerateNodeFactory
+    abstract static class Ymd2OrdNode extends PythonTernaryClinicBuiltinNode {
+
+        @Specialization
+        static long ymd2ord(int year, int month, int day,
+                        @Bind("this") Node inliningTarget,
+                        @Cached PRaiseNode.Lazy raiseNode) {
+            if (month < 1 || month > 12) {
+                throw raiseNode.get(inliningTarget).raise(ValueError, ErrorMessages.MONTH_MUST_BE_IN_1_12);
+            }
+            return ymdToOrdinal(year, month, day);
+        }
+
+        @Override
+        protected ArgumentClinicProvider getArgumentClinic() {
+            return DatetimeAccelModuleBuiltinsClinicProviders.Ymd2OrdNodeClinicProviderGen.INSTANCE;
+        }
+    }
+
+    @Builtin(name = "ord2ymd", minNumOfPositionalArgs = 1, parameterNames = {"n"})
+    @ArgumentClinic(name = "n", conversion = ClinicConversion.Int)
+    @GenerateNodeFactory
+    abstract static class Ord2YmdNode extends PythonUnaryClinicBuiltinNode {
+
+        @Specialization
+        static PTuple ord2ymd(int ordinal,
+                        @Cached PythonObjectFactory factory) {
+            // see _ord2ymd in datetime.py for the derivation
+            long n = ordinal - 1L;
+            long n400 = Math.floorDiv(n, DI400Y);
+            n = Math.floorMod(n, DI400Y);
+            long n100 = n / DI100Y;
+            n %= DI100Y;
+            long n4 = n / DI4Y;
+            n %= DI4Y;
+            long n1 = n / 365;
+            n %= 365;
+            int year = (int) (n400 * 400 + 1 + n100 * 100 + n4 * 4 + n1);
+            if (n1 == 4 || n100 == 4) {
+                return factory.createTuple(new Object[]{year - 1, 12, 31});
+            }
+            boolean leapYear = n1 == 3 && (n4 != 24 || n100 == 3);
+            int month = (int) ((n + 50) >> 5);
+            int preceding = DAYS_BEFORE_MONTH[month] + (month > 2 && leapYear ? 1 : 0);
+            if (preceding > n) {
+                month--;
+                preceding -= DAYS_IN_MONTH[month] + (month == 2 && leapYear ? 1 : 0);
+            }
+            return factory.createTuple(new Object[]{year, month, (int) (n - preceding) + 1});
+        }
+
+        @Override
+        protected ArgumentClinicProvider getArgumentClinic() {
+            return DatetimeAccelModuleBuiltinsClinicProviders.Ord2YmdNodeClinicProviderGen.INSTANCE;
+        }
+    }
+
+    /**
+     * Returns the {@code (year, month, day)} tuple if all fields are in range {@code int}s, and
+     * {@code None} otherwise, in which case {@code _check_date_fields} does the full conversion
+     * and produces the error.
+     */
+    @Builtin(name = "check_date_fields", minNumOfPositionalArgs = 3)
+    @GenerateNodeFactory
+    abstract static class CheckDateFieldsNode extends PythonTernaryBuiltinNode {
+
+        static boolean isValidDate(int year, int month, int day) {
+            return MINYEAR <= year && year <= MAXYEAR && 1 <= month && month <= 12 && 1 <= day && day <= daysInMonth(year, month);
+        }
+
+        @Specialization(guards = "isValidDate(year, month, day)")
+        static PTuple valid(int year, int month, int day,
+                        @Cached PythonObjectFactory factory) {
+            return factory.createTuple(new Object[]{year, month, day});
+        }
+
+        @Fallback
+        @SuppressWarnings("unused")
+        static PNone other(Object year, Object month, Object day) {
+            return PNone.NONE;
+        }
+    }
+
+    /**
+     * Returns the {@code (hour, minute, second, microsecond, fold)} tuple if all fields are in
+     * range {@code int}s, and {@code None} otherwise.
+     */
+    @Builtin(name = "check_time_fields", minNumOfPositionalArgs = 5)
+    @GenerateNodeFactory
+    abstract static class CheckTimeFieldsNode extends PythonBuiltinNode {
+
+        static boolean isValidTime(int hour, int minute, int second, int microsecond, int fold) {
+            return 0 <= hour && hour <= 23 && 0 <= minute && minute <= 59 && 0 <= second && second <= 59 && 0 <= microsecond && microsecond < US_PER_SECOND && (fold == 0 || fold == 1);
+        }
+
+        @Specialization(guards = "isValidTime(hour, minute, second, microsecond, fold)")
+        static PTuple valid(int hour, int minute, int second, int microsecond, int fold,
+                        @Cached PythonObjectFactory factory) {
+            return factory.createTuple(new Object[]{hour, minute, second, microsecond, fold});
+        }
+
+        @Fallback
+        @SuppressWarnings("unused")
+        static PNone other(Object hour, Object minute, Object second, Object microsecond, Object fold) {
+            return PNone.NONE;
+        }
+    }
+
+    /**
+     * Normalizes the arguments of the {@code timedelta} constructor into a
+     * {@code (days, seconds, microseconds)} tuple when they are all integers that fit into a
+     * {@code long}. Returns {@code None} for floats, big integers and results that are out of
+     * range, which the Python constructor handles.
+     */
+    @Builtin(name = "timedelta_fields", minNumOfPositionalArgs = 7)
+    @GenerateNodeFactory
+    abstract static class TimedeltaFieldsNode extends PythonBuiltinNode {
+
+        @Specialization
+        static Object normalize(long days, long seconds, long microseconds, long milliseconds, long minutes, long hours, long weeks,
+                        @Cached PythonObjectFactory factory) {
+            long d;
+            long s;
+            long us;
+            try {
+                d = Math.addExact(days, Math.multiplyExact(weeks, 7));
+                s = Math.addExact(seconds, Math.addExact(Math.multiplyExact(minutes, 60), Math.multiplyExact(hours, 3600)));
+                us = Math.addExact(microseconds, Math.multiplyExact(milliseconds, 1000));
+                s = Math.addExact(s, Math.floorDiv(us, US_PER_SECOND));
+                d = Math.addExact(d, Math.floorDiv(s, SECONDS_PER_DAY));
+            } catch (ArithmeticException e) {
+                return PNone.NONE;
+            }
+            if (d < -MAX_DELTA_DAYS || d > MAX_DELTA_DAYS) {
+                return PNone.NONE;
+            }
+            return factory.createTuple(new Object[]{(int) d, (int) Math.floorMod(s, SECONDS_PER_DAY), (int) Math.floorMod(us, US_PER_SECOND)});
+        }
+
+        @Fallback
+        @SuppressWarnings("unused")
+        static PNone other(Object days, Object seconds, Object microseconds, Object milliseconds, Object minutes, Object hours, Object weeks) {
+            return PNone.NONE;
+        }
+    }
+
+    /**
+     * Microseconds since 01-Jan-0001 00:00. Naive datetimes are ordered and hashed by this key
+     * instead of by tuples or pickled state.
+     */
+    @Builtin(name = "datetime_key", minNumOfPositionalArgs = 7, parameterNames = {"year", "month", "day", "hour", "minute", "second", "microsecond"})
+    @ArgumentClinic(name = "year", conversion = ClinicConversion.Int)
+    @ArgumentClinic(name = "month", conversion = ClinicConversion.Int)
+    @ArgumentClinic(name = "day", conversion = ClinicConversion.Int)
+    @ArgumentClinic(name = "hour", conversion = ClinicConversion.Int)
+    @ArgumentClinic(name = "minute", conversion = ClinicConversion.Int)
+    @ArgumentClinic(name = "second", conversion = ClinicConversion.Int)
+    @ArgumentClinic(name = "microsecond", conversion = ClinicConversion.Int)
+    @GenerateNodeFactory
+    abstract static class DatetimeKeyNode extends PythonClinicBuiltinNode {
+
+        @Specialization
+        static long key(int year, int month, int day, int hour, int minute, int second, int microsecond,
+                        @Bind("this") Node inliningTarget,
+                        @Cached PRaiseNode.Lazy raiseNode) {
+            if (month < 1 || month > 12) {
+                throw raiseNode.get(inliningTarget).raise(ValueError, ErrorMessages.MONTH_MUST_BE_IN_1_12);
+            }
+            long seconds = ymdToOrdinal(year, month, day) * SECONDS_PER_DAY + hour * 3600L + minute * 60L + second;
+            return seconds * US_PER_SECOND + microsecond;
+        }
+
+        @Override
+        protected ArgumentClinicProvider getArgumentClinic() {
+            return DatetimeAccelModuleBuiltinsClinicProviders.DatetimeKeyNodeClinicProviderGen.INSTANCE;
+        }
+    }
+
+    @Builtin(name = "parse_isoformat_date", minNumOfPositionalArgs = 1, parameterNames = {"dtstr"})
+    @ArgumentClinic(name = "dtstr", conversion = ClinicConversion.TString)
+    @GenerateNodeFactory
+    abstract static class ParseIsoformatDateNode extends PythonUnaryClinicBuiltinNode {
+
+        @Specialization
+        static PList parse(TruffleString dtstr,
+                        @Bind("this") Node inliningTarget,
+                        @Cached TruffleString.CodePointLengthNode codePointLengthNode,
+                        @Cached TruffleString.CodePointAtIndexNode codePointAtIndexNode,
+                        @Cached PythonObjectFactory factory,
+                        @Cached PRaiseNode.Lazy raiseNode) {
+            int[] cps = codePoints(dtstr, ISOFORMAT_DATE_LENGTH, codePointLengthNode, codePointAtIndexNode);
+            int[] ymd = new int[3];
+            if (cps == null || !parseIsoDate(cps, ymd)) {
+                throw raiseNode.get(inliningTarget).raise(ValueError, ErrorMessages.INVALID_ISOFORMAT_STRING, dtstr);
+            }
+            return factory.createList(new Object[]{ymd[0], ymd[1], ymd[2]});
+        }
+
+        @Override
+        protected ArgumentClinicProvider getArgumentClinic() {
+            return DatetimeAccelModuleBuiltinsClinicProviders.ParseIsoformatDateNodeClinicProviderGen.INSTANCE;
+        }
+    }
+
+    /**
+     * Parses {@code HH[:MM[:SS[.fff[fff]]]][+HH:MM[:SS[.ffffff]]]} into a list
+     * {@code [hour, minute, second, microsecond, offset]}, where {@code offset} is the UTC offset
+     * in microseconds or {@code None}. The caller turns the offset into a {@code timezone}.
+     */
+    @Builtin(name = "parse_isoformat_time", minNumOfPositionalArgs = 1, parameterNames = {"tstr"})
+    @ArgumentClinic(name = "tstr", conversion = ClinicConversion.TString)
+    @GenerateNodeFactory
+    abstract static class ParseIsoformatTimeNode extends PythonUnaryClinicBuiltinNode {
+
+        @Specialization
+        static PList parse(TruffleString tstr,
+                        @Bind("this") Node inliningTarget,
+                        @Cached TruffleString.CodePointLengthNode codePointLengthNode,
+                        @Cached TruffleString.CodePointAtIndexNode codePointAtIndexNode,
+                        @Cached PythonObjectFactory factory,
+                        @Cached PRaiseNode.Lazy raiseNode) {
+            int[] cps = codePoints(tstr, MAX_ISOFORMAT_TIME_LENGTH, codePointLengthNode, codePointAtIndexNode);
+            if (cps == null || cps.length < 2) {
+                throw raiseNode.get(inliningTarget).raise(ValueError, ErrorMessages.INVALID_ISOFORMAT_STRING, tstr);
+            }
+            int len = cps.length;
+            int tzPos = indexOf(cps, '-') + 1;
+            if (tzPos == 0) {
+                tzPos = indexOf(cps, '+') + 1;
+            }
+            int[] timeComps = new int[4];
+            if (!parseHhMmSsFf(cps, 0, tzPos > 0 ? tzPos - 1 : len, timeComps)) {
+                throw raiseNode.get(inliningTarget).raise(ValueError, ErrorMessages.INVALID_ISOFORMAT_STRING, tstr);
+            }
+            Object offset = PNone.NONE;
+            if (tzPos > 0) {
+                int tzLen = len - tzPos;
+                int[] tzComps = new int[4];
+                if ((tzLen != 5 && tzLen != 8 && tzLen != 15) || !parseHhMmSsFf(cps, tzPos, len, tzComps)) {
+                    throw raiseNode.get(inliningTarget).raise(ValueError, ErrorMessages.INVALID_ISOFORMAT_STRING, tstr);
+                }
+                long us = ((tzComps[0] * 60L + tzComps[1]) * 60L + tzComps[2]) * US_PER_SECOND + tzComps[3];
+                offset = cps[tzPos - 1] == '-' ? -us : us;
+            }
+            return factory.createList(new Object[]{timeComps[0], timeComps[1], timeComps[2], timeComps[3], offset});
+        }
+
+        private static int indexOf(int[] cps, int c) {
+            for (int i = 0; i < cps.length; i++) {
+                if (cps[i] == c) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        @Override
+        protected ArgumentClinicProvider getArgumentClinic() {
+            return DatetimeAccelModuleBuiltinsClinicProviders.ParseIsoformatTimeNodeClinicProviderGen.INSTANCE;
+        }
+    }
+
+    @Builtin(name = "format_date", minNumOfPositionalArgs = 3, parameterNames = {"year", "month", "day"})
+    @ArgumentClinic(name = "year", conversion = ClinicConversion.Int)
+    @ArgumentClinic(name = "month", conversion = ClinicConversion.Int)
+    @ArgumentClinic(name = "day", conversion = ClinicConversion.Int)
+    @GenerateNodeFactory
+    abstract static class FormatDateNode extends PythonTernaryClinicBuiltinNode {
+
+        @Specialization
+        static TruffleString format(int year, int month, int day,
+                        @Cached TruffleString.FromByteArrayNode fromByteArrayNode,
+                        @Cached TruffleString.SwitchEncodingNode switchEncodingNode) {
+            byte[] buf = new byte[36];
+            int pos = putPadded(buf, 0, year, 4);
+            buf[pos++] = '-';
+            pos = putPadded(buf, pos, month, 2);
+            buf[pos++] = '-';
+            pos = putPadded(buf, pos, day, 2);
+            return asciiToString(buf, pos, fromByteArrayNode, switchEncodingNode);
+        }
+
+        @Override
+        protected ArgumentClinicProvider getArgumentClinic() {
+            return DatetimeAccelModuleBuiltinsClinicProviders.FormatDateNodeClinicProviderGen.INSTANCE;
+        }
+    }
+
+    @Builtin(name = "format_time", minNumOfPositionalArgs = 4, parameterNames = {"hh", "mm", "ss", "us", "timespec"})
+    @ArgumentClinic(name = "hh", conversion = ClinicConversion.Int)
+    @ArgumentClinic(name = "mm", conversion = ClinicConversion.Int)
+    @ArgumentClinic(name = "ss", conversion = ClinicConversion.Int)
+    @ArgumentClinic(name = "us", conversion = ClinicConversion.Int)
+    @GenerateNodeFactory
+    abstract static class FormatTimeNode extends PythonClinicBuiltinNode {
+
+        private static final int HOURS = 1;
+        private static final int MINUTES = 2;
+        private static final int SECONDS = 3;
+        private static final int MILLISECONDS = 4;
+        private static final int MICROSECONDS = 5;
+
+        @Specialization
+        static TruffleString format(int hh, int mm, int ss, int us, Object timespecObj,
+                        @Bind("this") Node inliningTarget,
+                        @Cached CastToTruffleStringNode castToStringNode,
+                        @Cached TruffleString.EqualNode equalNode,
+                        @Cached TruffleString.FromByteArrayNode fromByteArrayNode,
+                        @Cached TruffleString.SwitchEncodingNode switchEncodingNode,
+                        @Cached PRaiseNode.Lazy raiseNode) {
+            TruffleString timespec;
+            if (timespecObj == PNone.NO_VALUE) {
+                timespec = T_AUTO;
+            } else {
+                try {
+                    timespec = castToStringNode.execute(inliningTarget, timespecObj);
+                } catch (CannotCastException e) {
+                    // like the lookup of the format in the pure Python version
+                    throw raiseNode.get(inliningTarget).raise(ValueError, ErrorMessages.UNKNOWN_TIMESPEC_VALUE);
+                }
+            }
+            int spec;
+            if (equalNode.execute(timespec, T_AUTO, TS_ENCODING)) {
+                spec = us != 0 ? MICROSECONDS : SECONDS;
+            } else if (equalNode.execute(timespec, T_HOURS, TS_ENCODING)) {
+                spec = HOURS;
+            } else if (equalNode.execute(timespec, T_MINUTES, TS_ENCODING)) {
+                spec = MINUTES;
+            } else if (equalNode.execute(timespec, T_SECONDS, TS_ENCODING)) {
+                spec = SECONDS;
+            } else if (equalNode.execute(timespec, T_MILLISECONDS, TS_ENCODING)) {
+                spec = MILLISECONDS;
+            } else if (equalNode.execute(timespec, T_MICROSECONDS, TS_ENCODING)) {
+                spec = MICROSECONDS;
+            } else {
+                throw raiseNode.get(inliningTarget).raise(ValueError, ErrorMessages.UNKNOWN_TIMESPEC_VALUE);
+            }
+            byte[] buf = new byte[64];
+            int pos = putPadded(buf, 0, hh, 2);
+            if (spec >= MINUTES) {
+                buf[pos++] = ':';
+                pos = putPadded(buf, pos, mm, 2);
+            }
+            if (spec >= SECONDS) {
+                buf[pos++] = ':';
+                pos = putPadded(buf, pos, ss, 2);
+            }
+            if (spec == MILLISECONDS) {
+                buf[pos++] = '.';
+                pos = putPadded(buf, pos, Math.floorDiv(us, 1000), 3);
+            } else if (spec == MICROSECONDS) {
+                buf[pos++] = '.';
+                pos = putPadded(buf, pos, us, 6);
+            }
+            return asciiToString(buf, pos, fromByteArrayNode, switchEncodingNode);
+        }
+
+        @Override
+        protected ArgumentClinicProvider getArgumentClinic() {
+            return DatetimeAccelModuleBuiltinsClinicProviders.FormatTimeNodeClinicProviderGen.INSTANCE;
+        }
+    }
+}
@@ -0,0 +1,754 @@
+/*
+ * Copyright (c) 2024, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.modules;
+
+import static com.oracle.graal.python.builtins.modules.DatetimeAccelModuleBuiltins.asciiToString;
+import static com.oracle.graal.python.nodes.BuiltinNames.J__DECIMAL_ACCEL;
+import static com.oracle.graal.python.nodes.StringLiterals.T_ZERO;
+import static com.oracle.graal.python.util.PythonUtils.TS_ENCODING;
+import static com.oracle.graal.python.util.PythonUtils.tsArray;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.List;
+
+import com.oracle.graal.python.builtins.Builtin;
+import com.oracle.graal.python.builtins.CoreFunctions;
+import com.oracle.graal.python.builtins.PythonBuiltins;
+import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
+import com.oracle.graal.python.nodes.function.PythonBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonUnaryBuiltinNode;
+import com.oracle.graal.python.runtime.object.PythonObjectFactory;
+import com.oracle.graal.python.util.PythonUtils;
+import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.dsl.Bind;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.Fallback;
+import com.oracle.truffle.api.dsl.GenerateCached;
+import com.oracle.truffle.api.dsl.GenerateInline;
+import com.oracle.truffle.api.dsl.GenerateNodeFactory;
+import com.oracle.truffle.api.dsl.NodeFactory;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.nodes.Node;
+import com.oracle.truffle.api.strings.TruffleString;
+
+/**
+ * Arithmetic helpers for the pure-Python {@code _pydecimal} module, which {@code decimal} falls
+ * back to because there is no {@code _decimal}. The {@code Decimal} and {@code Context} classes,
+ * and with them special values, signals and traps, stay in Python; the functions here work on the
+ * {@code (sign, coefficient, exponent)} triples of finite decimals and compute the same results as
+ * {@code _pydecimal} with {@code long} arithmetic when the coefficients fit and with
+ * {@link BigDecimal} otherwise. They return {@code None} whenever the result would need any
+ * condition other than {@code Inexact} and {@code Rounded} to be signalled (overflow, subnormal
+ * results, clamping), so that the Python code computes it and raises the signals.
+ */
+@CoreFunctions(defineModule = J__DECIMAL_ACCEL)
+public final class DecimalAccelModuleBuiltins extends PythonBuiltins {
+
+    /* indices into ROUNDING_NAMES */
+    static final int ROUND_DOWN = 0;
+    static final int ROUND_HALF_UP = 1;
+    static final int ROUND_HALF_EVEN = 2;
+    static final int ROUND_CEILING = 3;
+    static final int ROUND_FLOOR = 4;
+    static final int ROUND_UP = 5;
+    static final int ROUND_HALF_DOWN = 6;
+    static final int ROUND_05UP = 7;
+
+    @CompilationFinal(dimensions = 1) private static final TruffleString[] ROUNDING_NAMES = tsArray("ROUND_DOWN", "ROUND_HALF_UP", "ROUND_HALF_EVEN", "ROUND_CEILING", "ROUND_FLOOR", "ROUND_UP",
+                    "ROUND_HALF_DOWN", "ROUND_05UP");
+    /* ROUND_05UP is done by rounding down and then fixing up the last digit */
+    @CompilationFinal(dimensions = 1) private static final RoundingMode[] ROUNDING_MODES = {RoundingMode.DOWN, RoundingMode.HALF_UP, RoundingMode.HALF_EVEN, RoundingMode.CEILING,
+                    RoundingMode.FLOOR, RoundingMode.UP, RoundingMode.HALF_DOWN, RoundingMode.DOWN};
+
+    /* coefficients with at most this many digits always fit into a long */
+    private static final int MAX_LONG_DIGITS = 18;
+    /*
+     * operands of an addition whose exponents are further apart are left to _pydecimal, which
+     * shortens the smaller one instead of aligning them exactly
+     */
+    private static final long MAX_ADD_SHIFT = 1000;
+
+    @CompilationFinal(dimensions = 1) private static final long[] POW10 = {1L, 10L, 100L, 1000L, 10000L, 100000L, 1000000L, 10000000L, 100000000L, 1000000000L, 10000000000L, 100000000000L,
+                    1000000000000L, 10000000000000L, 100000000000000L, 1000000000000000L, 10000000000000000L, 100000000000000000L, 1000000000000000000L};
+
+    @Override
+    protected List<? extends NodeFactory<? extends PythonBuiltinBaseNode>> getNodeFactories() {
+        return DecimalAccelModuleBuiltinsFactory.getFactories();
+    }
+
+    /**
+     * A finite decimal {@code (-1)**sign * coeff * 10**exp} together with the {@code Inexact} and
+     * {@code Rounded} conditions raised while computing it. The coefficient is in {@code bigCoeff}
+     * if it does not fit into {@code coeff}.
+     */
+    static final class Result {
+        final int sign;
+        final long coeff;
+        final BigInteger bigCoeff;
+        final long exp;
+        final boolean inexact;
+        final boolean rounded;
+
+        Result(int sign, long coeff, BigInteger bigCoeff, long exp, boolean inexact, boolean rounded) {
+            this.sign = sign;
+            this.coeff = coeff;
+            this.bigCoeff = bigCoeff;
+            this.exp = exp;
+            this.inexact = inexact;
+            this.rounded = rounded;
+        }
+    }
+
+    /** Number of decimal digits of a positive {@code long}. */
+    static int digitCount(long value) {
+        assert value > 0;
+        int n = 1;
+        while (n < POW10.length && value >= POW10[n]) {
+            n++;
+        }
+        return n;
+    }
+
+    /**
+     * Decides whether a value whose dropped digits are nonzero is rounded away from zero.
+     * {@code lastDigit} is the last kept digit and {@code half} is the comparison of the dropped
+     * digits with one half of the last kept place.
+     */
+    static boolean roundsAway(int rounding, int sign, long lastDigit, int half) {
+        switch (rounding) {
+            case ROUND_HALF_UP:
+                return half >= 0;
+            case ROUND_HALF_DOWN:
+                return half > 0;
+            case ROUND_HALF_EVEN:
+                return half > 0 || half == 0 && (lastDigit & 1) != 0;
+            case ROUND_CEILING:
+                return sign == 0;
+            case ROUND_FLOOR:
+                return sign != 0;
+            case ROUND_UP:
+                return true;
+            case ROUND_05UP:
+                return lastDigit == 0 || lastDigit == 5;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * The zero result of adding two nonzero values that cancel out, or {@code null} if
+     * {@code Decimal._fix} would clamp its exponent.
+     */
+    static Result zeroSum(int sign, long exp, long emax, long etiny, long etop, boolean clamp) {
+        if (exp < etiny || exp > (clamp ? etop : emax)) {
+            return null;
+        }
+        return new Result(sign, 0, null, exp, false, false);
+    }
+
+    /**
+     * Equivalent of {@code Decimal._fix} for a nonzero value with a {@code long} coefficient.
+     * Returns {@code null} if the result overflows, is subnormal or needs to be clamped.
+     */
+    static Result fixLong(int sign, long coeff, long exp, long prec, int rounding, long etiny, long etop, boolean clamp) {
+        int digits = digitCount(coeff);
+        long expMin = digits + exp - prec;
+        if (expMin > etop || expMin < etiny) {
+            return null;
+        }
+        if (exp >= expMin) {
+            if (clamp && exp > etop) {
+                return null;
+            }
+            return new Result(sign, coeff, null, exp, false, false);
+        }
+        // prec < digits, so both the number of dropped digits and prec are at most 18
+        long divisor = POW10[(int) (expMin - exp)];
+        long q = coeff / divisor;
+        long r = coeff % divisor;
+        if (r != 0 && roundsAway(rounding, sign, q % 10, Long.compare(r, divisor / 2))) {
+            q++;
+            if (q == POW10[(int) prec]) {
+                q /= 10;
+                expMin++;
+                if (expMin > etop) {
+                    return null;
+                }
+            }
+        }
+        return new Result(sign, q, null, expMin, r != 0, true);
+    }
+
+    /**
+     * Equivalent of {@code Decimal._fix} for a nonzero value, rounding with
+     * {@link BigDecimal#round} if the coefficient does not fit into a {@code long}.
+     */
+    @TruffleBoundary
+    static Result fixBig(int sign, BigInteger coeff, long exp, long prec, int rounding, long etiny, long etop, boolean clamp) {
+        if (coeff.bitLength() < Long.SIZE) {
+            return fixLong(sign, coeff.longValue(), exp, prec, rounding, etiny, etop, clamp);
+        }
+        BigDecimal exact = new BigDecimal(sign == 0 ? coeff : coeff.negate());
+        long expMin = exact.precision() + exp - prec;
+        if (expMin > etop || expMin < etiny) {
+            return null;
+        }
+        if (exp >= expMin) {
+            if (clamp && exp > etop) {
+                return null;
+            }
+            return new Result(sign, 0, coeff, exp, false, false);
+        }
+        // prec is less than the number of digits here, so it fits into an int
+        BigDecimal rounded = exact.round(new MathContext((int) prec, ROUNDING_MODES[rounding]));
+        boolean inexact = rounded.compareTo(exact) != 0;
+        if (rounding == ROUND_05UP && inexact) {
+            rounded = roundUp05(rounded);
+        }
+        long newExp = exp - rounded.scale();
+        if (newExp > etop) {
+            return null;
+        }
+        return new Result(sign, 0, rounded.unscaledValue().abs(), newExp, inexact, true);
+    }
+
+    /**
+     * Turns an inexact value that was rounded towards zero into the {@code ROUND_05UP} result by
+     * moving it away from zero if its last digit is 0 or 5.
+     */
+    private static BigDecimal roundUp05(BigDecimal roundedDown) {
+        int lastDigit = roundedDown.unscaledValue().abs().mod(BigInteger.TEN).intValue();
+        if (lastDigit == 0 || lastDigit == 5) {
+            BigDecimal ulp = roundedDown.ulp();
+            return roundedDown.signum() < 0 ? roundedDown.subtract(ulp) : roundedDown.add(ulp);
+        }
+        return roundedDown;
+    }
+
+    /**
+     * Adds two nonzero values with {@code long} coefficients. Throws {@link ArithmeticException}
+     * if the aligned coefficients or their sum do not fit into a {@code long}.
+     */
+    static Result addLong(int s1, long c1, long e1, int s2, long c2, long e2, long prec, int rounding, long emax, long etiny, long etop, boolean clamp) {
+        long exp = Math.min(e1, e2);
+        long shift1 = Math.subtractExact(e1, exp);
+        long shift2 = Math.subtractExact(e2, exp);
+        if (shift1 > MAX_LONG_DIGITS || shift2 > MAX_LONG_DIGITS) {
+            throw new ArithmeticException();
+        }
+        long a = Math.multiplyExact(c1, POW10[(int) shift1]);
+        long b = Math.multiplyExact(c2, POW10[(int) shift2]);
+        int sign;
+        long coeff;
+        if (s1 == s2) {
+            sign = s1;
+            coeff = Math.addExact(a, b);
+        } else if (a >= b) {
+            sign = s1;
+            coeff = a - b;
+        } else {
+            sign = s2;
+            coeff = b - a;
+        }
+        if (coeff == 0) {
+            return zeroSum(rounding == ROUND_FLOOR ? 1 : 0, exp, emax, etiny, etop, clamp);
+        }
+        return fixLong(sign, coeff, exp, prec, rounding, etiny, etop, clamp);
+    }
+
+    @TruffleBoundary
+    static Result addBig(int s1, BigInteger c1, long e1, int s2, BigInteger c2, long e2, long prec, int rounding, long emax, long etiny, long etop, boolean clamp) {
+        long exp = Math.min(e1, e2);
+        long shift1 = e1 - exp;
+        long shift2 = e2 - exp;
+        if (shift1 < 0 || shift1 > MAX_ADD_SHIFT || shift2 < 0 || shift2 > MAX_ADD_SHIFT) {
+            return null;
+        }
+        BigDecimal a = new BigDecimal(s1 == 0 ? c1 : c1.negate(), (int) -shift1);
+        BigDecimal b = new BigDecimal(s2 == 0 ? c2 : c2.negate(), (int) -shift2);
+        // one of the scales is 0, so the sum is the integer coefficient for exponent exp
+        BigDecimal sum = a.add(b);
+        assert sum.scale() == 0;
+        if (sum.signum() == 0) {
+            return zeroSum(rounding == ROUND_FLOOR ? 1 : 0, exp, emax, etiny, etop, clamp);
+        }
+        return fixBig(sum.signum() < 0 ? 1 : 0, sum.unscaledValue().abs(), exp, prec, rounding, etiny, etop, clamp);
+    }
+
+    /**
+     * Rounds the coefficient of a nonzero value with exponent {@code exp} to the larger exponent
+     * {@code newExp} like the rounding branch of {@code Decimal._rescale}. {@code len} is the
+     * number of digits of {@code coeff}, which must be at most 18.
+     */
+    static long rescaleLong(int sign, long coeff, int len, long exp, long newExp, int rounding) {
+        assert len <= MAX_LONG_DIGITS && newExp > exp;
+        long dropped = newExp - exp;
+        long c = coeff;
+        if (dropped > len) {
+            // all digits are dropped and they are less than half of the last place
+            c = 1;
+            dropped = 1;
+        }
+        long divisor = POW10[(int) dropped];
+        long q = c / divisor;
+        long r = c % divisor;
+        if (r != 0 && roundsAway(rounding, sign, q % 10, Long.compare(r, divisor / 2))) {
+            q++;
+        }
+        return q;
+    }
+
+    @TruffleBoundary
+    static TruffleString rescaleBig(int sign, TruffleString coeff, int len, long exp, long newExp, int rounding) {
+        long dropped = newExp - exp;
+        BigInteger c;
+        if (dropped > len) {
+            c = BigInteger.ONE;
+            dropped = 1;
+        } else {
+            c = new BigInteger(coeff.toJavaStringUncached());
+        }
+        BigDecimal exact = new BigDecimal(sign == 0 ? c : c.negate());
+        BigDecimal rounded = exact.setScale((int) -dropped, ROUNDING_MODES[rounding]);
+        if (rounding == ROUND_05UP && rounded.compareTo(exact) != 0) {
+            rounded = roundUp05(rounded);
+        }
+        return PythonUtils.toTruffleStringUncached(rounded.unscaledValue().abs().toString());
+    }
+
+    /**
+     * Compares the coefficients of two values with the same adjusted exponent, so that they differ
+     * in length by {@code e2 - e1} digits.
+     */
+    @TruffleBoundary
+    static int compareBig(TruffleString c1, long e1, TruffleString c2, long e2) {
+        BigDecimal a = new BigDecimal(new BigInteger(c1.toJavaStringUncached()));
+        BigDecimal b = new BigDecimal(new BigInteger(c2.toJavaStringUncached()), (int) (e1 - e2));
+        return a.compareTo(b);
+    }
+
+    @TruffleBoundary
+    static BigInteger toBigInteger(TruffleString coeff) {
+        return new BigInteger(coeff.toJavaStringUncached());
+    }
+
+    @TruffleBoundary
+    static TruffleString bigToString(BigInteger value) {
+        return PythonUtils.toTruffleStringUncached(value.toString());
+    }
+
+    /**
+     * Reads a coefficient of at most 18 digits, or returns -1 if it contains anything else than
+     * ASCII digits.
+     */
+    static long coefficientToLong(TruffleString coeff, int len, TruffleString.CodePointAtIndexNode codePointAtIndexNode) {
+        assert len <= MAX_LONG_DIGITS;
+        long value = 0;
+        for (int i = 0; i < len; i++) {
+            int c = codePointAtIndexNode.execute(coeff, i, TS_ENCODING);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    static boolean isSign(long sign) {
+        return sign == 0 || sign == 1;
+    }
+
+    /**
+     * Maps the name of a rounding mode to one of the {@code ROUND_*} constants, or to -1 for an
+     * unknown name. Contexts hold the interned names from the {@code decimal} module, so they are
+     * cached by identity.
+     */
+    @GenerateInline
+    @GenerateCached(false)
+    abstract static class RoundingModeNode extends Node {
+
+        abstract int execute(Node inliningTarget, TruffleString rounding);
+
+        @Specialization(guards = "rounding == cachedRounding", limit = "3")
+        @SuppressWarnings("unused")
+        static int doCached(TruffleString rounding,
+                        @Cached("rounding") TruffleString cachedRounding,
+                        @Cached("lookup(rounding)") int mode) {
+            return mode;
+        }
+
+        @Specialization(replaces = "doCached")
+        static int doGeneric(TruffleString rounding) {
+            return lookup(rounding);
+        }
+
+        @TruffleBoundary
+        static int lookup(TruffleString rounding) {
+            for (int i = 0; i < ROUNDING_NAMES.length; i++) {
+                if (ROUNDING_NAMES[i].equalsUncached(rounding, TS_ENCODING)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+    }
+
+    /**
+     * Converts a {@link Result} to the {@code (sign, coefficient, exponent, inexact, rounded)}
+     * tuple returned to Python.
+     */
+    static Object toTuple(Result result, TruffleString.FromLongNode fromLongNode, PythonObjectFactory factory) {
+        if (result == null) {
+            return PNone.NONE;
+        }
+        TruffleString coeff = result.bigCoeff != null ? bigToString(result.bigCoeff) : fromLongNode.execute(result.coeff, TS_ENCODING, false);
+        return factory.createTuple(new Object[]{result.sign, coeff, result.exp, result.inexact, result.rounded});
+    }
+
+    /**
+     * Parses a string that is a plain finite decimal literal, i.e., an optional sign, ASCII
+     * digits with an optional decimal point and an optional exponent of up to 18 digits, into the
+     * {@code (sign, coefficient, exponent)} triple. Returns {@code None} for anything else, such
+     * as surrounding whitespace, underscores, infinities, NaNs or non-ASCII digits, which are left
+     * to the regular expression in {@code _pydecimal}.
+     */
+    @Builtin(name = "parse", minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class ParseNode extends PythonUnaryBuiltinNode {
+
+        @Specialization
+        static Object parse(TruffleString value,
+                        @Cached TruffleString.CodePointLengthNode codePointLengthNode,
+                        @Cached TruffleString.CodePointAtIndexNode codePointAtIndexNode,
+                        @Cached TruffleString.FromByteArrayNode fromByteArrayNode,
+                        @Cached TruffleString.SwitchEncodingNode switchEncodingNode,
+                        @Cached PythonObjectFactory factory) {
+            int len = codePointLengthNode.execute(value, TS_ENCODING);
+            int pos = 0;
+            int sign = 0;
+            if (len > 0) {
+                int c = codePointAtIndexNode.execute(value, 0, TS_ENCODING);
+                if (c == '-' || c == '+') {
+                    sign = c == '-' ? 1 : 0;
+                    pos++;
+                }
+            }
+            byte[] digits = new byte[len];
+            int ndigits = 0;
+            int fracDigits = 0;
+            boolean sawDigit = false;
+            boolean inFraction = false;
+            while (pos < len) {
+                int c = codePointAtIndexNode.execute(value, pos, TS_ENCODING);
+                if (c >= '0' && c <= '9') {
+                    sawDigit = true;
+                    if (ndigits > 0 || c != '0') {
+                        digits[ndigits++] = (byte) c;
+                    }
+                    if (inFraction) {
+                        fracDigits++;
+                    }
+                } else if (c == '.' && !inFraction) {
+                    inFraction = true;
+                } else {
+                    break;
+                }
+                pos++;
+            }
+            if (!sawDigit) {
+                return PNone.NONE;
+            }
+            long exp = 0;
+            if (pos < len) {
+                int c = codePointAtIndexNode.execute(value, pos++, TS_ENCODING);
+                if (c != 'e' && c != 'E') {
+                    return PNone.NONE;
+                }
+                boolean negative = false;
+                if (pos < len) {
+                    c = codePointAtIndexNode.execute(value, pos, TS_ENCODING);
+                    if (c == '-' || c == '+') {
+                        negative = c == '-';
+                        pos++;
+                    }
+                }
+                int start = pos;
+                while (pos < len) {
+                    c = codePointAtIndexNode.execute(value, pos, TS_ENCODING);
+                    if (c < '0' || c > '9' || pos - start == MAX_LONG_DIGITS) {
+                        return PNone.NONE;
+                    }
+                    exp = exp * 10 + (c - '0');
+                    pos++;
+                }
+                if (pos == start) {
+                    return PNone.NONE;
+                }
+                if (negative) {
+                    exp = -exp;
+                }
+            }
+            TruffleString coeff = ndigits == 0 ? T_ZERO : asciiToString(digits, ndigits, fromByteArrayNode, switchEncodingNode);
+            return factory.createTuple(new Object[]{sign, coeff, exp - fracDigits});
+        }
+
+        @Fallback
+        @SuppressWarnings("unused")
+        static PNone other(Object value) {
+            return PNone.NONE;
+        }
+    }
+
+    /**
+     * Adds two finite nonzero decimals and rounds the sum to the context given by {@code prec},
+     * {@code rounding}, {@code Emin}, {@code Emax} and {@code clamp}. Returns the
+     * {@code (sign, coefficient, exponent, inexact, rounded)} tuple or {@code None}.
+     */
+    @Builtin(name = "add", minNumOfPositionalArgs = 11)
+    @GenerateNodeFactory
+    abstract static class AddNode extends PythonBuiltinNode {
+
+        @Specialization(guards = {"isSign(s1)", "isSign(s2)", "prec > 0", "clamp == 0 || clamp == 1"})
+        static Object add(long s1, TruffleString c1, long e1, long s2, TruffleString c2, long e2, long prec, TruffleString rounding, long emin, long emax, long clamp,
+                        @Bind("this") Node inliningTarget,
+                        @Cached RoundingModeNode roundingModeNode,
+                        @Cached TruffleString.CodePointLengthNode codePointLengthNode,
+                        @Cached TruffleString.CodePointAtIndexNode codePointAtIndexNode,
+                        @Cached TruffleString.FromLongNode fromLongNode,
+                        @Cached PythonObjectFactory factory) {
+            int mode = roundingModeNode.execute(inliningTarget, rounding);
+            if (mode < 0) {
+                return PNone.NONE;
+            }
+            long etiny = emin - prec + 1;
+            long etop = emax - prec + 1;
+            int len1 = codePointLengthNode.execute(c1, TS_ENCODING);
+            int len2 = codePointLengthNode.execute(c2, TS_ENCODING);
+            if (len1 <= MAX_LONG_DIGITS && len2 <= MAX_LONG_DIGITS) {
+                long a = coefficientToLong(c1, len1, codePointAtIndexNode);
+                long b = coefficientToLong(c2, len2, codePointAtIndexNode);
+                if (a <= 0 || b <= 0) {
+                    return PNone.NONE;
+                }
+                try {
+                    return toTuple(addLong((int) s1, a, e1, (int) s2, b, e2, prec, mode, emax, etiny, etop, clamp != 0), fromLongNode, factory);
+                } catch (ArithmeticException e) {
+                    // fall through to the BigDecimal path
+                }
+            }
+            return toTuple(addBig((int) s1, toBigInteger(c1), e1, (int) s2, toBigInteger(c2), e2, prec, mode, emax, etiny, etop, clamp != 0), fromLongNode, factory);
+        }
+
+        @Fallback
+        @SuppressWarnings("unused")
+        static PNone other(Object s1, Object c1, Object e1, Object s2, Object c2, Object e2, Object prec, Object rounding, Object emin, Object emax, Object clamp) {
+            return PNone.NONE;
+        }
+    }
+
+    /**
+     * Multiplies two finite nonzero decimals and rounds the product to the context. Returns the
+     * {@code (sign, coefficient, exponent, inexact, rounded)} tuple or {@code None}.
+     */
+    @Builtin(name = "multiply", minNumOfPositionalArgs = 11)
+    @GenerateNodeFactory
+    abstract static class MultiplyNode extends PythonBuiltinNode {
+
+        @Specialization(guards = {"isSign(s1)", "isSign(s2)", "prec > 0", "clamp == 0 || clamp == 1"})
+        static Object multiply(long s1, TruffleString c1, long e1, long s2, TruffleString c2, long e2, long prec, TruffleString rounding, long emin, long emax, long clamp,
+                        @Bind("this") Node inliningTarget,
+                        @Cached RoundingModeNode roundingModeNode,
+                        @Cached TruffleString.CodePointLengthNode codePointLengthNode,
+                        @Cached TruffleString.CodePointAtIndexNode codePointAtIndexNode,
+                        @Cached TruffleString.FromLongNode fromLongNode,
+                        @Cached PythonObjectFactory factory) {
+            int mode = roundingModeNode.execute(inliningTarget, rounding);
+            if (mode < 0) {
+                return PNone.NONE;
+            }
+            int sign = (int) (s1 ^ s2);
+            long exp;
+            try {
+                exp = Math.addExact(e1, e2);
+            } catch (ArithmeticException e) {
+                return PNone.NONE;
+            }
+            long etiny = emin - prec + 1;
+            long etop = emax - prec + 1;
+            int len1 = codePointLengthNode.execute(c1, TS_ENCODING);
+            int len2 = codePointLengthNode.execute(c2, TS_ENCODING);
+            if (len1 <= MAX_LONG_DIGITS && len2 <= MAX_LONG_DIGITS) {
+                long a = coefficientToLong(c1, len1, codePointAtIndexNode);
+                long b = coefficientToLong(c2, len2, codePointAtIndexNode);
+                if (a <= 0 || b <= 0) {
+                    return PNone.NONE;
+                }
+                try {
+                    return toTuple(fixLong(sign, Math.multiplyExact(a, b), exp, prec, mode, etiny, etop, clamp != 0), fromLongNode, factory);
+                } catch (ArithmeticException e) {
+                    // fall through to the BigDecimal path
+                }
+            }
+            return toTuple(multiplyBig(sign, c1, c2, exp, prec, mode, etiny, etop, clamp != 0), fromLongNode, factory);
+        }
+
+        @TruffleBoundary
+        private static Result multiplyBig(int sign, TruffleString c1, TruffleString c2, long exp, long prec, int rounding, long etiny, long etop, boolean clamp) {
+            BigInteger product = toBigInteger(c1).multiply(toBigInteger(c2));
+            if (product.signum() == 0) {
+                return null;
+            }
+            return fixBig(sign, product, exp, prec, rounding, etiny, etop, clamp);
+        }
+
+        @Fallback
+        @SuppressWarnings("unused")
+        static PNone other(Object s1, Object c1, Object e1, Object s2, Object c2, Object e2, Object prec, Object rounding, Object emin, Object emax, Object clamp) {
+            return PNone.NONE;
+        }
+    }
+
+    /**
+     * Returns the coefficient of a finite nonzero decimal rounded from exponent {@code exp} to the
+     * larger exponent {@code new_exp}, as computed by the rounding branch of
+     * {@code Decimal._rescale}, or {@code None}.
+     */
+    @Builtin(name = "rescale", minNumOfPositionalArgs = 5)
+    @GenerateNodeFactory
+    abstract static class RescaleNode extends PythonBuiltinNode {
+
+        @Specialization(guards = {"isSign(sign)", "newExp > exp"})
+        static Object rescale(long sign, TruffleString coeff, long exp, long newExp, TruffleString rounding,
+                        @Bind("this") Node inliningTarget,
+                        @Cached RoundingModeNode roundingModeNode,
+                        @Cached TruffleString.CodePointLengthNode codePointLengthNode,
+                        @Cached TruffleString.CodePointAtIndexNode codePointAtIndexNode,
+                        @Cached TruffleString.FromLongNode fromLongNode) {
+            int mode = roundingModeNode.execute(inliningTarget, rounding);
+            if (mode < 0 || newExp - exp <= 0) {
+                // unknown rounding mode or the difference of the exponents overflows
+                return PNone.NONE;
+            }
+            int len = codePointLengthNode.execute(coeff, TS_ENCODING);
+            if (len <= MAX_LONG_DIGITS) {
+                long c = coefficientToLong(coeff, len, codePointAtIndexNode);
+                if (c <= 0) {
+                    return PNone.NONE;
+                }
+                return fromLongNode.execute(rescaleLong((int) sign, c, len, exp, newExp, mode), TS_ENCODING, false);
+            }
+            return rescaleBig((int) sign, coeff, len, exp, newExp, mode);
+        }
+
+        @Fallback
+        @SuppressWarnings("unused")
+        static PNone other(Object sign, Object coeff, Object exp, Object newExp, Object rounding) {
+            return PNone.NONE;
+        }
+    }
+
+    /**
+     * Compares two finite decimals like {@code Decimal._cmp} and returns -1, 0 or 1, or
+     * {@code None}.
+     */
+    @Builtin(name = "compare", minNumOfPositionalArgs = 6)
+    @GenerateNodeFactory
+    abstract static class CompareNode extends PythonBuiltinNode {
+
+        @Specialization(guards = {"isSign(s1)", "isSign(s2)"})
+        static Object compare(long s1, TruffleString c1, long e1, long s2, TruffleString c2, long e2,
+                        @Cached TruffleString.CodePointLengthNode codePointLengthNode,
+                        @Cached TruffleString.CodePointAtIndexNode codePointAtIndexNode) {
+            int len1 = codePointLengthNode.execute(c1, TS_ENCODING);
+            int len2 = codePointLengthNode.execute(c2, TS_ENCODING);
+            if (len1 == 0 || len2 == 0) {
+                return PNone.NONE;
+            }
+            boolean zero1 = len1 == 1 && codePointAtIndexNode.execute(c1, 0, TS_ENCODING) == '0';
+            boolean zero2 = len2 == 1 && codePointAtIndexNode.execute(c2, 0, TS_ENCODING) == '0';
+            int signum1 = zero1 ? 0 : s1 == 0 ? 1 : -1;
+            int signum2 = zero2 ? 0 : s2 == 0 ? 1 : -1;
+            if (signum1 != signum2 || signum1 == 0) {
+                return Integer.compare(signum1, signum2);
+            }
+            long adjusted1;
+            long adjusted2;
+            try {
+                adjusted1 = Math.addExact(e1, len1);
+                adjusted2 = Math.addExact(e2, len2);
+            } catch (ArithmeticException e) {
+                return PNone.NONE;
+            }
+            if (adjusted1 != adjusted2) {
+                return adjusted1 > adjusted2 ? signum1 : -signum1;
+            }
+            int cmp;
+            if (len1 <= MAX_LONG_DIGITS && len2 <= MAX_LONG_DIGITS) {
+                long a = coefficientToLong(c1, len1, codePointAtIndexNode);
+                long b = coefficientToLong(c2, len2, codePointAtIndexNode);
+                if (a < 0 || b < 0) {
+                    return PNone.NONE;
+                }
+                // the lengths differ by e2 - e1, so the shorter coefficient can be scaled up
+                if (e1 > e2) {
+                    a *= POW10[(int) (e1 - e2)];
+                } else {
+                    b *= POW10[(int) (e2 - e1)];
+                }
+                cmp = Long.compare(a, b);
+            } else {
+                cmp = compareBig(c1, e1, c2, e2);
+            }
+            return signum1 * cmp;
+        }
+
+        @Fallback
+        @SuppressWarnings("unused")
+        static PNone other(Object s1, Object c1, Object e1, Object s2, Object c2, Object e2) {
+            return PNone.NONE;
+        }
+    }
+}
@@ -25,10 +25,18 @@
  */
 package com.oracle.graal.python.builtins.modules;
 
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.ValueError;
+import static com.oracle.graal.python.util.PythonUtils.tsLiteral;
+
 import java.lang.management.GarbageCollectorMXBean;
 import java.lang.management.ManagementFactory;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
 import java.util.List;
 
+import com.oracle.graal.python.annotations.ArgumentClinic;
+import com.oracle.graal.python.annotations.ArgumentClinic.ClinicConversion;
 import com.oracle.graal.python.builtins.Builtin;
 import com.oracle.graal.python.builtins.CoreFunctions;
 import com.oracle.graal.python.builtins.Python3Core;
@@ -36,9 +44,15 @@ import com.oracle.graal.python.builtins.PythonBuiltins;
 import com.oracle.graal.python.builtins.objects.PNone;
 import com.oracle.graal.python.builtins.objects.cext.PythonNativeObject;
 import com.oracle.graal.python.builtins.objects.cext.capi.transitions.CApiTransitions;
+import com.oracle.graal.python.builtins.objects.function.PKeyword;
 import com.oracle.graal.python.builtins.objects.list.PList;
 import com.oracle.graal.python.builtins.objects.tuple.PTuple;
+import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.nodes.PRaiseNode;
 import com.oracle.graal.python.nodes.function.PythonBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonUnaryClinicBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.clinic.ArgumentClinicProvider;
+import com.oracle.graal.python.runtime.GcStatistics;
 import com.oracle.graal.python.runtime.GilNode;
 import com.oracle.graal.python.runtime.PythonContext;
 import com.oracle.graal.python.runtime.object.PythonObjectFactory;
@@ -64,28 +78,84 @@ public final class GcModuleBuiltins extends PythonBuiltins {
         super.initialize(core);
     }
 
-    @Builtin(name = "collect", minNumOfPositionalArgs = 0, maxNumOfPositionalArgs = 1)
+    @Builtin(name = "collect", minNumOfPositionalArgs = 0, parameterNames = {"generation"})
+    @ArgumentClinic(name = "generation", conversion = ClinicConversion.Int, defaultValue = "2")
     @GenerateNodeFactory
-    abstract static class GcCollectNode extends PythonBuiltinNode {
+    abstract static class GcCollectNode extends PythonUnaryClinicBuiltinNode {
+        /**
+         * Upper bound for waiting until the references cleared by a full GC are enqueued.
+         */
+        private static final long MAX_ENQUEUE_WAIT_MILLIS = 15;
+
+        @Override
+        protected ArgumentClinicProvider getArgumentClinic() {
+            return GcModuleBuiltinsClinicProviders.GcCollectNodeClinicProviderGen.INSTANCE;
+        }
+
         @Specialization
         @TruffleBoundary
-        int collect(@SuppressWarnings("unused") Object level,
+        int collect(int generation,
                         @Cached GilNode gil) {
-            gil.release(true);
-            try {
-                PythonUtils.forceFullGC();
+            if (generation < 0 || generation >= GcStatistics.NUM_GENERATIONS) {
+                throw PRaiseNode.raiseUncached(this, ValueError, ErrorMessages.INVALID_GENERATION);
+            }
+            PythonContext context = getContext();
+            /*
+             * The younger generations only release what the JVM has already collected. A full GC
+             * stops the whole JVM, so it is only forced for the oldest generation or when native
+             * memory gets scarce.
+             */
+            boolean fullGC = generation == GcStatistics.NUM_GENERATIONS - 1 || (context.hasCApiContext() && context.getCApiContext().isUnderMemoryPressure());
+            if (fullGC) {
+                gil.release(true);
                 try {
-                    Thread.sleep(15);
-                } catch (InterruptedException e) {
-                    // doesn't matter, just trying to give the GC more time
+                    forceFullGC();
+                } finally {
+                    gil.acquire();
                 }
-            } finally {
-                gil.acquire();
             }
-            // collect some weak references now
+            // run weakref callbacks and finalizers and release native references
             PythonContext.triggerAsyncActions(this);
-            CApiTransitions.pollReferenceQueue();
-            return 0;
+            int released = CApiTransitions.drainReferenceQueue();
+            context.getGcStatistics().recordCollection(generation, released, fullGC);
+            return released;
+        }
+
+        /**
+         * Forces a full GC and waits until the reference handler has enqueued the references it
+         * cleared, instead of sleeping for a fixed time.
+         */
+        private static void forceFullGC() {
+            ReferenceQueue<Object> queue = new ReferenceQueue<>();
+            WeakReference<Object> sentinel = new WeakReference<>(new Object(), queue);
+            PythonUtils.forceFullGC();
+            try {
+                queue.remove(MAX_ENQUEUE_WAIT_MILLIS);
+            } catch (InterruptedException e) {
+                // Restore interrupt status
+                Thread.currentThread().interrupt();
+            }
+            Reference.reachabilityFence(sentinel);
+        }
+    }
+
+    @Builtin(name = "get_stats", minNumOfPositionalArgs = 0)
+    @GenerateNodeFactory
+    abstract static class GcGetStatsNode extends PythonBuiltinNode {
+        @Specialization
+        @TruffleBoundary
+        PList getStats() {
+            GcStatistics stats = getContext().getGcStatistics();
+            PythonObjectFactory factory = PythonObjectFactory.getUncached();
+            Object[] result = new Object[GcStatistics.NUM_GENERATIONS];
+            for (int i = 0; i < result.length; i++) {
+                result[i] = factory.createDict(new PKeyword[]{
+                                new PKeyword(tsLiteral("collections"), stats.getCollections(i)),
+                                new PKeyword(tsLiteral("collected"), stats.getCollected(i)),
+                                new PKeyword(tsLiteral("uncollectable"), 0),
+                                new PKeyword(tsLiteral("full_collections"), stats.getFullCollections(i))});
+            }
+            return factory.createList(result);
         }
     }
 
@@ -74,6 +74,7 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.logging.Level;
@@ -96,6 +97,8 @@ import com.oracle.graal.python.builtins.objects.bytes.PBytesLike;
 import com.oracle.graal.python.builtins.objects.cext.PythonAbstractNativeObject;
 import com.oracle.graal.python.builtins.objects.cext.capi.CApiContext;
 import com.oracle.graal.python.builtins.objects.cext.capi.PySequenceArrayWrapper.ToNativeStorageNode;
+import com.oracle.graal.python.builtins.objects.cext.capi.transitions.CApiTiming;
+import com.oracle.graal.python.builtins.objects.cext.capi.transitions.CApiTiming.CallStatistics;
 import com.oracle.graal.python.builtins.objects.code.CodeNodes;
 import com.oracle.graal.python.builtins.objects.code.PCode;
 import com.oracle.graal.python.builtins.objects.common.DynamicObjectStorage;
@@ -141,9 +144,12 @@ import com.oracle.graal.python.nodes.object.GetClassNode;
 import com.oracle.graal.python.nodes.statement.AbstractImportNode;
 import com.oracle.graal.python.nodes.truffle.PythonArithmeticTypes;
 import com.oracle.graal.python.nodes.util.CastToTruffleStringNode;
+import com.oracle.graal.python.runtime.BytecodeCache;
+import com.oracle.graal.python.runtime.GilStatistics;
 import com.oracle.graal.python.runtime.PosixSupportLibrary;
 import com.oracle.graal.python.runtime.PythonContext;
 import com.oracle.graal.python.runtime.PythonOptions;
+import com.oracle.graal.python.runtime.SharedCodeCache;
 import com.oracle.graal.python.runtime.exception.PException;
 import com.oracle.graal.python.runtime.exception.PythonExitException;
 import com.oracle.graal.python.runtime.object.PythonObjectFactory;
@@ -780,6 +786,95 @@ public final class GraalPythonModuleBuiltins extends PythonBuiltins {
         }
     }
 
+    @Builtin(name = "code_cache_stats", minNumOfPositionalArgs = 0, doc = "Returns a dict with the statistics of the shared code cache and the bytecode cache. " +
+                    "Entries of a cache are only present if the cache is enabled.")
+    @GenerateNodeFactory
+    public abstract static class CodeCacheStatsNode extends PythonBuiltinNode {
+        @Specialization
+        @TruffleBoundary
+        PDict doIt() {
+            ArrayList<PKeyword> stats = new ArrayList<>();
+            SharedCodeCache shared = getLanguage().getSharedCodeCache();
+            if (shared != null) {
+                stats.add(new PKeyword(tsLiteral("shared_size"), shared.size()));
+                stats.add(new PKeyword(tsLiteral("shared_capacity"), shared.getCapacity()));
+                stats.add(new PKeyword(tsLiteral("shared_hits"), shared.getHits()));
+                stats.add(new PKeyword(tsLiteral("shared_misses"), shared.getMisses()));
+                stats.add(new PKeyword(tsLiteral("shared_evictions"), shared.getEvictions()));
+            }
+            BytecodeCache bytecode = getContext().getBytecodeCache();
+            if (bytecode != null) {
+                stats.add(new PKeyword(tsLiteral("bytecode_hits"), bytecode.getHits()));
+                stats.add(new PKeyword(tsLiteral("bytecode_misses"), bytecode.getMisses()));
+            }
+            return PythonObjectFactory.getUncached().createDict(stats.toArray(PKeyword.EMPTY_KEYWORDS));
+        }
+    }
+
+    @Builtin(name = "gil_stats", minNumOfPositionalArgs = 0, doc = "Returns a dict with GIL contention statistics of this context. Times are in seconds, " +
+                    "'wait_histogram' counts the waits shorter than the respective entry of 'wait_histogram_bounds' plus one final bucket for longer waits. " +
+                    "The dict is empty unless the option python.GilStatistics is enabled.")
+    @GenerateNodeFactory
+    public abstract static class GilStatsNode extends PythonBuiltinNode {
+        private static final double NANOS_PER_SECOND = 1e9;
+
+        @Specialization
+        @TruffleBoundary
+        PDict doIt() {
+            ArrayList<PKeyword> stats = new ArrayList<>();
+            PythonObjectFactory factory = PythonObjectFactory.getUncached();
+            GilStatistics gil = getContext().getGilStatistics();
+            if (gil != null) {
+                stats.add(new PKeyword(tsLiteral("acquisitions"), gil.getAcquisitions()));
+                stats.add(new PKeyword(tsLiteral("handoffs"), gil.getHandoffs()));
+                stats.add(new PKeyword(tsLiteral("handoffs_per_second"), gil.getHandoffsPerSecond()));
+                stats.add(new PKeyword(tsLiteral("switch_requests"), gil.getSwitchRequests()));
+                stats.add(new PKeyword(tsLiteral("switch_interval"), gil.getSwitchIntervalMicros() / 1e6));
+                stats.add(new PKeyword(tsLiteral("hold_time_total"), gil.getTotalHoldNanos() / NANOS_PER_SECOND));
+                stats.add(new PKeyword(tsLiteral("hold_time_max"), gil.getMaxHoldNanos() / NANOS_PER_SECOND));
+                stats.add(new PKeyword(tsLiteral("wait_time_total"), gil.getTotalWaitNanos() / NANOS_PER_SECOND));
+                stats.add(new PKeyword(tsLiteral("wait_time_max"), gil.getMaxWaitNanos() / NANOS_PER_SECOND));
+                long[] histogram = gil.getWaitHistogram();
+                Object[] counts = new Object[histogram.length];
+                for (int i = 0; i < histogram.length; i++) {
+                    counts[i] = histogram[i];
+                }
+                long[] bounds = GilStatistics.getWaitHistogramBounds();
+                Object[] boundsInSeconds = new Object[bounds.length];
+                for (int i = 0; i < bounds.length; i++) {
+                    boundsInSeconds[i] = bounds[i] / NANOS_PER_SECOND;
+                }
+                stats.add(new PKeyword(tsLiteral("wait_histogram"), factory.createTuple(counts)));
+                stats.add(new PKeyword(tsLiteral("wait_histogram_bounds"), factory.createTuple(boundsInSeconds)));
+            }
+            return factory.createDict(stats.toArray(PKeyword.EMPTY_KEYWORDS));
+        }
+    }
+
+    @Builtin(name = "capi_stats", minNumOfPositionalArgs = 0, doc = "Returns a dict with the entries 'downcalls' (calls from Python into C extensions) and " +
+                    "'upcalls' (calls from C extensions into the C API). Each maps the function name to a tuple (count, time, conversion_time) in seconds. " +
+                    "The time excludes nested calls in the other direction, the conversion time is the time spent converting the arguments. " +
+                    "The dicts are empty unless the option python.CApiProfiling is enabled.")
+    @GenerateNodeFactory
+    public abstract static class CApiStatsNode extends PythonBuiltinNode {
+        private static final double NANOS_PER_SECOND = 1e9;
+
+        @Specialization
+        @TruffleBoundary
+        static PDict doIt() {
+            ArrayList<PKeyword> downcalls = new ArrayList<>();
+            ArrayList<PKeyword> upcalls = new ArrayList<>();
+            PythonObjectFactory factory = PythonObjectFactory.getUncached();
+            for (CallStatistics s : CApiTiming.getStatistics()) {
+                Object entry = factory.createTuple(new Object[]{s.getCount(), s.getTimeNanos() / NANOS_PER_SECOND, s.getConversionTimeNanos() / NANOS_PER_SECOND});
+                (s.isDowncall() ? downcalls : upcalls).add(new PKeyword(toTruffleStringUncached(s.getName()), entry));
+            }
+            return factory.createDict(new PKeyword[]{
+                            new PKeyword(tsLiteral("downcalls"), factory.createDict(downcalls.toArray(PKeyword.EMPTY_KEYWORDS))),
+                            new PKeyword(tsLiteral("upcalls"), factory.createDict(upcalls.toArray(PKeyword.EMPTY_KEYWORDS)))});
+        }
+    }
+
 // Internal builtin used for testing: changes strategy of newly allocated set or map
     @Builtin(name = "set_storage_strategy", minNumOfPositionalArgs = 2)
     @GenerateNodeFactory
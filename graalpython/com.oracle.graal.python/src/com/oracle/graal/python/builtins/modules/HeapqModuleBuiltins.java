@@ -0,0 +1,513 @@
+/*
+ * Copyright (c) 2024, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.modules;
+
+import static com.oracle.graal.python.builtins.PythonBuiltinClassType.IndexError;
+import static com.oracle.graal.python.builtins.PythonBuiltinClassType.RuntimeError;
+import static com.oracle.graal.python.builtins.PythonBuiltinClassType.TypeError;
+import static com.oracle.graal.python.nodes.BuiltinNames.J__HEAPQ;
+
+import java.util.List;
+
+import com.oracle.graal.python.builtins.Builtin;
+import com.oracle.graal.python.builtins.CoreFunctions;
+import com.oracle.graal.python.builtins.PythonBuiltins;
+import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.builtins.objects.common.SequenceStorageNodes;
+import com.oracle.graal.python.builtins.objects.list.PList;
+import com.oracle.graal.python.lib.PyObjectRichCompareBool;
+import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.nodes.PRaiseNode;
+import com.oracle.graal.python.nodes.builtins.ListNodes;
+import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonBinaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonUnaryBuiltinNode;
+import com.oracle.graal.python.runtime.CriticalSection;
+import com.oracle.graal.python.runtime.sequence.storage.DoubleSequenceStorage;
+import com.oracle.graal.python.runtime.sequence.storage.IntSequenceStorage;
+import com.oracle.graal.python.runtime.sequence.storage.LongSequenceStorage;
+import com.oracle.graal.python.runtime.sequence.storage.SequenceStorage;
+import com.oracle.truffle.api.dsl.Bind;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.Fallback;
+import com.oracle.truffle.api.dsl.GenerateCached;
+import com.oracle.truffle.api.dsl.GenerateInline;
+import com.oracle.truffle.api.dsl.GenerateNodeFactory;
+import com.oracle.truffle.api.dsl.NodeFactory;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.nodes.Node;
+
+/**
+ * Java implementation of CPython's {@code _heapqmodule.c}. Heaps backed by int, long or double
+ * storages are sifted directly on the primitive arrays, which is safe because comparing primitive
+ * numbers cannot run any Python code. All other heaps use rich comparison and detect concurrent
+ * modification the same way CPython does.
+ */
+@CoreFunctions(defineModule = J__HEAPQ)
+public final class HeapqModuleBuiltins extends PythonBuiltins {
+
+    @Override
+    protected List<? extends NodeFactory<? extends PythonBuiltinBaseNode>> getNodeFactories() {
+        return HeapqModuleBuiltinsFactory.getFactories();
+    }
+
+    /**
+     * Moves the item at {@code pos} towards {@code startpos} until its parent is not greater (or,
+     * for max-heaps, not smaller) than the item. This is CPython's {@code siftdown}.
+     */
+    @GenerateInline
+    @GenerateCached(false)
+    abstract static class SiftDownNode extends Node {
+
+        abstract void execute(VirtualFrame frame, Node inliningTarget, PList heap, SequenceStorage storage, int startpos, int pos, boolean max);
+
+        @Specialization
+        static void doInt(@SuppressWarnings("unused") PList heap, IntSequenceStorage storage, int startpos, int pos, boolean max) {
+            siftDown(storage.getInternalIntArray(), startpos, pos, max);
+        }
+
+        @Specialization
+        static void doLong(@SuppressWarnings("unused") PList heap, LongSequenceStorage storage, int startpos, int pos, boolean max) {
+            siftDown(storage.getInternalLongArray(), startpos, pos, max);
+        }
+
+        @Specialization
+        static void doDouble(@SuppressWarnings("unused") PList heap, DoubleSequenceStorage storage, int startpos, int pos, boolean max) {
+            siftDown(storage.getInternalDoubleArray(), startpos, pos, max);
+        }
+
+        @Fallback
+        static void doGeneric(VirtualFrame frame, Node inliningTarget, PList heap, SequenceStorage storage, int startpos, int pos, boolean max,
+                        @Cached SequenceStorageNodes.GetItemScalarNode getItemNode,
+                        @Cached SequenceStorageNodes.SetItemScalarNode setItemNode,
+                        @Cached PyObjectRichCompareBool.LtNode ltNode,
+                        @Cached PRaiseNode.Lazy raiseNode) {
+            int size = storage.length();
+            Object newitem = getItemNode.execute(inliningTarget, storage, pos);
+            while (pos > startpos) {
+                int parentpos = (pos - 1) >> 1;
+                Object parent = getItemNode.execute(inliningTarget, storage, parentpos);
+                boolean lt = max ? ltNode.compare(frame, inliningTarget, parent, newitem) : ltNode.compare(frame, inliningTarget, newitem, parent);
+                checkUnchanged(inliningTarget, heap, storage, size, raiseNode);
+                if (!lt) {
+                    break;
+                }
+                // the comparison may have replaced the items, so read them again like CPython
+                parent = getItemNode.execute(inliningTarget, storage, parentpos);
+                newitem = getItemNode.execute(inliningTarget, storage, pos);
+                setItemNode.execute(inliningTarget, storage, parentpos, newitem);
+                setItemNode.execute(inliningTarget, storage, pos, parent);
+                pos = parentpos;
+            }
+        }
+
+        private static void siftDown(int[] arr, int startpos, int pos, boolean max) {
+            int newitem = arr[pos];
+            while (pos > startpos) {
+                int parentpos = (pos - 1) >> 1;
+                int parent = arr[parentpos];
+                if (!(max ? parent < newitem : newitem < parent)) {
+                    break;
+                }
+                arr[pos] = parent;
+                pos = parentpos;
+            }
+            arr[pos] = newitem;
+        }
+
+        private static void siftDown(long[] arr, int startpos, int pos, boolean max) {
+            long newitem = arr[pos];
+            while (pos > startpos) {
+                int parentpos = (pos - 1) >> 1;
+                long parent = arr[parentpos];
+                if (!(max ? parent < newitem : newitem < parent)) {
+                    break;
+                }
+                arr[pos] = parent;
+                pos = parentpos;
+            }
+            arr[pos] = newitem;
+        }
+
+        private static void siftDown(double[] arr, int startpos, int pos, boolean max) {
+            double newitem = arr[pos];
+            while (pos > startpos) {
+                int parentpos = (pos - 1) >> 1;
+                double parent = arr[parentpos];
+                if (!(max ? parent < newitem : newitem < parent)) {
+                    break;
+                }
+                arr[pos] = parent;
+                pos = parentpos;
+            }
+            arr[pos] = newitem;
+        }
+    }
+
+    /**
+     * Moves the smaller (or, for max-heaps, the larger) child up until a leaf is reached at which
+     * the original item from {@code pos} is put and sifted down again. This is CPython's
+     * {@code siftup}. With {@code all}, it is applied to every inner node from the last one up to
+     * the root, which turns the whole list into a heap.
+     */
+    @GenerateInline
+    @GenerateCached(false)
+    abstract static class SiftUpNode extends Node {
+
+        abstract void execute(VirtualFrame frame, Node inliningTarget, PList heap, SequenceStorage storage, int pos, boolean max, boolean all);
+
+        @Specialization
+        static void doInt(@SuppressWarnings("unused") PList heap, IntSequenceStorage storage, int pos, boolean max, boolean all) {
+            siftUp(storage.getInternalIntArray(), storage.length(), pos, max, all);
+        }
+
+        @Specialization
+        static void doLong(@SuppressWarnings("unused") PList heap, LongSequenceStorage storage, int pos, boolean max, boolean all) {
+            siftUp(storage.getInternalLongArray(), storage.length(), pos, max, all);
+        }
+
+        @Specialization
+        static void doDouble(@SuppressWarnings("unused") PList heap, DoubleSequenceStorage storage, int pos, boolean max, boolean all) {
+            siftUp(storage.getInternalDoubleArray(), storage.length(), pos, max, all);
+        }
+
+        @Fallback
+        static void doGeneric(VirtualFrame frame, Node inliningTarget, PList heap, SequenceStorage storage, int pos, boolean max, boolean all,
+                        @Cached SequenceStorageNodes.GetItemScalarNode getItemNode,
+                        @Cached SequenceStorageNodes.SetItemScalarNode setItemNode,
+                        @Cached PyObjectRichCompareBool.LtNode ltNode,
+                        @Cached SiftDownNode siftDownNode,
+                        @Cached PRaiseNode.Lazy raiseNode) {
+            int endpos = storage.length();
+            for (int i = all ? (endpos >> 1) - 1 : pos; i >= pos; i--) {
+                int startpos = i;
+                int limit = endpos >> 1;
+                int p = i;
+                while (p < limit) {
+                    int childpos = 2 * p + 1;
+                    if (childpos + 1 < endpos) {
+                        Object a = getItemNode.execute(inliningTarget, storage, childpos);
+                        Object b = getItemNode.execute(inliningTarget, storage, childpos + 1);
+                        boolean lt = max ? ltNode.compare(frame, inliningTarget, b, a) : ltNode.compare(frame, inliningTarget, a, b);
+                        checkUnchanged(inliningTarget, heap, storage, endpos, raiseNode);
+                        if (!lt) {
+                            childpos++;
+                        }
+                    }
+                    Object child = getItemNode.execute(inliningTarget, storage, childpos);
+                    setItemNode.execute(inliningTarget, storage, childpos, getItemNode.execute(inliningTarget, storage, p));
+                    setItemNode.execute(inliningTarget, storage, p, child);
+                    p = childpos;
+                }
+                siftDownNode.execute(frame, inliningTarget, heap, storage, startpos, p, max);
+            }
+        }
+
+        private static void siftUp(int[] arr, int endpos, int pos, boolean max, boolean all) {
+            for (int i = all ? (endpos >> 1) - 1 : pos; i >= pos; i--) {
+                int limit = endpos >> 1;
+                int newitem = arr[i];
+                int p = i;
+                while (p < limit) {
+                    int childpos = 2 * p + 1;
+                    if (childpos + 1 < endpos && !(max ? arr[childpos + 1] < arr[childpos] : arr[childpos] < arr[childpos + 1])) {
+                        childpos++;
+                    }
+                    arr[p] = arr[childpos];
+                    p = childpos;
+                }
+                arr[p] = newitem;
+                SiftDownNode.siftDown(arr, i, p, max);
+            }
+        }
+
+        private static void siftUp(long[] arr, int endpos, int pos, boolean max, boolean all) {
+            for (int i = all ? (endpos >> 1) - 1 : pos; i >= pos; i--) {
+                int limit = endpos >> 1;
+                long newitem = arr[i];
+                int p = i;
+                while (p < limit) {
+                    int childpos = 2 * p + 1;
+                    if (childpos + 1 < endpos && !(max ? arr[childpos + 1] < arr[childpos] : arr[childpos] < arr[childpos + 1])) {
+                        childpos++;
+                    }
+                    arr[p] = arr[childpos];
+                    p = childpos;
+                }
+                arr[p] = newitem;
+                SiftDownNode.siftDown(arr, i, p, max);
+            }
+        }
+
+        private static void siftUp(double[] arr, int endpos, int pos, boolean max, boolean all) {
+            for (int i = all ? (endpos >> 1) - 1 : pos; i >= pos; i--) {
+                int limit = endpos >> 1;
+                double newitem = arr[i];
+                int p = i;
+                while (p < limit) {
+                    int childpos = 2 * p + 1;
+                    if (childpos + 1 < endpos && !(max ? arr[childpos + 1] < arr[childpos] : arr[childpos] < arr[childpos + 1])) {
+                        childpos++;
+                    }
+                    arr[p] = arr[childpos];
+                    p = childpos;
+                }
+                arr[p] = newitem;
+                SiftDownNode.siftDown(arr, i, p, max);
+            }
+        }
+    }
+
+    private static void checkUnchanged(Node inliningTarget, PList heap, SequenceStorage storage, int size, PRaiseNode.Lazy raiseNode) {
+        if (heap.getSequenceStorage() != storage || storage.length() != size) {
+            throw raiseNode.get(inliningTarget).raise(RuntimeError, ErrorMessages.CHANGED_SIZE_DURING_ITERATION, "list");
+        }
+    }
+
+    /**
+     * Removes the last item and puts it at the top of the heap, returning the previous top. This
+     * is CPython's {@code heappop_internal}.
+     */
+    @GenerateInline
+    @GenerateCached(false)
+    abstract static class HeapPopNode extends Node {
+
+        abstract Object execute(VirtualFrame frame, Node inliningTarget, PList heap, boolean max);
+
+        @Specialization
+        static Object pop(VirtualFrame frame, Node inliningTarget, PList heap, boolean max,
+                        @Cached SequenceStorageNodes.GetItemScalarNode getItemNode,
+                        @Cached SequenceStorageNodes.SetItemScalarNode setItemNode,
+                        @Cached SequenceStorageNodes.SetLenNode setLenNode,
+                        @Cached SiftUpNode siftUpNode,
+                        @Cached PRaiseNode.Lazy raiseNode) {
+            try (CriticalSection cs = CriticalSection.enter(inliningTarget, heap)) {
+                SequenceStorage storage = heap.getSequenceStorage();
+                int n = storage.length();
+                if (n == 0) {
+                    throw raiseNode.get(inliningTarget).raise(IndexError, ErrorMessages.INDEX_OUT_OF_RANGE);
+                }
+                Object lastelt = getItemNode.execute(inliningTarget, storage, n - 1);
+                setLenNode.execute(inliningTarget, storage, n - 1);
+                if (n == 1) {
+                    return lastelt;
+                }
+                Object returnitem = getItemNode.execute(inliningTarget, storage, 0);
+                setItemNode.execute(inliningTarget, storage, 0, lastelt);
+                siftUpNode.execute(frame, inliningTarget, heap, storage, 0, max, false);
+                return returnitem;
+            }
+        }
+    }
+
+    /**
+     * Returns the top of the heap and replaces it with {@code item}. This is CPython's
+     * {@code heapreplace_internal}.
+     */
+    @GenerateInline
+    @GenerateCached(false)
+    abstract static class HeapReplaceNode extends Node {
+
+        abstract Object execute(VirtualFrame frame, Node inliningTarget, PList heap, Object item, boolean max);
+
+        @Specialization
+        static Object replace(VirtualFrame frame, Node inliningTarget, PList heap, Object item, boolean max,
+                        @Cached SequenceStorageNodes.GetItemScalarNode getItemNode,
+                        @Cached("createForList()") SequenceStorageNodes.SetItemNode setItemNode,
+                        @Cached SiftUpNode siftUpNode,
+                        @Cached PRaiseNode.Lazy raiseNode) {
+            try (CriticalSection cs = CriticalSection.enter(inliningTarget, heap)) {
+                SequenceStorage storage = heap.getSequenceStorage();
+                if (storage.length() == 0) {
+                    throw raiseNode.get(inliningTarget).raise(IndexError, ErrorMessages.INDEX_OUT_OF_RANGE);
+                }
+                Object returnitem = getItemNode.execute(inliningTarget, storage, 0);
+                SequenceStorage newStorage = setItemNode.execute(storage, 0, item);
+                if (newStorage != storage) {
+                    heap.setSequenceStorage(newStorage);
+                }
+                siftUpNode.execute(frame, inliningTarget, heap, newStorage, 0, max, false);
+                return returnitem;
+            }
+        }
+    }
+
+    private static PList checkHeap(Node inliningTarget, Object heap, PRaiseNode.Lazy raiseNode) {
+        if (heap instanceof PList list) {
+            return list;
+        }
+        throw raiseNode.get(inliningTarget).raise(TypeError, ErrorMessages.HEAP_ARGUMENT_MUST_BE_A_LIST);
+    }
+
+    @Builtin(name = "heappush", minNumOfPositionalArgs = 2, numOfPositionalOnlyArgs = 2, parameterNames = {"heap", "item"}, //
+                    doc = "Push item onto heap, maintaining the heap invariant.")
+    @GenerateNodeFactory
+    abstract static class HeapPushNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        static PNone push(VirtualFrame frame, Object heapObj, Object item,
+                        @Bind("this") Node inliningTarget,
+                        @Cached ListNodes.AppendNode appendNode,
+                        @Cached SiftDownNode siftDownNode,
+                        @Cached PRaiseNode.Lazy raiseNode) {
+            PList heap = checkHeap(inliningTarget, heapObj, raiseNode);
+            try (CriticalSection cs = CriticalSection.enter(inliningTarget, heap)) {
+                appendNode.execute(heap, item);
+                SequenceStorage storage = heap.getSequenceStorage();
+                siftDownNode.execute(frame, inliningTarget, heap, storage, 0, storage.length() - 1, false);
+            }
+            return PNone.NONE;
+        }
+    }
+
+    @Builtin(name = "heappop", minNumOfPositionalArgs = 1, numOfPositionalOnlyArgs = 1, parameterNames = {"heap"}, //
+                    doc = "Pop the smallest item off the heap, maintaining the heap invariant.")
+    @GenerateNodeFactory
+    abstract static class HeapPopBuiltinNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static Object pop(VirtualFrame frame, Object heap,
+                        @Bind("this") Node inliningTarget,
+                        @Cached HeapPopNode popNode,
+                        @Cached PRaiseNode.Lazy raiseNode) {
+            return popNode.execute(frame, inliningTarget, checkHeap(inliningTarget, heap, raiseNode), false);
+        }
+    }
+
+    @Builtin(name = "_heappop_max", minNumOfPositionalArgs = 1, numOfPositionalOnlyArgs = 1, parameterNames = {"heap"}, //
+                    doc = "Maxheap variant of heappop.")
+    @GenerateNodeFactory
+    abstract static class HeapPopMaxNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static Object pop(VirtualFrame frame, Object heap,
+                        @Bind("this") Node inliningTarget,
+                        @Cached HeapPopNode popNode,
+                        @Cached PRaiseNode.Lazy raiseNode) {
+            return popNode.execute(frame, inliningTarget, checkHeap(inliningTarget, heap, raiseNode), true);
+        }
+    }
+
+    @Builtin(name = "heapreplace", minNumOfPositionalArgs = 2, numOfPositionalOnlyArgs = 2, parameterNames = {"heap", "item"}, //
+                    doc = "Pop and return the current smallest value, and add the new item.")
+    @GenerateNodeFactory
+    abstract static class HeapReplaceBuiltinNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        static Object replace(VirtualFrame frame, Object heap, Object item,
+                        @Bind("this") Node inliningTarget,
+                        @Cached HeapReplaceNode replaceNode,
+                        @Cached PRaiseNode.Lazy raiseNode) {
+            return replaceNode.execute(frame, inliningTarget, checkHeap(inliningTarget, heap, raiseNode), item, false);
+        }
+    }
+
+    @Builtin(name = "_heapreplace_max", minNumOfPositionalArgs = 2, numOfPositionalOnlyArgs = 2, parameterNames = {"heap", "item"}, //
+                    doc = "Maxheap variant of heapreplace.")
+    @GenerateNodeFactory
+    abstract static class HeapReplaceMaxNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        static Object replace(VirtualFrame frame, Object heap, Object item,
+                        @Bind("this") Node inliningTarget,
+                        @Cached HeapReplaceNode replaceNode,
+                        @Cached PRaiseNode.Lazy raiseNode) {
+            return replaceNode.execute(frame, inliningTarget, checkHeap(inliningTarget, heap, raiseNode), item, true);
+        }
+    }
+
+    @Builtin(name = "heappushpop", minNumOfPositionalArgs = 2, numOfPositionalOnlyArgs = 2, parameterNames = {"heap", "item"}, //
+                    doc = "Push item on the heap, then pop and return the smallest item from the heap.")
+    @GenerateNodeFactory
+    abstract static class HeapPushPopNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        static Object pushPop(VirtualFrame frame, Object heapObj, Object item,
+                        @Bind("this") Node inliningTarget,
+                        @Cached SequenceStorageNodes.GetItemScalarNode getItemNode,
+                        @Cached PyObjectRichCompareBool.LtNode ltNode,
+                        @Cached HeapReplaceNode replaceNode,
+                        @Cached PRaiseNode.Lazy raiseNode) {
+            PList heap = checkHeap(inliningTarget, heapObj, raiseNode);
+            try (CriticalSection cs = CriticalSection.enter(inliningTarget, heap)) {
+                SequenceStorage storage = heap.getSequenceStorage();
+                if (storage.length() == 0) {
+                    return item;
+                }
+                Object top = getItemNode.execute(inliningTarget, storage, 0);
+                if (!ltNode.compare(frame, inliningTarget, top, item)) {
+                    return item;
+                }
+                // the comparison may have emptied the heap, which is checked by the replace node
+                return replaceNode.execute(frame, inliningTarget, heap, item, false);
+            }
+        }
+    }
+
+    @Builtin(name = "heapify", minNumOfPositionalArgs = 1, numOfPositionalOnlyArgs = 1, parameterNames = {"heap"}, //
+                    doc = "Transform list into a heap, in-place, in O(len(heap)) time.")
+    @GenerateNodeFactory
+    abstract static class HeapifyNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static PNone heapify(VirtualFrame frame, Object heapObj,
+                        @Bind("this") Node inliningTarget,
+                        @Cached SiftUpNode siftUpNode,
+                        @Cached PRaiseNode.Lazy raiseNode) {
+            PList heap = checkHeap(inliningTarget, heapObj, raiseNode);
+            try (CriticalSection cs = CriticalSection.enter(inliningTarget, heap)) {
+                siftUpNode.execute(frame, inliningTarget, heap, heap.getSequenceStorage(), 0, false, true);
+            }
+            return PNone.NONE;
+        }
+    }
+
+    @Builtin(name = "_heapify_max", minNumOfPositionalArgs = 1, numOfPositionalOnlyArgs = 1, parameterNames = {"heap"}, //
+                    doc = "Maxheap variant of heapify.")
+    @GenerateNodeFactory
+    abstract static class HeapifyMaxNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static PNone heapify(VirtualFrame frame, Object heapObj,
+                        @Bind("this") Node inliningTarget,
+                        @Cached SiftUpNode siftUpNode,
+                        @Cached PRaiseNode.Lazy raiseNode) {
+            PList heap = checkHeap(inliningTarget, heapObj, raiseNode);
+            try (CriticalSection cs = CriticalSection.enter(inliningTarget, heap)) {
+                siftUpNode.execute(frame, inliningTarget, heap, heap.getSequenceStorage(), 0, true, true);
+            }
+            return PNone.NONE;
+        }
+    }
+}
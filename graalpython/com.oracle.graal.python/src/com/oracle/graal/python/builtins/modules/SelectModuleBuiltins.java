@@ -40,18 +40,24 @@
  */
 package com.oracle.graal.python.builtins.modules;
 
+import static com.oracle.graal.python.runtime.PosixConstants.EPOLL_CLOEXEC;
 import static com.oracle.graal.python.runtime.PosixConstants.FD_SETSIZE;
 import static com.oracle.graal.python.runtime.exception.PythonErrorType.ValueError;
 import static com.oracle.graal.python.util.TimeUtils.SEC_TO_NS;
 
 import java.util.List;
 
+import com.oracle.graal.python.annotations.ArgumentClinic;
+import com.oracle.graal.python.annotations.ArgumentClinic.ClinicConversion;
 import com.oracle.graal.python.builtins.Builtin;
 import com.oracle.graal.python.builtins.CoreFunctions;
 import com.oracle.graal.python.builtins.Python3Core;
 import com.oracle.graal.python.builtins.PythonBuiltinClassType;
 import com.oracle.graal.python.builtins.PythonBuiltins;
+import com.oracle.graal.python.builtins.objects.exception.OSErrorEnum;
 import com.oracle.graal.python.builtins.objects.list.PList;
+import com.oracle.graal.python.builtins.objects.select.PEpoll;
+import com.oracle.graal.python.builtins.objects.select.PPoll;
 import com.oracle.graal.python.builtins.objects.tuple.PTuple;
 import com.oracle.graal.python.lib.PyObjectAsFileDescriptor;
 import com.oracle.graal.python.lib.PyObjectGetItem;
@@ -65,14 +71,19 @@ import com.oracle.graal.python.nodes.PRaiseNode;
 import com.oracle.graal.python.nodes.builtins.ListNodes.FastConstructListNode;
 import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
 import com.oracle.graal.python.nodes.function.PythonBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonTernaryClinicBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.clinic.ArgumentClinicProvider;
 import com.oracle.graal.python.runtime.GilNode;
 import com.oracle.graal.python.runtime.PosixConstants;
+import com.oracle.graal.python.runtime.PosixConstants.IntConstant;
 import com.oracle.graal.python.runtime.PosixSupport;
 import com.oracle.graal.python.runtime.PosixSupportLibrary;
 import com.oracle.graal.python.runtime.PosixSupportLibrary.ChannelNotSelectableException;
 import com.oracle.graal.python.runtime.PosixSupportLibrary.PosixException;
 import com.oracle.graal.python.runtime.PosixSupportLibrary.SelectResult;
 import com.oracle.graal.python.runtime.PosixSupportLibrary.Timeval;
+import com.oracle.graal.python.runtime.PosixSupportLibrary.UnsupportedPosixFeatureException;
+import com.oracle.graal.python.runtime.PythonContext;
 import com.oracle.graal.python.runtime.exception.PythonErrorType;
 import com.oracle.graal.python.runtime.object.PythonObjectFactory;
 import com.oracle.graal.python.runtime.sequence.PSequence;
@@ -95,8 +106,8 @@ import com.oracle.truffle.api.profiles.InlinedBranchProfile;
 public final class SelectModuleBuiltins extends PythonBuiltins {
 
     /*
-     * ATTENTION: if we ever add "poll" support, update the code in
-     * MultiprocessingModuleBuilins#SelectNode to use it if available
+     * ATTENTION: MultiprocessingModuleBuilins#SelectNode still uses "select", consider switching it
+     * to "poll"
      */
 
     public SelectModuleBuiltins() {
@@ -114,6 +125,80 @@ public final class SelectModuleBuiltins extends PythonBuiltins {
         if (PosixConstants.PIPE_BUF.defined) {
             addBuiltinConstant("PIPE_BUF", PosixConstants.PIPE_BUF.getValueIfDefined());
         }
+        for (IntConstant c : PosixConstants.pollEvents) {
+            if (c.defined) {
+                addBuiltinConstant(c.name, c.getValueIfDefined());
+            }
+        }
+        for (IntConstant c : PosixConstants.epollEvents) {
+            if (c.defined) {
+                addBuiltinConstant(c.name, c.getValueIfDefined());
+            } else {
+                // Pollers take POLL* flags, which is what epoll uses as well. Without native epoll,
+                // we still provide the EPOLL* names so that the selectors module can use epoll.
+                for (IntConstant p : PosixConstants.pollEvents) {
+                    if (p.defined && c.name.equals("E" + p.name)) {
+                        addBuiltinConstant(c.name, p.getValueIfDefined());
+                    }
+                }
+            }
+        }
+    }
+
+    @Builtin(name = "poll")
+    @GenerateNodeFactory
+    abstract static class PollNode extends PythonBuiltinNode {
+        @Specialization
+        static PPoll poll(VirtualFrame frame,
+                        @Bind("this") Node inliningTarget,
+                        @CachedLibrary(limit = "1") PosixSupportLibrary posixLib,
+                        @Cached PythonObjectFactory factory,
+                        @Cached PConstructAndRaiseNode.Lazy constructAndRaiseNode) {
+            PythonContext context = PythonContext.get(inliningTarget);
+            try {
+                return factory.createPoll(context, posixLib.pollerCreate(context.getPosixSupport()));
+            } catch (PosixException e) {
+                throw constructAndRaiseNode.get(inliningTarget).raiseOSErrorFromPosixException(frame, e);
+            } catch (UnsupportedPosixFeatureException e) {
+                throw constructAndRaiseNode.get(inliningTarget).raiseOSError(frame, OSErrorEnum.ENOSYS);
+            }
+        }
+    }
+
+    @Builtin(name = "epoll", minNumOfPositionalArgs = 1, parameterNames = {"$cls", "sizehint", "flags"}, constructsClass = PythonBuiltinClassType.PEpoll)
+    @ArgumentClinic(name = "sizehint", conversion = ClinicConversion.Int, defaultValue = "-1")
+    @ArgumentClinic(name = "flags", conversion = ClinicConversion.Int, defaultValue = "0")
+    @GenerateNodeFactory
+    abstract static class EpollNode extends PythonTernaryClinicBuiltinNode {
+
+        @Override
+        protected ArgumentClinicProvider getArgumentClinic() {
+            return SelectModuleBuiltinsClinicProviders.EpollNodeClinicProviderGen.INSTANCE;
+        }
+
+        @Specialization
+        static PEpoll epoll(VirtualFrame frame, Object cls, int sizehint, int flags,
+                        @Bind("this") Node inliningTarget,
+                        @CachedLibrary(limit = "1") PosixSupportLibrary posixLib,
+                        @Cached PythonObjectFactory factory,
+                        @Cached PConstructAndRaiseNode.Lazy constructAndRaiseNode,
+                        @Cached PRaiseNode.Lazy raiseNode) {
+            if (sizehint == 0 || sizehint < -1) {
+                throw raiseNode.get(inliningTarget).raise(ValueError, ErrorMessages.NEGATIVE_SIZEHINT);
+            }
+            if (flags != 0 && !(EPOLL_CLOEXEC.defined && flags == EPOLL_CLOEXEC.getValueIfDefined())) {
+                throw constructAndRaiseNode.get(inliningTarget).raiseOSError(frame, OSErrorEnum.EINVAL);
+            }
+            PythonContext context = PythonContext.get(inliningTarget);
+            try {
+                // the poller is always created with close-on-exec
+                return factory.createEpoll(cls, context, posixLib.pollerCreate(context.getPosixSupport()));
+            } catch (PosixException e) {
+                throw constructAndRaiseNode.get(inliningTarget).raiseOSErrorFromPosixException(frame, e);
+            } catch (UnsupportedPosixFeatureException e) {
+                throw constructAndRaiseNode.get(inliningTarget).raiseOSError(frame, OSErrorEnum.ENOSYS);
+            }
+        }
     }
 
     @Builtin(name = "select", minNumOfPositionalArgs = 3, parameterNames = {"rlist", "wlist", "xlist", "timeout"})
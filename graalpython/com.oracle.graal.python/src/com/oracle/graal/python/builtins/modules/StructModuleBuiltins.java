@@ -0,0 +1,224 @@
+/*
+ * Copyright (c) 2024, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.modules;
+
+import static com.oracle.graal.python.nodes.BuiltinNames.J__STRUCT;
+
+import java.util.List;
+
+import com.oracle.graal.python.annotations.ArgumentClinic;
+import com.oracle.graal.python.annotations.ArgumentClinic.ClinicConversion;
+import com.oracle.graal.python.builtins.Builtin;
+import com.oracle.graal.python.builtins.CoreFunctions;
+import com.oracle.graal.python.builtins.Python3Core;
+import com.oracle.graal.python.builtins.PythonBuiltinClassType;
+import com.oracle.graal.python.builtins.PythonBuiltins;
+import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.builtins.objects.buffer.PythonBufferAccessLibrary;
+import com.oracle.graal.python.builtins.objects.function.PKeyword;
+import com.oracle.graal.python.builtins.objects.struct.PStruct;
+import com.oracle.graal.python.builtins.objects.struct.StructFormat;
+import com.oracle.graal.python.builtins.objects.struct.StructNodes.GetStructFormatNode;
+import com.oracle.graal.python.builtins.objects.struct.StructNodes.IterUnpackNode;
+import com.oracle.graal.python.builtins.objects.struct.StructNodes.PackIntoNode;
+import com.oracle.graal.python.builtins.objects.struct.StructNodes.PackNode;
+import com.oracle.graal.python.builtins.objects.struct.StructNodes.UnpackFromNode;
+import com.oracle.graal.python.builtins.objects.struct.StructNodes.UnpackNode;
+import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
+import com.oracle.graal.python.nodes.function.PythonBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonBinaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonBinaryClinicBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonTernaryClinicBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonUnaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonVarargsBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.clinic.ArgumentClinicProvider;
+import com.oracle.graal.python.runtime.IndirectCallData;
+import com.oracle.graal.python.runtime.PythonContext;
+import com.oracle.graal.python.runtime.object.PythonObjectFactory;
+import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.GenerateNodeFactory;
+import com.oracle.truffle.api.dsl.NodeFactory;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.library.CachedLibrary;
+
+@CoreFunctions(defineModule = J__STRUCT)
+public final class StructModuleBuiltins extends PythonBuiltins {
+
+    @Override
+    protected List<? extends NodeFactory<? extends PythonBuiltinBaseNode>> getNodeFactories() {
+        return StructModuleBuiltinsFactory.getFactories();
+    }
+
+    @Override
+    public void initialize(Python3Core core) {
+        super.initialize(core);
+        addBuiltinConstant("error", PythonBuiltinClassType.StructError);
+    }
+
+    @Builtin(name = "Struct", minNumOfPositionalArgs = 1, constructsClass = PythonBuiltinClassType.PStruct, takesVarArgs = true, takesVarKeywordArgs = true)
+    @GenerateNodeFactory
+    abstract static class StructNode extends PythonVarargsBuiltinNode {
+
+        @Override
+        public Object varArgExecute(VirtualFrame frame, Object self, Object[] arguments, PKeyword[] keywords) throws VarargsBuiltinDirectInvocationNotSupported {
+            if (arguments.length >= 1) {
+                return create(arguments[0], null, null, PythonObjectFactory.getUncached());
+            }
+            CompilerDirectives.transferToInterpreterAndInvalidate();
+            throw VarargsBuiltinDirectInvocationNotSupported.INSTANCE;
+        }
+
+        /*
+         * Like in CPython, the format is compiled by __init__, so that subclasses can pass
+         * arbitrary arguments to the constructor.
+         */
+        @Specialization
+        static PStruct create(Object cls, @SuppressWarnings("unused") Object[] args, @SuppressWarnings("unused") PKeyword[] kwargs,
+                        @Cached PythonObjectFactory factory) {
+            return factory.createStruct(cls, StructFormat.EMPTY);
+        }
+    }
+
+    @Builtin(name = "calcsize", minNumOfPositionalArgs = 1, numOfPositionalOnlyArgs = 1, parameterNames = {"format"})
+    @GenerateNodeFactory
+    abstract static class CalcSizeNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static int calcsize(Object format,
+                        @Cached GetStructFormatNode getStructFormatNode) {
+            return getStructFormatNode.execute(format).getSize();
+        }
+    }
+
+    @Builtin(name = "pack", minNumOfPositionalArgs = 1, parameterNames = {"format"}, takesVarArgs = true)
+    @GenerateNodeFactory
+    abstract static class PackFunctionNode extends PythonBuiltinNode {
+        @Specialization
+        static Object pack(VirtualFrame frame, Object format, Object[] args,
+                        @Cached GetStructFormatNode getStructFormatNode,
+                        @Cached PackNode packNode) {
+            return packNode.execute(frame, getStructFormatNode.execute(format), args);
+        }
+    }
+
+    @Builtin(name = "pack_into", minNumOfPositionalArgs = 1, parameterNames = {"format"}, takesVarArgs = true)
+    @GenerateNodeFactory
+    abstract static class PackIntoFunctionNode extends PythonBuiltinNode {
+        @Specialization
+        static Object packInto(VirtualFrame frame, Object format, Object[] args,
+                        @Cached GetStructFormatNode getStructFormatNode,
+                        @Cached PackIntoNode packIntoNode) {
+            packIntoNode.execute(frame, getStructFormatNode.execute(format), args);
+            return PNone.NONE;
+        }
+    }
+
+    @Builtin(name = "unpack", minNumOfPositionalArgs = 2, numOfPositionalOnlyArgs = 2, parameterNames = {"format", "buffer"})
+    @ArgumentClinic(name = "buffer", conversion = ClinicConversion.ReadableBuffer)
+    @GenerateNodeFactory
+    abstract static class UnpackFunctionNode extends PythonBinaryClinicBuiltinNode {
+        @Specialization(limit = "3")
+        static Object unpack(VirtualFrame frame, Object format, Object buffer,
+                        @Cached("createFor(this)") IndirectCallData indirectCallData,
+                        @CachedLibrary("buffer") PythonBufferAccessLibrary bufferLib,
+                        @Cached GetStructFormatNode getStructFormatNode,
+                        @Cached UnpackNode unpackNode) {
+            try {
+                return unpackNode.execute(getStructFormatNode.execute(format), buffer);
+            } finally {
+                bufferLib.release(buffer, frame, indirectCallData);
+            }
+        }
+
+        @Override
+        protected ArgumentClinicProvider getArgumentClinic() {
+            return StructModuleBuiltinsClinicProviders.UnpackFunctionNodeClinicProviderGen.INSTANCE;
+        }
+    }
+
+    @Builtin(name = "unpack_from", minNumOfPositionalArgs = 2, numOfPositionalOnlyArgs = 1, parameterNames = {"format", "buffer", "offset"})
+    @ArgumentClinic(name = "buffer", conversion = ClinicConversion.ReadableBuffer)
+    @ArgumentClinic(name = "offset", conversion = ClinicConversion.Index, defaultValue = "0")
+    @GenerateNodeFactory
+    abstract static class UnpackFromFunctionNode extends PythonTernaryClinicBuiltinNode {
+        @Specialization(limit = "3")
+        static Object unpackFrom(VirtualFrame frame, Object format, Object buffer, int offset,
+                        @Cached("createFor(this)") IndirectCallData indirectCallData,
+                        @CachedLibrary("buffer") PythonBufferAccessLibrary bufferLib,
+                        @Cached GetStructFormatNode getStructFormatNode,
+                        @Cached UnpackFromNode unpackFromNode) {
+            try {
+                return unpackFromNode.execute(getStructFormatNode.execute(format), buffer, offset);
+            } finally {
+                bufferLib.release(buffer, frame, indirectCallData);
+            }
+        }
+
+        @Override
+        protected ArgumentClinicProvider getArgumentClinic() {
+            return StructModuleBuiltinsClinicProviders.UnpackFromFunctionNodeClinicProviderGen.INSTANCE;
+        }
+    }
+
+    @Builtin(name = "iter_unpack", minNumOfPositionalArgs = 2, numOfPositionalOnlyArgs = 2, parameterNames = {"format", "buffer"})
+    @GenerateNodeFactory
+    abstract static class IterUnpackFunctionNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        static Object iterUnpack(VirtualFrame frame, Object format, Object buffer,
+                        @Cached GetStructFormatNode getStructFormatNode,
+                        @Cached IterUnpackNode iterUnpackNode) {
+            return iterUnpackNode.execute(frame, getStructFormatNode.execute(format), buffer);
+        }
+    }
+
+    @Builtin(name = "_clearcache")
+    @GenerateNodeFactory
+    abstract static class ClearCacheNode extends PythonBuiltinNode {
+        @Specialization
+        @TruffleBoundary
+        Object clearCache() {
+            PythonContext.get(this).getStructFormatCache().clear();
+            return PNone.NONE;
+        }
+    }
+}
@@ -41,52 +41,202 @@
 package com.oracle.graal.python.builtins.modules;
 
 import static com.oracle.graal.python.nodes.BuiltinNames.J__TRACEMALLOC;
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.ValueError;
 
+import java.util.LinkedHashMap;
 import java.util.List;
 
+import com.oracle.graal.python.annotations.ArgumentClinic;
+import com.oracle.graal.python.annotations.ArgumentClinic.ClinicConversion;
 import com.oracle.graal.python.builtins.Builtin;
 import com.oracle.graal.python.builtins.CoreFunctions;
-import com.oracle.graal.python.builtins.Python3Core;
-import com.oracle.graal.python.builtins.PythonBuiltinClassType;
 import com.oracle.graal.python.builtins.PythonBuiltins;
+import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.builtins.objects.dict.PDict;
+import com.oracle.graal.python.builtins.objects.list.PList;
+import com.oracle.graal.python.builtins.objects.tuple.PTuple;
+import com.oracle.graal.python.nodes.ErrorMessages;
 import com.oracle.graal.python.nodes.PRaiseNode;
 import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
 import com.oracle.graal.python.nodes.function.PythonBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonUnaryClinicBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.clinic.ArgumentClinicProvider;
+import com.oracle.graal.python.runtime.Tracemalloc;
+import com.oracle.graal.python.runtime.Tracemalloc.Trace;
+import com.oracle.graal.python.runtime.object.PythonObjectFactory;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.dsl.Cached;
 import com.oracle.truffle.api.dsl.GenerateNodeFactory;
 import com.oracle.truffle.api.dsl.NodeFactory;
 import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.strings.TruffleString;
 
 @CoreFunctions(defineModule = J__TRACEMALLOC)
 public final class TracemallocModuleBuiltins extends PythonBuiltins {
 
+    /**
+     * Same limit as in CPython, which stores the number of frames in 16 bits.
+     */
+    private static final int MAX_NFRAME = 65535;
+
     @Override
     protected List<? extends NodeFactory<? extends PythonBuiltinBaseNode>> getNodeFactories() {
         return TracemallocModuleBuiltinsFactory.getFactories();
     }
 
-    @Override
-    public void initialize(Python3Core core) {
-        super.initialize(core);
+    @Builtin(name = "is_tracing", minNumOfPositionalArgs = 0)
+    @GenerateNodeFactory
+    abstract static class IsTracingNode extends PythonBuiltinNode {
+        @Specialization
+        boolean isTracing() {
+            return getContext().getTracemalloc().isTracing();
+        }
+    }
+
+    @Builtin(name = "start", minNumOfPositionalArgs = 0, parameterNames = {"nframe"})
+    @ArgumentClinic(name = "nframe", conversion = ClinicConversion.Int, defaultValue = "1")
+    @GenerateNodeFactory
+    abstract static class StartNode extends PythonUnaryClinicBuiltinNode {
+        @Override
+        protected ArgumentClinicProvider getArgumentClinic() {
+            return TracemallocModuleBuiltinsClinicProviders.StartNodeClinicProviderGen.INSTANCE;
+        }
+
+        @Specialization
+        @TruffleBoundary
+        PNone start(int nframe) {
+            if (nframe < 1 || nframe > MAX_NFRAME) {
+                throw PRaiseNode.raiseUncached(this, ValueError, ErrorMessages.NUMBER_OF_FRAMES_MUST_BE_IN_RANGE, MAX_NFRAME);
+            }
+            getLanguage().noTracemallocAssumption.invalidate();
+            getContext().getTracemalloc().start(nframe);
+            return PNone.NONE;
+        }
+    }
+
+    @Builtin(name = "stop", minNumOfPositionalArgs = 0)
+    @GenerateNodeFactory
+    abstract static class StopNode extends PythonBuiltinNode {
+        @Specialization
+        PNone stop() {
+            getContext().getTracemalloc().stop();
+            return PNone.NONE;
+        }
+    }
+
+    @Builtin(name = "clear_traces", minNumOfPositionalArgs = 0)
+    @GenerateNodeFactory
+    abstract static class ClearTracesNode extends PythonBuiltinNode {
+        @Specialization
+        PNone clearTraces() {
+            getContext().getTracemalloc().clearTraces();
+            return PNone.NONE;
+        }
+    }
+
+    @Builtin(name = "get_traceback_limit", minNumOfPositionalArgs = 0)
+    @GenerateNodeFactory
+    abstract static class GetTracebackLimitNode extends PythonBuiltinNode {
+        @Specialization
+        int getTracebackLimit() {
+            return getContext().getTracemalloc().getTracebackLimit();
+        }
+    }
+
+    @Builtin(name = "get_traced_memory", minNumOfPositionalArgs = 0)
+    @GenerateNodeFactory
+    abstract static class GetTracedMemoryNode extends PythonBuiltinNode {
+        @Specialization
+        PTuple getTracedMemory(
+                        @Cached PythonObjectFactory factory) {
+            Tracemalloc tracemalloc = getContext().getTracemalloc();
+            return factory.createTuple(new Object[]{tracemalloc.getTracedMemory(), tracemalloc.getPeakMemory()});
+        }
+    }
+
+    @Builtin(name = "reset_peak", minNumOfPositionalArgs = 0)
+    @GenerateNodeFactory
+    abstract static class ResetPeakNode extends PythonBuiltinNode {
+        @Specialization
+        PNone resetPeak() {
+            getContext().getTracemalloc().resetPeak();
+            return PNone.NONE;
+        }
+    }
+
+    @Builtin(name = "get_tracemalloc_memory", minNumOfPositionalArgs = 0)
+    @GenerateNodeFactory
+    abstract static class GetTracemallocMemoryNode extends PythonBuiltinNode {
+        @Specialization
+        long getTracemallocMemory() {
+            return getContext().getTracemalloc().getOwnMemory();
+        }
     }
 
     @Builtin(name = "_get_object_traceback", minNumOfPositionalArgs = 1)
     @GenerateNodeFactory
     abstract static class GetObjectTracebackNode extends PythonBuiltinNode {
         @Specialization
-        static Object getObjectTraceback(Object obj,
-                        @Cached PRaiseNode raiseNode) {
-            throw raiseNode.raise(PythonBuiltinClassType.NotImplementedError);
+        @TruffleBoundary
+        Object getObjectTraceback(Object obj) {
+            Trace trace = getContext().getTracemalloc().getTrace(obj);
+            if (trace == null) {
+                return PNone.NONE;
+            }
+            return createFrames(PythonObjectFactory.getUncached(), trace);
         }
     }
 
-    @Builtin(name = "_get_traces")
+    @Builtin(name = "_get_traces", minNumOfPositionalArgs = 0)
     @GenerateNodeFactory
     abstract static class GetTracesNode extends PythonBuiltinNode {
         @Specialization
-        static Object getTraces(
-                        @Cached PRaiseNode raiseNode) {
-            throw raiseNode.raise(PythonBuiltinClassType.NotImplementedError);
+        @TruffleBoundary
+        PList getTraces() {
+            PythonObjectFactory factory = PythonObjectFactory.getUncached();
+            List<Trace> traces = getContext().getTracemalloc().getTraces();
+            Object[] result = new Object[traces.size()];
+            for (int i = 0; i < result.length; i++) {
+                Trace trace = traces.get(i);
+                // (domain, size, traceback, total_nframe) as expected by tracemalloc.Trace
+                result[i] = factory.createTuple(new Object[]{0, trace.getSize(), createFrames(factory, trace), trace.getTotalFrames()});
+            }
+            return factory.createList(result);
+        }
+    }
+
+    @Builtin(name = "_get_type_statistics", minNumOfPositionalArgs = 0, doc = "Returns a dict mapping the type names of the traced objects " +
+                    "to a tuple (count, size). This is a GraalPy extension.")
+    @GenerateNodeFactory
+    abstract static class GetTypeStatisticsNode extends PythonBuiltinNode {
+        @Specialization
+        @TruffleBoundary
+        PDict getTypeStatistics() {
+            LinkedHashMap<TruffleString, long[]> byType = new LinkedHashMap<>();
+            for (Trace trace : getContext().getTracemalloc().getTraces()) {
+                long[] entry = byType.computeIfAbsent(trace.getTypeName(), k -> new long[2]);
+                entry[0]++;
+                entry[1] += trace.getSize();
+            }
+            PythonObjectFactory factory = PythonObjectFactory.getUncached();
+            LinkedHashMap<Object, Object> result = new LinkedHashMap<>();
+            for (var e : byType.entrySet()) {
+                result.put(e.getKey(), factory.createTuple(new Object[]{e.getValue()[0], e.getValue()[1]}));
+            }
+            return factory.createDictFromMapGeneric(result);
+        }
+    }
+
+    /**
+     * Creates the tuple of {@code (filename, lineno)} frames, from the most recent to the oldest.
+     */
+    private static PTuple createFrames(PythonObjectFactory factory, Trace trace) {
+        TruffleString[] filenames = trace.getFilenames();
+        int[] linenos = trace.getLinenos();
+        Object[] frames = new Object[filenames.length];
+        for (int i = 0; i < frames.length; i++) {
+            frames[i] = factory.createTuple(new Object[]{filenames[i], linenos[i]});
         }
+        return factory.createTuple(frames);
     }
 }
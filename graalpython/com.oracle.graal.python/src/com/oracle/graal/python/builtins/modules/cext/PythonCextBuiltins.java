@@ -571,7 +571,7 @@ public final class PythonCextBuiltins {
         private final int id;
 
         public CApiBuiltinExecutable(String name, CApiCallPath call, ArgDescriptor ret, ArgDescriptor[] args, int id) {
-            this.timing = CApiTiming.create(false, name);
+            this.timing = CApiTiming.createPermanent(false, name);
             this.name = name;
             this.call = call;
             this.ret = ret;
@@ -779,7 +779,9 @@ public final class PythonCextBuiltins {
                     assert arguments.length == argNodes.length;
 
                     Object[] argCast = new Object[argNodes.length];
+                    long conversionStart = CApiTiming.startConversion();
                     castArguments(arguments, argCast);
+                    CApiTiming.endConversion(self.timing, conversionStart);
                     Object result = builtinNode.execute(argCast);
                     if (retNode != null) {
                         result = retNode.execute(result);
@@ -1320,7 +1322,7 @@ public final class PythonCextBuiltins {
                 // Restore interrupt status
                 Thread.currentThread().interrupt();
             }
-            CApiTransitions.pollReferenceQueue();
+            CApiTransitions.drainReferenceQueue();
             PythonContext.triggerAsyncActions(this);
             return PNone.NO_VALUE;
         }
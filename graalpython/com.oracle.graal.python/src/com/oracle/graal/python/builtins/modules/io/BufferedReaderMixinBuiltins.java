@@ -59,6 +59,7 @@ import static com.oracle.graal.python.builtins.modules.io.IONodes.T_READLINE;
 import static com.oracle.graal.python.builtins.objects.bytes.BytesUtils.append;
 import static com.oracle.graal.python.builtins.objects.bytes.BytesUtils.createOutputStream;
 import static com.oracle.graal.python.builtins.objects.bytes.BytesUtils.toByteArray;
+import static com.oracle.graal.python.builtins.objects.exception.OSErrorEnum.EAGAIN;
 import static com.oracle.graal.python.nodes.ErrorMessages.IO_S_INVALID_LENGTH;
 import static com.oracle.graal.python.nodes.ErrorMessages.IO_S_SHOULD_RETURN_BYTES;
 import static com.oracle.graal.python.nodes.ErrorMessages.MUST_BE_NON_NEG_OR_NEG_1;
@@ -87,6 +88,7 @@ import com.oracle.graal.python.builtins.objects.bytes.PBytes;
 import com.oracle.graal.python.lib.PyNumberAsSizeNode;
 import com.oracle.graal.python.lib.PyObjectCallMethodObjArgs;
 import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.nodes.PConstructAndRaiseNode;
 import com.oracle.graal.python.nodes.PNodeWithContext;
 import com.oracle.graal.python.nodes.PRaiseNode;
 import com.oracle.graal.python.nodes.attributes.LookupAttributeInMRONode;
@@ -94,7 +96,10 @@ import com.oracle.graal.python.nodes.call.special.CallUnaryMethodNode;
 import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
 import com.oracle.graal.python.nodes.function.builtins.clinic.ArgumentClinicProvider;
 import com.oracle.graal.python.nodes.object.GetClassNode;
+import com.oracle.graal.python.runtime.GilNode;
 import com.oracle.graal.python.runtime.IndirectCallData;
+import com.oracle.graal.python.runtime.PosixSupportLibrary;
+import com.oracle.graal.python.runtime.PosixSupportLibrary.PosixException;
 import com.oracle.graal.python.runtime.exception.PException;
 import com.oracle.graal.python.runtime.object.PythonObjectFactory;
 import com.oracle.graal.python.util.PythonUtils;
@@ -111,6 +116,7 @@ import com.oracle.truffle.api.dsl.Specialization;
 import com.oracle.truffle.api.frame.VirtualFrame;
 import com.oracle.truffle.api.library.CachedLibrary;
 import com.oracle.truffle.api.nodes.Node;
+import com.oracle.truffle.api.profiles.InlinedBranchProfile;
 import com.oracle.truffle.api.profiles.InlinedConditionProfile;
 import com.oracle.truffle.api.strings.TruffleString;
 
@@ -182,6 +188,43 @@ public final class BufferedReaderMixinBuiltins extends AbstractBufferedIOBuiltin
 
         public abstract int execute(VirtualFrame frame, Node inliningTarget, PBuffered self);
 
+        /*
+         * If the raw stream is exactly a FileIO, its readinto cannot be overridden, so we read
+         * directly into our buffer instead of going through a temporary bytearray.
+         */
+        @Specialization(guards = {"self.isFastClosedChecks()", "!self.getFileIORaw().isClosed()", "self.getFileIORaw().isReadable()"})
+        static int fillBufferFromFileIO(VirtualFrame frame, Node inliningTarget, PBuffered self,
+                        @CachedLibrary(limit = "1") PosixSupportLibrary posixLib,
+                        @Cached InlinedBranchProfile readErrorProfile,
+                        @Cached(inline = false) GilNode gil,
+                        @Cached PConstructAndRaiseNode.Lazy constructAndRaiseNode) {
+            int start;
+            if (isValidReadBuffer(self)) {
+                start = self.getReadEnd();
+            } else {
+                start = 0;
+            }
+            int len = self.getBufferSize() - start;
+            int n;
+            try {
+                n = FileIOBuiltins.readInto(inliningTarget, self.getFileIORaw(), self.getBuffer(), start, len, posixLib, readErrorProfile, gil);
+            } catch (PosixException e) {
+                if (e.getErrorCode() == EAGAIN.getNumber()) {
+                    return -2;
+                }
+                throw constructAndRaiseNode.get(inliningTarget).raiseOSErrorFromPosixException(frame, e);
+            }
+            if (n > 0 && self.getAbsPos() != -1) {
+                self.incAbsPos(n);
+            }
+            if (n == 0) {
+                return n;
+            }
+            self.setReadEnd(start + n);
+            self.setRawPos(start + n);
+            return n;
+        }
+
         @Specialization
         static int bufferedreaderFillBuffer(VirtualFrame frame, Node inliningTarget, PBuffered self,
                         @Cached RawReadNode rawReadNode) {
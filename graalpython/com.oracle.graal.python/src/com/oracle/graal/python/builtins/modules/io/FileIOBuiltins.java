@@ -658,6 +658,33 @@ public final class FileIOBuiltins extends PythonBuiltins {
         }
     }
 
+    /**
+     * Reads up to {@code length} bytes from the file directly into {@code dst} at {@code offset},
+     * without the intermediate {@code bytes} object that {@code os.read} creates. The GIL is released
+     * during the read, so {@code dst} must not be resized by other threads, i.e., it must belong to
+     * an exported buffer or to an object locked by the caller.
+     */
+    static int readInto(Node inliningTarget, PFileIO self, byte[] dst, int offset, int length,
+                    PosixSupportLibrary posixLib, InlinedBranchProfile errorProfile, GilNode gil) throws PosixException {
+        gil.release(true);
+        try {
+            while (true) {
+                try {
+                    return posixLib.readInto(PosixSupport.get(inliningTarget), self.getFD(), dst, offset, length);
+                } catch (PosixException e) {
+                    errorProfile.enter(inliningTarget);
+                    if (e.getErrorCode() == OSErrorEnum.EINTR.getNumber()) {
+                        PythonContext.triggerAsyncActions(inliningTarget);
+                    } else {
+                        throw e;
+                    }
+                }
+            }
+        } finally {
+            gil.acquire();
+        }
+    }
+
     @Builtin(name = J_READINTO, minNumOfPositionalArgs = 2, numOfPositionalOnlyArgs = 2, parameterNames = {"$self", "buffer"})
     @ArgumentClinic(name = "buffer", conversion = ArgumentClinic.ClinicConversion.WritableBuffer)
     @GenerateNodeFactory
@@ -680,6 +707,9 @@ public final class FileIOBuiltins extends PythonBuiltins {
                     return 0;
                 }
                 try {
+                    if (bufferLib.hasInternalByteArray(buffer)) {
+                        return readInto(inliningTarget, self, bufferLib.getInternalByteArray(buffer), 0, size, posixLib, readErrorProfile, gil);
+                    }
                     PBytes data = posixRead.read(self.getFD(), size, inliningTarget, posixLib, readErrorProfile, gil, factory);
                     int n = bufferLib.getBufferLength(data);
                     bufferLib.readIntoBuffer(data, 0, buffer, 0, n, bufferLib);
@@ -7,12 +7,16 @@ package com.oracle.graal.python.builtins.modules.json;
 
 import static com.oracle.graal.python.builtins.PythonBuiltinClassType.TypeError;
 import static com.oracle.graal.python.builtins.PythonBuiltinClassType.ValueError;
+import static com.oracle.graal.python.builtins.modules.io.IONodes.T_FLUSH;
+import static com.oracle.graal.python.builtins.modules.io.IONodes.T_WRITE;
+import static com.oracle.graal.python.nodes.BuiltinNames.T_EXTEND;
 import static com.oracle.graal.python.nodes.PGuards.isDouble;
 import static com.oracle.graal.python.nodes.PGuards.isInteger;
 import static com.oracle.graal.python.nodes.PGuards.isPFloat;
 import static com.oracle.graal.python.nodes.PGuards.isPInt;
 import static com.oracle.graal.python.nodes.PGuards.isString;
 import static com.oracle.graal.python.nodes.SpecialMethodNames.J___CALL__;
+import static com.oracle.graal.python.nodes.StringLiterals.T_STRICT;
 import static com.oracle.graal.python.nodes.truffle.TruffleStringMigrationHelpers.isJavaString;
 import static com.oracle.graal.python.util.PythonUtils.TS_ENCODING;
 import static com.oracle.graal.python.util.PythonUtils.toTruffleStringUncached;
@@ -26,7 +30,12 @@ import com.oracle.graal.python.builtins.Builtin;
 import com.oracle.graal.python.builtins.CoreFunctions;
 import com.oracle.graal.python.builtins.PythonBuiltinClassType;
 import com.oracle.graal.python.builtins.PythonBuiltins;
+import com.oracle.graal.python.builtins.modules.io.PTextIO;
+import com.oracle.graal.python.builtins.modules.json.JSONEncoderOutput.StringOutput;
+import com.oracle.graal.python.builtins.modules.json.JSONEncoderOutput.Utf8Output;
+import com.oracle.graal.python.builtins.modules.json.PJSONEncoder.FastEncode;
 import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.builtins.objects.bytes.PByteArray;
 import com.oracle.graal.python.builtins.objects.common.HashingStorage;
 import com.oracle.graal.python.builtins.objects.common.HashingStorageNodes.HashingStorageGetIterator;
 import com.oracle.graal.python.builtins.objects.common.HashingStorageNodes.HashingStorageIterator;
@@ -34,6 +43,7 @@ import com.oracle.graal.python.builtins.objects.common.HashingStorageNodes.Hashi
 import com.oracle.graal.python.builtins.objects.common.HashingStorageNodes.HashingStorageIteratorNext;
 import com.oracle.graal.python.builtins.objects.common.HashingStorageNodes.HashingStorageIteratorValue;
 import com.oracle.graal.python.builtins.objects.common.HashingStorageNodes.HashingStorageLen;
+import com.oracle.graal.python.builtins.objects.common.SequenceStorageNodes;
 import com.oracle.graal.python.builtins.objects.dict.PDict;
 import com.oracle.graal.python.builtins.objects.floats.FloatBuiltins;
 import com.oracle.graal.python.builtins.objects.floats.PFloat;
@@ -45,7 +55,10 @@ import com.oracle.graal.python.builtins.objects.str.StringNodes;
 import com.oracle.graal.python.builtins.objects.tuple.PTuple;
 import com.oracle.graal.python.builtins.objects.type.SpecialMethodSlot;
 import com.oracle.graal.python.lib.GetNextNode;
+import com.oracle.graal.python.lib.PyDictCheckExactNode;
 import com.oracle.graal.python.lib.PyListCheckExactNode;
+import com.oracle.graal.python.lib.PyObjectCallMethodObjArgs;
+import com.oracle.graal.python.lib.PyObjectGetAttr;
 import com.oracle.graal.python.lib.PyTupleCheckExactNode;
 import com.oracle.graal.python.nodes.ErrorMessages;
 import com.oracle.graal.python.nodes.PGuards;
@@ -55,6 +68,7 @@ import com.oracle.graal.python.nodes.builtins.ListNodes.ConstructListNode;
 import com.oracle.graal.python.nodes.call.special.CallUnaryMethodNode;
 import com.oracle.graal.python.nodes.call.special.LookupAndCallUnaryNode;
 import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonQuaternaryClinicBuiltinNode;
 import com.oracle.graal.python.nodes.function.builtins.PythonTernaryClinicBuiltinNode;
 import com.oracle.graal.python.nodes.function.builtins.clinic.ArgumentClinicProvider;
 import com.oracle.graal.python.nodes.object.BuiltinClassProfiles.IsBuiltinObjectProfile;
@@ -64,14 +78,23 @@ import com.oracle.graal.python.runtime.formatting.FloatFormatter;
 import com.oracle.graal.python.runtime.object.PythonObjectFactory;
 import com.oracle.graal.python.runtime.sequence.PSequence;
 import com.oracle.graal.python.runtime.sequence.storage.SequenceStorage;
+import com.oracle.graal.python.util.CharsetMapping;
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.dsl.Bind;
 import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.Cached.Shared;
+import com.oracle.truffle.api.dsl.Fallback;
+import com.oracle.truffle.api.dsl.GenerateCached;
+import com.oracle.truffle.api.dsl.GenerateInline;
 import com.oracle.truffle.api.dsl.GenerateNodeFactory;
+import com.oracle.truffle.api.dsl.ImportStatic;
 import com.oracle.truffle.api.dsl.NodeFactory;
 import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.nodes.Node;
 import com.oracle.truffle.api.strings.TruffleString;
 import com.oracle.truffle.api.strings.TruffleStringBuilder;
 import com.oracle.truffle.api.strings.TruffleStringBuilderUTF32;
+import com.oracle.truffle.api.strings.TruffleStringIterator;
 
 @CoreFunctions(extendClasses = PythonBuiltinClassType.JSONEncoder)
 public final class JSONEncoderBuiltins extends PythonBuiltins {
@@ -84,6 +107,12 @@ public final class JSONEncoderBuiltins extends PythonBuiltins {
     private static final TruffleString T_NAN = tsLiteral("NaN");
     private static final TruffleString T_BRACES = tsLiteral("{}");
     private static final TruffleString T_BRACKETS = tsLiteral("[]");
+    private static final TruffleString T_UTF_8 = tsLiteral("utf_8");
+    private static final TruffleString T_UTF8 = tsLiteral("utf8");
+
+    static final int DEFAULT_CHUNK_SIZE = 65536;
+    /* containers nested deeper than this are encoded recursively by AppendValueNode */
+    private static final int MAX_FAST_DEPTH = 64;
 
     @Override
     protected List<? extends NodeFactory<? extends PythonBuiltinBaseNode>> getNodeFactories() {
@@ -94,77 +123,406 @@ public final class JSONEncoderBuiltins extends PythonBuiltins {
     @ArgumentClinic(name = "_current_indent_level", conversion = ArgumentClinic.ClinicConversion.Int, defaultValue = "0", useDefaultForNone = true)
     @GenerateNodeFactory
     public abstract static class CallEncoderNode extends PythonTernaryClinicBuiltinNode {
-        @Child private LookupAndCallUnaryNode callGetItems = LookupAndCallUnaryNode.create(SpecialMethodNames.T_ITEMS);
-        @Child private LookupAndCallUnaryNode callGetDictIter = LookupAndCallUnaryNode.create(SpecialMethodSlot.Iter);
-        @Child private LookupAndCallUnaryNode callGetListIter = LookupAndCallUnaryNode.create(SpecialMethodSlot.Iter);
-        @Child private ListSortNode sortList = ListSortNode.create();
+        @Child private AppendValueNode appendValue = new AppendValueNode();
 
         @Override
         protected ArgumentClinicProvider getArgumentClinic() {
             return JSONEncoderBuiltinsClinicProviders.CallEncoderNodeClinicProviderGen.INSTANCE;
         }
 
+        @Specialization(guards = "isCompactAndFast(self)")
+        protected PTuple callFast(PJSONEncoder self, Object obj, @SuppressWarnings("unused") int indent,
+                        @Bind("this") Node inliningTarget,
+                        @Cached AppendScalarNode appendScalar,
+                        @Cached PyListCheckExactNode isList,
+                        @Cached PyTupleCheckExactNode isTuple,
+                        @Cached PyDictCheckExactNode isDict,
+                        @Cached SequenceStorageNodes.GetItemScalarNode getItem,
+                        @Cached HashingStorageLen dictLen,
+                        @Cached HashingStorageGetIterator getDictIterator,
+                        @Cached HashingStorageIteratorNext dictIteratorNext,
+                        @Cached HashingStorageIteratorKey dictIteratorKey,
+                        @Cached HashingStorageIteratorValue dictIteratorValue,
+                        @Cached TruffleStringBuilder.AppendCodePointNode appendCodePoint,
+                        @Cached TruffleStringBuilder.AppendStringNode appendString,
+                        @Cached TruffleStringBuilder.ToStringNode toString,
+                        @Cached PRaiseNode.Lazy raiseNode,
+                        @Shared @Cached PythonObjectFactory factory) {
+            TruffleStringBuilderUTF32 builder = TruffleStringBuilder.createUTF32();
+            EncodeFrame[] stack = null;
+            int depth = 0;
+            Object value = obj;
+            while (true) {
+                if (appendScalar.execute(inliningTarget, self, builder, value)) {
+                    // done
+                } else if (depth < MAX_FAST_DEPTH && (isList.execute(inliningTarget, value) || isTuple.execute(inliningTarget, value))) {
+                    SequenceStorage storage = ((PSequence) value).getSequenceStorage();
+                    if (storage.length() == 0) {
+                        appendString.execute(builder, T_BRACKETS);
+                    } else {
+                        stack = enterContainer(inliningTarget, self, stack, depth, new EncodeFrame(value, storage, null, null), raiseNode);
+                        depth++;
+                        appendCodePoint.execute(builder, '[', 1, true);
+                    }
+                } else if (depth < MAX_FAST_DEPTH && !self.sortKeys && isDict.execute(inliningTarget, value)) {
+                    HashingStorage storage = ((PDict) value).getDictStorage();
+                    if (dictLen.execute(inliningTarget, storage) == 0) {
+                        appendString.execute(builder, T_BRACES);
+                    } else {
+                        stack = enterContainer(inliningTarget, self, stack, depth, new EncodeFrame(value, null, storage, getDictIterator.execute(inliningTarget, storage)), raiseNode);
+                        depth++;
+                        appendCodePoint.execute(builder, '{', 1, true);
+                    }
+                } else {
+                    // subclasses, sort_keys, objects that need default() and very deep nesting
+                    appendValue.execute(self, new StringOutput(builder), value, 0);
+                }
+
+                // find the next value to encode, closing the containers that are exhausted
+                value = null;
+                while (depth > 0) {
+                    EncodeFrame frame = stack[depth - 1];
+                    if (frame.iterator == null) {
+                        SequenceStorage storage = frame.sequenceStorage;
+                        if (frame.index < storage.length()) {
+                            if (frame.index > 0) {
+                                appendString.execute(builder, self.itemSeparator);
+                            }
+                            value = getItem.execute(inliningTarget, storage, frame.index++);
+                            break;
+                        }
+                        appendCodePoint.execute(builder, ']', 1, true);
+                    } else {
+                        HashingStorage storage = frame.dictStorage;
+                        while (dictIteratorNext.execute(inliningTarget, storage, frame.iterator)) {
+                            Object key = dictIteratorKey.execute(inliningTarget, storage, frame.iterator);
+                            boolean stringKey = isString(key);
+                            if (!stringKey && !isSimpleObj(key)) {
+                                if (self.skipKeys) {
+                                    continue;
+                                }
+                                throw raiseNode.get(inliningTarget).raise(TypeError, ErrorMessages.KEYS_MUST_BE_STR_INT___NOT_P, key);
+                            }
+                            if (frame.index++ > 0) {
+                                appendString.execute(builder, self.itemSeparator);
+                            }
+                            if (!stringKey) {
+                                appendCodePoint.execute(builder, '"', 1, true);
+                            }
+                            if (!appendScalar.execute(inliningTarget, self, builder, key)) {
+                                appendValue.execute(self, new StringOutput(builder), key, 0);
+                            }
+                            if (!stringKey) {
+                                appendCodePoint.execute(builder, '"', 1, true);
+                            }
+                            appendString.execute(builder, self.keySeparator);
+                            value = dictIteratorValue.execute(inliningTarget, storage, frame.iterator);
+                            break;
+                        }
+                        if (value != null) {
+                            break;
+                        }
+                        appendCodePoint.execute(builder, '}', 1, true);
+                    }
+                    stack[--depth] = null;
+                }
+                if (value == null) {
+                    break;
+                }
+            }
+            return factory.createTuple(new Object[]{toString.execute(builder)});
+        }
+
+        @Specialization(guards = "!isCompactAndFast(self)")
+        protected PTuple call(PJSONEncoder self, Object obj, int indent,
+                        @Shared @Cached PythonObjectFactory factory) {
+            return factory.createTuple(new Object[]{jsonEncode(self, obj, indent)});
+        }
+
+        /**
+         * The compiled encoding loop handles compact output with the built-in string encoders,
+         * everything else goes through {@link AppendValueNode}.
+         */
+        static boolean isCompactAndFast(PJSONEncoder encoder) {
+            return encoder.indentString == null && encoder.fastEncode != FastEncode.None;
+        }
+
+        private static EncodeFrame[] enterContainer(Node inliningTarget, PJSONEncoder encoder, EncodeFrame[] stack, int depth, EncodeFrame frame, PRaiseNode.Lazy raiseNode) {
+            EncodeFrame[] result = stack == null ? new EncodeFrame[MAX_FAST_DEPTH] : stack;
+            if (encoder.markers != PNone.NONE) {
+                // all containers being encoded by the loop are on its stack
+                for (int i = 0; i < depth; i++) {
+                    if (result[i].container == frame.container) {
+                        throw raiseNode.get(inliningTarget).raise(ValueError, ErrorMessages.CIRCULAR_REFERENCE_DETECTED);
+                    }
+                }
+            }
+            result[depth] = frame;
+            return result;
+        }
+
+        @TruffleBoundary
+        private TruffleString jsonEncode(PJSONEncoder encoder, Object obj, int indentLevel) {
+            StringOutput out = new StringOutput(TruffleStringBuilder.createUTF32());
+            appendValue.execute(encoder, out, obj, indentLevel);
+            return out.toTruffleString();
+        }
+    }
+
+    /**
+     * A list, tuple or dict that is being encoded by {@link CallEncoderNode}.
+     */
+    static final class EncodeFrame {
+        final Object container;
+        final SequenceStorage sequenceStorage;
+        final HashingStorage dictStorage;
+        /* null for lists and tuples */
+        final HashingStorageIterator iterator;
+        /* index of the next list item, or number of dict entries written so far */
+        int index;
+
+        EncodeFrame(Object container, SequenceStorage sequenceStorage, HashingStorage dictStorage, HashingStorageIterator iterator) {
+            this.container = container;
+            this.sequenceStorage = sequenceStorage;
+            this.dictStorage = dictStorage;
+            this.iterator = iterator;
+        }
+    }
+
+    /**
+     * Appends None, booleans, numbers and strings, specializing on the types seen at this
+     * encoder. Returns {@code false} for all other objects.
+     */
+    @GenerateInline
+    @GenerateCached(false)
+    @ImportStatic(PGuards.class)
+    abstract static class AppendScalarNode extends Node {
+        abstract boolean execute(Node inliningTarget, PJSONEncoder encoder, TruffleStringBuilderUTF32 builder, Object obj);
+
+        @Specialization(guards = "isNone(obj)")
+        static boolean doNone(@SuppressWarnings("unused") PJSONEncoder encoder, TruffleStringBuilderUTF32 builder, @SuppressWarnings("unused") PNone obj,
+                        @Shared @Cached(inline = false) TruffleStringBuilder.AppendStringNode appendString) {
+            appendString.execute(builder, T_NULL);
+            return true;
+        }
+
+        @Specialization
+        static boolean doBoolean(@SuppressWarnings("unused") PJSONEncoder encoder, TruffleStringBuilderUTF32 builder, boolean obj,
+                        @Shared @Cached(inline = false) TruffleStringBuilder.AppendStringNode appendString) {
+            appendString.execute(builder, obj ? T_TRUE : T_FALSE);
+            return true;
+        }
+
         @Specialization
-        protected PTuple call(PJSONEncoder self, Object obj, @SuppressWarnings("unused") int indent,
-                        @Cached PythonObjectFactory factory) {
-            return factory.createTuple(new Object[]{jsonEncode(self, obj)});
+        static boolean doInt(@SuppressWarnings("unused") PJSONEncoder encoder, TruffleStringBuilderUTF32 builder, int obj,
+                        @Cached(inline = false) TruffleStringBuilder.AppendIntNumberNode appendInt) {
+            appendInt.execute(builder, obj);
+            return true;
+        }
+
+        @Specialization
+        static boolean doLong(@SuppressWarnings("unused") PJSONEncoder encoder, TruffleStringBuilderUTF32 builder, long obj,
+                        @Cached(inline = false) TruffleStringBuilder.AppendLongNumberNode appendLong) {
+            appendLong.execute(builder, obj);
+            return true;
+        }
+
+        @Specialization
+        static boolean doDouble(Node inliningTarget, PJSONEncoder encoder, TruffleStringBuilderUTF32 builder, double obj,
+                        @Shared @Cached(inline = false) TruffleStringBuilder.AppendStringNode appendString,
+                        @Shared @Cached PRaiseNode.Lazy raiseNode) {
+            appendString.execute(builder, formatFloat(inliningTarget, encoder, obj, raiseNode));
+            return true;
+        }
+
+        @Specialization
+        static boolean doPFloat(Node inliningTarget, PJSONEncoder encoder, TruffleStringBuilderUTF32 builder, PFloat obj,
+                        @Shared @Cached(inline = false) TruffleStringBuilder.AppendStringNode appendString,
+                        @Shared @Cached PRaiseNode.Lazy raiseNode) {
+            appendString.execute(builder, formatFloat(inliningTarget, encoder, obj.asDouble(), raiseNode));
+            return true;
+        }
+
+        @Specialization
+        static boolean doPInt(@SuppressWarnings("unused") PJSONEncoder encoder, TruffleStringBuilderUTF32 builder, PInt obj,
+                        @Shared @Cached(inline = false) TruffleStringBuilder.AppendStringNode appendString) {
+            appendString.execute(builder, pintToString(obj));
+            return true;
+        }
+
+        @Specialization
+        static boolean doString(PJSONEncoder encoder, TruffleStringBuilderUTF32 builder, TruffleString obj,
+                        @Shared @Cached(inline = false) TruffleString.CreateCodePointIteratorNode createIterator,
+                        @Shared @Cached(inline = false) TruffleStringIterator.NextNode nextNode,
+                        @Shared @Cached(inline = false) TruffleStringBuilder.AppendCodePointNode appendCodePoint,
+                        @Shared @Cached(inline = false) TruffleStringBuilder.AppendStringNode appendString,
+                        @Shared @Cached(inline = false) TruffleString.SubstringNode substring) {
+            assert encoder.fastEncode != FastEncode.None;
+            JSONUtils.appendString(obj, createIterator.execute(obj, TS_ENCODING), builder, encoder.fastEncode == FastEncode.FastEncodeAscii, nextNode, appendCodePoint, appendString, substring);
+            return true;
+        }
+
+        @Specialization
+        static boolean doPString(Node inliningTarget, PJSONEncoder encoder, TruffleStringBuilderUTF32 builder, PString obj,
+                        @Cached StringNodes.StringMaterializeNode materialize,
+                        @Shared @Cached(inline = false) TruffleString.CreateCodePointIteratorNode createIterator,
+                        @Shared @Cached(inline = false) TruffleStringIterator.NextNode nextNode,
+                        @Shared @Cached(inline = false) TruffleStringBuilder.AppendCodePointNode appendCodePoint,
+                        @Shared @Cached(inline = false) TruffleStringBuilder.AppendStringNode appendString,
+                        @Shared @Cached(inline = false) TruffleString.SubstringNode substring) {
+            return doString(encoder, builder, materialize.execute(inliningTarget, obj), createIterator, nextNode, appendCodePoint, appendString, substring);
+        }
+
+        @Fallback
+        static boolean doOther(@SuppressWarnings("unused") PJSONEncoder encoder, @SuppressWarnings("unused") TruffleStringBuilderUTF32 builder, @SuppressWarnings("unused") Object obj) {
+            return false;
         }
 
         @TruffleBoundary
-        private TruffleString jsonEncode(PJSONEncoder encoder, Object obj) {
-            TruffleStringBuilderUTF32 builder = TruffleStringBuilder.createUTF32();
-            appendListObj(encoder, builder, obj);
-            return TruffleStringBuilder.ToStringNode.getUncached().execute(builder);
+        private static TruffleString pintToString(PInt obj) {
+            return toTruffleStringUncached(obj.toString());
+        }
+
+        private static TruffleString formatFloat(Node inliningTarget, PJSONEncoder encoder, double obj, PRaiseNode.Lazy raiseNode) {
+            if (Double.isFinite(obj)) {
+                return formatDouble(obj, inliningTarget);
+            }
+            if (!encoder.allowNan) {
+                throw raiseNode.get(inliningTarget).raise(ValueError, ErrorMessages.OUT_OF_RANGE_FLOAT_NOT_JSON_COMPLIANT);
+            }
+            if (obj > 0) {
+                return T_POSITIVE_INFINITY;
+            } else if (obj < 0) {
+                return T_NEGATIVE_INFINITY;
+            } else {
+                return T_NAN;
+            }
+        }
+    }
+
+    @TruffleBoundary
+    private static TruffleString formatDouble(double obj, Node raisingNode) {
+        FloatFormatter f = new FloatFormatter(FloatBuiltins.StrNode.spec, raisingNode);
+        f.setMinFracDigits(1);
+        return FloatBuiltins.StrNode.doFormat(obj, f);
+    }
+
+    @Builtin(name = "dump_utf8", minNumOfPositionalArgs = 3, parameterNames = {"$self", "obj", "fp", "chunk_size"}, //
+                    doc = "dump_utf8(obj, fp, chunk_size=65536) -> bool\n" +
+                                    "\n" +
+                                    "Encode obj as UTF-8 and write it to fp in chunks of at most chunk_size bytes,\n" +
+                                    "without building the whole document in memory. fp is a bytearray, a binary\n" +
+                                    "stream or a UTF-8 TextIOWrapper, whose underlying buffer is written to directly.\n" +
+                                    "Returns False without writing anything if fp is a TextIOWrapper that cannot be\n" +
+                                    "written to this way, because of its encoding, errors or newline translation.")
+    @ArgumentClinic(name = "chunk_size", conversion = ArgumentClinic.ClinicConversion.Int, defaultValue = "DEFAULT_CHUNK_SIZE", useDefaultForNone = true)
+    @GenerateNodeFactory
+    public abstract static class DumpUtf8Node extends PythonQuaternaryClinicBuiltinNode {
+        @Child private AppendValueNode appendValue = new AppendValueNode();
+
+        @Override
+        protected ArgumentClinicProvider getArgumentClinic() {
+            return JSONEncoderBuiltinsClinicProviders.DumpUtf8NodeClinicProviderGen.INSTANCE;
+        }
+
+        @Specialization
+        @TruffleBoundary
+        boolean dump(PJSONEncoder self, Object obj, Object fp, int chunkSize) {
+            if (chunkSize <= 0) {
+                throw PRaiseNode.raiseUncached(this, ValueError, ErrorMessages.VALUE_MUST_BE_POSITIVE);
+            }
+            Object write;
+            if (fp instanceof PTextIO textIO) {
+                if (!canWriteUtf8(self, textIO)) {
+                    return false;
+                }
+                // push out the text written so far, the encoded document goes after it
+                PyObjectCallMethodObjArgs.executeUncached(textIO, T_FLUSH);
+                write = PyObjectGetAttr.executeUncached(textIO.getBuffer(), T_WRITE);
+            } else if (fp instanceof PByteArray) {
+                write = PyObjectGetAttr.executeUncached(fp, T_EXTEND);
+            } else {
+                write = PyObjectGetAttr.executeUncached(fp, T_WRITE);
+            }
+            Utf8Output out = new Utf8Output(write, chunkSize);
+            appendValue.execute(self, out, obj, 0);
+            out.flush();
+            return true;
         }
 
-        private void appendConst(TruffleStringBuilderUTF32 builder, Object obj) {
+        private static boolean canWriteUtf8(PJSONEncoder encoder, PTextIO textIO) {
+            if (!textIO.isOK() || textIO.isDetached() || textIO.hasDecoder() || !textIO.hasEncoding()) {
+                return false;
+            }
+            TruffleString encoding = CharsetMapping.normalizeUncached(textIO.getEncoding());
+            if (!T_UTF_8.equalsUncached(encoding, TS_ENCODING) && !T_UTF8.equalsUncached(encoding, TS_ENCODING)) {
+                return false;
+            }
+            // ASCII output is the same under every error handler
+            if (encoder.fastEncode != FastEncode.FastEncodeAscii && (textIO.getErrors() == null || !T_STRICT.equalsUncached(textIO.getErrors(), TS_ENCODING))) {
+                return false;
+            }
+            // the document only contains line breaks if it is indented
+            return encoder.indentString == null || !(textIO.isWriteTranslate() && textIO.hasWriteNewline());
+        }
+    }
+
+    /**
+     * Appends the JSON representation of an object to a {@link JSONEncoderOutput}.
+     */
+    static final class AppendValueNode extends Node {
+        @Child private LookupAndCallUnaryNode callGetItems = LookupAndCallUnaryNode.create(SpecialMethodNames.T_ITEMS);
+        @Child private LookupAndCallUnaryNode callGetDictIter = LookupAndCallUnaryNode.create(SpecialMethodSlot.Iter);
+        @Child private LookupAndCallUnaryNode callGetListIter = LookupAndCallUnaryNode.create(SpecialMethodSlot.Iter);
+        @Child private ListSortNode sortList = ListSortNode.create();
+
+        @TruffleBoundary
+        void execute(PJSONEncoder encoder, JSONEncoderOutput out, Object obj, int indentLevel) {
+            appendListObj(encoder, out, obj, indentLevel);
+        }
+
+        private static void appendConst(JSONEncoderOutput out, Object obj) {
             if (obj == PNone.NONE) {
-                builder.appendStringUncached(T_NULL);
+                out.appendString(T_NULL);
             } else if (obj == Boolean.TRUE) {
-                builder.appendStringUncached(T_TRUE);
+                out.appendString(T_TRUE);
             } else {
                 assert obj == Boolean.FALSE;
-                builder.appendStringUncached(T_FALSE);
+                out.appendString(T_FALSE);
             }
         }
 
-        private void appendFloat(PJSONEncoder encoder, TruffleStringBuilderUTF32 builder, double obj) {
+        private void appendFloat(PJSONEncoder encoder, JSONEncoderOutput out, double obj) {
             if (!Double.isFinite(obj)) {
                 if (!encoder.allowNan) {
                     throw PRaiseNode.raiseUncached(this, ValueError, ErrorMessages.OUT_OF_RANGE_FLOAT_NOT_JSON_COMPLIANT);
                 }
                 if (obj > 0) {
-                    builder.appendStringUncached(T_POSITIVE_INFINITY);
+                    out.appendString(T_POSITIVE_INFINITY);
                 } else if (obj < 0) {
-                    builder.appendStringUncached(T_NEGATIVE_INFINITY);
+                    out.appendString(T_NEGATIVE_INFINITY);
                 } else {
-                    builder.appendStringUncached(T_NAN);
+                    out.appendString(T_NAN);
                 }
             } else {
-                builder.appendStringUncached(formatDouble(obj));
+                out.appendString(formatDouble(obj, this));
             }
         }
 
-        private TruffleString formatDouble(double obj) {
-            FloatFormatter f = new FloatFormatter(FloatBuiltins.StrNode.spec, this);
-            f.setMinFracDigits(1);
-            return FloatBuiltins.StrNode.doFormat(obj, f);
-        }
-
-        private void appendString(PJSONEncoder encoder, TruffleStringBuilderUTF32 builder, TruffleString obj) {
+        private void appendString(PJSONEncoder encoder, JSONEncoderOutput out, TruffleString obj) {
             switch (encoder.fastEncode) {
                 case FastEncode:
-                    JSONUtils.appendStringUncached(obj, builder, false);
+                    out.appendJSONString(obj, false);
                     break;
                 case FastEncodeAscii:
-                    JSONUtils.appendStringUncached(obj, builder, true);
+                    out.appendJSONString(obj, true);
                     break;
                 case None:
                     Object result = CallUnaryMethodNode.getUncached().executeObject(encoder.encoder, obj);
                     if (!isString(result)) {
                         throw PRaiseNode.raiseUncached(this, TypeError, ErrorMessages.ENCODER_MUST_RETURN_STR, result);
                     }
-                    builder.appendStringUncached(CastToTruffleStringNode.executeUncached(result));
+                    out.appendString(CastToTruffleStringNode.executeUncached(result));
                     break;
                 default:
                     assert false;
@@ -176,44 +534,44 @@ public final class JSONEncoderBuiltins extends PythonBuiltins {
             return obj == PNone.NONE || obj == Boolean.TRUE || obj == Boolean.FALSE || isString(obj) || isInteger(obj) || isPInt(obj) || obj instanceof Float || isDouble(obj) || isPFloat(obj);
         }
 
-        private boolean appendSimpleObj(PJSONEncoder encoder, TruffleStringBuilderUTF32 builder, Object obj) {
+        private boolean appendSimpleObj(PJSONEncoder encoder, JSONEncoderOutput out, Object obj) {
             if (obj == PNone.NONE || obj == Boolean.TRUE || obj == Boolean.FALSE) {
-                appendConst(builder, obj);
+                appendConst(out, obj);
             } else if (isJavaString(obj)) {
-                appendString(encoder, builder, toTruffleStringUncached((String) obj));
+                appendString(encoder, out, toTruffleStringUncached((String) obj));
             } else if (obj instanceof TruffleString) {
-                appendString(encoder, builder, (TruffleString) obj);
+                appendString(encoder, out, (TruffleString) obj);
             } else if (obj instanceof PString) {
-                appendString(encoder, builder, StringNodes.StringMaterializeNode.executeUncached((PString) obj));
+                appendString(encoder, out, StringNodes.StringMaterializeNode.executeUncached((PString) obj));
             } else if (obj instanceof Integer) {
-                builder.appendIntNumberUncached((int) obj);
+                out.appendLong((int) obj);
             } else if (obj instanceof Long) {
-                builder.appendLongNumberUncached((long) obj);
+                out.appendLong((long) obj);
             } else if (obj instanceof PInt) {
-                builder.appendStringUncached(TruffleString.FromJavaStringNode.getUncached().execute(castExact(obj, PInt.class).toString(), TS_ENCODING));
+                out.appendString(TruffleString.FromJavaStringNode.getUncached().execute(castExact(obj, PInt.class).toString(), TS_ENCODING));
             } else if (obj instanceof Float) {
-                appendFloat(encoder, builder, (float) obj);
+                appendFloat(encoder, out, (float) obj);
             } else if (obj instanceof Double) {
-                appendFloat(encoder, builder, (double) obj);
+                appendFloat(encoder, out, (double) obj);
             } else if (obj instanceof PFloat) {
-                appendFloat(encoder, builder, ((PFloat) obj).asDouble());
+                appendFloat(encoder, out, ((PFloat) obj).asDouble());
             } else {
                 return false;
             }
             return true;
         }
 
-        private void appendListObj(PJSONEncoder encoder, TruffleStringBuilderUTF32 builder, Object obj) {
-            if (appendSimpleObj(encoder, builder, obj)) {
+        private void appendListObj(PJSONEncoder encoder, JSONEncoderOutput out, Object obj, int indentLevel) {
+            if (appendSimpleObj(encoder, out, obj)) {
                 // done
             } else if (obj instanceof PList || obj instanceof PTuple) {
-                appendList(encoder, builder, (PSequence) obj);
+                appendList(encoder, out, (PSequence) obj, indentLevel);
             } else if (obj instanceof PDict) {
-                appendDict(encoder, builder, (PDict) obj);
+                appendDict(encoder, out, (PDict) obj, indentLevel);
             } else {
                 startRecursion(encoder, obj);
                 Object newObj = CallUnaryMethodNode.getUncached().executeObject(encoder.defaultFn, obj);
-                appendListObj(encoder, builder, newObj);
+                appendListObj(encoder, out, newObj, indentLevel);
                 endRecursion(encoder, obj);
             }
         }
@@ -232,14 +590,32 @@ public final class JSONEncoderBuiltins extends PythonBuiltins {
             }
         }
 
-        private void appendDict(PJSONEncoder encoder, TruffleStringBuilderUTF32 builder, PDict dict) {
+        private static void appendNewlineIndent(PJSONEncoder encoder, JSONEncoderOutput out, int indentLevel) {
+            out.appendCodePoint('\n');
+            for (int i = 0; i < indentLevel; i++) {
+                out.appendString(encoder.indentString);
+            }
+        }
+
+        private static void appendItemSeparator(PJSONEncoder encoder, JSONEncoderOutput out, int indentLevel) {
+            out.appendString(encoder.itemSeparator);
+            if (encoder.indentString != null) {
+                appendNewlineIndent(encoder, out, indentLevel);
+            }
+        }
+
+        private void appendDict(PJSONEncoder encoder, JSONEncoderOutput out, PDict dict, int indentLevel) {
             HashingStorage storage = dict.getDictStorage();
 
             if (HashingStorageLen.executeUncached(storage) == 0) {
-                builder.appendStringUncached(T_BRACES);
+                out.appendString(T_BRACES);
             } else {
                 startRecursion(encoder, dict);
-                builder.appendCodePointUncached('{');
+                out.appendCodePoint('{');
+                int innerLevel = indentLevel + 1;
+                if (encoder.indentString != null) {
+                    appendNewlineIndent(encoder, out, innerLevel);
+                }
 
                 if (!encoder.sortKeys && PGuards.isBuiltinDict(dict)) {
                     HashingStorageIterator it = HashingStorageGetIterator.executeUncached(storage);
@@ -247,18 +623,21 @@ public final class JSONEncoderBuiltins extends PythonBuiltins {
                     while (HashingStorageIteratorNext.executeUncached(storage, it)) {
                         Object key = HashingStorageIteratorKey.executeUncached(storage, it);
                         Object value = HashingStorageIteratorValue.executeUncached(storage, it);
-                        first = appendDictEntry(encoder, builder, first, key, value);
+                        first = appendDictEntry(encoder, out, first, key, value, innerLevel);
                     }
                 } else {
-                    appendDictSlowPath(encoder, builder, dict);
+                    appendDictSlowPath(encoder, out, dict, innerLevel);
                 }
 
-                builder.appendCodePointUncached('}');
+                if (encoder.indentString != null) {
+                    appendNewlineIndent(encoder, out, indentLevel);
+                }
+                out.appendCodePoint('}');
                 endRecursion(encoder, dict);
             }
         }
 
-        private void appendDictSlowPath(PJSONEncoder encoder, TruffleStringBuilderUTF32 builder, com.oracle.graal.python.builtins.objects.dict.PDict dict) {
+        private void appendDictSlowPath(PJSONEncoder encoder, JSONEncoderOutput out, PDict dict, int indentLevel) {
             PList items = ConstructListNode.getUncached().execute(null, callGetItems.executeObject(null, dict));
             if (encoder.sortKeys) {
                 sortList.execute(null, items);
@@ -279,58 +658,66 @@ public final class JSONEncoderBuiltins extends PythonBuiltins {
                 SequenceStorage sequenceStorage = ((PTuple) item).getSequenceStorage();
                 Object key = sequenceStorage.getItemNormalized(0);
                 Object value = sequenceStorage.getItemNormalized(1);
-                first = appendDictEntry(encoder, builder, first, key, value);
+                first = appendDictEntry(encoder, out, first, key, value, indentLevel);
             }
         }
 
-        private boolean appendDictEntry(PJSONEncoder encoder, TruffleStringBuilderUTF32 builder, boolean first, Object key, Object value) {
+        private boolean appendDictEntry(PJSONEncoder encoder, JSONEncoderOutput out, boolean first, Object key, Object value, int indentLevel) {
+            boolean stringKey = isString(key);
+            if (!stringKey && !isSimpleObj(key)) {
+                if (encoder.skipKeys) {
+                    return first;
+                }
+                throw PRaiseNode.raiseUncached(this, TypeError, ErrorMessages.KEYS_MUST_BE_STR_INT___NOT_P, key);
+            }
             if (!first) {
-                builder.appendStringUncached(encoder.itemSeparator);
+                appendItemSeparator(encoder, out, indentLevel);
             }
-            if (isString(key)) {
-                appendSimpleObj(encoder, builder, key);
+            if (stringKey) {
+                appendSimpleObj(encoder, out, key);
             } else {
-                if (!isSimpleObj(key)) {
-                    if (encoder.skipKeys) {
-                        return true;
-                    }
-                    throw PRaiseNode.raiseUncached(this, TypeError, ErrorMessages.KEYS_MUST_BE_STR_INT___NOT_P, key);
-                }
-                builder.appendCodePointUncached('"');
-                appendSimpleObj(encoder, builder, key);
-                builder.appendCodePointUncached('"');
+                out.appendCodePoint('"');
+                appendSimpleObj(encoder, out, key);
+                out.appendCodePoint('"');
             }
-            builder.appendStringUncached(encoder.keySeparator);
-            appendListObj(encoder, builder, value);
+            out.appendString(encoder.keySeparator);
+            appendListObj(encoder, out, value, indentLevel);
             return false;
         }
 
-        private void appendList(PJSONEncoder encoder, TruffleStringBuilderUTF32 builder, PSequence list) {
+        private void appendList(PJSONEncoder encoder, JSONEncoderOutput out, PSequence list, int indentLevel) {
             SequenceStorage storage = list.getSequenceStorage();
 
             if (storage.length() == 0) {
-                builder.appendStringUncached(T_BRACKETS);
+                out.appendString(T_BRACKETS);
             } else {
                 startRecursion(encoder, list);
-                builder.appendCodePointUncached('[');
+                out.appendCodePoint('[');
+                int innerLevel = indentLevel + 1;
+                if (encoder.indentString != null) {
+                    appendNewlineIndent(encoder, out, innerLevel);
+                }
 
                 if (PyTupleCheckExactNode.executeUncached(list) || PyListCheckExactNode.executeUncached(list)) {
                     for (int i = 0; i < storage.length(); i++) {
                         if (i > 0) {
-                            builder.appendStringUncached(encoder.itemSeparator);
+                            appendItemSeparator(encoder, out, innerLevel);
                         }
-                        appendListObj(encoder, builder, storage.getItemNormalized(i));
+                        appendListObj(encoder, out, storage.getItemNormalized(i), innerLevel);
                     }
                 } else {
-                    appendListSlowPath(encoder, builder, list);
+                    appendListSlowPath(encoder, out, list, innerLevel);
                 }
 
-                builder.appendCodePointUncached(']');
+                if (encoder.indentString != null) {
+                    appendNewlineIndent(encoder, out, indentLevel);
+                }
+                out.appendCodePoint(']');
                 endRecursion(encoder, list);
             }
         }
 
-        private void appendListSlowPath(PJSONEncoder encoder, TruffleStringBuilderUTF32 builder, PSequence list) {
+        private void appendListSlowPath(PJSONEncoder encoder, JSONEncoderOutput out, PSequence list, int indentLevel) {
             Object iter = callGetListIter.executeObject(null, list);
             boolean first = true;
             while (true) {
@@ -342,10 +729,10 @@ public final class JSONEncoderBuiltins extends PythonBuiltins {
                     break;
                 }
                 if (!first) {
-                    builder.appendStringUncached(encoder.itemSeparator);
+                    appendItemSeparator(encoder, out, indentLevel);
                 }
                 first = false;
-                appendListObj(encoder, builder, item);
+                appendListObj(encoder, out, item, indentLevel);
             }
         }
     }
@@ -0,0 +1,253 @@
+/*
+ * Copyright (c) 2024, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.modules.json;
+
+import static com.oracle.graal.python.builtins.objects.bytes.BytesUtils.HEXDIGITS;
+import static com.oracle.graal.python.util.PythonUtils.TS_ENCODING;
+
+import java.util.Arrays;
+
+import com.oracle.graal.python.nodes.PConstructAndRaiseNode;
+import com.oracle.graal.python.nodes.call.special.CallUnaryMethodNode;
+import com.oracle.graal.python.runtime.object.PythonObjectFactory;
+import com.oracle.truffle.api.strings.TruffleString;
+import com.oracle.truffle.api.strings.TruffleStringBuilder;
+import com.oracle.truffle.api.strings.TruffleStringBuilderUTF32;
+import com.oracle.truffle.api.strings.TruffleStringIterator;
+
+/**
+ * Destination of the JSON encoder. Either collects the whole document in a string builder or
+ * encodes it to UTF-8 and hands it out in fixed-size chunks, so that the memory used while
+ * streaming a large document into a file does not depend on the size of the document.
+ */
+abstract class JSONEncoderOutput {
+
+    abstract void appendCodePoint(int c);
+
+    /**
+     * Appends {@code s} without any escaping.
+     */
+    abstract void appendString(TruffleString s);
+
+    abstract void appendLong(long value);
+
+    /**
+     * Appends {@code s} as a quoted and escaped JSON string literal.
+     */
+    abstract void appendJSONString(TruffleString s, boolean asciiOnly);
+
+    static final class StringOutput extends JSONEncoderOutput {
+        private final TruffleStringBuilderUTF32 builder;
+
+        StringOutput(TruffleStringBuilderUTF32 builder) {
+            this.builder = builder;
+        }
+
+        @Override
+        void appendCodePoint(int c) {
+            builder.appendCodePointUncached(c);
+        }
+
+        @Override
+        void appendString(TruffleString s) {
+            builder.appendStringUncached(s);
+        }
+
+        @Override
+        void appendLong(long value) {
+            builder.appendLongNumberUncached(value);
+        }
+
+        @Override
+        void appendJSONString(TruffleString s, boolean asciiOnly) {
+            JSONUtils.appendStringUncached(s, builder, asciiOnly);
+        }
+
+        TruffleString toTruffleString() {
+            return TruffleStringBuilder.ToStringNode.getUncached().execute(builder);
+        }
+    }
+
+    /**
+     * Encodes the output to UTF-8 and passes every full chunk as a {@code bytes} object to the
+     * {@code write} callable. Lone surrogates cannot be encoded and raise
+     * {@code UnicodeEncodeError}, like writing them to a strict UTF-8 stream would.
+     */
+    static final class Utf8Output extends JSONEncoderOutput {
+        private static final int MIN_CHUNK_SIZE = 64;
+
+        private final Object write;
+        private final byte[] chunk;
+        private int position;
+
+        Utf8Output(Object write, int chunkSize) {
+            this.write = write;
+            this.chunk = new byte[Math.max(chunkSize, MIN_CHUNK_SIZE)];
+        }
+
+        @Override
+        void appendCodePoint(int c) {
+            if (c < 0x80) {
+                ensureCapacity(1);
+                chunk[position++] = (byte) c;
+            } else if (c < 0x800) {
+                ensureCapacity(2);
+                chunk[position++] = (byte) (0xc0 | (c >> 6));
+                chunk[position++] = (byte) (0x80 | (c & 0x3f));
+            } else if (c < 0x10000) {
+                ensureCapacity(3);
+                chunk[position++] = (byte) (0xe0 | (c >> 12));
+                chunk[position++] = (byte) (0x80 | ((c >> 6) & 0x3f));
+                chunk[position++] = (byte) (0x80 | (c & 0x3f));
+            } else {
+                ensureCapacity(4);
+                chunk[position++] = (byte) (0xf0 | (c >> 18));
+                chunk[position++] = (byte) (0x80 | ((c >> 12) & 0x3f));
+                chunk[position++] = (byte) (0x80 | ((c >> 6) & 0x3f));
+                chunk[position++] = (byte) (0x80 | (c & 0x3f));
+            }
+        }
+
+        @Override
+        void appendString(TruffleString s) {
+            TruffleStringIterator it = s.createCodePointIteratorUncached(TS_ENCODING);
+            int index = 0;
+            while (it.hasNext()) {
+                appendEncodable(s, index++, it.nextUncached());
+            }
+        }
+
+        @Override
+        void appendLong(long value) {
+            String digits = Long.toString(value);
+            ensureCapacity(digits.length());
+            for (int i = 0; i < digits.length(); i++) {
+                chunk[position++] = (byte) digits.charAt(i);
+            }
+        }
+
+        @Override
+        void appendJSONString(TruffleString s, boolean asciiOnly) {
+            appendCodePoint('"');
+            TruffleStringIterator it = s.createCodePointIteratorUncached(TS_ENCODING);
+            int index = 0;
+            while (it.hasNext()) {
+                int c = it.nextUncached();
+                switch (c) {
+                    case '\\':
+                    case '"':
+                        appendEscape(c);
+                        break;
+                    case '\b':
+                        appendEscape('b');
+                        break;
+                    case '\f':
+                        appendEscape('f');
+                        break;
+                    case '\n':
+                        appendEscape('n');
+                        break;
+                    case '\r':
+                        appendEscape('r');
+                        break;
+                    case '\t':
+                        appendEscape('t');
+                        break;
+                    default:
+                        if (c <= 0x1f || (asciiOnly && c > '~')) {
+                            if (c <= 0xffff) {
+                                appendEscapedUtf16((char) c);
+                            } else {
+                                // split SMP codepoint to surrogate pair
+                                appendEscapedUtf16((char) (0xD800 + ((c - 0x10000) >> 10)));
+                                appendEscapedUtf16((char) (0xDC00 + ((c - 0x10000) & 0x3FF)));
+                            }
+                        } else {
+                            appendEncodable(s, index, c);
+                        }
+                        break;
+                }
+                index++;
+            }
+            appendCodePoint('"');
+        }
+
+        /**
+         * Writes out the remaining partial chunk.
+         */
+        void flush() {
+            if (position > 0) {
+                byte[] bytes = Arrays.copyOf(chunk, position);
+                position = 0;
+                CallUnaryMethodNode.getUncached().executeObject(write, PythonObjectFactory.getUncached().createBytes(bytes));
+            }
+        }
+
+        private void appendEncodable(TruffleString s, int index, int c) {
+            if (c >= 0xD800 && c <= 0xDFFF) {
+                throw PConstructAndRaiseNode.getUncached().raiseUnicodeEncodeError(null, "utf-8", s, index, index + 1, "surrogates not allowed");
+            }
+            appendCodePoint(c);
+        }
+
+        private void appendEscape(int c) {
+            ensureCapacity(2);
+            chunk[position++] = '\\';
+            chunk[position++] = (byte) c;
+        }
+
+        private void appendEscapedUtf16(char c) {
+            ensureCapacity(6);
+            chunk[position++] = '\\';
+            chunk[position++] = 'u';
+            chunk[position++] = HEXDIGITS[(c >> 12) & 0xf];
+            chunk[position++] = HEXDIGITS[(c >> 8) & 0xf];
+            chunk[position++] = HEXDIGITS[(c >> 4) & 0xf];
+            chunk[position++] = HEXDIGITS[c & 0xf];
+        }
+
+        private void ensureCapacity(int n) {
+            if (position + n > chunk.length) {
+                flush();
+            }
+        }
+    }
+}
@@ -5,11 +5,16 @@
  */
 package com.oracle.graal.python.builtins.modules.json;
 
+import static com.oracle.graal.python.nodes.BuiltinNames.T_DECODE;
 import static com.oracle.graal.python.nodes.SpecialMethodNames.J___CALL__;
+import static com.oracle.graal.python.nodes.StringLiterals.T_SURROGATEPASS;
+import static com.oracle.graal.python.nodes.StringLiterals.T_UTF8;
+import static com.oracle.graal.python.util.PythonUtils.TS_ENCODING;
 import static com.oracle.graal.python.util.PythonUtils.toTruffleStringUncached;
 import static com.oracle.graal.python.util.PythonUtils.tsLiteral;
 
 import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 import com.oracle.graal.python.PythonLanguage;
@@ -20,37 +25,52 @@ import com.oracle.graal.python.builtins.PythonBuiltinClassType;
 import com.oracle.graal.python.builtins.PythonBuiltins;
 import com.oracle.graal.python.builtins.modules.BuiltinConstructors;
 import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.builtins.objects.bytes.PByteArray;
+import com.oracle.graal.python.builtins.objects.bytes.PBytes;
+import com.oracle.graal.python.builtins.objects.bytes.PBytesLike;
 import com.oracle.graal.python.builtins.objects.common.EconomicMapStorage;
 import com.oracle.graal.python.builtins.objects.common.HashingStorage;
 import com.oracle.graal.python.builtins.objects.common.HashingStorageNodes.HashingStorageSetItem;
+import com.oracle.graal.python.builtins.objects.common.SequenceStorageNodes;
 import com.oracle.graal.python.builtins.objects.dict.PDict;
 import com.oracle.graal.python.builtins.objects.floats.FloatUtils;
 import com.oracle.graal.python.builtins.objects.tuple.PTuple;
-import com.oracle.graal.python.lib.PyFloatCheckExactNode;
-import com.oracle.graal.python.lib.PyLongCheckExactNode;
+import com.oracle.graal.python.lib.PyObjectCallMethodObjArgs;
 import com.oracle.graal.python.lib.PyObjectLookupAttr;
 import com.oracle.graal.python.nodes.ErrorMessages;
 import com.oracle.graal.python.nodes.PRaiseNode;
 import com.oracle.graal.python.nodes.call.CallNode;
 import com.oracle.graal.python.nodes.call.special.CallUnaryMethodNode;
+import com.oracle.graal.python.nodes.classes.IsSubtypeNode;
 import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonBinaryBuiltinNode;
 import com.oracle.graal.python.nodes.function.builtins.PythonTernaryClinicBuiltinNode;
 import com.oracle.graal.python.nodes.function.builtins.clinic.ArgumentClinicProvider;
+import com.oracle.graal.python.nodes.object.GetClassNode;
 import com.oracle.graal.python.nodes.statement.AbstractImportNode;
+import com.oracle.graal.python.nodes.util.CastToTruffleStringNode;
 import com.oracle.graal.python.runtime.PythonContext;
+import com.oracle.graal.python.runtime.exception.PException;
 import com.oracle.graal.python.runtime.object.PythonObjectFactory;
+import com.oracle.graal.python.runtime.sequence.storage.ByteSequenceStorage;
 import com.oracle.graal.python.runtime.sequence.storage.ObjectSequenceStorage;
+import com.oracle.graal.python.runtime.sequence.storage.SequenceStorage;
+import com.oracle.graal.python.util.PythonUtils;
 import com.oracle.truffle.api.CompilerAsserts;
 import com.oracle.truffle.api.CompilerDirectives;
 import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.dsl.Bind;
 import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.Fallback;
 import com.oracle.truffle.api.dsl.GenerateNodeFactory;
 import com.oracle.truffle.api.dsl.NodeFactory;
 import com.oracle.truffle.api.dsl.Specialization;
 import com.oracle.truffle.api.nodes.Node;
 import com.oracle.truffle.api.object.Shape;
 import com.oracle.truffle.api.strings.TruffleString;
+import com.oracle.truffle.api.strings.TruffleString.CodeRange;
+import com.oracle.truffle.api.strings.TruffleString.Encoding;
 
 @CoreFunctions(extendClasses = PythonBuiltinClassType.JSONScanner)
 public final class JSONScannerBuiltins extends PythonBuiltins {
@@ -61,6 +81,36 @@ public final class JSONScannerBuiltins extends PythonBuiltins {
         int value;
     }
 
+    /* arrays and objects nested deeper than this are parsed recursively */
+    private static final int MAX_FAST_DEPTH = 64;
+
+    /**
+     * An array or object that is being parsed by {@link CallScannerNode} or {@link DecodeUtf8Node}.
+     */
+    static final class ScanFrame {
+        final boolean isObject;
+        /* items of an array, or key-value tuples for object_pairs_hook */
+        final ObjectSequenceStorage list;
+        /* entries of an object without object_pairs_hook */
+        HashingStorage map;
+        /* key of the object entry whose value is parsed next */
+        TruffleString key;
+
+        ScanFrame(boolean isObject, boolean hasPairsHook) {
+            this.isObject = isObject;
+            if (isObject && !hasPairsHook) {
+                this.list = null;
+                this.map = EconomicMapStorage.create();
+            } else {
+                this.list = new ObjectSequenceStorage(4);
+            }
+        }
+
+        char closing() {
+            return isObject ? '}' : ']';
+        }
+    }
+
     @Override
     protected List<? extends NodeFactory<? extends PythonBuiltinBaseNode>> getNodeFactories() {
         return JSONScannerBuiltinsFactory.getFactories();
@@ -72,7 +122,6 @@ public final class JSONScannerBuiltins extends PythonBuiltins {
     @GenerateNodeFactory
     public abstract static class CallScannerNode extends PythonTernaryClinicBuiltinNode {
 
-        // TODO: do we need these nodes, they are all used behind TruffleBoundary
         @Child private CallUnaryMethodNode callParseFloat = CallUnaryMethodNode.create();
         @Child private CallUnaryMethodNode callParseInt = CallUnaryMethodNode.create();
         @Child private CallUnaryMethodNode callParseConstant = CallUnaryMethodNode.create();
@@ -91,7 +140,11 @@ public final class JSONScannerBuiltins extends PythonBuiltins {
 
         @Specialization
         protected PTuple call(PJSONScanner self, TruffleString string, int idx,
-                        @Cached TruffleString.ToJavaStringNode toJavaStringNode) {
+                        @Bind("this") Node inliningTarget,
+                        @Cached TruffleString.ToJavaStringNode toJavaStringNode,
+                        @Cached TruffleString.FromJavaStringNode fromJavaStringNode,
+                        @Cached HashingStorageSetItem setItem,
+                        @Cached PRaiseNode.Lazy raiseNode) {
             if (tupleInstanceShape == null) {
                 CompilerDirectives.transferToInterpreterAndInvalidate();
                 tupleInstanceShape = PythonLanguage.get(this).getBuiltinTypeInstanceShape(PythonBuiltinClassType.PTuple);
@@ -104,11 +157,195 @@ public final class JSONScannerBuiltins extends PythonBuiltins {
                 CompilerDirectives.transferToInterpreterAndInvalidate();
                 dictInstanceShape = PythonLanguage.get(this).getBuiltinTypeInstanceShape(PythonBuiltinClassType.PDict);
             }
+            if (idx < 0) {
+                throw raiseNode.get(inliningTarget).raise(PythonBuiltinClassType.ValueError, ErrorMessages.IDX_CANNOT_BE_NEG);
+            }
             IntRef nextIdx = new IntRef();
-            Object result = scanOnceUnicode(self, toJavaStringNode.execute(string), idx, nextIdx);
+            Object result = scanOnce(inliningTarget, self, toJavaStringNode.execute(string), idx, nextIdx, fromJavaStringNode, setItem);
             return factory.createTuple(new Object[]{result, nextIdx.value});
         }
 
+        /**
+         * Reads one JSON term like {@link #scanOnceUnicode}, but keeps the open arrays and
+         * objects on an explicit stack instead of recursing, so that it can be compiled.
+         * Strings with escapes, floats, big integers, named constants and containers nested
+         * deeper than {@link #MAX_FAST_DEPTH} are delegated to the recursive implementation.
+         */
+        private Object scanOnce(Node inliningTarget, PJSONScanner scanner, String string, int startIdx, IntRef nextIdx, TruffleString.FromJavaStringNode fromJavaStringNode,
+                        HashingStorageSetItem setItem) {
+            int length = string.length();
+            ScanFrame[] stack = null;
+            int depth = 0;
+            int idx = startIdx;
+            while (true) {
+                if (idx >= length) {
+                    throw stopIteration(this, idx);
+                }
+                Object value;
+                char c = string.charAt(idx);
+                if ((c == '{' || c == '[') && depth < MAX_FAST_DEPTH) {
+                    ScanFrame frame = new ScanFrame(c == '{', c == '{' && scanner.objectPairsHook != PNone.NONE);
+                    idx = skipWhitespace(string, idx + 1, length);
+                    if (idx < length && string.charAt(idx) == frame.closing()) {
+                        idx++;
+                        value = finishContainer(scanner, frame);
+                    } else {
+                        if (stack == null) {
+                            stack = new ScanFrame[MAX_FAST_DEPTH];
+                        }
+                        stack[depth++] = frame;
+                        if (frame.isObject) {
+                            idx = scanKey(scanner, string, idx, nextIdx, frame, fromJavaStringNode);
+                        }
+                        continue;
+                    }
+                } else {
+                    value = scanValue(scanner, string, idx, nextIdx, fromJavaStringNode);
+                    idx = nextIdx.value;
+                }
+
+                // add the value to the enclosing containers, as long as they are closed after it
+                while (true) {
+                    if (depth == 0) {
+                        nextIdx.value = idx;
+                        return value;
+                    }
+                    ScanFrame frame = stack[depth - 1];
+                    if (frame.map != null) {
+                        frame.map = setItem.execute(inliningTarget, frame.map, frame.key, value);
+                    } else if (frame.isObject) {
+                        frame.list.insertItem(frame.list.length(), factory.createTuple(PythonBuiltinClassType.PTuple, tupleInstanceShape, new Object[]{frame.key, value}));
+                    } else {
+                        frame.list.insertItem(frame.list.length(), value);
+                    }
+                    idx = skipWhitespace(string, idx, length);
+                    if (idx < length && string.charAt(idx) == frame.closing()) {
+                        idx++;
+                        stack[--depth] = null;
+                        value = finishContainer(scanner, frame);
+                        continue;
+                    }
+                    if (idx >= length || string.charAt(idx) != ',') {
+                        throw decodeError(this, string, idx, ErrorMessages.EXPECTING_COMMA_DELIMITER);
+                    }
+                    idx = skipWhitespace(string, idx + 1, length);
+                    if (frame.isObject) {
+                        idx = scanKey(scanner, string, idx, nextIdx, frame, fromJavaStringNode);
+                    }
+                    break;
+                }
+            }
+        }
+
+        /**
+         * Reads an object key and the following colon into {@code frame} and returns the index
+         * of its value.
+         */
+        private int scanKey(PJSONScanner scanner, String string, int start, IntRef nextIdx, ScanFrame frame, TruffleString.FromJavaStringNode fromJavaStringNode) {
+            int length = string.length();
+            if (start >= length || string.charAt(start) != '"') {
+                throw decodeError(this, string, start, ErrorMessages.EXPECTING_PROP_NAME_ECLOSED_IN_DBL_QUOTES);
+            }
+            frame.key = scanner.internKey(scanString(scanner, string, start + 1, nextIdx, fromJavaStringNode));
+            int idx = skipWhitespace(string, nextIdx.value, length);
+            if (idx >= length || string.charAt(idx) != ':') {
+                throw decodeError(this, string, idx, ErrorMessages.EXPECTING_COLON_DELIMITER);
+            }
+            return skipWhitespace(string, idx + 1, length);
+        }
+
+        private Object scanValue(PJSONScanner scanner, String string, int idx, IntRef nextIdx, TruffleString.FromJavaStringNode fromJavaStringNode) {
+            int length = string.length();
+            char c = string.charAt(idx);
+            switch (c) {
+                case '"':
+                    return scanString(scanner, string, idx + 1, nextIdx, fromJavaStringNode);
+                case 'n':
+                    if ((idx + 3 < length) && string.charAt(idx + 1) == 'u' && string.charAt(idx + 2) == 'l' && string.charAt(idx + 3) == 'l') {
+                        nextIdx.value = idx + 4;
+                        return PNone.NONE;
+                    }
+                    break;
+                case 't':
+                    if ((idx + 3 < length) && string.charAt(idx + 1) == 'r' && string.charAt(idx + 2) == 'u' && string.charAt(idx + 3) == 'e') {
+                        nextIdx.value = idx + 4;
+                        return true;
+                    }
+                    break;
+                case 'f':
+                    if ((idx + 4 < length) && string.charAt(idx + 1) == 'a' && string.charAt(idx + 2) == 'l' && string.charAt(idx + 3) == 's' && string.charAt(idx + 4) == 'e') {
+                        nextIdx.value = idx + 5;
+                        return false;
+                    }
+                    break;
+                default:
+                    if (scanner.parseIntIsInt && (c == '-' || (c >= '0' && c <= '9'))) {
+                        Object result = scanSimpleInt(string, idx, nextIdx);
+                        if (result != null) {
+                            return result;
+                        }
+                    }
+                    break;
+            }
+            return scanOnceUnicode(scanner, string, idx, nextIdx);
+        }
+
+        /**
+         * Parses integers that fit into a long, returns {@code null} for everything else.
+         */
+        private static Object scanSimpleInt(String string, int start, IntRef nextIdx) {
+            int length = string.length();
+            int idx = string.charAt(start) == '-' ? start + 1 : start;
+            if (idx >= length || string.charAt(idx) < '0' || string.charAt(idx) > '9') {
+                return null;
+            }
+            if (string.charAt(idx) == '0') {
+                idx++;
+            } else {
+                while (idx < length && string.charAt(idx) >= '0' && string.charAt(idx) <= '9') {
+                    idx++;
+                }
+            }
+            if (idx < length && (string.charAt(idx) == '.' || string.charAt(idx) == 'e' || string.charAt(idx) == 'E')) {
+                return null;
+            }
+            Object result = BuiltinConstructors.IntNode.parseSimpleDecimalLiteral(string, start, idx - start);
+            if (result != null) {
+                nextIdx.value = idx;
+            }
+            return result;
+        }
+
+        private TruffleString scanString(PJSONScanner scanner, String string, int start, IntRef nextIdx, TruffleString.FromJavaStringNode fromJavaStringNode) {
+            int length = string.length();
+            for (int idx = start; idx < length; idx++) {
+                char c = string.charAt(idx);
+                if (c == '"') {
+                    nextIdx.value = idx + 1;
+                    return fromJavaStringNode.execute(string, start, idx - start, TS_ENCODING, true);
+                }
+                if (c == '\\' || (scanner.strict && c < 0x20)) {
+                    break;
+                }
+            }
+            // escape sequences and errors
+            return scanStringUnicode(string, start, scanner.strict, nextIdx, this);
+        }
+
+        private Object finishContainer(PJSONScanner scanner, ScanFrame frame) {
+            if (!frame.isObject) {
+                return factory.createList(PythonBuiltinClassType.PList, listInstanceShape, frame.list);
+            }
+            if (frame.map == null) {
+                return callObjectPairsHook.executeObject(scanner.objectPairsHook, factory.createList(PythonBuiltinClassType.PList, listInstanceShape, frame.list));
+            }
+            PDict rval = factory.createDict(PythonBuiltinClassType.PDict, dictInstanceShape, frame.map);
+            if (scanner.objectHook != PNone.NONE) {
+                return callObjectHook.executeObject(scanner.objectHook, rval);
+            }
+            return rval;
+        }
+
         @TruffleBoundary
         private Object parseObjectUnicode(PJSONScanner scanner, String string, int start, IntRef nextIdx) {
             /*
@@ -142,11 +379,7 @@ public final class JSONScannerBuiltins extends PythonBuiltins {
                     if (idx >= length || string.charAt(idx) != '"') {
                         throw decodeError(this, string, idx, ErrorMessages.EXPECTING_PROP_NAME_ECLOSED_IN_DBL_QUOTES);
                     }
-                    TruffleString newKey = scanStringUnicode(string, idx + 1, scanner.strict, nextIdx, this);
-                    TruffleString key = scanner.memo.putIfAbsent(newKey, newKey);
-                    if (key == null) {
-                        key = newKey;
-                    }
+                    TruffleString key = scanner.internKey(scanStringUnicode(string, idx + 1, scanner.strict, nextIdx, this));
                     idx = nextIdx.value;
 
                     /* skip whitespace between key and : delimiter, read :, skip whitespace */
@@ -337,7 +570,7 @@ public final class JSONScannerBuiltins extends PythonBuiltins {
 
             nextIdx.value = idx;
             if (isFloat) {
-                if (PyFloatCheckExactNode.executeUncached(scanner.parseFloat)) {
+                if (scanner.parseFloatIsFloat) {
                     String numStr = string.substring(start, idx);
                     return FloatUtils.parseValidString(numStr);
                 } else {
@@ -346,7 +579,7 @@ public final class JSONScannerBuiltins extends PythonBuiltins {
                     return callParseFloat.executeObject(scanner.parseFloat, numStr);
                 }
             } else {
-                if (PyLongCheckExactNode.executeUncached(scanner.parseInt)) {
+                if (scanner.parseIntIsInt) {
                     Object rval = BuiltinConstructors.IntNode.parseSimpleDecimalLiteral(string, start, idx - start);
                     if (rval != null) {
                         return rval;
@@ -458,6 +691,436 @@ public final class JSONScannerBuiltins extends PythonBuiltins {
 
     }
 
+    @Builtin(name = "decode_utf8", minNumOfPositionalArgs = 2, parameterNames = {"$self", "b"}, //
+                    doc = "decode_utf8(b) -> (obj, end) or None\n" +
+                                    "\n" +
+                                    "Parse the JSON document in the UTF-8 encoded bytes or bytearray b, which may be\n" +
+                                    "surrounded by whitespace, without decoding b to str first. Only the strings in\n" +
+                                    "the document are decoded. Returns None if b is not a valid document, so that the\n" +
+                                    "caller can decode it and report the error with the str scanner. Because of that,\n" +
+                                    "it also returns None for scanners with an object hook, an object pairs hook or a\n" +
+                                    "custom parse_int or parse_float, and callers must only pass scanners whose\n" +
+                                    "parse_constant has no side effects.")
+    @GenerateNodeFactory
+    public abstract static class DecodeUtf8Node extends PythonBinaryBuiltinNode {
+
+        @Child private PythonObjectFactory factory = PythonObjectFactory.create();
+
+        @CompilationFinal private Shape listInstanceShape;
+        @CompilationFinal private Shape dictInstanceShape;
+
+        @Specialization
+        Object decode(PJSONScanner self, PBytesLike b,
+                        @Bind("this") Node inliningTarget,
+                        @Cached TruffleString.FromByteArrayNode fromByteArrayNode,
+                        @Cached TruffleString.GetCodeRangeNode getCodeRangeNode,
+                        @Cached TruffleString.SwitchEncodingNode switchEncodingNode,
+                        @Cached HashingStorageSetItem setItem) {
+            if (self.callsHooks()) {
+                // invalid documents are parsed again, which must not call the hooks twice
+                return PNone.NONE;
+            }
+            if (listInstanceShape == null) {
+                CompilerDirectives.transferToInterpreterAndInvalidate();
+                listInstanceShape = PythonLanguage.get(this).getBuiltinTypeInstanceShape(PythonBuiltinClassType.PList);
+            }
+            if (dictInstanceShape == null) {
+                CompilerDirectives.transferToInterpreterAndInvalidate();
+                dictInstanceShape = PythonLanguage.get(this).getBuiltinTypeInstanceShape(PythonBuiltinClassType.PDict);
+            }
+            if (!(b.getSequenceStorage() instanceof ByteSequenceStorage storage)) {
+                return PNone.NONE;
+            }
+            int length = storage.length();
+            byte[] bytes = storage.getInternalByteArray();
+            if (b instanceof PByteArray) {
+                // another thread could modify the bytearray while it is parsed
+                bytes = PythonUtils.arrayCopyOf(bytes, length);
+            }
+            Object result = scanDocument(inliningTarget, self, bytes, length, fromByteArrayNode, getCodeRangeNode, switchEncodingNode, setItem);
+            if (result == null) {
+                return PNone.NONE;
+            }
+            return factory.createTuple(new Object[]{result, length});
+        }
+
+        @Fallback
+        static Object notBytes(@SuppressWarnings("unused") Object self, @SuppressWarnings("unused") Object b) {
+            return PNone.NONE;
+        }
+
+        /**
+         * Works like {@link CallScannerNode#scanOnce} on UTF-8 bytes. Strings are decoded from
+         * their bytes directly, escaped strings, floats, big integers, named constants and deeply
+         * nested containers are decoded on their own and passed to the str scanner. Returns
+         * {@code null} instead of raising an error.
+         */
+        private Object scanDocument(Node inliningTarget, PJSONScanner scanner, byte[] bytes, int length, TruffleString.FromByteArrayNode fromByteArrayNode,
+                        TruffleString.GetCodeRangeNode getCodeRangeNode, TruffleString.SwitchEncodingNode switchEncodingNode, HashingStorageSetItem setItem) {
+            IntRef nextIdx = new IntRef();
+            ScanFrame[] stack = null;
+            int depth = 0;
+            int idx = skipWhitespace(bytes, 0, length);
+            while (true) {
+                if (idx >= length) {
+                    return null;
+                }
+                Object value;
+                byte c = bytes[idx];
+                if ((c == '{' || c == '[') && depth < MAX_FAST_DEPTH) {
+                    ScanFrame frame = new ScanFrame(c == '{', false);
+                    idx = skipWhitespace(bytes, idx + 1, length);
+                    if (idx < length && bytes[idx] == frame.closing()) {
+                        idx++;
+                        value = finishContainer(frame);
+                    } else {
+                        if (stack == null) {
+                            stack = new ScanFrame[MAX_FAST_DEPTH];
+                        }
+                        stack[depth++] = frame;
+                        if (frame.isObject) {
+                            idx = scanKey(scanner, bytes, idx, length, nextIdx, frame, fromByteArrayNode, getCodeRangeNode, switchEncodingNode);
+                            if (idx < 0) {
+                                return null;
+                            }
+                        }
+                        continue;
+                    }
+                } else {
+                    value = scanValue(scanner, bytes, idx, length, nextIdx, fromByteArrayNode, getCodeRangeNode, switchEncodingNode);
+                    if (value == null) {
+                        return null;
+                    }
+                    idx = nextIdx.value;
+                }
+
+                // add the value to the enclosing containers, as long as they are closed after it
+                while (true) {
+                    if (depth == 0) {
+                        return skipWhitespace(bytes, idx, length) == length ? value : null;
+                    }
+                    ScanFrame frame = stack[depth - 1];
+                    if (frame.isObject) {
+                        frame.map = setItem.execute(inliningTarget, frame.map, frame.key, value);
+                    } else {
+                        frame.list.insertItem(frame.list.length(), value);
+                    }
+                    idx = skipWhitespace(bytes, idx, length);
+                    if (idx < length && bytes[idx] == frame.closing()) {
+                        idx++;
+                        stack[--depth] = null;
+                        value = finishContainer(frame);
+                        continue;
+                    }
+                    if (idx >= length || bytes[idx] != ',') {
+                        return null;
+                    }
+                    idx = skipWhitespace(bytes, idx + 1, length);
+                    if (frame.isObject) {
+                        idx = scanKey(scanner, bytes, idx, length, nextIdx, frame, fromByteArrayNode, getCodeRangeNode, switchEncodingNode);
+                        if (idx < 0) {
+                            return null;
+                        }
+                    }
+                    break;
+                }
+            }
+        }
+
+        /**
+         * Reads an object key and the following colon into {@code frame} and returns the index
+         * of its value, or -1 if the input is not valid.
+         */
+        private static int scanKey(PJSONScanner scanner, byte[] bytes, int start, int length, IntRef nextIdx, ScanFrame frame, TruffleString.FromByteArrayNode fromByteArrayNode,
+                        TruffleString.GetCodeRangeNode getCodeRangeNode, TruffleString.SwitchEncodingNode switchEncodingNode) {
+            if (start >= length || bytes[start] != '"') {
+                return -1;
+            }
+            TruffleString key = scanString(scanner, bytes, start + 1, length, nextIdx, true, fromByteArrayNode, getCodeRangeNode, switchEncodingNode);
+            if (key == null) {
+                return -1;
+            }
+            frame.key = key;
+            int idx = skipWhitespace(bytes, nextIdx.value, length);
+            if (idx >= length || bytes[idx] != ':') {
+                return -1;
+            }
+            return skipWhitespace(bytes, idx + 1, length);
+        }
+
+        private static Object scanValue(PJSONScanner scanner, byte[] bytes, int idx, int length, IntRef nextIdx, TruffleString.FromByteArrayNode fromByteArrayNode,
+                        TruffleString.GetCodeRangeNode getCodeRangeNode, TruffleString.SwitchEncodingNode switchEncodingNode) {
+            byte c = bytes[idx];
+            switch (c) {
+                case '"':
+                    return scanString(scanner, bytes, idx + 1, length, nextIdx, false, fromByteArrayNode, getCodeRangeNode, switchEncodingNode);
+                case 'n':
+                    if ((idx + 3 < length) && bytes[idx + 1] == 'u' && bytes[idx + 2] == 'l' && bytes[idx + 3] == 'l') {
+                        nextIdx.value = idx + 4;
+                        return PNone.NONE;
+                    }
+                    return null;
+                case 't':
+                    if ((idx + 3 < length) && bytes[idx + 1] == 'r' && bytes[idx + 2] == 'u' && bytes[idx + 3] == 'e') {
+                        nextIdx.value = idx + 4;
+                        return true;
+                    }
+                    return null;
+                case 'f':
+                    if ((idx + 4 < length) && bytes[idx + 1] == 'a' && bytes[idx + 2] == 'l' && bytes[idx + 3] == 's' && bytes[idx + 4] == 'e') {
+                        nextIdx.value = idx + 5;
+                        return false;
+                    }
+                    return null;
+                case '{':
+                case '[': {
+                    // nested too deeply to be parsed in the loop
+                    int end = findContainerEnd(bytes, idx, length);
+                    return end < 0 ? null : scanSliceUnicode(scanner, bytes, idx, end, nextIdx);
+                }
+                default: {
+                    // numbers and the named constants NaN, Infinity and -Infinity
+                    int end = idx;
+                    while (end < length && isNumberOrConstantByte(bytes[end])) {
+                        end++;
+                    }
+                    if (end == idx) {
+                        return null;
+                    }
+                    Object result = scanSimpleInt(bytes, idx, end);
+                    if (result != null) {
+                        nextIdx.value = end;
+                        return result;
+                    }
+                    if (isFloat(bytes, idx, end)) {
+                        nextIdx.value = end;
+                        return parseFloat(bytes, idx, end);
+                    }
+                    return scanSliceUnicode(scanner, bytes, idx, end, nextIdx);
+                }
+            }
+        }
+
+        private static boolean isNumberOrConstantByte(byte c) {
+            return (c >= '0' && c <= '9') || c == '-' || c == '+' || c == '.' || (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+        }
+
+        /**
+         * Parses an integer of at most 18 digits, returns {@code null} for everything else.
+         */
+        private static Object scanSimpleInt(byte[] bytes, int start, int end) {
+            boolean negative = bytes[start] == '-';
+            int idx = negative ? start + 1 : start;
+            int digits = end - idx;
+            if (digits <= 0 || digits > 18 || (digits > 1 && bytes[idx] == '0')) {
+                return null;
+            }
+            long value = 0;
+            for (; idx < end; idx++) {
+                byte c = bytes[idx];
+                if (c < '0' || c > '9') {
+                    return null;
+                }
+                value = value * 10 + (c - '0');
+            }
+            if (negative) {
+                value = -value;
+            }
+            if (value == (int) value) {
+                return (int) value;
+            }
+            return value;
+        }
+
+        /**
+         * Returns whether the bytes from {@code start} to {@code end} are exactly a JSON number
+         * with a fraction or an exponent.
+         */
+        private static boolean isFloat(byte[] bytes, int start, int end) {
+            int idx = bytes[start] == '-' ? start + 1 : start;
+            if (idx < end && bytes[idx] == '0') {
+                idx++;
+            } else {
+                idx = skipDigits(bytes, idx, end);
+            }
+            if (idx == start || bytes[idx - 1] < '0' || bytes[idx - 1] > '9') {
+                return false;
+            }
+            boolean isFloat = false;
+            if (idx < end && bytes[idx] == '.') {
+                int fractionStart = idx + 1;
+                idx = skipDigits(bytes, fractionStart, end);
+                if (idx == fractionStart) {
+                    return false;
+                }
+                isFloat = true;
+            }
+            if (idx < end && (bytes[idx] == 'e' || bytes[idx] == 'E')) {
+                idx++;
+                if (idx < end && (bytes[idx] == '+' || bytes[idx] == '-')) {
+                    idx++;
+                }
+                int exponentStart = idx;
+                idx = skipDigits(bytes, exponentStart, end);
+                if (idx == exponentStart) {
+                    return false;
+                }
+                isFloat = true;
+            }
+            return isFloat && idx == end;
+        }
+
+        private static int skipDigits(byte[] bytes, int start, int end) {
+            int idx = start;
+            while (idx < end && bytes[idx] >= '0' && bytes[idx] <= '9') {
+                idx++;
+            }
+            return idx;
+        }
+
+        @TruffleBoundary
+        private static double parseFloat(byte[] bytes, int start, int end) {
+            return FloatUtils.parseValidString(new String(bytes, start, end - start, StandardCharsets.ISO_8859_1));
+        }
+
+        /**
+         * Reads the string starting after the opening quote at {@code start - 1}. Strings
+         * without escapes are decoded from their bytes, keys are looked up in the scanner's key
+         * cache first. Returns {@code null} if the input is not valid.
+         */
+        private static TruffleString scanString(PJSONScanner scanner, byte[] bytes, int start, int length, IntRef nextIdx, boolean isKey, TruffleString.FromByteArrayNode fromByteArrayNode,
+                        TruffleString.GetCodeRangeNode getCodeRangeNode, TruffleString.SwitchEncodingNode switchEncodingNode) {
+            int hash = 0;
+            boolean ascii = true;
+            for (int idx = start; idx < length; idx++) {
+                byte c = bytes[idx];
+                if (c == '"') {
+                    int len = idx - start;
+                    nextIdx.value = idx + 1;
+                    if (isKey) {
+                        TruffleString cached = scanner.lookupKey(bytes, start, len, hash);
+                        if (cached != null) {
+                            return cached;
+                        }
+                    }
+                    TruffleString result = fromByteArrayNode.execute(bytes, start, len, Encoding.UTF_8, true);
+                    if (!ascii && getCodeRangeNode.execute(result, Encoding.UTF_8) == CodeRange.BROKEN) {
+                        // invalid UTF-8, or surrogates that only the surrogatepass error handler accepts
+                        return asString(scanner, scanSliceUnicode(scanner, bytes, start - 1, idx + 1, nextIdx), isKey);
+                    }
+                    result = switchEncodingNode.execute(result, TS_ENCODING);
+                    if (isKey) {
+                        result = scanner.internKey(result);
+                        scanner.cacheKey(bytes, start, len, hash, result);
+                    }
+                    return result;
+                }
+                if (c == '\\' || (scanner.strict && c >= 0 && c < 0x20)) {
+                    break;
+                }
+                ascii &= c >= 0;
+                hash = 31 * hash + c;
+            }
+            // escape sequences, control characters and errors
+            int end = findStringEnd(bytes, start, length);
+            if (end < 0) {
+                return null;
+            }
+            return asString(scanner, scanSliceUnicode(scanner, bytes, start - 1, end, nextIdx), isKey);
+        }
+
+        private static TruffleString asString(PJSONScanner scanner, Object value, boolean isKey) {
+            if (!(value instanceof TruffleString string)) {
+                return null;
+            }
+            return isKey ? scanner.internKey(string) : string;
+        }
+
+        /**
+         * Returns the index after the closing quote of the string starting at {@code start}, or
+         * -1 if it is not terminated.
+         */
+        private static int findStringEnd(byte[] bytes, int start, int length) {
+            for (int idx = start; idx < length; idx++) {
+                if (bytes[idx] == '\\') {
+                    idx++;
+                } else if (bytes[idx] == '"') {
+                    return idx + 1;
+                }
+            }
+            return -1;
+        }
+
+        /**
+         * Returns the index after the bracket that closes the array or object at {@code start},
+         * or -1 if it is not closed.
+         */
+        private static int findContainerEnd(byte[] bytes, int start, int length) {
+            int nesting = 0;
+            int idx = start;
+            while (idx < length) {
+                byte c = bytes[idx];
+                if (c == '"') {
+                    idx = findStringEnd(bytes, idx + 1, length);
+                    if (idx < 0) {
+                        return -1;
+                    }
+                    continue;
+                }
+                if (c == '[' || c == '{') {
+                    nesting++;
+                } else if ((c == ']' || c == '}') && --nesting == 0) {
+                    return idx + 1;
+                }
+                idx++;
+            }
+            return -1;
+        }
+
+        private static int skipWhitespace(byte[] bytes, int start, int length) {
+            int idx = start;
+            while (idx < length && JSONModuleBuiltins.isWhitespace((char) bytes[idx])) {
+                idx++;
+            }
+            return idx;
+        }
+
+        /**
+         * Decodes the bytes from {@code start} to {@code end} like {@code bytes.decode('utf-8',
+         * 'surrogatepass')} and parses them with the str scanner. Returns {@code null} if they
+         * are not valid UTF-8 or do not contain exactly one JSON term.
+         */
+        @TruffleBoundary
+        private static Object scanSliceUnicode(PJSONScanner scanner, byte[] bytes, int start, int end, IntRef nextIdx) {
+            try {
+                PBytes slice = PythonObjectFactory.getUncached().createBytes(PythonUtils.arrayCopyOfRange(bytes, start, end));
+                TruffleString string = CastToTruffleStringNode.executeUncached(PyObjectCallMethodObjArgs.executeUncached(slice, T_DECODE, T_UTF8, T_SURROGATEPASS));
+                Object result = CallNode.getUncached().execute(scanner, string);
+                SequenceStorage storage = ((PTuple) result).getSequenceStorage();
+                if ((int) SequenceStorageNodes.GetItemScalarNode.executeUncached(storage, 1) != string.toJavaStringUncached().length()) {
+                    return null;
+                }
+                nextIdx.value = end;
+                return SequenceStorageNodes.GetItemScalarNode.executeUncached(storage, 0);
+            } catch (PException e) {
+                // invalid input, let the caller report it for the decoded document; no hooks run
+                // here, so this cannot swallow their errors
+                Object type = GetClassNode.executeUncached(e.getUnreifiedException());
+                if (!IsSubtypeNode.getUncached().execute(type, PythonBuiltinClassType.ValueError) && !IsSubtypeNode.getUncached().execute(type, PythonBuiltinClassType.StopIteration)) {
+                    throw e;
+                }
+                return null;
+            }
+        }
+
+        private Object finishContainer(ScanFrame frame) {
+            if (!frame.isObject) {
+                return factory.createList(PythonBuiltinClassType.PList, listInstanceShape, frame.list);
+            }
+            return factory.createDict(PythonBuiltinClassType.PDict, dictInstanceShape, frame.map);
+        }
+    }
+
     @TruffleBoundary
     static TruffleString scanStringUnicode(String string, int start, boolean strict, IntRef nextIdx, Node raisingNode) {
         String result;
@@ -534,6 +1197,7 @@ public final class JSONScannerBuiltins extends PythonBuiltins {
         throw decodeError(raisingNode, string, start - 1, ErrorMessages.UNTERMINATED_STR_STARTING_AT);
     }
 
+    @TruffleBoundary
     private static RuntimeException decodeError(Node raisingNode, String jsonString, int pos, TruffleString format) {
         CompilerAsserts.neverPartOfCompilation();
         Object module = AbstractImportNode.importModule(toTruffleStringUncached("json.decoder"));
@@ -542,6 +1206,7 @@ public final class JSONScannerBuiltins extends PythonBuiltins {
         throw PRaiseNode.raiseExceptionObject(raisingNode, exception, false);
     }
 
+    @TruffleBoundary
     private static RuntimeException stopIteration(Node raisingNode, Object value) {
         CompilerAsserts.neverPartOfCompilation();
         Object exception = CallNode.getUncached().execute(PythonContext.get(raisingNode).lookupType(PythonBuiltinClassType.StopIteration), value);
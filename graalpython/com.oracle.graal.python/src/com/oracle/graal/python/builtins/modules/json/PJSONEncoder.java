@@ -40,9 +40,16 @@
  */
 package com.oracle.graal.python.builtins.modules.json;
 
+import static com.oracle.graal.python.nodes.StringLiterals.T_SPACE;
+import static com.oracle.graal.python.util.PythonUtils.TS_ENCODING;
+
 import java.util.IdentityHashMap;
 
+import com.oracle.graal.python.builtins.objects.ints.PInt;
 import com.oracle.graal.python.builtins.objects.object.PythonBuiltinObject;
+import com.oracle.graal.python.builtins.objects.str.PString;
+import com.oracle.graal.python.lib.PyNumberAsSizeNode;
+import com.oracle.graal.python.nodes.util.CastToTruffleStringNode;
 import com.oracle.truffle.api.CompilerAsserts;
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.object.Shape;
@@ -60,6 +67,8 @@ public final class PJSONEncoder extends PythonBuiltinObject {
     final Object defaultFn;
     final Object encoder;
     final Object indent;
+    /* one level of indentation, or null for the compact representation */
+    final TruffleString indentString;
     final TruffleString keySeparator;
     final TruffleString itemSeparator;
     final boolean sortKeys;
@@ -78,6 +87,7 @@ public final class PJSONEncoder extends PythonBuiltinObject {
         this.defaultFn = defaultFn;
         this.encoder = encoder;
         this.indent = indent;
+        this.indentString = toIndentString(indent);
         this.keySeparator = keySeparator;
         this.itemSeparator = itemSeparator;
         this.sortKeys = sortKeys;
@@ -86,6 +96,15 @@ public final class PJSONEncoder extends PythonBuiltinObject {
         this.fastEncode = fastEncode;
     }
 
+    private static TruffleString toIndentString(Object indent) {
+        if (indent instanceof TruffleString || indent instanceof PString) {
+            return CastToTruffleStringNode.executeUncached(indent);
+        } else if (indent instanceof Integer || indent instanceof Long || indent instanceof Boolean || indent instanceof PInt) {
+            return T_SPACE.repeatUncached(Math.max(PyNumberAsSizeNode.executeExactUncached(indent), 0), TS_ENCODING);
+        }
+        return null;
+    }
+
     @TruffleBoundary
     void removeCircular(Object obj) {
         circular.remove(obj);
@@ -42,13 +42,36 @@ package com.oracle.graal.python.builtins.modules.json;
 
 import java.util.HashMap;
 
+import com.oracle.graal.python.builtins.PythonBuiltinClassType;
+import com.oracle.graal.python.builtins.objects.PNone;
 import com.oracle.graal.python.builtins.objects.object.PythonBuiltinObject;
+import com.oracle.graal.python.builtins.objects.type.PythonBuiltinClass;
+import com.oracle.graal.python.util.PythonUtils;
 import com.oracle.truffle.api.CompilerAsserts;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.object.Shape;
 import com.oracle.truffle.api.strings.TruffleString;
 
 public final class PJSONScanner extends PythonBuiltinObject {
 
+    /* the memo only shares keys within a few documents, it does not grow without bound */
+    private static final int MAX_MEMO_SIZE = 4096;
+    private static final int KEY_CACHE_SIZE = 256;
+    static final int MAX_CACHED_KEY_LENGTH = 64;
+
+    /**
+     * A decoded object key and the UTF-8 bytes it was decoded from.
+     */
+    static final class CachedKey {
+        final byte[] bytes;
+        final TruffleString key;
+
+        CachedKey(byte[] bytes, TruffleString key) {
+            this.bytes = bytes;
+            this.key = key;
+        }
+    }
+
     final HashMap<TruffleString, TruffleString> memo;
     final boolean strict;
     final Object objectHook;
@@ -56,6 +79,11 @@ public final class PJSONScanner extends PythonBuiltinObject {
     final Object parseFloat;
     final Object parseInt;
     final Object parseConstant;
+    /* parse_float and parse_int are the builtin types, so numbers can be converted directly */
+    final boolean parseFloatIsFloat;
+    final boolean parseIntIsInt;
+    /* keys of UTF-8 input by hash of their bytes, so that repeated keys are not decoded again */
+    private final CachedKey[] keyCache = new CachedKey[KEY_CACHE_SIZE];
 
     public PJSONScanner(Object cls, Shape instanceShape, boolean strict, Object objectHook, Object objectPairsHook, Object parseFloat, Object parseInt, Object parseConstant) {
         super(cls, instanceShape);
@@ -67,5 +95,54 @@ public final class PJSONScanner extends PythonBuiltinObject {
         this.parseFloat = parseFloat;
         this.parseInt = parseInt;
         this.parseConstant = parseConstant;
+        this.parseFloatIsFloat = isBuiltinType(parseFloat, PythonBuiltinClassType.PFloat);
+        this.parseIntIsInt = isBuiltinType(parseInt, PythonBuiltinClassType.PInt);
+    }
+
+    /**
+     * Returns whether scanning calls Python code for objects or numbers.
+     */
+    boolean callsHooks() {
+        return objectHook != PNone.NONE || objectPairsHook != PNone.NONE || !parseFloatIsFloat || !parseIntIsInt;
+    }
+
+    private static boolean isBuiltinType(Object obj, PythonBuiltinClassType type) {
+        return obj == type || (obj instanceof PythonBuiltinClass klass && klass.getType() == type);
+    }
+
+    /**
+     * Returns the instance of an equal key parsed before, so that objects with the same keys
+     * share them.
+     */
+    @TruffleBoundary
+    TruffleString internKey(TruffleString key) {
+        if (memo.size() >= MAX_MEMO_SIZE) {
+            memo.clear();
+        }
+        TruffleString existing = memo.putIfAbsent(key, key);
+        return existing == null ? key : existing;
+    }
+
+    /**
+     * Returns the key decoded from {@code length} bytes at {@code start} of {@code bytes}, or
+     * {@code null} if it is not cached. {@code hash} is the hash of these bytes.
+     */
+    TruffleString lookupKey(byte[] bytes, int start, int length, int hash) {
+        CachedKey entry = keyCache[hash & (KEY_CACHE_SIZE - 1)];
+        if (entry == null || entry.bytes.length != length) {
+            return null;
+        }
+        for (int i = 0; i < length; i++) {
+            if (entry.bytes[i] != bytes[start + i]) {
+                return null;
+            }
+        }
+        return entry.key;
+    }
+
+    void cacheKey(byte[] bytes, int start, int length, int hash, TruffleString key) {
+        if (length <= MAX_CACHED_KEY_LENGTH) {
+            keyCache[hash & (KEY_CACHE_SIZE - 1)] = new CachedKey(PythonUtils.arrayCopyOfRange(bytes, start, start + length), key);
+        }
     }
 }
@@ -378,18 +378,19 @@ public final class MultiprocessingGraalPyModuleBuiltins extends PythonBuiltins {
          * We would like to poll two different things with a timeout: the actual file descriptors
          * and the Java managed LinkedBlockingQueues.
          *
-         * The LinkedBlockingQueue does not expose anything that would allow us to wait on multiple
-         * LinkedBlockingQueues at once, so we'd have to spawn a thread for each or roll out our own
-         * synchronization of take/offer to allow that.
+         * Changes of the LinkedBlockingQueues are signalled through the pipe event counter of
+         * SharedMultiprocessingData, so when only multiprocessing fds are selected, we simply block
+         * until some pipe changes (or the timeout elapses) and re-check.
          *
          * The actual file descriptors could be backed by Java POSIX emulation layer, or by the
          * native POSIX implementation -- the `select` can run actual native select, which we cannot
          * easily interrupt from Java if one of the LinkedBlockingQueue is unblocked earlier than
-         * the native select returns.
-         *
-         * Given all these complexities, for the time being, we do active waiting here, but at least
-         * without holding the GIL, and we also yield in every iteration.
+         * the native select returns. If there are any such file descriptors, we therefore poll them
+         * without blocking and wait for pipe events in between with an exponentially growing slice,
+         * so that pipe events still wake us up immediately and idle waiting does not burn CPU.
          */
+        private static final long MIN_POSIX_POLL_SLICE_NS = 50_000L;
+        private static final long MAX_POSIX_POLL_SLICE_NS = 5_000_000L;
 
         @Specialization
         Object doGeneric(VirtualFrame frame, Object multiprocessingFdsList, Object multiprocessingObjsList, Object posixFileObjsList, Object timeoutObj,
@@ -429,7 +430,7 @@ public final class MultiprocessingGraalPyModuleBuiltins extends PythonBuiltins {
                 boolean[] selectedMultiprocessingFds = new boolean[multiprocessingFds.length];
                 boolean[] selectedPosixFds = new boolean[posixFds.length];
 
-                doSelect(context.getPosixSupport(), sharedData, posixFds, selectedPosixFds, multiprocessingFds, selectedMultiprocessingFds, timeout);
+                doSelect(inliningTarget, context.getPosixSupport(), sharedData, posixFds, selectedPosixFds, multiprocessingFds, selectedMultiprocessingFds, timeout);
 
                 ArrayBuilder<Object> result = new ArrayBuilder<>(4);
                 for (int i = 0; i < selectedMultiprocessingFds.length; i++) {
@@ -460,7 +461,7 @@ public final class MultiprocessingGraalPyModuleBuiltins extends PythonBuiltins {
         }
 
         @TruffleBoundary
-        private static void doSelect(Object posix, SharedMultiprocessingData sharedData,
+        private static void doSelect(Node node, Object posix, SharedMultiprocessingData sharedData,
                         int[] posixFds, boolean[] selectedPosixFds,
                         int[] multiprocessingFds, boolean[] selectedMultiprocessingFds,
                         double timeoutInS) throws PosixSupportLibrary.PosixException {
@@ -472,7 +473,11 @@ public final class MultiprocessingGraalPyModuleBuiltins extends PythonBuiltins {
                 long timeout = (long) (timeoutInS * 1000_000_000.0);
                 deadline = System.nanoTime() + timeout;
             }
+            long slice = MIN_POSIX_POLL_SLICE_NS;
             while (true) {
+                // read the counter before checking the pipes, so that we cannot miss an event that
+                // happens after the check, but before we start waiting
+                long seenEvents = sharedData.getPipeEventCount();
                 boolean selected = false;
                 if (posixFds.length > 0) {
                     PosixSupportLibrary.SelectResult selectResult = posixLib.select(posix, posixFds,
@@ -494,10 +499,18 @@ public final class MultiprocessingGraalPyModuleBuiltins extends PythonBuiltins {
                 if (!blocking || selected) {
                     return;
                 }
-                if (deadline != 0 && deadline - System.nanoTime() < 0) {
-                    return;
+                long waitTime = -1;
+                if (deadline != 0) {
+                    waitTime = deadline - System.nanoTime();
+                    if (waitTime <= 0) {
+                        return;
+                    }
+                }
+                if (posixFds.length > 0) {
+                    waitTime = waitTime < 0 ? slice : Math.min(waitTime, slice);
+                    slice = Math.min(slice * 2, MAX_POSIX_POLL_SLICE_NS);
                 }
-                Thread.yield();
+                sharedData.awaitPipeEvent(node, seenEvents, waitTime);
             }
         }
     }
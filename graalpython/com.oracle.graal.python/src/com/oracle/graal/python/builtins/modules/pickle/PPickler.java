@@ -477,6 +477,22 @@ public class PPickler extends PythonBuiltinObject {
         }
 
         protected void write(PPickler pickler, byte[] bytes, int dataLen) {
+            reserve(pickler, dataLen);
+            PythonUtils.arraycopy(bytes, 0, pickler.outputBuffer, pickler.outputLen, dataLen);
+            pickler.outputLen += dataLen;
+        }
+
+        /**
+         * Like {@link #write(PPickler, byte[], int)}, but copies the data straight from a buffer
+         * object instead of a {@code byte[]}.
+         */
+        protected void write(PPickler pickler, Object buffer, int dataLen, PythonBufferAccessLibrary bufferLib) {
+            reserve(pickler, dataLen);
+            bufferLib.readIntoByteArray(buffer, 0, pickler.outputBuffer, pickler.outputLen, dataLen);
+            pickler.outputLen += dataLen;
+        }
+
+        private void reserve(PPickler pickler, int dataLen) {
             boolean needNewFrame = pickler.isFraming() && pickler.frameStart == -1;
             int n = (needNewFrame) ? dataLen + PickleUtils.FRAME_HEADER_SIZE : dataLen;
             int required = pickler.outputLen + n;
@@ -499,14 +515,49 @@ public class PPickler extends PythonBuiltinObject {
                 }
                 pickler.outputLen += PickleUtils.FRAME_HEADER_SIZE;
             }
-            PythonUtils.arraycopy(bytes, 0, pickler.outputBuffer, pickler.outputLen, dataLen);
-            pickler.outputLen += dataLen;
         }
 
         protected void writeBytes(VirtualFrame frame, PPickler pickler, byte[] header, int headerSize, byte[] data, int dataSize, Object payload) {
-            boolean bypassBuffer = dataSize >= PickleUtils.FRAME_SIZE_TARGET;
             boolean framing = pickler.framing;
+            if (writePayloadHeader(frame, pickler, header, headerSize, dataSize)) {
+                Object pld = payload;
+                if (pld == null) {
+                    // TODO: It would be better to use a memoryview with a linked original string if
+                    // this is possible.
+                    pld = factory().createBytes(data, 0, dataSize);
+                }
+                writePayloadToFile(frame, pickler, pld);
+            } else {
+                write(pickler, data, dataSize);
+            }
+            // Re-enable framing for subsequent calls to _Pickler_Write.
+            pickler.framing = framing;
+        }
 
+        /**
+         * Like {@link #writeBytes(VirtualFrame, PPickler, byte[], int, byte[], int, Object)}, but
+         * for data in a buffer of {@code payload}. Large payloads are handed to the file's
+         * {@code write} method as they are, smaller ones are copied into the output buffer
+         * without an intermediate {@code byte[]}.
+         */
+        protected void writeBytes(VirtualFrame frame, PPickler pickler, byte[] header, int headerSize, Object buffer, int dataSize, Object payload, PythonBufferAccessLibrary bufferLib) {
+            boolean framing = pickler.framing;
+            if (writePayloadHeader(frame, pickler, header, headerSize, dataSize)) {
+                writePayloadToFile(frame, pickler, payload);
+            } else {
+                write(pickler, buffer, dataSize, bufferLib);
+            }
+            // Re-enable framing for subsequent calls to _Pickler_Write.
+            pickler.framing = framing;
+        }
+
+        /**
+         * Writes the header of a payload of {@code dataSize} bytes. Returns {@code true} if the
+         * payload is large enough to be written to the file directly, in which case the output
+         * buffer has been flushed and framing is disabled.
+         */
+        private boolean writePayloadHeader(VirtualFrame frame, PPickler pickler, byte[] header, int headerSize, int dataSize) {
+            boolean bypassBuffer = dataSize >= PickleUtils.FRAME_SIZE_TARGET;
             if (bypassBuffer) {
                 assert pickler.outputBuffer != null;
                 // Commit the previous frame.
@@ -520,22 +571,16 @@ public class PPickler extends PythonBuiltinObject {
             if (bypassBuffer && pickler.write != null) {
                 // Dump the output buffer to the file.
                 flushToFile(frame, pickler);
-                // Stream write the payload into the file without going through the output buffer.
-                Object pld = payload;
-                if (pld == null) {
-                    // TODO: It would be better to use a memoryview with a linked original string if
-                    // this is possible.
-                    pld = factory().createBytes(data, 0, dataSize);
-                }
-                getCallNode().execute(frame, pickler.write, pld);
-                // Reinitialize the buffer for subsequent calls to _Pickler_Write.
-                pickler.clearBuffer();
-            } else {
-                write(pickler, data, dataSize);
+                return true;
             }
+            return false;
+        }
 
-            // Re-enable framing for subsequent calls to _Pickler_Write.
-            pickler.framing = framing;
+        private void writePayloadToFile(VirtualFrame frame, PPickler pickler, Object payload) {
+            // Stream write the payload into the file without going through the output buffer.
+            getCallNode().execute(frame, pickler.write, payload);
+            // Reinitialize the buffer for subsequent calls to _Pickler_Write.
+            pickler.clearBuffer();
         }
 
         protected PTuple createTuple(Object... items) {
@@ -1320,15 +1365,14 @@ public class PPickler extends PythonBuiltinObject {
                     // save_reduce() will memoize the object automatically.
                     saveReduce(frame, ctx, pickler, reduceValue, obj);
                 } else {
-                    byte[] bytes = getBufferLibrary().getCopiedByteArray(buffer);
-                    saveBytesData(frame, pickler, obj, bytes, bytes.length);
+                    saveBytesData(frame, pickler, obj, buffer, getBufferLibrary().getBufferLength(buffer));
                 }
             } finally {
                 getBufferLibrary().release(buffer, frame, indirectCallData);
             }
         }
 
-        private void saveBytesData(VirtualFrame frame, PPickler pickler, Object obj, byte[] data, int size) {
+        private void saveBytesData(VirtualFrame frame, PPickler pickler, Object obj, Object buffer, int size) {
             assert pickler.proto >= 3;
             byte[] header = new byte[9];
             int len;
@@ -1352,7 +1396,7 @@ public class PPickler extends PythonBuiltinObject {
                 throw raise(OverflowError, ErrorMessages.SER_OVER_4GB);
             }
 
-            writeBytes(frame, pickler, header, len, data, size, obj);
+            writeBytes(frame, pickler, header, len, buffer, size, obj, getBufferLibrary());
             memoPut(pickler, obj);
         }
 
@@ -1721,7 +1765,7 @@ public class PPickler extends PythonBuiltinObject {
             memoPut(pickler, obj);
         }
 
-        private void saveBytearrayData(VirtualFrame frame, PPickler pickler, Object obj, byte[] data, int size) {
+        private void saveBytearrayData(VirtualFrame frame, PPickler pickler, Object obj, Object buffer, int size) {
             assert pickler.proto >= 5;
             if (size < 0) {
                 return;
@@ -1733,7 +1777,7 @@ public class PPickler extends PythonBuiltinObject {
             PickleUtils.writeSize64(header, 1, size);
 
             int len = 9;
-            writeBytes(frame, pickler, header, len, data, size, obj);
+            writeBytes(frame, pickler, header, len, buffer, size, obj, getBufferLibrary());
             memoPut(pickler, obj);
         }
 
@@ -1755,7 +1799,7 @@ public class PPickler extends PythonBuiltinObject {
                     // save_reduce() will memoize the object automatically.
                     saveReduce(frame, ctx, pickler, reduceValue, obj);
                 } else {
-                    saveBytearrayData(frame, pickler, obj, getBufferLibrary().getCopiedByteArray(buffer), length(frame, obj));
+                    saveBytearrayData(frame, pickler, obj, buffer, getBufferLibrary().getBufferLength(buffer));
                 }
             } finally {
                 getBufferLibrary().release(buffer, frame, indirectCallData);
@@ -1769,8 +1813,6 @@ public class PPickler extends PythonBuiltinObject {
 
             Object buffer = obj.getView();
             PythonBufferAccessLibrary bufferLib = getBufferLibrary();
-            int bytesLen = bufferLib.getBufferLength(buffer);
-            byte[] bytes = bufferLib.getInternalOrCopiedByteArray(buffer);
             boolean inBand = true;
 
             if (pickler.bufferCallback != null) {
@@ -1781,13 +1823,14 @@ public class PPickler extends PythonBuiltinObject {
             boolean readOnly = bufferLib.isReadonly(buffer);
             if (inBand) {
                 // Write data in-band
+                int bytesLen = bufferLib.getBufferLength(buffer);
                 if (readOnly) {
-                    saveBytesData(frame, pickler, obj, bytes, bytesLen);
+                    saveBytesData(frame, pickler, obj, buffer, bytesLen);
                 } else {
-                    saveBytearrayData(frame, pickler, obj, bytes, bytesLen);
+                    saveBytearrayData(frame, pickler, obj, buffer, bytesLen);
                 }
             } else {
-                // Write data out-of-band
+                // Write data out-of-band, the buffer_callback has taken the buffer by reference
                 write(pickler, PickleUtils.OPCODE_NEXT_BUFFER);
                 if (readOnly) {
                     write(pickler, PickleUtils.OPCODE_READONLY_BUFFER);
@@ -474,13 +474,20 @@ public class PUnpickler extends PythonBuiltinObject {
         protected int setStringInput(PUnpickler self, VirtualFrame frame, Object input) {
             Object buffer = getBufferAcquireLibrary().acquire(input, BufferFlags.PyBUF_CONTIG_RO, frame, indirectCallData);
             try {
-                self.inputBuffer = getBufferAccessLibrary().getCopiedByteArray(buffer);
-                self.inputLen = getBufferAccessLibrary().getBufferLength(buffer);
+                PythonBufferAccessLibrary bufferLib = getBufferAccessLibrary();
+                if (bufferLib.isReadonly(buffer) && bufferLib.hasInternalByteArray(buffer)) {
+                    // the unpickler never writes into its input, so it can share the bytes of the
+                    // pickle or of the chunk read from the file instead of copying them
+                    self.inputBuffer = bufferLib.getInternalByteArray(buffer);
+                } else {
+                    self.inputBuffer = bufferLib.getCopiedByteArray(buffer);
+                }
+                self.inputLen = bufferLib.getBufferLength(buffer);
                 self.nextReadIdx = 0;
                 self.prefetchedIdx = self.inputLen;
                 return self.inputLen;
             } finally {
-                getBufferAccessLibrary().release(input, frame, indirectCallData);
+                getBufferAccessLibrary().release(buffer, frame, indirectCallData);
             }
         }
 
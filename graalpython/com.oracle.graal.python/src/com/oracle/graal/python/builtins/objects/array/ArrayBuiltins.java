@@ -1143,6 +1143,7 @@ public final class ArrayBuiltins extends PythonBuiltins {
                         @Cached ArrayNodes.EnsureCapacityNode ensureCapacityNode,
                         @Cached ArrayNodes.SetLengthNode setLengthNode,
                         @Cached ArrayNodes.PutValueNode putValueNode,
+                        @Cached InlinedConditionProfile primitiveProfile,
                         @Cached PRaiseNode.Lazy raiseNode) {
             try {
                 SequenceStorage storage = getSequenceStorageNode.execute(inliningTarget, list);
@@ -1150,8 +1151,10 @@ public final class ArrayBuiltins extends PythonBuiltins {
                 int newLength = PythonUtils.addExact(self.getLength(), length);
                 self.checkCanResize(inliningTarget, raiseNode);
                 ensureCapacityNode.execute(inliningTarget, self, newLength);
-                for (int i = 0; i < length; i++) {
-                    putValueNode.execute(frame, inliningTarget, self, self.getLength() + i, getItemScalarNode.execute(inliningTarget, storage, i));
+                if (!primitiveProfile.profile(inliningTarget, ArrayNodes.fromPrimitiveListStorage(self, storage, self.getLength()))) {
+                    for (int i = 0; i < length; i++) {
+                        putValueNode.execute(frame, inliningTarget, self, self.getLength() + i, getItemScalarNode.execute(inliningTarget, storage, i));
+                    }
                 }
                 setLengthNode.execute(inliningTarget, self, newLength);
                 return PNone.NONE;
@@ -1231,8 +1234,15 @@ public final class ArrayBuiltins extends PythonBuiltins {
 
     @Builtin(name = "tolist", minNumOfPositionalArgs = 1)
     @GenerateNodeFactory
+    @ImportStatic(ArrayNodes.class)
     abstract static class ToListNode extends PythonUnaryBuiltinNode {
-        @Specialization
+        @Specialization(guards = "hasPrimitiveListStorage(self)")
+        static Object tolistPrimitive(PArray self,
+                        @Cached PythonObjectFactory factory) {
+            return factory.createList(ArrayNodes.toPrimitiveListStorage(self));
+        }
+
+        @Specialization(guards = "!hasPrimitiveListStorage(self)")
         static Object tolist(VirtualFrame frame, PArray self,
                         @Cached ListNodes.ConstructListNode constructListNode) {
             return constructListNode.execute(frame, self);
@@ -47,8 +47,12 @@ import com.oracle.graal.python.builtins.objects.common.SequenceStorageNodes;
 import com.oracle.graal.python.builtins.objects.slice.PSlice.SliceInfo;
 import com.oracle.graal.python.nodes.PRaiseNode;
 import com.oracle.graal.python.runtime.sequence.storage.ByteSequenceStorage;
+import com.oracle.graal.python.runtime.sequence.storage.DoubleSequenceStorage;
+import com.oracle.graal.python.runtime.sequence.storage.IntSequenceStorage;
+import com.oracle.graal.python.runtime.sequence.storage.LongSequenceStorage;
 import com.oracle.graal.python.runtime.sequence.storage.NativeByteSequenceStorage;
 import com.oracle.graal.python.runtime.sequence.storage.SequenceStorage;
+import com.oracle.graal.python.util.BufferFormat;
 import com.oracle.graal.python.util.OverflowException;
 import com.oracle.graal.python.util.PythonUtils;
 import com.oracle.truffle.api.CompilerDirectives;
@@ -59,6 +63,7 @@ import com.oracle.truffle.api.dsl.GenerateUncached;
 import com.oracle.truffle.api.dsl.Specialization;
 import com.oracle.truffle.api.frame.VirtualFrame;
 import com.oracle.truffle.api.nodes.Node;
+import com.oracle.truffle.api.memory.ByteArraySupport;
 import com.oracle.truffle.api.profiles.InlinedBranchProfile;
 
 public abstract class ArrayNodes {
@@ -201,4 +206,208 @@ public abstract class ArrayNodes {
             }
         }
     }
+
+    /**
+     * Tests if the items of the array can be copied into an unboxed list storage by
+     * {@link #toPrimitiveListStorage(PArray)}. This is the case for managed arrays with any integer
+     * format whose values fit into a Java {@code long} and for the floating point formats.
+     */
+    public static boolean hasPrimitiveListStorage(PArray array) {
+        if (!(array.getSequenceStorage() instanceof ByteSequenceStorage)) {
+            return false;
+        }
+        BufferFormat format = array.getFormat();
+        return format != BufferFormat.UINT_64 && format != BufferFormat.UNICODE;
+    }
+
+    /**
+     * Copies the items of the array into a new list storage without boxing them. Signed and
+     * unsigned integers up to 16 bits and signed 32-bit integers become an
+     * {@link IntSequenceStorage}, unsigned 32-bit and signed 64-bit integers a
+     * {@link LongSequenceStorage} and floats and doubles a {@link DoubleSequenceStorage}.
+     */
+    public static SequenceStorage toPrimitiveListStorage(PArray array) {
+        assert hasPrimitiveListStorage(array);
+        byte[] bytes = ((ByteSequenceStorage) array.getSequenceStorage()).getInternalByteArray();
+        int length = array.getLength();
+        ByteArraySupport accessor = PythonUtils.ARRAY_ACCESSOR;
+        switch (array.getFormat()) {
+            case INT_8: {
+                int[] values = new int[length];
+                for (int i = 0; i < length; i++) {
+                    values[i] = bytes[i];
+                }
+                return new IntSequenceStorage(values);
+            }
+            case UINT_8: {
+                int[] values = new int[length];
+                for (int i = 0; i < length; i++) {
+                    values[i] = bytes[i] & 0xFF;
+                }
+                return new IntSequenceStorage(values);
+            }
+            case INT_16: {
+                int[] values = new int[length];
+                for (int i = 0; i < length; i++) {
+                    values[i] = accessor.getShort(bytes, i << 1);
+                }
+                return new IntSequenceStorage(values);
+            }
+            case UINT_16: {
+                int[] values = new int[length];
+                for (int i = 0; i < length; i++) {
+                    values[i] = accessor.getShort(bytes, i << 1) & 0xFFFF;
+                }
+                return new IntSequenceStorage(values);
+            }
+            case INT_32: {
+                int[] values = new int[length];
+                for (int i = 0; i < length; i++) {
+                    values[i] = accessor.getInt(bytes, i << 2);
+                }
+                return new IntSequenceStorage(values);
+            }
+            case UINT_32: {
+                long[] values = new long[length];
+                for (int i = 0; i < length; i++) {
+                    values[i] = accessor.getInt(bytes, i << 2) & 0xFFFFFFFFL;
+                }
+                return new LongSequenceStorage(values);
+            }
+            case INT_64: {
+                long[] values = new long[length];
+                for (int i = 0; i < length; i++) {
+                    values[i] = accessor.getLong(bytes, i << 3);
+                }
+                return new LongSequenceStorage(values);
+            }
+            case FLOAT: {
+                double[] values = new double[length];
+                for (int i = 0; i < length; i++) {
+                    values[i] = accessor.getFloat(bytes, i << 2);
+                }
+                return new DoubleSequenceStorage(values);
+            }
+            case DOUBLE: {
+                double[] values = new double[length];
+                for (int i = 0; i < length; i++) {
+                    values[i] = accessor.getDouble(bytes, i << 3);
+                }
+                return new DoubleSequenceStorage(values);
+            }
+            default:
+                throw CompilerDirectives.shouldNotReachHere("unexpected array format");
+        }
+    }
+
+    /**
+     * Writes the items of an unboxed list storage into the array starting at item index
+     * {@code offset}. The array must already have enough capacity. Returns {@code false} without
+     * having written everything if the storage type does not match the array format or if a value
+     * is out of range for the format. The caller is then expected to redo the copy item by item,
+     * which also raises the appropriate error.
+     */
+    public static boolean fromPrimitiveListStorage(PArray array, SequenceStorage storage, int offset) {
+        if (!(array.getSequenceStorage() instanceof ByteSequenceStorage byteStorage)) {
+            return false;
+        }
+        byte[] bytes = byteStorage.getInternalByteArray();
+        BufferFormat format = array.getFormat();
+        ByteArraySupport accessor = PythonUtils.ARRAY_ACCESSOR;
+        if (storage instanceof IntSequenceStorage intStorage) {
+            int[] values = intStorage.getInternalIntArray();
+            int length = intStorage.length();
+            switch (format) {
+                case INT_8:
+                    for (int i = 0; i < length; i++) {
+                        int value = values[i];
+                        if (value != (byte) value) {
+                            return false;
+                        }
+                        bytes[offset + i] = (byte) value;
+                    }
+                    return true;
+                case UINT_8:
+                    for (int i = 0; i < length; i++) {
+                        int value = values[i];
+                        if ((value & ~0xFF) != 0) {
+                            return false;
+                        }
+                        bytes[offset + i] = (byte) value;
+                    }
+                    return true;
+                case INT_16:
+                    for (int i = 0; i < length; i++) {
+                        int value = values[i];
+                        if (value != (short) value) {
+                            return false;
+                        }
+                        accessor.putShort(bytes, (offset + i) << 1, (short) value);
+                    }
+                    return true;
+                case UINT_16:
+                    for (int i = 0; i < length; i++) {
+                        int value = values[i];
+                        if ((value & ~0xFFFF) != 0) {
+                            return false;
+                        }
+                        accessor.putShort(bytes, (offset + i) << 1, (short) value);
+                    }
+                    return true;
+                case INT_32:
+                    for (int i = 0; i < length; i++) {
+                        accessor.putInt(bytes, (offset + i) << 2, values[i]);
+                    }
+                    return true;
+                case UINT_32:
+                    for (int i = 0; i < length; i++) {
+                        int value = values[i];
+                        if (value < 0) {
+                            return false;
+                        }
+                        accessor.putInt(bytes, (offset + i) << 2, value);
+                    }
+                    return true;
+                case INT_64:
+                    for (int i = 0; i < length; i++) {
+                        accessor.putLong(bytes, (offset + i) << 3, values[i]);
+                    }
+                    return true;
+                case FLOAT:
+                    for (int i = 0; i < length; i++) {
+                        accessor.putFloat(bytes, (offset + i) << 2, values[i]);
+                    }
+                    return true;
+                case DOUBLE:
+                    for (int i = 0; i < length; i++) {
+                        accessor.putDouble(bytes, (offset + i) << 3, values[i]);
+                    }
+                    return true;
+                default:
+                    return false;
+            }
+        } else if (storage instanceof LongSequenceStorage longStorage && format == BufferFormat.INT_64) {
+            long[] values = longStorage.getInternalLongArray();
+            int length = longStorage.length();
+            for (int i = 0; i < length; i++) {
+                accessor.putLong(bytes, (offset + i) << 3, values[i]);
+            }
+            return true;
+        } else if (storage instanceof DoubleSequenceStorage doubleStorage) {
+            double[] values = doubleStorage.getInternalDoubleArray();
+            int length = doubleStorage.length();
+            if (format == BufferFormat.DOUBLE) {
+                for (int i = 0; i < length; i++) {
+                    accessor.putDouble(bytes, (offset + i) << 3, values[i]);
+                }
+                return true;
+            } else if (format == BufferFormat.FLOAT) {
+                for (int i = 0; i < length; i++) {
+                    accessor.putFloat(bytes, (offset + i) << 2, (float) values[i]);
+                }
+                return true;
+            }
+        }
+        return false;
+    }
 }
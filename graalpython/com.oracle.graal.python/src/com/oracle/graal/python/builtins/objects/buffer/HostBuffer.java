@@ -0,0 +1,534 @@
+/*
+ * Copyright (c) 2024, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.objects.buffer;
+
+import static com.oracle.graal.python.builtins.PythonBuiltinClassType.IndexError;
+import static com.oracle.graal.python.util.PythonUtils.ARRAY_ACCESSOR;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import com.oracle.graal.python.builtins.objects.PythonAbstractObject;
+import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.nodes.PRaiseNode;
+import com.oracle.graal.python.runtime.PythonContext;
+import com.oracle.graal.python.runtime.exception.PException;
+import com.oracle.graal.python.util.BufferFormat;
+import com.oracle.graal.python.util.PythonUtils;
+import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.TruffleLanguage.Env;
+import com.oracle.truffle.api.dsl.Bind;
+import com.oracle.truffle.api.dsl.Cached.Shared;
+import com.oracle.truffle.api.interop.InteropLibrary;
+import com.oracle.truffle.api.interop.InvalidBufferOffsetException;
+import com.oracle.truffle.api.interop.UnsupportedMessageException;
+import com.oracle.truffle.api.library.CachedLibrary;
+import com.oracle.truffle.api.library.ExportLibrary;
+import com.oracle.truffle.api.library.ExportMessage;
+import com.oracle.truffle.api.nodes.Node;
+import com.oracle.truffle.api.strings.TruffleString;
+
+/**
+ * Buffer view of a host Java primitive array or {@link ByteBuffer}, see
+ * {@link HostBufferAcquireExports}. Primitive arrays are accessed directly, without going through
+ * interop for every element and without copying them. The bytes of the elements are presented in
+ * native byte order, like CPython presents the contents of an {@code array.array}, and the format
+ * corresponds to the Java element type ({@code byte[]} is {@code 'b'}, {@code int[]} is {@code 'i'}
+ * , {@code double[]} is {@code 'd'} etc.). Byte buffers are accessed using the interop buffer
+ * messages and have the format {@code 'B'}.
+ */
+@ExportLibrary(PythonBufferAccessLibrary.class)
+public final class HostBuffer {
+    private static final boolean NATIVE_LITTLE_ENDIAN = ByteOrder.nativeOrder() == ByteOrder.LITTLE_ENDIAN;
+
+    // the interop object representing the host array or byte buffer
+    private final Object owner;
+    // the host primitive array or ByteBuffer
+    private final Object hostObject;
+    private final BufferFormat format;
+    private final int length;
+    private final boolean readonly;
+
+    private HostBuffer(Object owner, Object hostObject, BufferFormat format, int length, boolean readonly) {
+        this.owner = owner;
+        this.hostObject = hostObject;
+        this.format = format;
+        this.length = length;
+        this.readonly = readonly;
+    }
+
+    /**
+     * Returns the host primitive array or {@link ByteBuffer} represented by {@code receiver} if it
+     * can be exposed as a buffer, {@code null} otherwise. Host arrays are only exposed if the host
+     * access policy allows array access, byte buffers if it allows buffer access.
+     */
+    static Object getHostBufferObject(Node inliningTarget, Object receiver, InteropLibrary interop) {
+        if (receiver instanceof PythonAbstractObject) {
+            return null;
+        }
+        Env env = PythonContext.get(inliningTarget).getEnv();
+        if (!env.isHostObject(receiver)) {
+            return null;
+        }
+        Object hostObject = env.asHostObject(receiver);
+        if (hostObject instanceof ByteBuffer) {
+            return interop.hasBufferElements(receiver) ? hostObject : null;
+        }
+        BufferFormat format = formatForArray(hostObject);
+        if (format == null || !interop.hasArrayElements(receiver) || (long) elementCount(format, hostObject) * format.bytesize > Integer.MAX_VALUE) {
+            return null;
+        }
+        return hostObject;
+    }
+
+    static HostBuffer create(Node inliningTarget, Object receiver, InteropLibrary interop) {
+        Object hostObject = getHostBufferObject(inliningTarget, receiver, interop);
+        if (hostObject == null) {
+            return null;
+        }
+        if (hostObject instanceof ByteBuffer) {
+            try {
+                return new HostBuffer(receiver, hostObject, BufferFormat.UINT_8, (int) interop.getBufferSize(receiver), !interop.isBufferWritable(receiver));
+            } catch (UnsupportedMessageException e) {
+                throw CompilerDirectives.shouldNotReachHere(e);
+            }
+        }
+        BufferFormat format = formatForArray(hostObject);
+        return new HostBuffer(receiver, hostObject, format, elementCount(format, hostObject) * format.bytesize, false);
+    }
+
+    private static BufferFormat formatForArray(Object array) {
+        if (array instanceof byte[]) {
+            return BufferFormat.INT_8;
+        } else if (array instanceof int[]) {
+            return BufferFormat.INT_32;
+        } else if (array instanceof long[]) {
+            return BufferFormat.INT_64;
+        } else if (array instanceof double[]) {
+            return BufferFormat.DOUBLE;
+        } else if (array instanceof short[]) {
+            return BufferFormat.INT_16;
+        } else if (array instanceof char[]) {
+            return BufferFormat.UINT_16;
+        } else if (array instanceof float[]) {
+            return BufferFormat.FLOAT;
+        } else if (array instanceof boolean[]) {
+            return BufferFormat.BOOLEAN;
+        }
+        return null;
+    }
+
+    private static int elementCount(BufferFormat format, Object array) {
+        switch (format) {
+            case INT_8:
+                return ((byte[]) array).length;
+            case BOOLEAN:
+                return ((boolean[]) array).length;
+            case INT_16:
+                return ((short[]) array).length;
+            case UINT_16:
+                return ((char[]) array).length;
+            case INT_32:
+                return ((int[]) array).length;
+            case FLOAT:
+                return ((float[]) array).length;
+            case INT_64:
+                return ((long[]) array).length;
+            case DOUBLE:
+                return ((double[]) array).length;
+            default:
+                throw CompilerDirectives.shouldNotReachHere();
+        }
+    }
+
+    private boolean isByteBuffer() {
+        return format == BufferFormat.UINT_8;
+    }
+
+    /**
+     * Returns the bits of the array element at {@code index}, the same as they would be stored in
+     * native memory.
+     */
+    private long readElement(int index) {
+        switch (format) {
+            case INT_8:
+                return ((byte[]) hostObject)[index];
+            case BOOLEAN:
+                return ((boolean[]) hostObject)[index] ? 1 : 0;
+            case INT_16:
+                return ((short[]) hostObject)[index];
+            case UINT_16:
+                return ((char[]) hostObject)[index];
+            case INT_32:
+                return ((int[]) hostObject)[index];
+            case FLOAT:
+                return Float.floatToRawIntBits(((float[]) hostObject)[index]);
+            case INT_64:
+                return ((long[]) hostObject)[index];
+            case DOUBLE:
+                return Double.doubleToRawLongBits(((double[]) hostObject)[index]);
+            default:
+                throw CompilerDirectives.shouldNotReachHere();
+        }
+    }
+
+    private void writeElement(int index, long bits) {
+        switch (format) {
+            case INT_8:
+                ((byte[]) hostObject)[index] = (byte) bits;
+                break;
+            case BOOLEAN:
+                ((boolean[]) hostObject)[index] = (bits & 0xFF) != 0;
+                break;
+            case INT_16:
+                ((short[]) hostObject)[index] = (short) bits;
+                break;
+            case UINT_16:
+                ((char[]) hostObject)[index] = (char) bits;
+                break;
+            case INT_32:
+                ((int[]) hostObject)[index] = (int) bits;
+                break;
+            case FLOAT:
+                ((float[]) hostObject)[index] = Float.intBitsToFloat((int) bits);
+                break;
+            case INT_64:
+                ((long[]) hostObject)[index] = bits;
+                break;
+            case DOUBLE:
+                ((double[]) hostObject)[index] = Double.longBitsToDouble(bits);
+                break;
+            default:
+                throw CompilerDirectives.shouldNotReachHere();
+        }
+    }
+
+    private int byteShift(int byteOffset) {
+        int byteInElement = byteOffset & (format.bytesize - 1);
+        return (NATIVE_LITTLE_ENDIAN ? byteInElement : format.bytesize - 1 - byteInElement) * Byte.SIZE;
+    }
+
+    private byte readArrayByte(int byteOffset) {
+        if (format == BufferFormat.INT_8) {
+            return ((byte[]) hostObject)[byteOffset];
+        }
+        return (byte) (readElement(byteOffset >> format.shift) >> byteShift(byteOffset));
+    }
+
+    private void writeArrayByte(int byteOffset, byte value) {
+        if (format == BufferFormat.INT_8) {
+            ((byte[]) hostObject)[byteOffset] = value;
+            return;
+        }
+        int index = byteOffset >> format.shift;
+        int shift = byteShift(byteOffset);
+        writeElement(index, (readElement(index) & ~(0xFFL << shift)) | ((value & 0xFFL) << shift));
+    }
+
+    /**
+     * Returns {@code true} if the {@code size} bytes at {@code byteOffset} are exactly one array
+     * element.
+     */
+    private boolean isElementAccess(int byteOffset, int size) {
+        return format.bytesize == size && (byteOffset & (size - 1)) == 0 && !isByteBuffer();
+    }
+
+    private long readArrayBytes(int byteOffset, int size, ByteOrder byteOrder) {
+        long result = 0;
+        for (int i = 0; i < size; i++) {
+            int b = readArrayByte(byteOffset + i) & 0xFF;
+            int shift = (byteOrder == ByteOrder.LITTLE_ENDIAN ? i : size - 1 - i) * Byte.SIZE;
+            result |= (long) b << shift;
+        }
+        return result;
+    }
+
+    private void writeArrayBytes(int byteOffset, int size, long value, ByteOrder byteOrder) {
+        for (int i = 0; i < size; i++) {
+            int shift = (byteOrder == ByteOrder.LITTLE_ENDIAN ? i : size - 1 - i) * Byte.SIZE;
+            writeArrayByte(byteOffset + i, (byte) (value >> shift));
+        }
+    }
+
+    private static PException invalidAccess(Node inliningTarget) {
+        CompilerDirectives.transferToInterpreterAndInvalidate();
+        throw PRaiseNode.raiseUncached(inliningTarget, IndexError, ErrorMessages.INVALID_BUFFER_ACCESS);
+    }
+
+    @ExportMessage
+    @SuppressWarnings("static-method")
+    boolean isBuffer() {
+        return true;
+    }
+
+    @ExportMessage
+    int getBufferLength() {
+        return length;
+    }
+
+    @ExportMessage
+    boolean isReadonly() {
+        return readonly;
+    }
+
+    @ExportMessage
+    Object getOwner() {
+        return owner;
+    }
+
+    @ExportMessage
+    int getItemSize() {
+        return format.bytesize;
+    }
+
+    @ExportMessage
+    TruffleString getFormatString() {
+        return format.baseTypeCode;
+    }
+
+    @ExportMessage
+    boolean hasInternalByteArray() {
+        return format == BufferFormat.INT_8;
+    }
+
+    @ExportMessage
+    byte[] getInternalByteArray() {
+        assert hasInternalByteArray();
+        return (byte[]) hostObject;
+    }
+
+    @ExportMessage
+    void readIntoByteArray(int srcOffset, byte[] dest, int destOffset, int len) {
+        if (isByteBuffer()) {
+            getBytes((ByteBuffer) hostObject, srcOffset, dest, destOffset, len);
+        } else if (format == BufferFormat.INT_8) {
+            PythonUtils.arraycopy(hostObject, srcOffset, dest, destOffset, len);
+        } else if (isElementAccess(srcOffset, format.bytesize) && (len & (format.bytesize - 1)) == 0) {
+            int first = srcOffset >> format.shift;
+            int count = len >> format.shift;
+            for (int i = 0; i < count; i++) {
+                long bits = readElement(first + i);
+                int pos = destOffset + (i << format.shift);
+                switch (format.bytesize) {
+                    case 1 -> dest[pos] = (byte) bits;
+                    case 2 -> ARRAY_ACCESSOR.putShort(dest, pos, (short) bits);
+                    case 4 -> ARRAY_ACCESSOR.putInt(dest, pos, (int) bits);
+                    default -> ARRAY_ACCESSOR.putLong(dest, pos, bits);
+                }
+            }
+        } else {
+            for (int i = 0; i < len; i++) {
+                dest[destOffset + i] = readArrayByte(srcOffset + i);
+            }
+        }
+    }
+
+    @ExportMessage
+    void writeFromByteArray(int destOffset, byte[] src, int srcOffset, int len) {
+        if (isByteBuffer()) {
+            putBytes((ByteBuffer) hostObject, destOffset, src, srcOffset, len);
+        } else if (format == BufferFormat.INT_8) {
+            PythonUtils.arraycopy(src, srcOffset, hostObject, destOffset, len);
+        } else if (isElementAccess(destOffset, format.bytesize) && (len & (format.bytesize - 1)) == 0) {
+            int first = destOffset >> format.shift;
+            int count = len >> format.shift;
+            for (int i = 0; i < count; i++) {
+                int pos = srcOffset + (i << format.shift);
+                long bits = switch (format.bytesize) {
+                    case 1 -> src[pos];
+                    case 2 -> ARRAY_ACCESSOR.getShort(src, pos);
+                    case 4 -> ARRAY_ACCESSOR.getInt(src, pos);
+                    default -> ARRAY_ACCESSOR.getLong(src, pos);
+                };
+                writeElement(first + i, bits);
+            }
+        } else {
+            for (int i = 0; i < len; i++) {
+                writeArrayByte(destOffset + i, src[srcOffset + i]);
+            }
+        }
+    }
+
+    @TruffleBoundary
+    private static void getBytes(ByteBuffer buffer, int index, byte[] dest, int destOffset, int len) {
+        buffer.get(index, dest, destOffset, len);
+    }
+
+    @TruffleBoundary
+    private static void putBytes(ByteBuffer buffer, int index, byte[] src, int srcOffset, int len) {
+        buffer.put(index, src, srcOffset, len);
+    }
+
+    @ExportMessage
+    byte readByte(int byteOffset,
+                    @Bind("$node") Node inliningTarget,
+                    @Shared @CachedLibrary(limit = "1") InteropLibrary interop) {
+        if (isByteBuffer()) {
+            try {
+                return interop.readBufferByte(owner, byteOffset);
+            } catch (UnsupportedMessageException | InvalidBufferOffsetException e) {
+                throw invalidAccess(inliningTarget);
+            }
+        }
+        return readArrayByte(byteOffset);
+    }
+
+    @ExportMessage
+    void writeByte(int byteOffset, byte value,
+                    @Bind("$node") Node inliningTarget,
+                    @Shared @CachedLibrary(limit = "1") InteropLibrary interop) {
+        if (isByteBuffer()) {
+            try {
+                interop.writeBufferByte(owner, byteOffset, value);
+            } catch (UnsupportedMessageException | InvalidBufferOffsetException e) {
+                throw invalidAccess(inliningTarget);
+            }
+            return;
+        }
+        writeArrayByte(byteOffset, value);
+    }
+
+    @ExportMessage
+    short readShortByteOrder(int byteOffset, ByteOrder byteOrder,
+                    @Bind("$node") Node inliningTarget,
+                    @Shared @CachedLibrary(limit = "1") InteropLibrary interop) {
+        if (isByteBuffer()) {
+            try {
+                return interop.readBufferShort(owner, byteOrder, byteOffset);
+            } catch (UnsupportedMessageException | InvalidBufferOffsetException e) {
+                throw invalidAccess(inliningTarget);
+            }
+        }
+        if (isElementAccess(byteOffset, Short.BYTES)) {
+            short value = (short) readElement(byteOffset >> 1);
+            return byteOrder == ByteOrder.nativeOrder() ? value : Short.reverseBytes(value);
+        }
+        return (short) readArrayBytes(byteOffset, Short.BYTES, byteOrder);
+    }
+
+    @ExportMessage
+    void writeShortByteOrder(int byteOffset, short value, ByteOrder byteOrder,
+                    @Bind("$node") Node inliningTarget,
+                    @Shared @CachedLibrary(limit = "1") InteropLibrary interop) {
+        if (isByteBuffer()) {
+            try {
+                interop.writeBufferShort(owner, byteOrder, byteOffset, value);
+            } catch (UnsupportedMessageException | InvalidBufferOffsetException e) {
+                throw invalidAccess(inliningTarget);
+            }
+        } else if (isElementAccess(byteOffset, Short.BYTES)) {
+            writeElement(byteOffset >> 1, byteOrder == ByteOrder.nativeOrder() ? value : Short.reverseBytes(value));
+        } else {
+            writeArrayBytes(byteOffset, Short.BYTES, value, byteOrder);
+        }
+    }
+
+    @ExportMessage
+    int readIntByteOrder(int byteOffset, ByteOrder byteOrder,
+                    @Bind("$node") Node inliningTarget,
+                    @Shared @CachedLibrary(limit = "1") InteropLibrary interop) {
+        if (isByteBuffer()) {
+            try {
+                return interop.readBufferInt(owner, byteOrder, byteOffset);
+            } catch (UnsupportedMessageException | InvalidBufferOffsetException e) {
+                throw invalidAccess(inliningTarget);
+            }
+        }
+        if (isElementAccess(byteOffset, Integer.BYTES)) {
+            int value = (int) readElement(byteOffset >> 2);
+            return byteOrder == ByteOrder.nativeOrder() ? value : Integer.reverseBytes(value);
+        }
+        return (int) readArrayBytes(byteOffset, Integer.BYTES, byteOrder);
+    }
+
+    @ExportMessage
+    void writeIntByteOrder(int byteOffset, int value, ByteOrder byteOrder,
+                    @Bind("$node") Node inliningTarget,
+                    @Shared @CachedLibrary(limit = "1") InteropLibrary interop) {
+        if (isByteBuffer()) {
+            try {
+                interop.writeBufferInt(owner, byteOrder, byteOffset, value);
+            } catch (UnsupportedMessageException | InvalidBufferOffsetException e) {
+                throw invalidAccess(inliningTarget);
+            }
+        } else if (isElementAccess(byteOffset, Integer.BYTES)) {
+            writeElement(byteOffset >> 2, byteOrder == ByteOrder.nativeOrder() ? value : Integer.reverseBytes(value));
+        } else {
+            writeArrayBytes(byteOffset, Integer.BYTES, value, byteOrder);
+        }
+    }
+
+    @ExportMessage
+    long readLongByteOrder(int byteOffset, ByteOrder byteOrder,
+                    @Bind("$node") Node inliningTarget,
+                    @Shared @CachedLibrary(limit = "1") InteropLibrary interop) {
+        if (isByteBuffer()) {
+            try {
+                return interop.readBufferLong(owner, byteOrder, byteOffset);
+            } catch (UnsupportedMessageException | InvalidBufferOffsetException e) {
+                throw invalidAccess(inliningTarget);
+            }
+        }
+        if (isElementAccess(byteOffset, Long.BYTES)) {
+            long value = readElement(byteOffset >> 3);
+            return byteOrder == ByteOrder.nativeOrder() ? value : Long.reverseBytes(value);
+        }
+        return readArrayBytes(byteOffset, Long.BYTES, byteOrder);
+    }
+
+    @ExportMessage
+    void writeLongByteOrder(int byteOffset, long value, ByteOrder byteOrder,
+                    @Bind("$node") Node inliningTarget,
+                    @Shared @CachedLibrary(limit = "1") InteropLibrary interop) {
+        if (isByteBuffer()) {
+            try {
+                interop.writeBufferLong(owner, byteOrder, byteOffset, value);
+            } catch (UnsupportedMessageException | InvalidBufferOffsetException e) {
+                throw invalidAccess(inliningTarget);
+            }
+        } else if (isElementAccess(byteOffset, Long.BYTES)) {
+            writeElement(byteOffset >> 3, byteOrder == ByteOrder.nativeOrder() ? value : Long.reverseBytes(value));
+        } else {
+            writeArrayBytes(byteOffset, Long.BYTES, value, byteOrder);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2024, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.objects.buffer;
+
+import static com.oracle.graal.python.builtins.PythonBuiltinClassType.BufferError;
+import static com.oracle.graal.python.builtins.PythonBuiltinClassType.TypeError;
+
+import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.nodes.PRaiseNode;
+import com.oracle.truffle.api.dsl.Bind;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.Cached.Shared;
+import com.oracle.truffle.api.interop.InteropLibrary;
+import com.oracle.truffle.api.interop.TruffleObject;
+import com.oracle.truffle.api.library.CachedLibrary;
+import com.oracle.truffle.api.library.ExportLibrary;
+import com.oracle.truffle.api.library.ExportMessage;
+import com.oracle.truffle.api.nodes.Node;
+
+/**
+ * Default export of {@link PythonBufferAcquireLibrary} for objects that don't export it themselves.
+ * Makes host Java primitive arrays and {@link java.nio.ByteBuffer}s usable wherever a bytes-like
+ * object is accepted, without copying them, see {@link HostBuffer}.
+ */
+@ExportLibrary(value = PythonBufferAcquireLibrary.class, receiverType = TruffleObject.class)
+final class HostBufferAcquireExports {
+
+    @ExportMessage
+    static boolean hasBuffer(TruffleObject receiver,
+                    @Bind("$node") Node inliningTarget,
+                    @Shared @CachedLibrary(limit = "3") InteropLibrary interop) {
+        return HostBuffer.getHostBufferObject(inliningTarget, receiver, interop) != null;
+    }
+
+    @ExportMessage
+    static Object acquire(TruffleObject receiver, int flags,
+                    @Bind("$node") Node inliningTarget,
+                    @Shared @CachedLibrary(limit = "3") InteropLibrary interop,
+                    @Cached PRaiseNode.Lazy raiseNode) {
+        HostBuffer buffer = HostBuffer.create(inliningTarget, receiver, interop);
+        if (buffer == null) {
+            throw raiseNode.get(inliningTarget).raise(TypeError, ErrorMessages.BYTESLIKE_OBJ_REQUIRED, receiver);
+        }
+        if ((flags & BufferFlags.PyBUF_WRITABLE) != 0 && buffer.isReadonly()) {
+            throw raiseNode.get(inliningTarget).raise(BufferError, ErrorMessages.OBJ_IS_NOT_WRITABLE);
+        }
+        return buffer;
+    }
+}
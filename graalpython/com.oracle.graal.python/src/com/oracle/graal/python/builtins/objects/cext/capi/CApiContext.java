@@ -433,7 +433,7 @@ public final class CApiContext extends CExtContext {
         for (int retries = 0; retries < MAX_COLLECTION_RETRIES; retries++) {
             delay += 50;
             doGc(delay);
-            CApiTransitions.pollReferenceQueue();
+            CApiTransitions.drainReferenceQueue();
             PythonContext.triggerAsyncActions(caller);
             if (allocatedMemory + size <= context.getOption(PythonOptions.MaxNativeMemory)) {
                 allocatedMemory += size;
@@ -447,6 +447,14 @@ public final class CApiContext extends CExtContext {
         allocatedMemory -= size;
     }
 
+    /**
+     * Tests if the tracked native memory exceeds half of {@link PythonOptions#MaxNativeMemory}, so
+     * that an explicit collection should also collect the Java heap to release native objects.
+     */
+    public boolean isUnderMemoryPressure() {
+        return allocatedMemory > getContext().getOption(PythonOptions.MaxNativeMemory) / 2;
+    }
+
     @TruffleBoundary
     private static void doGc(long millis) {
         LOGGER.fine("full GC due to native memory");
@@ -539,6 +547,10 @@ public final class CApiContext extends CExtContext {
     @TruffleBoundary
     public static CApiContext ensureCapiWasLoaded(Node node, PythonContext context, TruffleString name, TruffleString path) throws IOException, ImportException, ApiInitException {
         if (!context.hasCApiContext()) {
+            if (context.isFreeThreaded()) {
+                // native code relies on the GIL to protect the objects it accesses
+                throw new ImportException(null, name, path, ErrorMessages.CANNOT_USE_C_EXTENSIONS_WITHOUT_GIL);
+            }
             Env env = context.getEnv();
             InteropLibrary U = InteropLibrary.getUncached();
 
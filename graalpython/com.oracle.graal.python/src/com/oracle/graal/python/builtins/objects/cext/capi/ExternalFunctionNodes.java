@@ -902,7 +902,9 @@ public abstract class ExternalFunctionNodes {
                 Object callable = ensureReadCallableNode().execute(frame);
                 if (externalInvokeNode != null) {
                     Object[] cArguments = prepareCArguments(frame);
+                    long conversionStart = CApiTiming.startConversion();
                     prepareArguments(cArguments);
+                    CApiTiming.endConversion(timing, conversionStart);
                     try {
                         assert this.provider != null : "the provider cannot be null";
                         return externalInvokeNode.execute(frame, provider, timing, name, callable, cArguments);
@@ -44,19 +44,51 @@ import static java.util.stream.Collectors.summingLong;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.stream.Stream;
 
 import org.graalvm.nativeimage.ImageInfo;
 
+import com.oracle.truffle.api.Assumption;
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.Truffle;
 
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Period;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Profiling of C API calls. Downcalls (Java to native) and upcalls (native to Java) are
+ * bracketed by {@link #enter()} and {@link #exit(CApiTiming)}, which account the time spent in
+ * the call, excluding nested calls, to the given timing. The cost of converting arguments is
+ * accounted separately with {@link #startConversion()} and
+ * {@link #endConversion(CApiTiming, long)}.
+ *
+ * Profiling is off by default and can be enabled with the option {@code python.CApiProfiling}
+ * or the system property {@code python.CAPITiming}. Since the timings are attached to nodes and
+ * wrappers that may be shared between contexts, the statistics are collected for the whole
+ * process. They are available from {@link #getStatistics()}, from
+ * {@code __graalpython__.capi_stats()} and as JFR events.
+ */
 public final class CApiTiming {
 
     /**
-     * Set this property to non-zero to enable timing of C API calls (upcalls and downcalls).
+     * Set this property to non-zero to enable timing of C API calls (upcalls and downcalls) and
+     * to dump the statistics to stdout in this interval (in ms).
      */
     private static final int PROFILE_CALL_INTERVAL = Integer.getInteger("python.CAPITiming", 0);
 
+    private static final Assumption PROFILING_DISABLED = Truffle.getRuntime().createAssumption("C API profiling disabled");
+
     private static final int INITIAL_STACK = 100;
     /**
      * Include results until at least this fraction of total time is included.
@@ -74,27 +106,132 @@ public final class CApiTiming {
     }
 
     private static final ThreadLocal<TimingStack> STACK = ThreadLocal.withInitial(TimingStack::new);
-    private static final ArrayList<CApiTiming> TIMINGS = new ArrayList<>();
+    /**
+     * The statistics of all functions called so far, keyed by name and direction. Timings with the
+     * same name (e.g., of different wrappers of one slot function) share their statistics.
+     */
+    private static final LinkedHashMap<String, CallStatistics> TIMINGS = new LinkedHashMap<>();
 
-    private final String name;
+    private final Object delegate;
     private final boolean fromJava;
-    private long time;
-    private long count;
+    private CallStatistics statistics;
 
-    private CApiTiming(boolean fromJava, String name) {
+    private CApiTiming(boolean fromJava, Object delegate) {
         this.fromJava = fromJava;
-        this.name = name;
-        synchronized (TIMINGS) {
-            TIMINGS.add(this);
-        }
+        this.delegate = delegate;
     }
 
+    /**
+     * Creates the timing for calls of {@code delegate}, or returns {@code null} if profiling is not
+     * enabled.
+     */
     public static CApiTiming create(boolean fromJava, Object delegate) {
-        return PROFILE_CALL_INTERVAL == 0 ? null : new CApiTiming(fromJava, delegate + (fromJava ? " J->N" : " N->J"));
+        return PROFILING_DISABLED.isValid() ? null : new CApiTiming(fromJava, delegate);
+    }
+
+    /**
+     * Like {@link #create(boolean, Object)}, but always creates the timing. This is meant for
+     * timings that are created once per process, possibly before any context enabled profiling.
+     */
+    public static CApiTiming createPermanent(boolean fromJava, Object delegate) {
+        return new CApiTiming(fromJava, delegate);
+    }
+
+    /**
+     * Cumulative statistics of the calls of one C API function in one direction. The counters are
+     * updated by all threads that call the function without holding a lock.
+     */
+    public static final class CallStatistics {
+        private final String name;
+        private final boolean downcall;
+        private final LongAdder count = new LongAdder();
+        private final LongAdder time = new LongAdder();
+        private final LongAdder conversionTime = new LongAdder();
+
+        private CallStatistics(String name, boolean downcall) {
+            this.name = name;
+            this.downcall = downcall;
+        }
+
+        private CallStatistics(CallStatistics other) {
+            this.name = other.name;
+            this.downcall = other.downcall;
+            this.count.add(other.count.sum());
+            this.time.add(other.time.sum());
+            this.conversionTime.add(other.conversionTime.sum());
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * {@code true} for calls from Java to native code, {@code false} for calls from native code
+         * to Java.
+         */
+        public boolean isDowncall() {
+            return downcall;
+        }
+
+        public long getCount() {
+            return count.sum();
+        }
+
+        /**
+         * The time spent in the calls in nanoseconds, excluding nested calls in the other direction.
+         */
+        public long getTimeNanos() {
+            return time.sum();
+        }
+
+        /**
+         * The time spent converting arguments in nanoseconds. For upcalls, this is part of
+         * {@link #getTimeNanos()}, for downcalls the conversion happens before the call and comes on
+         * top of it.
+         */
+        public long getConversionTimeNanos() {
+            return conversionTime.sum();
+        }
+
+        String getDirection() {
+            return downcall ? "downcall" : "upcall";
+        }
+
+        @Override
+        public String toString() {
+            return name + (downcall ? " J->N" : " N->J");
+        }
+    }
+
+    @Name("org.graalvm.python.CApiCall")
+    @Label("C API Call")
+    @Category({"GraalPy", "C API"})
+    @Description("A single call between Python and native code. Disabled by default because of the high volume.")
+    @Enabled(false)
+    @StackTrace(false)
+    static final class CallEvent extends Event {
+        @Label("Function") String function;
+        @Label("Direction") String direction;
+        @Label("Self Time") @Timespan(Timespan.NANOSECONDS) long selfTime;
+    }
+
+    @Name("org.graalvm.python.CApiCallStatistics")
+    @Label("C API Call Statistics")
+    @Category({"GraalPy", "C API"})
+    @Description("Cumulative statistics of a C API function, emitted periodically for each function called so far.")
+    @Period("10 s")
+    @StackTrace(false)
+    static final class StatisticsEvent extends Event {
+        @Label("Function") String function;
+        @Label("Direction") String direction;
+        @Label("Calls") long count;
+        @Label("Time") @Timespan(Timespan.NANOSECONDS) long time;
+        @Label("Conversion Time") @Timespan(Timespan.NANOSECONDS) long conversionTime;
     }
 
     static {
         if (PROFILE_CALL_INTERVAL != 0 && !ImageInfo.inImageBuildtimeCode()) {
+            enableProfiling();
             Thread thread = new Thread() {
                 @Override
                 public void run() {
@@ -104,9 +241,7 @@ public final class CApiTiming {
                         } catch (InterruptedException e) {
                             // continue
                         }
-                        synchronized (TIMINGS) {
-                            dumpCallStatistics();
-                        }
+                        dumpCallStatistics();
                     }
                 }
 
@@ -122,23 +257,69 @@ public final class CApiTiming {
         }
     }
 
+    /**
+     * Enables profiling for all contexts of the process. Timings are only created for C API
+     * functions and slots that are initialized after this call.
+     */
+    @TruffleBoundary
+    public static synchronized void enableProfiling() {
+        if (PROFILING_DISABLED.isValid()) {
+            FlightRecorder.addPeriodicEvent(StatisticsEvent.class, CApiTiming::emitStatisticsEvents);
+            PROFILING_DISABLED.invalidate();
+        }
+    }
+
+    public static boolean isProfiling() {
+        return !PROFILING_DISABLED.isValid();
+    }
+
+    /**
+     * Returns a snapshot of the statistics of all C API functions called so far, sorted by
+     * decreasing time.
+     */
+    @TruffleBoundary
+    public static List<CallStatistics> getStatistics() {
+        ArrayList<CallStatistics> result = new ArrayList<>();
+        synchronized (TIMINGS) {
+            for (CallStatistics s : TIMINGS.values()) {
+                result.add(new CallStatistics(s));
+            }
+        }
+        result.sort((a, b) -> Long.compare(b.getTimeNanos(), a.getTimeNanos()));
+        return result;
+    }
+
+    private static void emitStatisticsEvents() {
+        for (CallStatistics s : getStatistics()) {
+            StatisticsEvent event = new StatisticsEvent();
+            event.function = s.name;
+            event.direction = s.getDirection();
+            event.count = s.getCount();
+            event.time = s.getTimeNanos();
+            event.conversionTime = s.getConversionTimeNanos();
+            event.commit();
+        }
+    }
+
     private static void dumpCallStatistics() {
-        ArrayList<CApiTiming> sorted = new ArrayList<>(TIMINGS);
-        sorted.sort((a, b) -> Boolean.compare(a.fromJava, b.fromJava) * 100 + a.name.compareTo(b.name));
+        ArrayList<CallStatistics> sorted = new ArrayList<>(getStatistics());
+        sorted.sort((a, b) -> Boolean.compare(!a.downcall, !b.downcall) * 100 + a.name.compareTo(b.name));
         System.out.println("======================================================================");
         System.out.printf("%70s  %8s %10s\n", "Name:", "Count:", "Time:");
-        long totalCount = sorted.stream().collect(summingLong(e -> e.count));
-        long totalTime = sorted.stream().collect(summingLong(e -> e.time));
-        long cutoffTime = getCutoff(totalTime, sorted.stream().map(e -> e.time));
-        long cutoffCount = getCutoff(totalCount, sorted.stream().map(e -> e.count));
+        long totalCount = sorted.stream().collect(summingLong(CallStatistics::getCount));
+        long totalTime = sorted.stream().collect(summingLong(CallStatistics::getTimeNanos));
+        long cutoffTime = getCutoff(totalTime, sorted.stream().map(CallStatistics::getTimeNanos));
+        long cutoffCount = getCutoff(totalCount, sorted.stream().map(CallStatistics::getCount));
         long percent = totalTime / 100;
         long visibleCount = 0;
         long visibleTime = 0;
         for (var e : sorted) {
-            if (e.time >= cutoffTime || e.count >= cutoffCount) {
-                System.out.printf("%70s  %8s %8sms %s\n", e.name, e.count, e.time / 1000000, stars(percent, e.time));
-                visibleCount += e.count;
-                visibleTime += e.time;
+            long count = e.getCount();
+            long time = e.getTimeNanos();
+            if (time >= cutoffTime || count >= cutoffCount) {
+                System.out.printf("%70s  %8s %8sms %s\n", e, count, time / 1000000, stars(percent, time));
+                visibleCount += count;
+                visibleTime += time;
             }
         }
         System.out.printf("%70s  %8s %8sms %s\n", "Others:", (totalCount - visibleCount), (totalTime - visibleTime) / 1000000, stars(percent, totalTime - visibleTime));
@@ -172,24 +353,45 @@ public final class CApiTiming {
     }
 
     public static void enter() {
-        if (PROFILE_CALL_INTERVAL != 0) {
+        if (!PROFILING_DISABLED.isValid()) {
             enterInternal();
         }
     }
 
     public static void exit(CApiTiming t) {
-        if (PROFILE_CALL_INTERVAL != 0) {
+        if (!PROFILING_DISABLED.isValid()) {
             exitInternal(t);
         }
     }
 
+    /**
+     * Returns the start time of an argument conversion, or {@code 0} if profiling is not enabled.
+     */
+    public static long startConversion() {
+        if (!PROFILING_DISABLED.isValid()) {
+            return nanoTime();
+        }
+        return 0;
+    }
+
+    public static void endConversion(CApiTiming t, long start) {
+        if (start != 0 && t != null) {
+            endConversionInternal(t, start);
+        }
+    }
+
+    @TruffleBoundary
+    private static long nanoTime() {
+        return System.nanoTime();
+    }
+
     @TruffleBoundary
     private static void enterInternal() {
         TimingStack stack = STACK.get();
         if (stack.sp >= stack.startTimes.length) {
             // grow stack if necessary
             int newSize = stack.startTimes.length * 2;
-            stack.subTimes = Arrays.copyOf(stack.subTimes, newSize);
+            stack.subTimes = Arrays.copyOf(stack.subTimes, newSize + 1);
             stack.startTimes = Arrays.copyOf(stack.startTimes, newSize);
         }
         stack.subTimes[stack.sp] = 0;
@@ -199,12 +401,49 @@ public final class CApiTiming {
     @TruffleBoundary
     private static void exitInternal(CApiTiming t) {
         TimingStack stack = STACK.get();
+        if (stack.sp == 0) {
+            // profiling was enabled while this call was running
+            return;
+        }
         long startTime = stack.startTimes[--stack.sp];
         long delta = System.nanoTime() - startTime;
-        t.time += delta - stack.subTimes[stack.sp];
         if (stack.sp > 0) {
             stack.subTimes[stack.sp - 1] += delta;
         }
-        t.count++;
+        if (t != null) {
+            long selfTime = delta - stack.subTimes[stack.sp];
+            CallStatistics s = t.getCallStatistics();
+            s.time.add(selfTime);
+            s.count.increment();
+            CallEvent event = new CallEvent();
+            if (event.isEnabled()) {
+                event.function = s.name;
+                event.direction = s.getDirection();
+                event.selfTime = selfTime;
+                event.commit();
+            }
+        }
+    }
+
+    @TruffleBoundary
+    private static void endConversionInternal(CApiTiming t, long start) {
+        t.getCallStatistics().conversionTime.add(System.nanoTime() - start);
+    }
+
+    private CallStatistics getCallStatistics() {
+        CallStatistics s = statistics;
+        if (s == null) {
+            String name = String.valueOf(delegate);
+            String key = name + (fromJava ? " J->N" : " N->J");
+            synchronized (TIMINGS) {
+                s = TIMINGS.get(key);
+                if (s == null) {
+                    s = new CallStatistics(name, fromJava);
+                    TIMINGS.put(key, s);
+                }
+            }
+            statistics = s;
+        }
+        return s;
     }
 }
@@ -44,11 +44,9 @@ import static com.oracle.graal.python.builtins.objects.cext.capi.PythonNativeWra
 
 import java.lang.ref.ReferenceQueue;
 import java.lang.ref.WeakReference;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.WeakHashMap;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Level;
 
 import com.oracle.graal.python.builtins.objects.PNone;
@@ -132,10 +130,14 @@ public abstract class CApiTransitions {
         private static final int DEFAULT_CAPACITY = 10;
 
         public final NativeObjectReferenceArrayWrapper referencesToBeFreed = new NativeObjectReferenceArrayWrapper();
-        public final HashMap<Long, IdReference<?>> nativeLookup = new HashMap<>();
-        public final ConcurrentHashMap<Long, Long> nativeWeakRef = new ConcurrentHashMap<>();
+        public final PointerLookupTable<IdReference<?>> nativeLookup = new PointerLookupTable<>();
+        /*
+         * Only the keys are used. Guarded by synchronizing on the table since weakrefs may be
+         * removed from the weakref callback thread.
+         */
+        public final PointerLookupTable<Boolean> nativeWeakRef = new PointerLookupTable<>();
         public final WeakHashMap<Object, WeakReference<Object>> managedNativeLookup = new WeakHashMap<>();
-        public final HashMap<Long, PythonObjectReference> nativeStubLookup = new HashMap<>();
+        public final PointerLookupTable<PythonObjectReference> nativeStubLookup = new PointerLookupTable<>();
         public final Set<NativeStorageReference> nativeStorageReferences = new HashSet<>();
 
         public final ReferenceQueue<Object> referenceQueue = new ReferenceQueue<>();
@@ -266,88 +268,123 @@ public abstract class CApiTransitions {
         handleContext.nativeStorageReferences.add(ref);
     }
 
+    /**
+     * Maximum number of collected references released by a single {@link #pollReferenceQueue()}.
+     * The queue is polled on every transition that creates a new reference, so releasing a large
+     * backlog there would stall the allocating transition. Anything left over is released by the
+     * next poll.
+     */
+    private static final int REFERENCE_QUEUE_BATCH_SIZE = 1024;
+
+    /**
+     * Incrementally releases collected references: at most {@link #REFERENCE_QUEUE_BATCH_SIZE}
+     * references are processed per call.
+     */
     @TruffleBoundary
-    @SuppressWarnings("try")
     public static void pollReferenceQueue() {
+        pollReferenceQueue(REFERENCE_QUEUE_BATCH_SIZE);
+    }
+
+    /**
+     * Releases all references that are currently in the reference queue. This is used after an
+     * explicit GC, where the caller expects all collected objects to be released.
+     *
+     * @return the number of released references
+     */
+    @TruffleBoundary
+    public static int drainReferenceQueue() {
+        return pollReferenceQueue(Integer.MAX_VALUE);
+    }
+
+    @SuppressWarnings("try")
+    private static int pollReferenceQueue(int maxCount) {
         HandleContext context = getContext();
-        if (!context.referenceQueuePollActive) {
-            try (GilNode.UncachedAcquire ignored = GilNode.uncachedAcquire()) {
+        if (context.referenceQueuePollActive) {
+            return 0;
+        }
+        /*
+         * Polling the queue is cheap and thread-safe, so check if there is anything to do before
+         * acquiring the GIL.
+         */
+        Object entry = context.referenceQueue.poll();
+        if (entry == null) {
+            return 0;
+        }
+        try (GilNode.UncachedAcquire ignored = GilNode.uncachedAcquire()) {
+            assert !context.referenceQueuePollActive;
+            context.referenceQueuePollActive = true;
+            try {
                 ReferenceQueue<Object> queue = context.referenceQueue;
+                NativeObjectReferenceArrayWrapper referencesToBeFreed = context.referencesToBeFreed;
+                long start = System.nanoTime();
                 int count = 0;
-                long start = 0;
-                NativeObjectReferenceArrayWrapper referencesToBeFreed = getContext().referencesToBeFreed;
-                while (true) {
-                    Object entry = queue.poll();
-                    if (entry == null) {
-                        if (count > 0) {
-                            assert context.referenceQueuePollActive;
-                            if (!referencesToBeFreed.isEmpty()) {
-                                LOGGER.fine(() -> PythonUtils.formatJString("releasing %d NativeObjectReference instances", referencesToBeFreed.getArraySize()));
-                                Object array = CStructAccessFactory.AllocateNodeGen.getUncached().alloc(referencesToBeFreed.getArraySize() * Long.BYTES);
-                                CStructAccessFactory.WriteLongNodeGen.getUncached().writeLongArray(array, referencesToBeFreed.getArray(), (int) referencesToBeFreed.getArraySize(), 0, 0);
-                                PCallCapiFunction.getUncached().call(NativeCAPISymbol.FUN_BULK_DEALLOC, array, referencesToBeFreed.getArraySize());
-                                CStructAccessFactory.FreeNodeGen.getUncached().free(array);
-                                referencesToBeFreed.reset();
-                            }
-                            context.referenceQueuePollActive = false;
-                            LOGGER.fine("collected " + count + " references from native reference queue in " + ((System.nanoTime() - start) / 1000000) + "ms");
-                        }
-                        return;
-                    }
-                    if (count == 0) {
-                        assert !context.referenceQueuePollActive;
-                        context.referenceQueuePollActive = true;
-                        start = System.nanoTime();
-                    } else {
-                        assert context.referenceQueuePollActive;
-                    }
+                do {
+                    releaseReference(context, entry, referencesToBeFreed);
                     count++;
-                    if (entry instanceof PythonObjectReference reference) {
-                        LOGGER.finer(() -> PythonUtils.formatJString("releasing PythonObjectReference %s", reference));
-                        if (HandlePointerConverter.pointsToPyHandleSpace(reference.pointer)) {
-                            assert nativeStubLookupGet(context, reference.pointer) != null : Long.toHexString(reference.pointer);
-                            nativeStubLookupRemove(context, reference.pointer);
-                            /*
-                             * We may only free native object stubs if their reference count is
-                             * zero. We cannot free other structs (e.g. PyDateTime_CAPI) because we
-                             * don't know if they are still used from native code. Those must be
-                             * free'd at context finalization.
-                             */
-                            long stubPointer = HandlePointerConverter.pointerToStub(reference.pointer);
-                            if (subNativeRefCount(stubPointer, PythonAbstractObjectNativeWrapper.MANAGED_REFCNT) == 0) {
-                                LOGGER.finer(() -> String.format("freeing native object stub 0x%s", Long.toHexString(stubPointer)));
-                                FreeNode.executeUncached(stubPointer);
-                            }
-                        } else {
-                            assert nativeLookupGet(context, reference.pointer) != null : Long.toHexString(reference.pointer);
-                            nativeLookupRemove(context, reference.pointer);
-                        }
-                    } else if (entry instanceof NativeObjectReference reference) {
-                        LOGGER.finer(() -> PythonUtils.formatJString("releasing NativeObjectReference %s", reference));
-                        nativeLookupRemove(context, reference.pointer);
-                        if (subNativeRefCount(reference.pointer, PythonAbstractObjectNativeWrapper.MANAGED_REFCNT) == 0) {
-                            referencesToBeFreed.add(reference.pointer);
-                        }
-                    } else if (entry instanceof NativeStorageReference reference) {
-                        LOGGER.finer(() -> PythonUtils.formatJString("releasing NativeStorageReference %s", reference));
-                        context.nativeStorageReferences.remove(entry);
-                        if (reference.type == ListStorageType.Generic) {
-                            PCallCapiFunction.getUncached().call(NativeCAPISymbol.FUN_PY_TRUFFLE_OBJECT_ARRAY_RELEASE, reference.ptr, reference.size);
-                        }
-                        CStructAccessFactory.FreeNodeGen.getUncached().free(reference.ptr);
-                    }
+                } while (count < maxCount && (entry = queue.poll()) != null);
+                if (!referencesToBeFreed.isEmpty()) {
+                    LOGGER.fine(() -> PythonUtils.formatJString("releasing %d NativeObjectReference instances", referencesToBeFreed.getArraySize()));
+                    Object array = CStructAccessFactory.AllocateNodeGen.getUncached().alloc(referencesToBeFreed.getArraySize() * Long.BYTES);
+                    CStructAccessFactory.WriteLongNodeGen.getUncached().writeLongArray(array, referencesToBeFreed.getArray(), (int) referencesToBeFreed.getArraySize(), 0, 0);
+                    PCallCapiFunction.getUncached().call(NativeCAPISymbol.FUN_BULK_DEALLOC, array, referencesToBeFreed.getArraySize());
+                    CStructAccessFactory.FreeNodeGen.getUncached().free(array);
+                    referencesToBeFreed.reset();
                 }
+                int finalCount = count;
+                LOGGER.fine(() -> "collected " + finalCount + " references from native reference queue in " + ((System.nanoTime() - start) / 1000000) + "ms");
+                return count;
+            } finally {
+                context.referenceQueuePollActive = false;
             }
         }
     }
 
+    private static void releaseReference(HandleContext context, Object entry, NativeObjectReferenceArrayWrapper referencesToBeFreed) {
+        if (entry instanceof PythonObjectReference reference) {
+            LOGGER.finer(() -> PythonUtils.formatJString("releasing PythonObjectReference %s", reference));
+            if (HandlePointerConverter.pointsToPyHandleSpace(reference.pointer)) {
+                assert nativeStubLookupGet(context, reference.pointer) != null : Long.toHexString(reference.pointer);
+                nativeStubLookupRemove(context, reference.pointer);
+                /*
+                 * We may only free native object stubs if their reference count is zero. We
+                 * cannot free other structs (e.g. PyDateTime_CAPI) because we don't know if they
+                 * are still used from native code. Those must be free'd at context finalization.
+                 */
+                long stubPointer = HandlePointerConverter.pointerToStub(reference.pointer);
+                if (subNativeRefCount(stubPointer, PythonAbstractObjectNativeWrapper.MANAGED_REFCNT) == 0) {
+                    LOGGER.finer(() -> String.format("freeing native object stub 0x%s", Long.toHexString(stubPointer)));
+                    FreeNode.executeUncached(stubPointer);
+                }
+            } else {
+                assert nativeLookupGet(context, reference.pointer) != null : Long.toHexString(reference.pointer);
+                nativeLookupRemove(context, reference.pointer);
+            }
+        } else if (entry instanceof NativeObjectReference reference) {
+            LOGGER.finer(() -> PythonUtils.formatJString("releasing NativeObjectReference %s", reference));
+            nativeLookupRemove(context, reference.pointer);
+            if (subNativeRefCount(reference.pointer, PythonAbstractObjectNativeWrapper.MANAGED_REFCNT) == 0) {
+                referencesToBeFreed.add(reference.pointer);
+            }
+        } else if (entry instanceof NativeStorageReference reference) {
+            LOGGER.finer(() -> PythonUtils.formatJString("releasing NativeStorageReference %s", reference));
+            context.nativeStorageReferences.remove(entry);
+            if (reference.type == ListStorageType.Generic) {
+                PCallCapiFunction.getUncached().call(NativeCAPISymbol.FUN_PY_TRUFFLE_OBJECT_ARRAY_RELEASE, reference.ptr, reference.size);
+            }
+            CStructAccessFactory.FreeNodeGen.getUncached().free(reference.ptr);
+        }
+    }
+
     /**
      * We need to call __dealloc__ for native weakref objects before exit, as some objects might
      * need to use capi functions.
      */
     @TruffleBoundary
     public static void addNativeWeakRef(PythonContext pythonContext, PythonAbstractNativeObject object) {
-        pythonContext.nativeContext.nativeWeakRef.put(getNativePointer(object), 0L);
+        PointerLookupTable<Boolean> nativeWeakRef = pythonContext.nativeContext.nativeWeakRef;
+        synchronized (nativeWeakRef) {
+            nativeWeakRef.put(getNativePointer(object), Boolean.TRUE);
+        }
     }
 
     /**
@@ -356,7 +393,10 @@ public abstract class CApiTransitions {
      */
     @TruffleBoundary
     public static void removeNativeWeakRef(PythonContext pythonContext, long pointer) {
-        pythonContext.nativeContext.nativeWeakRef.remove(pointer);
+        PointerLookupTable<Boolean> nativeWeakRef = pythonContext.nativeContext.nativeWeakRef;
+        synchronized (nativeWeakRef) {
+            nativeWeakRef.remove(pointer);
+        }
     }
 
     public static long getNativePointer(Object obj) {
@@ -375,12 +415,15 @@ public abstract class CApiTransitions {
         }
         HandleContext context = pythonContext.nativeContext;
         int idx = -1;
-        Object[] list = context.nativeWeakRef.values().toArray();
-        context.nativeWeakRef.clear();
+        long[] list;
+        synchronized (context.nativeWeakRef) {
+            list = context.nativeWeakRef.keys();
+            context.nativeWeakRef.clear();
+        }
         long[] ptrArray = new long[list.length];
-        for (Object ptr : list) {
+        for (long ptr : list) {
             if (context.nativeLookup.containsKey(ptr)) {
-                ptrArray[++idx] = (Long) ptr;
+                ptrArray[++idx] = ptr;
             }
         }
         if (idx != -1) {
@@ -391,10 +434,12 @@ public abstract class CApiTransitions {
                 CExtNodes.PCallCapiFunction.callUncached(NativeCAPISymbol.FUN_SHUTDOWN_BULK_DEALLOC, array, len);
             } finally {
                 CStructAccessFactory.FreeNodeGen.getUncached().free(array);
-                context.nativeWeakRef.clear();
+                synchronized (context.nativeWeakRef) {
+                    context.nativeWeakRef.clear();
+                }
             }
         }
-        if (context.nativeWeakRef.size() > 0) {
+        if (!context.nativeWeakRef.isEmpty()) {
             LOGGER.warning("Weak references have been added during shutdown!");
         }
     }
@@ -414,7 +459,7 @@ public abstract class CApiTransitions {
             LOGGER.info("GC A Lot - calling System.gc (opportunities=" + GCALotTotalCounter + ")");
             GCALotCounter = 0;
             PythonUtils.forceFullGC();
-            pollReferenceQueue();
+            drainReferenceQueue();
         }
     }
 
@@ -0,0 +1,212 @@
+/*
+ * Copyright (c) 2024, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.objects.cext.capi.transitions;
+
+import java.util.Arrays;
+
+/**
+ * A hash table mapping native pointers to objects. Keys are stored in a primitive {@code long[]}
+ * (open addressing with linear probing), so, unlike a {@code HashMap<Long, V>}, lookups and
+ * insertions do not box the pointer and do not allocate entry objects. The key {@code 0} is
+ * reserved to mark empty slots, which is fine since {@code NULL} is never registered (looking it up
+ * just yields {@code null}).
+ */
+public final class PointerLookupTable<V> {
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private long[] keys;
+    private Object[] values;
+    private int size;
+    /* number of entries that triggers growing the table (load factor 1/2) */
+    private int threshold;
+
+    public PointerLookupTable() {
+        allocate(INITIAL_CAPACITY);
+    }
+
+    private void allocate(int capacity) {
+        assert Integer.bitCount(capacity) == 1;
+        keys = new long[capacity];
+        values = new Object[capacity];
+        threshold = capacity >> 1;
+    }
+
+    private static int hash(long key, int mask) {
+        // pointers are aligned, so mix the high bits down before masking
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+
+    private int indexOf(long key) {
+        if (key == 0) {
+            return -1;
+        }
+        long[] k = keys;
+        int mask = k.length - 1;
+        int i = hash(key, mask);
+        while (true) {
+            long cur = k[i];
+            if (cur == key) {
+                return i;
+            } else if (cur == 0) {
+                return -1;
+            }
+            i = (i + 1) & mask;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public V get(long key) {
+        int i = indexOf(key);
+        return i < 0 ? null : (V) values[i];
+    }
+
+    public boolean containsKey(long key) {
+        return indexOf(key) >= 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    public V put(long key, V value) {
+        assert key != 0;
+        assert value != null;
+        int mask = keys.length - 1;
+        int i = hash(key, mask);
+        while (true) {
+            long cur = keys[i];
+            if (cur == key) {
+                V old = (V) values[i];
+                values[i] = value;
+                return old;
+            } else if (cur == 0) {
+                keys[i] = key;
+                values[i] = value;
+                if (++size > threshold) {
+                    rehash(keys.length << 1);
+                }
+                return null;
+            }
+            i = (i + 1) & mask;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public V remove(long key) {
+        int i = indexOf(key);
+        if (i < 0) {
+            return null;
+        }
+        V old = (V) values[i];
+        size--;
+        /*
+         * Backward-shift deletion: move following entries of the probe sequence into the freed
+         * slot so that no tombstones are needed and lookups stay short.
+         */
+        long[] k = keys;
+        Object[] v = values;
+        int mask = k.length - 1;
+        int hole = i;
+        int j = i;
+        while (true) {
+            j = (j + 1) & mask;
+            long cur = k[j];
+            if (cur == 0) {
+                break;
+            }
+            int home = hash(cur, mask);
+            // move the entry if its home slot is not cyclically in (hole, j]
+            if (((j - home) & mask) >= ((j - hole) & mask)) {
+                k[hole] = cur;
+                v[hole] = v[j];
+                hole = j;
+            }
+        }
+        k[hole] = 0;
+        v[hole] = null;
+        return old;
+    }
+
+    private void rehash(int newCapacity) {
+        long[] oldKeys = keys;
+        Object[] oldValues = values;
+        allocate(newCapacity);
+        int mask = newCapacity - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            long key = oldKeys[i];
+            if (key != 0) {
+                int j = hash(key, mask);
+                while (keys[j] != 0) {
+                    j = (j + 1) & mask;
+                }
+                keys[j] = key;
+                values[j] = oldValues[i];
+            }
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        Arrays.fill(keys, 0);
+        Arrays.fill(values, null);
+        size = 0;
+    }
+
+    /**
+     * Returns a snapshot of all keys currently in the table.
+     */
+    public long[] keys() {
+        long[] result = new long[size];
+        int n = 0;
+        for (long key : keys) {
+            if (key != 0) {
+                result[n++] = key;
+            }
+        }
+        return result;
+    }
+}
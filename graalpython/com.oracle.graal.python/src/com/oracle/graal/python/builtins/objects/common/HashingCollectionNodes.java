@@ -63,6 +63,7 @@ import com.oracle.graal.python.nodes.PRaiseNode;
 import com.oracle.graal.python.nodes.SpecialMethodNames;
 import com.oracle.graal.python.nodes.object.BuiltinClassProfiles.IsBuiltinObjectProfile;
 import com.oracle.graal.python.nodes.util.CastToTruffleStringNode;
+import com.oracle.graal.python.runtime.CriticalSection;
 import com.oracle.graal.python.runtime.PythonOptions;
 import com.oracle.graal.python.runtime.exception.PException;
 import com.oracle.truffle.api.HostCompilerDirectives.InliningCutoff;
@@ -100,9 +101,11 @@ public abstract class HashingCollectionNodes {
         @Specialization
         static void doSetItem(Frame frame, Node inliningTarget, PHashingCollection c, Object key, Object value,
                         @Cached HashingStorageSetItem setItem) {
-            HashingStorage storage = c.getDictStorage();
-            storage = setItem.execute(frame, inliningTarget, storage, key, value);
-            c.setDictStorage(storage);
+            try (CriticalSection cs = CriticalSection.enter(inliningTarget, c)) {
+                HashingStorage storage = c.getDictStorage();
+                storage = setItem.execute(frame, inliningTarget, storage, key, value);
+                c.setDictStorage(storage);
+            }
         }
 
         @NeverDefault
@@ -843,11 +843,13 @@ public class HashingStorageNodes {
         public abstract boolean execute(Node node, HashingStorage storage, HashingStorageIterator it);
 
         @Specialization(guards = "!it.isReverse")
-        static boolean economicMap(EconomicMapStorage self, HashingStorageIterator it) {
+        static boolean economicMap(Node inliningTarget, EconomicMapStorage self, HashingStorageIterator it,
+                        @Shared @Cached InlinedConditionProfile longKeysProfile) {
             ObjectHashMap map = self.map;
             it.index++;
             while (it.index < map.usedHashes) {
-                Object val = map.getValue(it.index);
+                // read the layout again in each iteration, a safepoint on the backedge can change it
+                Object val = map.getValue(it.index, map.hasLongKeys(inliningTarget, longKeysProfile));
                 if (val != null) {
                     it.currentValue = val;
                     return true;
@@ -859,11 +861,12 @@ public class HashingStorageNodes {
         }
 
         @Specialization(guards = "it.isReverse")
-        static boolean economicMapReverse(EconomicMapStorage self, HashingStorageIterator it) {
+        static boolean economicMapReverse(Node inliningTarget, EconomicMapStorage self, HashingStorageIterator it,
+                        @Shared @Cached InlinedConditionProfile longKeysProfile) {
             ObjectHashMap map = self.map;
             it.index--;
             while (it.index >= 0) {
-                Object val = map.getValue(it.index);
+                Object val = map.getValue(it.index, map.hasLongKeys(inliningTarget, longKeysProfile));
                 if (val != null) {
                     it.currentValue = val;
                     return true;
@@ -986,8 +989,10 @@ public class HashingStorageNodes {
         public abstract Object execute(Node node, HashingStorage storage, HashingStorageIterator it);
 
         @Specialization
-        static Object economicMap(EconomicMapStorage self, HashingStorageIterator it) {
-            return self.map.getKey(it.index);
+        static Object economicMap(Node inliningTarget, EconomicMapStorage self, HashingStorageIterator it,
+                        @Cached InlinedConditionProfile longKeysProfile) {
+            ObjectHashMap map = self.map;
+            return map.getKey(it.index, map.hasLongKeys(inliningTarget, longKeysProfile));
         }
 
         @Specialization
@@ -1473,20 +1478,24 @@ public class HashingStorageNodes {
 
         @Specialization
         static EconomicMapStorage economic2Economic(Frame frame, Node inliningTarget, EconomicMapStorage src, HashingStorageIterator it, EconomicMapStorage destStorage,
+                        @Cached InlinedConditionProfile longKeysProfile,
                         @Cached PutNode putNode) {
             ObjectHashMap srcMap = src.map;
-            putNode.put(frame, inliningTarget, destStorage.map, srcMap.getKey(it.index), srcMap.hashes[it.index], srcMap.getValue(it.index));
+            boolean longKeys = srcMap.hasLongKeys(inliningTarget, longKeysProfile);
+            putNode.put(frame, inliningTarget, destStorage.map, srcMap.getKey(it.index, longKeys), srcMap.hashes[it.index], srcMap.getValue(it.index, longKeys));
             return destStorage;
         }
 
         @Specialization(replaces = "economic2Economic")
         @InliningCutoff
         static HashingStorage economic2Generic(Frame frame, Node inliningTarget, EconomicMapStorage src, HashingStorageIterator it, HashingStorage destStorage,
+                        @Cached InlinedConditionProfile longKeysProfile,
                         @Cached HashingStorageSetItemWithHash setItemWithHash) {
             // Note that the point is to avoid side-effecting __hash__ call. Since the source is
             // economic map, the key may be an arbitrary object.
             ObjectHashMap srcMap = src.map;
-            return setItemWithHash.execute(frame, inliningTarget, destStorage, srcMap.getKey(it.index), srcMap.hashes[it.index], srcMap.getValue(it.index));
+            boolean longKeys = srcMap.hasLongKeys(inliningTarget, longKeysProfile);
+            return setItemWithHash.execute(frame, inliningTarget, destStorage, srcMap.getKey(it.index, longKeys), srcMap.hashes[it.index], srcMap.getValue(it.index, longKeys));
         }
 
         @Fallback
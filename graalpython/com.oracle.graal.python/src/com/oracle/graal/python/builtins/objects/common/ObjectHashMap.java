@@ -40,12 +40,14 @@
  */
 package com.oracle.graal.python.builtins.objects.common;
 
+import static com.oracle.graal.python.util.PythonUtils.TS_ENCODING;
 import static com.oracle.truffle.api.CompilerDirectives.SLOWPATH_PROBABILITY;
 
 import java.util.Arrays;
 
 import com.oracle.graal.python.builtins.PythonBuiltinClassType;
 import com.oracle.graal.python.builtins.objects.cext.PythonNativeClass;
+import com.oracle.graal.python.builtins.objects.ints.PInt;
 import com.oracle.graal.python.builtins.objects.type.PythonManagedClass;
 import com.oracle.graal.python.builtins.objects.type.SpecialMethodSlot;
 import com.oracle.graal.python.lib.PyObjectRichCompareBool;
@@ -111,6 +113,16 @@ import com.oracle.truffle.api.strings.TruffleString;
  * growing it, but just removing the dummy entries. The same seems to happen on CPython also, but
  * can be improved.
  *
+ * Maps whose keys are all Python {@code int}s equal to their own hash (which is any {@code int}
+ * except {@code -1} and values outside of the hash modulus) use a specialized layout: the hashes
+ * array doubles as the storage of the keys and the keysAndValues array stores just the values. The
+ * keys are boxed only when they are read, and lookups with {@code int} keys are decided by comparing
+ * the hashes without calling {@code __eq__}. The layout is chosen by the first key inserted into an
+ * empty map, and a later insertion of any other key converts the map to the generic layout, see
+ * {@link #generalizeKeys()}. Nodes read the layout through a condition profile, so that code that
+ * only sees one layout compiles to a single path. Lookups of two builtin strings with the same hash
+ * also skip the generic {@code __eq__} protocol.
+ *
  * Areas for future improvements:
  * <ul>
  * <li>Use byte[] array for the sparse indices array and determine the size of an index according to
@@ -121,9 +133,6 @@ import com.oracle.truffle.api.strings.TruffleString;
  * reused when inserting new items. This will help with the insert/remove of the same key
  * scenario.</li>
  * <li>Inline {@link ObjectHashMap} into {@code EconomicMapStorage} to save an indirection.</li>
- * <li>New strategy for long keys where the hashes array is used to store the keys, and the
- * keysAndValues array will store just values. Can be implemented by extending this class and
- * overriding few methods.</li>
  * <li>Flag that indicates that the hash-map is used as a storage for a set, so all values are
  * {@code None} and there is no need to allocate space for values in the keysAndValues array.</li>
  * </ul>
@@ -180,7 +189,8 @@ public final class ObjectHashMap {
     // Sparse array with indices pointing to hashes and keysAndValues
     private int[] indices;
 
-    // Compact arrays with the actual dict items:
+    // Compact arrays with the actual dict items, keysAndValues is allocated on the first insertion
+    // once the layout is known:
     long[] hashes;
     Object[] keysAndValues;
 
@@ -203,6 +213,15 @@ public final class ObjectHashMap {
      */
     boolean hasSideEffectingKeys;
 
+    /**
+     * If {@code true}, all the keys in this map are {@code int}s equal to their hash and they are
+     * stored only in the {@link #hashes} array; {@link #keysAndValues} holds just the values. Chosen
+     * from the first key inserted into a new or cleared map and reset to {@code false} on the first
+     * insertion of another key. Any change of the layout also replaces {@link #indices}, so that
+     * lookups running concurrently (e.g., in {@code __eq__}) restart.
+     */
+    boolean longKeys;
+
     public ObjectHashMap(int capacity, boolean hasSideEffects) {
         if (capacity <= INITIAL_INDICES_SIZE) {
             allocateData(INITIAL_INDICES_SIZE);
@@ -246,7 +265,11 @@ public final class ObjectHashMap {
         int quarter = newSize >> 2;
         int usableSize = 3 * quarter + 2;
         hashes = new long[usableSize];
-        keysAndValues = new Object[usableSize * 2];
+        keysAndValues = null;
+    }
+
+    private void allocateKeysAndValues() {
+        keysAndValues = new Object[longKeys ? hashes.length : hashes.length * 2];
     }
 
     public void setSideEffectingKeysFlag() {
@@ -257,6 +280,7 @@ public final class ObjectHashMap {
         size = 0;
         usedHashes = 0;
         usedIndices = 0;
+        longKeys = false;
         allocateData(INITIAL_INDICES_SIZE);
     }
 
@@ -267,8 +291,9 @@ public final class ObjectHashMap {
         result.usedIndices = usedIndices;
         result.hashes = PythonUtils.arrayCopyOf(hashes, hashes.length);
         result.indices = PythonUtils.arrayCopyOf(indices, indices.length);
-        result.keysAndValues = PythonUtils.arrayCopyOf(keysAndValues, keysAndValues.length);
+        result.keysAndValues = keysAndValues == null ? null : PythonUtils.arrayCopyOf(keysAndValues, keysAndValues.length);
         result.hasSideEffectingKeys = hasSideEffectingKeys;
+        result.longKeys = longKeys;
         return result;
     }
 
@@ -338,6 +363,14 @@ public final class ObjectHashMap {
         return size;
     }
 
+    /**
+     * Returns whether the map uses the layout for {@code int} keys. Use the result only for accesses
+     * that cannot be preceded by a call to Python code, which may change the layout.
+     */
+    public boolean hasLongKeys(Node inliningTarget, InlinedConditionProfile longKeysProfile) {
+        return longKeysProfile.profile(inliningTarget, longKeys);
+    }
+
     @GenerateUncached
     @GenerateInline
     @GenerateCached(false)
@@ -347,12 +380,13 @@ public final class ObjectHashMap {
         @Specialization
         public static Object[] doPopWithRestart(Node inliningTarget, ObjectHashMap map,
                         @Cached InlinedConditionProfile emptyMapProfile,
+                        @Cached InlinedConditionProfile longKeysProfile,
                         @Cached InlinedCountingConditionProfile hasValueProfile,
                         @Cached InlinedCountingConditionProfile hasCollisionProfile,
                         @Cached InlinedBranchProfile lookupRestart) {
             while (true) {
                 try {
-                    return doPop(inliningTarget, map, map.indices, emptyMapProfile, hasValueProfile, hasCollisionProfile);
+                    return doPop(inliningTarget, map, map.indices, emptyMapProfile, longKeysProfile, hasValueProfile, hasCollisionProfile);
                 } catch (RestartLookupException ignore) {
                     lookupRestart.enter(inliningTarget);
                 }
@@ -365,22 +399,24 @@ public final class ObjectHashMap {
 
         private static Object[] doPop(Node inliningTarget, ObjectHashMap map, int[] indices,
                         @Cached InlinedConditionProfile emptyMapProfile,
+                        @Cached InlinedConditionProfile longKeysProfile,
                         @Cached InlinedCountingConditionProfile hasValueProfile,
                         @Cached InlinedCountingConditionProfile hasCollisionProfile) throws RestartLookupException {
             if (emptyMapProfile.profile(inliningTarget, map.size() == 0)) {
                 return null;
             }
-            Object[] localKeysAndValues = map.keysAndValues;
+            // the layout cannot change without replacing the indices, which restarts the loop
+            boolean longKeys = map.hasLongKeys(inliningTarget, longKeysProfile);
             int usedHashes = map.usedHashes;
             for (int i = usedHashes - 1; i >= 0; i--) {
                 if (indices != map.indices) {
                     // restart, can happen after Truffle safepoint on backedge
                     throw RestartLookupException.INSTANCE;
                 }
-                Object value = getValue(i, localKeysAndValues);
+                Object value = map.getValue(i, longKeys);
                 if (hasValueProfile.profile(inliningTarget, value != null)) {
                     // We can remove the item from the compact arrays
-                    var result = new Object[]{map.getKey(i), value};
+                    var result = new Object[]{map.getKey(i, longKeys), value};
                     // We need to find the slot in the sparse indices array
                     long hash = map.hashes[i];
                     int compactIndex = getIndex(indices.length, hash);
@@ -391,8 +427,8 @@ public final class ObjectHashMap {
                         removeBucketWithIndex(map, indices, hash, compactIndex, i);
                     }
                     // Only remove the slot now, removeBucketWithIndex can restart the search
-                    map.setValue(i, null);
-                    map.setKey(i, null);
+                    map.setValue(i, null, longKeys);
+                    map.setKey(i, null, longKeys);
                     map.size--;
                     return result;
                 }
@@ -436,14 +472,16 @@ public final class ObjectHashMap {
                         @Cached InlinedCountingConditionProfile foundEqKey,
                         @Cached InlinedCountingConditionProfile collisionFoundNoValue,
                         @Cached InlinedCountingConditionProfile collisionFoundEqKey,
-                        @Cached PyObjectRichCompareBool.EqNode eqNode) {
+                        @Cached InlinedConditionProfile longKeysProfile,
+                        @Cached PyObjectRichCompareBool.EqNode eqNode,
+                        @Cached TruffleString.EqualNode stringEqNode) {
             // Must not call generic __eq__ before builtins are initialized
             // If this assert fires: we'll need something like putUncachedWithJavaEq also for get
             assert map.size == 0 || SpecialMethodSlot.areBuiltinSlotsInitialized();
             while (true) {
                 try {
                     return doGet(frame, map, key, keyHash, inliningTarget, foundNullKey, foundSameHashKey,
-                                    foundEqKey, collisionFoundNoValue, collisionFoundEqKey, eqNode);
+                                    foundEqKey, collisionFoundNoValue, collisionFoundEqKey, longKeysProfile, eqNode, stringEqNode);
                 } catch (RestartLookupException ignore) {
                     lookupRestart.enter(inliningTarget);
                 }
@@ -457,7 +495,8 @@ public final class ObjectHashMap {
                         InlinedCountingConditionProfile foundEqKey,
                         InlinedCountingConditionProfile collisionFoundNoValue,
                         InlinedCountingConditionProfile collisionFoundEqKey,
-                        PyObjectRichCompareBool.EqNode eqNode) throws RestartLookupException {
+                        InlinedConditionProfile longKeysProfile,
+                        PyObjectRichCompareBool.EqNode eqNode, TruffleString.EqualNode stringEqNode) throws RestartLookupException {
             assert map.checkInternalState();
             int[] indices = map.indices;
             int indicesLen = indices.length;
@@ -467,10 +506,12 @@ public final class ObjectHashMap {
             if (foundNullKey.profile(inliningTarget, index == EMPTY_INDEX)) {
                 return null;
             }
+            // keysEqual restarts the lookup if __eq__ changed the layout
+            boolean longKeys = map.hasLongKeys(inliningTarget, longKeysProfile);
             if (foundSameHashKey.profile(inliningTarget, index != DUMMY_INDEX)) {
                 int unwrappedIndex = unwrapIndex(index);
-                if (foundEqKey.profile(inliningTarget, map.keysEqual(indices, frame, inliningTarget, unwrappedIndex, key, keyHash, eqNode))) {
-                    return map.getValue(unwrappedIndex);
+                if (foundEqKey.profile(inliningTarget, map.keysEqual(indices, frame, inliningTarget, unwrappedIndex, key, keyHash, longKeys, eqNode, stringEqNode))) {
+                    return map.getValue(unwrappedIndex, longKeys);
                 } else if (!isCollision(indices[compactIndex])) {
                     // ^ note: we need to re-read indices[compactIndex],
                     // it may have been changed during __eq__
@@ -478,14 +519,14 @@ public final class ObjectHashMap {
                 }
             }
 
-            return getCollision(frame, map, key, keyHash, inliningTarget, collisionFoundNoValue, collisionFoundEqKey, eqNode, indices, indicesLen, compactIndex);
+            return getCollision(frame, map, key, keyHash, inliningTarget, collisionFoundNoValue, collisionFoundEqKey, longKeys, eqNode, stringEqNode, indices, indicesLen, compactIndex);
         }
 
         @InliningCutoff
         private static Object getCollision(Frame frame, ObjectHashMap map, Object key, long keyHash, Node inliningTarget,
                         InlinedCountingConditionProfile collisionFoundNoValue,
-                        InlinedCountingConditionProfile collisionFoundEqKey,
-                        EqNode eqNode, int[] indices, int indicesLen, int compactIndex) throws RestartLookupException {
+                        InlinedCountingConditionProfile collisionFoundEqKey, boolean longKeys,
+                        EqNode eqNode, TruffleString.EqualNode stringEqNode, int[] indices, int indicesLen, int compactIndex) throws RestartLookupException {
             int index;
             // collision: intentionally counted loop
             long perturb = keyHash;
@@ -505,8 +546,8 @@ public final class ObjectHashMap {
                     }
                     if (index != DUMMY_INDEX) {
                         int unwrappedIndex = unwrapIndex(index);
-                        if (collisionFoundEqKey.profile(inliningTarget, map.keysEqual(indices, frame, inliningTarget, unwrappedIndex, key, keyHash, eqNode))) {
-                            return map.getValue(unwrappedIndex);
+                        if (collisionFoundEqKey.profile(inliningTarget, map.keysEqual(indices, frame, inliningTarget, unwrappedIndex, key, keyHash, longKeys, eqNode, stringEqNode))) {
+                            return map.getValue(unwrappedIndex, longKeys);
                         } else if (!isCollision(indices[compactIndex])) {
                             // ^ note: we need to re-read indices[compactIndex],
                             // it may have been changed during __eq__
@@ -547,7 +588,7 @@ public final class ObjectHashMap {
             doPutWithRestart(null, null, map, key, keyHash, value,
                             InlinedBranchProfile.getUncached(), InlinedCountingConditionProfile.getUncached(), InlinedCountingConditionProfile.getUncached(),
                             InlinedCountingConditionProfile.getUncached(), InlinedCountingConditionProfile.getUncached(), InlinedBranchProfile.getUncached(), InlinedBranchProfile.getUncached(),
-                            null);
+                            InlinedConditionProfile.getUncached(), null, TruffleString.EqualNode.getUncached());
         }
 
         // "public" for testing...
@@ -560,7 +601,9 @@ public final class ObjectHashMap {
                         @Cached InlinedCountingConditionProfile collisionFoundEqKey,
                         @Cached InlinedBranchProfile rehash1Profile,
                         @Cached InlinedBranchProfile rehash2Profile,
-                        @Cached PyObjectRichCompareBool.EqNode eqNode) {
+                        @Cached InlinedConditionProfile longKeysProfile,
+                        @Cached PyObjectRichCompareBool.EqNode eqNode,
+                        @Cached TruffleString.EqualNode stringEqNode) {
             // Must not call generic __eq__ before builtins are initialized
             // If this assert fires: make sure to use putUncachedWithJavaEq during initialization
             assert map.size == 0 || (SpecialMethodSlot.areBuiltinSlotsInitialized() || eqNode == null);
@@ -568,7 +611,7 @@ public final class ObjectHashMap {
                 try {
                     doPut(frame, map, key, keyHash, value, inliningTarget, foundNullKey, foundEqKey,
                                     collisionFoundNoValue, collisionFoundEqKey, rehash1Profile, rehash2Profile,
-                                    eqNode);
+                                    longKeysProfile, eqNode, stringEqNode);
                     return;
                 } catch (RestartLookupException ignore) {
                     lookupRestart.enter(inliningTarget);
@@ -584,7 +627,8 @@ public final class ObjectHashMap {
                         InlinedCountingConditionProfile collisionFoundEqKey,
                         InlinedBranchProfile rehash1Profile,
                         InlinedBranchProfile rehash2Profile,
-                        PyObjectRichCompareBool.EqNode eqNode) throws RestartLookupException {
+                        InlinedConditionProfile longKeysProfile,
+                        PyObjectRichCompareBool.EqNode eqNode, TruffleString.EqualNode stringEqNode) throws RestartLookupException {
             assert map.checkInternalState();
             int[] indices = map.indices;
             int indicesLen = indices.length;
@@ -592,23 +636,26 @@ public final class ObjectHashMap {
             int compactIndex = getIndex(indicesLen, keyHash);
             int index = indices[compactIndex];
             if (foundNullKey.profile(inliningTarget, index == EMPTY_INDEX)) {
-                map.putInNewSlot(indices, inliningTarget, rehash1Profile, key, keyHash, value, compactIndex);
+                map.putInNewSlot(indices, inliningTarget, rehash1Profile, longKeysProfile, key, keyHash, value, compactIndex);
                 return;
             }
 
-            if (foundEqKey.profile(inliningTarget, index != DUMMY_INDEX && map.keysEqual(indices, frame, inliningTarget, unwrapIndex(index), key, keyHash, eqNode))) {
+            // not read before, the layout of an empty map is only chosen in putInNewSlot
+            boolean longKeys = map.hasLongKeys(inliningTarget, longKeysProfile);
+            if (foundEqKey.profile(inliningTarget, index != DUMMY_INDEX && map.keysEqual(indices, frame, inliningTarget, unwrapIndex(index), key, keyHash, longKeys, eqNode, stringEqNode))) {
                 // we found the key, override the value, Python does not override the key though
-                map.setValue(unwrapIndex(index), value);
+                map.setValue(unwrapIndex(index), value, longKeys);
                 return;
             }
 
-            putCollision(frame, map, key, keyHash, value, inliningTarget, collisionFoundNoValue, collisionFoundEqKey, rehash2Profile, eqNode, indices, indicesLen, compactIndex);
+            putCollision(frame, map, key, keyHash, value, inliningTarget, collisionFoundNoValue, collisionFoundEqKey, rehash2Profile, longKeysProfile, longKeys, eqNode, stringEqNode, indices,
+                            indicesLen, compactIndex);
         }
 
         @InliningCutoff
         private static void putCollision(Frame frame, ObjectHashMap map, Object key, long keyHash, Object value, Node inliningTarget,
                         InlinedCountingConditionProfile collisionFoundNoValue, InlinedCountingConditionProfile collisionFoundEqKey,
-                        InlinedBranchProfile rehash2Profile, EqNode eqNode,
+                        InlinedBranchProfile rehash2Profile, InlinedConditionProfile longKeysProfile, boolean longKeys, EqNode eqNode, TruffleString.EqualNode stringEqNode,
                         int[] indices, int indicesLen, int compactIndex) throws RestartLookupException {
             markCollision(indices, compactIndex);
             long perturb = keyHash;
@@ -624,13 +671,13 @@ public final class ObjectHashMap {
                     compactIndex = nextIndex(indicesLen, compactIndex, perturb);
                     int index = indices[compactIndex];
                     if (collisionFoundNoValue.profile(inliningTarget, index == EMPTY_INDEX)) {
-                        map.putInNewSlot(indices, inliningTarget, rehash2Profile, key, keyHash, value, compactIndex);
+                        map.putInNewSlot(indices, inliningTarget, rehash2Profile, longKeysProfile, key, keyHash, value, compactIndex);
                         return;
                     }
-                    if (collisionFoundEqKey.profile(inliningTarget, index != DUMMY_INDEX && map.keysEqual(indices, frame, inliningTarget, unwrapIndex(index), key, keyHash, eqNode))) {
+                    if (collisionFoundEqKey.profile(inliningTarget, index != DUMMY_INDEX && map.keysEqual(indices, frame, inliningTarget, unwrapIndex(index), key, keyHash, longKeys, eqNode, stringEqNode))) {
                         // we found the key, override the value, Python does not override the key
                         // though
-                        map.setValue(unwrapIndex(index), value);
+                        map.setValue(unwrapIndex(index), value, longKeys);
                         return;
                     }
                     markCollision(indices, compactIndex);
@@ -653,7 +700,7 @@ public final class ObjectHashMap {
         int compactIndex = getIndex(localIndices.length, keyHash);
         int index = localIndices[compactIndex];
         if (index == EMPTY_INDEX) {
-            putInNewSlot(localIndices, key, keyHash, value, compactIndex);
+            putInNewSlot(localIndices, key, keyHash, value, compactIndex, longKeys);
             return;
         }
 
@@ -666,7 +713,7 @@ public final class ObjectHashMap {
             compactIndex = nextIndex(localIndices.length, compactIndex, perturb);
             index = localIndices[compactIndex];
             if (index == EMPTY_INDEX) {
-                putInNewSlot(localIndices, key, keyHash, value, compactIndex);
+                putInNewSlot(localIndices, key, keyHash, value, compactIndex, longKeys);
                 return;
             }
             markCollision(localIndices, compactIndex);
@@ -677,24 +724,34 @@ public final class ObjectHashMap {
         throw CompilerDirectives.shouldNotReachHere();
     }
 
-    private void putInNewSlot(int[] localIndices, Node inliningTarget, InlinedBranchProfile rehashProfile, Object key, long keyHash, Object value, int compactIndex) {
+    private void putInNewSlot(int[] localIndices, Node inliningTarget, InlinedBranchProfile rehashProfile, InlinedConditionProfile longKeysProfile, Object key, long keyHash, Object value,
+                    int compactIndex) {
         assert indices == localIndices;
+        if (keysAndValues == null) {
+            // the first insertion into a new or cleared map chooses the layout
+            longKeys = isLongKey(key, keyHash);
+            allocateKeysAndValues();
+        } else if (CompilerDirectives.injectBranchProbability(SLOWPATH_PROBABILITY, longKeys && !isLongKey(key, keyHash))) {
+            // copies the indices array, so the collision chain we found stays valid in the copy
+            generalizeKeys();
+            localIndices = indices;
+        }
         if (CompilerDirectives.injectBranchProbability(SLOWPATH_PROBABILITY, needsResize(localIndices))) {
             rehashProfile.enter(inliningTarget);
             rehashAndPut(key, keyHash, value);
             return;
         }
-        putInNewSlot(localIndices, key, keyHash, value, compactIndex);
+        putInNewSlot(localIndices, key, keyHash, value, compactIndex, hasLongKeys(inliningTarget, longKeysProfile));
     }
 
-    private void putInNewSlot(int[] localIndices, Object key, long keyHash, Object value, int compactIndex) {
+    private void putInNewSlot(int[] localIndices, Object key, long keyHash, Object value, int compactIndex, boolean localLongKeys) {
         size++;
         usedIndices++;
         int newIndex = usedHashes++;
         localIndices[compactIndex] = newIndex;
-        setValue(newIndex, value);
-        setKey(newIndex, key);
         hashes[newIndex] = keyHash;
+        setValue(newIndex, value, localLongKeys);
+        setKey(newIndex, key, localLongKeys);
     }
 
     private boolean needsCompaction() {
@@ -719,12 +776,14 @@ public final class ObjectHashMap {
                         @Cached InlinedCountingConditionProfile collisionFoundNoValue,
                         @Cached InlinedCountingConditionProfile collisionFoundEqKey,
                         @Cached InlinedBranchProfile compactProfile,
-                        @Cached PyObjectRichCompareBool.EqNode eqNode) {
+                        @Cached InlinedConditionProfile longKeysProfile,
+                        @Cached PyObjectRichCompareBool.EqNode eqNode,
+                        @Cached TruffleString.EqualNode stringEqNode) {
             while (true) {
                 try {
                     return doRemove(frame, inliningTarget, map, key, keyHash, foundNullKey, foundEqKey,
-                                    collisionFoundNoValue, collisionFoundEqKey, compactProfile,
-                                    eqNode);
+                                    collisionFoundNoValue, collisionFoundEqKey, compactProfile, longKeysProfile,
+                                    eqNode, stringEqNode);
                 } catch (RestartLookupException ignore) {
                     lookupRestart.enter(inliningTarget);
                 }
@@ -737,7 +796,8 @@ public final class ObjectHashMap {
                         InlinedCountingConditionProfile collisionFoundNoValue,
                         InlinedCountingConditionProfile collisionFoundEqKey,
                         InlinedBranchProfile compactProfile,
-                        PyObjectRichCompareBool.EqNode eqNode) throws RestartLookupException {
+                        InlinedConditionProfile longKeysProfile,
+                        PyObjectRichCompareBool.EqNode eqNode, TruffleString.EqualNode stringEqNode) throws RestartLookupException {
             assert map.checkInternalState();
             // TODO: move this to the point after we find the value to remove?
             if (CompilerDirectives.injectBranchProbability(SLOWPATH_PROBABILITY, map.needsCompaction())) {
@@ -755,24 +815,26 @@ public final class ObjectHashMap {
                 return null; // not found
             }
 
+            // keysEqual restarts the lookup if __eq__ changed the layout
+            boolean longKeys = map.hasLongKeys(inliningTarget, longKeysProfile);
             int unwrappedIndex = unwrapIndex(index);
-            if (foundEqKey.profile(inliningTarget, index != DUMMY_INDEX && map.keysEqual(indices, frame, inliningTarget, unwrappedIndex, key, keyHash, eqNode))) {
-                Object result = map.getValue(unwrappedIndex);
+            if (foundEqKey.profile(inliningTarget, index != DUMMY_INDEX && map.keysEqual(indices, frame, inliningTarget, unwrappedIndex, key, keyHash, longKeys, eqNode, stringEqNode))) {
+                Object result = map.getValue(unwrappedIndex, longKeys);
                 indices[compactIndex] = DUMMY_INDEX;
-                map.setValue(unwrappedIndex, null);
-                map.setKey(unwrappedIndex, null);
+                map.setValue(unwrappedIndex, null, longKeys);
+                map.setKey(unwrappedIndex, null, longKeys);
                 map.size--;
                 return result;
             }
 
             // collision: intentionally counted loop
-            return removeCollision(frame, inliningTarget, map, key, keyHash, collisionFoundNoValue, collisionFoundEqKey, eqNode, indices, indicesLen, compactIndex);
+            return removeCollision(frame, inliningTarget, map, key, keyHash, collisionFoundNoValue, collisionFoundEqKey, longKeys, eqNode, stringEqNode, indices, indicesLen, compactIndex);
         }
 
         @InliningCutoff
         private static Object removeCollision(Frame frame, Node inliningTarget, ObjectHashMap map, Object key, long keyHash,
-                        InlinedCountingConditionProfile collisionFoundNoValue, InlinedCountingConditionProfile collisionFoundEqKey,
-                        EqNode eqNode, int[] indices, int indicesLen, int compactIndex) throws RestartLookupException {
+                        InlinedCountingConditionProfile collisionFoundNoValue, InlinedCountingConditionProfile collisionFoundEqKey, boolean longKeys,
+                        EqNode eqNode, TruffleString.EqualNode stringEqNode, int[] indices, int indicesLen, int compactIndex) throws RestartLookupException {
             int unwrappedIndex;
             long perturb = keyHash;
             int searchLimit = getBucketsCount(indices) + PERTURB_SHIFTS_COUT;
@@ -790,11 +852,11 @@ public final class ObjectHashMap {
                         return null;
                     }
                     unwrappedIndex = unwrapIndex(index);
-                    if (collisionFoundEqKey.profile(inliningTarget, index != DUMMY_INDEX && map.keysEqual(indices, frame, inliningTarget, unwrappedIndex, key, keyHash, eqNode))) {
-                        Object result = map.getValue(unwrappedIndex);
+                    if (collisionFoundEqKey.profile(inliningTarget, index != DUMMY_INDEX && map.keysEqual(indices, frame, inliningTarget, unwrappedIndex, key, keyHash, longKeys, eqNode, stringEqNode))) {
+                        Object result = map.getValue(unwrappedIndex, longKeys);
                         indices[compactIndex] = DUMMY_INDEX;
-                        map.setValue(unwrappedIndex, null);
-                        map.setKey(unwrappedIndex, null);
+                        map.setValue(unwrappedIndex, null, longKeys);
+                        map.setKey(unwrappedIndex, null, longKeys);
                         map.size--;
                         return result;
                     }
@@ -823,23 +885,36 @@ public final class ObjectHashMap {
         }
     }
 
-    private boolean keysEqual(int[] originalIndices, Frame frame, Node inliningTarget, int index, Object key, long keyHash,
-                    PyObjectRichCompareBool.EqNode eqNode) throws RestartLookupException {
+    private boolean keysEqual(int[] originalIndices, Frame frame, Node inliningTarget, int index, Object key, long keyHash, boolean localLongKeys,
+                    PyObjectRichCompareBool.EqNode eqNode, TruffleString.EqualNode stringEqNode) throws RestartLookupException {
         if (hashes[index] != keyHash) {
             return false;
         }
-        Object originalKey = getKey(index);
+        if (localLongKeys) {
+            // the stored key is equal to its hash, which is equal to keyHash
+            if (key instanceof Integer i) {
+                return i == keyHash;
+            } else if (key instanceof Long l) {
+                return l == keyHash;
+            }
+        }
+        Object originalKey = getKey(index, localLongKeys);
         if (originalKey == key) {
             return true;
         }
+        if (originalKey instanceof TruffleString originalString && key instanceof TruffleString keyString) {
+            // builtin str.__eq__ has no side effects, no need to check for a restart either
+            return stringEqNode.execute(originalString, keyString, TS_ENCODING);
+        }
         if (CompilerDirectives.inInterpreter() && eqNode == null) {
             // this is hack, see putUncachedWithJavaEq
             return javaEquals(originalKey, key);
         }
         boolean result = eqNode.compare(frame, inliningTarget, originalKey, key);
-        if (getKey(index) != originalKey || indices != originalIndices) {
-            // Either someone overridden the slot we are just examining, or rehasing reallocated the
-            // indices array. We need to restart the lookup. Other situations are OK:
+        if (indices != originalIndices || !isSameKey(index, originalKey, localLongKeys)) {
+            // Either someone overridden the slot we are just examining, or rehasing or a change of
+            // the layout reallocated the indices array. We need to restart the lookup. Other
+            // situations are OK:
             //
             // New entry was added: if its key is different to what we look for we don't care, if
             // its key collides with what we look for, it will be put at the end of the collision
@@ -854,6 +929,52 @@ public final class ObjectHashMap {
         return result;
     }
 
+    private boolean isSameKey(int index, Object originalKey, boolean localLongKeys) {
+        Object currentKey = getKey(index, localLongKeys);
+        if (currentKey == originalKey) {
+            return true;
+        }
+        // keys of long keyed maps are boxed on every read
+        return originalKey != null && currentKey != null && isLongKey(currentKey, hashes[index]) && isLongKey(originalKey, hashes[index]);
+    }
+
+    private static boolean isLongKey(Object key, long keyHash) {
+        if (key instanceof Integer i) {
+            return i == keyHash;
+        } else if (key instanceof Long l) {
+            return l == keyHash;
+        }
+        return false;
+    }
+
+    private static Object boxLongKey(long key) {
+        if (PInt.isIntRange(key)) {
+            return (int) key;
+        }
+        return key;
+    }
+
+    /**
+     * Converts a map with {@link #longKeys} to the generic layout where the keys are stored
+     * interleaved with the values in {@link #keysAndValues}. The hashes array is left untouched and
+     * the indices array is replaced by a copy, so that lookups in progress restart.
+     */
+    @TruffleBoundary
+    private void generalizeKeys() {
+        assert longKeys;
+        Object[] values = keysAndValues;
+        Object[] newKeysAndValues = new Object[values.length * 2];
+        for (int i = 0; i < usedHashes; i++) {
+            if (values[i] != null) {
+                newKeysAndValues[i << 1] = boxLongKey(hashes[i]);
+                newKeysAndValues[(i << 1) + 1] = values[i];
+            }
+        }
+        keysAndValues = newKeysAndValues;
+        longKeys = false;
+        indices = PythonUtils.arrayCopyOf(indices, indices.length);
+    }
+
     private static boolean javaEquals(Object a, Object b) {
         CompilerAsserts.neverPartOfCompilation();
         assert isJavaEqualsAllowed(a) : a;
@@ -888,17 +1009,21 @@ public final class ObjectHashMap {
         }
         long[] oldHashes = hashes;
         Object[] oldKeysAndValues = keysAndValues;
+        boolean oldLongKeys = longKeys;
         int oldUsedSize = usedHashes;
         int oldSize = size;
         allocateData(indicesCapacity);
+        allocateKeysAndValues();
         size = 0;
         usedHashes = 0;
         usedIndices = 0;
         int[] localIndices = this.indices;
         for (int i = 0; i < oldUsedSize; i++) {
-            if (getValue(i, oldKeysAndValues) != null) {
-                final Object key = getKey(i, oldKeysAndValues);
-                insertNewKey(localIndices, key, oldHashes[i], getValue(i, oldKeysAndValues));
+            Object value = getValue(i, oldKeysAndValues, oldLongKeys);
+            if (value != null) {
+                // long keys are not stored in keysAndValues, no need to box them
+                final Object key = oldLongKeys ? null : getKey(i, oldKeysAndValues);
+                insertNewKey(localIndices, key, oldHashes[i], value);
             }
         }
         assert size == oldSize : String.format("size=%d, oldSize=%d, oldUsedSize=%d, usedHashes=%d, usedIndices=%d",
@@ -920,11 +1045,12 @@ public final class ObjectHashMap {
             } else if (currentShuffle > 0) {
                 assert getValue(i - currentShuffle) == null;
                 assert getKey(i - currentShuffle) == null;
+                // the hash goes first, for long keys it is also the key
+                hashes[i - currentShuffle] = hashes[i];
                 setValue(i - currentShuffle, value);
                 setKey(i - currentShuffle, getKey(i));
                 setValue(i, null);
                 setKey(i, null);
-                hashes[i - currentShuffle] = hashes[i];
                 shuffle[i] = currentShuffle;
             }
         }
@@ -958,28 +1084,70 @@ public final class ObjectHashMap {
         return (int) (hash & (indicesLen - 1));
     }
 
-    public static Object getKey(int index, Object[] keysAndValues) {
+    // Only valid for the generic layout, i.e., if longKeys is false
+    private static Object getKey(int index, Object[] keysAndValues) {
         return keysAndValues[index << 1];
     }
 
-    public static Object getValue(int index, Object[] keysAndValues) {
+    private static Object getValue(int index, Object[] keysAndValues, boolean longKeys) {
+        if (longKeys) {
+            return keysAndValues[index];
+        }
         return keysAndValues[(index << 1) + 1];
     }
 
-    public Object getKey(int index) {
+    /**
+     * Reads the key with the layout returned by {@link #hasLongKeys}.
+     */
+    public Object getKey(int index, boolean localLongKeys) {
+        assert localLongKeys == longKeys;
+        if (localLongKeys) {
+            return getValue(index, keysAndValues, true) == null ? null : boxLongKey(hashes[index]);
+        }
         return getKey(index, keysAndValues);
     }
 
+    /**
+     * Reads the value with the layout returned by {@link #hasLongKeys}.
+     */
+    public Object getValue(int index, boolean localLongKeys) {
+        assert localLongKeys == longKeys;
+        return getValue(index, keysAndValues, localLongKeys);
+    }
+
+    private void setValue(int index, Object value, boolean localLongKeys) {
+        assert localLongKeys == longKeys;
+        if (localLongKeys) {
+            keysAndValues[index] = value;
+        } else {
+            keysAndValues[(index << 1) + 1] = value;
+        }
+    }
+
+    private void setKey(int index, Object key, boolean localLongKeys) {
+        assert localLongKeys == longKeys;
+        if (localLongKeys) {
+            // the key is stored in the hashes array
+            assert key == null || isLongKey(key, hashes[index]) : key;
+            return;
+        }
+        keysAndValues[(index << 1)] = key;
+    }
+
+    public Object getKey(int index) {
+        return getKey(index, longKeys);
+    }
+
     public Object getValue(int index) {
-        return getValue(index, keysAndValues);
+        return getValue(index, longKeys);
     }
 
     public void setValue(int index, Object value) {
-        keysAndValues[(index << 1) + 1] = value;
+        setValue(index, value, longKeys);
     }
 
     public void setKey(int index, Object key) {
-        keysAndValues[(index << 1)] = key;
+        setKey(index, key, longKeys);
     }
 
     private boolean checkInternalState() {
@@ -44,6 +44,8 @@ import static com.oracle.graal.python.util.PythonUtils.tsArray;
 
 import java.util.Arrays;
 import java.util.Comparator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 
 import com.oracle.graal.python.PythonLanguage;
 import com.oracle.graal.python.builtins.objects.PNone;
@@ -58,8 +60,10 @@ import com.oracle.graal.python.nodes.expression.BinaryComparisonNode;
 import com.oracle.graal.python.runtime.ExecutionContext;
 import com.oracle.graal.python.runtime.ExecutionContext.CallContext;
 import com.oracle.graal.python.runtime.ExecutionContext.IndirectCalleeContext;
+import com.oracle.graal.python.runtime.GilNode;
 import com.oracle.graal.python.runtime.PythonContext;
 import com.oracle.graal.python.runtime.PythonContext.PythonThreadState;
+import com.oracle.graal.python.runtime.PythonOptions;
 import com.oracle.graal.python.runtime.sequence.storage.BoolSequenceStorage;
 import com.oracle.graal.python.runtime.sequence.storage.DoubleSequenceStorage;
 import com.oracle.graal.python.runtime.sequence.storage.EmptySequenceStorage;
@@ -206,7 +210,11 @@ public abstract class SortNodes {
         void sort(IntSequenceStorage storage, @SuppressWarnings("unused") PNone keyfunc, boolean reverse) {
             int[] array = storage.getInternalIntArray();
             int len = storage.length();
-            Arrays.sort(array, 0, len);
+            if (shouldSortInParallel(len)) {
+                sortInParallel(() -> Arrays.parallelSort(array, 0, len));
+            } else {
+                Arrays.sort(array, 0, len);
+            }
             if (reverse) {
                 reverseArray(array, len);
             }
@@ -217,7 +225,11 @@ public abstract class SortNodes {
         void sort(LongSequenceStorage storage, @SuppressWarnings("unused") PNone keyfunc, boolean reverse) {
             long[] array = storage.getInternalLongArray();
             int len = storage.length();
-            Arrays.sort(array, 0, len);
+            if (shouldSortInParallel(len)) {
+                sortInParallel(() -> Arrays.parallelSort(array, 0, len));
+            } else {
+                Arrays.sort(array, 0, len);
+            }
             if (reverse) {
                 reverseArray(array, len);
             }
@@ -228,14 +240,42 @@ public abstract class SortNodes {
         void sort(DoubleSequenceStorage storage, @SuppressWarnings("unused") PNone keyfunc, boolean reverse) {
             int len = storage.length();
             double[] array = storage.getInternalDoubleArray();
-            Arrays.sort(array, 0, len);
+            if (shouldSortInParallel(len)) {
+                sortInParallel(() -> Arrays.parallelSort(array, 0, len));
+            } else {
+                Arrays.sort(array, 0, len);
+            }
             if (reverse) {
                 reverseArray(array, len);
             }
         }
 
+        /**
+         * Large lists of primitives or strings can be sorted on multiple threads, since no Python
+         * code runs during the comparisons. This is opt-in via
+         * {@link PythonOptions#ParallelSortThreshold}.
+         */
+        private boolean shouldSortInParallel(int len) {
+            int threshold = PythonContext.get(this).getOption(PythonOptions.ParallelSortThreshold);
+            return threshold > 0 && len >= threshold;
+        }
+
+        /**
+         * Runs the sort on the configured fork-join pool without holding the GIL. This is safe,
+         * because {@code list.sort} detaches the storage from the list for the duration of the
+         * sort, so other threads cannot observe or modify the array being sorted. The
+         * {@code Arrays.parallelSort} variants are stable for objects and produce the same order as
+         * {@code Arrays.sort} for primitives.
+         */
+        private void sortInParallel(Runnable sort) {
+            ForkJoinPool pool = PythonContext.get(this).getParallelSortPool();
+            try (GilNode.UncachedRelease gil = GilNode.uncachedRelease()) {
+                pool.invoke(ForkJoinTask.adapt(sort));
+            }
+        }
+
         @TruffleBoundary
-        private static void sortStrings(ObjectSequenceStorage storage, boolean reverse) {
+        private void sortStrings(ObjectSequenceStorage storage, boolean reverse) {
             Object[] array = storage.getInternalArray();
             int len = storage.length();
             Comparator<Object> comparator;
@@ -244,7 +284,11 @@ public abstract class SortNodes {
             } else {
                 comparator = (a, b) -> StringUtils.compareStringsUncached((TruffleString) a, (TruffleString) b);
             }
-            Arrays.sort(array, 0, len, comparator);
+            if (shouldSortInParallel(len)) {
+                sortInParallel(() -> Arrays.parallelSort(array, 0, len, comparator));
+            } else {
+                Arrays.sort(array, 0, len, comparator);
+            }
         }
 
         protected boolean isStringOnly(Node inliningTarget, ObjectSequenceStorage storage, InlinedLoopConditionProfile isStringOnlyLoopProfile,
@@ -92,6 +92,7 @@ import com.oracle.graal.python.nodes.function.builtins.PythonVarargsBuiltinNode;
 import com.oracle.graal.python.nodes.function.builtins.clinic.ArgumentClinicProvider;
 import com.oracle.graal.python.nodes.object.BuiltinClassProfiles.IsBuiltinObjectProfile;
 import com.oracle.graal.python.nodes.object.GetClassNode;
+import com.oracle.graal.python.runtime.CriticalSection;
 import com.oracle.graal.python.runtime.exception.PException;
 import com.oracle.graal.python.runtime.object.PythonObjectFactory;
 import com.oracle.truffle.api.CompilerDirectives;
@@ -191,7 +192,10 @@ public final class DictBuiltins extends PythonBuiltins {
                         @Cached InlinedConditionProfile hasKeyProfile,
                         @Cached HashingStorageDelItem delItem,
                         @Cached PRaiseNode.Lazy raiseNode) {
-            Object retVal = delItem.executePop(frame, inliningTarget, dict.getDictStorage(), key, dict);
+            Object retVal;
+            try (CriticalSection cs = CriticalSection.enter(inliningTarget, dict)) {
+                retVal = delItem.executePop(frame, inliningTarget, dict.getDictStorage(), key, dict);
+            }
             if (hasKeyProfile.profile(inliningTarget, retVal != null)) {
                 return retVal;
             } else {
@@ -215,7 +219,10 @@ public final class DictBuiltins extends PythonBuiltins {
                         @Cached HashingStoragePop popNode,
                         @Cached PythonObjectFactory factory,
                         @Cached PRaiseNode.Lazy raiseNode) {
-            Object[] result = popNode.execute(inliningTarget, dict.getDictStorage(), dict);
+            Object[] result;
+            try (CriticalSection cs = CriticalSection.enter(inliningTarget, dict)) {
+                result = popNode.execute(inliningTarget, dict.getDictStorage(), dict);
+            }
             if (result == null) {
                 throw raiseNode.get(inliningTarget).raise(KeyError, ErrorMessages.IS_EMPTY, "popitem(): dictionary");
             }
@@ -255,7 +262,10 @@ public final class DictBuiltins extends PythonBuiltins {
         static Object doWithDefault(VirtualFrame frame, PDict self, Object key, Object defaultValue,
                         @Bind("this") Node inliningTarget,
                         @Cached HashingStorageGetItem getItem) {
-            final Object value = getItem.execute(frame, inliningTarget, self.getDictStorage(), key);
+            final Object value;
+            try (CriticalSection cs = CriticalSection.enter(inliningTarget, self)) {
+                value = getItem.execute(frame, inliningTarget, self.getDictStorage(), key);
+            }
             return value != null ? value : (defaultValue == PNone.NO_VALUE ? PNone.NONE : defaultValue);
         }
     }
@@ -269,7 +279,10 @@ public final class DictBuiltins extends PythonBuiltins {
         Object getItem(VirtualFrame frame, PDict self, Object key,
                         @Bind("this") Node inliningTarget,
                         @Cached HashingStorageGetItem getItem) {
-            final Object result = getItem.execute(frame, inliningTarget, self.getDictStorage(), key);
+            final Object result;
+            try (CriticalSection cs = CriticalSection.enter(inliningTarget, self)) {
+                result = getItem.execute(frame, inliningTarget, self.getDictStorage(), key);
+            }
             if (result == null) {
                 if (missing == null) {
                     CompilerDirectives.transferToInterpreterAndInvalidate();
@@ -320,7 +333,10 @@ public final class DictBuiltins extends PythonBuiltins {
                         @Bind("this") Node inliningTarget,
                         @Cached HashingStorageDelItem delItem,
                         @Cached PRaiseNode.Lazy raiseNode) {
-            Object found = delItem.executePop(frame, inliningTarget, self.getDictStorage(), key, self);
+            Object found;
+            try (CriticalSection cs = CriticalSection.enter(inliningTarget, self)) {
+                found = delItem.executePop(frame, inliningTarget, self.getDictStorage(), key, self);
+            }
             if (found != null) {
                 return PNone.NONE;
             }
@@ -332,13 +348,15 @@ public final class DictBuiltins extends PythonBuiltins {
     @GenerateNodeFactory
     public abstract static class IterNode extends PythonUnaryBuiltinNode {
         @Specialization
-        static Object run(@SuppressWarnings("unused") PDict self,
+        static Object run(PDict self,
                         @Bind("this") Node inliningTarget,
                         @Cached HashingStorageLen lenNode,
                         @Cached HashingStorageGetIterator getIterator,
                         @Cached PythonObjectFactory factory) {
-            HashingStorage dictStorage = self.getDictStorage();
-            return factory.createDictKeyIterator(getIterator.execute(inliningTarget, dictStorage), dictStorage, lenNode.execute(inliningTarget, dictStorage));
+            try (CriticalSection cs = CriticalSection.enter(inliningTarget, self)) {
+                HashingStorage dictStorage = self.getDictStorage();
+                return factory.createDictKeyIterator(self, getIterator.execute(inliningTarget, dictStorage), dictStorage, lenNode.execute(inliningTarget, dictStorage));
+            }
         }
     }
 
@@ -351,8 +369,10 @@ public final class DictBuiltins extends PythonBuiltins {
                         @Cached HashingStorageLen lenNode,
                         @Cached HashingStorageGetReverseIterator getReverseIterator,
                         @Cached PythonObjectFactory factory) {
-            HashingStorage storage = self.getDictStorage();
-            return factory.createDictKeyIterator(getReverseIterator.execute(inliningTarget, storage), storage, lenNode.execute(inliningTarget, storage));
+            try (CriticalSection cs = CriticalSection.enter(inliningTarget, self)) {
+                HashingStorage storage = self.getDictStorage();
+                return factory.createDictKeyIterator(self, getReverseIterator.execute(inliningTarget, storage), storage, lenNode.execute(inliningTarget, storage));
+            }
         }
     }
 
@@ -364,7 +384,9 @@ public final class DictBuiltins extends PythonBuiltins {
         static Object doDictDict(VirtualFrame frame, PDict self, PDict other,
                         @Bind("this") Node inliningTarget,
                         @Cached HashingStorageEq eqNode) {
-            return eqNode.execute(frame, inliningTarget, self.getDictStorage(), other.getDictStorage());
+            try (CriticalSection cs = CriticalSection.enter(inliningTarget, self, other)) {
+                return eqNode.execute(frame, inliningTarget, self.getDictStorage(), other.getDictStorage());
+            }
         }
 
         @Fallback
@@ -382,7 +404,9 @@ public final class DictBuiltins extends PythonBuiltins {
         static boolean run(VirtualFrame frame, PDict self, Object key,
                         @Bind("this") Node inliningTarget,
                         @Cached HashingStorageGetItem getItem) {
-            return getItem.hasKey(frame, inliningTarget, self.getDictStorage(), key);
+            try (CriticalSection cs = CriticalSection.enter(inliningTarget, self)) {
+                return getItem.hasKey(frame, inliningTarget, self.getDictStorage(), key);
+            }
         }
     }
 
@@ -407,7 +431,11 @@ public final class DictBuiltins extends PythonBuiltins {
                         @Bind("this") Node inliningTarget,
                         @Cached HashingStorageCopy copyNode,
                         @Cached PythonObjectFactory factory) {
-            return factory.createDict(copyNode.execute(inliningTarget, dict.getDictStorage()));
+            HashingStorage copy;
+            try (CriticalSection cs = CriticalSection.enter(inliningTarget, dict)) {
+                copy = copyNode.execute(inliningTarget, dict.getDictStorage());
+            }
+            return factory.createDict(copy);
         }
     }
 
@@ -420,8 +448,10 @@ public final class DictBuiltins extends PythonBuiltins {
         static PDict clear(PDict dict,
                         @Bind("this") Node inliningTarget,
                         @Cached HashingStorageClear clearNode) {
-            HashingStorage newStorage = clearNode.execute(inliningTarget, dict.getDictStorage());
-            dict.setDictStorage(newStorage);
+            try (CriticalSection cs = CriticalSection.enter(inliningTarget, dict)) {
+                HashingStorage newStorage = clearNode.execute(inliningTarget, dict.getDictStorage());
+                dict.setDictStorage(newStorage);
+            }
             return dict;
         }
     }
@@ -484,7 +514,10 @@ public final class DictBuiltins extends PythonBuiltins {
         }
 
         private static void updateKwargs(VirtualFrame frame, Node inliningTarget, PDict self, PKeyword[] kwargs, HashingStorage.InitNode initNode, HashingStorageAddAllToOther addAllToOtherNode) {
-            addAllToOtherNode.execute(frame, inliningTarget, initNode.execute(frame, PNone.NO_VALUE, kwargs), self);
+            HashingStorage kwargsStorage = initNode.execute(frame, PNone.NO_VALUE, kwargs);
+            try (CriticalSection cs = CriticalSection.enter(inliningTarget, self)) {
+                addAllToOtherNode.execute(frame, inliningTarget, kwargsStorage, self);
+            }
         }
     }
 
@@ -550,7 +583,11 @@ public final class DictBuiltins extends PythonBuiltins {
                         @Cached HashingStorageCopy copyNode,
                         @Cached DictNodes.UpdateNode updateNode,
                         @Cached PythonObjectFactory factory) {
-            PDict merged = factory.createDict(copyNode.execute(inliningTarget, self.getDictStorage()));
+            HashingStorage copy;
+            try (CriticalSection cs = CriticalSection.enter(inliningTarget, self)) {
+                copy = copyNode.execute(inliningTarget, self.getDictStorage());
+            }
+            PDict merged = factory.createDict(copy);
             updateNode.execute(frame, merged, other);
             return merged;
         }
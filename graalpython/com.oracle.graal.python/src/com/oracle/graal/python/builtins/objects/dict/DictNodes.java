@@ -58,6 +58,7 @@ import com.oracle.graal.python.lib.PyObjectLookupAttr;
 import com.oracle.graal.python.nodes.ErrorMessages;
 import com.oracle.graal.python.nodes.PNodeWithContext;
 import com.oracle.graal.python.nodes.PRaiseNode;
+import com.oracle.graal.python.runtime.CriticalSection;
 import com.oracle.truffle.api.dsl.Bind;
 import com.oracle.truffle.api.dsl.Cached;
 import com.oracle.truffle.api.dsl.Cached.Exclusive;
@@ -87,7 +88,9 @@ public abstract class DictNodes {
             // 'other' gets mutated during the iteration, we should raise. This can happen via a
             // side effect of '__eq__' of some key in self, we should not run any other arbitrary
             // code here (hashes are reused from the 'other' storage).
-            addAllToOther.execute(null, inliningTarget, other.getDictStorage(), self);
+            try (CriticalSection cs = CriticalSection.enter(inliningTarget, self, other)) {
+                addAllToOther.execute(null, inliningTarget, other.getDictStorage(), self);
+            }
         }
 
         @Specialization(guards = "mayHaveSideEffectingEq(self)")
@@ -98,17 +101,19 @@ public abstract class DictNodes {
                         @Cached HashingStorageIteratorNext iterNext,
                         @Cached HashingStorageLen otherLenNode,
                         @Exclusive @Cached PRaiseNode.Lazy raiseNode) {
-            HashingStorage selfStorage = self.getDictStorage();
-            HashingStorage otherStorage = other.getDictStorage();
-            int initialSize = otherLenNode.execute(inliningTarget, otherStorage);
-            HashingStorageIterator itOther = getOtherIter.execute(inliningTarget, otherStorage);
-            while (iterNext.execute(inliningTarget, otherStorage, itOther)) {
-                selfStorage = transferItem.execute(frame, inliningTarget, otherStorage, itOther, selfStorage);
-                if (initialSize != otherLenNode.execute(inliningTarget, otherStorage)) {
-                    throw raiseNode.get(inliningTarget).raise(RuntimeError, ErrorMessages.MUTATED_DURING_UPDATE, "dict");
+            try (CriticalSection cs = CriticalSection.enter(inliningTarget, self, other)) {
+                HashingStorage selfStorage = self.getDictStorage();
+                HashingStorage otherStorage = other.getDictStorage();
+                int initialSize = otherLenNode.execute(inliningTarget, otherStorage);
+                HashingStorageIterator itOther = getOtherIter.execute(inliningTarget, otherStorage);
+                while (iterNext.execute(inliningTarget, otherStorage, itOther)) {
+                    selfStorage = transferItem.execute(frame, inliningTarget, otherStorage, itOther, selfStorage);
+                    if (initialSize != otherLenNode.execute(inliningTarget, otherStorage)) {
+                        throw raiseNode.get(inliningTarget).raise(RuntimeError, ErrorMessages.MUTATED_DURING_UPDATE, "dict");
+                    }
                 }
+                self.setDictStorage(selfStorage);
             }
-            self.setDictStorage(selfStorage);
         }
 
         @Specialization(guards = "!isDict(other)")
@@ -118,9 +123,11 @@ public abstract class DictNodes {
                         @Cached PyObjectLookupAttr lookupKeys,
                         @Cached ObjectToArrayPairNode toArrayPair) {
             Object keyAttr = lookupKeys.execute(frame, inliningTarget, other, T_KEYS);
-            HashingStorage storage = addKeyValuesToStorage(frame, self, other, keyAttr,
-                            inliningTarget, toArrayPair, setItem);
-            self.setDictStorage(storage);
+            try (CriticalSection cs = CriticalSection.enter(inliningTarget, self)) {
+                HashingStorage storage = addKeyValuesToStorage(frame, self, other, keyAttr,
+                                inliningTarget, toArrayPair, setItem);
+                self.setDictStorage(storage);
+            }
         }
 
         protected static boolean isIdentical(PDict dict, Object other) {
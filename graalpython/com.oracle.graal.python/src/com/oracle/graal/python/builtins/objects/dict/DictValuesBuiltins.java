@@ -39,10 +39,12 @@ import com.oracle.graal.python.builtins.objects.common.HashingStorage;
 import com.oracle.graal.python.builtins.objects.common.HashingStorageNodes.HashingStorageGetIterator;
 import com.oracle.graal.python.builtins.objects.common.HashingStorageNodes.HashingStorageGetReverseIterator;
 import com.oracle.graal.python.builtins.objects.common.HashingStorageNodes.HashingStorageLen;
+import com.oracle.graal.python.builtins.objects.common.PHashingCollection;
 import com.oracle.graal.python.builtins.objects.dict.PDictView.PDictValuesView;
 import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
 import com.oracle.graal.python.nodes.function.PythonBuiltinNode;
 import com.oracle.graal.python.nodes.function.builtins.PythonUnaryBuiltinNode;
+import com.oracle.graal.python.runtime.CriticalSection;
 import com.oracle.graal.python.runtime.object.PythonObjectFactory;
 import com.oracle.truffle.api.dsl.Bind;
 import com.oracle.truffle.api.dsl.Cached;
@@ -89,8 +91,11 @@ public final class DictValuesBuiltins extends PythonBuiltins {
                         @Cached HashingStorageLen lenNode,
                         @Cached HashingStorageGetIterator getIterator,
                         @Cached PythonObjectFactory factory) {
-            HashingStorage storage = self.getWrappedDict().getDictStorage();
-            return factory.createDictValueIterator(getIterator.execute(inliningTarget, storage), storage, lenNode.execute(inliningTarget, storage));
+            PHashingCollection dict = self.getWrappedDict();
+            try (CriticalSection cs = CriticalSection.enter(inliningTarget, dict)) {
+                HashingStorage storage = dict.getDictStorage();
+                return factory.createDictValueIterator(dict, getIterator.execute(inliningTarget, storage), storage, lenNode.execute(inliningTarget, storage));
+            }
         }
     }
 
@@ -103,8 +108,11 @@ public final class DictValuesBuiltins extends PythonBuiltins {
                         @Cached HashingStorageLen lenNode,
                         @Cached HashingStorageGetReverseIterator getReverseIter,
                         @Cached PythonObjectFactory factory) {
-            HashingStorage storage = self.getWrappedDict().getDictStorage();
-            return factory.createDictValueIterator(getReverseIter.execute(inliningTarget, storage), storage, lenNode.execute(inliningTarget, storage));
+            PHashingCollection dict = self.getWrappedDict();
+            try (CriticalSection cs = CriticalSection.enter(inliningTarget, dict)) {
+                HashingStorage storage = dict.getDictStorage();
+                return factory.createDictValueIterator(dict, getReverseIter.execute(inliningTarget, storage), storage, lenNode.execute(inliningTarget, storage));
+            }
         }
     }
 }
@@ -77,6 +77,7 @@ import com.oracle.graal.python.builtins.objects.common.HashingStorageNodes.Hashi
 import com.oracle.graal.python.builtins.objects.common.HashingStorageNodes.HashingStorageIntersect;
 import com.oracle.graal.python.builtins.objects.common.HashingStorageNodes.HashingStorageLen;
 import com.oracle.graal.python.builtins.objects.common.HashingStorageNodes.HashingStorageXor;
+import com.oracle.graal.python.builtins.objects.common.PHashingCollection;
 import com.oracle.graal.python.builtins.objects.common.SequenceStorageNodes;
 import com.oracle.graal.python.builtins.objects.dict.DictViewBuiltinsFactory.ContainedInNodeGen;
 import com.oracle.graal.python.builtins.objects.dict.PDictView.PDictItemsView;
@@ -97,6 +98,7 @@ import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
 import com.oracle.graal.python.nodes.function.builtins.PythonBinaryBuiltinNode;
 import com.oracle.graal.python.nodes.function.builtins.PythonUnaryBuiltinNode;
 import com.oracle.graal.python.nodes.object.BuiltinClassProfiles.IsBuiltinObjectProfile;
+import com.oracle.graal.python.runtime.CriticalSection;
 import com.oracle.graal.python.runtime.exception.PException;
 import com.oracle.graal.python.runtime.object.PythonObjectFactory;
 import com.oracle.graal.python.runtime.sequence.storage.SequenceStorage;
@@ -157,8 +159,11 @@ public final class DictViewBuiltins extends PythonBuiltins {
                         @Shared("len") @Cached HashingStorageLen lenNode,
                         @Shared("getit") @Cached HashingStorageGetIterator getIterator,
                         @Shared @Cached PythonObjectFactory factory) {
-            HashingStorage storage = self.getWrappedDict().getDictStorage();
-            return factory.createDictKeyIterator(getIterator.execute(inliningTarget, storage), storage, lenNode.execute(inliningTarget, storage));
+            PHashingCollection dict = self.getWrappedDict();
+            try (CriticalSection cs = CriticalSection.enter(inliningTarget, dict)) {
+                HashingStorage storage = dict.getDictStorage();
+                return factory.createDictKeyIterator(dict, getIterator.execute(inliningTarget, storage), storage, lenNode.execute(inliningTarget, storage));
+            }
         }
 
         @Specialization
@@ -167,8 +172,11 @@ public final class DictViewBuiltins extends PythonBuiltins {
                         @Shared("len") @Cached HashingStorageLen lenNode,
                         @Shared("getit") @Cached HashingStorageGetIterator getIterator,
                         @Shared @Cached PythonObjectFactory factory) {
-            HashingStorage storage = self.getWrappedDict().getDictStorage();
-            return factory.createDictItemIterator(getIterator.execute(inliningTarget, storage), storage, lenNode.execute(inliningTarget, storage));
+            PHashingCollection dict = self.getWrappedDict();
+            try (CriticalSection cs = CriticalSection.enter(inliningTarget, dict)) {
+                HashingStorage storage = dict.getDictStorage();
+                return factory.createDictItemIterator(dict, getIterator.execute(inliningTarget, storage), storage, lenNode.execute(inliningTarget, storage));
+            }
         }
     }
 
@@ -181,8 +189,11 @@ public final class DictViewBuiltins extends PythonBuiltins {
                         @Shared @Cached HashingStorageLen lenNode,
                         @Shared @Cached HashingStorageGetReverseIterator getReverseIterator,
                         @Shared @Cached PythonObjectFactory factory) {
-            HashingStorage storage = self.getWrappedDict().getDictStorage();
-            return factory.createDictKeyIterator(getReverseIterator.execute(inliningTarget, storage), storage, lenNode.execute(inliningTarget, storage));
+            PHashingCollection dict = self.getWrappedDict();
+            try (CriticalSection cs = CriticalSection.enter(inliningTarget, dict)) {
+                HashingStorage storage = dict.getDictStorage();
+                return factory.createDictKeyIterator(dict, getReverseIterator.execute(inliningTarget, storage), storage, lenNode.execute(inliningTarget, storage));
+            }
         }
 
         @Specialization
@@ -191,8 +202,11 @@ public final class DictViewBuiltins extends PythonBuiltins {
                         @Shared @Cached HashingStorageLen lenNode,
                         @Shared @Cached HashingStorageGetReverseIterator getReverseIterator,
                         @Shared @Cached PythonObjectFactory factory) {
-            HashingStorage storage = self.getWrappedDict().getDictStorage();
-            return factory.createDictItemIterator(getReverseIterator.execute(inliningTarget, storage), storage, lenNode.execute(inliningTarget, storage));
+            PHashingCollection dict = self.getWrappedDict();
+            try (CriticalSection cs = CriticalSection.enter(inliningTarget, dict)) {
+                HashingStorage storage = dict.getDictStorage();
+                return factory.createDictItemIterator(dict, getReverseIterator.execute(inliningTarget, storage), storage, lenNode.execute(inliningTarget, storage));
+            }
         }
     }
 
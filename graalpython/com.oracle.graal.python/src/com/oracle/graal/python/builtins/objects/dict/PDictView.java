@@ -67,8 +67,8 @@ public abstract class PDictView extends PythonBuiltinObject {
 
     public abstract static class PBaseDictIterator extends PHashingStorageIterator {
 
-        public PBaseDictIterator(Object clazz, Shape instanceShape, HashingStorageNodes.HashingStorageIterator iterator, HashingStorage hashingStorage, int initialSize) {
-            super(clazz, instanceShape, hashingStorage, iterator, initialSize);
+        public PBaseDictIterator(Object clazz, Shape instanceShape, PHashingCollection dict, HashingStorageNodes.HashingStorageIterator iterator, HashingStorage hashingStorage, int initialSize) {
+            super(clazz, instanceShape, dict, hashingStorage, iterator, initialSize);
         }
     }
 
@@ -78,8 +78,8 @@ public abstract class PDictView extends PythonBuiltinObject {
     //
     // -----------------------------------------------------------------------------------------------------------------
     public static final class PDictKeyIterator extends PBaseDictIterator {
-        public PDictKeyIterator(Object clazz, Shape instanceShape, HashingStorageNodes.HashingStorageIterator iterator, HashingStorage hashingStorage, int initialSize) {
-            super(clazz, instanceShape, iterator, hashingStorage, initialSize);
+        public PDictKeyIterator(Object clazz, Shape instanceShape, PHashingCollection dict, HashingStorageNodes.HashingStorageIterator iterator, HashingStorage hashingStorage, int initialSize) {
+            super(clazz, instanceShape, dict, iterator, hashingStorage, initialSize);
         }
     }
 
@@ -96,8 +96,8 @@ public abstract class PDictView extends PythonBuiltinObject {
     //
     // -----------------------------------------------------------------------------------------------------------------
     public static final class PDictValueIterator extends PBaseDictIterator {
-        public PDictValueIterator(Object clazz, Shape instanceShape, HashingStorageNodes.HashingStorageIterator iterator, HashingStorage hashingStorage, int initialSize) {
-            super(clazz, instanceShape, iterator, hashingStorage, initialSize);
+        public PDictValueIterator(Object clazz, Shape instanceShape, PHashingCollection dict, HashingStorageNodes.HashingStorageIterator iterator, HashingStorage hashingStorage, int initialSize) {
+            super(clazz, instanceShape, dict, iterator, hashingStorage, initialSize);
         }
     }
 
@@ -114,8 +114,8 @@ public abstract class PDictView extends PythonBuiltinObject {
     //
     // -----------------------------------------------------------------------------------------------------------------
     public static final class PDictItemIterator extends PBaseDictIterator {
-        public PDictItemIterator(Object clazz, Shape instanceShape, HashingStorageNodes.HashingStorageIterator iterator, HashingStorage hashingStorage, int initialSize) {
-            super(clazz, instanceShape, iterator, hashingStorage, initialSize);
+        public PDictItemIterator(Object clazz, Shape instanceShape, PHashingCollection dict, HashingStorageNodes.HashingStorageIterator iterator, HashingStorage hashingStorage, int initialSize) {
+            super(clazz, instanceShape, dict, iterator, hashingStorage, initialSize);
         }
     }
 
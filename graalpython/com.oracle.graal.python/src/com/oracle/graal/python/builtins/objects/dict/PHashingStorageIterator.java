@@ -43,6 +43,7 @@ package com.oracle.graal.python.builtins.objects.dict;
 import com.oracle.graal.python.builtins.objects.common.HashingStorage;
 import com.oracle.graal.python.builtins.objects.common.HashingStorageNodes;
 import com.oracle.graal.python.builtins.objects.common.HashingStorageNodes.HashingStorageLen;
+import com.oracle.graal.python.builtins.objects.common.PHashingCollection;
 import com.oracle.graal.python.builtins.objects.iterator.PBuiltinIterator;
 import com.oracle.truffle.api.nodes.Node;
 import com.oracle.truffle.api.object.Shape;
@@ -52,12 +53,14 @@ public abstract class PHashingStorageIterator extends PBuiltinIterator {
     protected final int size;
     private final HashingStorageNodes.HashingStorageIterator iterator;
     private final HashingStorage storage;
+    private final PHashingCollection collection;
 
-    public PHashingStorageIterator(Object clazz, Shape instanceShape, HashingStorage storage, HashingStorageNodes.HashingStorageIterator iterator, int size) {
+    public PHashingStorageIterator(Object clazz, Shape instanceShape, PHashingCollection collection, HashingStorage storage, HashingStorageNodes.HashingStorageIterator iterator, int size) {
         super(clazz, instanceShape);
         this.iterator = iterator;
         this.size = size;
         this.storage = storage;
+        this.collection = collection;
     }
 
     public final HashingStorageNodes.HashingStorageIterator getIterator() {
@@ -68,6 +71,15 @@ public abstract class PHashingStorageIterator extends PBuiltinIterator {
         return storage;
     }
 
+    /**
+     * The dict or set this iterator was created from. Used to enter a
+     * {@link com.oracle.graal.python.runtime.CriticalSection} on the same object that mutating
+     * operations lock.
+     */
+    public final PHashingCollection getCollection() {
+        return collection;
+    }
+
     public final boolean checkSizeChanged(Node inliningTarget, HashingStorageLen lenNode) {
         return lenNode.execute(inliningTarget, getHashingStorage()) != size;
     }
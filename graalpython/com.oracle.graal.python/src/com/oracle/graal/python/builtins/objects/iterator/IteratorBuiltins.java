@@ -70,6 +70,7 @@ import com.oracle.graal.python.nodes.function.builtins.PythonBinaryBuiltinNode;
 import com.oracle.graal.python.nodes.function.builtins.PythonUnaryBuiltinNode;
 import com.oracle.graal.python.nodes.object.BuiltinClassProfiles.IsBuiltinObjectProfile;
 import com.oracle.graal.python.nodes.util.CastToJavaBigIntegerNode;
+import com.oracle.graal.python.runtime.CriticalSection;
 import com.oracle.graal.python.runtime.PythonContext;
 import com.oracle.graal.python.runtime.exception.PException;
 import com.oracle.graal.python.runtime.object.PythonObjectFactory;
@@ -160,8 +161,10 @@ public final class IteratorBuiltins extends PythonBuiltins {
         @Specialization(guards = "!self.isExhausted()")
         static Object next(Node inliningTarget, PIntegerSequenceIterator self, boolean throwStopIteration,
                         @Exclusive @Cached PRaiseNode.Lazy raiseNode) {
-            if (self.getIndex() < self.sequence.length()) {
-                return self.sequence.getIntItemNormalized(self.index++);
+            try (CriticalSection cs = CriticalSection.enter(inliningTarget, self.getObject())) {
+                if (self.getIndex() < self.sequence.length()) {
+                    return self.sequence.getIntItemNormalized(self.index++);
+                }
             }
             return stopIteration(inliningTarget, self, throwStopIteration, raiseNode);
         }
@@ -169,8 +172,10 @@ public final class IteratorBuiltins extends PythonBuiltins {
         @Specialization(guards = "!self.isExhausted()")
         static Object next(Node inliningTarget, PObjectSequenceIterator self, boolean throwStopIteration,
                         @Exclusive @Cached PRaiseNode.Lazy raiseNode) {
-            if (self.getIndex() < self.sequence.length()) {
-                return self.sequence.getItemNormalized(self.index++);
+            try (CriticalSection cs = CriticalSection.enter(inliningTarget, self.getObject())) {
+                if (self.getIndex() < self.sequence.length()) {
+                    return self.sequence.getItemNormalized(self.index++);
+                }
             }
             return stopIteration(inliningTarget, self, throwStopIteration, raiseNode);
         }
@@ -198,8 +203,10 @@ public final class IteratorBuiltins extends PythonBuiltins {
         @Specialization(guards = "!self.isExhausted()")
         static Object next(Node inliningTarget, PDoubleSequenceIterator self, boolean throwStopIteration,
                         @Exclusive @Cached PRaiseNode.Lazy raiseNode) {
-            if (self.getIndex() < self.sequence.length()) {
-                return self.sequence.getDoubleItemNormalized(self.index++);
+            try (CriticalSection cs = CriticalSection.enter(inliningTarget, self.getObject())) {
+                if (self.getIndex() < self.sequence.length()) {
+                    return self.sequence.getDoubleItemNormalized(self.index++);
+                }
             }
             return stopIteration(inliningTarget, self, throwStopIteration, raiseNode);
         }
@@ -207,8 +214,10 @@ public final class IteratorBuiltins extends PythonBuiltins {
         @Specialization(guards = "!self.isExhausted()")
         static Object next(Node inliningTarget, PLongSequenceIterator self, boolean throwStopIteration,
                         @Exclusive @Cached PRaiseNode.Lazy raiseNode) {
-            if (self.getIndex() < self.sequence.length()) {
-                return self.sequence.getLongItemNormalized(self.index++);
+            try (CriticalSection cs = CriticalSection.enter(inliningTarget, self.getObject())) {
+                if (self.getIndex() < self.sequence.length()) {
+                    return self.sequence.getLongItemNormalized(self.index++);
+                }
             }
             return stopIteration(inliningTarget, self, throwStopIteration, raiseNode);
         }
@@ -234,13 +243,15 @@ public final class IteratorBuiltins extends PythonBuiltins {
                         @Exclusive @Cached PRaiseNode.Lazy raiseNode) {
             HashingStorage storage = self.getHashingStorage();
             final HashingStorageIterator it = self.getIterator();
-            if (profile.profile(inliningTarget, nextNode.execute(inliningTarget, storage, it))) {
-                if (sizeChanged.profile(inliningTarget, self.checkSizeChanged(inliningTarget, lenNode))) {
-                    String name = PBaseSetIterator.isInstance(self) ? "Set" : "dictionary";
-                    throw raiseNode.get(inliningTarget).raise(RuntimeError, ErrorMessages.CHANGED_SIZE_DURING_ITERATION, name);
+            try (CriticalSection cs = CriticalSection.enter(inliningTarget, self.getCollection())) {
+                if (profile.profile(inliningTarget, nextNode.execute(inliningTarget, storage, it))) {
+                    if (sizeChanged.profile(inliningTarget, self.checkSizeChanged(inliningTarget, lenNode))) {
+                        String name = PBaseSetIterator.isInstance(self) ? "Set" : "dictionary";
+                        throw raiseNode.get(inliningTarget).raise(RuntimeError, ErrorMessages.CHANGED_SIZE_DURING_ITERATION, name);
+                    }
+                    self.index++;
+                    return itValueNode.execute(inliningTarget, self, storage, it);
                 }
-                self.index++;
-                return itValueNode.execute(inliningTarget, self, storage, it);
             }
             return stopIteration(inliningTarget, self, throwStopIteration, raiseNode);
         }
@@ -250,9 +261,11 @@ public final class IteratorBuiltins extends PythonBuiltins {
                         @Cached SequenceNodes.GetSequenceStorageNode getStorage,
                         @Cached(value = "createNotNormalized()", inline = false) SequenceStorageNodes.GetItemNode getItemNode,
                         @Exclusive @Cached PRaiseNode.Lazy raiseNode) {
-            SequenceStorage s = getStorage.execute(inliningTarget, self.getPSequence());
-            if (self.getIndex() < s.length()) {
-                return getItemNode.execute(s, self.index++);
+            try (CriticalSection cs = CriticalSection.enter(inliningTarget, self.getPSequence())) {
+                SequenceStorage s = getStorage.execute(inliningTarget, self.getPSequence());
+                if (self.getIndex() < s.length()) {
+                    return getItemNode.execute(s, self.index++);
+                }
             }
             return stopIteration(inliningTarget, self, throwStopIteration, raiseNode);
         }
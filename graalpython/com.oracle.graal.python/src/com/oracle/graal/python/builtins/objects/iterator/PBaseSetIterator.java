@@ -34,7 +34,7 @@ public final class PBaseSetIterator extends PHashingStorageIterator {
     private final PBaseSet set;
 
     public PBaseSetIterator(Object clazz, Shape instanceShape, PBaseSet set, HashingStorageNodes.HashingStorageIterator iterator, int initialSize) {
-        super(clazz, instanceShape, set.getDictStorage(), iterator, initialSize);
+        super(clazz, instanceShape, set, set.getDictStorage(), iterator, initialSize);
         this.set = set;
     }
 
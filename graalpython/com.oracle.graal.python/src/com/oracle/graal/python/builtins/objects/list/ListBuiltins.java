@@ -73,6 +73,8 @@ import com.oracle.graal.python.builtins.PythonBuiltins;
 import com.oracle.graal.python.builtins.modules.MathGuards;
 import com.oracle.graal.python.builtins.objects.PNone;
 import com.oracle.graal.python.builtins.objects.PNotImplemented;
+import com.oracle.graal.python.builtins.objects.array.ArrayNodes;
+import com.oracle.graal.python.builtins.objects.array.PArray;
 import com.oracle.graal.python.builtins.objects.common.IndexNodes.NormalizeIndexNode;
 import com.oracle.graal.python.builtins.objects.common.SequenceNodes;
 import com.oracle.graal.python.builtins.objects.common.SequenceStorageNodes;
@@ -108,6 +110,7 @@ import com.oracle.graal.python.nodes.function.builtins.clinic.ArgumentClinicProv
 import com.oracle.graal.python.nodes.object.GetClassNode;
 import com.oracle.graal.python.nodes.truffle.PythonArithmeticTypes;
 import com.oracle.graal.python.nodes.util.CastToTruffleStringNode;
+import com.oracle.graal.python.runtime.CriticalSection;
 import com.oracle.graal.python.runtime.PythonContext;
 import com.oracle.graal.python.runtime.exception.PythonErrorType;
 import com.oracle.graal.python.runtime.object.PythonObjectFactory;
@@ -196,6 +199,7 @@ public final class ListBuiltins extends PythonBuiltins {
 
     @Builtin(name = J___INIT__, minNumOfPositionalArgs = 1, maxNumOfPositionalArgs = 2)
     @GenerateNodeFactory
+    @ImportStatic(ArrayNodes.class)
     public abstract static class ListInitNode extends PythonBinaryBuiltinNode {
 
         public abstract PNone execute(VirtualFrame frame, PList list, Object source);
@@ -249,6 +253,12 @@ public final class ListBuiltins extends PythonBuiltins {
             return PNone.NONE;
         }
 
+        @Specialization(guards = {"cannotBeOverriddenForImmutableType(array)", "hasPrimitiveListStorage(array)"})
+        static PNone listArray(PList list, PArray array) {
+            list.setSequenceStorage(ArrayNodes.toPrimitiveListStorage(array));
+            return PNone.NONE;
+        }
+
         @Specialization(guards = {"!isNoValue(iterable)", "!isString(iterable)"})
         static PNone listIterable(VirtualFrame frame, PList list, Object iterable,
                         @Bind("this") Node inliningTarget,
@@ -276,8 +286,11 @@ public final class ListBuiltins extends PythonBuiltins {
 
         @Specialization
         static Object doGeneric(VirtualFrame frame, PList self, Object key,
+                        @Bind("this") Node inliningTarget,
                         @Cached SequenceStorageNodes.DeleteNode deleteNode) {
-            deleteNode.execute(frame, self.getSequenceStorage(), key);
+            try (CriticalSection cs = CriticalSection.enter(inliningTarget, self)) {
+                deleteNode.execute(frame, self.getSequenceStorage(), key);
+            }
             return PNone.NONE;
         }
 
@@ -295,17 +308,22 @@ public final class ListBuiltins extends PythonBuiltins {
 
         @Specialization
         static Object doInBounds(PList self, int index,
+                        @Bind("this") Node inliningTarget,
                         @Shared("getItem") @Cached("createForList()") SequenceStorageNodes.GetItemNode getItemNode) {
-            return getItemNode.execute(self.getSequenceStorage(), index);
+            try (CriticalSection cs = CriticalSection.enter(inliningTarget, self)) {
+                return getItemNode.execute(self.getSequenceStorage(), index);
+            }
         }
 
         @InliningCutoff
         @Specialization(guards = "isIndexOrSlice(this, indexCheckNode, key)")
         static Object doScalar(VirtualFrame frame, PList self, Object key,
-                        @SuppressWarnings("unused") @Bind("this") Node inliningTarget,
+                        @Bind("this") Node inliningTarget,
                         @SuppressWarnings("unused") @Shared @Cached PyIndexCheckNode indexCheckNode,
                         @Shared("getItem") @Cached("createForList()") SequenceStorageNodes.GetItemNode getItemNode) {
-            return getItemNode.execute(frame, self.getSequenceStorage(), key);
+            try (CriticalSection cs = CriticalSection.enter(inliningTarget, self)) {
+                return getItemNode.execute(frame, self.getSequenceStorage(), key);
+            }
         }
 
         @InliningCutoff
@@ -333,7 +351,9 @@ public final class ListBuiltins extends PythonBuiltins {
                         @Bind("this") Node inliningTarget,
                         @Shared @Cached InlinedConditionProfile generalizedProfile,
                         @Shared("setItem") @Cached("createForList()") SequenceStorageNodes.SetItemNode setItemNode) {
-            updateStorage(inliningTarget, self, setItemNode.execute(self.getSequenceStorage(), index, value), generalizedProfile);
+            try (CriticalSection cs = CriticalSection.enter(inliningTarget, self)) {
+                updateStorage(inliningTarget, self, setItemNode.execute(self.getSequenceStorage(), index, value), generalizedProfile);
+            }
             return PNone.NONE;
         }
 
@@ -344,7 +364,9 @@ public final class ListBuiltins extends PythonBuiltins {
                         @Shared @Cached InlinedConditionProfile generalizedProfile,
                         @Shared("indexCheckNode") @SuppressWarnings("unused") @Cached PyIndexCheckNode indexCheckNode,
                         @Shared("setItem") @Cached("createForList()") SequenceStorageNodes.SetItemNode setItemNode) {
-            updateStorage(inliningTarget, primary, setItemNode.execute(frame, primary.getSequenceStorage(), key, value), generalizedProfile);
+            try (CriticalSection cs = CriticalSection.enter(inliningTarget, primary)) {
+                updateStorage(inliningTarget, primary, setItemNode.execute(frame, primary.getSequenceStorage(), key, value), generalizedProfile);
+            }
             return PNone.NONE;
         }
 
@@ -395,7 +417,9 @@ public final class ListBuiltins extends PythonBuiltins {
                         @Cached IteratorNodes.GetLength lenNode,
                         @Cached("createExtend()") SequenceStorageNodes.ExtendNode extendNode) {
             int len = lenNode.execute(frame, inliningTarget, iterable);
-            updateSequenceStorage(list, extendNode.execute(frame, list.getSequenceStorage(), iterable, len));
+            try (CriticalSection cs = CriticalSection.enter(inliningTarget, list, iterable)) {
+                updateSequenceStorage(list, extendNode.execute(frame, list.getSequenceStorage(), iterable, len));
+            }
             return PNone.NONE;
         }
 
@@ -427,7 +451,11 @@ public final class ListBuiltins extends PythonBuiltins {
                         @Cached SequenceStorageNodes.CopyNode copy,
                         @Cached GetClassNode getClassNode,
                         @Cached PythonObjectFactory factory) {
-            return factory.createList(getClassNode.execute(inliningTarget, self), copy.execute(inliningTarget, self.getSequenceStorage()));
+            SequenceStorage storage;
+            try (CriticalSection cs = CriticalSection.enter(inliningTarget, self)) {
+                storage = copy.execute(inliningTarget, self.getSequenceStorage());
+            }
+            return factory.createList(getClassNode.execute(inliningTarget, self), storage);
         }
 
     }
@@ -440,40 +468,42 @@ public final class ListBuiltins extends PythonBuiltins {
 
         public abstract PNone execute(VirtualFrame frame, PList list, Object index, Object value);
 
-        @Specialization(guards = "isIntStorage(list)")
+        @Specialization(guards = {"isIntStorage(list)", "!isFreeThreaded(this)"})
         static PNone insertIntInt(PList list, int index, int value) {
             IntSequenceStorage target = (IntSequenceStorage) list.getSequenceStorage();
             target.insertIntItem(normalizeIndex(index, target.length()), value);
             return PNone.NONE;
         }
 
-        @Specialization(guards = "isLongStorage(list)")
+        @Specialization(guards = {"isLongStorage(list)", "!isFreeThreaded(this)"})
         static PNone insertLongLong(PList list, int index, int value) {
             LongSequenceStorage target = (LongSequenceStorage) list.getSequenceStorage();
             target.insertLongItem(normalizeIndex(index, target.length()), value);
             return PNone.NONE;
         }
 
-        @Specialization(guards = "isLongStorage(list)")
+        @Specialization(guards = {"isLongStorage(list)", "!isFreeThreaded(this)"})
         static PNone insertLongLong(PList list, int index, long value) {
             LongSequenceStorage target = (LongSequenceStorage) list.getSequenceStorage();
             target.insertLongItem(normalizeIndex(index, target.length()), value);
             return PNone.NONE;
         }
 
-        @Specialization(guards = "isDoubleStorage(list)")
+        @Specialization(guards = {"isDoubleStorage(list)", "!isFreeThreaded(this)"})
         static PNone insertDoubleDouble(PList list, int index, double value) {
             DoubleSequenceStorage target = (DoubleSequenceStorage) list.getSequenceStorage();
             target.insertDoubleItem(normalizeIndex(index, target.length()), value);
             return PNone.NONE;
         }
 
-        @Specialization(guards = "isNotSpecialCase(list, value)")
+        @Specialization(guards = "isNotSpecialCase(list, value) || isFreeThreaded(this)")
         static PNone insert(PList list, int index, Object value,
                         @Bind("this") Node inliningTarget,
                         @Cached SequenceStorageNodes.InsertItemNode insertItem) {
-            SequenceStorage store = list.getSequenceStorage();
-            list.setSequenceStorage(insertItem.execute(inliningTarget, store, normalizeIndex(index, store.length()), value));
+            try (CriticalSection cs = CriticalSection.enter(inliningTarget, list)) {
+                SequenceStorage store = list.getSequenceStorage();
+                list.setSequenceStorage(insertItem.execute(inliningTarget, store, normalizeIndex(index, store.length()), value));
+            }
             return PNone.NONE;
         }
 
@@ -538,6 +568,14 @@ public final class ListBuiltins extends PythonBuiltins {
             return index instanceof Integer || index instanceof PInt;
         }
 
+        /**
+         * The storage-specific fast paths check the storage type outside of any critical section,
+         * so they cannot be used in the free-threaded mode.
+         */
+        protected static boolean isFreeThreaded(Node node) {
+            return CriticalSection.isFreeThreaded(node);
+        }
+
     }
 
     // list.remove(x)
@@ -552,13 +590,15 @@ public final class ListBuiltins extends PythonBuiltins {
                         @Cached SequenceStorageNodes.DeleteNode deleteNode,
                         @Cached PyObjectRichCompareBool.EqNode eqNode,
                         @Cached PRaiseNode.Lazy raiseNode) {
-            SequenceStorage listStore = list.getSequenceStorage();
-            int len = listStore.length();
-            for (int i = 0; i < len; i++) {
-                Object object = getItemNode.execute(listStore, i);
-                if (eqNode.compare(frame, inliningTarget, object, value)) {
-                    deleteNode.execute(frame, listStore, i);
-                    return PNone.NONE;
+            try (CriticalSection cs = CriticalSection.enter(inliningTarget, list)) {
+                SequenceStorage listStore = list.getSequenceStorage();
+                int len = listStore.length();
+                for (int i = 0; i < len; i++) {
+                    Object object = getItemNode.execute(listStore, i);
+                    if (eqNode.compare(frame, inliningTarget, object, value)) {
+                        deleteNode.execute(frame, listStore, i);
+                        return PNone.NONE;
+                    }
                 }
             }
             throw raiseNode.get(inliningTarget).raise(PythonErrorType.ValueError, ErrorMessages.NOT_IN_LIST_MESSAGE);
@@ -572,22 +612,28 @@ public final class ListBuiltins extends PythonBuiltins {
 
         @Specialization
         static Object popLast(VirtualFrame frame, PList list, @SuppressWarnings("unused") PNone none,
+                        @Bind("this") Node inliningTarget,
                         @Shared @Cached("createDelete()") SequenceStorageNodes.DeleteNode deleteNode,
                         @Shared @Cached SequenceStorageNodes.GetItemNode getItemNode) {
-            SequenceStorage store = list.getSequenceStorage();
-            Object ret = getItemNode.execute(store, -1);
-            deleteNode.execute(frame, store, -1);
-            return ret;
+            try (CriticalSection cs = CriticalSection.enter(inliningTarget, list)) {
+                SequenceStorage store = list.getSequenceStorage();
+                Object ret = getItemNode.execute(store, -1);
+                deleteNode.execute(frame, store, -1);
+                return ret;
+            }
         }
 
         @Specialization(guards = {"!isNoValue(idx)", "!isPSlice(idx)"})
         static Object doIndex(VirtualFrame frame, PList list, Object idx,
+                        @Bind("this") Node inliningTarget,
                         @Shared @Cached("createDelete()") SequenceStorageNodes.DeleteNode deleteNode,
                         @Shared @Cached SequenceStorageNodes.GetItemNode getItemNode) {
-            SequenceStorage store = list.getSequenceStorage();
-            Object ret = getItemNode.execute(frame, store, idx);
-            deleteNode.execute(frame, store, idx);
-            return ret;
+            try (CriticalSection cs = CriticalSection.enter(inliningTarget, list)) {
+                SequenceStorage store = list.getSequenceStorage();
+                Object ret = getItemNode.execute(frame, store, idx);
+                deleteNode.execute(frame, store, idx);
+                return ret;
+            }
         }
 
         @Fallback
@@ -655,8 +701,10 @@ public final class ListBuiltins extends PythonBuiltins {
                         @Bind("this") Node inliningTarget,
                         @Shared @Cached SequenceStorageNodes.ItemIndexNode itemIndexNode,
                         @Shared @Cached PRaiseNode.Lazy raiseNode) {
-            SequenceStorage s = self.getSequenceStorage();
-            return findIndex(frame, inliningTarget, itemIndexNode, s, value, 0, s.length(), raiseNode);
+            try (CriticalSection cs = CriticalSection.enter(inliningTarget, self)) {
+                SequenceStorage s = self.getSequenceStorage();
+                return findIndex(frame, inliningTarget, itemIndexNode, s, value, 0, s.length(), raiseNode);
+            }
         }
 
         @Specialization
@@ -664,8 +712,10 @@ public final class ListBuiltins extends PythonBuiltins {
                         @Bind("this") Node inliningTarget,
                         @Shared @Cached SequenceStorageNodes.ItemIndexNode itemIndexNode,
                         @Shared @Cached PRaiseNode.Lazy raiseNode) {
-            SequenceStorage s = self.getSequenceStorage();
-            return findIndex(frame, inliningTarget, itemIndexNode, s, value, correctIndex(s, start), s.length(), raiseNode);
+            try (CriticalSection cs = CriticalSection.enter(inliningTarget, self)) {
+                SequenceStorage s = self.getSequenceStorage();
+                return findIndex(frame, inliningTarget, itemIndexNode, s, value, correctIndex(s, start), s.length(), raiseNode);
+            }
         }
 
         @Specialization
@@ -673,8 +723,10 @@ public final class ListBuiltins extends PythonBuiltins {
                         @Bind("this") Node inliningTarget,
                         @Shared @Cached SequenceStorageNodes.ItemIndexNode itemIndexNode,
                         @Shared @Cached PRaiseNode.Lazy raiseNode) {
-            SequenceStorage s = self.getSequenceStorage();
-            return findIndex(frame, inliningTarget, itemIndexNode, s, value, correctIndex(s, start), correctIndex(s, end), raiseNode);
+            try (CriticalSection cs = CriticalSection.enter(inliningTarget, self)) {
+                SequenceStorage s = self.getSequenceStorage();
+                return findIndex(frame, inliningTarget, itemIndexNode, s, value, correctIndex(s, start), correctIndex(s, end), raiseNode);
+            }
         }
 
         @Specialization
@@ -682,8 +734,10 @@ public final class ListBuiltins extends PythonBuiltins {
                         @Bind("this") Node inliningTarget,
                         @Shared @Cached SequenceStorageNodes.ItemIndexNode itemIndexNode,
                         @Shared @Cached PRaiseNode.Lazy raiseNode) {
-            SequenceStorage s = self.getSequenceStorage();
-            return findIndex(frame, inliningTarget, itemIndexNode, s, value, correctIndex(s, start), s.length(), raiseNode);
+            try (CriticalSection cs = CriticalSection.enter(inliningTarget, self)) {
+                SequenceStorage s = self.getSequenceStorage();
+                return findIndex(frame, inliningTarget, itemIndexNode, s, value, correctIndex(s, start), s.length(), raiseNode);
+            }
         }
 
         @Specialization
@@ -691,8 +745,10 @@ public final class ListBuiltins extends PythonBuiltins {
                         @Bind("this") Node inliningTarget,
                         @Shared @Cached SequenceStorageNodes.ItemIndexNode itemIndexNode,
                         @Shared @Cached PRaiseNode.Lazy raiseNode) {
-            SequenceStorage s = self.getSequenceStorage();
-            return findIndex(frame, inliningTarget, itemIndexNode, s, value, correctIndex(s, start), correctIndex(s, end), raiseNode);
+            try (CriticalSection cs = CriticalSection.enter(inliningTarget, self)) {
+                SequenceStorage s = self.getSequenceStorage();
+                return findIndex(frame, inliningTarget, itemIndexNode, s, value, correctIndex(s, start), correctIndex(s, end), raiseNode);
+            }
         }
 
         @Specialization
@@ -700,8 +756,10 @@ public final class ListBuiltins extends PythonBuiltins {
                         @Bind("this") Node inliningTarget,
                         @Shared @Cached SequenceStorageNodes.ItemIndexNode itemIndexNode,
                         @Shared @Cached PRaiseNode.Lazy raiseNode) {
-            SequenceStorage s = self.getSequenceStorage();
-            return findIndex(frame, inliningTarget, itemIndexNode, s, value, correctIndex(s, start), correctIndex(s, end), raiseNode);
+            try (CriticalSection cs = CriticalSection.enter(inliningTarget, self)) {
+                SequenceStorage s = self.getSequenceStorage();
+                return findIndex(frame, inliningTarget, itemIndexNode, s, value, correctIndex(s, start), correctIndex(s, end), raiseNode);
+            }
         }
 
         @Specialization
@@ -709,8 +767,10 @@ public final class ListBuiltins extends PythonBuiltins {
                         @Bind("this") Node inliningTarget,
                         @Shared @Cached SequenceStorageNodes.ItemIndexNode itemIndexNode,
                         @Shared @Cached PRaiseNode.Lazy raiseNode) {
-            SequenceStorage s = self.getSequenceStorage();
-            return findIndex(frame, inliningTarget, itemIndexNode, s, value, correctIndex(s, start), correctIndex(s, end), raiseNode);
+            try (CriticalSection cs = CriticalSection.enter(inliningTarget, self)) {
+                SequenceStorage s = self.getSequenceStorage();
+                return findIndex(frame, inliningTarget, itemIndexNode, s, value, correctIndex(s, start), correctIndex(s, end), raiseNode);
+            }
         }
 
         @Specialization
@@ -770,11 +830,13 @@ public final class ListBuiltins extends PythonBuiltins {
                         @Cached("createNotNormalized()") SequenceStorageNodes.GetItemNode getItemNode,
                         @Cached PyObjectRichCompareBool.EqNode eqNode) {
             long count = 0;
-            SequenceStorage s = self.getSequenceStorage();
-            for (int i = 0; i < s.length(); i++) {
-                Object seqItem = getItemNode.execute(s, i);
-                if (eqNode.compare(frame, inliningTarget, seqItem, value)) {
-                    count++;
+            try (CriticalSection cs = CriticalSection.enter(inliningTarget, self)) {
+                SequenceStorage s = self.getSequenceStorage();
+                for (int i = 0; i < s.length(); i++) {
+                    Object seqItem = getItemNode.execute(s, i);
+                    if (eqNode.compare(frame, inliningTarget, seqItem, value)) {
+                        count++;
+                    }
                 }
             }
             return count;
@@ -788,8 +850,11 @@ public final class ListBuiltins extends PythonBuiltins {
     public abstract static class ListClearNode extends PythonUnaryBuiltinNode {
 
         @Specialization
-        static PNone clear(PList list) {
-            list.setSequenceStorage(EmptySequenceStorage.INSTANCE);
+        static PNone clear(PList list,
+                        @Bind("this") Node inliningTarget) {
+            try (CriticalSection cs = CriticalSection.enter(inliningTarget, list)) {
+                list.setSequenceStorage(EmptySequenceStorage.INSTANCE);
+            }
             return PNone.NONE;
         }
     }
@@ -800,8 +865,11 @@ public final class ListBuiltins extends PythonBuiltins {
     public abstract static class ListReverseNode extends PythonUnaryBuiltinNode {
 
         @Specialization
-        static PList reverse(PList list) {
-            list.reverse();
+        static PList reverse(PList list,
+                        @Bind("this") Node inliningTarget) {
+            try (CriticalSection cs = CriticalSection.enter(inliningTarget, list)) {
+                list.reverse();
+            }
             return list;
         }
 
@@ -823,16 +891,21 @@ public final class ListBuiltins extends PythonBuiltins {
                         @Bind("this") Node inliningTarget,
                         @Cached SortSequenceStorageNode sortSequenceStorageNode,
                         @Cached PRaiseNode.Lazy raiseNode) {
-            SequenceStorage storage = list.getSequenceStorage();
-            // Make the list temporarily empty to prevent concurrent modification
-            list.setSequenceStorage(EmptySequenceStorage.INSTANCE);
+            SequenceStorage storage;
+            try (CriticalSection cs = CriticalSection.enter(inliningTarget, list)) {
+                storage = list.getSequenceStorage();
+                // Make the list temporarily empty to prevent concurrent modification
+                list.setSequenceStorage(EmptySequenceStorage.INSTANCE);
+            }
             try {
                 sortSequenceStorageNode.execute(frame, storage, keyfunc, reverse);
                 if (list.getSequenceStorage() != EmptySequenceStorage.INSTANCE) {
                     throw raiseNode.get(inliningTarget).raise(ValueError, ErrorMessages.LIST_MODIFIED_DURING_SOFT);
                 }
             } finally {
-                list.setSequenceStorage(storage);
+                try (CriticalSection cs = CriticalSection.enter(inliningTarget, list)) {
+                    list.setSequenceStorage(storage);
+                }
             }
             return PNone.NONE;
         }
@@ -867,7 +940,10 @@ public final class ListBuiltins extends PythonBuiltins {
                         @Cached GetClassNode getClassNode,
                         @Cached("createConcat()") SequenceStorageNodes.ConcatNode concatNode,
                         @Cached PythonObjectFactory factory) {
-            SequenceStorage newStore = concatNode.execute(left.getSequenceStorage(), other.getSequenceStorage());
+            SequenceStorage newStore;
+            try (CriticalSection cs = CriticalSection.enter(inliningTarget, left, other)) {
+                newStore = concatNode.execute(left.getSequenceStorage(), other.getSequenceStorage());
+            }
             return factory.createList(getClassNode.execute(inliningTarget, left), newStore);
         }
 
@@ -892,7 +968,9 @@ public final class ListBuiltins extends PythonBuiltins {
                         @Cached IteratorNodes.GetLength lenNode,
                         @Cached("createExtend()") SequenceStorageNodes.ExtendNode extendNode) {
             int len = lenNode.execute(frame, inliningTarget, iterable);
-            updateSequenceStorage(list, extendNode.execute(frame, list.getSequenceStorage(), iterable, len));
+            try (CriticalSection cs = CriticalSection.enter(inliningTarget, list, iterable)) {
+                updateSequenceStorage(list, extendNode.execute(frame, list.getSequenceStorage(), iterable, len));
+            }
             return list;
         }
 
@@ -919,7 +997,7 @@ public final class ListBuiltins extends PythonBuiltins {
                         @Cached SequenceStorageNodes.RepeatNode repeatNode,
                         @Cached PythonObjectFactory factory,
                         @Cached PRaiseNode.Lazy raiseNode) {
-            try {
+            try (CriticalSection cs = CriticalSection.enter(inliningTarget, left)) {
                 SequenceStorage repeated = repeatNode.execute(frame, left.getSequenceStorage(), right);
                 return factory.createList(repeated);
             } catch (ArithmeticException | OutOfMemoryError e) {
@@ -943,10 +1021,12 @@ public final class ListBuiltins extends PythonBuiltins {
                         @Cached InlinedConditionProfile updatedProfile,
                         @Cached SequenceStorageNodes.RepeatNode repeatNode) {
 
-            SequenceStorage store = list.getSequenceStorage();
-            SequenceStorage updated = repeatNode.execute(frame, store, right);
-            if (updatedProfile.profile(inliningTarget, store != updated)) {
-                list.setSequenceStorage(updated);
+            try (CriticalSection cs = CriticalSection.enter(inliningTarget, list)) {
+                SequenceStorage store = list.getSequenceStorage();
+                SequenceStorage updated = repeatNode.execute(frame, store, right);
+                if (updatedProfile.profile(inliningTarget, store != updated)) {
+                    list.setSequenceStorage(updated);
+                }
             }
             return list;
         }
@@ -1092,7 +1172,9 @@ public final class ListBuiltins extends PythonBuiltins {
                         @Bind("this") Node inliningTarget,
                         @Cached SequenceNodes.GetSequenceStorageNode getStorage,
                         @Cached SequenceStorageNodes.ContainsNode containsNode) {
-            return containsNode.execute(frame, inliningTarget, getStorage.execute(inliningTarget, self), other);
+            try (CriticalSection cs = CriticalSection.enter(inliningTarget, self)) {
+                return containsNode.execute(frame, inliningTarget, getStorage.execute(inliningTarget, self), other);
+            }
         }
     }
 
@@ -0,0 +1,302 @@
+/*
+ * Copyright (c) 2024, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.objects.select;
+
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___ENTER__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___EXIT__;
+import static com.oracle.graal.python.runtime.PosixConstants.FD_SETSIZE;
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.ValueError;
+import static com.oracle.graal.python.util.PythonUtils.tsLiteral;
+import static com.oracle.graal.python.util.TimeUtils.MS_TO_NS;
+import static com.oracle.graal.python.util.TimeUtils.SEC_TO_NS;
+
+import java.util.List;
+
+import com.oracle.graal.python.annotations.ArgumentClinic;
+import com.oracle.graal.python.builtins.Builtin;
+import com.oracle.graal.python.builtins.CoreFunctions;
+import com.oracle.graal.python.builtins.PythonBuiltinClassType;
+import com.oracle.graal.python.builtins.PythonBuiltins;
+import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.builtins.objects.exception.OSErrorEnum;
+import com.oracle.graal.python.builtins.objects.list.PList;
+import com.oracle.graal.python.lib.PyLongAsLongNode;
+import com.oracle.graal.python.lib.PyObjectAsFileDescriptor;
+import com.oracle.graal.python.lib.PyTimeFromObjectNode;
+import com.oracle.graal.python.lib.PyTimeFromObjectNode.RoundType;
+import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.nodes.PConstructAndRaiseNode;
+import com.oracle.graal.python.nodes.PGuards;
+import com.oracle.graal.python.nodes.PRaiseNode;
+import com.oracle.graal.python.nodes.call.special.LookupAndCallUnaryNode;
+import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
+import com.oracle.graal.python.nodes.function.PythonBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonBinaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonTernaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonTernaryClinicBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonUnaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.clinic.ArgumentClinicProvider;
+import com.oracle.graal.python.runtime.GilNode;
+import com.oracle.graal.python.runtime.PosixSupport;
+import com.oracle.graal.python.runtime.PosixSupportLibrary;
+import com.oracle.graal.python.runtime.PosixSupportLibrary.PosixException;
+import com.oracle.graal.python.runtime.PythonContext;
+import com.oracle.graal.python.runtime.object.PythonObjectFactory;
+import com.oracle.truffle.api.dsl.Bind;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.GenerateNodeFactory;
+import com.oracle.truffle.api.dsl.NodeFactory;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.library.CachedLibrary;
+import com.oracle.truffle.api.nodes.Node;
+import com.oracle.truffle.api.profiles.InlinedBranchProfile;
+import com.oracle.truffle.api.strings.TruffleString;
+
+@CoreFunctions(extendClasses = PythonBuiltinClassType.PEpoll)
+public final class EpollBuiltins extends PythonBuiltins {
+
+    @Override
+    protected List<? extends NodeFactory<? extends PythonBuiltinBaseNode>> getNodeFactories() {
+        return EpollBuiltinsFactory.getFactories();
+    }
+
+    private static Object checkOpen(Node inliningTarget, PEpoll self, PRaiseNode.Lazy raiseNode) {
+        if (self.isClosed()) {
+            throw raiseNode.get(inliningTarget).raise(ValueError, ErrorMessages.IO_OPERATION_ON_CLOSED_EPOLL);
+        }
+        return self.ref.getReference();
+    }
+
+    private static int eventMask(VirtualFrame frame, Node inliningTarget, Object eventmask, PyLongAsLongNode asLongNode) {
+        if (eventmask == PNone.NO_VALUE) {
+            return PollBuiltins.defaultEventMask();
+        }
+        // unsigned int, the high bits are flags like EPOLLET
+        return (int) asLongNode.execute(frame, inliningTarget, eventmask);
+    }
+
+    @Builtin(name = "register", minNumOfPositionalArgs = 2, parameterNames = {"$self", "fd", "eventmask"})
+    @GenerateNodeFactory
+    abstract static class RegisterNode extends PythonTernaryBuiltinNode {
+        @Specialization
+        static PNone register(VirtualFrame frame, PEpoll self, Object fdObj, Object eventmaskObj,
+                        @Bind("this") Node inliningTarget,
+                        @Cached PyObjectAsFileDescriptor asFileDescriptor,
+                        @Cached PyLongAsLongNode asLongNode,
+                        @CachedLibrary(limit = "1") PosixSupportLibrary posixLib,
+                        @Cached PConstructAndRaiseNode.Lazy constructAndRaiseNode,
+                        @Cached PRaiseNode.Lazy raiseNode) {
+            int fd = asFileDescriptor.execute(frame, inliningTarget, fdObj);
+            int events = eventMask(frame, inliningTarget, eventmaskObj, asLongNode);
+            Object poller = checkOpen(inliningTarget, self, raiseNode);
+            try {
+                posixLib.pollerRegister(PosixSupport.get(inliningTarget), poller, fd, events);
+            } catch (PosixException e) {
+                throw constructAndRaiseNode.get(inliningTarget).raiseOSErrorFromPosixException(frame, e);
+            }
+            return PNone.NONE;
+        }
+    }
+
+    @Builtin(name = "modify", minNumOfPositionalArgs = 3, parameterNames = {"$self", "fd", "eventmask"})
+    @GenerateNodeFactory
+    abstract static class ModifyNode extends PythonTernaryBuiltinNode {
+        @Specialization
+        static PNone modify(VirtualFrame frame, PEpoll self, Object fdObj, Object eventmaskObj,
+                        @Bind("this") Node inliningTarget,
+                        @Cached PyObjectAsFileDescriptor asFileDescriptor,
+                        @Cached PyLongAsLongNode asLongNode,
+                        @CachedLibrary(limit = "1") PosixSupportLibrary posixLib,
+                        @Cached PConstructAndRaiseNode.Lazy constructAndRaiseNode,
+                        @Cached PRaiseNode.Lazy raiseNode) {
+            int fd = asFileDescriptor.execute(frame, inliningTarget, fdObj);
+            int events = eventMask(frame, inliningTarget, eventmaskObj, asLongNode);
+            Object poller = checkOpen(inliningTarget, self, raiseNode);
+            try {
+                posixLib.pollerModify(PosixSupport.get(inliningTarget), poller, fd, events);
+            } catch (PosixException e) {
+                throw constructAndRaiseNode.get(inliningTarget).raiseOSErrorFromPosixException(frame, e);
+            }
+            return PNone.NONE;
+        }
+    }
+
+    @Builtin(name = "unregister", minNumOfPositionalArgs = 2, parameterNames = {"$self", "fd"})
+    @GenerateNodeFactory
+    abstract static class UnregisterNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        static PNone unregister(VirtualFrame frame, PEpoll self, Object fdObj,
+                        @Bind("this") Node inliningTarget,
+                        @Cached PyObjectAsFileDescriptor asFileDescriptor,
+                        @CachedLibrary(limit = "1") PosixSupportLibrary posixLib,
+                        @Cached PConstructAndRaiseNode.Lazy constructAndRaiseNode,
+                        @Cached PRaiseNode.Lazy raiseNode) {
+            int fd = asFileDescriptor.execute(frame, inliningTarget, fdObj);
+            Object poller = checkOpen(inliningTarget, self, raiseNode);
+            try {
+                posixLib.pollerUnregister(PosixSupport.get(inliningTarget), poller, fd);
+            } catch (PosixException e) {
+                throw constructAndRaiseNode.get(inliningTarget).raiseOSErrorFromPosixException(frame, e);
+            }
+            return PNone.NONE;
+        }
+    }
+
+    @Builtin(name = "poll", minNumOfPositionalArgs = 1, parameterNames = {"$self", "timeout", "maxevents"})
+    @ArgumentClinic(name = "maxevents", conversion = ArgumentClinic.ClinicConversion.Int, defaultValue = "-1")
+    @GenerateNodeFactory
+    abstract static class PollNode extends PythonTernaryClinicBuiltinNode {
+
+        @Override
+        protected ArgumentClinicProvider getArgumentClinic() {
+            return EpollBuiltinsClinicProviders.PollNodeClinicProviderGen.INSTANCE;
+        }
+
+        @Specialization
+        static PList poll(VirtualFrame frame, PEpoll self, Object timeoutObj, int maxeventsArg,
+                        @Bind("this") Node inliningTarget,
+                        @Cached PyTimeFromObjectNode pyTimeFromObjectNode,
+                        @Cached InlinedBranchProfile errorProfile,
+                        @CachedLibrary(limit = "1") PosixSupportLibrary posixLib,
+                        @Cached GilNode gil,
+                        @Cached PythonObjectFactory factory,
+                        @Cached PConstructAndRaiseNode.Lazy constructAndRaiseNode,
+                        @Cached PRaiseNode.Lazy raiseNode) {
+            Object poller = checkOpen(inliningTarget, self, raiseNode);
+            long timeoutMs = -1;
+            if (!PGuards.isPNone(timeoutObj)) {
+                timeoutMs = PollBuiltins.toTimeoutMs(pyTimeFromObjectNode.execute(frame, inliningTarget, timeoutObj, RoundType.TIMEOUT, SEC_TO_NS));
+            }
+            int maxevents = maxeventsArg;
+            if (maxevents == -1) {
+                maxevents = FD_SETSIZE.value - 1;
+            } else if (maxevents < 1) {
+                throw raiseNode.get(inliningTarget).raise(ValueError, ErrorMessages.MAXEVENTS_MUST_BE_GREATER_THAN_ZERO, maxevents);
+            }
+            int[] fds = new int[maxevents];
+            int[] revents = new int[maxevents];
+            long deadlineNs = timeoutMs > 0 ? System.nanoTime() + timeoutMs * MS_TO_NS : 0;
+            while (true) {
+                try {
+                    int count;
+                    gil.release(true);
+                    try {
+                        count = posixLib.pollerWait(PosixSupport.get(inliningTarget), poller, fds, revents, timeoutMs);
+                    } finally {
+                        gil.acquire();
+                    }
+                    return PollBuiltins.toList(factory, fds, revents, count, null);
+                } catch (PosixException e) {
+                    errorProfile.enter(inliningTarget);
+                    if (e.getErrorCode() != OSErrorEnum.EINTR.getNumber()) {
+                        throw constructAndRaiseNode.get(inliningTarget).raiseOSErrorFromPosixException(frame, e);
+                    }
+                    PythonContext.triggerAsyncActions(inliningTarget);
+                    timeoutMs = PollBuiltins.remainingTimeoutMs(timeoutMs, deadlineNs);
+                }
+            }
+        }
+    }
+
+    @Builtin(name = "close", minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class CloseNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static PNone close(VirtualFrame frame, PEpoll self,
+                        @Bind("this") Node inliningTarget,
+                        @CachedLibrary(limit = "1") PosixSupportLibrary posixLib,
+                        @Cached PConstructAndRaiseNode.Lazy constructAndRaiseNode) {
+            try {
+                self.ref.close(posixLib, PosixSupport.get(inliningTarget));
+            } catch (PosixException e) {
+                throw constructAndRaiseNode.get(inliningTarget).raiseOSErrorFromPosixException(frame, e);
+            }
+            return PNone.NONE;
+        }
+    }
+
+    @Builtin(name = "closed", minNumOfPositionalArgs = 1, isGetter = true)
+    @GenerateNodeFactory
+    abstract static class ClosedNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static boolean closed(PEpoll self) {
+            return self.isClosed();
+        }
+    }
+
+    @Builtin(name = "fileno", minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class FilenoNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static int fileno(PEpoll self,
+                        @Bind("this") Node inliningTarget,
+                        @CachedLibrary(limit = "1") PosixSupportLibrary posixLib,
+                        @Cached PRaiseNode.Lazy raiseNode) {
+            Object poller = checkOpen(inliningTarget, self, raiseNode);
+            return posixLib.pollerFileno(PosixSupport.get(inliningTarget), poller);
+        }
+    }
+
+    @Builtin(name = J___ENTER__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class EnterNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static PEpoll enter(PEpoll self,
+                        @Bind("this") Node inliningTarget,
+                        @Cached PRaiseNode.Lazy raiseNode) {
+            checkOpen(inliningTarget, self, raiseNode);
+            return self;
+        }
+    }
+
+    @Builtin(name = J___EXIT__, minNumOfPositionalArgs = 1, takesVarArgs = true)
+    @GenerateNodeFactory
+    abstract static class ExitNode extends PythonBuiltinNode {
+        protected static final TruffleString T_CLOSE = tsLiteral("close");
+
+        @Specialization
+        static Object exit(VirtualFrame frame, PEpoll self, @SuppressWarnings("unused") Object[] args,
+                        @Cached("create(T_CLOSE)") LookupAndCallUnaryNode callCloseNode) {
+            return callCloseNode.executeObject(frame, self);
+        }
+    }
+}
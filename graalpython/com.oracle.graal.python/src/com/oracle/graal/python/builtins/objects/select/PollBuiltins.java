@@ -0,0 +1,343 @@
+/*
+ * Copyright (c) 2024, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.objects.select;
+
+import static com.oracle.graal.python.runtime.PosixConstants.POLLIN;
+import static com.oracle.graal.python.runtime.PosixConstants.POLLNVAL;
+import static com.oracle.graal.python.runtime.PosixConstants.POLLOUT;
+import static com.oracle.graal.python.runtime.PosixConstants.POLLPRI;
+import static com.oracle.graal.python.runtime.PosixConstants.POLLRDNORM;
+import static com.oracle.graal.python.runtime.PosixConstants.POLLWRNORM;
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.KeyError;
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.OverflowError;
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.RuntimeError;
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.ValueError;
+import static com.oracle.graal.python.util.TimeUtils.MS_TO_NS;
+
+import java.util.List;
+import java.util.Map;
+
+import com.oracle.graal.python.builtins.Builtin;
+import com.oracle.graal.python.builtins.CoreFunctions;
+import com.oracle.graal.python.builtins.PythonBuiltinClassType;
+import com.oracle.graal.python.builtins.PythonBuiltins;
+import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.builtins.objects.exception.OSErrorEnum;
+import com.oracle.graal.python.builtins.objects.list.PList;
+import com.oracle.graal.python.lib.PyLongAsLongNode;
+import com.oracle.graal.python.lib.PyObjectAsFileDescriptor;
+import com.oracle.graal.python.lib.PyTimeFromObjectNode;
+import com.oracle.graal.python.lib.PyTimeFromObjectNode.RoundType;
+import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.nodes.PConstructAndRaiseNode;
+import com.oracle.graal.python.nodes.PGuards;
+import com.oracle.graal.python.nodes.PRaiseNode;
+import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonBinaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonTernaryBuiltinNode;
+import com.oracle.graal.python.runtime.GilNode;
+import com.oracle.graal.python.runtime.PosixSupport;
+import com.oracle.graal.python.runtime.PosixSupportLibrary;
+import com.oracle.graal.python.runtime.PosixSupportLibrary.PosixException;
+import com.oracle.graal.python.runtime.PythonContext;
+import com.oracle.graal.python.runtime.object.PythonObjectFactory;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.dsl.Bind;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.GenerateNodeFactory;
+import com.oracle.truffle.api.dsl.NodeFactory;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.library.CachedLibrary;
+import com.oracle.truffle.api.nodes.Node;
+import com.oracle.truffle.api.profiles.InlinedBranchProfile;
+import com.oracle.truffle.api.profiles.InlinedConditionProfile;
+
+@CoreFunctions(extendClasses = PythonBuiltinClassType.PPoll)
+public final class PollBuiltins extends PythonBuiltins {
+
+    @Override
+    protected List<? extends NodeFactory<? extends PythonBuiltinBaseNode>> getNodeFactories() {
+        return PollBuiltinsFactory.getFactories();
+    }
+
+    static int defaultEventMask() {
+        return POLLIN.getValueIfDefined() | POLLPRI.getValueIfDefined() | POLLOUT.getValueIfDefined();
+    }
+
+    /**
+     * Equivalent of the {@code unsigned short} converter CPython uses for poll event masks.
+     */
+    private static int eventMask(VirtualFrame frame, Node inliningTarget, Object eventmask, PyLongAsLongNode asLongNode, PRaiseNode.Lazy raiseNode) {
+        if (eventmask == PNone.NO_VALUE) {
+            return defaultEventMask();
+        }
+        long value = asLongNode.execute(frame, inliningTarget, eventmask);
+        if (value < 0) {
+            throw raiseNode.get(inliningTarget).raise(ValueError, ErrorMessages.VALUE_MUST_BE_POSITIVE);
+        }
+        if (value > 0xFFFF) {
+            throw raiseNode.get(inliningTarget).raise(OverflowError, ErrorMessages.PYTHON_INT_TOO_LARGE_TO_CONV_TO, "C unsigned short");
+        }
+        return (int) value;
+    }
+
+    /**
+     * Converts a timeout in nanoseconds to milliseconds rounding up, negative timeouts mean no
+     * timeout.
+     */
+    static long toTimeoutMs(long timeoutNs) {
+        if (timeoutNs < 0) {
+            return -1;
+        }
+        return timeoutNs / MS_TO_NS + (timeoutNs % MS_TO_NS != 0 ? 1 : 0);
+    }
+
+    /**
+     * Remaining time of a wait interrupted by a signal, or -1 for waits without timeout.
+     */
+    static long remainingTimeoutMs(long timeoutMs, long deadlineNs) {
+        if (timeoutMs <= 0) {
+            return timeoutMs;
+        }
+        return Math.max(0, toTimeoutMs(deadlineNs - System.nanoTime()));
+    }
+
+    static PList toList(PythonObjectFactory factory, int[] fds, int[] revents, int count, Object[] extra) {
+        Object[] result = new Object[count + (extra != null ? extra.length : 0)];
+        for (int i = 0; i < count; i++) {
+            result[i] = factory.createTuple(new Object[]{fds[i], revents[i]});
+        }
+        if (extra != null) {
+            for (int i = 0; i < extra.length; i++) {
+                result[count + i] = extra[i];
+            }
+        }
+        return factory.createList(result);
+    }
+
+    @TruffleBoundary
+    private static void registerFd(PPoll self, int fd, int events) throws PosixException {
+        PosixSupportLibrary posixLib = PosixSupportLibrary.getUncached();
+        Object posixSupport = PythonContext.get(null).getPosixSupport();
+        Object poller = self.ref.getReference();
+        self.alwaysReady.remove(fd);
+        if (self.fds.put(fd, events) != null) {
+            try {
+                posixLib.pollerModify(posixSupport, poller, fd, events);
+                return;
+            } catch (PosixException e) {
+                if (e.getErrorCode() != OSErrorEnum.ENOENT.getNumber()) {
+                    throw e;
+                }
+                // the descriptor was closed, which removed it from the poller
+            }
+        }
+        try {
+            posixLib.pollerRegister(posixSupport, poller, fd, events);
+        } catch (PosixException e) {
+            if (e.getErrorCode() == OSErrorEnum.EPERM.getNumber()) {
+                // not pollable, always ready for reading and writing
+                self.alwaysReady.put(fd, events & (POLLIN.getValueIfDefined() | POLLOUT.getValueIfDefined() | POLLRDNORM.getValueIfDefined() | POLLWRNORM.getValueIfDefined()));
+            } else if (e.getErrorCode() == OSErrorEnum.EBADF.getNumber()) {
+                self.alwaysReady.put(fd, POLLNVAL.getValueIfDefined());
+            } else {
+                self.fds.remove(fd);
+                throw e;
+            }
+        }
+    }
+
+    @TruffleBoundary
+    private static boolean unregisterFd(PPoll self, int fd) {
+        if (self.fds.remove(fd) == null) {
+            return false;
+        }
+        if (self.alwaysReady.remove(fd) == null) {
+            try {
+                PosixSupportLibrary.getUncached().pollerUnregister(PythonContext.get(null).getPosixSupport(), self.ref.getReference(), fd);
+            } catch (PosixException e) {
+                // the descriptor was closed, which removed it from the poller
+            }
+        }
+        return true;
+    }
+
+    @TruffleBoundary
+    private static boolean isRegistered(PPoll self, int fd) {
+        return self.fds.containsKey(fd);
+    }
+
+    @TruffleBoundary
+    private static int registeredCount(PPoll self) {
+        return self.fds.size();
+    }
+
+    @TruffleBoundary
+    private static Object[] alwaysReadyTuples(PPoll self, PythonObjectFactory factory) {
+        if (self.alwaysReady.isEmpty()) {
+            return null;
+        }
+        Object[] result = new Object[self.alwaysReady.size()];
+        int i = 0;
+        for (Map.Entry<Integer, Integer> entry : self.alwaysReady.entrySet()) {
+            result[i++] = factory.createTuple(new Object[]{entry.getKey(), entry.getValue()});
+        }
+        return result;
+    }
+
+    @Builtin(name = "register", minNumOfPositionalArgs = 2, parameterNames = {"$self", "fd", "eventmask"})
+    @GenerateNodeFactory
+    abstract static class RegisterNode extends PythonTernaryBuiltinNode {
+        @Specialization
+        static PNone register(VirtualFrame frame, PPoll self, Object fdObj, Object eventmaskObj,
+                        @Bind("this") Node inliningTarget,
+                        @Cached PyObjectAsFileDescriptor asFileDescriptor,
+                        @Cached PyLongAsLongNode asLongNode,
+                        @Cached PConstructAndRaiseNode.Lazy constructAndRaiseNode,
+                        @Cached PRaiseNode.Lazy raiseNode) {
+            int fd = asFileDescriptor.execute(frame, inliningTarget, fdObj);
+            int events = eventMask(frame, inliningTarget, eventmaskObj, asLongNode, raiseNode);
+            try {
+                registerFd(self, fd, events);
+            } catch (PosixException e) {
+                throw constructAndRaiseNode.get(inliningTarget).raiseOSErrorFromPosixException(frame, e);
+            }
+            return PNone.NONE;
+        }
+    }
+
+    @Builtin(name = "modify", minNumOfPositionalArgs = 3, parameterNames = {"$self", "fd", "eventmask"})
+    @GenerateNodeFactory
+    abstract static class ModifyNode extends PythonTernaryBuiltinNode {
+        @Specialization
+        static PNone modify(VirtualFrame frame, PPoll self, Object fdObj, Object eventmaskObj,
+                        @Bind("this") Node inliningTarget,
+                        @Cached PyObjectAsFileDescriptor asFileDescriptor,
+                        @Cached PyLongAsLongNode asLongNode,
+                        @Cached PConstructAndRaiseNode.Lazy constructAndRaiseNode,
+                        @Cached PRaiseNode.Lazy raiseNode) {
+            int fd = asFileDescriptor.execute(frame, inliningTarget, fdObj);
+            int events = eventMask(frame, inliningTarget, eventmaskObj, asLongNode, raiseNode);
+            if (!isRegistered(self, fd)) {
+                throw constructAndRaiseNode.get(inliningTarget).raiseOSError(frame, OSErrorEnum.ENOENT);
+            }
+            try {
+                registerFd(self, fd, events);
+            } catch (PosixException e) {
+                throw constructAndRaiseNode.get(inliningTarget).raiseOSErrorFromPosixException(frame, e);
+            }
+            return PNone.NONE;
+        }
+    }
+
+    @Builtin(name = "unregister", minNumOfPositionalArgs = 2, parameterNames = {"$self", "fd"})
+    @GenerateNodeFactory
+    abstract static class UnregisterNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        static PNone unregister(VirtualFrame frame, PPoll self, Object fdObj,
+                        @Bind("this") Node inliningTarget,
+                        @Cached PyObjectAsFileDescriptor asFileDescriptor,
+                        @Cached PRaiseNode.Lazy raiseNode) {
+            int fd = asFileDescriptor.execute(frame, inliningTarget, fdObj);
+            if (!unregisterFd(self, fd)) {
+                throw raiseNode.get(inliningTarget).raise(KeyError, new Object[]{fd});
+            }
+            return PNone.NONE;
+        }
+    }
+
+    @Builtin(name = "poll", minNumOfPositionalArgs = 1, parameterNames = {"$self", "timeout"})
+    @GenerateNodeFactory
+    abstract static class PollNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        static PList poll(VirtualFrame frame, PPoll self, Object timeoutObj,
+                        @Bind("this") Node inliningTarget,
+                        @Cached PyTimeFromObjectNode pyTimeFromObjectNode,
+                        @Cached InlinedConditionProfile alwaysReadyProfile,
+                        @Cached InlinedBranchProfile errorProfile,
+                        @CachedLibrary(limit = "1") PosixSupportLibrary posixLib,
+                        @Cached GilNode gil,
+                        @Cached PythonObjectFactory factory,
+                        @Cached PConstructAndRaiseNode.Lazy constructAndRaiseNode,
+                        @Cached PRaiseNode.Lazy raiseNode) {
+            long timeoutMs = -1;
+            if (!PGuards.isPNone(timeoutObj)) {
+                timeoutMs = toTimeoutMs(pyTimeFromObjectNode.execute(frame, inliningTarget, timeoutObj, RoundType.TIMEOUT, MS_TO_NS));
+            }
+            if (self.polling) {
+                throw raiseNode.get(inliningTarget).raise(RuntimeError, ErrorMessages.CONCURRENT_POLL_INVOCATION);
+            }
+            Object[] alwaysReady = alwaysReadyTuples(self, factory);
+            if (alwaysReadyProfile.profile(inliningTarget, alwaysReady != null)) {
+                // do not block, but still report the other ready descriptors
+                timeoutMs = 0;
+            }
+            int[] fds = new int[Math.max(1, registeredCount(self))];
+            int[] revents = new int[fds.length];
+            long deadlineNs = timeoutMs > 0 ? System.nanoTime() + timeoutMs * MS_TO_NS : 0;
+            self.polling = true;
+            try {
+                while (true) {
+                    try {
+                        int count;
+                        gil.release(true);
+                        try {
+                            count = posixLib.pollerWait(PosixSupport.get(inliningTarget), self.ref.getReference(), fds, revents, timeoutMs);
+                        } finally {
+                            gil.acquire();
+                        }
+                        return toList(factory, fds, revents, count, alwaysReady);
+                    } catch (PosixException e) {
+                        errorProfile.enter(inliningTarget);
+                        if (e.getErrorCode() != OSErrorEnum.EINTR.getNumber()) {
+                            throw constructAndRaiseNode.get(inliningTarget).raiseOSErrorFromPosixException(frame, e);
+                        }
+                        PythonContext.triggerAsyncActions(inliningTarget);
+                        timeoutMs = remainingTimeoutMs(timeoutMs, deadlineNs);
+                    }
+                }
+            } finally {
+                self.polling = false;
+            }
+        }
+    }
+}
@@ -99,6 +99,7 @@ import com.oracle.graal.python.nodes.function.builtins.PythonUnaryBuiltinNode;
 import com.oracle.graal.python.nodes.object.BuiltinClassProfiles.IsBuiltinObjectProfile;
 import com.oracle.graal.python.nodes.object.GetClassNode;
 import com.oracle.graal.python.nodes.object.GetClassNode.GetPythonObjectClassNode;
+import com.oracle.graal.python.runtime.CriticalSection;
 import com.oracle.graal.python.runtime.PythonContext;
 import com.oracle.graal.python.runtime.exception.PException;
 import com.oracle.graal.python.runtime.object.PythonObjectFactory;
@@ -196,8 +197,10 @@ public final class BaseSetBuiltins extends PythonBuiltins {
                         @Cached HashingStorageLen lenNode,
                         @Cached HashingStorageGetIterator getIterator,
                         @Cached PythonObjectFactory factory) {
-            HashingStorage storage = self.getDictStorage();
-            return factory.createBaseSetIterator(self, getIterator.execute(inliningTarget, storage), lenNode.execute(inliningTarget, storage));
+            try (CriticalSection cs = CriticalSection.enter(inliningTarget, self)) {
+                HashingStorage storage = self.getDictStorage();
+                return factory.createBaseSetIterator(self, getIterator.execute(inliningTarget, storage), lenNode.execute(inliningTarget, storage));
+            }
         }
     }
 
@@ -226,14 +229,17 @@ public final class BaseSetBuiltins extends PythonBuiltins {
                         @Cached GetClassNode getClassNode,
                         @Cached PyObjectLookupAttr lookup,
                         @Cached PythonObjectFactory factory) {
-            HashingStorage storage = self.getDictStorage();
-            int len = lenNode.execute(inliningTarget, storage);
-            Object[] keysArray = new Object[len];
-            HashingStorageIterator it = getIter.execute(inliningTarget, storage);
-            for (int i = 0; i < len; i++) {
-                boolean hasNext = iterNext.execute(inliningTarget, storage, it);
-                assert hasNext;
-                keysArray[i] = getIterKey.execute(inliningTarget, storage, it);
+            Object[] keysArray;
+            try (CriticalSection cs = CriticalSection.enter(inliningTarget, self)) {
+                HashingStorage storage = self.getDictStorage();
+                int len = lenNode.execute(inliningTarget, storage);
+                keysArray = new Object[len];
+                HashingStorageIterator it = getIter.execute(inliningTarget, storage);
+                for (int i = 0; i < len; i++) {
+                    boolean hasNext = iterNext.execute(inliningTarget, storage, it);
+                    assert hasNext;
+                    keysArray[i] = getIterKey.execute(inliningTarget, storage, it);
+                }
             }
             PTuple contents = factory.createTuple(new Object[]{factory.createList(keysArray)});
             Object dict = lookup.execute(frame, inliningTarget, self, T___DICT__);
@@ -251,7 +257,9 @@ public final class BaseSetBuiltins extends PythonBuiltins {
         static boolean doSetSameType(VirtualFrame frame, PBaseSet self, PBaseSet other,
                         @Bind("this") Node inliningTarget,
                         @Cached HashingStorageCompareKeys compareKeys) {
-            return compareKeys.execute(frame, inliningTarget, self.getDictStorage(), other.getDictStorage()) == 0;
+            try (CriticalSection cs = CriticalSection.enter(inliningTarget, self, other)) {
+                return compareKeys.execute(frame, inliningTarget, self.getDictStorage(), other.getDictStorage()) == 0;
+            }
         }
 
         @Fallback
@@ -270,7 +278,10 @@ public final class BaseSetBuiltins extends PythonBuiltins {
                         @Bind("this") Node inliningTarget,
                         @Cached ConvertKeyNode conv,
                         @Cached HashingStorageGetItem getItem) {
-            return getItem.hasKey(frame, inliningTarget, self.getDictStorage(), conv.execute(inliningTarget, key));
+            Object checkedKey = conv.execute(inliningTarget, key);
+            try (CriticalSection cs = CriticalSection.enter(inliningTarget, self)) {
+                return getItem.hasKey(frame, inliningTarget, self.getDictStorage(), checkedKey);
+            }
         }
     }
 
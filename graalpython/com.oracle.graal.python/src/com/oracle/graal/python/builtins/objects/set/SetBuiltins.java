@@ -77,6 +77,7 @@ import com.oracle.graal.python.nodes.function.builtins.PythonBinaryBuiltinNode;
 import com.oracle.graal.python.nodes.function.builtins.PythonUnaryBuiltinNode;
 import com.oracle.graal.python.nodes.object.BuiltinClassProfiles.IsBuiltinObjectProfile;
 import com.oracle.graal.python.nodes.object.GetClassNode.GetPythonObjectClassNode;
+import com.oracle.graal.python.runtime.CriticalSection;
 import com.oracle.graal.python.runtime.PythonOptions;
 import com.oracle.graal.python.runtime.exception.PException;
 import com.oracle.graal.python.runtime.exception.PythonErrorType;
@@ -124,9 +125,11 @@ public final class SetBuiltins extends PythonBuiltins {
         static PNone doNoValue(PSet self, @SuppressWarnings("unused") PNone iterable,
                         @Bind("this") Node inliningTarget,
                         @Cached HashingStorageClear clearNode) {
-            HashingStorage newStorage = clearNode.execute(inliningTarget, self.getDictStorage());
-            self.setDictStorage(newStorage);
-            return PNone.NONE;
+            try (CriticalSection cs = CriticalSection.enter(inliningTarget, self)) {
+                HashingStorage newStorage = clearNode.execute(inliningTarget, self.getDictStorage());
+                self.setDictStorage(newStorage);
+                return PNone.NONE;
+            }
         }
 
         @Specialization(guards = {"!isNoValue(iterable)"})
@@ -154,7 +157,9 @@ public final class SetBuiltins extends PythonBuiltins {
                         @Bind("this") Node inliningTarget,
                         @Cached HashingStorageCopy copyNode,
                         @Cached PythonObjectFactory factory) {
-            return factory.createSet(copyNode.execute(inliningTarget, self.getDictStorage()));
+            try (CriticalSection cs = CriticalSection.enter(inliningTarget, self)) {
+                return factory.createSet(copyNode.execute(inliningTarget, self.getDictStorage()));
+            }
         }
     }
 
@@ -166,9 +171,11 @@ public final class SetBuiltins extends PythonBuiltins {
         public static Object clear(PSet self,
                         @Bind("this") Node inliningTarget,
                         @Cached HashingStorageClear clearNode) {
-            HashingStorage newStorage = clearNode.execute(inliningTarget, self.getDictStorage());
-            self.setDictStorage(newStorage);
-            return PNone.NONE;
+            try (CriticalSection cs = CriticalSection.enter(inliningTarget, self)) {
+                HashingStorage newStorage = clearNode.execute(inliningTarget, self.getDictStorage());
+                self.setDictStorage(newStorage);
+                return PNone.NONE;
+            }
         }
     }
 
@@ -196,13 +203,15 @@ public final class SetBuiltins extends PythonBuiltins {
                         @Cached HashingStorageCopy copyStorage,
                         @Cached HashingStorageAddAllToOther addAllToOther,
                         @Cached PythonObjectFactory factory) {
-            // Note: we cannot reuse 'otherStorage' because we need to add from other -> self, in
-            // order to execute __eq__ of keys in 'self' and not other
-            HashingStorage otherStorage = getHashingStorage.execute(frame, inliningTarget, other);
-            HashingStorage resultStorage = copyStorage.execute(inliningTarget, self.getDictStorage());
-            PSet result = factory.createSet(resultStorage);
-            addAllToOther.execute(frame, inliningTarget, otherStorage, result);
-            return result;
+            try (CriticalSection cs = CriticalSection.enter(inliningTarget, self)) {
+                // Note: we cannot reuse 'otherStorage' because we need to add from other -> self, in
+                // order to execute __eq__ of keys in 'self' and not other
+                HashingStorage otherStorage = getHashingStorage.execute(frame, inliningTarget, other);
+                HashingStorage resultStorage = copyStorage.execute(inliningTarget, self.getDictStorage());
+                PSet result = factory.createSet(resultStorage);
+                addAllToOther.execute(frame, inliningTarget, otherStorage, result);
+                return result;
+            }
         }
 
         @SuppressWarnings("unused")
@@ -220,8 +229,10 @@ public final class SetBuiltins extends PythonBuiltins {
                         @Bind("this") Node inliningTarget,
                         @Cached GetHashingStorageNode getHashingStorageNode,
                         @Cached HashingStorageAddAllToOther addAllToOther) {
-            addAllToOther.execute(frame, inliningTarget, getHashingStorageNode.execute(frame, inliningTarget, other), self);
-            return self;
+            try (CriticalSection cs = CriticalSection.enter(inliningTarget, self)) {
+                addAllToOther.execute(frame, inliningTarget, getHashingStorageNode.execute(frame, inliningTarget, other), self);
+                return self;
+            }
         }
 
         @SuppressWarnings("unused")
@@ -243,11 +254,13 @@ public final class SetBuiltins extends PythonBuiltins {
                         @Shared @Cached HashingStorageCopy copyNode,
                         @Shared @Cached HashingStorageAddAllToOther addAllToOther,
                         @Shared @Cached PythonObjectFactory factory) {
-            HashingStorage result = copyNode.execute(inliningTarget, self.getDictStorage());
-            for (int i = 0; i < len; i++) {
-                result = addAllToOther.execute(frame, inliningTarget, getHashingStorageNode.execute(frame, inliningTarget, args[i]), result);
+            try (CriticalSection cs = CriticalSection.enter(inliningTarget, self)) {
+                HashingStorage result = copyNode.execute(inliningTarget, self.getDictStorage());
+                for (int i = 0; i < len; i++) {
+                    result = addAllToOther.execute(frame, inliningTarget, getHashingStorageNode.execute(frame, inliningTarget, args[i]), result);
+                }
+                return factory.createSet(result);
             }
-            return factory.createSet(result);
         }
 
         @Specialization(replaces = "doCached")
@@ -257,11 +270,13 @@ public final class SetBuiltins extends PythonBuiltins {
                         @Shared @Cached HashingStorageCopy copyNode,
                         @Shared @Cached HashingStorageAddAllToOther addAllToOther,
                         @Shared @Cached PythonObjectFactory factory) {
-            HashingStorage result = copyNode.execute(inliningTarget, self.getDictStorage());
-            for (int i = 0; i < args.length; i++) {
-                result = addAllToOther.execute(frame, inliningTarget, getHashingStorageNode.execute(frame, inliningTarget, args[i]), result);
+            try (CriticalSection cs = CriticalSection.enter(inliningTarget, self)) {
+                HashingStorage result = copyNode.execute(inliningTarget, self.getDictStorage());
+                for (int i = 0; i < args.length; i++) {
+                    result = addAllToOther.execute(frame, inliningTarget, getHashingStorageNode.execute(frame, inliningTarget, args[i]), result);
+                }
+                return factory.createSet(result);
             }
-            return factory.createSet(result);
         }
     }
 
@@ -276,16 +291,20 @@ public final class SetBuiltins extends PythonBuiltins {
         static void update(VirtualFrame frame, PHashingCollection collection, PHashingCollection other,
                         @Bind("this") Node inliningTarget,
                         @Shared("addAll") @Cached HashingStorageAddAllToOther addAllToOther) {
-            HashingStorage dictStorage = other.getDictStorage();
-            addAllToOther.execute(frame, inliningTarget, dictStorage, collection);
+            try (CriticalSection cs = CriticalSection.enter(inliningTarget, collection)) {
+                HashingStorage dictStorage = other.getDictStorage();
+                addAllToOther.execute(frame, inliningTarget, dictStorage, collection);
+            }
         }
 
         @Specialization
         static void update(VirtualFrame frame, PHashingCollection collection, PDictView.PDictKeysView other,
                         @Bind("this") Node inliningTarget,
                         @Shared("addAll") @Cached HashingStorageAddAllToOther addAllToOther) {
-            HashingStorage dictStorage = other.getWrappedDict().getDictStorage();
-            addAllToOther.execute(frame, inliningTarget, dictStorage, collection);
+            try (CriticalSection cs = CriticalSection.enter(inliningTarget, collection)) {
+                HashingStorage dictStorage = other.getWrappedDict().getDictStorage();
+                addAllToOther.execute(frame, inliningTarget, dictStorage, collection);
+            }
         }
 
         @Idempotent
@@ -300,14 +319,16 @@ public final class SetBuiltins extends PythonBuiltins {
                         @Cached SequenceNodes.GetSequenceStorageNode getSequenceStorageNode,
                         @Cached SequenceStorageNodes.GetItemScalarNode getItemScalarNode,
                         @Exclusive @Cached HashingStorageSetItem setStorageItem) {
-            SequenceStorage sequenceStorage = getSequenceStorageNode.execute(inliningTarget, other);
-            int length = sequenceStorage.length();
-            HashingStorage curStorage = collection.getDictStorage();
-            for (int i = 0; i < length; i++) {
-                Object key = getItemScalarNode.execute(inliningTarget, sequenceStorage, i);
-                curStorage = setStorageItem.execute(frame, inliningTarget, curStorage, key, PNone.NONE);
+            try (CriticalSection cs = CriticalSection.enter(inliningTarget, collection)) {
+                SequenceStorage sequenceStorage = getSequenceStorageNode.execute(inliningTarget, other);
+                int length = sequenceStorage.length();
+                HashingStorage curStorage = collection.getDictStorage();
+                for (int i = 0; i < length; i++) {
+                    Object key = getItemScalarNode.execute(inliningTarget, sequenceStorage, i);
+                    curStorage = setStorageItem.execute(frame, inliningTarget, curStorage, key, PNone.NONE);
+                }
+                collection.setDictStorage(curStorage);
             }
-            collection.setDictStorage(curStorage);
         }
 
         @Specialization(guards = {"!isPHashingCollection(other)", "!isDictKeysView(other)", "!isBuiltinSequence(inliningTarget, other, getClassNode)"}, limit = "1")
@@ -318,18 +339,20 @@ public final class SetBuiltins extends PythonBuiltins {
                         @Cached GetNextNode nextNode,
                         @Cached IsBuiltinObjectProfile errorProfile,
                         @Exclusive @Cached HashingStorageSetItem setStorageItem) {
-            HashingStorage curStorage = collection.getDictStorage();
-            Object iterator = getIter.execute(frame, inliningTarget, other);
-            while (true) {
-                Object key;
-                try {
-                    key = nextNode.execute(frame, iterator);
-                } catch (PException e) {
-                    e.expectStopIteration(inliningTarget, errorProfile);
-                    collection.setDictStorage(curStorage);
-                    return;
+            try (CriticalSection cs = CriticalSection.enter(inliningTarget, collection)) {
+                HashingStorage curStorage = collection.getDictStorage();
+                Object iterator = getIter.execute(frame, inliningTarget, other);
+                while (true) {
+                    Object key;
+                    try {
+                        key = nextNode.execute(frame, iterator);
+                    } catch (PException e) {
+                        e.expectStopIteration(inliningTarget, errorProfile);
+                        collection.setDictStorage(curStorage);
+                        return;
+                    }
+                    curStorage = setStorageItem.execute(frame, inliningTarget, curStorage, key, PNone.NONE);
                 }
-                curStorage = setStorageItem.execute(frame, inliningTarget, curStorage, key, PNone.NONE);
             }
         }
 
@@ -366,12 +389,14 @@ public final class SetBuiltins extends PythonBuiltins {
                         @Cached("args.length") int len,
                         @Shared @Cached GetHashingStorageNode getHashingStorageNode,
                         @Shared @Cached HashingStorageAddAllToOther addAllToOther) {
-            HashingStorage storage = self.getDictStorage();
-            for (int i = 0; i < len; i++) {
-                storage = addAllToOther.execute(frame, inliningTarget, getHashingStorageNode.execute(frame, inliningTarget, args[i]), storage);
+            try (CriticalSection cs = CriticalSection.enter(inliningTarget, self)) {
+                HashingStorage storage = self.getDictStorage();
+                for (int i = 0; i < len; i++) {
+                    storage = addAllToOther.execute(frame, inliningTarget, getHashingStorageNode.execute(frame, inliningTarget, args[i]), storage);
+                }
+                self.setDictStorage(storage);
+                return PNone.NONE;
             }
-            self.setDictStorage(storage);
-            return PNone.NONE;
         }
 
         @Specialization(replaces = "doCached")
@@ -379,12 +404,14 @@ public final class SetBuiltins extends PythonBuiltins {
                         @Bind("this") Node inliningTarget,
                         @Shared @Cached GetHashingStorageNode getHashingStorageNode,
                         @Shared @Cached HashingStorageAddAllToOther addAllToOther) {
-            HashingStorage storage = self.getDictStorage();
-            for (Object o : args) {
-                storage = addAllToOther.execute(frame, inliningTarget, getHashingStorageNode.execute(frame, inliningTarget, o), storage);
+            try (CriticalSection cs = CriticalSection.enter(inliningTarget, self)) {
+                HashingStorage storage = self.getDictStorage();
+                for (Object o : args) {
+                    storage = addAllToOther.execute(frame, inliningTarget, getHashingStorageNode.execute(frame, inliningTarget, o), storage);
+                }
+                self.setDictStorage(storage);
+                return PNone.NONE;
             }
-            self.setDictStorage(storage);
-            return PNone.NONE;
         }
 
         static boolean isOther(Object arg) {
@@ -396,8 +423,10 @@ public final class SetBuiltins extends PythonBuiltins {
                         @Bind("this") Node inliningTarget,
                         @Shared @Cached GetHashingStorageNode getHashingStorageNode,
                         @Shared @Cached HashingStorageAddAllToOther addAllToOther) {
-            addAllToOther.execute(frame, inliningTarget, getHashingStorageNode.execute(frame, inliningTarget, other), self);
-            return PNone.NONE;
+            try (CriticalSection cs = CriticalSection.enter(inliningTarget, self)) {
+                addAllToOther.execute(frame, inliningTarget, getHashingStorageNode.execute(frame, inliningTarget, other), self);
+                return PNone.NONE;
+            }
         }
     }
 
@@ -413,8 +442,10 @@ public final class SetBuiltins extends PythonBuiltins {
                         @Cached GetHashingStorageNode getHashingStorageNode,
                         @Cached HashingStorageIntersect intersectNode,
                         @Cached PythonObjectFactory factory) {
-            HashingStorage storage = intersectNode.execute(frame, inliningTarget, getHashingStorageNode.execute(frame, inliningTarget, right), left.getDictStorage());
-            return factory.createSet(storage);
+            try (CriticalSection cs = CriticalSection.enter(inliningTarget, left)) {
+                HashingStorage storage = intersectNode.execute(frame, inliningTarget, getHashingStorageNode.execute(frame, inliningTarget, right), left.getDictStorage());
+                return factory.createSet(storage);
+            }
         }
 
         @SuppressWarnings("unused")
@@ -433,11 +464,13 @@ public final class SetBuiltins extends PythonBuiltins {
                         @Bind("this") Node inliningTarget,
                         @Cached GetHashingStorageNode getHashingStorageNode,
                         @Cached HashingStorageIntersect intersectNode) {
-            // We cannot reuse the left storage without breaking the CPython "contract" of how many
-            // times we can call __eq__ on which key
-            HashingStorage storage = intersectNode.execute(frame, inliningTarget, getHashingStorageNode.execute(frame, inliningTarget, right), left.getDictStorage());
-            left.setDictStorage(storage);
-            return left;
+            try (CriticalSection cs = CriticalSection.enter(inliningTarget, left)) {
+                // We cannot reuse the left storage without breaking the CPython "contract" of how many
+                // times we can call __eq__ on which key
+                HashingStorage storage = intersectNode.execute(frame, inliningTarget, getHashingStorageNode.execute(frame, inliningTarget, right), left.getDictStorage());
+                left.setDictStorage(storage);
+                return left;
+            }
         }
 
         @SuppressWarnings("unused")
@@ -456,8 +489,10 @@ public final class SetBuiltins extends PythonBuiltins {
                         @Bind("this") Node inliningTarget,
                         @Shared @Cached HashingStorageCopy copyNode,
                         @Shared @Cached PythonObjectFactory factory) {
-            HashingStorage result = copyNode.execute(inliningTarget, self.getDictStorage());
-            return createResult(self, result, factory);
+            try (CriticalSection cs = CriticalSection.enter(inliningTarget, self)) {
+                HashingStorage result = copyNode.execute(inliningTarget, self.getDictStorage());
+                return createResult(self, result, factory);
+            }
         }
 
         @Specialization(guards = {"args.length == len", "args.length < 32"}, limit = "3")
@@ -468,11 +503,13 @@ public final class SetBuiltins extends PythonBuiltins {
                         @Shared @Cached HashingStorageCopy copyNode,
                         @Shared @Cached HashingStorageIntersect intersectNode,
                         @Shared @Cached PythonObjectFactory factory) {
-            HashingStorage result = copyNode.execute(inliningTarget, self.getDictStorage());
-            for (int i = 0; i < len; i++) {
-                result = intersectNode.execute(frame, inliningTarget, result, getHashingStorageNode.execute(frame, inliningTarget, args[i]));
+            try (CriticalSection cs = CriticalSection.enter(inliningTarget, self)) {
+                HashingStorage result = copyNode.execute(inliningTarget, self.getDictStorage());
+                for (int i = 0; i < len; i++) {
+                    result = intersectNode.execute(frame, inliningTarget, result, getHashingStorageNode.execute(frame, inliningTarget, args[i]));
+                }
+                return createResult(self, result, factory);
             }
-            return createResult(self, result, factory);
         }
 
         @Specialization(replaces = "doCached")
@@ -482,11 +519,13 @@ public final class SetBuiltins extends PythonBuiltins {
                         @Shared @Cached HashingStorageCopy copyNode,
                         @Shared @Cached HashingStorageIntersect intersectNode,
                         @Shared @Cached PythonObjectFactory factory) {
-            HashingStorage result = copyNode.execute(inliningTarget, self.getDictStorage());
-            for (int i = 0; i < args.length; i++) {
-                result = intersectNode.execute(frame, inliningTarget, result, getHashingStorageNode.execute(frame, inliningTarget, args[i]));
+            try (CriticalSection cs = CriticalSection.enter(inliningTarget, self)) {
+                HashingStorage result = copyNode.execute(inliningTarget, self.getDictStorage());
+                for (int i = 0; i < args.length; i++) {
+                    result = intersectNode.execute(frame, inliningTarget, result, getHashingStorageNode.execute(frame, inliningTarget, args[i]));
+                }
+                return createResult(self, result, factory);
             }
-            return createResult(self, result, factory);
         }
 
         static boolean isOther(Object arg) {
@@ -500,9 +539,11 @@ public final class SetBuiltins extends PythonBuiltins {
                         @Shared @Cached HashingStorageCopy copyNode,
                         @Shared @Cached HashingStorageIntersect intersectNode,
                         @Shared @Cached PythonObjectFactory factory) {
-            HashingStorage result = copyNode.execute(inliningTarget, self.getDictStorage());
-            result = intersectNode.execute(frame, inliningTarget, result, getHashingStorageNode.execute(frame, inliningTarget, other));
-            return createResult(self, result, factory);
+            try (CriticalSection cs = CriticalSection.enter(inliningTarget, self)) {
+                HashingStorage result = copyNode.execute(inliningTarget, self.getDictStorage());
+                result = intersectNode.execute(frame, inliningTarget, result, getHashingStorageNode.execute(frame, inliningTarget, other));
+                return createResult(self, result, factory);
+            }
         }
 
         protected Object createResult(PSet self, HashingStorage result, PythonObjectFactory factory) {
@@ -534,8 +575,10 @@ public final class SetBuiltins extends PythonBuiltins {
                         @Cached GetHashingStorageNode getHashingStorageNode,
                         @Cached HashingStorageXor xorNode,
                         @Cached PythonObjectFactory factory) {
-            // TODO: calls __eq__ wrong number of times compared to CPython (GR-42240)
-            return factory.createSet(xorNode.execute(frame, inliningTarget, self.getDictStorage(), getHashingStorageNode.execute(frame, inliningTarget, other)));
+            try (CriticalSection cs = CriticalSection.enter(inliningTarget, self)) {
+                // TODO: calls __eq__ wrong number of times compared to CPython (GR-42240)
+                return factory.createSet(xorNode.execute(frame, inliningTarget, self.getDictStorage(), getHashingStorageNode.execute(frame, inliningTarget, other)));
+            }
         }
 
         @SuppressWarnings("unused")
@@ -554,8 +597,10 @@ public final class SetBuiltins extends PythonBuiltins {
                         @Bind("this") Node inliningTarget,
                         @Cached GetHashingStorageNode getHashingStorageNode,
                         @Cached HashingStorageXor xorNode) {
-            self.setDictStorage(xorNode.execute(frame, inliningTarget, self.getDictStorage(), getHashingStorageNode.execute(frame, inliningTarget, other)));
-            return self;
+            try (CriticalSection cs = CriticalSection.enter(inliningTarget, self)) {
+                self.setDictStorage(xorNode.execute(frame, inliningTarget, self.getDictStorage(), getHashingStorageNode.execute(frame, inliningTarget, other)));
+                return self;
+            }
         }
 
         @SuppressWarnings("unused")
@@ -575,8 +620,10 @@ public final class SetBuiltins extends PythonBuiltins {
                         @Cached GetHashingStorageNode getHashingStorage,
                         @Cached HashingStorageXor xorNode,
                         @Cached PythonObjectFactory factory) {
-            HashingStorage result = xorNode.execute(frame, inliningTarget, self.getDictStorage(), getHashingStorage.execute(frame, inliningTarget, other));
-            return factory.createSet(result);
+            try (CriticalSection cs = CriticalSection.enter(inliningTarget, self)) {
+                HashingStorage result = xorNode.execute(frame, inliningTarget, self.getDictStorage(), getHashingStorage.execute(frame, inliningTarget, other));
+                return factory.createSet(result);
+            }
         }
     }
 
@@ -596,12 +643,14 @@ public final class SetBuiltins extends PythonBuiltins {
                         @Cached("args.length") int len,
                         @Shared @Cached GetHashingStorageNode getHashingStorage,
                         @Shared @Cached HashingStorageXor xorNode) {
-            HashingStorage result = self.getDictStorage();
-            for (int i = 0; i < len; i++) {
-                result = xorNode.execute(frame, inliningTarget, result, getHashingStorage.execute(frame, inliningTarget, args[i]));
+            try (CriticalSection cs = CriticalSection.enter(inliningTarget, self)) {
+                HashingStorage result = self.getDictStorage();
+                for (int i = 0; i < len; i++) {
+                    result = xorNode.execute(frame, inliningTarget, result, getHashingStorage.execute(frame, inliningTarget, args[i]));
+                }
+                self.setDictStorage(result);
+                return PNone.NONE;
             }
-            self.setDictStorage(result);
-            return PNone.NONE;
         }
 
         @Specialization(replaces = "doCached")
@@ -609,12 +658,14 @@ public final class SetBuiltins extends PythonBuiltins {
                         @Bind("this") Node inliningTarget,
                         @Shared @Cached GetHashingStorageNode getHashingStorage,
                         @Shared @Cached HashingStorageXor xorNode) {
-            HashingStorage result = self.getDictStorage();
-            for (Object o : args) {
-                result = xorNode.execute(frame, inliningTarget, result, getHashingStorage.execute(frame, inliningTarget, o));
+            try (CriticalSection cs = CriticalSection.enter(inliningTarget, self)) {
+                HashingStorage result = self.getDictStorage();
+                for (Object o : args) {
+                    result = xorNode.execute(frame, inliningTarget, result, getHashingStorage.execute(frame, inliningTarget, o));
+                }
+                self.setDictStorage(result);
+                return PNone.NONE;
             }
-            self.setDictStorage(result);
-            return PNone.NONE;
         }
 
         static boolean isOther(Object arg) {
@@ -626,9 +677,11 @@ public final class SetBuiltins extends PythonBuiltins {
                         @Bind("this") Node inliningTarget,
                         @Shared @Cached GetHashingStorageNode getHashingStorage,
                         @Shared @Cached HashingStorageXor xorNode) {
-            HashingStorage result = xorNode.execute(frame, inliningTarget, self.getDictStorage(), getHashingStorage.execute(frame, inliningTarget, other));
-            self.setDictStorage(result);
-            return PNone.NONE;
+            try (CriticalSection cs = CriticalSection.enter(inliningTarget, self)) {
+                HashingStorage result = xorNode.execute(frame, inliningTarget, self.getDictStorage(), getHashingStorage.execute(frame, inliningTarget, other));
+                self.setDictStorage(result);
+                return PNone.NONE;
+            }
         }
     }
 
@@ -640,9 +693,11 @@ public final class SetBuiltins extends PythonBuiltins {
                         @Bind("this") Node inliningTarget,
                         @Cached GetHashingStorageNode getHashingStorageNode,
                         @Cached HashingStorageDiff diffNode) {
-            HashingStorage storage = diffNode.execute(frame, inliningTarget, left.getDictStorage(), getHashingStorageNode.execute(frame, inliningTarget, right));
-            left.setDictStorage(storage);
-            return left;
+            try (CriticalSection cs = CriticalSection.enter(inliningTarget, left)) {
+                HashingStorage storage = diffNode.execute(frame, inliningTarget, left.getDictStorage(), getHashingStorageNode.execute(frame, inliningTarget, right));
+                left.setDictStorage(storage);
+                return left;
+            }
         }
 
         @SuppressWarnings("unused")
@@ -670,11 +725,13 @@ public final class SetBuiltins extends PythonBuiltins {
                         @Shared @Cached HashingStorageCopy copyNode,
                         @Shared @Cached HashingStorageDiff diffNode,
                         @Shared @Cached PythonObjectFactory factory) {
-            HashingStorage result = copyNode.execute(inliningTarget, self.getDictStorage());
-            for (int i = 0; i < len; i++) {
-                result = diffNode.execute(frame, inliningTarget, result, getHashingStorageNode.execute(frame, inliningTarget, args[i]));
+            try (CriticalSection cs = CriticalSection.enter(inliningTarget, self)) {
+                HashingStorage result = copyNode.execute(inliningTarget, self.getDictStorage());
+                for (int i = 0; i < len; i++) {
+                    result = diffNode.execute(frame, inliningTarget, result, getHashingStorageNode.execute(frame, inliningTarget, args[i]));
+                }
+                return factory.createSet(result);
             }
-            return factory.createSet(result);
         }
 
         @Specialization(replaces = "doCached")
@@ -684,11 +741,13 @@ public final class SetBuiltins extends PythonBuiltins {
                         @Shared @Cached HashingStorageCopy copyNode,
                         @Shared @Cached HashingStorageDiff diffNode,
                         @Shared @Cached PythonObjectFactory factory) {
-            HashingStorage result = copyNode.execute(inliningTarget, self.getDictStorage());
-            for (int i = 0; i < args.length; i++) {
-                result = diffNode.execute(frame, inliningTarget, result, getHashingStorageNode.execute(frame, inliningTarget, args[i]));
+            try (CriticalSection cs = CriticalSection.enter(inliningTarget, self)) {
+                HashingStorage result = copyNode.execute(inliningTarget, self.getDictStorage());
+                for (int i = 0; i < args.length; i++) {
+                    result = diffNode.execute(frame, inliningTarget, result, getHashingStorageNode.execute(frame, inliningTarget, args[i]));
+                }
+                return factory.createSet(result);
             }
-            return factory.createSet(result);
         }
 
         static boolean isOther(Object arg) {
@@ -701,8 +760,10 @@ public final class SetBuiltins extends PythonBuiltins {
                         @Shared @Cached GetHashingStorageNode getHashingStorageNode,
                         @Shared @Cached HashingStorageDiff diffNode,
                         @Shared @Cached PythonObjectFactory factory) {
-            HashingStorage result = diffNode.execute(frame, inliningTarget, self.getDictStorage(), getHashingStorageNode.execute(frame, inliningTarget, other));
-            return factory.createSet(result);
+            try (CriticalSection cs = CriticalSection.enter(inliningTarget, self)) {
+                HashingStorage result = diffNode.execute(frame, inliningTarget, self.getDictStorage(), getHashingStorageNode.execute(frame, inliningTarget, other));
+                return factory.createSet(result);
+            }
         }
     }
 
@@ -722,12 +783,14 @@ public final class SetBuiltins extends PythonBuiltins {
                         @Cached("args.length") int len,
                         @Shared @Cached GetHashingStorageNode getHashingStorage,
                         @Shared @Cached HashingStorageDiff diffNode) {
-            HashingStorage result = self.getDictStorage();
-            for (int i = 0; i < len; i++) {
-                result = diffNode.execute(frame, inliningTarget, result, getHashingStorage.execute(frame, inliningTarget, args[i]));
+            try (CriticalSection cs = CriticalSection.enter(inliningTarget, self)) {
+                HashingStorage result = self.getDictStorage();
+                for (int i = 0; i < len; i++) {
+                    result = diffNode.execute(frame, inliningTarget, result, getHashingStorage.execute(frame, inliningTarget, args[i]));
+                }
+                self.setDictStorage(result);
+                return PNone.NONE;
             }
-            self.setDictStorage(result);
-            return PNone.NONE;
         }
 
         @Specialization(replaces = "doCached")
@@ -735,12 +798,14 @@ public final class SetBuiltins extends PythonBuiltins {
                         @Bind("this") Node inliningTarget,
                         @Shared @Cached GetHashingStorageNode getHashingStorage,
                         @Shared @Cached HashingStorageDiff diffNode) {
-            HashingStorage result = self.getDictStorage();
-            for (Object o : args) {
-                result = diffNode.execute(frame, inliningTarget, result, getHashingStorage.execute(frame, inliningTarget, o));
+            try (CriticalSection cs = CriticalSection.enter(inliningTarget, self)) {
+                HashingStorage result = self.getDictStorage();
+                for (Object o : args) {
+                    result = diffNode.execute(frame, inliningTarget, result, getHashingStorage.execute(frame, inliningTarget, o));
+                }
+                self.setDictStorage(result);
+                return PNone.NONE;
             }
-            self.setDictStorage(result);
-            return PNone.NONE;
         }
 
         @Specialization
@@ -748,9 +813,11 @@ public final class SetBuiltins extends PythonBuiltins {
                         @Bind("this") Node inliningTarget,
                         @Shared @Cached GetHashingStorageNode getHashingStorage,
                         @Shared @Cached HashingStorageDiff diffNode) {
-            HashingStorage result = diffNode.execute(frame, inliningTarget, self.getDictStorage(), getHashingStorage.execute(frame, inliningTarget, other));
-            self.setDictStorage(result);
-            return PNone.NONE;
+            try (CriticalSection cs = CriticalSection.enter(inliningTarget, self)) {
+                HashingStorage result = diffNode.execute(frame, inliningTarget, self.getDictStorage(), getHashingStorage.execute(frame, inliningTarget, other));
+                self.setDictStorage(result);
+                return PNone.NONE;
+            }
         }
     }
 
@@ -788,11 +855,13 @@ public final class SetBuiltins extends PythonBuiltins {
                         @Bind("this") Node inliningTarget,
                         @Cached HashingStoragePop popNode,
                         @Cached PRaiseNode.Lazy raiseNode) {
-            Object[] result = popNode.execute(inliningTarget, self.getDictStorage(), self);
-            if (result != null) {
-                return result[0];
+            try (CriticalSection cs = CriticalSection.enter(inliningTarget, self)) {
+                Object[] result = popNode.execute(inliningTarget, self.getDictStorage(), self);
+                if (result != null) {
+                    return result[0];
+                }
+                throw raiseNode.get(inliningTarget).raise(PythonErrorType.KeyError, ErrorMessages.POP_FROM_EMPTY_SET);
             }
-            throw raiseNode.get(inliningTarget).raise(PythonErrorType.KeyError, ErrorMessages.POP_FROM_EMPTY_SET);
         }
     }
 
@@ -54,6 +54,7 @@ import com.oracle.graal.python.nodes.PNodeWithContext;
 import com.oracle.graal.python.nodes.PRaiseNode;
 import com.oracle.graal.python.nodes.function.builtins.PythonBinaryBuiltinNode;
 import com.oracle.graal.python.nodes.object.BuiltinClassProfiles.IsBuiltinObjectProfile;
+import com.oracle.graal.python.runtime.CriticalSection;
 import com.oracle.graal.python.runtime.exception.PException;
 import com.oracle.graal.python.runtime.object.PythonObjectFactory;
 import com.oracle.truffle.api.dsl.Bind;
@@ -171,9 +172,11 @@ public abstract class SetNodes {
                         @Bind("this") Node inliningTarget,
                         @Cached BaseSetBuiltins.ConvertKeyNode conv,
                         @Cached HashingStorageDelItem delItem) {
-            Object checkedKey = conv.execute(inliningTarget, key);
-            Object found = delItem.executePop(frame, inliningTarget, self.getDictStorage(), checkedKey, self);
-            return found != null;
+            try (CriticalSection cs = CriticalSection.enter(inliningTarget, self)) {
+                Object checkedKey = conv.execute(inliningTarget, key);
+                Object found = delItem.executePop(frame, inliningTarget, self.getDictStorage(), checkedKey, self);
+                return found != null;
+            }
         }
     }
 }
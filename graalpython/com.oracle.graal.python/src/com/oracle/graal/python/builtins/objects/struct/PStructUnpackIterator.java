@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2024, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.objects.struct;
+
+import com.oracle.graal.python.builtins.objects.object.PythonBuiltinObject;
+import com.oracle.truffle.api.object.Shape;
+
+/**
+ * The iterator returned by {@code iter_unpack}. It holds on to the acquired buffer until it is
+ * exhausted.
+ */
+public final class PStructUnpackIterator extends PythonBuiltinObject {
+
+    private StructFormat format;
+    private Object buffer;
+    private final int bufferLength;
+    private int index;
+
+    public PStructUnpackIterator(Object cls, Shape instanceShape, StructFormat format, Object buffer, int bufferLength) {
+        super(cls, instanceShape);
+        this.format = format;
+        this.buffer = buffer;
+        this.bufferLength = bufferLength;
+    }
+
+    public StructFormat getFormat() {
+        return format;
+    }
+
+    public Object getBuffer() {
+        return buffer;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public void advance() {
+        index += format.getSize();
+    }
+
+    public boolean isExhausted() {
+        return format == null || index >= bufferLength;
+    }
+
+    public int lengthHint() {
+        return format == null ? 0 : (bufferLength - index) / format.getSize();
+    }
+
+    /**
+     * Drops the references to the format and the buffer, returns the buffer that must be
+     * released, or {@code null} if that already happened.
+     */
+    public Object exhaust() {
+        Object result = buffer;
+        format = null;
+        buffer = null;
+        return result;
+    }
+}
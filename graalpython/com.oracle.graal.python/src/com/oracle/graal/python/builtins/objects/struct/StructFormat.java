@@ -0,0 +1,323 @@
+/*
+ * Copyright (c) 2024, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.objects.struct;
+
+import static com.oracle.graal.python.nodes.StringLiterals.T_EMPTY_STRING;
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.StructError;
+
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.oracle.graal.python.builtins.PythonOS;
+import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.nodes.PRaiseNode;
+import com.oracle.graal.python.util.NumericSupport;
+import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.nodes.Node;
+import com.oracle.truffle.api.strings.TruffleString;
+
+/**
+ * Compiled form of a {@code struct} format string, the equivalent of CPython's
+ * {@code s_codes}/{@code s_size}/{@code s_len} triple. Instances are immutable and do not reference
+ * any context specific data, so they can be shared between {@code Struct} objects and used as
+ * specialization keys.
+ */
+public final class StructFormat {
+
+    /*
+     * Kinds of format codes. Integer kinds differ only in how out-of-range values are reported,
+     * which mirrors the different pack functions CPython uses for native and standard sizes.
+     */
+    static final byte PAD = 0;
+    static final byte CHAR = 1;
+    static final byte BYTE = 2;
+    static final byte UBYTE = 3;
+    static final byte BOOL = 4;
+    /** Native {@code short}, reported as "short format requires ...". */
+    static final byte SHORT = 5;
+    static final byte USHORT = 6;
+    /** Integers reported as "'%c' format requires ...". */
+    static final byte INT = 7;
+    static final byte UINT = 8;
+    /** Integers reported as "argument out of range". */
+    static final byte LONG = 9;
+    static final byte ULONG = 10;
+    /** Standard size 64-bit integers reported as "int too large to convert". */
+    static final byte STD_LONG = 11;
+    static final byte STD_ULONG = 12;
+    static final byte POINTER = 13;
+    static final byte HALF_FLOAT = 14;
+    static final byte FLOAT = 15;
+    static final byte DOUBLE = 16;
+    static final byte STRING = 17;
+    static final byte PASCAL = 18;
+
+    private static final int SIZEOF_LONG = PythonOS.getPythonOS() == PythonOS.PLATFORM_WIN32 ? 4 : 8;
+    private static final boolean NATIVE_BIG_ENDIAN = ByteOrder.nativeOrder() == ByteOrder.BIG_ENDIAN;
+
+    private record FormatDef(char code, int size, int alignment, byte kind) {
+    }
+
+    private static final FormatDef[] NATIVE_TABLE = {
+                    new FormatDef('x', 1, 0, PAD),
+                    new FormatDef('b', 1, 0, BYTE),
+                    new FormatDef('B', 1, 0, UBYTE),
+                    new FormatDef('c', 1, 0, CHAR),
+                    new FormatDef('s', 1, 0, STRING),
+                    new FormatDef('p', 1, 0, PASCAL),
+                    new FormatDef('h', 2, 2, SHORT),
+                    new FormatDef('H', 2, 2, USHORT),
+                    new FormatDef('i', 4, 4, INT),
+                    new FormatDef('I', 4, 4, UINT),
+                    new FormatDef('l', SIZEOF_LONG, SIZEOF_LONG, LONG),
+                    new FormatDef('L', SIZEOF_LONG, SIZEOF_LONG, ULONG),
+                    new FormatDef('n', 8, 8, LONG),
+                    new FormatDef('N', 8, 8, ULONG),
+                    new FormatDef('q', 8, 8, LONG),
+                    new FormatDef('Q', 8, 8, ULONG),
+                    new FormatDef('?', 1, 1, BOOL),
+                    new FormatDef('e', 2, 2, HALF_FLOAT),
+                    new FormatDef('f', 4, 4, FLOAT),
+                    new FormatDef('d', 8, 8, DOUBLE),
+                    new FormatDef('P', 8, 8, POINTER),
+    };
+
+    private static final FormatDef[] BIG_ENDIAN_TABLE = standardTable(NATIVE_BIG_ENDIAN);
+    private static final FormatDef[] LITTLE_ENDIAN_TABLE = standardTable(!NATIVE_BIG_ENDIAN);
+
+    /**
+     * Creates the table for standard sizes. Like CPython, the table for the native byte order uses
+     * the native pack functions wherever the sizes match, which affects the error messages.
+     */
+    private static FormatDef[] standardTable(boolean nativeOrder) {
+        FormatDef[] table = {
+                        new FormatDef('x', 1, 0, PAD),
+                        new FormatDef('b', 1, 0, BYTE),
+                        new FormatDef('B', 1, 0, UBYTE),
+                        new FormatDef('c', 1, 0, CHAR),
+                        new FormatDef('s', 1, 0, STRING),
+                        new FormatDef('p', 1, 0, PASCAL),
+                        new FormatDef('h', 2, 0, INT),
+                        new FormatDef('H', 2, 0, UINT),
+                        new FormatDef('i', 4, 0, INT),
+                        new FormatDef('I', 4, 0, UINT),
+                        new FormatDef('l', 4, 0, INT),
+                        new FormatDef('L', 4, 0, UINT),
+                        new FormatDef('q', 8, 0, STD_LONG),
+                        new FormatDef('Q', 8, 0, STD_ULONG),
+                        new FormatDef('?', 1, 0, BOOL),
+                        new FormatDef('e', 2, 0, HALF_FLOAT),
+                        new FormatDef('f', 4, 0, FLOAT),
+                        new FormatDef('d', 8, 0, DOUBLE),
+        };
+        if (nativeOrder) {
+            for (int i = 0; i < table.length; i++) {
+                FormatDef def = table[i];
+                FormatDef nativeDef = lookup(NATIVE_TABLE, def.code);
+                if (nativeDef.size == def.size && def.code != 'f' && def.code != 'd' && def.code != '?') {
+                    table[i] = new FormatDef(def.code, def.size, 0, nativeDef.kind);
+                }
+            }
+        }
+        return table;
+    }
+
+    private static FormatDef lookup(FormatDef[] table, char c) {
+        for (FormatDef def : table) {
+            if (def.code == c) {
+                return def;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * A single format code with its repeat count. For {@code 's'} and {@code 'p'}, the repeat
+     * count is always 1 and {@link #size} is the string length.
+     */
+    public static final class FormatCode {
+        final char code;
+        final byte kind;
+        final int offset;
+        final int size;
+        final int repeat;
+
+        FormatCode(char code, byte kind, int offset, int size, int repeat) {
+            this.code = code;
+            this.kind = kind;
+            this.offset = offset;
+            this.size = size;
+            this.repeat = repeat;
+        }
+    }
+
+    /**
+     * The format of a {@code Struct} object before {@code __init__} was called.
+     */
+    public static final StructFormat EMPTY = new StructFormat(T_EMPTY_STRING, new FormatCode[0], 0, 0, NATIVE_BIG_ENDIAN);
+
+    private final TruffleString format;
+    @CompilationFinal(dimensions = 1) private final FormatCode[] codes;
+    private final int size;
+    private final int len;
+    private final boolean bigEndian;
+
+    private StructFormat(TruffleString format, FormatCode[] codes, int size, int len, boolean bigEndian) {
+        this.format = format;
+        this.codes = codes;
+        this.size = size;
+        this.len = len;
+        this.bigEndian = bigEndian;
+    }
+
+    public TruffleString getFormat() {
+        return format;
+    }
+
+    FormatCode[] getCodes() {
+        return codes;
+    }
+
+    /**
+     * The number of bytes needed to pack or unpack this format.
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * The number of values produced by unpacking this format.
+     */
+    public int getLen() {
+        return len;
+    }
+
+    NumericSupport getNumericSupport() {
+        return bigEndian ? NumericSupport.bigEndian() : NumericSupport.littleEndian();
+    }
+
+    private static boolean isSpace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\r' || c == '\u000b' || c == '\f';
+    }
+
+    private static boolean isDigit(char c) {
+        return '0' <= c && c <= '9';
+    }
+
+    /**
+     * Parses a format string, raising {@code struct.error} if it is malformed.
+     */
+    @TruffleBoundary
+    public static StructFormat compile(Node raisingNode, TruffleString format) {
+        String fmt = format.toJavaStringUncached();
+        if (fmt.indexOf('\0') >= 0) {
+            throw PRaiseNode.raiseUncached(raisingNode, StructError, ErrorMessages.EMBEDDED_NULL_CHARACTER);
+        }
+        int i = 0;
+        FormatDef[] table = NATIVE_TABLE;
+        boolean bigEndian = NATIVE_BIG_ENDIAN;
+        if (!fmt.isEmpty()) {
+            switch (fmt.charAt(0)) {
+                case '<':
+                    table = LITTLE_ENDIAN_TABLE;
+                    bigEndian = false;
+                    i++;
+                    break;
+                case '>':
+                case '!':
+                    table = BIG_ENDIAN_TABLE;
+                    bigEndian = true;
+                    i++;
+                    break;
+                case '=':
+                    table = NATIVE_BIG_ENDIAN ? BIG_ENDIAN_TABLE : LITTLE_ENDIAN_TABLE;
+                    i++;
+                    break;
+                case '@':
+                    i++;
+                    break;
+            }
+        }
+        List<FormatCode> codes = new ArrayList<>();
+        long size = 0;
+        long len = 0;
+        while (i < fmt.length()) {
+            char c = fmt.charAt(i++);
+            if (isSpace(c)) {
+                continue;
+            }
+            long num = 1;
+            if (isDigit(c)) {
+                num = c - '0';
+                while (i < fmt.length() && isDigit(c = fmt.charAt(i++))) {
+                    num = num * 10 + (c - '0');
+                    if (num > Integer.MAX_VALUE) {
+                        throw PRaiseNode.raiseUncached(raisingNode, StructError, ErrorMessages.STRUCT_SIZE_TOO_LONG);
+                    }
+                }
+                if (isDigit(c)) {
+                    throw PRaiseNode.raiseUncached(raisingNode, StructError, ErrorMessages.STRUCT_REPEAT_WITHOUT_FORMAT);
+                }
+            }
+            FormatDef def = lookup(table, c);
+            if (def == null) {
+                throw PRaiseNode.raiseUncached(raisingNode, StructError, ErrorMessages.STRUCT_BAD_CHAR_IN_FORMAT);
+            }
+            if (def.alignment > 0 && size > 0) {
+                size += (def.alignment - 1) - (size - 1) % def.alignment;
+            }
+            if (c == 's' || c == 'p') {
+                codes.add(new FormatCode(c, def.kind, (int) size, (int) num, 1));
+                len++;
+            } else if (c != 'x' && num > 0) {
+                codes.add(new FormatCode(c, def.kind, (int) size, def.size, (int) num));
+                len += num;
+            }
+            size += num * def.size;
+            if (size > Integer.MAX_VALUE) {
+                throw PRaiseNode.raiseUncached(raisingNode, StructError, ErrorMessages.STRUCT_SIZE_TOO_LONG);
+            }
+        }
+        return new StructFormat(format, codes.toArray(new FormatCode[0]), (int) size, (int) len, bigEndian);
+    }
+}
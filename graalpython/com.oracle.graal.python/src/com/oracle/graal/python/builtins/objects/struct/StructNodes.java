@@ -0,0 +1,642 @@
+/*
+ * Copyright (c) 2024, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.objects.struct;
+
+import static com.oracle.graal.python.builtins.objects.struct.StructFormat.BOOL;
+import static com.oracle.graal.python.builtins.objects.struct.StructFormat.BYTE;
+import static com.oracle.graal.python.builtins.objects.struct.StructFormat.CHAR;
+import static com.oracle.graal.python.builtins.objects.struct.StructFormat.DOUBLE;
+import static com.oracle.graal.python.builtins.objects.struct.StructFormat.FLOAT;
+import static com.oracle.graal.python.builtins.objects.struct.StructFormat.HALF_FLOAT;
+import static com.oracle.graal.python.builtins.objects.struct.StructFormat.INT;
+import static com.oracle.graal.python.builtins.objects.struct.StructFormat.LONG;
+import static com.oracle.graal.python.builtins.objects.struct.StructFormat.PASCAL;
+import static com.oracle.graal.python.builtins.objects.struct.StructFormat.POINTER;
+import static com.oracle.graal.python.builtins.objects.struct.StructFormat.SHORT;
+import static com.oracle.graal.python.builtins.objects.struct.StructFormat.STD_LONG;
+import static com.oracle.graal.python.builtins.objects.struct.StructFormat.STD_ULONG;
+import static com.oracle.graal.python.builtins.objects.struct.StructFormat.STRING;
+import static com.oracle.graal.python.builtins.objects.struct.StructFormat.UBYTE;
+import static com.oracle.graal.python.builtins.objects.struct.StructFormat.UINT;
+import static com.oracle.graal.python.builtins.objects.struct.StructFormat.ULONG;
+import static com.oracle.graal.python.builtins.objects.struct.StructFormat.USHORT;
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.IndexError;
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.StructError;
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.TypeError;
+import static com.oracle.graal.python.util.PythonUtils.TS_ENCODING;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
+
+import com.oracle.graal.python.builtins.objects.buffer.PythonBufferAccessLibrary;
+import com.oracle.graal.python.builtins.objects.buffer.PythonBufferAcquireLibrary;
+import com.oracle.graal.python.builtins.objects.bytes.PBytes;
+import com.oracle.graal.python.builtins.objects.bytes.PBytesLike;
+import com.oracle.graal.python.builtins.objects.ints.PInt;
+import com.oracle.graal.python.builtins.objects.struct.StructFormat.FormatCode;
+import com.oracle.graal.python.builtins.objects.tuple.PTuple;
+import com.oracle.graal.python.lib.PyFloatAsDoubleNode;
+import com.oracle.graal.python.lib.PyIndexCheckNode;
+import com.oracle.graal.python.lib.PyLongAsLongAndOverflowNode;
+import com.oracle.graal.python.lib.PyNumberAsSizeNode;
+import com.oracle.graal.python.lib.PyNumberIndexNode;
+import com.oracle.graal.python.lib.PyObjectIsTrueNode;
+import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.nodes.PGuards;
+import com.oracle.graal.python.nodes.PRaiseNode;
+import com.oracle.graal.python.nodes.util.CannotCastException;
+import com.oracle.graal.python.nodes.util.CastToTruffleStringNode;
+import com.oracle.graal.python.runtime.IndirectCallData;
+import com.oracle.graal.python.runtime.PythonContext;
+import com.oracle.graal.python.runtime.exception.PException;
+import com.oracle.graal.python.runtime.object.PythonObjectFactory;
+import com.oracle.graal.python.util.NumericSupport;
+import com.oracle.graal.python.util.OverflowException;
+import com.oracle.graal.python.util.PythonUtils;
+import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.dsl.Bind;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.Cached.Shared;
+import com.oracle.truffle.api.dsl.Fallback;
+import com.oracle.truffle.api.dsl.GenerateInline;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.library.CachedLibrary;
+import com.oracle.truffle.api.nodes.ExplodeLoop;
+import com.oracle.truffle.api.nodes.Node;
+import com.oracle.truffle.api.strings.TruffleString;
+
+public abstract class StructNodes {
+
+    /**
+     * Formats with more codes than this are not unrolled in compiled code.
+     */
+    static final int MAX_EXPLODED_CODES = 16;
+
+    /**
+     * Size of the per-context cache used by the module-level functions, same as CPython's
+     * {@code MAXCACHE}.
+     */
+    private static final int MAX_CACHE = 100;
+
+    static boolean isExplodable(StructFormat format) {
+        return format.getCodes().length <= MAX_EXPLODED_CODES;
+    }
+
+    /**
+     * Compiles a {@code str} or {@code bytes} format, the equivalent of CPython's
+     * {@code cache_struct_converter}. Constant formats are compiled once per call site, all other
+     * formats go through a per-context cache that is cleared by {@code _struct._clearcache}.
+     */
+    @GenerateInline(false)
+    public abstract static class GetStructFormatNode extends Node {
+
+        public abstract StructFormat execute(Object format);
+
+        @Specialization(guards = "equalNode.execute(format, cachedFormat, TS_ENCODING)", limit = "3")
+        StructFormat doCached(@SuppressWarnings("unused") TruffleString format,
+                        @SuppressWarnings("unused") @Cached("format") TruffleString cachedFormat,
+                        @SuppressWarnings("unused") @Cached TruffleString.EqualNode equalNode,
+                        @Cached("compile(format)") StructFormat cachedStructFormat) {
+            return cachedStructFormat;
+        }
+
+        @Specialization(replaces = "doCached", guards = "isString(format)")
+        StructFormat doString(Object format,
+                        @Bind("this") Node inliningTarget,
+                        @Cached CastToTruffleStringNode castToStringNode) {
+            try {
+                return lookup(this, castToStringNode.execute(inliningTarget, format));
+            } catch (CannotCastException e) {
+                throw PRaiseNode.raiseUncached(this, TypeError, ErrorMessages.STRUCT_ARG_1_MUST_BE_STR_OR_BYTES, format);
+            }
+        }
+
+        @Specialization
+        StructFormat doBytes(PBytes format,
+                        @CachedLibrary(limit = "1") PythonBufferAccessLibrary bufferLib) {
+            return lookup(this, decode(bufferLib.getInternalOrCopiedByteArray(format), bufferLib.getBufferLength(format)));
+        }
+
+        @Fallback
+        static StructFormat doOther(Object format,
+                        @Bind("this") Node inliningTarget,
+                        @Cached PRaiseNode.Lazy raiseNode) {
+            throw raiseNode.get(inliningTarget).raise(TypeError, ErrorMessages.STRUCT_ARG_1_MUST_BE_STR_OR_BYTES, format);
+        }
+
+        StructFormat compile(TruffleString format) {
+            return StructFormat.compile(this, format);
+        }
+
+        static boolean isString(Object format) {
+            return PGuards.isString(format);
+        }
+
+        @TruffleBoundary
+        private static TruffleString decode(byte[] bytes, int length) {
+            return PythonUtils.toTruffleStringUncached(new String(bytes, 0, length, StandardCharsets.ISO_8859_1));
+        }
+
+        @TruffleBoundary
+        private static StructFormat lookup(Node node, TruffleString format) {
+            Map<TruffleString, StructFormat> cache = PythonContext.get(node).getStructFormatCache();
+            StructFormat result = cache.get(format);
+            if (result == null) {
+                result = StructFormat.compile(node, format);
+                if (cache.size() >= MAX_CACHE) {
+                    cache.clear();
+                }
+                cache.put(format, result);
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Unpacks the values of a format from a byte array.
+     */
+    @GenerateInline(false)
+    public abstract static class UnpackValuesNode extends Node {
+
+        public abstract PTuple execute(StructFormat format, byte[] bytes, int offset);
+
+        @Specialization(guards = {"format == cachedFormat", "isExplodable(cachedFormat)"}, limit = "3")
+        @ExplodeLoop
+        static PTuple doCached(@SuppressWarnings("unused") StructFormat format, byte[] bytes, int offset,
+                        @Cached("format") StructFormat cachedFormat,
+                        @Shared @Cached PythonObjectFactory factory) {
+            FormatCode[] codes = cachedFormat.getCodes();
+            NumericSupport numeric = cachedFormat.getNumericSupport();
+            Object[] result = new Object[cachedFormat.getLen()];
+            int i = 0;
+            for (FormatCode code : codes) {
+                int pos = offset + code.offset;
+                for (int j = 0; j < code.repeat; j++) {
+                    result[i++] = unpackValue(code, numeric, bytes, pos, factory);
+                    pos += code.size;
+                }
+            }
+            return factory.createTuple(result);
+        }
+
+        @Specialization(replaces = "doCached")
+        static PTuple doGeneric(StructFormat format, byte[] bytes, int offset,
+                        @Shared @Cached PythonObjectFactory factory) {
+            NumericSupport numeric = format.getNumericSupport();
+            Object[] result = new Object[format.getLen()];
+            int i = 0;
+            for (FormatCode code : format.getCodes()) {
+                int pos = offset + code.offset;
+                for (int j = 0; j < code.repeat; j++) {
+                    result[i++] = unpackValue(code, numeric, bytes, pos, factory);
+                    pos += code.size;
+                }
+            }
+            return factory.createTuple(result);
+        }
+
+        private static Object unpackValue(FormatCode code, NumericSupport numeric, byte[] bytes, int pos, PythonObjectFactory factory) {
+            switch (code.kind) {
+                case CHAR:
+                    return factory.createBytes(new byte[]{bytes[pos]});
+                case BYTE:
+                    return (int) bytes[pos];
+                case UBYTE:
+                    return bytes[pos] & 0xFF;
+                case BOOL:
+                    return bytes[pos] != 0;
+                case SHORT, INT, LONG, STD_LONG:
+                    if (code.size == 8) {
+                        return numeric.getLong(bytes, pos);
+                    }
+                    return (int) numeric.getLong(bytes, pos, code.size);
+                case USHORT, UINT, ULONG, STD_ULONG, POINTER:
+                    long value = numeric.getLongUnsigned(bytes, pos, code.size);
+                    if (value < 0) {
+                        return factory.createInt(PInt.longToUnsignedBigInteger(value));
+                    }
+                    return value;
+                case HALF_FLOAT, FLOAT, DOUBLE:
+                    return numeric.getDouble(bytes, pos, code.size);
+                case STRING:
+                    return factory.createBytes(PythonUtils.arrayCopyOfRange(bytes, pos, pos + code.size));
+                case PASCAL:
+                    if (code.size == 0) {
+                        return factory.createBytes(PythonUtils.EMPTY_BYTE_ARRAY);
+                    }
+                    int n = Math.min(bytes[pos] & 0xFF, code.size - 1);
+                    return factory.createBytes(PythonUtils.arrayCopyOfRange(bytes, pos + 1, pos + 1 + n));
+                default:
+                    throw CompilerDirectives.shouldNotReachHere();
+            }
+        }
+    }
+
+    /**
+     * Packs values starting at {@code args[argsOffset]} into a byte array. The target range must be
+     * zeroed, so that pad bytes and short strings are filled with zeros.
+     */
+    @GenerateInline(false)
+    public abstract static class PackValuesNode extends Node {
+
+        public abstract void execute(VirtualFrame frame, StructFormat format, Object[] args, int argsOffset, byte[] bytes, int offset);
+
+        @Specialization(guards = {"format == cachedFormat", "isExplodable(cachedFormat)"}, limit = "3")
+        @ExplodeLoop
+        static void doCached(VirtualFrame frame, @SuppressWarnings("unused") StructFormat format, Object[] args, int argsOffset, byte[] bytes, int offset,
+                        @Cached("format") StructFormat cachedFormat,
+                        @Shared @Cached PackValueNode packValueNode) {
+            FormatCode[] codes = cachedFormat.getCodes();
+            NumericSupport numeric = cachedFormat.getNumericSupport();
+            int i = argsOffset;
+            for (FormatCode code : codes) {
+                int pos = offset + code.offset;
+                for (int j = 0; j < code.repeat; j++) {
+                    packValueNode.execute(frame, code, numeric, args[i++], bytes, pos);
+                    pos += code.size;
+                }
+            }
+        }
+
+        @Specialization(replaces = "doCached")
+        static void doGeneric(VirtualFrame frame, StructFormat format, Object[] args, int argsOffset, byte[] bytes, int offset,
+                        @Shared @Cached PackValueNode packValueNode) {
+            NumericSupport numeric = format.getNumericSupport();
+            int i = argsOffset;
+            for (FormatCode code : format.getCodes()) {
+                int pos = offset + code.offset;
+                for (int j = 0; j < code.repeat; j++) {
+                    packValueNode.execute(frame, code, numeric, args[i++], bytes, pos);
+                    pos += code.size;
+                }
+            }
+        }
+    }
+
+    @GenerateInline(false)
+    public abstract static class PackValueNode extends Node {
+
+        public abstract void execute(VirtualFrame frame, FormatCode code, NumericSupport numeric, Object value, byte[] bytes, int pos);
+
+        @Specialization
+        static void pack(VirtualFrame frame, FormatCode code, NumericSupport numeric, Object value, byte[] bytes, int pos,
+                        @Bind("this") Node inliningTarget,
+                        @Cached PyIndexCheckNode indexCheckNode,
+                        @Cached PyNumberIndexNode indexNode,
+                        @Cached PyLongAsLongAndOverflowNode asLongNode,
+                        @Cached PyFloatAsDoubleNode asDoubleNode,
+                        @Cached PyObjectIsTrueNode isTrueNode,
+                        @CachedLibrary(limit = "2") PythonBufferAccessLibrary bufferLib,
+                        @Cached PRaiseNode.Lazy raiseNode) {
+            long x;
+            switch (code.kind) {
+                case CHAR:
+                    if (!(value instanceof PBytes) || bufferLib.getBufferLength(value) != 1) {
+                        throw raiseNode.get(inliningTarget).raise(StructError, ErrorMessages.STRUCT_CHAR_FORMAT_REQUIRES_BYTES);
+                    }
+                    bytes[pos] = bufferLib.readByte(value, 0);
+                    break;
+                case BYTE:
+                    x = asLong(frame, inliningTarget, value, true, false, ErrorMessages.STRUCT_ARGUMENT_OUT_OF_RANGE, indexCheckNode, indexNode, asLongNode, raiseNode);
+                    if (x < -128 || x > 127) {
+                        throw raiseNode.get(inliningTarget).raise(StructError, ErrorMessages.STRUCT_BYTE_FORMAT_RANGE);
+                    }
+                    bytes[pos] = (byte) x;
+                    break;
+                case UBYTE:
+                    x = asLong(frame, inliningTarget, value, true, false, ErrorMessages.STRUCT_ARGUMENT_OUT_OF_RANGE, indexCheckNode, indexNode, asLongNode, raiseNode);
+                    if (x < 0 || x > 255) {
+                        throw raiseNode.get(inliningTarget).raise(StructError, ErrorMessages.STRUCT_UBYTE_FORMAT_RANGE);
+                    }
+                    bytes[pos] = (byte) x;
+                    break;
+                case BOOL:
+                    bytes[pos] = (byte) (isTrueNode.execute(frame, inliningTarget, value) ? 1 : 0);
+                    break;
+                case SHORT:
+                    x = asLong(frame, inliningTarget, value, true, false, ErrorMessages.STRUCT_ARGUMENT_OUT_OF_RANGE, indexCheckNode, indexNode, asLongNode, raiseNode);
+                    if (x < Short.MIN_VALUE || x > Short.MAX_VALUE) {
+                        throw raiseNode.get(inliningTarget).raise(StructError, ErrorMessages.STRUCT_SHORT_FORMAT_RANGE);
+                    }
+                    numeric.putShort(bytes, pos, (short) x);
+                    break;
+                case USHORT:
+                    x = asLong(frame, inliningTarget, value, true, false, ErrorMessages.STRUCT_ARGUMENT_OUT_OF_RANGE, indexCheckNode, indexNode, asLongNode, raiseNode);
+                    if (x < 0 || x > 0xFFFF) {
+                        throw raiseNode.get(inliningTarget).raise(StructError, ErrorMessages.STRUCT_USHORT_FORMAT_RANGE);
+                    }
+                    numeric.putShort(bytes, pos, (short) x);
+                    break;
+                case INT:
+                    x = asLong(frame, inliningTarget, value, true, false, ErrorMessages.STRUCT_ARGUMENT_OUT_OF_RANGE, indexCheckNode, indexNode, asLongNode, raiseNode);
+                    if (code.size < 8) {
+                        long max = (1L << (code.size * 8 - 1)) - 1;
+                        if (x < ~max || x > max) {
+                            throw raiseNode.get(inliningTarget).raise(StructError, ErrorMessages.STRUCT_C_FORMAT_REQUIRES_D_D, code.code, ~max, max);
+                        }
+                    }
+                    numeric.putLong(bytes, pos, x, code.size);
+                    break;
+                case UINT:
+                    x = asLong(frame, inliningTarget, value, false, true, ErrorMessages.STRUCT_ARGUMENT_OUT_OF_RANGE, indexCheckNode, indexNode, asLongNode, raiseNode);
+                    if (code.size < 8) {
+                        long max = (1L << (code.size * 8)) - 1;
+                        if (Long.compareUnsigned(x, max) > 0) {
+                            throw raiseNode.get(inliningTarget).raise(StructError, ErrorMessages.STRUCT_C_FORMAT_REQUIRES_D_D, code.code, 0, max);
+                        }
+                    }
+                    numeric.putLong(bytes, pos, x, code.size);
+                    break;
+                case LONG:
+                    x = asLong(frame, inliningTarget, value, true, false, ErrorMessages.STRUCT_ARGUMENT_OUT_OF_RANGE, indexCheckNode, indexNode, asLongNode, raiseNode);
+                    if (code.size == 4 && (int) x != x) {
+                        throw raiseNode.get(inliningTarget).raise(StructError, ErrorMessages.STRUCT_ARGUMENT_OUT_OF_RANGE);
+                    }
+                    numeric.putLong(bytes, pos, x, code.size);
+                    break;
+                case ULONG:
+                    x = asLong(frame, inliningTarget, value, false, true, ErrorMessages.STRUCT_ARGUMENT_OUT_OF_RANGE, indexCheckNode, indexNode, asLongNode, raiseNode);
+                    if (code.size == 4 && Long.compareUnsigned(x, 0xFFFFFFFFL) > 0) {
+                        throw raiseNode.get(inliningTarget).raise(StructError, ErrorMessages.STRUCT_ARGUMENT_OUT_OF_RANGE);
+                    }
+                    numeric.putLong(bytes, pos, x, code.size);
+                    break;
+                case STD_LONG:
+                    x = asLong(frame, inliningTarget, value, true, false, ErrorMessages.STRUCT_INT_TOO_LARGE, indexCheckNode, indexNode, asLongNode, raiseNode);
+                    numeric.putLong(bytes, pos, x);
+                    break;
+                case STD_ULONG:
+                    x = asLong(frame, inliningTarget, value, false, true, ErrorMessages.STRUCT_INT_TOO_LARGE, indexCheckNode, indexNode, asLongNode, raiseNode);
+                    numeric.putLong(bytes, pos, x);
+                    break;
+                case POINTER:
+                    x = asLong(frame, inliningTarget, value, true, true, ErrorMessages.STRUCT_INT_TOO_LARGE, indexCheckNode, indexNode, asLongNode, raiseNode);
+                    numeric.putLong(bytes, pos, x);
+                    break;
+                case HALF_FLOAT, FLOAT, DOUBLE:
+                    double d;
+                    try {
+                        d = asDoubleNode.execute(frame, inliningTarget, value);
+                    } catch (PException e) {
+                        throw raiseNode.get(inliningTarget).raise(StructError, ErrorMessages.STRUCT_ARG_NOT_A_FLOAT);
+                    }
+                    numeric.putDouble(inliningTarget, bytes, pos, d, code.size, raiseNode);
+                    break;
+                case STRING, PASCAL:
+                    if (!(value instanceof PBytesLike)) {
+                        throw raiseNode.get(inliningTarget).raise(StructError, ErrorMessages.STRUCT_ARG_FOR_C_MUST_BE_BYTES, code.code);
+                    }
+                    int n = bufferLib.getBufferLength(value);
+                    if (code.kind == STRING) {
+                        bufferLib.readIntoByteArray(value, 0, bytes, pos, Math.min(n, code.size));
+                    } else if (code.size > 0) {
+                        n = Math.min(n, code.size - 1);
+                        bufferLib.readIntoByteArray(value, 0, bytes, pos + 1, n);
+                        bytes[pos] = (byte) Math.min(n, 255);
+                    }
+                    break;
+                default:
+                    throw CompilerDirectives.shouldNotReachHere();
+            }
+        }
+
+        /**
+         * Converts the value to a 64-bit integer, the equivalent of CPython's {@code get_long} and
+         * {@code get_ulong} helpers. Unsigned values above {@link Long#MAX_VALUE} are returned in
+         * two's complement.
+         */
+        private static long asLong(VirtualFrame frame, Node inliningTarget, Object value, boolean allowNegative, boolean allowUnsigned, TruffleString overflowMessage,
+                        PyIndexCheckNode indexCheckNode, PyNumberIndexNode indexNode, PyLongAsLongAndOverflowNode asLongNode, PRaiseNode.Lazy raiseNode) {
+            if (!indexCheckNode.execute(inliningTarget, value)) {
+                throw raiseNode.get(inliningTarget).raise(StructError, ErrorMessages.STRUCT_ARG_NOT_AN_INTEGER);
+            }
+            Object index = indexNode.execute(frame, inliningTarget, value);
+            try {
+                long x = asLongNode.execute(frame, inliningTarget, index);
+                if (x < 0 && !allowNegative) {
+                    throw raiseNode.get(inliningTarget).raise(StructError, overflowMessage);
+                }
+                return x;
+            } catch (OverflowException e) {
+                if (allowUnsigned && index instanceof PInt pint && pint.isZeroOrPositive() && pint.bitLength() <= 64) {
+                    return pint.longValue();
+                }
+                throw raiseNode.get(inliningTarget).raise(StructError, overflowMessage);
+            }
+        }
+    }
+
+    static PTuple unpackBuffer(StructFormat format, Object buffer, int offset, PythonBufferAccessLibrary bufferLib, UnpackValuesNode unpackValuesNode) {
+        if (bufferLib.hasInternalByteArray(buffer)) {
+            return unpackValuesNode.execute(format, bufferLib.getInternalByteArray(buffer), offset);
+        }
+        byte[] bytes = new byte[format.getSize()];
+        bufferLib.readIntoByteArray(buffer, offset, bytes, 0, bytes.length);
+        return unpackValuesNode.execute(format, bytes, 0);
+    }
+
+    /**
+     * Implements {@code unpack} on an acquired buffer.
+     */
+    @GenerateInline(false)
+    public abstract static class UnpackNode extends Node {
+
+        public abstract PTuple execute(StructFormat format, Object buffer);
+
+        @Specialization(limit = "3")
+        static PTuple unpack(StructFormat format, Object buffer,
+                        @Bind("this") Node inliningTarget,
+                        @CachedLibrary("buffer") PythonBufferAccessLibrary bufferLib,
+                        @Cached UnpackValuesNode unpackValuesNode,
+                        @Cached PRaiseNode.Lazy raiseNode) {
+            if (bufferLib.getBufferLength(buffer) != format.getSize()) {
+                throw raiseNode.get(inliningTarget).raise(StructError, ErrorMessages.STRUCT_UNPACK_REQUIRES_D_BYTES, format.getSize());
+            }
+            return unpackBuffer(format, buffer, 0, bufferLib, unpackValuesNode);
+        }
+    }
+
+    /**
+     * Implements {@code unpack_from} on an acquired buffer.
+     */
+    @GenerateInline(false)
+    public abstract static class UnpackFromNode extends Node {
+
+        public abstract PTuple execute(StructFormat format, Object buffer, int offset);
+
+        @Specialization(limit = "3")
+        static PTuple unpackFrom(StructFormat format, Object buffer, int offsetArg,
+                        @Bind("this") Node inliningTarget,
+                        @CachedLibrary("buffer") PythonBufferAccessLibrary bufferLib,
+                        @Cached UnpackValuesNode unpackValuesNode,
+                        @Cached PRaiseNode.Lazy raiseNode) {
+            int size = format.getSize();
+            int length = bufferLib.getBufferLength(buffer);
+            long offset = offsetArg;
+            if (offset < 0) {
+                if (offset + size > 0) {
+                    throw raiseNode.get(inliningTarget).raise(StructError, ErrorMessages.STRUCT_NOT_ENOUGH_DATA_TO_UNPACK, size, offset);
+                }
+                if (offset + length < 0) {
+                    throw raiseNode.get(inliningTarget).raise(StructError, ErrorMessages.STRUCT_OFFSET_OUT_OF_RANGE, offset, length);
+                }
+                offset += length;
+            }
+            if (length - offset < size) {
+                throw raiseNode.get(inliningTarget).raise(StructError, ErrorMessages.STRUCT_UNPACK_FROM_REQUIRES, size + offset, size, offset, length);
+            }
+            return unpackBuffer(format, buffer, (int) offset, bufferLib, unpackValuesNode);
+        }
+    }
+
+    /**
+     * Implements {@code pack}.
+     */
+    @GenerateInline(false)
+    public abstract static class PackNode extends Node {
+
+        public abstract PBytes execute(VirtualFrame frame, StructFormat format, Object[] args);
+
+        @Specialization
+        static PBytes pack(VirtualFrame frame, StructFormat format, Object[] args,
+                        @Bind("this") Node inliningTarget,
+                        @Cached PackValuesNode packValuesNode,
+                        @Cached PythonObjectFactory factory,
+                        @Cached PRaiseNode.Lazy raiseNode) {
+            if (args.length != format.getLen()) {
+                throw raiseNode.get(inliningTarget).raise(StructError, ErrorMessages.STRUCT_PACK_EXPECTED_D_ITEMS, format.getLen(), args.length);
+            }
+            byte[] bytes = new byte[format.getSize()];
+            packValuesNode.execute(frame, format, args, 0, bytes, 0);
+            return factory.createBytes(bytes);
+        }
+    }
+
+    /**
+     * Implements {@code pack_into}, {@code args} contains the buffer and the offset followed by the
+     * values.
+     */
+    @GenerateInline(false)
+    public abstract static class PackIntoNode extends Node {
+
+        public abstract void execute(VirtualFrame frame, StructFormat format, Object[] args);
+
+        @Specialization
+        static void packInto(VirtualFrame frame, StructFormat format, Object[] args,
+                        @Bind("this") Node inliningTarget,
+                        @Cached("createFor(this)") IndirectCallData indirectCallData,
+                        @CachedLibrary(limit = "3") PythonBufferAcquireLibrary acquireLib,
+                        @CachedLibrary(limit = "3") PythonBufferAccessLibrary bufferLib,
+                        @Cached PyNumberAsSizeNode asSizeNode,
+                        @Cached PackValuesNode packValuesNode,
+                        @Cached PRaiseNode.Lazy raiseNode) {
+            if (args.length != format.getLen() + 2) {
+                if (args.length == 0) {
+                    throw raiseNode.get(inliningTarget).raise(StructError, ErrorMessages.STRUCT_PACK_INTO_EXPECTED_BUFFER);
+                } else if (args.length == 1) {
+                    throw raiseNode.get(inliningTarget).raise(StructError, ErrorMessages.STRUCT_PACK_INTO_EXPECTED_OFFSET);
+                }
+                throw raiseNode.get(inliningTarget).raise(StructError, ErrorMessages.STRUCT_PACK_INTO_EXPECTED_D_ITEMS, format.getLen(), args.length - 2);
+            }
+            Object buffer = acquireLib.acquireWritableWithTypeError(args[0], "pack_into", frame, indirectCallData);
+            try {
+                int size = format.getSize();
+                int length = bufferLib.getBufferLength(buffer);
+                long offset = asSizeNode.executeExact(frame, inliningTarget, args[1], IndexError);
+                if (offset < 0) {
+                    if (offset + size > 0) {
+                        throw raiseNode.get(inliningTarget).raise(StructError, ErrorMessages.STRUCT_NO_SPACE_TO_PACK, size, offset);
+                    }
+                    if (offset + length < 0) {
+                        throw raiseNode.get(inliningTarget).raise(StructError, ErrorMessages.STRUCT_OFFSET_OUT_OF_RANGE, offset, length);
+                    }
+                    offset += length;
+                }
+                if (length - offset < size) {
+                    throw raiseNode.get(inliningTarget).raise(StructError, ErrorMessages.STRUCT_PACK_INTO_REQUIRES, size + offset, size, offset, length);
+                }
+                if (bufferLib.hasInternalByteArray(buffer)) {
+                    byte[] bytes = bufferLib.getInternalByteArray(buffer);
+                    Arrays.fill(bytes, (int) offset, (int) offset + size, (byte) 0);
+                    packValuesNode.execute(frame, format, args, 2, bytes, (int) offset);
+                } else {
+                    byte[] bytes = new byte[size];
+                    packValuesNode.execute(frame, format, args, 2, bytes, 0);
+                    bufferLib.writeFromByteArray(buffer, (int) offset, bytes, 0, size);
+                }
+            } finally {
+                bufferLib.release(buffer, frame, indirectCallData);
+            }
+        }
+    }
+
+    /**
+     * Implements {@code iter_unpack}.
+     */
+    @GenerateInline(false)
+    public abstract static class IterUnpackNode extends Node {
+
+        public abstract PStructUnpackIterator execute(VirtualFrame frame, StructFormat format, Object buffer);
+
+        @Specialization
+        static PStructUnpackIterator iterUnpack(VirtualFrame frame, StructFormat format, Object bufferObj,
+                        @Bind("this") Node inliningTarget,
+                        @Cached("createFor(this)") IndirectCallData indirectCallData,
+                        @CachedLibrary(limit = "3") PythonBufferAcquireLibrary acquireLib,
+                        @CachedLibrary(limit = "3") PythonBufferAccessLibrary bufferLib,
+                        @Cached PythonObjectFactory factory,
+                        @Cached PRaiseNode.Lazy raiseNode) {
+            if (format.getSize() == 0) {
+                throw raiseNode.get(inliningTarget).raise(StructError, ErrorMessages.STRUCT_ITER_UNPACK_ZERO_LENGTH);
+            }
+            Object buffer = acquireLib.acquireReadonly(bufferObj, frame, indirectCallData);
+            int length = bufferLib.getBufferLength(buffer);
+            if (length % format.getSize() != 0) {
+                bufferLib.release(buffer, frame, indirectCallData);
+                throw raiseNode.get(inliningTarget).raise(StructError, ErrorMessages.STRUCT_ITER_UNPACK_MULTIPLE, format.getSize());
+            }
+            return factory.createStructUnpackIterator(format, buffer, length);
+        }
+    }
+}
@@ -42,6 +42,7 @@ package com.oracle.graal.python.lib;
 
 import com.oracle.graal.python.builtins.objects.common.HashingStorageNodes.HashingStorageDelItem;
 import com.oracle.graal.python.builtins.objects.dict.PDict;
+import com.oracle.graal.python.runtime.CriticalSection;
 import com.oracle.truffle.api.dsl.Cached;
 import com.oracle.truffle.api.dsl.Cached.Shared;
 import com.oracle.truffle.api.dsl.GenerateCached;
@@ -77,18 +78,24 @@ public abstract class PyDictDelItem extends Node {
     @Specialization
     static void delItemWithStringKey(Node inliningTarget, @SuppressWarnings("unused") PDict dict, TruffleString key,
                     @Shared("delStorageItem") @Cached HashingStorageDelItem delItem) {
-        delItem.execute(inliningTarget, dict.getDictStorage(), key, dict);
+        try (CriticalSection cs = CriticalSection.enter(inliningTarget, dict)) {
+            delItem.execute(inliningTarget, dict.getDictStorage(), key, dict);
+        }
     }
 
     @Specialization(replaces = "delItemWithStringKey")
     static void delItemCached(VirtualFrame frame, Node inliningTarget, @SuppressWarnings("unused") PDict dict, Object key,
                     @Shared("delStorageItem") @Cached HashingStorageDelItem delItem) {
-        delItem.execute(frame, inliningTarget, dict.getDictStorage(), key, dict);
+        try (CriticalSection cs = CriticalSection.enter(inliningTarget, dict)) {
+            delItem.execute(frame, inliningTarget, dict.getDictStorage(), key, dict);
+        }
     }
 
     @Specialization(replaces = "delItemCached")
     static void delItem(Node inliningTarget, PDict dict, Object key,
                     @Shared("delStorageItem") @Cached HashingStorageDelItem delItem) {
-        delItem.execute(null, inliningTarget, dict.getDictStorage(), key, dict);
+        try (CriticalSection cs = CriticalSection.enter(inliningTarget, dict)) {
+            delItem.execute(null, inliningTarget, dict.getDictStorage(), key, dict);
+        }
     }
 }
@@ -45,6 +45,7 @@ import com.oracle.graal.python.builtins.objects.common.HashingStorageNodes.Hashi
 import com.oracle.graal.python.builtins.objects.common.HashingStorageNodes.HashingStorageSetItemWithHash;
 import com.oracle.graal.python.builtins.objects.dict.PDict;
 import com.oracle.graal.python.nodes.PNodeWithContext;
+import com.oracle.graal.python.runtime.CriticalSection;
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.dsl.Cached;
 import com.oracle.truffle.api.dsl.GenerateCached;
@@ -74,12 +75,14 @@ public abstract class PyDictSetDefault extends PNodeWithContext {
                     @Cached HashingStorageSetItemWithHash setItem,
                     @Cached InlinedConditionProfile hasValue) {
         long keyHash = hashNode.execute(frame, inliningTarget, key);
-        Object value = getItem.execute(frame, inliningTarget, dict.getDictStorage(), key, keyHash);
-        if (hasValue.profile(inliningTarget, value != null)) {
-            return value;
+        try (CriticalSection cs = CriticalSection.enter(inliningTarget, dict)) {
+            Object value = getItem.execute(frame, inliningTarget, dict.getDictStorage(), key, keyHash);
+            if (hasValue.profile(inliningTarget, value != null)) {
+                return value;
+            }
+            HashingStorage newStorage = setItem.execute(frame, inliningTarget, dict.getDictStorage(), key, keyHash, defaultValue);
+            dict.setDictStorage(newStorage);
+            return defaultValue;
         }
-        HashingStorage newStorage = setItem.execute(frame, inliningTarget, dict.getDictStorage(), key, keyHash, defaultValue);
-        dict.setDictStorage(newStorage);
-        return defaultValue;
     }
 }
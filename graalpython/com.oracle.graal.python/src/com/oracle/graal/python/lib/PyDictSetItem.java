@@ -43,6 +43,7 @@ package com.oracle.graal.python.lib;
 import com.oracle.graal.python.builtins.objects.common.HashingStorage;
 import com.oracle.graal.python.builtins.objects.common.HashingStorageNodes.HashingStorageSetItem;
 import com.oracle.graal.python.builtins.objects.dict.PDict;
+import com.oracle.graal.python.runtime.CriticalSection;
 import com.oracle.truffle.api.dsl.Cached;
 import com.oracle.truffle.api.dsl.Cached.Shared;
 import com.oracle.truffle.api.dsl.GenerateCached;
@@ -79,10 +80,12 @@ public abstract class PyDictSetItem extends Node {
     static void setItemWithStringKey(Node inliningTarget, PDict dict, TruffleString key, Object item,
                     @Shared("setItem") @Cached(inline = false) HashingStorageSetItem setItem,
                     @Shared("updateStorage") @Cached InlinedCountingConditionProfile updateStorageProfile) {
-        HashingStorage dictStorage = dict.getDictStorage();
-        HashingStorage updatedStorage = setItem.execute(inliningTarget, dictStorage, key, item);
-        if (updateStorageProfile.profile(inliningTarget, updatedStorage != dictStorage)) {
-            dict.setDictStorage(updatedStorage);
+        try (CriticalSection cs = CriticalSection.enter(inliningTarget, dict)) {
+            HashingStorage dictStorage = dict.getDictStorage();
+            HashingStorage updatedStorage = setItem.execute(inliningTarget, dictStorage, key, item);
+            if (updateStorageProfile.profile(inliningTarget, updatedStorage != dictStorage)) {
+                dict.setDictStorage(updatedStorage);
+            }
         }
     }
 
@@ -90,10 +93,12 @@ public abstract class PyDictSetItem extends Node {
     static void setItemCached(VirtualFrame frame, Node inliningTarget, @SuppressWarnings("unused") PDict dict, Object key, Object item,
                     @Shared("setItem") @Cached(inline = false) HashingStorageSetItem setItem,
                     @Shared("updateStorage") @Cached InlinedCountingConditionProfile updateStorageProfile) {
-        HashingStorage dictStorage = dict.getDictStorage();
-        HashingStorage updatedStorage = setItem.execute(frame, inliningTarget, dictStorage, key, item);
-        if (updateStorageProfile.profile(inliningTarget, updatedStorage != dictStorage)) {
-            dict.setDictStorage(updatedStorage);
+        try (CriticalSection cs = CriticalSection.enter(inliningTarget, dict)) {
+            HashingStorage dictStorage = dict.getDictStorage();
+            HashingStorage updatedStorage = setItem.execute(frame, inliningTarget, dictStorage, key, item);
+            if (updateStorageProfile.profile(inliningTarget, updatedStorage != dictStorage)) {
+                dict.setDictStorage(updatedStorage);
+            }
         }
     }
 
@@ -101,10 +106,12 @@ public abstract class PyDictSetItem extends Node {
     static void setItem(Node inliningTarget, PDict dict, Object key, Object item,
                     @Shared("setItem") @Cached(inline = false) HashingStorageSetItem setItem,
                     @Shared("updateStorage") @Cached InlinedCountingConditionProfile updateStorageProfile) {
-        HashingStorage dictStorage = dict.getDictStorage();
-        HashingStorage updatedStorage = setItem.execute(null, inliningTarget, dictStorage, key, item);
-        if (updateStorageProfile.profile(inliningTarget, updatedStorage != dictStorage)) {
-            dict.setDictStorage(updatedStorage);
+        try (CriticalSection cs = CriticalSection.enter(inliningTarget, dict)) {
+            HashingStorage dictStorage = dict.getDictStorage();
+            HashingStorage updatedStorage = setItem.execute(null, inliningTarget, dictStorage, key, item);
+            if (updateStorageProfile.profile(inliningTarget, updatedStorage != dictStorage)) {
+                dict.setDictStorage(updatedStorage);
+            }
         }
     }
 
@@ -78,7 +78,7 @@ import com.oracle.truffle.api.nodes.Node;
 public abstract class PySequenceSetItemNode extends Node {
     // todo: fa [GR-51456]
     private static final NativeCAPISymbol SYMBOL = NativeCAPISymbol.FUN_PY_TRUFFLE_PY_SEQUENCE_SET_ITEM;
-    private static final CApiTiming C_API_TIMING = CApiTiming.create(true, SYMBOL.getName());
+    private static final CApiTiming C_API_TIMING = CApiTiming.createPermanent(true, SYMBOL.getName());
 
     public abstract Object execute(Frame frame, Object object, int index, Object value);
 
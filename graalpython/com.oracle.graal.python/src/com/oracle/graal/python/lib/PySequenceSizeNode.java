@@ -82,7 +82,7 @@ import com.oracle.truffle.api.nodes.Node;
 public abstract class PySequenceSizeNode extends Node {
     // todo: fa [GR-51456]
     private static final NativeCAPISymbol SYMBOL = NativeCAPISymbol.FUN_PY_TRUFFLE_PY_SEQUENCE_SIZE;
-    private static final CApiTiming C_API_TIMING = CApiTiming.create(true, SYMBOL.getName());
+    private static final CApiTiming C_API_TIMING = CApiTiming.createPermanent(true, SYMBOL.getName());
 
     public abstract long execute(Frame frame, Object object);
 
@@ -430,6 +430,14 @@ public abstract class BuiltinNames {
     public static final String J__SRE = "_sre";
     public static final TruffleString T__SRE = tsLiteral(J__SRE);
 
+    public static final String J__HEAPQ = "_heapq";
+
+    public static final String J__BISECT = "_bisect";
+
+    public static final String J__DATETIME_ACCEL = "_datetime_accel";
+
+    public static final String J__DECIMAL_ACCEL = "_decimal_accel";
+
     // function names
     public static final String J_ADD = "add";
     public static final TruffleString T_ADD = tsLiteral(J_ADD);
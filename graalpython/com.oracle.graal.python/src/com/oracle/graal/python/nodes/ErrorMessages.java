@@ -250,6 +250,7 @@ public abstract class ErrorMessages {
     public static final TruffleString COMPLEX_ZERO_TO_NEGATIVE_POWER = tsLiteral("0.0 to a negative or complex power");
     public static final TruffleString COMPLEX_MODULO = tsLiteral("complex modulo");
     public static final TruffleString COMPLEX_RETURNED_NON_COMPLEX = tsLiteral("__complex__ returned non-complex (type %p)");
+    public static final TruffleString CONCURRENT_POLL_INVOCATION = tsLiteral("concurrent poll() invocation");
     public static final TruffleString CONSTRUCTOR_REQUIRES_A_SEQUENCE = tsLiteral("constructor requires a sequence");
     public static final TruffleString CONTIGUOUS_BUFFER = tsLiteral("contiguous buffer");
     public static final TruffleString CONVERTER_FUNC_FAILED_TO_SET_ERROR = tsLiteral("converter function failed to set an error on failure");
@@ -374,6 +375,7 @@ public abstract class ErrorMessages {
     public static final TruffleString P_HAS_RO_ATTRS_S_TO_DELETE = tsLiteral("'%p' object has only read-only attributes (del .%s)");
     public static final TruffleString HASH_MISMATCH = tsLiteral("hash mismatch: known hash is different to computed hash");
     public static final TruffleString HASH_SHOULD_RETURN_INTEGER = tsLiteral("__hash__ method should return an integer");
+    public static final TruffleString HEAP_ARGUMENT_MUST_BE_A_LIST = tsLiteral("heap argument must be a list");
     public static final TruffleString HEX_VALUE_TOO_LARGE_AS_FLOAT = tsLiteral("hexadecimal value too large to represent as a float");
     public static final TruffleString HOST_ACCESS_NOT_ALLOWED = tsLiteral("host access is not allowed");
     public static final TruffleString HOST_LOOKUP_NOT_ALLOWED = tsLiteral("host lookup is not allowed");
@@ -415,9 +417,11 @@ public abstract class ErrorMessages {
     public static final TruffleString INVALID_CONVERSION = tsLiteral("invalid conversion");
     public static final TruffleString INVALID_ESCAPE_AT = tsLiteral("invalid %s escape at position %d");
     public static final TruffleString INVALID_FILTER = tsLiteral("Invalid filter ID: %d");
+    public static final TruffleString INVALID_GENERATION = tsLiteral("invalid generation");
     public static final TruffleString INVALID_FILTER_CHAIN_FOR_FORMAT = tsLiteral("Invalid filter chain for FORMAT_ALONE - must be a single LZMA1 filter");
     public static final TruffleString INVALID_INDEX_S = tsLiteral("invalid index %s");
     public static final TruffleString INVALID_INSTANTIATION_OF_FOREIGN_OBJ = tsLiteral("invalid instantiation of foreign object");
+    public static final TruffleString INVALID_ISOFORMAT_STRING = tsLiteral("Invalid isoformat string: %s");
     public static final TruffleString INVALID_INTEGER_VALUE = tsLiteral("invalid integer value: %s");
     public static final TruffleString INVALID_ITEM_FOR_ASSIGMENT = tsLiteral("invalid item for assignment");
     public static final TruffleString INVALID_ITEM_RETURNED_FROM_NATIVE_SEQ = tsLiteral("Invalid item type %s returned from native sequence storage (expected: %s)");
@@ -495,6 +499,7 @@ public abstract class ErrorMessages {
     public static final TruffleString MATH_DOMAIN_ERROR = tsLiteral("math domain error");
     public static final TruffleString MATH_RANGE_ERROR = tsLiteral("math range error");
     public static final TruffleString MAX_MARSHAL_STACK_DEPTH = tsLiteral("Maximum marshal stack depth");
+    public static final TruffleString MAXEVENTS_MUST_BE_GREATER_THAN_ZERO = tsLiteral("maxevents must be greater than 0, got %d");
     public static final TruffleString M = tsLiteral("%m");
     public static final TruffleString MEMORYVIEW_INVALID_SLICE_KEY = tsLiteral("memoryview: invalid slice key");
     public static final TruffleString MEMORYVIEW_A_BYTES_LIKE_OBJECT_REQUIRED_NOT_P = tsLiteral("memoryview: a bytes-like object is required, not '%p'");
@@ -520,6 +525,7 @@ public abstract class ErrorMessages {
     public static final TruffleString MISSING_S = tsLiteral("Missing %s");
     public static final TruffleString S_MISSING_REQUIRED_ARG_POS_D = tsLiteral("%s missing required argument (pos %d)");
     public static final TruffleString MMAP_INDEX_OUT_OF_RANGE = tsLiteral("mmap index out of range");
+    public static final TruffleString MONTH_MUST_BE_IN_1_12 = tsLiteral("month must be in 1..12");
     public static final TruffleString MODULE_HAS_NO_ATTR_S = tsLiteral("module has no attribute '%s'");
     public static final TruffleString MODULE_PARTIALLY_INITIALIZED_S_HAS_NO_ATTR_S = tsLiteral("partially initialized module '%s' has no attribute '%s' (most likely due to a circular import)");
     public static final TruffleString MODULE_S_HAS_NO_ATTR_S = tsLiteral("module '%s' has no attribute '%s'");
@@ -570,6 +576,7 @@ public abstract class ErrorMessages {
     public static final TruffleString NEGATIVE_DATA_SIZE = tsLiteral("negative data size");
     public static final TruffleString NEGATIVE_SHIFT_COUNT = tsLiteral("negative shift count");
     public static final TruffleString NEGATIVE_SIZE_PASSED = tsLiteral("negative size passed");
+    public static final TruffleString NEGATIVE_SIZEHINT = tsLiteral("negative sizehint");
     public static final TruffleString NEW_TAKES_ONE_ARG = tsLiteral("object.__new__() takes exactly one argument (the type to instantiate)");
     public static final TruffleString NEW_TAKES_NO_ARGS = tsLiteral("%N() takes no arguments");
     public static final TruffleString NO_ACTIVE_EX_TO_RERAISE = tsLiteral("No active exception to reraise");
@@ -589,6 +596,7 @@ public abstract class ErrorMessages {
     public static final TruffleString NOT_SUPPORTED_BETWEEN_INSTANCES = tsLiteral("'%s' not supported between instances of '%p' and '%p'");
     public static final TruffleString NUMBER_IS_REQUIRED = tsLiteral("a number is required");
     public static final TruffleString NUMBER_S_CANNOT_FIT_INTO_INDEXSIZED_INT = tsLiteral("number %s cannot fit into index-sized integer");
+    public static final TruffleString NUMBER_OF_FRAMES_MUST_BE_IN_RANGE = tsLiteral("the number of frames must be in range [1; %d]");
     public static final TruffleString OBJ_INDEX_MUST_BE_INT_OR_SLICES = tsLiteral("%s indices must be integers or slices, not %p");
     public static final TruffleString OBJ_CANNOT_BE_INTERPRETED_AS_INTEGER = tsLiteral("'%p' object cannot be interpreted as an int");
     public static final TruffleString OBJ_DOES_NOT_SUPPORT_INDEXING = tsLiteral("'%p' object does not support indexing");
@@ -791,6 +799,7 @@ public abstract class ErrorMessages {
     public static final TruffleString UNKNOWN_F_VALUE_CONVERSION_KIND = tsLiteral("unknown f-value conversion kind");
     public static final TruffleString UNKNOWN_FORMAT_CODE = tsLiteral("Unknown format code '%c' for object of type '%s'");
     public static final TruffleString UNKNOWN_OPCODE = tsLiteral("unknown opcode");
+    public static final TruffleString UNKNOWN_TIMESPEC_VALUE = tsLiteral("Unknown timespec value");
     public static final TruffleString UNKNOWN_S_TYPE = tsLiteral("unknown %s type");
     public static final TruffleString UNKNOWN_STORAGE_STRATEGY = tsLiteral("Unknown storage strategy name");
     public static final TruffleString EXPECTED_RBRACE_BEFORE_END_OF_STRING = tsLiteral("expected '}' before end of string");
@@ -816,6 +825,7 @@ public abstract class ErrorMessages {
     public static final TruffleString UNSUPPORTED_USE_OF_SYS_EXECUTABLE = tsLiteral("internal error: unsupported use of sys.executable");
     public static final TruffleString UPDATING_FINALIZED_DIGEST_IS_NOT_SUPPORTED = tsLiteral("internal error: updating a finalized digest is not supported");
     public static final TruffleString UTIME_CANNOT_USE_DIR_FD_AND_FOLLOW_SYMLINKS = tsLiteral("utime: cannot use dir_fd and follow_symlinks together on this platform");
+    public static final TruffleString VALUE_MUST_BE_POSITIVE = tsLiteral("value must be positive");
     public static final TruffleString VALUE_TOO_LARGE_TO_FIT_INTO_INDEX = tsLiteral("value too large to fit into index-sized integer");
     public static final TruffleString VARS_ARGUMENT_MUST_HAVE_DICT = tsLiteral("vars() argument must have __dict__ attribute");
     public static final TruffleString WAS_NOT_POSSIBLE_TO_MARSHAL_P = tsLiteral("Was not possible to marshal %p");
@@ -841,6 +851,7 @@ public abstract class ErrorMessages {
     public static final TruffleString ALTERNATE_NOT_ALLOWED_WITH_STRING_FMT = tsLiteral("Alternate form (#) not allowed in string format specifier");
     public static final TruffleString CAPI_LOAD_ERROR = tsLiteral("Could not load C API from %s.");
     public static final TruffleString NATIVE_ACCESS_NOT_ALLOWED = tsLiteral("Cannot run any C extensions because native access is not allowed.");
+    public static final TruffleString CANNOT_USE_C_EXTENSIONS_WITHOUT_GIL = tsLiteral("Cannot run any C extensions because the context runs without the GIL (option 'python.FreeThreaded').");
     public static final TruffleString CANNOT_CONVERT_NEGATIVE_VALUE_TO_UNSIGNED_INT = tsLiteral("can't convert negative value to unsigned int");
     public static final TruffleString SEND_NON_NONE_TO_UNSTARTED_GENERATOR = tsLiteral("can't send non-None value to a just-started generator");
     public static final TruffleString UNSUPPORTED_FORMAT_STRING_PASSED_TO_P_FORMAT = tsLiteral("unsupported format string passed to %p.__format__");
@@ -1114,6 +1125,7 @@ public abstract class ErrorMessages {
     public static final TruffleString IO_STREAM_INVALID_POS = tsLiteral("Raw stream returned invalid position %d");
     public static final TruffleString IO_STREAM_DETACHED = tsLiteral("raw stream has been detached");
     public static final TruffleString IO_UNINIT = tsLiteral("I/O operation on uninitialized object");
+    public static final TruffleString IO_OPERATION_ON_CLOSED_EPOLL = tsLiteral("I/O operation on closed epoll object");
     public static final TruffleString DETACHED_BUFFER = tsLiteral("underlying buffer has been detached");
     public static final TruffleString UNSUPPORTED_WHENCE = tsLiteral("whence value %d unsupported");
     public static final TruffleString IO_CLOSED = tsLiteral("I/O operation on closed file.");
@@ -1666,4 +1678,33 @@ public abstract class ErrorMessages {
     public static final TruffleString CANNOT_EXTRACT_RAW_BUFFER_FROM_NON_CONTIGUOUS = tsLiteral("cannot extract raw buffer from non-contiguous buffer");
     public static final TruffleString MEMO_VALUE_NOT_FOUND_AT_INDEX_D = tsLiteral("Memo value not found at index %d");
     public static final TruffleString ATRIBUTE_DELETION_NOT_SUPPORTED = tsLiteral("attribute deletion is not supported");
+
+    // struct
+    public static final TruffleString STRUCT_ARGUMENT_OUT_OF_RANGE = tsLiteral("argument out of range");
+    public static final TruffleString STRUCT_ARG_NOT_AN_INTEGER = tsLiteral("required argument is not an integer");
+    public static final TruffleString STRUCT_ARG_NOT_A_FLOAT = tsLiteral("required argument is not a float");
+    public static final TruffleString STRUCT_ARG_FOR_C_MUST_BE_BYTES = tsLiteral("argument for '%c' must be a bytes object");
+    public static final TruffleString STRUCT_BYTE_FORMAT_RANGE = tsLiteral("byte format requires -128 <= number <= 127");
+    public static final TruffleString STRUCT_UBYTE_FORMAT_RANGE = tsLiteral("ubyte format requires 0 <= number <= 255");
+    public static final TruffleString STRUCT_SHORT_FORMAT_RANGE = tsLiteral("short format requires -32768 <= number <= 32767");
+    public static final TruffleString STRUCT_USHORT_FORMAT_RANGE = tsLiteral("ushort format requires 0 <= number <= 65535");
+    public static final TruffleString STRUCT_CHAR_FORMAT_REQUIRES_BYTES = tsLiteral("char format requires a bytes object of length 1");
+    public static final TruffleString STRUCT_C_FORMAT_REQUIRES_D_D = tsLiteral("'%c' format requires %d <= number <= %d");
+    public static final TruffleString STRUCT_INT_TOO_LARGE = tsLiteral("int too large to convert");
+    public static final TruffleString STRUCT_BAD_CHAR_IN_FORMAT = tsLiteral("bad char in struct format");
+    public static final TruffleString STRUCT_REPEAT_WITHOUT_FORMAT = tsLiteral("repeat count given without format specifier");
+    public static final TruffleString STRUCT_SIZE_TOO_LONG = tsLiteral("total struct size too long");
+    public static final TruffleString STRUCT_ARG_1_MUST_BE_STR_OR_BYTES = tsLiteral("Struct() argument 1 must be a str or bytes object, not %p");
+    public static final TruffleString STRUCT_UNPACK_REQUIRES_D_BYTES = tsLiteral("unpack requires a buffer of %d bytes");
+    public static final TruffleString STRUCT_NOT_ENOUGH_DATA_TO_UNPACK = tsLiteral("not enough data to unpack %d bytes at offset %d");
+    public static final TruffleString STRUCT_OFFSET_OUT_OF_RANGE = tsLiteral("offset %d out of range for %d-byte buffer");
+    public static final TruffleString STRUCT_UNPACK_FROM_REQUIRES = tsLiteral("unpack_from requires a buffer of at least %d bytes for unpacking %d bytes at offset %d (actual buffer size is %d)");
+    public static final TruffleString STRUCT_ITER_UNPACK_ZERO_LENGTH = tsLiteral("cannot iteratively unpack with a struct of length 0");
+    public static final TruffleString STRUCT_ITER_UNPACK_MULTIPLE = tsLiteral("iterative unpacking requires a buffer of a multiple of %d bytes");
+    public static final TruffleString STRUCT_PACK_EXPECTED_D_ITEMS = tsLiteral("pack expected %d items for packing (got %d)");
+    public static final TruffleString STRUCT_PACK_INTO_EXPECTED_BUFFER = tsLiteral("pack_into expected buffer argument");
+    public static final TruffleString STRUCT_PACK_INTO_EXPECTED_OFFSET = tsLiteral("pack_into expected offset argument");
+    public static final TruffleString STRUCT_PACK_INTO_EXPECTED_D_ITEMS = tsLiteral("pack_into expected %d items for packing (got %d)");
+    public static final TruffleString STRUCT_NO_SPACE_TO_PACK = tsLiteral("no space to pack %d bytes at offset %d");
+    public static final TruffleString STRUCT_PACK_INTO_REQUIRES = tsLiteral("pack_into requires a buffer of at least %d bytes for packing %d bytes at offset %d (actual buffer size is %d)");
 }
@@ -51,6 +51,8 @@ import static com.oracle.graal.python.runtime.exception.PythonErrorType.TypeErro
 import com.oracle.graal.python.builtins.PythonBuiltinClassType;
 import com.oracle.graal.python.builtins.modules.MathGuards;
 import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.builtins.objects.array.ArrayNodes;
+import com.oracle.graal.python.builtins.objects.array.PArray;
 import com.oracle.graal.python.builtins.objects.cext.PythonAbstractNativeObject;
 import com.oracle.graal.python.builtins.objects.cext.structs.CStructAccess;
 import com.oracle.graal.python.builtins.objects.common.SequenceNodes;
@@ -75,6 +77,7 @@ import com.oracle.graal.python.nodes.classes.IsSubtypeNode;
 import com.oracle.graal.python.nodes.object.GetClassNode;
 import com.oracle.graal.python.nodes.truffle.PythonArithmeticTypes;
 import com.oracle.graal.python.nodes.util.CastToTruffleStringNode;
+import com.oracle.graal.python.runtime.CriticalSection;
 import com.oracle.graal.python.runtime.PythonOptions;
 import com.oracle.graal.python.runtime.object.PythonObjectFactory;
 import com.oracle.graal.python.runtime.sequence.PSequence;
@@ -106,7 +109,7 @@ import com.oracle.truffle.api.strings.TruffleStringIterator;
 public abstract class ListNodes {
 
     @GenerateUncached
-    @ImportStatic({PGuards.class, PythonOptions.class})
+    @ImportStatic({PGuards.class, PythonOptions.class, ArrayNodes.class})
     @GenerateInline(false) // footprint reduction 40 -> 21
     public abstract static class ConstructListNode extends PNodeWithContext {
 
@@ -154,6 +157,12 @@ public abstract class ListNodes {
             return factory.createList(cls, copyNode.execute(inliningTarget, getSequenceStorageNode.execute(inliningTarget, list)));
         }
 
+        @Specialization(guards = {"cannotBeOverriddenForImmutableType(array)", "hasPrimitiveListStorage(array)"})
+        static PList fromArray(Object cls, PArray array,
+                        @Shared @Cached PythonObjectFactory factory) {
+            return factory.createList(cls, ArrayNodes.toPrimitiveListStorage(array));
+        }
+
         @Specialization(guards = {"!isNoValue(iterable)", "!isString(iterable)"})
         static PList listIterable(VirtualFrame frame, Object cls, Object iterable,
                         @Bind("this") Node inliningTarget,
@@ -336,25 +345,27 @@ public abstract class ListNodes {
                         @Bind("this") Node inliningTarget,
                         @Cached SequenceStorageNodes.AppendNode appendNode,
                         @Cached(value = "getUpdateStoreProfile()", uncached = "getUpdateStoreProfileUncached()", dimensions = 1) BranchProfile[] updateStoreProfile) {
-            if (updateStoreProfile[0] == null) {
-                // Executed for the first time. We don't pollute the AppendNode specializations,
-                // yet, in case we're transitioning exactly once, because we'll pontentially pass
-                // that information on to the list origin and it'll never happen again.
-                CompilerDirectives.transferToInterpreterAndInvalidate();
-                SequenceStorage newStore = SequenceStorageNodes.AppendNode.executeUncached(list.getSequenceStorage(), value, ListGeneralizationNode.SUPPLIER);
-                updateStoreProfile[0] = BranchProfile.create();
-                list.setSequenceStorage(newStore);
-                if (list.getOrigin() != null && newStore instanceof BasicSequenceStorage) {
-                    list.getOrigin().reportUpdatedCapacity((BasicSequenceStorage) newStore);
-                }
-            } else {
-                SequenceStorage newStore = appendNode.execute(inliningTarget, list.getSequenceStorage(), value, ListGeneralizationNode.SUPPLIER);
-                if (list.getSequenceStorage() != newStore) {
-                    updateStoreProfile[0].enter();
+            try (CriticalSection cs = CriticalSection.enter(inliningTarget, list)) {
+                if (updateStoreProfile[0] == null) {
+                    // Executed for the first time. We don't pollute the AppendNode specializations,
+                    // yet, in case we're transitioning exactly once, because we'll pontentially pass
+                    // that information on to the list origin and it'll never happen again.
+                    CompilerDirectives.transferToInterpreterAndInvalidate();
+                    SequenceStorage newStore = SequenceStorageNodes.AppendNode.executeUncached(list.getSequenceStorage(), value, ListGeneralizationNode.SUPPLIER);
+                    updateStoreProfile[0] = BranchProfile.create();
                     list.setSequenceStorage(newStore);
-                }
-                if (CompilerDirectives.inInterpreter() && list.getOrigin() != null && newStore instanceof BasicSequenceStorage) {
-                    list.getOrigin().reportUpdatedCapacity((BasicSequenceStorage) newStore);
+                    if (list.getOrigin() != null && newStore instanceof BasicSequenceStorage) {
+                        list.getOrigin().reportUpdatedCapacity((BasicSequenceStorage) newStore);
+                    }
+                } else {
+                    SequenceStorage newStore = appendNode.execute(inliningTarget, list.getSequenceStorage(), value, ListGeneralizationNode.SUPPLIER);
+                    if (list.getSequenceStorage() != newStore) {
+                        updateStoreProfile[0].enter();
+                        list.setSequenceStorage(newStore);
+                    }
+                    if (CompilerDirectives.inInterpreter() && list.getOrigin() != null && newStore instanceof BasicSequenceStorage) {
+                        list.getOrigin().reportUpdatedCapacity((BasicSequenceStorage) newStore);
+                    }
                 }
             }
         }
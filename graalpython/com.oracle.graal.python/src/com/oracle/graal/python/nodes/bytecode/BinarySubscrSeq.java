@@ -44,6 +44,7 @@ import com.oracle.graal.python.builtins.objects.common.SequenceStorageNodes;
 import com.oracle.graal.python.builtins.objects.list.PList;
 import com.oracle.graal.python.builtins.objects.tuple.PTuple;
 import com.oracle.graal.python.nodes.PGuards;
+import com.oracle.graal.python.runtime.CriticalSection;
 import com.oracle.truffle.api.CompilerDirectives;
 import com.oracle.truffle.api.dsl.Cached;
 import com.oracle.truffle.api.dsl.Fallback;
@@ -65,7 +66,9 @@ public abstract class BinarySubscrSeq extends Node {
         @Specialization(guards = "cannotBeOverriddenForImmutableType(sequence)")
         Object doList(PList sequence, int index,
                         @Cached("createForList()") SequenceStorageNodes.GetItemNode getItemNode) {
-            return getItemNode.execute(sequence.getSequenceStorage(), index);
+            try (CriticalSection cs = CriticalSection.enter(this, sequence)) {
+                return getItemNode.execute(sequence.getSequenceStorage(), index);
+            }
         }
 
         @Specialization(guards = "cannotBeOverriddenForImmutableType(sequence)")
@@ -93,7 +96,7 @@ public abstract class BinarySubscrSeq extends Node {
         @Specialization(guards = "cannotBeOverriddenForImmutableType(sequence)")
         int doList(PList sequence, int index,
                         @Cached("createForList()") SequenceStorageNodes.GetItemNode getItemNode) {
-            try {
+            try (CriticalSection cs = CriticalSection.enter(this, sequence)) {
                 return getItemNode.executeInt(sequence.getSequenceStorage(), index);
             } catch (UnexpectedResultException e) {
                 // Truffle doesn't let us throw UnexpectedResultException without rewriteOn
@@ -131,7 +134,7 @@ public abstract class BinarySubscrSeq extends Node {
         @Specialization(guards = "cannotBeOverriddenForImmutableType(sequence)")
         double doList(PList sequence, int index,
                         @Cached("createForList()") SequenceStorageNodes.GetItemNode getItemNode) {
-            try {
+            try (CriticalSection cs = CriticalSection.enter(this, sequence)) {
                 return getItemNode.executeDouble(sequence.getSequenceStorage(), index);
             } catch (UnexpectedResultException e) {
                 // Truffle doesn't let us throw UnexpectedResultException without rewriteOn
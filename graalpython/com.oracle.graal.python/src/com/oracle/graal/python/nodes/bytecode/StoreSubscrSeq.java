@@ -43,6 +43,7 @@ package com.oracle.graal.python.nodes.bytecode;
 import com.oracle.graal.python.builtins.objects.common.SequenceStorageNodes;
 import com.oracle.graal.python.builtins.objects.list.PList;
 import com.oracle.graal.python.nodes.PGuards;
+import com.oracle.graal.python.runtime.CriticalSection;
 import com.oracle.graal.python.runtime.sequence.storage.SequenceStorage;
 import com.oracle.truffle.api.CompilerDirectives;
 import com.oracle.truffle.api.dsl.Bind;
@@ -65,7 +66,9 @@ public abstract class StoreSubscrSeq extends Node {
                         @Bind("this") Node inliningTarget,
                         @Cached InlinedConditionProfile updateStorageProfile,
                         @Cached("createForList()") SequenceStorageNodes.SetItemNode setItemNode) {
-            updateStorage(inliningTarget, updateStorageProfile, sequence, setItemNode.execute(sequence.getSequenceStorage(), index, value));
+            try (CriticalSection cs = CriticalSection.enter(inliningTarget, sequence)) {
+                updateStorage(inliningTarget, updateStorageProfile, sequence, setItemNode.execute(sequence.getSequenceStorage(), index, value));
+            }
         }
 
         @Fallback
@@ -89,7 +92,9 @@ public abstract class StoreSubscrSeq extends Node {
                         @Bind("this") Node inliningTarget,
                         @Cached InlinedConditionProfile updateStorageProfile,
                         @Cached("createForList()") SequenceStorageNodes.SetItemNode setItemNode) {
-            updateStorage(inliningTarget, updateStorageProfile, sequence, setItemNode.execute(sequence.getSequenceStorage(), index, value));
+            try (CriticalSection cs = CriticalSection.enter(inliningTarget, sequence)) {
+                updateStorage(inliningTarget, updateStorageProfile, sequence, setItemNode.execute(sequence.getSequenceStorage(), index, value));
+            }
         }
 
         @Fallback
@@ -113,7 +118,9 @@ public abstract class StoreSubscrSeq extends Node {
                         @Bind("this") Node inliningTarget,
                         @Cached InlinedConditionProfile updateStorageProfile,
                         @Cached("createForList()") SequenceStorageNodes.SetItemNode setItemNode) {
-            updateStorage(inliningTarget, updateStorageProfile, sequence, setItemNode.execute(sequence.getSequenceStorage(), index, value));
+            try (CriticalSection cs = CriticalSection.enter(inliningTarget, sequence)) {
+                updateStorage(inliningTarget, updateStorageProfile, sequence, setItemNode.execute(sequence.getSequenceStorage(), index, value));
+            }
         }
 
         @Fallback
@@ -47,6 +47,7 @@ import com.oracle.graal.python.builtins.objects.dict.PDict;
 import com.oracle.graal.python.lib.PyObjectGetItem;
 import com.oracle.graal.python.nodes.PNodeWithContext;
 import com.oracle.graal.python.nodes.object.BuiltinClassProfiles.IsBuiltinObjectProfile;
+import com.oracle.graal.python.runtime.CriticalSection;
 import com.oracle.graal.python.runtime.exception.PException;
 import com.oracle.truffle.api.HostCompilerDirectives.InliningCutoff;
 import com.oracle.truffle.api.dsl.Cached;
@@ -79,7 +80,10 @@ public abstract class ReadFromLocalsNode extends PNodeWithContext implements Acc
     @Specialization(guards = "isBuiltinDict(locals)")
     static Object readFromLocalsDict(Node inliningTarget, PDict locals, TruffleString name,
                     @Cached HashingStorageNodes.HashingStorageGetItem getItem) {
-        Object result = getItem.execute(inliningTarget, locals.getDictStorage(), name);
+        Object result;
+        try (CriticalSection cs = CriticalSection.enter(inliningTarget, locals)) {
+            result = getItem.execute(inliningTarget, locals.getDictStorage(), name);
+        }
         if (result == null) {
             return PNone.NO_VALUE;
         } else {
@@ -41,6 +41,7 @@ import com.oracle.graal.python.nodes.PNodeWithContext;
 import com.oracle.graal.python.nodes.PRaiseNode;
 import com.oracle.graal.python.nodes.attributes.ReadAttributeFromObjectNode;
 import com.oracle.graal.python.nodes.object.BuiltinClassProfiles.IsBuiltinObjectProfile;
+import com.oracle.graal.python.runtime.CriticalSection;
 import com.oracle.graal.python.runtime.PythonContext;
 import com.oracle.graal.python.runtime.exception.PException;
 import com.oracle.truffle.api.CompilerAsserts;
@@ -132,10 +133,13 @@ public abstract class ReadGlobalOrBuiltinNode extends PNodeWithContext {
                     @SuppressWarnings("unused") @Cached(value = "globals", weak = true) PDict cachedGlobals,
                     @Cached(value = "globals.getDictStorage()", weak = true) HashingStorage cachedStorage,
                     @Exclusive @Cached HashingStorageGetItem getItem) {
-        if (cachedGlobals.getDictStorage() != cachedStorage) {
-            throw GlobalsDictStorageChanged.INSTANCE;
+        Object result;
+        try (CriticalSection cs = CriticalSection.enter(inliningTarget, cachedGlobals)) {
+            if (cachedGlobals.getDictStorage() != cachedStorage) {
+                throw GlobalsDictStorageChanged.INSTANCE;
+            }
+            result = getItem.execute(inliningTarget, cachedStorage, attributeId);
         }
-        Object result = getItem.execute(inliningTarget, cachedStorage, attributeId);
         return returnGlobalOrBuiltin(result == null ? PNone.NO_VALUE : result, attributeId, readFromBuiltinsNode, inliningTarget, wasReadFromModule);
     }
 
@@ -148,19 +152,24 @@ public abstract class ReadGlobalOrBuiltinNode extends PNodeWithContext {
                     @Exclusive @Cached InlinedBranchProfile wasReadFromModule,
                     @Cached(value = "globals", weak = true) PDict cachedGlobals,
                     @Exclusive @Cached HashingStorageGetItem getItem) {
-        Object result = getItem.execute(inliningTarget, cachedGlobals.getDictStorage(), attributeId);
+        Object result;
+        try (CriticalSection cs = CriticalSection.enter(inliningTarget, cachedGlobals)) {
+            result = getItem.execute(inliningTarget, cachedGlobals.getDictStorage(), attributeId);
+        }
         return returnGlobalOrBuiltin(result == null ? PNone.NO_VALUE : result, attributeId, readFromBuiltinsNode, inliningTarget, wasReadFromModule);
     }
 
     @InliningCutoff
     @Specialization(guards = "isBuiltinDict(globals)", replaces = {"readGlobalBuiltinDictCached", "readGlobalBuiltinDictCachedUnchangedStorage"})
-    protected static Object readGlobalBuiltinDict(@SuppressWarnings("unused") PDict globals, TruffleString attributeId,
+    protected static Object readGlobalBuiltinDict(PDict globals, TruffleString attributeId,
                     @Bind("this") Node inliningTarget,
                     @Shared("readFromBuiltinsNode") @Cached ReadBuiltinNode readFromBuiltinsNode,
                     @Exclusive @Cached InlinedBranchProfile wasReadFromModule,
-                    @Bind("globals.getDictStorage()") HashingStorage storage,
                     @Exclusive @Cached HashingStorageGetItem getItem) {
-        Object result = getItem.execute(inliningTarget, storage, attributeId);
+        Object result;
+        try (CriticalSection cs = CriticalSection.enter(inliningTarget, globals)) {
+            result = getItem.execute(inliningTarget, globals.getDictStorage(), attributeId);
+        }
         return returnGlobalOrBuiltin(result == null ? PNone.NO_VALUE : result, attributeId, readFromBuiltinsNode, inliningTarget, wasReadFromModule);
     }
 
@@ -51,6 +51,7 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedDeque;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 
@@ -179,7 +180,18 @@ public class AsyncHandler {
     private final WeakReference<PythonContext> context;
     private final Queue<AsyncAction> rescheduled = new ConcurrentLinkedDeque<>();
     private static final int ASYNC_ACTION_DELAY = 25;
-    private static final int GIL_RELEASE_DELAY = 50;
+
+    /**
+     * Lower bound for the GIL switch interval in microseconds, to keep the scheduler thread from
+     * spinning when {@code sys.setswitchinterval} is given a tiny value.
+     */
+    private static final long MIN_SWITCH_INTERVAL_MICROS = 100;
+
+    /**
+     * How far {@link PythonOptions#AdaptiveSwitchInterval} may move the switch interval away from
+     * {@code sys.getswitchinterval()} in either direction.
+     */
+    private static final long ADAPTIVE_SWITCH_INTERVAL_RANGE = 8;
 
     private class AsyncRunnable implements Runnable {
         private final Supplier<AsyncAction> actionSupplier;
@@ -337,26 +349,82 @@ public class AsyncHandler {
         }
     }
 
+    /**
+     * Periodically asks the GIL owner to hand over the GIL if other threads are waiting for it. The
+     * period follows {@code sys.setswitchinterval}. With {@link PythonOptions#AdaptiveSwitchInterval}
+     * it is halved every time a thread kept the GIL for a whole period while others were waiting, and
+     * doubled every period in which nobody was waiting, within
+     * {@link #ADAPTIVE_SWITCH_INTERVAL_RANGE} of the configured interval.
+     */
     private static class GilReleaseScheduler implements Runnable {
         private final PythonContext ctx;
+        private final ScheduledExecutorService executorService;
+        private final boolean adaptive;
         private volatile boolean gilReleaseRequested;
         private Thread lastGilOwner;
+        private long baseIntervalMicros;
+        private long intervalMicros;
 
-        private GilReleaseScheduler(PythonContext ctx) {
+        private GilReleaseScheduler(PythonContext ctx, ScheduledExecutorService executorService) {
             this.ctx = ctx;
+            this.executorService = executorService;
+            this.adaptive = ctx.getOption(PythonOptions.AdaptiveSwitchInterval);
+            updateInterval(false, null);
+        }
+
+        private void scheduleNext() {
+            try {
+                executorService.schedule(this, intervalMicros, TimeUnit.MICROSECONDS);
+            } catch (RejectedExecutionException e) {
+                // the handler was shut down
+            }
+        }
+
+        private void updateInterval(boolean threadsWaiting, Thread gilOwner) {
+            long base = Math.max(MIN_SWITCH_INTERVAL_MICROS, (long) ctx.getSysModuleState().getSwitchInterval());
+            if (!adaptive || base != baseIntervalMicros) {
+                baseIntervalMicros = base;
+                intervalMicros = base;
+            } else if (threadsWaiting) {
+                if (gilOwner != null && gilOwner == lastGilOwner) {
+                    intervalMicros = Math.max(Math.max(MIN_SWITCH_INTERVAL_MICROS, base / ADAPTIVE_SWITCH_INTERVAL_RANGE), intervalMicros / 2);
+                }
+            } else {
+                intervalMicros = Math.min(base * ADAPTIVE_SWITCH_INTERVAL_RANGE, intervalMicros * 2);
+            }
+            GilStatistics stats = ctx.getGilStatistics();
+            if (stats != null) {
+                stats.setSwitchIntervalMicros(intervalMicros);
+            }
         }
 
         @Override
         public void run() {
-            if (!ctx.gilHasQueuedThreads()) {
+            try {
+                requestRelease();
+            } finally {
+                if (executorService != null) {
+                    scheduleNext();
+                }
+            }
+        }
+
+        private void requestRelease() {
+            boolean threadsWaiting = ctx.gilHasQueuedThreads();
+            Thread gilOwner = threadsWaiting ? ctx.getGilOwner() : null;
+            updateInterval(threadsWaiting, gilOwner);
+            if (!threadsWaiting) {
                 // Don't release the gil if nobody is waiting for it
                 return;
             }
-            Thread gilOwner = ctx.getGilOwner();
             if (gilOwner != null) {
                 synchronized (this) {
                     if (!gilReleaseRequested) {
                         gilReleaseRequested = true;
+                        GilStatistics stats = ctx.getGilStatistics();
+                        if (stats != null) {
+                            stats.switchRequested();
+                        }
                         /*
                          * There is a race, but that's no problem. The gil owner may release the gil
                          * before getting to run this safepoint. In that case, it just ignores it.
@@ -405,12 +473,14 @@ public class AsyncHandler {
     void activateGIL() {
         CompilerAsserts.neverPartOfCompilation();
         final PythonContext ctx = context.get();
-        if (ctx == null) {
+        if (ctx == null || ctx.isFreeThreaded()) {
+            // nothing to hand over if threads do not need the GIL to run
             return;
         }
-        final Runnable gilReleaseRunnable = new GilReleaseScheduler(ctx);
+        final GilReleaseScheduler gilReleaseRunnable = new GilReleaseScheduler(ctx, executorService);
         if (PythonOptions.AUTOMATIC_ASYNC_ACTIONS) {
-            executorService.scheduleWithFixedDelay(gilReleaseRunnable, GIL_RELEASE_DELAY, GIL_RELEASE_DELAY, TimeUnit.MILLISECONDS);
+            // the scheduler reschedules itself, since the delay depends on the switch interval
+            gilReleaseRunnable.scheduleNext();
         } else {
             // we will release the gil when polled to do so
             registeredActions.add(new AsyncRunnable(() -> {
@@ -0,0 +1,281 @@
+/*
+ * Copyright (c) 2024, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.runtime;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.EnumSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.zip.CRC32;
+
+import com.oracle.graal.python.PythonLanguage;
+import com.oracle.graal.python.builtins.modules.MarshalModuleBuiltins;
+import com.oracle.graal.python.compiler.CodeUnit;
+import com.oracle.graal.python.pegparser.FutureFeature;
+import com.oracle.graal.python.runtime.exception.PException;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.TruffleFile;
+import com.oracle.truffle.api.TruffleLanguage.Env;
+import com.oracle.truffle.api.TruffleLogger;
+import com.oracle.truffle.api.source.Source;
+
+/**
+ * A persistent, cross-process cache of compiled {@link CodeUnit}s enabled by
+ * {@link PythonOptions#BytecodeCacheDirectory}. Each entry is stored in its own file named after
+ * the cache key, which is a SHA-256 digest of the GraalPy version, the compiler settings, the
+ * source name and the source text. Consequently, entries never need to be invalidated: a changed
+ * source file (or a different GraalPy build) simply maps to a different entry.
+ *
+ * The file format is:
+ *
+ * <pre>
+ *     int    magic ('GPYC')
+ *     int    format version
+ *     byte[] key (32 bytes, must match the file name)
+ *     int    payload length
+ *     long   CRC32 of the payload
+ *     byte[] payload (marshalled code unit, see {@link MarshalModuleBuiltins#serializeCodeUnit})
+ * </pre>
+ *
+ * Entries are written to a temporary file first and then atomically moved into place, so that
+ * concurrent processes never observe partially written entries. Any entry that fails validation is
+ * treated as a miss and overwritten.
+ */
+public final class BytecodeCache {
+    private static final TruffleLogger LOGGER = PythonLanguage.getLogger(BytecodeCache.class);
+
+    private static final int MAGIC = 0x47505943;
+    private static final int FORMAT_VERSION = 1;
+    private static final int KEY_LENGTH = 32;
+    private static final int HEADER_LENGTH = 4 + 4 + KEY_LENGTH + 4 + 8;
+    private static final String ENTRY_SUFFIX = ".gpyc";
+
+    /**
+     * Everything that affects the shape of the compiled code, but is not part of the source itself.
+     * The dev tag changes with every development build, so caches written by different snapshots
+     * are never mixed.
+     */
+    private static final byte[] VERSION_TAG = ("graalpy-" + PythonLanguage.GRAALVM_MAJOR + "." + PythonLanguage.GRAALVM_MINOR + "-" + PythonLanguage.DEV_TAG + "-" +
+                    PythonLanguage.VERSION).getBytes(StandardCharsets.UTF_8);
+
+    private final Env env;
+    private final TruffleFile directory;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    private BytecodeCache(Env env, TruffleFile directory) {
+        this.env = env;
+        this.directory = directory;
+    }
+
+    /**
+     * Creates the cache for the given directory, or returns {@code null} if the directory cannot be
+     * used.
+     */
+    @TruffleBoundary
+    static BytecodeCache create(Env env, String path) {
+        try {
+            TruffleFile dir = env.getPublicTruffleFile(path);
+            dir.createDirectories();
+            if (!dir.isWritable()) {
+                LOGGER.warning(() -> "Bytecode cache directory is not writable: " + path);
+                return null;
+            }
+            return new BytecodeCache(env, dir);
+        } catch (IOException | SecurityException | UnsupportedOperationException | IllegalArgumentException e) {
+            LOGGER.warning(() -> "Cannot use bytecode cache directory " + path + ": " + e);
+            return null;
+        }
+    }
+
+    /**
+     * Computes the key under which the code for the given source is cached.
+     */
+    @TruffleBoundary
+    public static byte[] computeKey(Source source, int optimize, EnumSet<FutureFeature> futureFeatures) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        digest.update(VERSION_TAG);
+        digest.update((byte) optimize);
+        int flags = 0;
+        for (FutureFeature feature : futureFeatures) {
+            flags |= feature.flagValue;
+        }
+        digest.update(ByteBuffer.allocate(Integer.BYTES).putInt(flags).array());
+        // the name ends up in the code objects (co_filename)
+        String name = source.getPath() != null ? source.getPath() : source.getName();
+        digest.update(name.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+        digest.update(source.getCharacters().toString().getBytes(StandardCharsets.UTF_8));
+        return digest.digest();
+    }
+
+    /**
+     * Returns the cached code unit for the given key or {@code null} if there is no valid entry.
+     */
+    @TruffleBoundary
+    public CodeUnit load(byte[] key) {
+        TruffleFile entry = entryFile(key);
+        byte[] data;
+        try {
+            if (!entry.isRegularFile()) {
+                misses.incrementAndGet();
+                return null;
+            }
+            data = entry.readAllBytes();
+        } catch (IOException | SecurityException e) {
+            LOGGER.fine(() -> "Cannot read bytecode cache entry " + entry + ": " + e);
+            misses.incrementAndGet();
+            return null;
+        }
+        byte[] payload = validate(data, key);
+        if (payload == null) {
+            LOGGER.fine(() -> "Invalid bytecode cache entry " + entry);
+            misses.incrementAndGet();
+            return null;
+        }
+        try {
+            CodeUnit code = MarshalModuleBuiltins.deserializeCodeUnit(payload);
+            hits.incrementAndGet();
+            return code;
+        } catch (PException e) {
+            LOGGER.fine(() -> "Cannot deserialize bytecode cache entry " + entry);
+            misses.incrementAndGet();
+            return null;
+        }
+    }
+
+    /**
+     * Stores the code unit under the given key. Failures are logged and otherwise ignored, the
+     * cache is only an optimization.
+     */
+    @TruffleBoundary
+    public void store(byte[] key, CodeUnit code) {
+        TruffleFile entry = entryFile(key);
+        TruffleFile tmp = null;
+        try {
+            byte[] payload = MarshalModuleBuiltins.serializeCodeUnit(code);
+            CRC32 crc = new CRC32();
+            crc.update(payload);
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(HEADER_LENGTH + payload.length);
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            out.write(key);
+            out.writeInt(payload.length);
+            out.writeLong(crc.getValue());
+            out.write(payload);
+            out.flush();
+            tmp = env.createTempFile(directory, null, ".tmp");
+            try (OutputStream os = tmp.newOutputStream()) {
+                bytes.writeTo(os);
+            }
+            tmp.move(entry, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            tmp = null;
+        } catch (IOException | SecurityException | UnsupportedOperationException | PException e) {
+            LOGGER.log(Level.FINE, e, () -> "Cannot write bytecode cache entry " + entry);
+        } finally {
+            if (tmp != null) {
+                try {
+                    tmp.delete();
+                } catch (IOException | SecurityException e) {
+                    // ignore
+                }
+            }
+        }
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    private TruffleFile entryFile(byte[] key) {
+        StringBuilder sb = new StringBuilder(KEY_LENGTH * 2 + ENTRY_SUFFIX.length());
+        for (byte b : key) {
+            sb.append(Character.forDigit((b >> 4) & 0xF, 16));
+            sb.append(Character.forDigit(b & 0xF, 16));
+        }
+        sb.append(ENTRY_SUFFIX);
+        return directory.resolve(sb.toString());
+    }
+
+    private static byte[] validate(byte[] data, byte[] key) {
+        if (data.length < HEADER_LENGTH) {
+            return null;
+        }
+        ByteBuffer buf = ByteBuffer.wrap(data);
+        if (buf.getInt() != MAGIC || buf.getInt() != FORMAT_VERSION) {
+            return null;
+        }
+        for (int i = 0; i < KEY_LENGTH; i++) {
+            if (buf.get() != key[i]) {
+                return null;
+            }
+        }
+        int length = buf.getInt();
+        long checksum = buf.getLong();
+        if (length != data.length - HEADER_LENGTH) {
+            return null;
+        }
+        byte[] payload = new byte[length];
+        buf.get(payload);
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        return crc.getValue() == checksum ? payload : null;
+    }
+}
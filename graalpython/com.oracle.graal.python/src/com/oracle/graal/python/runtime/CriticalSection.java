@@ -0,0 +1,221 @@
+/*
+ * Copyright (c) 2024, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.runtime;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+import com.oracle.graal.python.PythonLanguage;
+import com.oracle.graal.python.runtime.PythonContext.PythonThreadState;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.TruffleSafepoint;
+import com.oracle.truffle.api.nodes.Node;
+
+/**
+ * Keeps single operations on builtin containers atomic in the free-threaded mode, see
+ * {@link PythonOptions#FreeThreaded}. This follows the per-object critical sections of PEP 703:
+ * <ul>
+ * <li>A thread holds the locks of at most two objects at a time, and only the innermost critical
+ * section of a thread is active. Entering a critical section suspends the enclosing one, i.e.,
+ * releases its locks until the inner section is closed. This rules out lock ordering deadlocks, and
+ * Python code called from within a section (e.g. {@code __hash__}, {@code __eq__} or
+ * {@code __next__}) can freely access other containers. An operation that calls Python code is
+ * therefore only atomic up to the point where that code enters another critical section.</li>
+ * <li>Releasing the GIL, which is only a per-thread flag in this mode, suspends the active section
+ * as well, so a thread never blocks while it holds container locks.</li>
+ * <li>Threads wait for a lock with {@link TruffleSafepoint#setBlockedThreadInterruptible}, so they
+ * still process safepoints, e.g. for cancellation.</li>
+ * </ul>
+ * The locks are not stored in the objects. They are taken from a fixed table of the context that is
+ * indexed by the identity hash code, so two unrelated objects may share a lock.
+ * <p>
+ * Usage:
+ *
+ * <pre>
+ * try (CriticalSection cs = CriticalSection.enter(inliningTarget, list)) {
+ *     // read and update the storage of the list
+ * }
+ * </pre>
+ *
+ * Outside of the free-threaded mode, {@link #enter} returns a section that does nothing. The mode is
+ * an engine option, so in compiled code this check and the whole section fold away even if the
+ * engine is shared by multiple contexts.
+ */
+public final class CriticalSection implements AutoCloseable {
+    static final int LOCK_TABLE_SIZE = 1024;
+
+    private static final CriticalSection NONE = new CriticalSection(null, null, null, null, null);
+
+    private final PythonThreadState threadState;
+    private final Node location;
+    private final ReentrantLock first;
+    private final ReentrantLock second;
+    private final CriticalSection enclosing;
+
+    private CriticalSection(PythonThreadState threadState, Node location, ReentrantLock first, ReentrantLock second, CriticalSection enclosing) {
+        this.threadState = threadState;
+        this.location = location;
+        this.first = first;
+        this.second = second;
+        this.enclosing = enclosing;
+    }
+
+    /**
+     * Returns whether contexts of the language of {@code location} run without the GIL. Unlike
+     * {@link PythonContext#isFreeThreaded()}, this is a constant in compiled code.
+     */
+    public static boolean isFreeThreaded(Node location) {
+        return PythonLanguage.get(location).getEngineOption(PythonOptions.FreeThreaded);
+    }
+
+    /**
+     * Enters a critical section for the given object. The returned section must be closed by the
+     * same thread.
+     */
+    public static CriticalSection enter(Node location, Object object) {
+        if (!isFreeThreaded(location)) {
+            return NONE;
+        }
+        return doEnter(PythonContext.get(location), location, object, object);
+    }
+
+    /**
+     * Enters a critical section for two objects at once, e.g. for an operation that reads one
+     * container while it updates another one. The locks are acquired in a fixed order.
+     */
+    public static CriticalSection enter(Node location, Object object, Object other) {
+        if (!isFreeThreaded(location)) {
+            return NONE;
+        }
+        return doEnter(PythonContext.get(location), location, object, other);
+    }
+
+    @TruffleBoundary
+    private static CriticalSection doEnter(PythonContext context, Node location, Object object, Object other) {
+        assert context.isFreeThreaded();
+        PythonThreadState threadState = context.getThreadState(context.getLanguage());
+        int firstIndex = lockIndex(object);
+        int secondIndex = lockIndex(other);
+        ReentrantLock first = context.getCriticalSectionLock(Math.min(firstIndex, secondIndex));
+        ReentrantLock second = firstIndex == secondIndex ? null : context.getCriticalSectionLock(Math.max(firstIndex, secondIndex));
+        CriticalSection enclosing = threadState.criticalSection;
+        if (enclosing != null) {
+            enclosing.release();
+            // no section is active while we wait, so Python code run by safepoint actions in the
+            // meantime cannot suspend or resume a partially acquired one
+            threadState.criticalSection = null;
+        }
+        CriticalSection section = new CriticalSection(threadState, location, first, second, enclosing);
+        try {
+            section.acquire();
+        } catch (Throwable t) {
+            // the enclosing section stays suspended, it is closed while the exception propagates
+            section.release();
+            threadState.criticalSection = enclosing;
+            throw t;
+        }
+        threadState.criticalSection = section;
+        return section;
+    }
+
+    private static int lockIndex(Object object) {
+        return System.identityHashCode(object) & (LOCK_TABLE_SIZE - 1);
+    }
+
+    @Override
+    public void close() {
+        if (this != NONE) {
+            exit();
+        }
+    }
+
+    @TruffleBoundary
+    private void exit() {
+        assert threadState.criticalSection == this : "critical sections must be closed in reverse order";
+        release();
+        threadState.criticalSection = null;
+        if (enclosing != null) {
+            try {
+                enclosing.acquire();
+            } finally {
+                threadState.criticalSection = enclosing;
+            }
+        }
+    }
+
+    private void acquire() {
+        lock(location, first);
+        if (second != null) {
+            lock(location, second);
+        }
+    }
+
+    /**
+     * Re-acquires the locks of a section that was suspended when the GIL was released. Locks that
+     * are already held are skipped, so this can be retried after an interrupt.
+     */
+    void acquireInterruptibly() throws InterruptedException {
+        if (!first.isHeldByCurrentThread()) {
+            first.lockInterruptibly();
+        }
+        if (second != null && !second.isHeldByCurrentThread()) {
+            second.lockInterruptibly();
+        }
+    }
+
+    /**
+     * Releases the locks of this section when it is suspended. A lock that is not held, because a
+     * previous attempt to re-acquire it was cancelled, is skipped.
+     */
+    void release() {
+        if (second != null && second.isHeldByCurrentThread()) {
+            second.unlock();
+        }
+        if (first.isHeldByCurrentThread()) {
+            first.unlock();
+        }
+    }
+
+    private static void lock(Node location, ReentrantLock lock) {
+        if (!lock.tryLock()) {
+            TruffleSafepoint.setBlockedThreadInterruptible(location, ReentrantLock::lockInterruptibly, lock);
+        }
+    }
+}
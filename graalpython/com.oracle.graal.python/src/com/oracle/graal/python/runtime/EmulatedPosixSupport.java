@@ -91,6 +91,10 @@ import static com.oracle.graal.python.runtime.PosixConstants.O_SYNC;
 import static com.oracle.graal.python.runtime.PosixConstants.O_TMPFILE;
 import static com.oracle.graal.python.runtime.PosixConstants.O_TRUNC;
 import static com.oracle.graal.python.runtime.PosixConstants.O_WRONLY;
+import static com.oracle.graal.python.runtime.PosixConstants.POLLIN;
+import static com.oracle.graal.python.runtime.PosixConstants.POLLOUT;
+import static com.oracle.graal.python.runtime.PosixConstants.POLLRDNORM;
+import static com.oracle.graal.python.runtime.PosixConstants.POLLWRNORM;
 import static com.oracle.graal.python.runtime.PosixConstants.PROT_EXEC;
 import static com.oracle.graal.python.runtime.PosixConstants.PROT_NONE;
 import static com.oracle.graal.python.runtime.PosixConstants.PROT_READ;
@@ -170,10 +174,14 @@ import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
 import java.nio.channels.AlreadyConnectedException;
 import java.nio.channels.ByteChannel;
+import java.nio.channels.CancelledKeyException;
 import java.nio.channels.Channel;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ClosedSelectorException;
 import java.nio.channels.DatagramChannel;
 import java.nio.channels.FileChannel;
 import java.nio.channels.FileLock;
+import java.nio.channels.IllegalBlockingModeException;
 import java.nio.channels.NetworkChannel;
 import java.nio.channels.NotYetConnectedException;
 import java.nio.channels.ReadableByteChannel;
@@ -201,12 +209,15 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.logging.Level;
 
 import org.graalvm.nativeimage.ImageInfo;
@@ -345,6 +356,11 @@ public final class EmulatedPosixSupport extends PosixResources {
     private int currentUmask = 0022;
     private boolean hasDefaultUmask = true;
     private final boolean withoutIOSocket;
+    // Open pollers, needed to release channels that are switched to blocking mode
+    private final Set<EmulatedPoller> pollers = ConcurrentHashMap.newKeySet();
+    // Idle pollers for select, each one is used by one select call at a time
+    private static final int MAX_IDLE_SELECT_POLLERS = 4;
+    private final ConcurrentLinkedDeque<EmulatedPoller> selectPollers = new ConcurrentLinkedDeque<>();
     // Lazily parsed content of /etc/services.
     private Map<String, List<Service>> etcServices;
 
@@ -424,6 +440,12 @@ public final class EmulatedPosixSupport extends PosixResources {
     public int closeMessage(int fd) throws PosixException {
         // TODO: to be replaced with super.close once the super class is merged with this class
         try {
+            Channel channel = getFileChannel(fd);
+            if (channel != null) {
+                // a channel that is still registered with a selector is only closed once it has
+                // been deregistered, which for an idle poller could take arbitrarily long
+                releaseFromPollers(channel);
+            }
             if (!removeFD(fd)) {
                 throw posixException(OSErrorEnum.EBADF);
             }
@@ -518,6 +540,31 @@ public final class EmulatedPosixSupport extends PosixResources {
         }
     }
 
+    @ExportMessage
+    public int readInto(int fd, byte[] dst, int offset, int length,
+                    @Bind("$node") Node inliningTarget,
+                    @Shared("errorBranch") @Cached InlinedBranchProfile errorBranch,
+                    @Shared("eq") @Cached TruffleString.EqualNode eqNode) throws PosixException {
+        Channel channel = getFileChannel(fd);
+        if (!(channel instanceof ReadableByteChannel)) {
+            errorBranch.enter(inliningTarget);
+            throw posixException(OSErrorEnum.EBADF);
+        }
+        try {
+            return readIntoFromChannel((ReadableByteChannel) channel, dst, offset, Math.min(length, MAX_READ));
+        } catch (Exception e) {
+            errorBranch.enter(inliningTarget);
+            throw posixException(OSErrorEnum.fromException(e, eqNode));
+        }
+    }
+
+    @TruffleBoundary
+    private static int readIntoFromChannel(ReadableByteChannel channel, byte[] dst, int offset, int length) throws IOException {
+        // the channel fills the target array directly, there is no intermediate buffer
+        int n = channel.read(ByteBuffer.wrap(dst, offset, length));
+        return Math.max(n, 0);
+    }
+
     @TruffleBoundary
     private static Buffer readBytesFromChannel(ReadableByteChannel channel, long size) throws IOException {
         if (channel instanceof SeekableByteChannel seekableByteChannel) {
@@ -600,96 +647,105 @@ public final class EmulatedPosixSupport extends PosixResources {
             break;
         }
 
-        boolean[] wasBlocking = new boolean[readChannels.length + writeChannels.length];
-        int i = 0;
+        // IMPORTANT: The meaning of the timeout value is slightly different: 'timeout == 0.0'
+        // means we should not block and return immediately, which the poller does for 0.
+        // 'timeout == None' means we should wait indefinitely, which the poller does for -1.
+        long timeoutMs;
+        if (timeout == null) {
+            timeoutMs = -1;
+        } else {
+            try {
+                timeoutMs = addExact(multiplyExact(timeout.getSeconds(), 1000L), timeout.getMicroseconds() / 1000L);
+            } catch (ArithmeticException ex) {
+                throw posixException(OSErrorEnum.EINVAL);
+            }
+            if (timeoutMs < 0) {
+                throw posixException(OSErrorEnum.EINVAL);
+            }
+        }
 
-        for (SelectableChannel channel : readChannels) {
-            wasBlocking[i++] = channel.isBlocking();
+        // merge the file descriptors that are both in readfds and writefds
+        int[] fds = new int[readfds.length + writefds.length];
+        int[] events = new int[fds.length];
+        SelectableChannel[] channels = new SelectableChannel[fds.length];
+        int count = 0;
+        for (int i = 0; i < readfds.length; i++) {
+            count = addSelectFd(fds, events, channels, count, readfds[i], readChannels[i], POLLIN.getValueIfDefined());
         }
-        for (SelectableChannel channel : writeChannels) {
-            wasBlocking[i++] = channel.isBlocking();
+        for (int i = 0; i < writefds.length; i++) {
+            count = addSelectFd(fds, events, channels, count, writefds[i], writeChannels[i], POLLOUT.getValueIfDefined());
         }
 
-        final int readOps = SelectionKey.OP_READ | SelectionKey.OP_ACCEPT;
-        final int writeOps = SelectionKey.OP_WRITE;
-
-        try (Selector selector = Selector.open()) {
-            for (SelectableChannel channel : readChannels) {
-                channel.configureBlocking(false);
-                channel.register(selector, readOps & channel.validOps());
-            }
-
-            for (SelectableChannel channel : writeChannels) {
-                channel.configureBlocking(false);
-                channel.register(selector, writeOps);
-            }
-
-            // IMPORTANT: The meaning of the timeout value is slightly different: 'timeout == 0.0'
-            // means we should not block and return immediately, for which we use selectNow().
-            // 'timeout == None' means we should wait indefinitely, i.e., we need to pass 0 to the
-            // Java API.
-            long timeoutMs;
-            boolean useSelectNow = false;
-            if (timeout == null) {
-                timeoutMs = 0;
-            } else {
-                try {
-                    timeoutMs = addExact(multiplyExact(timeout.getSeconds(), 1000L), timeout.getMicroseconds() / 1000L);
-                } catch (ArithmeticException ex) {
-                    throw posixException(OSErrorEnum.EINVAL);
-                }
-                if (timeoutMs == 0) {
-                    useSelectNow = true;
-                }
+        EmulatedPoller poller = selectPollers.pollFirst();
+        try {
+            if (poller == null) {
+                poller = new EmulatedPoller(Selector.open());
+                pollers.add(poller);
             }
-            int selected = useSelectNow ? selector.selectNow() : selector.select(timeoutMs);
+            poller.prepareSelect(fds, events, channels, count);
+            int[] readyFds = new int[count];
+            int[] readyEvents = new int[count];
+            int selected = poller.await(this, readyFds, readyEvents, timeoutMs);
 
             // remove non-selected channels from given lists
-            boolean[] resReadfds = createSelectedMap(readfds, readChannels, selector, readOps);
-            boolean[] resWritefds = createSelectedMap(writefds, writeChannels, selector, writeOps);
+            boolean[] resReadfds = createSelectedMap(readfds, readyFds, readyEvents, selected, POLLIN.getValueIfDefined());
+            boolean[] resWritefds = createSelectedMap(writefds, readyFds, readyEvents, selected, POLLOUT.getValueIfDefined());
             boolean[] resErrfds = new boolean[errorfds.length];
-
-            assert selected == countSelected(resReadfds) + countSelected(resWritefds) + countSelected(resErrfds);
             return new SelectResult(resReadfds, resWritefds, resErrfds);
         } catch (IOException e) {
+            if (poller != null) {
+                discardSelectPoller(poller);
+                poller = null;
+            }
             throw posixException(OSErrorEnum.fromException(e, TruffleString.EqualNode.getUncached()));
         } finally {
-            i = 0;
-            try {
-                for (SelectableChannel channel : readChannels) {
-                    if (wasBlocking[i++]) {
-                        channel.configureBlocking(true);
-                    }
-                }
-                for (SelectableChannel channel : writeChannels) {
-                    if (wasBlocking[i++]) {
-                        channel.configureBlocking(true);
-                    }
-                }
-            } catch (IOException e) {
-                // We didn't manage to restore the blocking status, ignore
+            if (poller != null) {
+                recycleSelectPoller(poller);
             }
         }
     }
 
-    private static boolean[] createSelectedMap(int[] fds, SelectableChannel[] channels, Selector selector, int op) {
-        boolean[] result = new boolean[fds.length];
-        for (int i = 0; i < channels.length; i++) {
-            SelectableChannel channel = channels[i];
-            SelectionKey selectionKey = channel.keyFor(selector);
-            result[i] = (selectionKey.readyOps() & op) != 0;
+    private static int addSelectFd(int[] fds, int[] events, SelectableChannel[] channels, int count, int fd, SelectableChannel channel, int event) {
+        for (int i = 0; i < count; i++) {
+            if (fds[i] == fd) {
+                events[i] |= event;
+                return count;
+            }
+        }
+        fds[count] = fd;
+        events[count] = event;
+        channels[count] = channel;
+        return count + 1;
+    }
+
+    private void recycleSelectPoller(EmulatedPoller poller) {
+        if (selectPollers.size() < MAX_IDLE_SELECT_POLLERS) {
+            selectPollers.offerFirst(poller);
+        } else {
+            discardSelectPoller(poller);
+        }
+    }
+
+    private void discardSelectPoller(EmulatedPoller poller) {
+        pollers.remove(poller);
+        try {
+            poller.close();
+        } catch (IOException e) {
+            // nothing to do, the poller is not used anymore
         }
-        return result;
     }
 
-    private static int countSelected(boolean[] selected) {
-        int res = 0;
-        for (boolean b : selected) {
-            if (b) {
-                res += 1;
+    private static boolean[] createSelectedMap(int[] fds, int[] readyFds, int[] readyEvents, int selected, int event) {
+        boolean[] result = new boolean[fds.length];
+        for (int i = 0; i < fds.length; i++) {
+            for (int j = 0; j < selected; j++) {
+                if (readyFds[j] == fds[i] && (readyEvents[j] & event) != 0) {
+                    result[i] = true;
+                    break;
+                }
             }
         }
-        return res;
+        return result;
     }
 
     private SelectableChannel[] getSelectableChannels(int[] fds) throws PosixException {
@@ -699,28 +755,118 @@ public final class EmulatedPosixSupport extends PosixResources {
             if (ch == null) {
                 throw posixException(OSErrorEnum.EBADF);
             }
-            if (ch instanceof SelectableChannel) {
-                channels[i] = (SelectableChannel) ch;
-            } else if (ch instanceof EmulatedDatagramSocket) {
-                channels[i] = ((EmulatedDatagramSocket) ch).channel;
-            } else if (ch instanceof EmulatedStreamSocket) {
-                EmulatedStreamSocket streamSocket = (EmulatedStreamSocket) ch;
-                synchronized (streamSocket) {
-                    if (streamSocket.clientChannel != null) {
-                        channels[i] = streamSocket.clientChannel;
-                    } else if (streamSocket.serverChannel != null) {
-                        channels[i] = streamSocket.serverChannel;
-                    } else {
-                        throw ChannelNotSelectableException.INSTANCE;
-                    }
-                }
-            } else {
+            channels[i] = toSelectableChannel(ch);
+            if (channels[i] == null) {
                 throw ChannelNotSelectableException.INSTANCE;
             }
         }
         return channels;
     }
 
+    /**
+     * Returns the selectable channel backing {@code ch} or {@code null} if there is none, which is
+     * also the case for stream sockets that are neither connected nor listening yet.
+     */
+    private static SelectableChannel toSelectableChannel(Channel ch) {
+        if (ch instanceof SelectableChannel) {
+            return (SelectableChannel) ch;
+        } else if (ch instanceof EmulatedDatagramSocket) {
+            return ((EmulatedDatagramSocket) ch).channel;
+        } else if (ch instanceof EmulatedStreamSocket) {
+            EmulatedStreamSocket streamSocket = (EmulatedStreamSocket) ch;
+            synchronized (streamSocket) {
+                if (streamSocket.clientChannel != null) {
+                    return streamSocket.clientChannel;
+                }
+                return streamSocket.serverChannel;
+            }
+        }
+        return null;
+    }
+
+    @ExportMessage
+    @TruffleBoundary
+    public Object pollerCreate() throws PosixException {
+        if (PythonOptions.WITHOUT_JAVA_INET || withoutIOSocket) {
+            throw new UnsupportedPosixFeatureException("poller was excluded");
+        }
+        try {
+            EmulatedPoller poller = new EmulatedPoller(Selector.open());
+            pollers.add(poller);
+            return poller;
+        } catch (IOException e) {
+            throw posixException(OSErrorEnum.fromException(e, TruffleString.EqualNode.getUncached()));
+        }
+    }
+
+    @ExportMessage
+    @TruffleBoundary
+    public void pollerRegister(Object poller, int fd, int events) throws PosixException {
+        Channel ch = getFileChannel(fd);
+        if (ch == null) {
+            throw posixException(OSErrorEnum.EBADF);
+        }
+        SelectableChannel channel = toSelectableChannel(ch);
+        if (channel == null && !(ch instanceof EmulatedStreamSocket)) {
+            // like epoll, refuse file descriptors that can never be polled
+            throw posixException(OSErrorEnum.EPERM);
+        }
+        ((EmulatedPoller) poller).register(fd, events, channel);
+    }
+
+    @ExportMessage
+    @TruffleBoundary
+    public void pollerModify(Object poller, int fd, int events) throws PosixException {
+        ((EmulatedPoller) poller).modify(fd, events);
+    }
+
+    @ExportMessage
+    @TruffleBoundary
+    public void pollerUnregister(Object poller, int fd) throws PosixException {
+        ((EmulatedPoller) poller).unregister(fd);
+    }
+
+    @ExportMessage
+    @TruffleBoundary
+    public int pollerWait(Object poller, int[] fds, int[] revents, long timeoutMs) throws PosixException {
+        try {
+            return ((EmulatedPoller) poller).await(this, fds, revents, timeoutMs);
+        } catch (IOException e) {
+            throw posixException(OSErrorEnum.fromException(e, TruffleString.EqualNode.getUncached()));
+        }
+    }
+
+    @ExportMessage
+    @SuppressWarnings("static-method")
+    public int pollerFileno(@SuppressWarnings("unused") Object poller) {
+        return -1;
+    }
+
+    @ExportMessage
+    @TruffleBoundary
+    public void pollerClose(Object poller) throws PosixException {
+        EmulatedPoller emulatedPoller = (EmulatedPoller) poller;
+        pollers.remove(emulatedPoller);
+        try {
+            emulatedPoller.close();
+        } catch (IOException e) {
+            throw posixException(OSErrorEnum.fromException(e, TruffleString.EqualNode.getUncached()));
+        }
+    }
+
+    /**
+     * A channel registered with a selector cannot be switched to blocking mode, so it first needs
+     * to be taken out of the selectors of all pollers that have it registered.
+     */
+    private void releaseFromPollers(Channel ch) {
+        SelectableChannel channel = toSelectableChannel(ch);
+        if (channel != null && channel.isRegistered()) {
+            for (EmulatedPoller poller : pollers) {
+                poller.releaseChannel(channel);
+            }
+        }
+    }
+
     @ExportMessage
     public long lseek(int fd, long offset, int how,
                     @Bind("$node") Node inliningTarget,
@@ -937,11 +1083,17 @@ public final class EmulatedPosixSupport extends PosixResources {
         try {
             Channel channel = getChannel(fd);
             if (channel instanceof EmulatedSocket) {
+                if (blocking) {
+                    releaseFromPollers(channel);
+                }
                 setBlocking((EmulatedSocket) channel, blocking);
                 return;
             }
             Channel fileChannel = getFileChannel(fd);
             if (fileChannel instanceof SelectableChannel) {
+                if (blocking) {
+                    releaseFromPollers(fileChannel);
+                }
                 setBlocking((SelectableChannel) fileChannel, blocking);
             } else if (fileChannel != null) {
                 if (blocking) {
@@ -3619,6 +3771,406 @@ public final class EmulatedPosixSupport extends PosixResources {
         }
     }
 
+    /**
+     * A file descriptor registered with an {@link EmulatedPoller} and the events it waits for.
+     */
+    private static final class PollerRegistration {
+        final int fd;
+        int events;
+        // null for a stream socket that is neither connected nor listening yet
+        SelectableChannel channel;
+        // non-null while the channel is registered with the selector of the poller
+        SelectionKey key;
+        // the last select call that used this registration, see EmulatedPoller.prepareSelect
+        int selectGeneration;
+
+        PollerRegistration(int fd, int events, SelectableChannel channel) {
+            this.fd = fd;
+            this.events = events;
+            this.channel = channel;
+        }
+
+        boolean isStale() {
+            return channel != null && !channel.isOpen();
+        }
+    }
+
+    /**
+     * Poller backed by a {@link Selector} that stays open for the lifetime of the poller. Channels
+     * in non-blocking mode stay registered with the selector between waits, so a wait only costs
+     * work proportional to the number of ready channels. Java does not allow a channel that is
+     * registered with a selector to be in blocking mode, so channels in blocking mode (and stream
+     * sockets without a channel yet) are kept as pending registrations and are only registered for
+     * the duration of each wait, just like {@code select} does.
+     */
+    private static final class EmulatedPoller {
+        // registrations kept by a poller used by select beyond those of the current call
+        private static final int MAX_CACHED_SELECT_REGISTRATIONS = 256;
+
+        private final Selector selector;
+        // guarded by this
+        private final HashMap<Integer, PollerRegistration> registrations = new HashMap<>();
+        // registrations without a selection key, guarded by this
+        private final LinkedHashSet<PollerRegistration> pending = new LinkedHashSet<>();
+        // set when a key was cancelled, the channel cannot be registered again until the
+        // cancelled key has been flushed by a selection operation, guarded by this
+        private boolean hasCancelledKeys;
+        // serializes waits with each other and with flushing of cancelled keys
+        private final ReentrantLock waitLock = new ReentrantLock();
+        private volatile boolean closed;
+        // number of select calls that used this poller, guarded by this
+        private int selectGeneration;
+
+        EmulatedPoller(Selector selector) {
+            this.selector = selector;
+        }
+
+        synchronized void register(int fd, int events, SelectableChannel channel) throws PosixException {
+            checkOpen();
+            PollerRegistration existing = registrations.get(fd);
+            if (existing != null) {
+                if (!existing.isStale()) {
+                    throw posixException(OSErrorEnum.EEXIST);
+                }
+                // the file descriptor was closed and reused, epoll would have forgotten it
+                remove(existing);
+            }
+            PollerRegistration registration = new PollerRegistration(fd, events, channel);
+            registrations.put(fd, registration);
+            if (!tryAttach(registration)) {
+                pending.add(registration);
+            }
+            wakeupWaiter();
+        }
+
+        synchronized void modify(int fd, int events) throws PosixException {
+            checkOpen();
+            PollerRegistration registration = registrations.get(fd);
+            if (registration == null || registration.isStale()) {
+                throw posixException(OSErrorEnum.ENOENT);
+            }
+            registration.events = events;
+            if (registration.key != null) {
+                try {
+                    registration.key.interestOps(interestOps(registration.channel, events));
+                } catch (CancelledKeyException e) {
+                    remove(registration);
+                    throw posixException(OSErrorEnum.ENOENT);
+                }
+            }
+            wakeupWaiter();
+        }
+
+        /**
+         * Makes the registrations of a poller used by {@code select} match the given file
+         * descriptors. Non-blocking channels that are not part of this call stay registered with an
+         * empty interest set, so repeated calls on the same sockets neither register them again nor
+         * change their blocking mode. Registrations without a selection key are dropped, so that
+         * the next wait does not touch channels in blocking mode that are not part of this call.
+         */
+        synchronized void prepareSelect(int[] fds, int[] events, SelectableChannel[] channels, int count) {
+            int generation = ++selectGeneration;
+            for (int i = 0; i < count; i++) {
+                PollerRegistration registration = registrations.get(fds[i]);
+                if (registration != null && (registration.channel != channels[i] || registration.isStale())) {
+                    remove(registration);
+                    registration = null;
+                }
+                if (registration == null) {
+                    registration = new PollerRegistration(fds[i], events[i], channels[i]);
+                    registrations.put(fds[i], registration);
+                    if (!tryAttach(registration)) {
+                        pending.add(registration);
+                    }
+                } else if (registration.events != events[i]) {
+                    registration.events = events[i];
+                    updateInterestOps(registration);
+                }
+                registration.selectGeneration = generation;
+            }
+            if (registrations.size() > count) {
+                boolean dropAll = registrations.size() > MAX_CACHED_SELECT_REGISTRATIONS;
+                ArrayList<PollerRegistration> unused = new ArrayList<>();
+                for (PollerRegistration registration : registrations.values()) {
+                    if (registration.selectGeneration != generation) {
+                        unused.add(registration);
+                    }
+                }
+                for (PollerRegistration registration : unused) {
+                    if (dropAll || registration.key == null || registration.isStale()) {
+                        remove(registration);
+                    } else if (registration.events != 0) {
+                        registration.events = 0;
+                        updateInterestOps(registration);
+                    }
+                }
+            }
+        }
+
+        private void updateInterestOps(PollerRegistration registration) {
+            if (registration.key != null) {
+                try {
+                    registration.key.interestOps(interestOps(registration.channel, registration.events));
+                } catch (CancelledKeyException e) {
+                    // the channel was closed or released, register it again before the next wait
+                    registration.key = null;
+                    pending.add(registration);
+                    hasCancelledKeys = true;
+                }
+            }
+        }
+
+        synchronized void unregister(int fd) throws PosixException {
+            checkOpen();
+            PollerRegistration registration = registrations.get(fd);
+            if (registration == null) {
+                throw posixException(OSErrorEnum.ENOENT);
+            }
+            remove(registration);
+        }
+
+        /**
+         * Takes the channel out of the selector so that it can be switched to blocking mode. It
+         * stays registered with the poller as a pending registration.
+         */
+        void releaseChannel(SelectableChannel channel) {
+            boolean cancelled = false;
+            synchronized (this) {
+                for (PollerRegistration registration : registrations.values()) {
+                    // temporary registrations are released by the waiting thread itself
+                    if (registration.channel == channel && registration.key != null && !pending.contains(registration)) {
+                        registration.key.cancel();
+                        registration.key = null;
+                        pending.add(registration);
+                        cancelled = true;
+                    }
+                }
+            }
+            // the channel is deregistered only by the next selection operation, which is either
+            // ours or that of the thread currently waiting (which will not return because of the
+            // wakeup, it keeps waiting for ready channels)
+            while (cancelled && channel.keyFor(selector) != null && !closed) {
+                if (waitLock.tryLock()) {
+                    try {
+                        flushCancelledKeys();
+                    } catch (IOException | ClosedSelectorException e) {
+                        // the caller will fail to change the blocking mode
+                        return;
+                    } finally {
+                        waitLock.unlock();
+                    }
+                } else {
+                    selector.wakeup();
+                    Thread.yield();
+                }
+            }
+        }
+
+        int await(EmulatedPosixSupport posixSupport, int[] fds, int[] revents, long timeoutMs) throws PosixException, IOException {
+            long deadline = timeoutMs > 0 ? System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs) : 0;
+            waitLock.lock();
+            ArrayList<PollerRegistration> temporary = null;
+            try {
+                while (true) {
+                    temporary = attachPending(posixSupport, temporary);
+                    // Java uses 0 for no timeout and selectNow() for not blocking at all
+                    if (timeoutMs < 0) {
+                        selector.select();
+                    } else if (timeoutMs == 0) {
+                        selector.selectNow();
+                    } else {
+                        long remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+                        if (remaining > 0) {
+                            selector.select(remaining);
+                        } else {
+                            selector.selectNow();
+                        }
+                    }
+                    int count = 0;
+                    for (SelectionKey key : selector.selectedKeys()) {
+                        if (count == fds.length) {
+                            // the remaining ones are still ready next time
+                            break;
+                        }
+                        if (key.isValid()) {
+                            PollerRegistration registration = (PollerRegistration) key.attachment();
+                            int ready = readyEvents(key.readyOps(), registration.events);
+                            if (ready != 0) {
+                                fds[count] = registration.fd;
+                                revents[count] = ready;
+                                count++;
+                            }
+                        }
+                    }
+                    selector.selectedKeys().clear();
+                    // The selector also returns when woken up because the registrations changed,
+                    // epoll would keep waiting in that case. A thread interrupt is reported as a
+                    // timeout, like select does.
+                    if (count > 0 || timeoutMs == 0 || (timeoutMs > 0 && System.nanoTime() - deadline >= 0) || Thread.currentThread().isInterrupted()) {
+                        return count;
+                    }
+                }
+            } catch (ClosedSelectorException e) {
+                throw posixException(OSErrorEnum.EBADF);
+            } finally {
+                if (temporary != null) {
+                    releaseTemporary(temporary);
+                }
+                waitLock.unlock();
+            }
+        }
+
+        /**
+         * Registers the pending registrations that can be registered now, channels in blocking
+         * mode are temporarily switched to non-blocking mode and added to {@code temporary}.
+         */
+        private ArrayList<PollerRegistration> attachPending(EmulatedPosixSupport posixSupport, ArrayList<PollerRegistration> temporaryIn) throws PosixException, IOException {
+            ArrayList<PollerRegistration> temporary = temporaryIn;
+            synchronized (this) {
+                checkOpen();
+                if (hasCancelledKeys) {
+                    flushCancelledKeys();
+                }
+                Iterator<PollerRegistration> it = pending.iterator();
+                while (it.hasNext()) {
+                    PollerRegistration registration = it.next();
+                    if (registration.key != null) {
+                        // already registered temporarily by a previous iteration of the wait
+                        continue;
+                    }
+                    if (registration.channel == null) {
+                        Channel ch = posixSupport.getFileChannel(registration.fd);
+                        if (ch == null) {
+                            registrations.remove(registration.fd, registration);
+                            it.remove();
+                            continue;
+                        }
+                        registration.channel = toSelectableChannel(ch);
+                        if (registration.channel == null) {
+                            continue;
+                        }
+                    }
+                    if (tryAttach(registration)) {
+                        it.remove();
+                    } else if (registration.isStale()) {
+                        registrations.remove(registration.fd, registration);
+                        it.remove();
+                    } else {
+                        synchronized (registration.channel.blockingLock()) {
+                            registration.channel.configureBlocking(false);
+                            registration.key = registration.channel.register(selector, interestOps(registration.channel, registration.events), registration);
+                        }
+                        if (temporary == null) {
+                            temporary = new ArrayList<>();
+                        }
+                        temporary.add(registration);
+                    }
+                }
+            }
+            return temporary;
+        }
+
+        private void releaseTemporary(ArrayList<PollerRegistration> temporary) {
+            synchronized (this) {
+                for (PollerRegistration registration : temporary) {
+                    if (registration.key != null) {
+                        registration.key.cancel();
+                        registration.key = null;
+                    }
+                }
+            }
+            try {
+                if (!closed) {
+                    flushCancelledKeys();
+                }
+                for (PollerRegistration registration : temporary) {
+                    registration.channel.configureBlocking(true);
+                }
+            } catch (IOException | IllegalBlockingModeException | ClosedSelectorException e) {
+                // We didn't manage to restore the blocking status, ignore
+            }
+        }
+
+        void close() throws IOException {
+            closed = true;
+            selector.close();
+        }
+
+        /**
+         * Registers the channel with the selector unless it is in blocking mode (or closed).
+         */
+        private boolean tryAttach(PollerRegistration registration) {
+            SelectableChannel channel = registration.channel;
+            if (channel == null) {
+                return false;
+            }
+            try {
+                synchronized (channel.blockingLock()) {
+                    if (channel.isBlocking()) {
+                        return false;
+                    }
+                    registration.key = channel.register(selector, interestOps(channel, registration.events), registration);
+                    return true;
+                }
+            } catch (ClosedChannelException | CancelledKeyException e) {
+                // closed or still registered with a cancelled key, which will be flushed before
+                // the next wait
+                return false;
+            }
+        }
+
+        private void remove(PollerRegistration registration) {
+            registrations.remove(registration.fd, registration);
+            pending.remove(registration);
+            if (registration.key != null) {
+                registration.key.cancel();
+                registration.key = null;
+                hasCancelledKeys = true;
+            }
+        }
+
+        private void flushCancelledKeys() throws IOException {
+            selector.selectNow();
+            selector.selectedKeys().clear();
+            hasCancelledKeys = false;
+        }
+
+        private void wakeupWaiter() {
+            // changes of registrations are only picked up by the next selection operation
+            if (waitLock.isLocked()) {
+                selector.wakeup();
+            }
+        }
+
+        private void checkOpen() throws PosixException {
+            if (closed) {
+                throw posixException(OSErrorEnum.EBADF);
+            }
+        }
+
+        private static int interestOps(SelectableChannel channel, int events) {
+            int ops = 0;
+            if ((events & (POLLIN.getValueIfDefined() | POLLRDNORM.getValueIfDefined())) != 0) {
+                ops |= SelectionKey.OP_READ | SelectionKey.OP_ACCEPT;
+            }
+            if ((events & (POLLOUT.getValueIfDefined() | POLLWRNORM.getValueIfDefined())) != 0) {
+                ops |= SelectionKey.OP_WRITE;
+            }
+            return ops & channel.validOps();
+        }
+
+        private static int readyEvents(int readyOps, int events) {
+            int ready = 0;
+            if ((readyOps & (SelectionKey.OP_READ | SelectionKey.OP_ACCEPT)) != 0) {
+                ready |= events & (POLLIN.getValueIfDefined() | POLLRDNORM.getValueIfDefined());
+            }
+            if ((readyOps & SelectionKey.OP_WRITE) != 0) {
+                ready |= events & (POLLOUT.getValueIfDefined() | POLLWRNORM.getValueIfDefined());
+            }
+            return ready;
+        }
+    }
+
     /**
      * Base class for emulated sockets. There are subclasses specific for each socket type
      * (SOCK_STREAM/SOCK_DGRAM). Methods are expected to be called behind a {@code TruffleBoundary}.
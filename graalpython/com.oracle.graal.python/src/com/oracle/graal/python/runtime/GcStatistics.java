@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2024, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.runtime;
+
+/**
+ * What {@code gc.collect} actually did in one context, per requested generation. Python code can
+ * read the counters with {@code gc.get_stats()}. They are only updated while holding the GIL.
+ */
+public final class GcStatistics {
+    public static final int NUM_GENERATIONS = 3;
+
+    private final long[] collections = new long[NUM_GENERATIONS];
+    private final long[] collected = new long[NUM_GENERATIONS];
+    private final long[] fullCollections = new long[NUM_GENERATIONS];
+
+    /**
+     * Records a {@code gc.collect(generation)} that released {@code released} references and
+     * forced a full JVM GC if {@code fullGC} is set.
+     */
+    public void recordCollection(int generation, long released, boolean fullGC) {
+        collections[generation]++;
+        collected[generation] += released;
+        if (fullGC) {
+            fullCollections[generation]++;
+        }
+    }
+
+    public long getCollections(int generation) {
+        return collections[generation];
+    }
+
+    public long getCollected(int generation) {
+        return collected[generation];
+    }
+
+    /**
+     * The number of collections of the given generation that forced a full JVM GC.
+     */
+    public long getFullCollections(int generation) {
+        return fullCollections[generation];
+    }
+}
@@ -0,0 +1,177 @@
+/*
+ * Copyright (c) 2024, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.runtime;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Contention counters of the global interpreter lock of one context. They are only collected if
+ * {@link PythonOptions#GilStatistics} is enabled, because timing every GIL transition costs two
+ * {@link System#nanoTime()} calls. Python code can poll them with
+ * {@code __graalpython__.gil_stats()}, Java code with {@link PythonContext#getGilStatistics()}.
+ *
+ * The acquisition and hold counters are only updated by the thread that holds the GIL, so they need
+ * no synchronization of their own. Readers that do not hold the GIL may observe a slightly stale
+ * snapshot.
+ */
+public final class GilStatistics {
+    /**
+     * Upper bounds (exclusive, in nanoseconds) of the buckets of the wait time histogram. The last
+     * bucket of the histogram counts all waits longer than the last bound.
+     */
+    private static final long[] WAIT_BUCKET_BOUNDS = {10_000L, 100_000L, 1_000_000L, 10_000_000L, 100_000_000L};
+
+    private final long createdAt = System.nanoTime();
+
+    private long acquisitions;
+    private long handoffs;
+    private long totalHoldNanos;
+    private long maxHoldNanos;
+    private long totalWaitNanos;
+    private long maxWaitNanos;
+    private final long[] waitHistogram = new long[WAIT_BUCKET_BOUNDS.length + 1];
+
+    private Thread lastOwner;
+    private long acquiredAt;
+
+    private final AtomicLong switchRequests = new AtomicLong();
+    private volatile long switchIntervalMicros;
+
+    /**
+     * Called by the new owner right after it got the GIL.
+     *
+     * @param requestedAt the {@link System#nanoTime()} at which the thread started to wait
+     */
+    void acquired(long requestedAt) {
+        long now = System.nanoTime();
+        long wait = now - requestedAt;
+        acquisitions++;
+        totalWaitNanos += wait;
+        maxWaitNanos = Math.max(maxWaitNanos, wait);
+        int bucket = 0;
+        while (bucket < WAIT_BUCKET_BOUNDS.length && wait >= WAIT_BUCKET_BOUNDS[bucket]) {
+            bucket++;
+        }
+        waitHistogram[bucket]++;
+        Thread current = Thread.currentThread();
+        if (current != lastOwner) {
+            handoffs++;
+            lastOwner = current;
+        }
+        acquiredAt = now;
+    }
+
+    /**
+     * Called by the owner right before it releases the GIL.
+     */
+    void released() {
+        long hold = System.nanoTime() - acquiredAt;
+        totalHoldNanos += hold;
+        maxHoldNanos = Math.max(maxHoldNanos, hold);
+    }
+
+    void switchRequested() {
+        switchRequests.incrementAndGet();
+    }
+
+    void setSwitchIntervalMicros(long interval) {
+        switchIntervalMicros = interval;
+    }
+
+    public long getAcquisitions() {
+        return acquisitions;
+    }
+
+    /**
+     * Number of acquisitions by a different thread than the previous owner.
+     */
+    public long getHandoffs() {
+        return handoffs;
+    }
+
+    public double getHandoffsPerSecond() {
+        double seconds = (System.nanoTime() - createdAt) / 1e9;
+        return seconds > 0 ? handoffs / seconds : 0.0;
+    }
+
+    public long getTotalHoldNanos() {
+        return totalHoldNanos;
+    }
+
+    public long getMaxHoldNanos() {
+        return maxHoldNanos;
+    }
+
+    public long getTotalWaitNanos() {
+        return totalWaitNanos;
+    }
+
+    public long getMaxWaitNanos() {
+        return maxWaitNanos;
+    }
+
+    /**
+     * Returns a copy of the wait time histogram, see {@link #getWaitHistogramBounds()}.
+     */
+    public long[] getWaitHistogram() {
+        return Arrays.copyOf(waitHistogram, waitHistogram.length);
+    }
+
+    public static long[] getWaitHistogramBounds() {
+        return Arrays.copyOf(WAIT_BUCKET_BOUNDS, WAIT_BUCKET_BOUNDS.length);
+    }
+
+    /**
+     * Number of times the GIL owner was asked to hand over the GIL to a waiting thread.
+     */
+    public long getSwitchRequests() {
+        return switchRequests.get();
+    }
+
+    /**
+     * The switch interval currently used by the GIL release scheduler, which differs from
+     * {@code sys.getswitchinterval()} if {@link PythonOptions#AdaptiveSwitchInterval} is enabled.
+     */
+    public long getSwitchIntervalMicros() {
+        return switchIntervalMicros;
+    }
+}
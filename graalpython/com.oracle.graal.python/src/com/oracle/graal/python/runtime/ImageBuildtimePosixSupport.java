@@ -201,6 +201,15 @@ public class ImageBuildtimePosixSupport extends PosixSupport {
         return nativeLib.read(nativePosixSupport, fd, length);
     }
 
+    @ExportMessage
+    final int readInto(int fd, byte[] dst, int offset, int length,
+                    @CachedLibrary("this.nativePosixSupport") PosixSupportLibrary nativeLib) throws PosixException {
+        if (ImageInfo.inImageBuildtimeCode()) {
+            return PosixSupportLibrary.getUncached().readInto(emulatedPosixSupport, fd, dst, offset, length);
+        }
+        return nativeLib.readInto(nativePosixSupport, fd, dst, offset, length);
+    }
+
     @ExportMessage
     final long write(int fd, Buffer data,
                     @CachedLibrary("this.nativePosixSupport") PosixSupportLibrary nativeLib) throws PosixException {
@@ -252,6 +261,55 @@ public class ImageBuildtimePosixSupport extends PosixSupport {
         return nativeLib.select(nativePosixSupport, readfds, writefds, errorfds, timeout);
     }
 
+    @ExportMessage
+    final Object pollerCreate(
+                    @CachedLibrary("this.nativePosixSupport") PosixSupportLibrary nativeLib) throws PosixException {
+        checkNotInImageBuildtime();
+        return nativeLib.pollerCreate(nativePosixSupport);
+    }
+
+    @ExportMessage
+    final void pollerRegister(Object poller, int fd, int events,
+                    @CachedLibrary("this.nativePosixSupport") PosixSupportLibrary nativeLib) throws PosixException {
+        checkNotInImageBuildtime();
+        nativeLib.pollerRegister(nativePosixSupport, poller, fd, events);
+    }
+
+    @ExportMessage
+    final void pollerModify(Object poller, int fd, int events,
+                    @CachedLibrary("this.nativePosixSupport") PosixSupportLibrary nativeLib) throws PosixException {
+        checkNotInImageBuildtime();
+        nativeLib.pollerModify(nativePosixSupport, poller, fd, events);
+    }
+
+    @ExportMessage
+    final void pollerUnregister(Object poller, int fd,
+                    @CachedLibrary("this.nativePosixSupport") PosixSupportLibrary nativeLib) throws PosixException {
+        checkNotInImageBuildtime();
+        nativeLib.pollerUnregister(nativePosixSupport, poller, fd);
+    }
+
+    @ExportMessage
+    final int pollerWait(Object poller, int[] fds, int[] revents, long timeoutMs,
+                    @CachedLibrary("this.nativePosixSupport") PosixSupportLibrary nativeLib) throws PosixException {
+        checkNotInImageBuildtime();
+        return nativeLib.pollerWait(nativePosixSupport, poller, fds, revents, timeoutMs);
+    }
+
+    @ExportMessage
+    final int pollerFileno(Object poller,
+                    @CachedLibrary("this.nativePosixSupport") PosixSupportLibrary nativeLib) {
+        checkNotInImageBuildtime();
+        return nativeLib.pollerFileno(nativePosixSupport, poller);
+    }
+
+    @ExportMessage
+    final void pollerClose(Object poller,
+                    @CachedLibrary("this.nativePosixSupport") PosixSupportLibrary nativeLib) throws PosixException {
+        checkNotInImageBuildtime();
+        nativeLib.pollerClose(nativePosixSupport, poller);
+    }
+
     @ExportMessage
     final long lseek(int fd, long offset, int how,
                     @CachedLibrary("this.nativePosixSupport") PosixSupportLibrary nativeLib) throws PosixException {
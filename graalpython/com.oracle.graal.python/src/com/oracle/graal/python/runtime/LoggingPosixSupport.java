@@ -183,6 +183,17 @@ public class LoggingPosixSupport extends PosixSupport {
         }
     }
 
+    @ExportMessage
+    final int readInto(int fd, byte[] dst, int offset, int length,
+                    @CachedLibrary("this.delegate") PosixSupportLibrary lib) throws PosixException {
+        logEnter("readInto", "%d, %d, %d", fd, offset, length);
+        try {
+            return logExit("readInto", "%d", lib.readInto(delegate, fd, dst, offset, length));
+        } catch (PosixException e) {
+            throw logException("readInto", e);
+        }
+    }
+
     @ExportMessage
     final long write(int fd, Buffer data,
                     @CachedLibrary("this.delegate") PosixSupportLibrary lib) throws PosixException {
@@ -261,6 +272,79 @@ public class LoggingPosixSupport extends PosixSupport {
         }
     }
 
+    @ExportMessage
+    final Object pollerCreate(
+                    @CachedLibrary("this.delegate") PosixSupportLibrary lib) throws PosixException {
+        logEnter("pollerCreate", "");
+        try {
+            return logExit("pollerCreate", "%s", lib.pollerCreate(delegate));
+        } catch (PosixException e) {
+            throw logException("pollerCreate", e);
+        }
+    }
+
+    @ExportMessage
+    final void pollerRegister(Object poller, int fd, int events,
+                    @CachedLibrary("this.delegate") PosixSupportLibrary lib) throws PosixException {
+        logEnter("pollerRegister", "%s, %d, 0x%x", poller, fd, events);
+        try {
+            lib.pollerRegister(delegate, poller, fd, events);
+        } catch (PosixException e) {
+            throw logException("pollerRegister", e);
+        }
+    }
+
+    @ExportMessage
+    final void pollerModify(Object poller, int fd, int events,
+                    @CachedLibrary("this.delegate") PosixSupportLibrary lib) throws PosixException {
+        logEnter("pollerModify", "%s, %d, 0x%x", poller, fd, events);
+        try {
+            lib.pollerModify(delegate, poller, fd, events);
+        } catch (PosixException e) {
+            throw logException("pollerModify", e);
+        }
+    }
+
+    @ExportMessage
+    final void pollerUnregister(Object poller, int fd,
+                    @CachedLibrary("this.delegate") PosixSupportLibrary lib) throws PosixException {
+        logEnter("pollerUnregister", "%s, %d", poller, fd);
+        try {
+            lib.pollerUnregister(delegate, poller, fd);
+        } catch (PosixException e) {
+            throw logException("pollerUnregister", e);
+        }
+    }
+
+    @ExportMessage
+    final int pollerWait(Object poller, int[] fds, int[] revents, long timeoutMs,
+                    @CachedLibrary("this.delegate") PosixSupportLibrary lib) throws PosixException {
+        logEnter("pollerWait", "%s, %d, %d", poller, fds.length, timeoutMs);
+        try {
+            return logExit("pollerWait", "%d", lib.pollerWait(delegate, poller, fds, revents, timeoutMs));
+        } catch (PosixException e) {
+            throw logException("pollerWait", e);
+        }
+    }
+
+    @ExportMessage
+    final int pollerFileno(Object poller,
+                    @CachedLibrary("this.delegate") PosixSupportLibrary lib) {
+        logEnter("pollerFileno", "%s", poller);
+        return logExit("pollerFileno", "%d", lib.pollerFileno(delegate, poller));
+    }
+
+    @ExportMessage
+    final void pollerClose(Object poller,
+                    @CachedLibrary("this.delegate") PosixSupportLibrary lib) throws PosixException {
+        logEnter("pollerClose", "%s", poller);
+        try {
+            lib.pollerClose(delegate, poller);
+        } catch (PosixException e) {
+            throw logException("pollerClose", e);
+        }
+    }
+
     @ExportMessage
     final long lseek(int fd, long offset, int how,
                     @CachedLibrary("this.delegate") PosixSupportLibrary lib) throws PosixException {
@@ -85,6 +85,8 @@ import static com.oracle.truffle.api.CompilerDirectives.shouldNotReachHere;
 import static com.oracle.truffle.api.strings.TruffleString.Encoding.UTF_8;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.concurrent.atomic.AtomicReferenceArray;
 import java.util.logging.Level;
 
@@ -176,11 +178,16 @@ public final class NFIPosixSupport extends PosixSupport {
         call_openat("(sint32, [sint8], sint32, sint32):sint32"),
         call_close("(sint32):sint32"),
         call_read("(sint32, [sint8], uint64):sint64"),
+        call_read_offset("(sint32, [sint8], uint64, uint64):sint64"),
         call_write("(sint32, [sint8], uint64):sint64"),
         call_dup("(sint32):sint32"),
         call_dup2("(sint32, sint32, sint32):sint32"),
         call_pipe2("([sint32]):sint32"),
         call_select("(sint32, [sint32], sint32, [sint32], sint32, [sint32], sint32, sint64, sint64, [sint8]):sint32"),
+        call_epoll_create("():sint32"),
+        call_epoll_ctl("(sint32, sint32, sint32, sint32):sint32"),
+        call_epoll_wait("(sint32, [sint32], [sint32], sint32, sint32):sint32"),
+        call_poll("([sint32], [sint32], [sint32], sint32, sint32):sint32"),
         call_lseek("(sint32, sint64, sint32):sint64"),
         call_ftruncate("(sint32, sint64):sint32"),
         call_fsync("(sint32):sint32"),
@@ -541,6 +548,17 @@ public final class NFIPosixSupport extends PosixSupport {
         return buffer.withLength(n);
     }
 
+    @ExportMessage
+    public int readInto(int fd, byte[] dst, int offset, int length,
+                    @Shared("invoke") @Cached InvokeNativeFunction invokeNode) throws PosixException {
+        setErrno(invokeNode, 0);
+        long n = invokeNode.callLong(this, PosixNativeFunction.call_read_offset, fd, wrap(dst), offset, Math.min(length, MAX_READ));
+        if (n < 0) {
+            throw getErrnoAndThrowPosixException(invokeNode);
+        }
+        return (int) n;
+    }
+
     @ExportMessage
     public long write(int fd, Buffer data,
                     @Shared("invoke") @Cached InvokeNativeFunction invokeNode) throws PosixException {
@@ -630,6 +648,172 @@ public final class NFIPosixSupport extends PosixSupport {
 
     }
 
+    // operation codes understood by call_epoll_ctl
+    private static final int EPOLL_CTL_ADD = 0;
+    private static final int EPOLL_CTL_MOD = 1;
+    private static final int EPOLL_CTL_DEL = 2;
+
+    /**
+     * Poller used on platforms without epoll. The registrations are kept on the Java side and
+     * every wait passes all of them to {@code poll}.
+     */
+    private static final class PollSet {
+        // guarded by this
+        private final LinkedHashMap<Integer, Integer> registrations = new LinkedHashMap<>();
+
+        synchronized void register(int fd, int events) throws PosixException {
+            if (registrations.putIfAbsent(fd, events) != null) {
+                throw new PosixException(OSErrorEnum.EEXIST.getNumber(), OSErrorEnum.EEXIST.getMessage());
+            }
+        }
+
+        synchronized void modify(int fd, int events) throws PosixException {
+            if (registrations.replace(fd, events) == null) {
+                throw new PosixException(OSErrorEnum.ENOENT.getNumber(), OSErrorEnum.ENOENT.getMessage());
+            }
+        }
+
+        synchronized void unregister(int fd) throws PosixException {
+            if (registrations.remove(fd) == null) {
+                throw new PosixException(OSErrorEnum.ENOENT.getNumber(), OSErrorEnum.ENOENT.getMessage());
+            }
+        }
+
+        synchronized int[][] snapshot() {
+            int[] fds = new int[registrations.size()];
+            int[] events = new int[fds.length];
+            int i = 0;
+            for (Map.Entry<Integer, Integer> entry : registrations.entrySet()) {
+                fds[i] = entry.getKey();
+                events[i] = entry.getValue();
+                i++;
+            }
+            return new int[][]{fds, events};
+        }
+    }
+
+    @ExportMessage
+    public Object pollerCreate(
+                    @Shared("invoke") @Cached InvokeNativeFunction invokeNode) throws PosixException {
+        if (PythonOS.getPythonOS() != PythonOS.PLATFORM_LINUX) {
+            return createPollSet();
+        }
+        int epfd = invokeNode.callInt(this, PosixNativeFunction.call_epoll_create);
+        if (epfd < 0) {
+            throw getErrnoAndThrowPosixException(invokeNode);
+        }
+        return epfd;
+    }
+
+    @TruffleBoundary
+    private static PollSet createPollSet() {
+        return new PollSet();
+    }
+
+    @ExportMessage
+    public void pollerRegister(Object poller, int fd, int events,
+                    @Shared("invoke") @Cached InvokeNativeFunction invokeNode) throws PosixException {
+        if (poller instanceof PollSet) {
+            pollSetRegister((PollSet) poller, fd, events);
+        } else {
+            epollCtl(invokeNode, poller, EPOLL_CTL_ADD, fd, events);
+        }
+    }
+
+    @ExportMessage
+    public void pollerModify(Object poller, int fd, int events,
+                    @Shared("invoke") @Cached InvokeNativeFunction invokeNode) throws PosixException {
+        if (poller instanceof PollSet) {
+            pollSetModify((PollSet) poller, fd, events);
+        } else {
+            epollCtl(invokeNode, poller, EPOLL_CTL_MOD, fd, events);
+        }
+    }
+
+    @ExportMessage
+    public void pollerUnregister(Object poller, int fd,
+                    @Shared("invoke") @Cached InvokeNativeFunction invokeNode) throws PosixException {
+        if (poller instanceof PollSet) {
+            pollSetUnregister((PollSet) poller, fd);
+        } else {
+            epollCtl(invokeNode, poller, EPOLL_CTL_DEL, fd, 0);
+        }
+    }
+
+    @TruffleBoundary
+    private static void pollSetRegister(PollSet pollSet, int fd, int events) throws PosixException {
+        pollSet.register(fd, events);
+    }
+
+    @TruffleBoundary
+    private static void pollSetModify(PollSet pollSet, int fd, int events) throws PosixException {
+        pollSet.modify(fd, events);
+    }
+
+    @TruffleBoundary
+    private static void pollSetUnregister(PollSet pollSet, int fd) throws PosixException {
+        pollSet.unregister(fd);
+    }
+
+    @TruffleBoundary
+    private static int[][] pollSetSnapshot(PollSet pollSet) {
+        return pollSet.snapshot();
+    }
+
+    private void epollCtl(InvokeNativeFunction invokeNode, Object poller, int op, int fd, int events) throws PosixException {
+        int res = invokeNode.callInt(this, PosixNativeFunction.call_epoll_ctl, (int) poller, op, fd, events);
+        if (res < 0) {
+            throw getErrnoAndThrowPosixException(invokeNode);
+        }
+    }
+
+    @ExportMessage
+    public int pollerWait(Object poller, int[] fds, int[] revents, long timeoutMs,
+                    @Shared("invoke") @Cached InvokeNativeFunction invokeNode) throws PosixException {
+        assert fds.length > 0 && revents.length >= fds.length;
+        int timeout = timeoutMs < 0 ? -1 : (int) Math.min(timeoutMs, Integer.MAX_VALUE);
+        if (poller instanceof PollSet) {
+            int[][] registered = pollSetSnapshot((PollSet) poller);
+            int[] polledFds = registered[0];
+            int[] polledRevents = new int[polledFds.length];
+            int res = invokeNode.callInt(this, PosixNativeFunction.call_poll, wrap(polledFds), wrap(registered[1]), wrap(polledRevents), polledFds.length, timeout);
+            if (res < 0) {
+                throw getErrnoAndThrowPosixException(invokeNode);
+            }
+            int count = 0;
+            for (int i = 0; i < polledFds.length && count < fds.length; i++) {
+                if (polledRevents[i] != 0) {
+                    fds[count] = polledFds[i];
+                    revents[count] = polledRevents[i];
+                    count++;
+                }
+            }
+            return count;
+        }
+        int res = invokeNode.callInt(this, PosixNativeFunction.call_epoll_wait, (int) poller, wrap(fds), wrap(revents), fds.length, timeout);
+        if (res < 0) {
+            throw getErrnoAndThrowPosixException(invokeNode);
+        }
+        return res;
+    }
+
+    @ExportMessage
+    public int pollerFileno(Object poller) {
+        return poller instanceof PollSet ? -1 : (int) poller;
+    }
+
+    @ExportMessage
+    public void pollerClose(Object poller,
+                    @Shared("invoke") @Cached InvokeNativeFunction invokeNode) throws PosixException {
+        if (poller instanceof PollSet) {
+            return;
+        }
+        int res = invokeNode.callInt(this, PosixNativeFunction.call_close, (int) poller);
+        if (res < 0) {
+            throw getErrnoAndThrowPosixException(invokeNode);
+        }
+    }
+
     private static boolean[] selectFillInResult(int[] fds, byte[] selected, int selectedOffset) {
         boolean[] res = new boolean[fds.length];
         for (int i = 0; i < fds.length; i++) {
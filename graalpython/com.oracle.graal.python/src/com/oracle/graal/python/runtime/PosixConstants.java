@@ -187,6 +187,33 @@ public final class PosixConstants {
     public static final MandatoryIntConstant RTLD_NOW;
     public static final MandatoryIntConstant RTLD_GLOBAL;
     public static final MandatoryIntConstant RTLD_LOCAL;
+    public static final OptionalIntConstant POLLIN;
+    public static final OptionalIntConstant POLLPRI;
+    public static final OptionalIntConstant POLLOUT;
+    public static final OptionalIntConstant POLLERR;
+    public static final OptionalIntConstant POLLHUP;
+    public static final OptionalIntConstant POLLNVAL;
+    public static final OptionalIntConstant POLLRDNORM;
+    public static final OptionalIntConstant POLLRDBAND;
+    public static final OptionalIntConstant POLLWRNORM;
+    public static final OptionalIntConstant POLLWRBAND;
+    public static final OptionalIntConstant POLLMSG;
+    public static final OptionalIntConstant POLLRDHUP;
+    public static final OptionalIntConstant EPOLLIN;
+    public static final OptionalIntConstant EPOLLPRI;
+    public static final OptionalIntConstant EPOLLOUT;
+    public static final OptionalIntConstant EPOLLERR;
+    public static final OptionalIntConstant EPOLLHUP;
+    public static final OptionalIntConstant EPOLLRDHUP;
+    public static final OptionalIntConstant EPOLLRDNORM;
+    public static final OptionalIntConstant EPOLLRDBAND;
+    public static final OptionalIntConstant EPOLLWRNORM;
+    public static final OptionalIntConstant EPOLLWRBAND;
+    public static final OptionalIntConstant EPOLLMSG;
+    public static final OptionalIntConstant EPOLLET;
+    public static final OptionalIntConstant EPOLLONESHOT;
+    public static final OptionalIntConstant EPOLLEXCLUSIVE;
+    public static final OptionalIntConstant EPOLL_CLOEXEC;
     public static final MandatoryIntConstant AF_UNSPEC;
     public static final MandatoryIntConstant AF_INET;
     public static final MandatoryIntConstant AF_INET6;
@@ -341,6 +368,8 @@ public final class PosixConstants {
     public static final IntConstant[] accessMode;
     public static final IntConstant[] exitStatus;
     public static final IntConstant[] rtld;
+    public static final IntConstant[] pollEvents;
+    public static final IntConstant[] epollEvents;
     public static final IntConstant[] socketFamily;
     public static final IntConstant[] socketType;
     public static final IntConstant[] ip4Address;
@@ -466,6 +495,33 @@ public final class PosixConstants {
         RTLD_NOW = reg.createMandatoryInt("RTLD_NOW");
         RTLD_GLOBAL = reg.createMandatoryInt("RTLD_GLOBAL");
         RTLD_LOCAL = reg.createMandatoryInt("RTLD_LOCAL");
+        POLLIN = reg.createOptionalInt("POLLIN");
+        POLLPRI = reg.createOptionalInt("POLLPRI");
+        POLLOUT = reg.createOptionalInt("POLLOUT");
+        POLLERR = reg.createOptionalInt("POLLERR");
+        POLLHUP = reg.createOptionalInt("POLLHUP");
+        POLLNVAL = reg.createOptionalInt("POLLNVAL");
+        POLLRDNORM = reg.createOptionalInt("POLLRDNORM");
+        POLLRDBAND = reg.createOptionalInt("POLLRDBAND");
+        POLLWRNORM = reg.createOptionalInt("POLLWRNORM");
+        POLLWRBAND = reg.createOptionalInt("POLLWRBAND");
+        POLLMSG = reg.createOptionalInt("POLLMSG");
+        POLLRDHUP = reg.createOptionalInt("POLLRDHUP");
+        EPOLLIN = reg.createOptionalInt("EPOLLIN");
+        EPOLLPRI = reg.createOptionalInt("EPOLLPRI");
+        EPOLLOUT = reg.createOptionalInt("EPOLLOUT");
+        EPOLLERR = reg.createOptionalInt("EPOLLERR");
+        EPOLLHUP = reg.createOptionalInt("EPOLLHUP");
+        EPOLLRDHUP = reg.createOptionalInt("EPOLLRDHUP");
+        EPOLLRDNORM = reg.createOptionalInt("EPOLLRDNORM");
+        EPOLLRDBAND = reg.createOptionalInt("EPOLLRDBAND");
+        EPOLLWRNORM = reg.createOptionalInt("EPOLLWRNORM");
+        EPOLLWRBAND = reg.createOptionalInt("EPOLLWRBAND");
+        EPOLLMSG = reg.createOptionalInt("EPOLLMSG");
+        EPOLLET = reg.createOptionalInt("EPOLLET");
+        EPOLLONESHOT = reg.createOptionalInt("EPOLLONESHOT");
+        EPOLLEXCLUSIVE = reg.createOptionalInt("EPOLLEXCLUSIVE");
+        EPOLL_CLOEXEC = reg.createOptionalInt("EPOLL_CLOEXEC");
         AF_UNSPEC = reg.createMandatoryInt("AF_UNSPEC");
         AF_INET = reg.createMandatoryInt("AF_INET");
         AF_INET6 = reg.createMandatoryInt("AF_INET6");
@@ -622,6 +678,9 @@ public final class PosixConstants {
         exitStatus = new IntConstant[]{EX_OK, EX_USAGE, EX_DATAERR, EX_NOINPUT, EX_NOUSER, EX_NOHOST, EX_UNAVAILABLE, EX_SOFTWARE, EX_OSERR, EX_OSFILE, EX_CANTCREAT, EX_IOERR, EX_TEMPFAIL,
                         EX_PROTOCOL, EX_NOPERM, EX_CONFIG, EX_NOTFOUND};
         rtld = new IntConstant[]{RTLD_LAZY, RTLD_NOW, RTLD_GLOBAL, RTLD_LOCAL};
+        pollEvents = new IntConstant[]{POLLIN, POLLPRI, POLLOUT, POLLERR, POLLHUP, POLLNVAL, POLLRDNORM, POLLRDBAND, POLLWRNORM, POLLWRBAND, POLLMSG, POLLRDHUP};
+        epollEvents = new IntConstant[]{EPOLLIN, EPOLLPRI, EPOLLOUT, EPOLLERR, EPOLLHUP, EPOLLRDHUP, EPOLLRDNORM, EPOLLRDBAND, EPOLLWRNORM, EPOLLWRBAND, EPOLLMSG, EPOLLET, EPOLLONESHOT,
+                        EPOLLEXCLUSIVE, EPOLL_CLOEXEC};
         socketFamily = new IntConstant[]{AF_UNSPEC, AF_INET, AF_INET6, AF_PACKET, AF_UNIX};
         socketType = new IntConstant[]{SOCK_DGRAM, SOCK_STREAM};
         ip4Address = new IntConstant[]{INADDR_ANY, INADDR_BROADCAST, INADDR_NONE, INADDR_LOOPBACK, INADDR_ALLHOSTS_GROUP, INADDR_MAX_LOCAL_GROUP, INADDR_UNSPEC_GROUP};
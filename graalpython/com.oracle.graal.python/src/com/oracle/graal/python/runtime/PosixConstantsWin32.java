@@ -113,6 +113,16 @@ class PosixConstantsWin32 {
         constants.put("RTLD_NOW", 0);
         constants.put("RTLD_GLOBAL", 0);
         constants.put("RTLD_LOCAL", 0);
+        constants.put("POLLIN", 0x00000300);
+        constants.put("POLLPRI", 0x00000400);
+        constants.put("POLLOUT", 0x00000010);
+        constants.put("POLLERR", 0x00000001);
+        constants.put("POLLHUP", 0x00000002);
+        constants.put("POLLNVAL", 0x00000004);
+        constants.put("POLLRDNORM", 0x00000100);
+        constants.put("POLLRDBAND", 0x00000200);
+        constants.put("POLLWRNORM", 0x00000010);
+        constants.put("POLLWRBAND", 0x00000020);
         constants.put("AF_UNSPEC", 0);
         constants.put("AF_INET", 2);
         constants.put("AF_INET6", 23);
@@ -93,6 +93,12 @@ public abstract class PosixSupportLibrary extends Library {
 
     public abstract Buffer read(Object receiver, int fd, long length) throws PosixException;
 
+    /**
+     * Like {@link #read(Object, int, long)}, but stores the bytes directly into {@code dst} starting
+     * at {@code offset} instead of into a new buffer. Returns the number of bytes read.
+     */
+    public abstract int readInto(Object receiver, int fd, byte[] dst, int offset, int length) throws PosixException;
+
     public abstract long write(Object receiver, int fd, Buffer data) throws PosixException;
 
     public abstract int dup(Object receiver, int fd) throws PosixException;
@@ -107,6 +113,56 @@ public abstract class PosixSupportLibrary extends Library {
 
     public abstract SelectResult select(Object receiver, int[] readfds, int[] writefds, int[] errorfds, Timeval timeout) throws PosixException;
 
+    /**
+     * Creates a poller, i.e., a set of file descriptors with the events of interest that is kept
+     * across calls to {@link #pollerWait(Object, Object, int[], int[], long)}, so that the cost of
+     * a wait depends on the number of ready file descriptors rather than on the number of
+     * registered ones where the platform allows it. The semantics follow {@code epoll}: events
+     * are given as {@code POLL*} flags (which have the same values as the corresponding
+     * {@code EPOLL*} flags). Flags that only make sense for {@code epoll}, such as
+     * {@code EPOLLET}, may be ignored by backends that do not use {@code epoll}. Caller is
+     * responsible for calling {@link #pollerClose(Object, Object)}.
+     *
+     * @return an opaque poller object
+     * @throws UnsupportedPosixFeatureException if the platform does not support pollers
+     */
+    public abstract Object pollerCreate(Object receiver) throws PosixException;
+
+    /**
+     * Adds {@code fd} to the poller. Fails with {@code EEXIST} if it is already registered and
+     * with {@code EPERM} if the file descriptor does not support polling (e.g. regular files).
+     */
+    public abstract void pollerRegister(Object receiver, Object poller, int fd, int events) throws PosixException;
+
+    /**
+     * Changes the events of interest of a registered {@code fd}, fails with {@code ENOENT} if it
+     * is not registered.
+     */
+    public abstract void pollerModify(Object receiver, Object poller, int fd, int events) throws PosixException;
+
+    /**
+     * Removes {@code fd} from the poller, fails with {@code ENOENT} if it is not registered.
+     */
+    public abstract void pollerUnregister(Object receiver, Object poller, int fd) throws PosixException;
+
+    /**
+     * Waits until at least one registered file descriptor is ready or the timeout expires. The
+     * ready file descriptors and their events are stored to {@code fds} and {@code revents}, at
+     * most {@code fds.length} of them.
+     *
+     * @param timeoutMs timeout in milliseconds, negative value means no timeout
+     * @return the number of ready file descriptors stored in {@code fds}, 0 on timeout
+     */
+    public abstract int pollerWait(Object receiver, Object poller, int[] fds, int[] revents, long timeoutMs) throws PosixException;
+
+    /**
+     * @return the file descriptor backing the poller (the {@code epoll} file descriptor), or -1 if
+     *         the poller is not backed by a file descriptor
+     */
+    public abstract int pollerFileno(Object receiver, Object poller);
+
+    public abstract void pollerClose(Object receiver, Object poller) throws PosixException;
+
     public abstract long lseek(Object receiver, int fd, long offset, int how) throws PosixException;
 
     public abstract void ftruncate(Object receiver, int fd, long length) throws PosixException;
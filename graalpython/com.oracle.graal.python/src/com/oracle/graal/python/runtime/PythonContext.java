@@ -87,7 +87,9 @@ import java.util.Optional;
 import java.util.WeakHashMap;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
@@ -117,6 +119,7 @@ import com.oracle.graal.python.builtins.objects.cext.capi.PyTruffleObjectFree;
 import com.oracle.graal.python.builtins.objects.cext.capi.PythonNativePointer;
 import com.oracle.graal.python.builtins.objects.cext.capi.PythonNativeWrapper;
 import com.oracle.graal.python.builtins.objects.cext.capi.PythonNativeWrapper.PythonAbstractObjectNativeWrapper;
+import com.oracle.graal.python.builtins.objects.cext.capi.transitions.CApiTiming;
 import com.oracle.graal.python.builtins.objects.cext.capi.transitions.CApiTransitions;
 import com.oracle.graal.python.builtins.objects.cext.capi.transitions.CApiTransitions.HandleContext;
 import com.oracle.graal.python.builtins.objects.cext.common.LoadCExtException.ApiInitException;
@@ -138,6 +141,7 @@ import com.oracle.graal.python.builtins.objects.list.PList;
 import com.oracle.graal.python.builtins.objects.module.PythonModule;
 import com.oracle.graal.python.builtins.objects.str.PString;
 import com.oracle.graal.python.builtins.objects.str.StringNodes.StringReplaceNode;
+import com.oracle.graal.python.builtins.objects.struct.StructFormat;
 import com.oracle.graal.python.builtins.objects.thread.PLock;
 import com.oracle.graal.python.builtins.objects.thread.PThread;
 import com.oracle.graal.python.builtins.objects.tuple.PTuple;
@@ -270,6 +274,18 @@ public final class PythonContext extends Python3Core {
     public static final class PythonThreadState {
         private boolean shuttingDown = false;
 
+        /*
+         * Only used in the free-threaded mode, where it replaces the ownership of the GIL: it is
+         * set while this thread runs Python code, i.e., when it would otherwise hold the GIL.
+         */
+        boolean attached;
+
+        /*
+         * Only used in the free-threaded mode: the innermost critical section of this thread. It
+         * is suspended while the thread is not attached, see CriticalSection.
+         */
+        CriticalSection criticalSection;
+
         /*
          * The reference to the last top frame on the Python stack during interop calls. Initially,
          * this is EMPTY representing the top frame.
@@ -694,6 +710,20 @@ public final class PythonContext extends Python3Core {
 
     private final GlobalInterpreterLock globalInterpreterLock = new GlobalInterpreterLock();
 
+    /**
+     * If {@code true}, Python threads run in parallel and the GIL is reduced to a per-thread flag,
+     * see {@link PythonThreadState#attached}. Mutual exclusion for builtin containers is then
+     * provided by {@link CriticalSection}s, which take their locks from
+     * {@link #criticalSectionLocks}.
+     */
+    private final boolean freeThreaded;
+    private final ReentrantLock[] criticalSectionLocks;
+
+    /**
+     * GIL contention counters, {@code null} unless {@link PythonOptions#GilStatistics} is enabled.
+     */
+    private final GilStatistics gilStatistics;
+
     /*
      * Used to avoid triggering more async handlers from an async handler. We run those only on the
      * main thread, so it doesn't have to be thread-local.
@@ -709,6 +739,8 @@ public final class PythonContext extends Python3Core {
 
     // decides if we run the async weakref callbacks and destructors
     private boolean gcEnabled = true;
+    private final GcStatistics gcStatistics = new GcStatistics();
+    private final Tracemalloc tracemalloc;
 
     // A thread-local to store the full path to the currently active import statement, for Jython
     // compat
@@ -730,7 +762,7 @@ public final class PythonContext extends Python3Core {
      * id. The filename is stored in a weak hash map, because the code itself is a
      * context-independent object.
      */
-    private final WeakHashMap<CallTarget, TruffleString> codeFilename = new WeakHashMap<>();
+    private final Map<CallTarget, TruffleString> codeFilename = Collections.synchronizedMap(new WeakHashMap<>());
 
     /*
      * These maps are used to ensure that each "deserialization" of code in the parser gets a
@@ -742,7 +774,7 @@ public final class PythonContext extends Python3Core {
      * id. The filename is stored in a weak hash map, because the code itself is a
      * context-independent object.
      */
-    private final WeakHashMap<CodeUnit, TruffleString> codeUnitFilename = new WeakHashMap<>();
+    private final Map<CodeUnit, TruffleString> codeUnitFilename = Collections.synchronizedMap(new WeakHashMap<>());
 
     private final ConcurrentHashMap<TruffleString, AtomicLong> deserializationId = new ConcurrentHashMap<>();
 
@@ -753,10 +785,22 @@ public final class PythonContext extends Python3Core {
     private final ChildContextData childContextData;
     private final SharedMultiprocessingData sharedMultiprocessingData;
 
+    private volatile boolean bytecodeCacheInitialized;
+    private BytecodeCache bytecodeCache;
+
+    private ForkJoinPool parallelSortPool;
+
+    /*
+     * The codec registries and the struct format cache are updated by Python code without any
+     * further locking, so they must be thread-safe in the free-threaded mode.
+     */
     private boolean codecsInitialized;
-    private final List<Object> codecSearchPath = new ArrayList<>();
-    private final Map<TruffleString, PTuple> codecSearchCache = new HashMap<>();
-    private final Map<TruffleString, Object> codecErrorRegistry = new HashMap<>();
+    private final List<Object> codecSearchPath = new CopyOnWriteArrayList<>();
+    private final Map<TruffleString, PTuple> codecSearchCache = new ConcurrentHashMap<>();
+    private final Map<TruffleString, Object> codecErrorRegistry = new ConcurrentHashMap<>();
+
+    // compiled formats used by the _struct module functions
+    private final Map<TruffleString, StructFormat> structFormatCache = new ConcurrentHashMap<>();
 
     private int intMaxStrDigits;
     private int minIntBitLengthOverLimit;
@@ -801,6 +845,10 @@ public final class PythonContext extends Python3Core {
         return codecErrorRegistry;
     }
 
+    public Map<TruffleString, StructFormat> getStructFormatCache() {
+        return structFormatCache;
+    }
+
     public int getIntMaxStrDigits() {
         return intMaxStrDigits;
     }
@@ -917,6 +965,16 @@ public final class PythonContext extends Python3Core {
          */
         private final ConcurrentHashMap<Integer, Integer> fdRefCount = new ConcurrentHashMap<>();
 
+        /**
+         * Monitor used to notify threads waiting in {@link #awaitPipeEvent} that the readiness of
+         * some pipe may have changed, i.e., data was added to a queue or one of its ends was
+         * closed. {@link #pipeEventCount} is incremented under this lock with every such change,
+         * so that a waiter can detect events that happened between its last check of the pipes and
+         * the start of the wait.
+         */
+        private final Object pipeEventLock = new Object();
+        private long pipeEventCount;
+
         public SharedMultiprocessingData(ConcurrentHashMap<TruffleString, Semaphore> namedSemaphores) {
             this.namedSemaphores = namedSemaphores;
         }
@@ -983,6 +1041,7 @@ public final class PythonContext extends Python3Core {
                 throw CompilerDirectives.shouldNotReachHere();
             }
             q.add(bytes);
+            signalPipeEvent();
         }
 
         /**
@@ -997,6 +1056,54 @@ public final class PythonContext extends Python3Core {
             if (q != null && isWriteFD(fd)) {
                 q.offer(SENTINEL);
             }
+            if (q != null) {
+                signalPipeEvent();
+            }
+        }
+
+        private void signalPipeEvent() {
+            synchronized (pipeEventLock) {
+                pipeEventCount++;
+                pipeEventLock.notifyAll();
+            }
+        }
+
+        /**
+         * Returns the current value of the pipe event counter. Callers should read it
+         * <em>before</em> checking the readiness of the pipes they are interested in and pass it to
+         * {@link #awaitPipeEvent} afterwards, so that no event can be lost in between.
+         */
+        @TruffleBoundary
+        public long getPipeEventCount() {
+            synchronized (pipeEventLock) {
+                return pipeEventCount;
+            }
+        }
+
+        /**
+         * Blocks until some pipe event newer than {@code seenCount} happens or until the timeout
+         * elapses. A negative timeout means to wait indefinitely. The wait is interruptible by
+         * Truffle safepoints. Note that the event may concern any pipe, so the caller has to
+         * re-check the pipes it is interested in.
+         */
+        @TruffleBoundary
+        public void awaitPipeEvent(Node node, long seenCount, long timeoutNanos) {
+            TruffleSafepoint.setBlockedThreadInterruptible(node, (lock) -> {
+                synchronized (lock) {
+                    if (timeoutNanos < 0) {
+                        while (pipeEventCount == seenCount) {
+                            lock.wait();
+                        }
+                    } else {
+                        long deadline = System.nanoTime() + timeoutNanos;
+                        long remaining = timeoutNanos;
+                        while (pipeEventCount == seenCount && remaining > 0) {
+                            TimeUnit.NANOSECONDS.timedWait(lock, remaining);
+                            remaining = deadline - System.nanoTime();
+                        }
+                    }
+                }
+            }, pipeEventLock);
         }
 
         /**
@@ -1142,6 +1249,20 @@ public final class PythonContext extends Python3Core {
         this.handler = new AsyncHandler(this);
         this.sharedFinalizer = new AsyncHandler.SharedFinalizer(this);
         this.optionValues = PythonOptions.createOptionValuesStorage(env);
+        this.freeThreaded = env.getOptions().get(PythonOptions.FreeThreaded);
+        if (freeThreaded) {
+            this.criticalSectionLocks = new ReentrantLock[CriticalSection.LOCK_TABLE_SIZE];
+            for (int i = 0; i < criticalSectionLocks.length; i++) {
+                criticalSectionLocks[i] = new ReentrantLock();
+            }
+        } else {
+            this.criticalSectionLocks = null;
+        }
+        this.gilStatistics = !freeThreaded && env.getOptions().get(PythonOptions.GilStatistics) ? new GilStatistics() : null;
+        this.tracemalloc = new Tracemalloc(env.getOptions().get(PythonOptions.TracemallocSamplingInterval));
+        if (env.getOptions().get(PythonOptions.CApiProfiling)) {
+            CApiTiming.enableProfiling();
+        }
         this.in = env.in();
         this.out = env.out();
         this.err = env.err();
@@ -1173,6 +1294,41 @@ public final class PythonContext extends Python3Core {
         return sharedMultiprocessingData;
     }
 
+    /**
+     * Returns the fork-join pool used for sorting large lists in parallel.
+     *
+     * @see PythonOptions#ParallelSortParallelism
+     */
+    @TruffleBoundary
+    public synchronized ForkJoinPool getParallelSortPool() {
+        if (parallelSortPool == null) {
+            int parallelism = getOption(PythonOptions.ParallelSortParallelism);
+            parallelSortPool = parallelism > 0 ? new ForkJoinPool(parallelism) : ForkJoinPool.commonPool();
+        }
+        return parallelSortPool;
+    }
+
+    /**
+     * Returns the persistent bytecode cache or {@code null} if it is disabled.
+     *
+     * @see PythonOptions#BytecodeCacheDirectory
+     */
+    @TruffleBoundary
+    public BytecodeCache getBytecodeCache() {
+        if (!bytecodeCacheInitialized) {
+            synchronized (this) {
+                if (!bytecodeCacheInitialized) {
+                    TruffleString dir = getOption(PythonOptions.BytecodeCacheDirectory);
+                    if (!dir.isEmpty()) {
+                        bytecodeCache = BytecodeCache.create(env, dir.toJavaStringUncached());
+                    }
+                    bytecodeCacheInitialized = true;
+                }
+            }
+        }
+        return bytecodeCache;
+    }
+
     public long spawnTruffleContext(int fd, int sentinel, int[] fdsToKeep) {
         ChildContextData data = new ChildContextData(isChildContext() ? childContextData.parentCtx : this);
         Builder builder = data.parentCtx.env.newInnerContextBuilder().//
@@ -1975,6 +2131,7 @@ public final class PythonContext extends Python3Core {
             }
             // shut down async actions threads
             handler.shutdown();
+            shutdownParallelSortPool();
             finalizing = true;
             // interrupt and join or kill python threads
             joinThreads();
@@ -1994,6 +2151,13 @@ public final class PythonContext extends Python3Core {
         mainThread = null;
     }
 
+    private synchronized void shutdownParallelSortPool() {
+        if (parallelSortPool != null && parallelSortPool != ForkJoinPool.commonPool()) {
+            parallelSortPool.shutdown();
+        }
+        parallelSortPool = null;
+    }
+
     @TruffleBoundary
     public int getAtexitHookCount() {
         return atExitHooks.size();
@@ -2261,13 +2425,40 @@ public final class PythonContext extends Python3Core {
      * @see GilNode
      */
     public boolean ownsGil() {
+        if (freeThreaded) {
+            return getLanguage().getThreadStateLocal().get().attached;
+        }
         return globalInterpreterLock.isHeldByCurrentThread();
     }
 
+    /**
+     * Returns {@code true} if this context runs without the GIL. Builtin nodes that must keep a
+     * single operation on a container atomic then run it in a {@link CriticalSection}. Such nodes
+     * must not use specializations that check the storage of the container outside of the section.
+     */
+    public boolean isFreeThreaded() {
+        return freeThreaded;
+    }
+
+    ReentrantLock getCriticalSectionLock(int index) {
+        return criticalSectionLocks[index];
+    }
+
+    /**
+     * Returns the GIL contention counters or {@code null} if they are not collected, see
+     * {@link PythonOptions#GilStatistics}.
+     */
+    public GilStatistics getGilStatistics() {
+        return gilStatistics;
+    }
+
     /**
      * Should not be used outside of {@link AsyncHandler}
      */
     Thread getGilOwner() {
+        if (freeThreaded) {
+            return null;
+        }
         return globalInterpreterLock.getOwner();
     }
 
@@ -2275,6 +2466,9 @@ public final class PythonContext extends Python3Core {
      * Should not be used outside of {@link AsyncHandler}
      */
     boolean gilHasQueuedThreads() {
+        if (freeThreaded) {
+            return false;
+        }
         return globalInterpreterLock.hasQueuedThreads();
     }
 
@@ -2285,9 +2479,24 @@ public final class PythonContext extends Python3Core {
      */
     @TruffleBoundary
     boolean tryAcquireGil() {
+        if (freeThreaded) {
+            PythonThreadState threadState = getLanguage().getThreadStateLocal().get();
+            if (threadState.criticalSection != null) {
+                // resuming the suspended critical section may block, see acquireGil
+                return false;
+            }
+            threadState.attached = true;
+            return true;
+        }
         try {
             // Using tryLock with empty timeout to ensure fairness
-            return globalInterpreterLock.tryLock(0, TimeUnit.SECONDS);
+            if (globalInterpreterLock.tryLock(0, TimeUnit.SECONDS)) {
+                if (gilStatistics != null) {
+                    gilStatistics.acquired(System.nanoTime());
+                }
+                return true;
+            }
+            return false;
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
             return false;
@@ -2302,8 +2511,23 @@ public final class PythonContext extends Python3Core {
     @TruffleBoundary
     void acquireGil() throws InterruptedException {
         assert !ownsGil() : dumpStackOnAssertionHelper("trying to acquire the GIL more than once");
+        if (freeThreaded) {
+            PythonThreadState threadState = getLanguage().getThreadStateLocal().get();
+            if (threadState.criticalSection != null) {
+                // resume the critical section that was suspended when the GIL was released
+                threadState.criticalSection.acquireInterruptibly();
+            }
+            threadState.attached = true;
+            return;
+        }
         boolean wasInterrupted = Thread.interrupted();
-        globalInterpreterLock.lockInterruptibly();
+        if (gilStatistics == null) {
+            globalInterpreterLock.lockInterruptibly();
+        } else {
+            long requestedAt = System.nanoTime();
+            globalInterpreterLock.lockInterruptibly();
+            gilStatistics.acquired(requestedAt);
+        }
         if (wasInterrupted) {
             Thread.currentThread().interrupt();
         }
@@ -2321,7 +2545,20 @@ public final class PythonContext extends Python3Core {
      */
     @TruffleBoundary
     void releaseGil() {
+        if (freeThreaded) {
+            PythonThreadState threadState = getLanguage().getThreadStateLocal().get();
+            assert threadState.attached : dumpStackOnAssertionHelper("trying to release the GIL that is not held");
+            threadState.attached = false;
+            if (threadState.criticalSection != null) {
+                // never block while holding container locks
+                threadState.criticalSection.release();
+            }
+            return;
+        }
         assert globalInterpreterLock.getHoldCount() == 1 : dumpStackOnAssertionHelper("trying to release the GIL with invalid hold count " + globalInterpreterLock.getHoldCount());
+        if (gilStatistics != null) {
+            gilStatistics.released();
+        }
         globalInterpreterLock.unlock();
     }
 
@@ -2526,6 +2763,14 @@ public final class PythonContext extends Python3Core {
         throw CompilerDirectives.shouldNotReachHere("not yet implemented");
     }
 
+    public GcStatistics getGcStatistics() {
+        return gcStatistics;
+    }
+
+    public Tracemalloc getTracemalloc() {
+        return tracemalloc;
+    }
+
     public boolean isGcEnabled() {
         return gcEnabled;
     }
@@ -220,6 +220,11 @@ public final class PythonOptions {
                     "Equivalent to setting the PYTHONPYCACHEPREFIX environment variable for the standard launcher.", usageSyntax = "<path>", stability = OptionStability.STABLE) //
     public static final OptionKey<TruffleString> PyCachePrefix = new OptionKey<>(T_EMPTY_STRING, TS_OPTION_TYPE);
 
+    @Option(category = OptionCategory.USER, help = "If this is set, GraalPy caches the compiled bytecode of parsed Python source files in this directory " +
+                    "and reuses it across processes. Entries are keyed by the source text and the GraalPy version, so they never go stale. " +
+                    "This cache is independent of .pyc files and also works with the DontWriteBytecodeFlag.", usageSyntax = "<path>", stability = OptionStability.EXPERIMENTAL) //
+    public static final OptionKey<TruffleString> BytecodeCacheDirectory = new OptionKey<>(T_EMPTY_STRING, TS_OPTION_TYPE);
+
     @Option(category = OptionCategory.USER, help = "Equivalent to setting the PYTHONWARNINGS environment variable for the standard launcher.", //
                     usageSyntax = "<action>[:<message>[:<category>[:<module>[:<line>]]]][,<action>[:<message>[:<category>[:<module>[:<line>]]]]]", stability = OptionStability.STABLE) //
     public static final OptionKey<TruffleString> WarnOptions = new OptionKey<>(T_EMPTY_STRING, TS_OPTION_TYPE);
@@ -331,6 +336,10 @@ public final class PythonOptions {
     @Option(category = OptionCategory.INTERNAL, usageSyntax = "<path>", help = "Used by the launcher to pass the path to be executed", stability = OptionStability.STABLE) //
     public static final OptionKey<TruffleString> InputFilePath = new OptionKey<>(T_EMPTY_STRING, TS_OPTION_TYPE);
 
+    @EngineOption @Option(category = OptionCategory.EXPERT, usageSyntax = "<entries>", help = "Maximum number of compiled modules kept in the code cache that is shared between all contexts of an engine. " +
+                    "Entries are keyed by source content and evicted in least recently used order. Only effective when multiple contexts share an engine. 0 disables the cache.") //
+    public static final OptionKey<Integer> SharedCodeCacheSize = new OptionKey<>(0);
+
     // disabling TRegex has an effect on the _sre Python functions that are
     // dynamically created, so we cannot change that option again.
     @EngineOption @Option(category = OptionCategory.EXPERT, usageSyntax = "true|false", help = "Use the optimized TRegex engine. Default true") //
@@ -379,6 +388,37 @@ public final class PythonOptions {
     @Option(category = OptionCategory.EXPERT, usageSyntax = "true|false", help = "Propagate append operations to lists created as literals back to where they were created, to inform overallocation to avoid having to grow them later.") //
     public static final OptionKey<Boolean> OverallocateLiteralLists = new OptionKey<>(true);
 
+    @Option(category = OptionCategory.EXPERT, usageSyntax = "<length>", help = "Minimum length of a list of ints, floats or strings that is sorted on multiple threads " +
+                    "without holding the GIL when no key function is given. 0 (the default) disables parallel sorting.") //
+    public static final OptionKey<Integer> ParallelSortThreshold = new OptionKey<>(0);
+
+    @Option(category = OptionCategory.EXPERT, usageSyntax = "<threads>", help = "Parallelism of the fork-join pool used for parallel sorting. " +
+                    "0 (the default) uses the common fork-join pool of the JVM.") //
+    public static final OptionKey<Integer> ParallelSortParallelism = new OptionKey<>(0);
+
+    @EngineOption @Option(category = OptionCategory.USER, usageSyntax = "true|false", help = "Run Python threads in parallel without the global interpreter lock. " +
+                    "Single operations on builtin lists, dicts and sets, such as list.append, dict.update or set.add, run in per-object critical sections " +
+                    "and stay atomic, but other objects are not protected against concurrent modification. C extensions cannot be loaded in this mode.", stability = OptionStability.EXPERIMENTAL) //
+    public static final OptionKey<Boolean> FreeThreaded = new OptionKey<>(false);
+
+    @Option(category = OptionCategory.EXPERT, usageSyntax = "true|false", help = "Adapt the interval at which the GIL is handed over to waiting threads: " +
+                    "it is shortened down to 1/8 of sys.getswitchinterval() while threads keep waiting for the GIL, and lengthened up to 8 times " +
+                    "sys.getswitchinterval() while a single thread runs uncontended.") //
+    public static final OptionKey<Boolean> AdaptiveSwitchInterval = new OptionKey<>(false);
+
+    @Option(category = OptionCategory.EXPERT, usageSyntax = "true|false", help = "Collect GIL contention statistics (hold time, wait time histogram, handoffs). " +
+                    "They are available from __graalpython__.gil_stats().") //
+    public static final OptionKey<Boolean> GilStatistics = new OptionKey<>(false);
+
+    @Option(category = OptionCategory.EXPERT, usageSyntax = "true|false", help = "Profile calls between Python and C extensions: count the calls and measure the time " +
+                    "and the argument conversion cost per C API function. The statistics are collected for the whole process and are available from " +
+                    "__graalpython__.capi_stats() and as JFR events.") //
+    public static final OptionKey<Boolean> CApiProfiling = new OptionKey<>(false);
+
+    @Option(category = OptionCategory.EXPERT, usageSyntax = "<n>", help = "While tracemalloc is tracing, only record every n-th allocation. " +
+                    "The sizes of the recorded allocations are multiplied by n, so that snapshot statistics estimate the total memory.") //
+    public static final OptionKey<Integer> TracemallocSamplingInterval = new OptionKey<>(1);
+
     @Option(category = OptionCategory.EXPERT, usageSyntax = "true|false", help = "Forces AST sharing for inner contexts.") //
     public static final OptionKey<Boolean> ForceSharingForInnerContexts = new OptionKey<>(true);
 
@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2024, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.runtime;
+
+import java.nio.ByteBuffer;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import com.oracle.truffle.api.CallTarget;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+
+/**
+ * A size-bounded LRU cache of the call targets of compiled modules, shared by all contexts of an
+ * engine so that a module imported in several contexts is parsed and compiled only once. It is only
+ * created when the engine runs multiple contexts; the capacity is set by
+ * {@link PythonOptions#SharedCodeCacheSize}.
+ *
+ * Entries are keyed by the same digest as the persistent {@link BytecodeCache} (see
+ * {@link BytecodeCache#computeKey}), i.e. of the GraalPy version, the compiler settings, the source
+ * name and the source text. A modified file therefore maps to a new entry and the stale one is
+ * eventually evicted, unlike {@link com.oracle.graal.python.PythonLanguage#cacheCode}, which caches
+ * the core library by file name only.
+ */
+public final class SharedCodeCache {
+    private final int capacity;
+    private final LinkedHashMap<ByteBuffer, CallTarget> entries;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    @SuppressWarnings("serial")
+    public SharedCodeCache(int capacity) {
+        assert capacity > 0;
+        this.capacity = capacity;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<ByteBuffer, CallTarget> eldest) {
+                if (size() > SharedCodeCache.this.capacity) {
+                    evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Returns the cached call target for the given key or creates and caches a new one. The
+     * supplier is called without holding the cache lock, so two contexts compiling the same source
+     * concurrently may both parse it, but only the first result is retained.
+     */
+    @TruffleBoundary
+    public CallTarget getOrCreate(byte[] key, Supplier<CallTarget> createCode) {
+        ByteBuffer k = ByteBuffer.wrap(key);
+        CallTarget ct;
+        synchronized (entries) {
+            ct = entries.get(k);
+        }
+        if (ct != null) {
+            hits.incrementAndGet();
+            return ct;
+        }
+        misses.incrementAndGet();
+        ct = createCode.get();
+        synchronized (entries) {
+            CallTarget existing = entries.putIfAbsent(k, ct);
+            return existing != null ? existing : ct;
+        }
+    }
+
+    @TruffleBoundary
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    @TruffleBoundary
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public long getEvictions() {
+        return evictions.get();
+    }
+}
@@ -0,0 +1,339 @@
+/*
+ * Copyright (c) 2024, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.runtime;
+
+import static com.oracle.graal.python.util.PythonUtils.TS_ENCODING;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+import com.oracle.graal.python.builtins.objects.bytes.PBytesLike;
+import com.oracle.graal.python.builtins.objects.code.PCode;
+import com.oracle.graal.python.builtins.objects.str.PString;
+import com.oracle.graal.python.builtins.objects.type.TypeNodes;
+import com.oracle.graal.python.nodes.bytecode.FrameInfo;
+import com.oracle.graal.python.nodes.object.GetClassNode;
+import com.oracle.graal.python.runtime.sequence.PSequence;
+import com.oracle.graal.python.runtime.sequence.storage.SequenceStorage;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.Truffle;
+import com.oracle.truffle.api.frame.Frame;
+import com.oracle.truffle.api.frame.FrameInstance;
+import com.oracle.truffle.api.frame.FrameInstanceVisitor;
+import com.oracle.truffle.api.instrumentation.AllocationReporter;
+import com.oracle.truffle.api.nodes.RootNode;
+import com.oracle.truffle.api.strings.TruffleString;
+
+/**
+ * The allocation traces of the {@code tracemalloc} module of one context. While tracing, the
+ * {@link com.oracle.graal.python.runtime.object.PythonObjectFactory} reports every allocated object
+ * to {@link #allocated(Object, long)}, which records every n-th of them (see
+ * {@link PythonOptions#TracemallocSamplingInterval}) together with the Python traceback, an
+ * estimate of its size and its type. The size of a sampled object is scaled by the sampling
+ * interval, so that the statistics of a snapshot estimate the total memory.
+ *
+ * A trace only lives as long as its object: the traces weakly reference their objects and are
+ * removed once the objects are collected.
+ */
+public final class Tracemalloc {
+    /**
+     * Rough size of an object without any contents (header, shape and storage references).
+     */
+    private static final long OBJECT_SIZE = 32;
+
+    /**
+     * Traces of live objects. The domain of all traces is {@code 0}.
+     */
+    public static final class Trace extends WeakReference<Object> {
+        private final int hash;
+        private final long size;
+        private final TruffleString[] filenames;
+        private final int[] linenos;
+        private final int totalFrames;
+        private final TruffleString typeName;
+        private Trace next;
+
+        private Trace(Object referent, ReferenceQueue<Object> queue, long size, TruffleString[] filenames, int[] linenos, int totalFrames, TruffleString typeName) {
+            super(referent, queue);
+            this.hash = System.identityHashCode(referent);
+            this.size = size;
+            this.filenames = filenames;
+            this.linenos = linenos;
+            this.totalFrames = totalFrames;
+            this.typeName = typeName;
+        }
+
+        public long getSize() {
+            return size;
+        }
+
+        /**
+         * The file names of the frames, from the most recent to the oldest one.
+         */
+        public TruffleString[] getFilenames() {
+            return filenames;
+        }
+
+        public int[] getLinenos() {
+            return linenos;
+        }
+
+        public int getTotalFrames() {
+            return totalFrames;
+        }
+
+        public TruffleString getTypeName() {
+            return typeName;
+        }
+    }
+
+    private final int samplingInterval;
+    private final ReferenceQueue<Object> queue = new ReferenceQueue<>();
+    /*
+     * Traces keyed by the identity hash of their object. Colliding traces are chained.
+     */
+    private final HashMap<Integer, Trace> traces = new HashMap<>();
+    private final HashMap<RootNode, TruffleString> filenameCache = new HashMap<>();
+
+    private volatile boolean tracing;
+    // set while recording a trace, so that allocations of the recording itself are not traced
+    private boolean recording;
+    private int tracebackLimit = 1;
+    private int countdown;
+    private long tracedMemory;
+    private long peakMemory;
+
+    public Tracemalloc(int samplingInterval) {
+        this.samplingInterval = Math.max(samplingInterval, 1);
+        this.countdown = this.samplingInterval;
+    }
+
+    public boolean isTracing() {
+        return tracing;
+    }
+
+    public synchronized int getTracebackLimit() {
+        return tracebackLimit;
+    }
+
+    @TruffleBoundary
+    public synchronized void start(int nframe) {
+        tracebackLimit = nframe;
+        tracing = true;
+    }
+
+    @TruffleBoundary
+    public synchronized void stop() {
+        tracing = false;
+        clearTraces();
+    }
+
+    @TruffleBoundary
+    public synchronized void clearTraces() {
+        traces.clear();
+        filenameCache.clear();
+        tracedMemory = 0;
+        peakMemory = 0;
+        // the cleared traces must not be subtracted again
+        while (queue.poll() != null) {
+            // drain
+        }
+    }
+
+    @TruffleBoundary
+    public synchronized long getTracedMemory() {
+        removeCollected();
+        return tracedMemory;
+    }
+
+    @TruffleBoundary
+    public synchronized long getPeakMemory() {
+        removeCollected();
+        return peakMemory;
+    }
+
+    @TruffleBoundary
+    public synchronized void resetPeak() {
+        removeCollected();
+        peakMemory = tracedMemory;
+    }
+
+    /**
+     * Returns an estimate of the memory used for the traces themselves.
+     */
+    @TruffleBoundary
+    public synchronized long getOwnMemory() {
+        long result = 0;
+        for (Trace head : traces.values()) {
+            for (Trace t = head; t != null; t = t.next) {
+                result += OBJECT_SIZE * 2 + t.linenos.length * (Integer.BYTES + Long.BYTES);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Called for every allocation while any context is tracing.
+     */
+    @TruffleBoundary
+    public void allocated(Object object, long size) {
+        if (!tracing) {
+            return;
+        }
+        synchronized (this) {
+            if (!tracing || recording || --countdown > 0) {
+                return;
+            }
+            countdown = samplingInterval;
+            recording = true;
+            try {
+                removeCollected();
+                record(object, size);
+            } finally {
+                recording = false;
+            }
+        }
+    }
+
+    private void record(Object object, long reportedSize) {
+        long size = (reportedSize == AllocationReporter.SIZE_UNKNOWN ? estimateSize(object) : reportedSize) * samplingInterval;
+        int limit = tracebackLimit;
+        ArrayList<TruffleString> filenames = new ArrayList<>(limit);
+        ArrayList<Integer> linenos = new ArrayList<>(limit);
+        int[] totalFrames = new int[1];
+        Truffle.getRuntime().iterateFrames((FrameInstanceVisitor<Object>) frameInstance -> {
+            Frame frame = frameInstance.getFrame(FrameInstance.FrameAccess.READ_ONLY);
+            if (frame != null && frame.getFrameDescriptor().getInfo() instanceof FrameInfo info) {
+                totalFrames[0]++;
+                if (filenames.size() < limit) {
+                    int bci = info.getBci(frame);
+                    filenames.add(filenameCache.computeIfAbsent(info.getRootNode(), PCode::extractFileName));
+                    linenos.add(bci >= 0 ? info.getRootNode().bciToLine(bci) : info.getRootNode().getFirstLineno());
+                }
+            }
+            return null;
+        });
+        int[] lines = new int[linenos.size()];
+        for (int i = 0; i < lines.length; i++) {
+            lines[i] = linenos.get(i);
+        }
+        Trace trace = new Trace(object, queue, size, filenames.toArray(new TruffleString[0]), lines, totalFrames[0], TypeNodes.GetNameNode.executeUncached(GetClassNode.executeUncached(object)));
+        trace.next = traces.put(trace.hash, trace);
+        tracedMemory += size;
+        peakMemory = Math.max(peakMemory, tracedMemory);
+    }
+
+    private static long estimateSize(Object object) {
+        if (object instanceof PString str) {
+            if (str.isMaterialized()) {
+                return OBJECT_SIZE + str.getMaterialized().byteLength(TS_ENCODING);
+            }
+        } else if (object instanceof PSequence seq) {
+            SequenceStorage storage = seq.getSequenceStorage();
+            if (storage != null) {
+                return OBJECT_SIZE + (long) storage.length() * (object instanceof PBytesLike ? Byte.BYTES : Long.BYTES);
+            }
+        }
+        return OBJECT_SIZE;
+    }
+
+    private void removeCollected() {
+        Object ref;
+        while ((ref = queue.poll()) != null) {
+            remove((Trace) ref);
+        }
+    }
+
+    private void remove(Trace trace) {
+        Trace head = traces.get(trace.hash);
+        if (head == trace) {
+            if (trace.next == null) {
+                traces.remove(trace.hash);
+            } else {
+                traces.put(trace.hash, trace.next);
+            }
+        } else {
+            Trace prev = head;
+            while (prev != null && prev.next != trace) {
+                prev = prev.next;
+            }
+            if (prev == null) {
+                // already removed by clearTraces
+                return;
+            }
+            prev.next = trace.next;
+        }
+        tracedMemory -= trace.size;
+    }
+
+    /**
+     * Returns the trace of {@code object} or {@code null} if its allocation was not traced.
+     */
+    @TruffleBoundary
+    public synchronized Trace getTrace(Object object) {
+        for (Trace t = traces.get(System.identityHashCode(object)); t != null; t = t.next) {
+            if (t.get() == object) {
+                return t;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns a snapshot of the traces of all live traced objects.
+     */
+    @TruffleBoundary
+    public synchronized List<Trace> getTraces() {
+        removeCollected();
+        ArrayList<Trace> result = new ArrayList<>(traces.size());
+        for (Trace head : traces.values()) {
+            for (Trace t = head; t != null; t = t.next) {
+                if (t.get() != null) {
+                    result.add(t);
+                }
+            }
+        }
+        return result;
+    }
+}
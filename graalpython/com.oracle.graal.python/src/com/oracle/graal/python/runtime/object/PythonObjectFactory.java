@@ -187,6 +187,8 @@ import com.oracle.graal.python.builtins.objects.range.PIntRange;
 import com.oracle.graal.python.builtins.objects.referencetype.PReferenceType;
 import com.oracle.graal.python.builtins.objects.reversed.PSequenceReverseIterator;
 import com.oracle.graal.python.builtins.objects.reversed.PStringReverseIterator;
+import com.oracle.graal.python.builtins.objects.select.PEpoll;
+import com.oracle.graal.python.builtins.objects.select.PPoll;
 import com.oracle.graal.python.builtins.objects.set.PBaseSet;
 import com.oracle.graal.python.builtins.objects.set.PFrozenSet;
 import com.oracle.graal.python.builtins.objects.set.PSet;
@@ -199,6 +201,9 @@ import com.oracle.graal.python.builtins.objects.ssl.PSSLSocket;
 import com.oracle.graal.python.builtins.objects.ssl.SSLMethod;
 import com.oracle.graal.python.builtins.objects.str.NativeCharSequence;
 import com.oracle.graal.python.builtins.objects.str.PString;
+import com.oracle.graal.python.builtins.objects.struct.PStruct;
+import com.oracle.graal.python.builtins.objects.struct.PStructUnpackIterator;
+import com.oracle.graal.python.builtins.objects.struct.StructFormat;
 import com.oracle.graal.python.builtins.objects.superobject.SuperObject;
 import com.oracle.graal.python.builtins.objects.thread.PLock;
 import com.oracle.graal.python.builtins.objects.thread.PRLock;
@@ -240,6 +245,7 @@ import com.oracle.truffle.api.CallTarget;
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.HostCompilerDirectives.InliningCutoff;
 import com.oracle.truffle.api.RootCallTarget;
+import com.oracle.truffle.api.dsl.Bind;
 import com.oracle.truffle.api.dsl.Cached;
 import com.oracle.truffle.api.dsl.GenerateCached;
 import com.oracle.truffle.api.dsl.GenerateInline;
@@ -304,10 +310,14 @@ public abstract class PythonObjectFactory extends Node {
 
     @Specialization
     static AllocationReporter doTrace(Object o, long size,
+                    @Bind("this") Node inliningTarget,
                     @Cached(value = "getAllocationReporter()", allowUncached = true) AllocationReporter reporter) {
         if (reporter.isActive()) {
             doTraceImpl(o, size, reporter);
         }
+        if (!PythonLanguage.get(inliningTarget).noTracemallocAssumption.isValid()) {
+            doTracemalloc(inliningTarget, o, size);
+        }
         return null;
     }
 
@@ -317,6 +327,11 @@ public abstract class PythonObjectFactory extends Node {
         reporter.onReturnValue(o, 0, size);
     }
 
+    @InliningCutoff
+    private static void doTracemalloc(Node inliningTarget, Object o, long size) {
+        PythonContext.get(inliningTarget).getTracemalloc().allocated(o, size);
+    }
+
     @NeverDefault
     protected AllocationReporter getAllocationReporter() {
         return PythonContext.get(this).getAllocationReporter();
@@ -1128,16 +1143,16 @@ public abstract class PythonObjectFactory extends Node {
         return trace(new PBaseSetIterator(PythonBuiltinClassType.PIterator, PythonBuiltinClassType.PIterator.getInstanceShape(getLanguage()), set, iterator, initialSize));
     }
 
-    public final PDictItemIterator createDictItemIterator(HashingStorageNodes.HashingStorageIterator iterator, HashingStorage hashingStorage, int initialSize) {
-        return trace(new PDictItemIterator(PythonBuiltinClassType.PDictItemIterator, PythonBuiltinClassType.PDictItemIterator.getInstanceShape(getLanguage()), iterator, hashingStorage, initialSize));
+    public final PDictItemIterator createDictItemIterator(PHashingCollection dict, HashingStorageNodes.HashingStorageIterator iterator, HashingStorage hashingStorage, int initialSize) {
+        return trace(new PDictItemIterator(PythonBuiltinClassType.PDictItemIterator, PythonBuiltinClassType.PDictItemIterator.getInstanceShape(getLanguage()), dict, iterator, hashingStorage, initialSize));
     }
 
-    public final PDictKeyIterator createDictKeyIterator(HashingStorageNodes.HashingStorageIterator iterator, HashingStorage hashingStorage, int initialSize) {
-        return trace(new PDictKeyIterator(PythonBuiltinClassType.PDictKeyIterator, PythonBuiltinClassType.PDictKeyIterator.getInstanceShape(getLanguage()), iterator, hashingStorage, initialSize));
+    public final PDictKeyIterator createDictKeyIterator(PHashingCollection dict, HashingStorageNodes.HashingStorageIterator iterator, HashingStorage hashingStorage, int initialSize) {
+        return trace(new PDictKeyIterator(PythonBuiltinClassType.PDictKeyIterator, PythonBuiltinClassType.PDictKeyIterator.getInstanceShape(getLanguage()), dict, iterator, hashingStorage, initialSize));
     }
 
-    public final PDictValueIterator createDictValueIterator(HashingStorageNodes.HashingStorageIterator iterator, HashingStorage hashingStorage, int initialSize) {
-        return trace(new PDictValueIterator(PythonBuiltinClassType.PDictValueIterator, PythonBuiltinClassType.PDictValueIterator.getInstanceShape(getLanguage()), iterator, hashingStorage,
+    public final PDictValueIterator createDictValueIterator(PHashingCollection dict, HashingStorageNodes.HashingStorageIterator iterator, HashingStorage hashingStorage, int initialSize) {
+        return trace(new PDictValueIterator(PythonBuiltinClassType.PDictValueIterator, PythonBuiltinClassType.PDictValueIterator.getInstanceShape(getLanguage()), dict, iterator, hashingStorage,
                         initialSize));
     }
 
@@ -1243,6 +1258,23 @@ public abstract class PythonObjectFactory extends Node {
         return trace(new PDirEntry(PythonBuiltinClassType.PDirEntry, PythonBuiltinClassType.PDirEntry.getInstanceShape(getLanguage()), dirEntryData, path));
     }
 
+    public final PPoll createPoll(PythonContext context, Object poller) {
+        return trace(new PPoll(PythonBuiltinClassType.PPoll, PythonBuiltinClassType.PPoll.getInstanceShape(getLanguage()), context, poller));
+    }
+
+    public final PEpoll createEpoll(Object cls, PythonContext context, Object poller) {
+        return trace(new PEpoll(cls, getShape(cls), context, poller));
+    }
+
+    public final PStruct createStruct(Object cls, StructFormat format) {
+        return trace(new PStruct(cls, getShape(cls), format));
+    }
+
+    public final PStructUnpackIterator createStructUnpackIterator(StructFormat format, Object buffer, int bufferLength) {
+        return trace(new PStructUnpackIterator(PythonBuiltinClassType.PStructUnpackIterator, PythonBuiltinClassType.PStructUnpackIterator.getInstanceShape(getLanguage()), format, buffer,
+                        bufferLength));
+    }
+
     public final PEncodingMap createEncodingMap(int count2, int count3, byte[] level1, byte[] level23) {
         return trace(new PEncodingMap(PythonBuiltinClassType.PEncodingMap, PythonBuiltinClassType.PEncodingMap.getInstanceShape(getLanguage()), count2, count3, level1, level23));
     }
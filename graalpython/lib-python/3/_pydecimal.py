@@ -157,6 +157,9 @@ import math as _math
 import numbers as _numbers
 import sys
 
+# GraalPy change: arithmetic on finite values in Java
+import _decimal_accel as _accel
+
 try:
     from collections import namedtuple as _namedtuple
     DecimalTuple = _namedtuple('DecimalTuple', 'sign digits exponent')
@@ -547,6 +550,12 @@ class Decimal(object):
         # From a string
         # REs insist on real strings, so we can too.
         if isinstance(value, str):
+            # GraalPy change: fast path for plain finite literals
+            parsed = _accel.parse(value)
+            if parsed is not None:
+                self._sign, self._int, self._exp = parsed
+                self._is_special = False
+                return self
             m = _parser(value.strip().replace("_", ""))
             if m is None:
                 if context is None:
@@ -830,6 +839,12 @@ class Decimal(object):
             else:
                 return 1
 
+        # GraalPy change: compare finite values in Java
+        c = _accel.compare(self._sign, self._int, self._exp,
+                           other._sign, other._int, other._exp)
+        if c is not None:
+            return c
+
         # check for zeros;  Decimal('0') == Decimal('-0')
         if not self:
             if not other:
@@ -1203,6 +1218,14 @@ class Decimal(object):
             ans = ans._fix(context)
             return ans
 
+        # GraalPy change: add and round in Java
+        result = _accel.add(self._sign, self._int, self._exp,
+                            other._sign, other._int, other._exp,
+                            context.prec, context.rounding,
+                            context.Emin, context.Emax, context.clamp)
+        if result is not None:
+            return _dec_from_accel(result, context)
+
         op1 = _WorkRep(self)
         op2 = _WorkRep(other)
         op1, op2 = _normalize(op1, op2, context.prec)
@@ -1302,6 +1325,14 @@ class Decimal(object):
             ans = ans._fix(context)
             return ans
 
+        # GraalPy change: multiply and round in Java
+        result = _accel.multiply(self._sign, self._int, self._exp,
+                                 other._sign, other._int, other._exp,
+                                 context.prec, context.rounding,
+                                 context.Emin, context.Emax, context.clamp)
+        if result is not None:
+            return _dec_from_accel(result, context)
+
         # Special case for multiplying by power of 10
         if self._int == '1':
             ans = _dec_from_triple(resultsign, other._int, resultexp)
@@ -2630,6 +2661,11 @@ class Decimal(object):
             return _dec_from_triple(self._sign,
                                         self._int + '0'*(self._exp - exp), exp)
 
+        # GraalPy change: round the coefficient in Java
+        coeff = _accel.rescale(self._sign, self._int, self._exp, exp, rounding)
+        if coeff is not None:
+            return _dec_from_triple(self._sign, coeff, exp)
+
         # too many digits; round and lose data.  If self.adjusted() <
         # exp-1, replace self by 10**(exp-1) before rounding
         digits = len(self._int) + self._exp - exp
@@ -3843,6 +3879,16 @@ def _dec_from_triple(sign, coefficient, exponent, special=False):
 
     return self
 
+# GraalPy change: builds the result of _accel.add or _accel.multiply and
+# raises the signals that _fix would raise for it
+def _dec_from_accel(result, context):
+    sign, coeff, exp, inexact, rounded = result
+    if inexact:
+        context._raise_error(Inexact)
+    if rounded:
+        context._raise_error(Rounded)
+    return _dec_from_triple(sign, coeff, exp)
+
 # Register Decimal as a kind of Number (an abstract base class).
 # However, do not register it as Real (because Decimals are not
 # interoperable with floats).
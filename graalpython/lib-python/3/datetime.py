@@ -12,6 +12,8 @@ import time as _time
 import math as _math
 import sys
 from operator import index as _index
+# GraalPy change: calendar arithmetic, validation and ISO formatting helpers in Java
+import _datetime_accel as _accel
 
 def _cmp(x, y):
     return 0 if x == y else 1 if x > y else -1
@@ -147,6 +149,10 @@ def _ord2ymd(n):
     # start of that month:  we're done!
     return year, month, n+1
 
+# GraalPy change: use the Java implementations
+_ymd2ord = _accel.ymd2ord
+_ord2ymd = _accel.ord2ymd
+
 # Month and day names.  For localized versions, see the calendar module.
 _MONTHNAMES = [None, "Jan", "Feb", "Mar", "Apr", "May", "Jun",
                      "Jul", "Aug", "Sep", "Oct", "Nov", "Dec"]
@@ -179,6 +185,9 @@ def _format_time(hh, mm, ss, us, timespec='auto'):
     else:
         return fmt.format(hh, mm, ss, us)
 
+# GraalPy change: use the Java implementation
+_format_time = _accel.format_time
+
 def _format_offset(off):
     s = ''
     if off is not None:
@@ -356,6 +365,19 @@ def _parse_isoformat_time(tstr):
 
     return time_comps
 
+# GraalPy change: parse the components in Java, only the tzinfo is created here
+_parse_isoformat_date = _accel.parse_isoformat_date
+
+def _parse_isoformat_time(tstr):
+    time_comps = _accel.parse_isoformat_time(tstr)
+    offset = time_comps[4]
+    if offset is not None:
+        if offset == 0:
+            time_comps[4] = timezone.utc
+        else:
+            time_comps[4] = timezone(timedelta(microseconds=offset))
+    return time_comps
+
 
 # Just raise TypeError if the arg isn't None or a string.
 def _check_tzname(name):
@@ -382,6 +404,10 @@ def _check_utc_offset(name, offset):
                          (name, offset))
 
 def _check_date_fields(year, month, day):
+    # GraalPy change: fast path for in-range int fields
+    fields = _accel.check_date_fields(year, month, day)
+    if fields is not None:
+        return fields
     year = _index(year)
     month = _index(month)
     day = _index(day)
@@ -395,6 +421,10 @@ def _check_date_fields(year, month, day):
     return year, month, day
 
 def _check_time_fields(hour, minute, second, microsecond, fold):
+    # GraalPy change: fast path for in-range int fields
+    fields = _accel.check_time_fields(hour, minute, second, microsecond, fold)
+    if fields is not None:
+        return fields
     hour = _index(hour)
     minute = _index(minute)
     second = _index(second)
@@ -468,6 +498,15 @@ class timedelta:
         # guide the C implementation; it's way more convoluted than speed-
         # ignoring auto-overflow-to-long idiomatic Python could be.
 
+        # GraalPy change: normalize int arguments in Java
+        fields = _accel.timedelta_fields(days, seconds, microseconds,
+                                         milliseconds, minutes, hours, weeks)
+        if fields is not None:
+            self = object.__new__(cls)
+            self._days, self._seconds, self._microseconds = fields
+            self._hashcode = -1
+            return self
+
         # XXX Check that all inputs are ints or floats.
 
         # Final values, all integer.
@@ -944,7 +983,8 @@ class date:
         - http://www.w3.org/TR/NOTE-datetime
         - http://www.cl.cam.ac.uk/~mgk25/iso-time.html
         """
-        return "%04d-%02d-%02d" % (self._year, self._month, self._day)
+        # GraalPy change: use the Java implementation
+        return _accel.format_date(self._year, self._month, self._day)
 
     __str__ = isoformat
 
@@ -1019,14 +1059,14 @@ class date:
 
     def _cmp(self, other):
         assert isinstance(other, date)
-        y, m, d = self._year, self._month, self._day
-        y2, m2, d2 = other._year, other._month, other._day
-        return _cmp((y, m, d), (y2, m2, d2))
+        # GraalPy change: compare and hash ordinals instead of tuples and pickled state
+        return _cmp(_ymd2ord(self._year, self._month, self._day),
+                    _ymd2ord(other._year, other._month, other._day))
 
     def __hash__(self):
         "Hash."
         if self._hashcode == -1:
-            self._hashcode = hash(self._getstate())
+            self._hashcode = hash(_ymd2ord(self._year, self._month, self._day))
         return self._hashcode
 
     # Computations
@@ -1910,7 +1950,9 @@ class datetime(date):
         terms of the time to include. Valid options are 'auto', 'hours',
         'minutes', 'seconds', 'milliseconds' and 'microseconds'.
         """
-        s = ("%04d-%02d-%02d%c" % (self._year, self._month, self._day, sep) +
+        # GraalPy change: use the Java implementation for the date part
+        s = (_accel.format_date(self._year, self._month, self._day) +
+             "%c" % sep +
              _format_time(self._hour, self._minute, self._second,
                           self._microsecond, timespec))
 
@@ -2049,12 +2091,13 @@ class datetime(date):
             base_compare = myoff == otoff
 
         if base_compare:
-            return _cmp((self._year, self._month, self._day,
-                         self._hour, self._minute, self._second,
-                         self._microsecond),
-                        (other._year, other._month, other._day,
-                         other._hour, other._minute, other._second,
-                         other._microsecond))
+            # GraalPy change: compare microsecond keys instead of tuples
+            return _cmp(_accel.datetime_key(self._year, self._month, self._day,
+                                             self._hour, self._minute, self._second,
+                                             self._microsecond),
+                        _accel.datetime_key(other._year, other._month, other._day,
+                                            other._hour, other._minute, other._second,
+                                            other._microsecond))
         if myoff is None or otoff is None:
             if allow_mixed:
                 return 2 # arbitrary non-zero value
@@ -2119,7 +2162,10 @@ class datetime(date):
                 t = self
             tzoff = t.utcoffset()
             if tzoff is None:
-                self._hashcode = hash(t._getstate()[0])
+                # GraalPy change: hash the microsecond key instead of the pickled state
+                self._hashcode = hash(_accel.datetime_key(t._year, t._month, t._day,
+                                                          t._hour, t._minute, t._second,
+                                                          t._microsecond))
             else:
                 days = _ymd2ord(self.year, self.month, self.day)
                 seconds = self.hour * 3600 + self.minute * 60 + self.second
@@ -354,3 +354,26 @@ class JSONDecoder(object):
         except StopIteration as err:
             raise JSONDecodeError("Expecting value", s, err.value) from None
         return obj, end
+
+# GraalPy change: helper for the Java scanner
+def _c_decode_utf8(decoder, b):
+    """Decode the UTF-8 encoded JSON document b (a bytes or bytearray) with
+    the Java scanner, without decoding b to str first.
+
+    Returns None if decoder or b cannot be handled this way, or if b is not
+    a valid document, and the caller has to decode b and call decoder.decode().
+    Otherwise returns a tuple whose first item is the decoded document.
+    Invalid documents are parsed twice, so decoders with hooks are never
+    handled this way.
+    """
+    if (scanner.c_make_scanner is None
+            or type(decoder.scan_once) is not scanner.c_make_scanner
+            or type(decoder).decode is not JSONDecoder.decode
+            or type(decoder).raw_decode is not JSONDecoder.raw_decode
+            or decoder.object_hook is not None
+            or decoder.object_pairs_hook is not None
+            or decoder.parse_float is not float
+            or decoder.parse_int is not int
+            or decoder.parse_constant != _CONSTANTS.__getitem__):
+        return None
+    return decoder.scan_once.decode_utf8(b)
@@ -14,6 +14,8 @@ try:
     from _json import make_encoder as c_make_encoder
 except ImportError:
     c_make_encoder = None
+# GraalPy change
+from _io import TextIOWrapper as _TextIOWrapper
 
 ESCAPE = re.compile(r'[\x00-\x1f\\"\b\f\n\r\t]')
 ESCAPE_ASCII = re.compile(r'([\\"]|[^\ -~])')
@@ -243,8 +245,9 @@ class JSONEncoder(object):
             return text
 
 
+        # GraalPy change: the Java encoder supports indentation
         if (_one_shot and c_make_encoder is not None
-                and self.indent is None):
+                and _c_supports_indent(self.indent)):
             _iterencode = c_make_encoder(
                 markers, self.default, _encoder, self.indent,
                 self.key_separator, self.item_separator, self.sort_keys,
@@ -256,6 +259,35 @@ class JSONEncoder(object):
                 self.skipkeys, _one_shot)
         return _iterencode(o, 0)
 
+# GraalPy change: helpers for the Java encoder
+def _c_supports_indent(indent):
+    return indent is None or isinstance(indent, (int, str))
+
+def _c_dump_utf8(encoder, o, fp):
+    """Encode o with the Java encoder straight into the binary buffer of the
+    text file fp, in bounded-size UTF-8 chunks.
+
+    Returns False, without writing anything, if encoder or fp cannot be
+    handled this way and the caller has to fall back to iterencode().
+    """
+    if (c_make_encoder is None or type(fp) is not _TextIOWrapper
+            or type(encoder).iterencode is not JSONEncoder.iterencode
+            or not _c_supports_indent(encoder.indent)):
+        return False
+    if encoder.check_circular:
+        markers = {}
+    else:
+        markers = None
+    if encoder.ensure_ascii:
+        _encoder = encode_basestring_ascii
+    else:
+        _encoder = encode_basestring
+    c_encoder = c_make_encoder(
+        markers, encoder.default, _encoder, encoder.indent,
+        encoder.key_separator, encoder.item_separator, encoder.sort_keys,
+        encoder.skipkeys, encoder.allow_nan)
+    return c_encoder.dump_utf8(o, fp)
+
 def _make_iterencode(markers, _default, _encoder, _indent, _floatstr,
         _key_separator, _item_separator, _sort_keys, _skipkeys, _one_shot,
         ## HACK: hand-optimized bytecode; turn globals into locals
@@ -43,6 +43,7 @@ package org.graalvm.python.embedding.utils;
 import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.nio.file.FileVisitResult;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -52,8 +53,10 @@ import java.nio.file.attribute.BasicFileAttributes;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.function.Predicate;
 import java.util.regex.Matcher;
@@ -66,6 +69,7 @@ public final class VFSUtils {
             throw new IOException(String.format("'%s' has to exist and be a directory.\n", vfs.toString()));
         }
         var ret = new HashSet<String>();
+        var sizes = new HashMap<String, Long>();
         String rootPath = makeDirPath(vfs.toAbsolutePath());
         int rootEndIdx = rootPath.lastIndexOf(File.separator, rootPath.lastIndexOf(File.separator) - 1);
         ret.add(rootPath.substring(rootEndIdx));
@@ -75,21 +79,62 @@ public final class VFSUtils {
                     String dirPath = makeDirPath(p.toAbsolutePath());
                     ret.add(dirPath.substring(rootEndIdx));
                 } else if (Files.isRegularFile(p)) {
-                    ret.add(p.toAbsolutePath().toString().substring(rootEndIdx));
+                    String filePath = p.toAbsolutePath().toString().substring(rootEndIdx);
+                    ret.add(filePath);
+                    try {
+                        sizes.put(filePath, Files.size(p));
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
                 }
             });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
         }
         String[] a = ret.toArray(new String[ret.size()]);
         Arrays.sort(a);
+        var indexSizes = new HashMap<String, Long>();
+        var indexDirs = new HashSet<String>();
         try (var wr = new FileWriter(filesList.toFile())) {
             for (String f : a) {
+                Long size = sizes.get(f);
                 if (f.charAt(0) == '\\') {
                     f = f.replace("\\", "/");
                 }
                 wr.write(f);
                 wr.write("\n");
+                if (size == null) {
+                    indexDirs.add(f.substring(0, f.length() - 1));
+                } else {
+                    indexSizes.put(f, size);
+                }
             }
         }
+        writeVFSFilesIndex(vfs, filesList, indexSizes, indexDirs);
+    }
+
+    /**
+     * Writes the binary index of the virtual filesystem (see {@link VirtualFileSystemIndex}). If
+     * the files list and the index were already present in the walked directory, their sizes are
+     * updated to those of the files written now.
+     */
+    private static void writeVFSFilesIndex(Path vfs, Path filesList, Map<String, Long> sizes, Set<String> dirs) throws IOException {
+        String prefix = null;
+        for (String dir : dirs) {
+            if (prefix == null || dir.length() < prefix.length()) {
+                prefix = dir;
+            }
+        }
+        String filesListResource = prefix + "/" + filesList.getFileName();
+        if (sizes.containsKey(filesListResource)) {
+            sizes.put(filesListResource, Files.size(filesList));
+        }
+        String indexResource = prefix + "/" + VirtualFileSystemIndex.FILE_NAME;
+        if (sizes.containsKey(indexResource)) {
+            // the size of the index does not depend on the sizes stored in it
+            sizes.put(indexResource, (long) VirtualFileSystemIndex.create(sizes, dirs).length);
+        }
+        VirtualFileSystemIndex.write(vfs.resolve(VirtualFileSystemIndex.FILE_NAME), sizes, dirs);
     }
 
     private static String makeDirPath(Path p) {
@@ -47,8 +47,10 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.net.URI;
+import java.net.URISyntaxException;
 import java.net.URL;
 import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.channels.SeekableByteChannel;
 import java.nio.file.AccessMode;
 import java.nio.file.DirectoryStream;
@@ -228,10 +230,31 @@ public final class VirtualFileSystem implements FileSystem, AutoCloseable {
     private static final String RESOURCE_SEPARATOR = String.valueOf(RESOURCE_SEPARATOR_CHAR);
 
     /*
-     * For files, `data` is a byte[], for directories it is a Path[] which contains
-     * platform-specific paths.
+     * Binary index of the files and directories (see VirtualFileSystemIndex), or null if there is
+     * none next to the files list. Then the files list is used and file sizes are determined by
+     * reading the resource.
      */
-    private static final record Entry(boolean isFile, Object data) {
+    private VirtualFileSystemIndex filesIndex;
+    private boolean filesIndexLoaded;
+
+    /*
+     * The content of a file is only read when it is opened or extracted. `children` are the
+     * platform-specific paths of the entries of a directory, computed on the first listing.
+     * `indexPosition` is the position in the files index or -1.
+     */
+    private static final class Entry {
+        private final boolean isFile;
+        private final String resourcePath;
+        private final long size;
+        private final int indexPosition;
+        private Path[] children;
+
+        Entry(boolean isFile, String resourcePath, long size, int indexPosition) {
+            this.isFile = isFile;
+            this.resourcePath = resourcePath;
+            this.size = size;
+            this.indexPosition = indexPosition;
+        }
     }
 
     /*
@@ -403,6 +426,16 @@ public final class VirtualFileSystem implements FileSystem, AutoCloseable {
         return lowercaseToResourceMap;
     }
 
+    private VirtualFileSystemIndex getFilesIndex() throws IOException {
+        if (!filesIndexLoaded) {
+            String indexPath = filesListPath.substring(0, filesListPath.lastIndexOf(RESOURCE_SEPARATOR_CHAR) + 1) + VirtualFileSystemIndex.FILE_NAME;
+            URL url = this.resourceLoadingClass.getResource(indexPath);
+            filesIndex = url == null ? null : VirtualFileSystemIndex.load(url);
+            filesIndexLoaded = true;
+        }
+        return filesIndex;
+    }
+
     private void initFilesAndDirsList() throws IOException {
         filesList = new HashSet<>();
         dirsList = new HashSet<>();
@@ -430,28 +463,40 @@ public final class VirtualFileSystem implements FileSystem, AutoCloseable {
         }
     }
 
-    private Entry readDirEntry(String parentDir) throws IOException {
-        List<String> l = new ArrayList<>();
+    private Path[] listDirEntry(Entry dir) throws IOException {
+        if (dir.children == null) {
+            List<String> l = new ArrayList<>();
+            VirtualFileSystemIndex index = getFilesIndex();
+            if (index != null && dir.indexPosition >= 0) {
+                int first = index.getFirstChild(dir.indexPosition);
+                int count = index.getChildCount(dir.indexPosition);
+                for (int i = first; i < first + count; i++) {
+                    l.add(index.getPath(i));
+                }
+            } else {
+                String parentDir = dir.resourcePath;
+                // find all files in parent dir
+                for (String file : getFilesList()) {
+                    if (isParent(parentDir, file)) {
+                        l.add(file);
+                    }
+                }
 
-        // find all files in parent dir
-        for (String file : getFilesList()) {
-            if (isParent(parentDir, file)) {
-                l.add(file);
+                // find all dirs in parent dir
+                for (String file : getDirsList()) {
+                    if (isParent(parentDir, file)) {
+                        l.add(file);
+                    }
+                }
             }
-        }
 
-        // find all dirs in parent dir
-        for (String file : getDirsList()) {
-            if (isParent(parentDir, file)) {
-                l.add(file);
+            Path[] paths = new Path[l.size()];
+            for (int i = 0; i < paths.length; i++) {
+                paths[i] = Paths.get(resourcePathToPlatformPath(l.get(i)));
             }
+            dir.children = paths;
         }
-
-        Path[] paths = new Path[l.size()];
-        for (int i = 0; i < paths.length; i++) {
-            paths[i] = Paths.get(resourcePathToPlatformPath(l.get(i)));
-        }
-        return new Entry(false, paths);
+        return dir.children;
     }
 
     private static boolean isParent(String parentDir, String file) {
@@ -460,7 +505,8 @@ public final class VirtualFileSystem implements FileSystem, AutoCloseable {
     }
 
     Entry readFileEntry(String file) throws IOException {
-        return new Entry(true, readResource(file));
+        byte[] bytes = readResource(file);
+        return new Entry(true, file, bytes == null ? 0 : bytes.length, -1);
     }
 
     byte[] readResource(String path) throws IOException {
@@ -494,17 +540,28 @@ public final class VirtualFileSystem implements FileSystem, AutoCloseable {
         Entry e = vfsEntries.get(entryKey);
         if (e == null) {
             pathString = platformPathToResourcePath(pathString);
+            VirtualFileSystemIndex index = getFilesIndex();
+            if (index != null) {
+                int position = pathString == null ? -1 : index.find(pathString);
+                if (position >= 0) {
+                    boolean isFile = !index.isDirectory(position);
+                    e = new Entry(isFile, pathString, index.getSize(position), position);
+                    vfsEntries.put(entryKey, e);
+                    return e;
+                }
+                // the index may be stale, look the resource up like without an index
+            }
             URL uri = pathString == null ? null : this.resourceLoadingClass.getResource(pathString);
             if (uri != null) {
                 if (getDirsList().contains(pathString)) {
-                    e = readDirEntry(pathString);
+                    e = new Entry(false, pathString, 0, -1);
                 } else {
                     e = readFileEntry(pathString);
                 }
                 vfsEntries.put(entryKey, e);
             } else {
                 if (getDirsList().contains(pathString)) {
-                    e = readDirEntry(pathString);
+                    e = new Entry(false, pathString, 0, -1);
                 }
             }
         }
@@ -553,7 +610,7 @@ public final class VirtualFileSystem implements FileSystem, AutoCloseable {
                 if (e == null) {
                     return path;
                 }
-                if (e.isFile()) {
+                if (e.isFile) {
                     // first create parent dirs
                     Path parent = xPath.getParent();
                     assert parent == null || Files.isDirectory(parent);
@@ -563,7 +620,12 @@ public final class VirtualFileSystem implements FileSystem, AutoCloseable {
                     Files.createDirectories(parent);
 
                     // write data extracted file
-                    Files.write(xPath, (byte[]) e.data());
+                    try (InputStream stream = this.resourceLoadingClass.getResourceAsStream(e.resourcePath)) {
+                        if (stream == null) {
+                            throw new NoSuchFileException(e.resourcePath);
+                        }
+                        Files.copy(stream, xPath);
+                    }
                 } else {
                     Files.createDirectories(xPath);
                 }
@@ -639,10 +701,23 @@ public final class VirtualFileSystem implements FileSystem, AutoCloseable {
                 // appropriate python error
                 throw new FileSystemException(path.toString(), null, "Is a directory");
             }
+            URL url = this.resourceLoadingClass.getResource(e.resourcePath);
+            if (url != null && "file".equals(url.getProtocol())) {
+                // resources in a directory are read directly from the file without copying
+                try {
+                    return new ReadOnlyFileChannel(FileChannel.open(Path.of(url.toURI()), StandardOpenOption.READ));
+                } catch (URISyntaxException ex) {
+                    // fall back to reading the resource
+                }
+            }
+            final byte[] resource = readResource(e.resourcePath);
+            if (resource == null) {
+                throw new FileNotFoundException("No such file or directory");
+            }
             return new SeekableByteChannel() {
                 long position = 0;
 
-                byte[] bytes = (byte[]) e.data;
+                byte[] bytes = resource;
 
                 @Override
                 public int read(ByteBuffer dst) throws IOException {
@@ -713,6 +788,7 @@ public final class VirtualFileSystem implements FileSystem, AutoCloseable {
         if (e.isFile) {
             throw new NotDirectoryException(dir.toString());
         }
+        Path[] children = listDirEntry(e);
         return new DirectoryStream<>() {
             @Override
             public void close() throws IOException {
@@ -721,7 +797,7 @@ public final class VirtualFileSystem implements FileSystem, AutoCloseable {
 
             @Override
             public Iterator<Path> iterator() {
-                return Arrays.asList((Path[]) e.data).iterator();
+                return Arrays.asList(children).iterator();
             }
         };
     }
@@ -769,7 +845,7 @@ public final class VirtualFileSystem implements FileSystem, AutoCloseable {
         attrs.put("isDirectory", !e.isFile);
         attrs.put("isSymbolicLink", false);
         attrs.put("isOther", false);
-        attrs.put("size", (long) (e.isFile ? ((byte[]) e.data).length : 0));
+        attrs.put("size", e.size);
         attrs.put("mode", 0555);
         attrs.put("dev", 0L);
         attrs.put("nlink", 1);
@@ -778,4 +854,57 @@ public final class VirtualFileSystem implements FileSystem, AutoCloseable {
         attrs.put("ctime", FileTime.fromMillis(0));
         return attrs;
     }
+
+    /**
+     * A read-only view of a channel to a resource file, which reports write attempts with the same
+     * exceptions as channels to resources in archives.
+     */
+    private static final class ReadOnlyFileChannel implements SeekableByteChannel {
+        private final FileChannel channel;
+
+        ReadOnlyFileChannel(FileChannel channel) {
+            this.channel = channel;
+        }
+
+        @Override
+        public int read(ByteBuffer dst) throws IOException {
+            return channel.read(dst);
+        }
+
+        @Override
+        public int write(ByteBuffer src) throws IOException {
+            throw new IOException("read-only");
+        }
+
+        @Override
+        public long position() throws IOException {
+            return channel.position();
+        }
+
+        @Override
+        public SeekableByteChannel position(long newPosition) throws IOException {
+            channel.position(Math.max(0, newPosition));
+            return this;
+        }
+
+        @Override
+        public long size() throws IOException {
+            return channel.size();
+        }
+
+        @Override
+        public SeekableByteChannel truncate(long size) throws IOException {
+            throw new IOException("read-only");
+        }
+
+        @Override
+        public boolean isOpen() {
+            return channel.isOpen();
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
 }
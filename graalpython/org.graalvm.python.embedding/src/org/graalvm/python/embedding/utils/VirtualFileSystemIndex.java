@@ -0,0 +1,274 @@
+/*
+ * Copyright (c) 2024, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.graalvm.python.embedding.utils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A binary index of the resources of a {@link VirtualFileSystem}. It is generated at build time by
+ * {@link VFSUtils#generateVFSFilesList(Path)} next to the files list and lets the virtual
+ * filesystem answer lookups, attribute queries, and directory listings without parsing the whole
+ * files list into the heap or reading a resource before it is opened. The index is memory-mapped
+ * if the resources live in a directory and read into a single buffer otherwise.
+ *
+ * <pre>
+ * header:  int magic, int version, int entry count, int string table offset
+ * entries: int path offset, int path length, int name start, int flags, long size,
+ *          int first child, int child count
+ * strings: UTF-8 encoded resource paths
+ * </pre>
+ *
+ * Paths are absolute resource paths without trailing separator. The entries are sorted by the path
+ * of the parent directory and then by name, so the children of a directory are contiguous and a
+ * path is found with a binary search.
+ */
+final class VirtualFileSystemIndex {
+    static final String FILE_NAME = "filesindex.bin";
+
+    private static final int MAGIC = 0x47505649;
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 16;
+    private static final int ENTRY_SIZE = 32;
+    private static final int FLAG_DIRECTORY = 1;
+    private static final byte SEPARATOR = '/';
+
+    private final ByteBuffer buffer;
+    private final int count;
+    private final int stringsOffset;
+
+    private VirtualFileSystemIndex(ByteBuffer buffer) {
+        this.buffer = buffer;
+        this.count = buffer.getInt(8);
+        this.stringsOffset = buffer.getInt(12);
+    }
+
+    /**
+     * Loads the index from the given resource, returns {@code null} if it has an unknown format.
+     */
+    static VirtualFileSystemIndex load(URL url) throws IOException {
+        ByteBuffer buffer;
+        if ("file".equals(url.getProtocol())) {
+            try (FileChannel channel = FileChannel.open(Path.of(url.toURI()), StandardOpenOption.READ)) {
+                buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            } catch (URISyntaxException e) {
+                throw new IOException(e);
+            }
+        } else {
+            try (InputStream stream = url.openStream()) {
+                buffer = ByteBuffer.wrap(stream.readAllBytes());
+            }
+        }
+        if (buffer.limit() < HEADER_SIZE || buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+            return null;
+        }
+        return new VirtualFileSystemIndex(buffer);
+    }
+
+    /**
+     * Returns the position of the entry with the given resource path or {@code -1}.
+     */
+    int find(String path) {
+        byte[] bytes = path.getBytes(StandardCharsets.UTF_8);
+        int nameStart = nameStart(bytes);
+        int low = 0;
+        int high = count - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int cmp = compareTo(mid, bytes, nameStart);
+            if (cmp < 0) {
+                low = mid + 1;
+            } else if (cmp > 0) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    boolean isDirectory(int entry) {
+        return (buffer.getInt(entryOffset(entry) + 12) & FLAG_DIRECTORY) != 0;
+    }
+
+    long getSize(int entry) {
+        return buffer.getLong(entryOffset(entry) + 16);
+    }
+
+    int getFirstChild(int entry) {
+        return buffer.getInt(entryOffset(entry) + 24);
+    }
+
+    int getChildCount(int entry) {
+        return buffer.getInt(entryOffset(entry) + 28);
+    }
+
+    String getPath(int entry) {
+        int offset = entryOffset(entry);
+        byte[] bytes = new byte[buffer.getInt(offset + 4)];
+        buffer.get(stringsOffset + buffer.getInt(offset), bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static int entryOffset(int entry) {
+        return HEADER_SIZE + entry * ENTRY_SIZE;
+    }
+
+    private int compareTo(int entry, byte[] path, int nameStart) {
+        int offset = entryOffset(entry);
+        int pathOffset = stringsOffset + buffer.getInt(offset);
+        int pathLength = buffer.getInt(offset + 4);
+        int entryNameStart = buffer.getInt(offset + 8);
+        int cmp = compareRange(pathOffset, parentLength(entryNameStart), path, 0, parentLength(nameStart));
+        if (cmp != 0) {
+            return cmp;
+        }
+        return compareRange(pathOffset + entryNameStart, pathLength - entryNameStart, path, nameStart, path.length - nameStart);
+    }
+
+    private int compareRange(int offset, int length, byte[] other, int otherOffset, int otherLength) {
+        int n = Math.min(length, otherLength);
+        for (int i = 0; i < n; i++) {
+            int cmp = Byte.compareUnsigned(buffer.get(offset + i), other[otherOffset + i]);
+            if (cmp != 0) {
+                return cmp;
+            }
+        }
+        return Integer.compare(length, otherLength);
+    }
+
+    private static int nameStart(byte[] path) {
+        for (int i = path.length - 1; i >= 0; i--) {
+            if (path[i] == SEPARATOR) {
+                return i + 1;
+            }
+        }
+        return 0;
+    }
+
+    private static int parentLength(int nameStart) {
+        return Math.max(0, nameStart - 1);
+    }
+
+    private static int compareKeys(byte[] a, byte[] b) {
+        int aNameStart = nameStart(a);
+        int bNameStart = nameStart(b);
+        int cmp = Arrays.compareUnsigned(a, 0, parentLength(aNameStart), b, 0, parentLength(bNameStart));
+        if (cmp != 0) {
+            return cmp;
+        }
+        return Arrays.compareUnsigned(a, aNameStart, a.length, b, bNameStart, b.length);
+    }
+
+    /**
+     * Creates the index for the given resource paths.
+     *
+     * @param sizes maps the paths of all files to their sizes
+     * @param dirs the paths of all directories
+     */
+    static byte[] create(Map<String, Long> sizes, Set<String> dirs) {
+        int n = sizes.size() + dirs.size();
+        byte[][] paths = new byte[n][];
+        int i = 0;
+        for (String file : sizes.keySet()) {
+            paths[i++] = file.getBytes(StandardCharsets.UTF_8);
+        }
+        for (String dir : dirs) {
+            paths[i++] = dir.getBytes(StandardCharsets.UTF_8);
+        }
+        Arrays.sort(paths, VirtualFileSystemIndex::compareKeys);
+
+        Map<String, Integer> positions = new HashMap<>(n);
+        int stringsLength = 0;
+        for (i = 0; i < n; i++) {
+            positions.put(new String(paths[i], StandardCharsets.UTF_8), i);
+            stringsLength += paths[i].length;
+        }
+        int[] firstChild = new int[n];
+        int[] childCount = new int[n];
+        for (i = 0; i < n; i++) {
+            int nameStart = nameStart(paths[i]);
+            if (nameStart > 1) {
+                Integer parent = positions.get(new String(paths[i], 0, nameStart - 1, StandardCharsets.UTF_8));
+                if (parent != null) {
+                    if (childCount[parent] == 0) {
+                        firstChild[parent] = i;
+                    }
+                    childCount[parent]++;
+                }
+            }
+        }
+
+        int stringsOffset = HEADER_SIZE + n * ENTRY_SIZE;
+        ByteBuffer buffer = ByteBuffer.allocate(stringsOffset + stringsLength);
+        buffer.putInt(MAGIC).putInt(VERSION).putInt(n).putInt(stringsOffset);
+        int pathOffset = 0;
+        for (i = 0; i < n; i++) {
+            String path = new String(paths[i], StandardCharsets.UTF_8);
+            boolean isDirectory = dirs.contains(path);
+            buffer.putInt(pathOffset).putInt(paths[i].length).putInt(nameStart(paths[i]));
+            buffer.putInt(isDirectory ? FLAG_DIRECTORY : 0);
+            buffer.putLong(isDirectory ? 0 : sizes.get(path));
+            buffer.putInt(firstChild[i]).putInt(childCount[i]);
+            pathOffset += paths[i].length;
+        }
+        for (i = 0; i < n; i++) {
+            buffer.put(paths[i]);
+        }
+        return buffer.array();
+    }
+
+    static void write(Path target, Map<String, Long> sizes, Set<String> dirs) throws IOException {
+        Files.write(target, create(sizes, dirs));
+    }
+}
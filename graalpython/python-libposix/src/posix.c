@@ -55,6 +55,7 @@
 #include <fcntl.h>
 #include <netdb.h>
 #include <netinet/in.h>
+#include <poll.h>
 #include <semaphore.h>
 #include <signal.h>
 #include <stddef.h>
@@ -83,6 +84,10 @@
 #include <pty.h>
 #endif
 
+#ifdef __linux__
+#include <sys/epoll.h>
+#endif
+
 
 int64_t call_getpid() {
     return getpid();
@@ -129,6 +134,10 @@ int64_t call_read(int32_t fd, void *buf, uint64_t count) {
     return read(fd, buf, count);
 }
 
+int64_t call_read_offset(int32_t fd, void *buf, uint64_t offset, uint64_t count) {
+    return read(fd, (char *) buf + offset, count);
+}
+
 int64_t call_write(int32_t fd, void *buf, uint64_t count) {
     return write(fd, buf, count);
 }
@@ -212,6 +221,74 @@ int32_t call_select(int32_t nfds, int32_t* readfds, int32_t readfdsLen,
     return (int32_t) result;
 }
 
+#ifdef __linux__
+int32_t call_epoll_create() {
+    return epoll_create1(EPOLL_CLOEXEC);
+}
+
+// op: 0 - add, 1 - modify, 2 - delete
+int32_t call_epoll_ctl(int32_t epfd, int32_t op, int32_t fd, int32_t events) {
+    static const int ops[] = {EPOLL_CTL_ADD, EPOLL_CTL_MOD, EPOLL_CTL_DEL};
+    struct epoll_event ev;
+    memset(&ev, 0, sizeof(ev));
+    ev.events = (uint32_t) events;
+    ev.data.fd = fd;
+    return epoll_ctl(epfd, ops[op], fd, &ev);
+}
+
+// fds and events are output parameters of length maxevents
+int32_t call_epoll_wait(int32_t epfd, int32_t *fds, int32_t *events, int32_t maxevents, int32_t timeout) {
+    struct epoll_event stackEvents[64];
+    struct epoll_event *evs = stackEvents;
+    if (maxevents > 64) {
+        evs = (struct epoll_event *) malloc(sizeof(struct epoll_event) * maxevents);
+        if (evs == NULL) {
+            errno = ENOMEM;
+            return -1;
+        }
+    }
+    int n = epoll_wait(epfd, evs, maxevents, timeout);
+    for (int i = 0; i < n; ++i) {
+        fds[i] = evs[i].data.fd;
+        events[i] = (int32_t) evs[i].events;
+    }
+    if (evs != stackEvents) {
+        int savedErrno = errno;
+        free(evs);
+        errno = savedErrno;
+    }
+    return n;
+}
+#endif
+
+// fds and events are input parameters, revents is an output parameter, all of length nfds
+int32_t call_poll(int32_t *fds, int32_t *events, int32_t *revents, int32_t nfds, int32_t timeout) {
+    struct pollfd stackPollFds[64];
+    struct pollfd *pollFds = stackPollFds;
+    if (nfds > 64) {
+        pollFds = (struct pollfd *) malloc(sizeof(struct pollfd) * nfds);
+        if (pollFds == NULL) {
+            errno = ENOMEM;
+            return -1;
+        }
+    }
+    for (int i = 0; i < nfds; ++i) {
+        pollFds[i].fd = fds[i];
+        pollFds[i].events = (short) events[i];
+        pollFds[i].revents = 0;
+    }
+    int n = poll(pollFds, nfds, timeout);
+    for (int i = 0; i < nfds; ++i) {
+        revents[i] = n > 0 ? pollFds[i].revents : 0;
+    }
+    if (pollFds != stackPollFds) {
+        int savedErrno = errno;
+        free(pollFds);
+        errno = savedErrno;
+    }
+    return n;
+}
+
 int64_t call_lseek(int32_t fd, int64_t offset, int32_t whence) {
     return lseek(fd, offset, whence);
 }
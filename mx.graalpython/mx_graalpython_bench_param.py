@@ -86,7 +86,11 @@ MICRO_BENCHMARKS = {
     'list-sort-objects': ITER_10 + ['10_000'],
     'list-sort-strings': ITER_10 + ['500_000'],
     'list-sort-keyed': ITER_10 + ['50_000'],
+    'list-sort-numeric-large': ITER_10 + ['2_000_000'],
     'dict-getitem-sized': ITER_10 + ['50_000_000'],
+    'dict-int-keys': ITER_10 + ['1_000_000'],
+    'dict-str-keys': ITER_10 + ['1_000_000'],
+    'dict-small-str-keys': ITER_10 + ['5_000_000'],
     'math-sqrt': ITER_10 + ['500000000'],
     'object-allocate': ITER_10 + ['5000'],
     'object-layout-change': ITER_10 + ['1000000'],
@@ -99,6 +103,18 @@ MICRO_BENCHMARKS = {
     'call-classmethod-sized': ITER_10 + ['500_000_000'],
     'mmap-anonymous-sized': ITER_10 + ['20_000'],
     'mmap-file': ITER_10 + ['1000'],
+    'file-read-throughput': ITER_10 + ['64', '4'],
+    'selector-idle-connections': ITER_10 + ['10000', '50000'],
+    'select-zero-timeout': ITER_10 + ['4', '200000'],
+    'struct-records': ITER_10 + ['10000', '100'],
+    'heapq-bisect': ITER_10 + ['20'],
+    'datetime-iso': ITER_10 + ['20'],
+    'decimal-billing': ITER_10 + ['10'],
+    'json-dump-stream': ITER_10 + ['1000000'],
+    'json-small-documents': ITER_10 + ['200000'],
+    'json-loads-bytes': ITER_10 + ['200000'],
+    'pickle-large-buffers': ITER_10 + ['200'],
+    'gc-collect-young': ITER_10 + ['20000'],
     'generate-functions-sized': ITER_15 + ['500_000_000'],
     'try-except-simple': ITER_10 + ['500_000_000'],
     'try-except-store-simple': ITER_10 + ['500_000_000'],
@@ -108,6 +124,8 @@ MICRO_BENCHMARKS = {
     'tuple-indexing-from-constructor': ITER_10 + ['10000000'],
     'tuple-indexing-from-literal': ITER_10 + ['10000000'],
     'repeated-import': ITER_10 + ['10000000'],
+    'import-bytecode-cache': ITER_5 + ['200'],
+    'threads-cpu-scaling': ITER_10 + ['4', '2_000_000'],
     'codeobject-interpretation': ITER_10 + ['2000'],
     'regexp': ITER_10,
     'regexp-split': ITER_10,
@@ -145,6 +163,9 @@ MICRO_BENCHMARKS_SMALL = {
     'list-iterating-obj-sized': ITER_6 + WARMUP_2 + ['1_000_000'],
     'list-constructions-sized': ITER_6 + WARMUP_2 + ['500'],
     'dict-getitem-sized': ITER_6 + WARMUP_2 + ['1_000_000'],
+    'dict-int-keys': ITER_6 + WARMUP_2 + ['50_000'],
+    'dict-str-keys': ITER_6 + WARMUP_2 + ['50_000'],
+    'dict-small-str-keys': ITER_6 + WARMUP_2 + ['200_000'],
     'math-sqrt': ITER_6 + WARMUP_2 + ['20_000_000'],
     'object-allocate': ITER_6 + WARMUP_2 + ['50'],
     'object-layout-change': ITER_6 + WARMUP_2 + ['10_000'],
@@ -157,6 +178,18 @@ MICRO_BENCHMARKS_SMALL = {
     'call-classmethod-sized': ITER_6 + WARMUP_2 + ['1_000_000'],
     'mmap-anonymous-sized': ITER_6 + WARMUP_2 + ['1_000'],
     'mmap-file': ITER_6 + WARMUP_2 + ['100'],
+    'file-read-throughput': ITER_6 + WARMUP_2 + ['8', '1'],
+    'selector-idle-connections': ITER_6 + WARMUP_2 + ['1000', '5000'],
+    'select-zero-timeout': ITER_6 + WARMUP_2 + ['4', '20000'],
+    'struct-records': ITER_6 + WARMUP_2 + ['10000', '10'],
+    'heapq-bisect': ITER_6 + WARMUP_2 + ['2'],
+    'datetime-iso': ITER_6 + WARMUP_2 + ['2'],
+    'decimal-billing': ITER_6 + WARMUP_2 + ['1'],
+    'json-dump-stream': ITER_6 + WARMUP_2 + ['50000'],
+    'json-small-documents': ITER_6 + WARMUP_2 + ['20000'],
+    'json-loads-bytes': ITER_6 + WARMUP_2 + ['20000'],
+    'pickle-large-buffers': ITER_6 + WARMUP_2 + ['20'],
+    'gc-collect-young': ITER_6 + WARMUP_2 + ['2000'],
     'generate-functions-sized': ITER_6 + WARMUP_2 + ['1_000_000'],
     'try-except-simple': ITER_6 + WARMUP_2 + ['2_500_000'],
     'try-except-store-simple': ITER_6 + WARMUP_2 + ['2_000_000'],
@@ -194,6 +227,7 @@ MICRO_NATIVE_BENCHMARKS = {
     'c-issubtype-monorphic': ITER_5 + ['50000000'],
     'c-call-method': ITER_5 + ['5000000'],
     'c-instantiate-large': ITER_5 + ['1000'],
+    'c-handle-churn': ITER_5 + ['1000000'],
 }
 
 
@@ -269,6 +303,7 @@ INTEROP_BENCHMARKS = {
     'euler_java': ITER_10 + ['200'],
     'image-magix': ITER_10 + ['10000'],
     'image-magix-java': ITER_10 + ['10000'],
+    'java-array-buffer': ITER_10 + ['2000'],
 }
 
 
@@ -421,6 +421,7 @@ suite = {
                 "jdk.management",
                 "jdk.unsupported",
                 "jdk.security.auth",
+                "jdk.jfr",
             ],
             "jacoco": "include",
             "javaCompliance": "17+",
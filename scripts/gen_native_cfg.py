@@ -75,6 +75,7 @@ includes = '''
 # include <netdb.h>
 # include <netinet/in.h>
 # include <netinet/tcp.h>
+# include <poll.h>
 # include <sys/mman.h>
 # include <sys/select.h>
 # include <sys/socket.h>
@@ -84,6 +85,9 @@ includes = '''
 # include <sys/wait.h>
 # include <sysexits.h>
 # include <semaphore.h>
+# ifdef __linux__
+#  include <sys/epoll.h>
+# endif
 #else
 # include <winsock2.h>
 # include <ws2tcpip.h>
@@ -261,6 +265,37 @@ u x S_IFCHR
 0 x RTLD_GLOBAL
 0 x RTLD_LOCAL
 
+[pollEvents]
+* x POLLIN
+* x POLLPRI
+* x POLLOUT
+* x POLLERR
+* x POLLHUP
+* x POLLNVAL
+* x POLLRDNORM
+* x POLLRDBAND
+* x POLLWRNORM
+* x POLLWRBAND
+* x POLLMSG
+* x POLLRDHUP
+
+[epollEvents]
+* x EPOLLIN
+* x EPOLLPRI
+* x EPOLLOUT
+* x EPOLLERR
+* x EPOLLHUP
+* x EPOLLRDHUP
+* x EPOLLRDNORM
+* x EPOLLRDBAND
+* x EPOLLWRNORM
+* x EPOLLWRBAND
+* x EPOLLMSG
+* x EPOLLET
+* x EPOLLONESHOT
+* x EPOLLEXCLUSIVE
+* x EPOLL_CLOEXEC
+
 [socketFamily]
   i AF_UNSPEC
   i AF_INET